@@ -24,6 +24,9 @@ public class ExportReportRequest {
     @JsonProperty("branch_id")
     private Long branchId;
 
+    @JsonProperty("company_id")
+    private Long companyId;
+
     @JsonProperty("start_date")
     private String startDate;
 
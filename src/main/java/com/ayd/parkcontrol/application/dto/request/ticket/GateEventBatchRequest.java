@@ -0,0 +1,22 @@
+package com.ayd.parkcontrol.application.dto.request.ticket;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GateEventBatchRequest {
+
+    @NotEmpty(message = "At least one event is required")
+    @Size(max = 500, message = "A batch cannot contain more than 500 events")
+    private List<@Valid GateEventRequest> events;
+}
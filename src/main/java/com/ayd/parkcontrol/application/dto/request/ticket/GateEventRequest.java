@@ -0,0 +1,51 @@
+package com.ayd.parkcontrol.application.dto.request.ticket;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de garita (ingreso o salida) enviado en lote. Los eventos de salida
+ * identifican el ticket por ID, por folio o por placa y sucursal.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GateEventRequest {
+
+    public static final String ENTRY = "ENTRY";
+    public static final String EXIT = "EXIT";
+
+    private String clientEventId;
+
+    @NotBlank(message = "Event type is required")
+    @Pattern(regexp = "ENTRY|EXIT", message = "Event type must be ENTRY or EXIT")
+    private String type;
+
+    @NotNull(message = "Branch ID is required")
+    private Long branchId;
+
+    @Pattern(regexp = "^[A-Z]{1,3}-?[0-9]{3,4}$|^[A-Z]{1,3}[0-9]{3,4}$|^P-[0-9]{5,6}$", message = "Invalid license plate format")
+    private String licensePlate;
+
+    private Integer vehicleTypeId;
+
+    private Long ticketId;
+
+    private String folio;
+
+    @PastOrPresent(message = "Event time cannot be in the future")
+    private LocalDateTime occurredAt;
+
+    public boolean isEntry() {
+        return ENTRY.equals(type);
+    }
+}
@@ -0,0 +1,31 @@
+package com.ayd.parkcontrol.application.dto.response.audit;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditPipelineResponse {
+
+    @JsonProperty("enabled")
+    private Boolean enabled;
+
+    @JsonProperty("queue_depth")
+    private Integer queueDepth;
+
+    @JsonProperty("queue_capacity")
+    private Integer queueCapacity;
+
+    @JsonProperty("pending_lag_ms")
+    private Long pendingLagMs;
+
+    @JsonProperty("counters")
+    private Map<String, Long> counters;
+}
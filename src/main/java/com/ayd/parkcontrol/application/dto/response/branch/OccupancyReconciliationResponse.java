@@ -0,0 +1,23 @@
+package com.ayd.parkcontrol.application.dto.response.branch;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OccupancyReconciliationResponse {
+
+    @JsonProperty("last_run_at")
+    private LocalDateTime lastRunAt;
+
+    @JsonProperty("counters")
+    private Map<String, Long> counters;
+}
@@ -0,0 +1,40 @@
+package com.ayd.parkcontrol.application.dto.response.common;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Respuesta paginada por cursor")
+public class CursorPageResponse<T> {
+
+    @JsonProperty("content")
+    @Schema(description = "Contenido de la página")
+    private List<T> content;
+
+    @JsonProperty("size")
+    @Schema(description = "Tamaño de página solicitado", example = "20")
+    private Integer size;
+
+    @JsonProperty("has_next")
+    @Schema(description = "Indica si hay más resultados", example = "true")
+    private Boolean hasNext;
+
+    @JsonProperty("next_cursor")
+    @Schema(description = "Cursor para pedir la página siguiente; nulo en la última página")
+    private String nextCursor;
+
+    @JsonProperty("total_elements")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Total de elementos; solo se calcula si se solicita", example = "100")
+    private Long totalElements;
+}
@@ -32,4 +32,10 @@ public class OccupancyDetailResponse {
 
     @JsonProperty("occupancy_percentage")
     private Double occupancyPercentage;
+
+    @JsonProperty("peak_occupancy_today")
+    private Integer peakOccupancyToday;
+
+    @JsonProperty("average_occupancy_today")
+    private Double averageOccupancyToday;
 }
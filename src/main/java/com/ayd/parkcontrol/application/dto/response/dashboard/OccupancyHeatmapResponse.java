@@ -0,0 +1,44 @@
+package com.ayd.parkcontrol.application.dto.response.dashboard;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OccupancyHeatmapResponse {
+
+    @JsonProperty("branch_id")
+    private Long branchId;
+
+    @JsonProperty("branch_name")
+    private String branchName;
+
+    @JsonProperty("vehicle_type")
+    private String vehicleType;
+
+    /**
+     * Día de la semana ISO: 1 = lunes, 7 = domingo.
+     */
+    @JsonProperty("day_of_week")
+    private Integer dayOfWeek;
+
+    @JsonProperty("hour")
+    private Integer hour;
+
+    @JsonProperty("average_occupancy")
+    private Double averageOccupancy;
+
+    @JsonProperty("peak_occupancy")
+    private Integer peakOccupancy;
+
+    @JsonProperty("average_percentage")
+    private Double averagePercentage;
+
+    @JsonProperty("samples")
+    private Long samples;
+}
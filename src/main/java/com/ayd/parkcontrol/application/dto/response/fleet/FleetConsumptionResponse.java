@@ -43,6 +43,15 @@ public class FleetConsumptionResponse {
     @JsonProperty("vehicle_consumption")
     private List<VehicleConsumptionDetail> vehicleConsumption;
 
+    @JsonProperty("page")
+    private Integer page;
+
+    @JsonProperty("size")
+    private Integer size;
+
+    @JsonProperty("total_pages")
+    private Integer totalPages;
+
     @Data
     @Builder
     @NoArgsConstructor
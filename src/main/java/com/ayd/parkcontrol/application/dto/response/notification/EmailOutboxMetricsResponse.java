@@ -0,0 +1,37 @@
+package com.ayd.parkcontrol.application.dto.response.notification;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailOutboxMetricsResponse {
+
+    @JsonProperty("enabled")
+    private Boolean enabled;
+
+    @JsonProperty("queue_depth")
+    private Map<String, Long> queueDepth;
+
+    @JsonProperty("oldest_pending_age_ms")
+    private Long oldestPendingAgeMs;
+
+    @JsonProperty("in_flight")
+    private Integer inFlight;
+
+    @JsonProperty("workers")
+    private Integer workers;
+
+    @JsonProperty("idle_connections")
+    private Integer idleConnections;
+
+    @JsonProperty("counters")
+    private Map<String, Long> counters;
+}
@@ -0,0 +1,22 @@
+package com.ayd.parkcontrol.application.dto.response.ratelimit;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitMetricsResponse {
+
+    @JsonProperty("circuit_state")
+    private String circuitState;
+
+    @JsonProperty("counters")
+    private Map<String, Long> counters;
+}
@@ -0,0 +1,46 @@
+package com.ayd.parkcontrol.application.dto.response.report;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FleetReportResponse {
+
+    @JsonProperty("company_id")
+    private Long companyId;
+
+    @JsonProperty("company_name")
+    private String companyName;
+
+    @JsonProperty("tax_id")
+    private String taxId;
+
+    @JsonProperty("plate_limit")
+    private Integer plateLimit;
+
+    @JsonProperty("payment_status")
+    private String paymentStatus;
+
+    @JsonProperty("total_vehicles")
+    private Long totalVehicles;
+
+    @JsonProperty("active_vehicles")
+    private Long activeVehicles;
+
+    @JsonProperty("total_entries")
+    private Long totalEntries;
+
+    @JsonProperty("total_hours")
+    private BigDecimal totalHours;
+
+    @JsonProperty("total_amount")
+    private BigDecimal totalAmount;
+}
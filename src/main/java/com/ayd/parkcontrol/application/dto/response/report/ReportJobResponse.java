@@ -0,0 +1,52 @@
+package com.ayd.parkcontrol.application.dto.response.report;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobResponse {
+
+    @JsonProperty("job_id")
+    private String jobId;
+
+    @JsonProperty("report_type")
+    private String reportType;
+
+    @JsonProperty("export_format")
+    private String exportFormat;
+
+    @JsonProperty("start_date")
+    private String startDate;
+
+    @JsonProperty("end_date")
+    private String endDate;
+
+    @JsonProperty("company_id")
+    private Long companyId;
+
+    @JsonProperty("status")
+    private String status;
+
+    @JsonProperty("cached")
+    private Boolean cached;
+
+    @JsonProperty("error_message")
+    private String errorMessage;
+
+    @JsonProperty("download_url")
+    private String downloadUrl;
+
+    @JsonProperty("created_at")
+    private LocalDateTime createdAt;
+
+    @JsonProperty("completed_at")
+    private LocalDateTime completedAt;
+}
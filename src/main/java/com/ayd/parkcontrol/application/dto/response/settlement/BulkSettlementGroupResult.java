@@ -0,0 +1,48 @@
+package com.ayd.parkcontrol.application.dto.response.settlement;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Resultado de liquidar un par (comercio, sucursal) dentro de una corrida
+ * masiva.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkSettlementGroupResult {
+
+    public static final String SETTLED = "SETTLED";
+    public static final String SKIPPED = "SKIPPED";
+    public static final String FAILED = "FAILED";
+
+    @JsonProperty("business_id")
+    private Long businessId;
+
+    @JsonProperty("branch_id")
+    private Long branchId;
+
+    @JsonProperty("status")
+    private String status;
+
+    @JsonProperty("settlement_id")
+    private Long settlementId;
+
+    @JsonProperty("ticket_count")
+    private Integer ticketCount;
+
+    @JsonProperty("total_hours")
+    private BigDecimal totalHours;
+
+    @JsonProperty("total_amount")
+    private BigDecimal totalAmount;
+
+    @JsonProperty("error")
+    private String error;
+}
@@ -0,0 +1,54 @@
+package com.ayd.parkcontrol.application.dto.response.settlement;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Resumen de una corrida masiva de liquidaciones.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkSettlementRunResponse {
+
+    @JsonProperty("period_start")
+    private LocalDateTime periodStart;
+
+    @JsonProperty("period_end")
+    private LocalDateTime periodEnd;
+
+    @JsonProperty("groups")
+    private Integer groups;
+
+    @JsonProperty("settled")
+    private Integer settled;
+
+    @JsonProperty("skipped")
+    private Integer skipped;
+
+    @JsonProperty("failed")
+    private Integer failed;
+
+    @JsonProperty("ticket_count")
+    private Integer ticketCount;
+
+    @JsonProperty("total_amount")
+    private BigDecimal totalAmount;
+
+    @JsonProperty("started_at")
+    private LocalDateTime startedAt;
+
+    @JsonProperty("finished_at")
+    private LocalDateTime finishedAt;
+
+    @JsonProperty("results")
+    private List<BulkSettlementGroupResult> results;
+}
@@ -0,0 +1,64 @@
+package com.ayd.parkcontrol.application.dto.response.subscription;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reporte de una corrida de renovación automática de suscripciones.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutoRenewRunResponse {
+
+    @JsonProperty("run_id")
+    private Long runId;
+
+    @JsonProperty("status")
+    private String status;
+
+    @JsonProperty("window_start")
+    private LocalDateTime windowStart;
+
+    @JsonProperty("window_end")
+    private LocalDateTime windowEnd;
+
+    @JsonProperty("last_subscription_id")
+    private Long lastSubscriptionId;
+
+    @JsonProperty("renewed")
+    private Integer renewed;
+
+    @JsonProperty("skipped")
+    private Integer skipped;
+
+    @JsonProperty("failed")
+    private Integer failed;
+
+    @JsonProperty("chunks")
+    private Integer chunks;
+
+    @JsonProperty("resumes")
+    private Integer resumes;
+
+    @JsonProperty("last_error")
+    private String lastError;
+
+    @JsonProperty("started_at")
+    private LocalDateTime startedAt;
+
+    @JsonProperty("updated_at")
+    private LocalDateTime updatedAt;
+
+    @JsonProperty("finished_at")
+    private LocalDateTime finishedAt;
+
+    @JsonProperty("duration_ms")
+    private Long durationMs;
+}
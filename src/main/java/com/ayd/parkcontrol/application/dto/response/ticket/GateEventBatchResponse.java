@@ -0,0 +1,20 @@
+package com.ayd.parkcontrol.application.dto.response.ticket;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GateEventBatchResponse {
+
+    private Integer total;
+    private Integer accepted;
+    private Integer rejected;
+    private List<GateEventResult> results;
+}
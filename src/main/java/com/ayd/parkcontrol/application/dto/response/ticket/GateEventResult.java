@@ -0,0 +1,34 @@
+package com.ayd.parkcontrol.application.dto.response.ticket;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GateEventResult {
+
+    public static final String ACCEPTED = "ACCEPTED";
+    public static final String REJECTED = "REJECTED";
+
+    private Integer index;
+    private String clientEventId;
+    private String type;
+    private String status;
+    private Long ticketId;
+    private String folio;
+    private String error;
+
+    public static GateEventResult rejected(int index, String clientEventId, String type, String error) {
+        return GateEventResult.builder()
+                .index(index)
+                .clientEventId(clientEventId)
+                .type(type)
+                .status(REJECTED)
+                .error(error)
+                .build();
+    }
+}
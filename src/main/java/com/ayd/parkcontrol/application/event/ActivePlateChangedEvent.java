@@ -0,0 +1,19 @@
+package com.ayd.parkcontrol.application.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Evento publicado cuando cambia la suscripción o el permiso temporal vigente
+ * de una placa (cancelación, cambio de placa o alta, modificación y
+ * revocación de permisos).
+ * 
+ * @author ParkControl Team
+ * @version 1.0.0
+ */
+@Getter
+@AllArgsConstructor
+public class ActivePlateChangedEvent {
+
+    private final String licensePlate;
+}
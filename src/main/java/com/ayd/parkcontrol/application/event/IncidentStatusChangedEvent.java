@@ -0,0 +1,19 @@
+package com.ayd.parkcontrol.application.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Evento publicado cuando se registra o se resuelve un incidente.
+ * 
+ * @author ParkControl Team
+ * @version 1.0.0
+ */
+@Getter
+@AllArgsConstructor
+public class IncidentStatusChangedEvent {
+
+    private final Long incidentId;
+    private final Long branchId;
+    private final boolean resolved;
+}
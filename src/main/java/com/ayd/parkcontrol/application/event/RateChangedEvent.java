@@ -0,0 +1,31 @@
+package com.ayd.parkcontrol.application.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Evento publicado cuando cambia una tarifa. Si {@code branchId} es nulo el
+ * cambio corresponde a la tarifa base; de lo contrario, a la tarifa de esa
+ * sucursal.
+ * 
+ * @author ParkControl Team
+ * @version 1.0.0
+ */
+@Getter
+@AllArgsConstructor
+public class RateChangedEvent {
+
+    private final Long branchId;
+
+    public static RateChangedEvent baseRate() {
+        return new RateChangedEvent(null);
+    }
+
+    public static RateChangedEvent branchRate(Long branchId) {
+        return new RateChangedEvent(branchId);
+    }
+
+    public boolean isBaseRate() {
+        return branchId == null;
+    }
+}
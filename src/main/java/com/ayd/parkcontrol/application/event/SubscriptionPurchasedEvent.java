@@ -0,0 +1,24 @@
+package com.ayd.parkcontrol.application.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Evento publicado cuando se compra o renueva una suscripción.
+ * 
+ * @author ParkControl Team
+ * @version 1.0.0
+ */
+@Getter
+@AllArgsConstructor
+public class SubscriptionPurchasedEvent {
+
+    private final Long subscriptionId;
+    private final Long userId;
+    private final String licensePlate;
+    private final BigDecimal amount;
+    private final LocalDateTime purchaseDate;
+}
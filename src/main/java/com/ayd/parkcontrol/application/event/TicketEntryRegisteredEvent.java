@@ -0,0 +1,25 @@
+package com.ayd.parkcontrol.application.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento publicado cuando se registra el ingreso de un vehículo a una
+ * sucursal.
+ * 
+ * @author ParkControl Team
+ * @version 1.0.0
+ */
+@Getter
+@AllArgsConstructor
+public class TicketEntryRegisteredEvent {
+
+    private final Long ticketId;
+    private final Long branchId;
+    private final String licensePlate;
+    private final Integer vehicleTypeId;
+    private final Long subscriptionId;
+    private final LocalDateTime entryTime;
+}
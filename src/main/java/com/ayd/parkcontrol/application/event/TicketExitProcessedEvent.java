@@ -0,0 +1,26 @@
+package com.ayd.parkcontrol.application.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Evento publicado cuando se procesa la salida de un vehículo y se registra
+ * su cobro.
+ * 
+ * @author ParkControl Team
+ * @version 1.0.0
+ */
+@Getter
+@AllArgsConstructor
+public class TicketExitProcessedEvent {
+
+    private final Long ticketId;
+    private final Long branchId;
+    private final String licensePlate;
+    private final Integer vehicleTypeId;
+    private final BigDecimal totalAmount;
+    private final LocalDateTime exitTime;
+}
@@ -0,0 +1,18 @@
+package com.ayd.parkcontrol.application.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Evento publicado cuando se modifican los datos de una cuenta que afectan la
+ * autenticación (estado, rol, correo, contraseña o eliminación).
+ * 
+ * @author ParkControl Team
+ * @version 1.0.0
+ */
+@Getter
+@AllArgsConstructor
+public class UserAccountChangedEvent {
+
+    private final String email;
+}
@@ -0,0 +1,29 @@
+package com.ayd.parkcontrol.application.mapper;
+
+import com.ayd.parkcontrol.application.dto.response.report.ReportJobResponse;
+import com.ayd.parkcontrol.application.usecase.report.job.ReportJob;
+import com.ayd.parkcontrol.application.usecase.report.job.ReportJobStatus;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ReportJobDtoMapper {
+
+    public ReportJobResponse toResponse(ReportJob job) {
+        return ReportJobResponse.builder()
+                .jobId(job.getId())
+                .reportType(job.getReportType())
+                .exportFormat(job.getExportFormat())
+                .startDate(job.getStartDate())
+                .endDate(job.getEndDate())
+                .companyId(job.getCompanyId())
+                .status(job.getStatus() != null ? job.getStatus().name() : null)
+                .cached(job.isCached())
+                .errorMessage(job.getErrorMessage())
+                .downloadUrl(job.getStatus() == ReportJobStatus.COMPLETED
+                        ? "/reports/jobs/" + job.getId() + "/download"
+                        : null)
+                .createdAt(job.getCreatedAt())
+                .completedAt(job.getCompletedAt())
+                .build();
+    }
+}
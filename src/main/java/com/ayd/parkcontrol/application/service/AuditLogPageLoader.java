@@ -0,0 +1,100 @@
+package com.ayd.parkcontrol.application.service;
+
+import com.ayd.parkcontrol.application.dto.response.audit.AuditLogResponse;
+import com.ayd.parkcontrol.application.dto.response.common.CursorPageResponse;
+import com.ayd.parkcontrol.application.mapper.AuditLogDtoMapper;
+import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
+import com.ayd.parkcontrol.domain.model.audit.AuditLog;
+import com.ayd.parkcontrol.domain.model.audit.AuditLogFilter;
+import com.ayd.parkcontrol.domain.model.audit.OperationType;
+import com.ayd.parkcontrol.domain.model.user.User;
+import com.ayd.parkcontrol.domain.repository.AuditLogRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static com.ayd.parkcontrol.application.service.ReferenceDataResolver.collectIds;
+
+/**
+ * Paginación por cursor de los listados de auditoría.
+ *
+ * El cursor codifica {@code (created_at, id)} del último registro entregado y
+ * la siguiente página continúa desde ahí, sin OFFSET. Se pide un registro de
+ * más para saber si hay página siguiente, así que el total solo se cuenta
+ * cuando el cliente lo solicita. Usuarios y tipos de operación se resuelven
+ * en lote para toda la página.
+ *
+ * @author ParkControl Team
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class AuditLogPageLoader {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final AuditLogRepository auditLogRepository;
+    private final ReferenceDataResolver referenceDataResolver;
+    private final AuditLogDtoMapper auditLogDtoMapper;
+
+    public CursorPageResponse<AuditLogResponse> load(AuditLogFilter filter, String cursor, Integer size,
+            boolean includeTotal) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Position after = decodeCursor(cursor);
+
+        List<AuditLog> rows = auditLogRepository.findPage(filter,
+                after != null ? after.createdAt() : null,
+                after != null ? after.id() : null,
+                pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        List<AuditLog> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+        Map<Long, User> users = referenceDataResolver.usersById(collectIds(page, AuditLog::getUserId));
+        Map<Integer, OperationType> operationTypes = referenceDataResolver
+                .operationTypesById(collectIds(page, AuditLog::getOperationTypeId));
+
+        List<AuditLogResponse> content = page.stream()
+                .map(auditLog -> auditLogDtoMapper.toResponse(
+                        auditLog,
+                        auditLog.getUserId() != null ? users.get(auditLog.getUserId()) : null,
+                        operationTypes.get(auditLog.getOperationTypeId())))
+                .toList();
+
+        AuditLog last = page.isEmpty() ? null : page.get(page.size() - 1);
+        return CursorPageResponse.<AuditLogResponse>builder()
+                .content(content)
+                .size(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? encodeCursor(last.getCreatedAt(), last.getId()) : null)
+                .totalElements(includeTotal ? auditLogRepository.count(filter) : null)
+                .build();
+    }
+
+    static String encodeCursor(LocalDateTime createdAt, Long id) {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Position decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new Position(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BusinessRuleException("El cursor de paginación no es válido");
+        }
+    }
+
+    record Position(LocalDateTime createdAt, Long id) {
+    }
+}
@@ -0,0 +1,121 @@
+package com.ayd.parkcontrol.application.service;
+
+import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
+import com.ayd.parkcontrol.domain.exception.NotFoundException;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.BranchEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.RateBaseHistoryEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.SubscriptionEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaBranchRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaRateBaseHistoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resuelve la tarifa por hora que aplica a un ticket.
+ *
+ * El orden de prioridad es: tarifa congelada de la suscripción, tarifa de la
+ * sucursal y tarifa base vigente. Las tarifas de sucursal y la tarifa base se
+ * mantienen en memoria con un TTL corto; los casos de uso que las modifican
+ * publican un {@link com.ayd.parkcontrol.application.event.RateChangedEvent}
+ * que las invalida al confirmar la transacción.
+ *
+ * @author ParkControl Team
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class EffectiveRateResolver {
+
+    private final JpaBranchRepository branchRepository;
+    private final JpaRateBaseHistoryRepository rateBaseHistoryRepository;
+    private final long ttlMillis;
+
+    private final Map<Long, CachedRate> branchRates = new ConcurrentHashMap<>();
+    private volatile CachedRate baseRate;
+
+    public EffectiveRateResolver(JpaBranchRepository branchRepository,
+            JpaRateBaseHistoryRepository rateBaseHistoryRepository,
+            @Value("${app.rates.cache-ttl-seconds:300}") long ttlSeconds) {
+        this.branchRepository = branchRepository;
+        this.rateBaseHistoryRepository = rateBaseHistoryRepository;
+        this.ttlMillis = ttlSeconds * 1000L;
+    }
+
+    /**
+     * Tarifa aplicable para la sucursal y la suscripción indicadas.
+     *
+     * @param branchId     sucursal del ticket
+     * @param subscription suscripción ya cargada del ticket, o null si no aplica
+     * @return tarifa por hora
+     */
+    public BigDecimal resolve(Long branchId, SubscriptionEntity subscription) {
+        if (subscription != null && subscription.getFrozenRateBase() != null) {
+            log.debug("Using frozen rate from subscription: {}", subscription.getFrozenRateBase());
+            return subscription.getFrozenRateBase();
+        }
+
+        BigDecimal branchRate = getBranchRate(branchId);
+        if (branchRate != null) {
+            log.debug("Using branch rate: {}", branchRate);
+            return branchRate;
+        }
+
+        BigDecimal currentBaseRate = getBaseRate();
+        log.debug("Using base rate: {}", currentBaseRate);
+        return currentBaseRate;
+    }
+
+    public void evictBranchRate(Long branchId) {
+        if (branchId != null) {
+            branchRates.remove(branchId);
+            log.debug("Rate cache invalidated for branch: {}", branchId);
+        }
+    }
+
+    public void evictBaseRate() {
+        baseRate = null;
+        log.debug("Base rate cache invalidated");
+    }
+
+    private BigDecimal getBranchRate(Long branchId) {
+        CachedRate cached = branchRates.get(branchId);
+        if (cached != null && !cached.isExpired()) {
+            return cached.rate();
+        }
+
+        BranchEntity branch = branchRepository.findById(branchId)
+                .orElseThrow(() -> new NotFoundException("Branch not found"));
+        BigDecimal rate = branch.getRatePerHour();
+        if (ttlMillis > 0) {
+            branchRates.put(branchId, new CachedRate(rate, System.currentTimeMillis() + ttlMillis));
+        }
+        return rate;
+    }
+
+    private BigDecimal getBaseRate() {
+        CachedRate cached = baseRate;
+        if (cached != null && !cached.isExpired()) {
+            return cached.rate();
+        }
+
+        RateBaseHistoryEntity currentRate = rateBaseHistoryRepository.findCurrentRate()
+                .orElseThrow(() -> new BusinessRuleException("No base rate configured"));
+        BigDecimal rate = currentRate.getAmountPerHour();
+        if (ttlMillis > 0) {
+            baseRate = new CachedRate(rate, System.currentTimeMillis() + ttlMillis);
+        }
+        return rate;
+    }
+
+    private record CachedRate(BigDecimal rate, long expiresAt) {
+
+        boolean isExpired() {
+            return expiresAt < System.currentTimeMillis();
+        }
+    }
+}
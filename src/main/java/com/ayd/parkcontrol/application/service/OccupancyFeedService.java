@@ -0,0 +1,383 @@
+package com.ayd.parkcontrol.application.service;
+
+import com.ayd.parkcontrol.application.dto.response.branch.OccupancyResponse;
+import com.ayd.parkcontrol.application.usecase.branch.GetOccupancyUseCase;
+import com.ayd.parkcontrol.domain.exception.BranchNotFoundException;
+import com.ayd.parkcontrol.domain.model.branch.Branch;
+import com.ayd.parkcontrol.domain.repository.BranchRepository;
+import com.ayd.parkcontrol.infrastructure.cache.RedisOccupancyService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Feed en vivo de ocupación por Server-Sent Events.
+ *
+ * {@link RedisOccupancyService} publica el ID de la sucursal en
+ * {@link RedisOccupancyService#OCCUPANCY_CHANNEL} cada vez que cambia un
+ * contador, así que todas las instancias reciben los cambios sin importar qué
+ * garita los originó. Los avisos solo marcan la sucursal como pendiente; cada
+ * {@code app.occupancy.live.interval-ms} se leen una vez los contadores de las
+ * sucursales pendientes y se envía un único mensaje por sucursal a los clientes
+ * conectados. El costo en base de datos y Redis depende de las sucursales que
+ * cambiaron, no de cuántas pantallas están abiertas.
+ *
+ * Las tareas programadas solo dejan los mensajes en el buzón de cada cliente;
+ * el envío, que bloquea mientras el socket no acepta datos, corre en un pool
+ * acotado de {@code app.occupancy.live.send-workers} hilos con a lo sumo un
+ * envío en curso por cliente. Un cliente cuyo envío lleva más de
+ * {@code app.occupancy.live.send-timeout-ms} se da de baja para que no retenga
+ * un hilo ni retrase al resto.
+ *
+ * @author ParkControl Team
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class OccupancyFeedService implements MessageListener {
+
+    private static final String EVENT_NAME = "occupancy";
+    private static final String TWO_WHEELER = "2R";
+    private static final String FOUR_WHEELER = "4R";
+
+    private final BranchRepository branchRepository;
+    private final RedisOccupancyService redisOccupancyService;
+    private final GetOccupancyUseCase getOccupancyUseCase;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final boolean enabled;
+    private final long emitterTimeoutMs;
+    private final long sendTimeoutMs;
+    private final ThreadPoolExecutor senders;
+
+    private final Set<Long> pendingBranches = ConcurrentHashMap.newKeySet();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    public OccupancyFeedService(BranchRepository branchRepository,
+            RedisOccupancyService redisOccupancyService,
+            GetOccupancyUseCase getOccupancyUseCase,
+            RedisMessageListenerContainer listenerContainer,
+            @Value("${app.occupancy.live.enabled:true}") boolean enabled,
+            @Value("${app.occupancy.live.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+            @Value("${app.occupancy.live.send-workers:4}") int sendWorkers,
+            @Value("${app.occupancy.live.send-queue:1000}") int sendQueue,
+            @Value("${app.occupancy.live.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this.branchRepository = branchRepository;
+        this.redisOccupancyService = redisOccupancyService;
+        this.getOccupancyUseCase = getOccupancyUseCase;
+        this.listenerContainer = listenerContainer;
+        this.enabled = enabled;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.sendTimeoutMs = sendTimeoutMs;
+
+        int workers = Math.max(1, sendWorkers);
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, sendQueue)), runnable -> {
+                    Thread thread = new Thread(runnable, "occupancy-feed-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Se suscribe al canal de cambios. Con {@code app.occupancy.live.enabled=false}
+     * el feed solo entrega la ocupación inicial.
+     */
+    @PostConstruct
+    void registerListener() {
+        if (!enabled) {
+            log.info("Feed de ocupación en vivo deshabilitado");
+            return;
+        }
+        listenerContainer.addMessageListener(this, new ChannelTopic(RedisOccupancyService.OCCUPANCY_CHANNEL));
+    }
+
+    /**
+     * Abre una suscripción al feed. Se envía de inmediato la ocupación actual
+     * y luego un mensaje por cada cambio.
+     *
+     * @param branchId sucursal a seguir (nula = todas las sucursales activas)
+     * @return emisor SSE de la suscripción
+     */
+    public SseEmitter subscribe(Long branchId) {
+        List<Branch> branches;
+        if (branchId != null) {
+            branches = List.of(branchRepository.findById(branchId)
+                    .orElseThrow(() -> new BranchNotFoundException("Branch with ID " + branchId + " not found")));
+        } else {
+            branches = branchRepository.findByIsActive(true, Pageable.unpaged()).getContent();
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, branchId);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> {
+            subscribers.remove(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        for (OccupancyResponse occupancy : read(branches)) {
+            try {
+                send(emitter, occupancy);
+            } catch (Exception e) {
+                drop(subscriber);
+                return emitter;
+            }
+        }
+        subscribers.add(subscriber);
+        log.debug("Nueva suscripción al feed de ocupación (sucursal: {}). Activas: {}", branchId, subscribers.size());
+        return emitter;
+    }
+
+    /**
+     * Recibe el aviso de cambio publicado por cualquier instancia y marca la
+     * sucursal como pendiente; varios avisos seguidos se agrupan en uno.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            pendingBranches.add(Long.valueOf(body.trim()));
+        } catch (NumberFormatException e) {
+            log.warn("Aviso de ocupación inválido: {}", body);
+        }
+    }
+
+    /**
+     * Envía la ocupación de las sucursales que cambiaron desde el último envío.
+     */
+    @Scheduled(fixedDelayString = "${app.occupancy.live.interval-ms:1000}")
+    public void flush() {
+        dropStalled();
+        List<Long> branchIds = drainPending();
+        if (branchIds.isEmpty() || subscribers.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<Long> followed = branchIds.stream()
+                    .filter(branchId -> subscribers.stream().anyMatch(subscriber -> subscriber.follows(branchId)))
+                    .toList();
+            List<Branch> branches = followed.isEmpty() ? List.of() : branchRepository.findAllById(followed);
+
+            for (OccupancyResponse occupancy : read(branches)) {
+                for (Subscriber subscriber : subscribers) {
+                    if (subscriber.follows(occupancy.getBranchId())) {
+                        subscriber.outbox().put(occupancy.getBranchId(), occupancy);
+                    }
+                }
+            }
+            subscribers.forEach(this::dispatch);
+        } catch (Exception e) {
+            log.warn("No se pudo enviar la actualización de ocupación: {}", e.toString());
+        }
+    }
+
+    /**
+     * Envía un comentario a cada cliente para que los proxies no cierren la
+     * conexión inactiva y para descartar las conexiones ya cerradas.
+     */
+    @Scheduled(fixedDelayString = "${app.occupancy.live.heartbeat-ms:25000}")
+    public void heartbeat() {
+        dropStalled();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue().set(true);
+            dispatch(subscriber);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        senders.shutdownNow();
+    }
+
+    /**
+     * Cantidad de clientes conectados a esta instancia.
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private List<OccupancyResponse> read(List<Branch> branches) {
+        if (branches.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> branchIds = branches.stream().map(Branch::getId).toList();
+        Map<Long, Integer> occupied2r = redisOccupancyService.getCurrentOccupancies(branchIds, TWO_WHEELER);
+        Map<Long, Integer> occupied4r = redisOccupancyService.getCurrentOccupancies(branchIds, FOUR_WHEELER);
+
+        return branches.stream()
+                .map(branch -> getOccupancyUseCase.buildOccupancyResponse(branch,
+                        occupied2r.getOrDefault(branch.getId(), 0),
+                        occupied4r.getOrDefault(branch.getId(), 0)))
+                .toList();
+    }
+
+    private List<Long> drainPending() {
+        List<Long> branchIds = new ArrayList<>();
+        Iterator<Long> iterator = pendingBranches.iterator();
+        while (iterator.hasNext()) {
+            branchIds.add(iterator.next());
+            iterator.remove();
+        }
+        return branchIds;
+    }
+
+    /**
+     * Programa el envío del buzón del cliente si tiene mensajes y no hay otro
+     * envío suyo en curso. Con el pool saturado el buzón se conserva y se
+     * reintenta en la siguiente pasada.
+     */
+    private void dispatch(Subscriber subscriber) {
+        if (!subscriber.hasPending() || !subscriber.scheduled().compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            subscriber.task = senders.submit(() -> deliver(subscriber));
+        } catch (RejectedExecutionException e) {
+            subscriber.scheduled().set(false);
+            log.debug("Pool de envío del feed saturado; se reintentará la sucursal {}", subscriber.branchId());
+        }
+    }
+
+    private void deliver(Subscriber subscriber) {
+        subscriber.sendingSince = System.currentTimeMillis();
+        try {
+            if (subscriber.heartbeatDue().getAndSet(false)) {
+                subscriber.emitter().send(SseEmitter.event().comment("keep-alive"));
+            }
+            for (Long branchId : subscriber.outbox().keySet()) {
+                OccupancyResponse occupancy = subscriber.outbox().remove(branchId);
+                if (occupancy != null) {
+                    send(subscriber.emitter(), occupancy);
+                }
+            }
+        } catch (Exception e) {
+            drop(subscriber);
+            return;
+        } finally {
+            subscriber.sendingSince = 0L;
+            subscriber.scheduled().set(false);
+        }
+        // Lo que llegó mientras se enviaba no pudo programarse; se envía ahora
+        if (subscribers.contains(subscriber)) {
+            dispatch(subscriber);
+        }
+    }
+
+    /**
+     * Da de baja a los clientes cuyo envío lleva más de
+     * {@code send-timeout-ms}. No se completa el emisor desde aquí porque esa
+     * llamada esperaría al envío bloqueado; el contenedor lo cierra al vencer
+     * la petición asíncrona.
+     */
+    private void dropStalled() {
+        long now = System.currentTimeMillis();
+        for (Subscriber subscriber : subscribers) {
+            long since = subscriber.sendingSince;
+            if (since > 0 && now - since > sendTimeoutMs && subscribers.remove(subscriber)) {
+                log.warn("Cliente del feed de ocupación sin respuesta por {} ms; se da de baja (sucursal: {})",
+                        now - since, subscriber.branchId());
+                Future<?> task = subscriber.task;
+                if (task != null) {
+                    task.cancel(true);
+                }
+            }
+        }
+    }
+
+    private void send(SseEmitter emitter, OccupancyResponse occupancy) throws IOException {
+        emitter.send(SseEmitter.event()
+                .name(EVENT_NAME)
+                .data(occupancy, MediaType.APPLICATION_JSON));
+    }
+
+    private void drop(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            log.debug("Suscripción al feed de ocupación cerrada (sucursal: {})", subscriber.branchId());
+        }
+        try {
+            subscriber.emitter().complete();
+        } catch (Exception ignored) {
+            // La conexión ya estaba cerrada
+        }
+    }
+
+    /**
+     * Cliente conectado; {@code branchId} nulo sigue a todas las sucursales.
+     * El buzón guarda solo la última ocupación pendiente de cada sucursal.
+     */
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Long branchId;
+        private final Map<Long, OccupancyResponse> outbox = new ConcurrentHashMap<>();
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile long sendingSince;
+        private volatile Future<?> task;
+
+        Subscriber(SseEmitter emitter, Long branchId) {
+            this.emitter = emitter;
+            this.branchId = branchId;
+        }
+
+        SseEmitter emitter() {
+            return emitter;
+        }
+
+        Long branchId() {
+            return branchId;
+        }
+
+        Map<Long, OccupancyResponse> outbox() {
+            return outbox;
+        }
+
+        AtomicBoolean heartbeatDue() {
+            return heartbeatDue;
+        }
+
+        AtomicBoolean scheduled() {
+            return scheduled;
+        }
+
+        boolean hasPending() {
+            return heartbeatDue.get() || !outbox.isEmpty();
+        }
+
+        boolean follows(Long otherBranchId) {
+            return branchId == null || Objects.equals(branchId, otherBranchId);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.ayd.parkcontrol.application.service;
+
+import com.ayd.parkcontrol.application.usecase.report.ReportDateRange;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.OccupancyStatsProjection;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaOccupancyHourlyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Consulta el histórico de ocupación agregado por hora
+ * ({@code occupancy_hourly}) para obtener picos y promedios por sucursal y
+ * tipo de vehículo sin recorrer los tickets.
+ *
+ * El histórico se actualiza periódicamente, así que los minutos más recientes
+ * pueden no estar agregados todavía; cuando el rango incluye el momento
+ * actual, la ocupación en vivo se suma como una muestra más.
+ *
+ * @author ParkControl Team
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class OccupancyHistoryService {
+
+    private final JpaOccupancyHourlyRepository occupancyHourlyRepository;
+
+    /**
+     * Convierte un rango de fechas inclusivo en el rango [inicio, fin). Sin
+     * fechas se usa el día actual; con una sola fecha el otro extremo queda
+     * sin límite.
+     *
+     * @param startDate fecha inicial inclusiva
+     * @param endDate   fecha final inclusiva
+     * @return rango de horas a consultar
+     */
+    public Range resolveRange(LocalDate startDate, LocalDate endDate) {
+        ReportDateRange.validate(startDate, endDate);
+        if (startDate == null && endDate == null) {
+            LocalDate today = LocalDate.now();
+            return new Range(today.atStartOfDay(), today.plusDays(1).atStartOfDay());
+        }
+        return new Range(startDate != null ? startDate.atStartOfDay() : null,
+                endDate != null ? endDate.plusDays(1).atStartOfDay() : null);
+    }
+
+    /**
+     * Pico y promedio por sucursal y tipo de vehículo en el rango.
+     *
+     * @param range rango de horas
+     * @return estadísticas por serie
+     */
+    public Summary summarize(Range range) {
+        Map<String, Stats> stats = new HashMap<>();
+        for (OccupancyStatsProjection row : occupancyHourlyRepository.summarize(range.start(), range.end())) {
+            stats.put(key(row.getBranchId(), row.getVehicleTypeId()), new Stats(
+                    row.getPeakOccupancy() != null ? row.getPeakOccupancy() : 0,
+                    row.getOccupancySum() != null ? row.getOccupancySum() : 0L,
+                    row.getSamples() != null ? row.getSamples() : 0L));
+        }
+        return new Summary(stats, range.includes(LocalDateTime.now()));
+    }
+
+    private static String key(Long branchId, Integer vehicleTypeId) {
+        return branchId + ":" + vehicleTypeId;
+    }
+
+    /**
+     * Rango [inicio, fin) de horas; los extremos nulos no tienen límite.
+     */
+    public record Range(LocalDateTime start, LocalDateTime end) {
+
+        public boolean includes(LocalDateTime instant) {
+            return (start == null || !instant.isBefore(start)) && (end == null || instant.isBefore(end));
+        }
+    }
+
+    /**
+     * Estadísticas del rango por sucursal y tipo de vehículo.
+     */
+    public static final class Summary {
+
+        private final Map<String, Stats> stats;
+        private final boolean includesNow;
+
+        private Summary(Map<String, Stats> stats, boolean includesNow) {
+            this.stats = stats;
+            this.includesNow = includesNow;
+        }
+
+        /**
+         * Estadísticas de la serie; si el rango incluye el momento actual se
+         * agrega la ocupación en vivo como una muestra más.
+         */
+        public Stats get(Long branchId, Integer vehicleTypeId, int currentOccupancy) {
+            Stats series = stats.getOrDefault(key(branchId, vehicleTypeId), Stats.EMPTY);
+            return includesNow ? series.withSample(currentOccupancy) : series;
+        }
+    }
+
+    /**
+     * Muestras agregadas de una serie.
+     */
+    public record Stats(int peak, long sum, long samples) {
+
+        static final Stats EMPTY = new Stats(0, 0, 0);
+
+        Stats withSample(int occupancy) {
+            return new Stats(Math.max(peak, occupancy), sum + occupancy, samples + 1);
+        }
+
+        /**
+         * Pico del rango, o null si no hay muestras.
+         */
+        public Integer peakOccupancy() {
+            return samples > 0 ? peak : null;
+        }
+
+        /**
+         * Promedio del rango con dos decimales, o null si no hay muestras.
+         */
+        public Double averageOccupancy() {
+            return samples > 0 ? average(sum, samples) : null;
+        }
+    }
+
+    /**
+     * Promedio con dos decimales.
+     */
+    public static double average(long sum, long samples) {
+        return Math.round(sum * 100.0 / samples) / 100.0;
+    }
+}
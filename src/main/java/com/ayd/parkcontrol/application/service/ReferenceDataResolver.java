@@ -0,0 +1,124 @@
+package com.ayd.parkcontrol.application.service;
+
+import com.ayd.parkcontrol.domain.model.audit.OperationType;
+import com.ayd.parkcontrol.domain.model.user.User;
+import com.ayd.parkcontrol.domain.repository.UserRepository;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.BranchEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.IncidentTypeEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.UserEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.IdCountProjection;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaBranchRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaIncidentEvidenceRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaUserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Resuelve en lote los datos de referencia de una página de resultados.
+ *
+ * Los casos de uso de listado recolectan las llaves foráneas de todas las
+ * filas con {@link #collectIds}, cargan cada tipo de entidad una sola vez con
+ * {@code findAllById} y pasan los mapas resultantes al mapper. Así una página
+ * cuesta un número fijo de consultas en lugar de una por fila y relación.
+ *
+ * @author ParkControl Team
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class ReferenceDataResolver {
+
+    private final JpaUserRepository jpaUserRepository;
+    private final JpaBranchRepository branchRepository;
+    private final JpaIncidentEvidenceRepository incidentEvidenceRepository;
+    private final JpaTicketRepository ticketRepository;
+    private final UserRepository userRepository;
+    private final CatalogCache catalogCache;
+
+    /**
+     * Recolecta las llaves no nulas de las filas, sin repetir.
+     */
+    @SafeVarargs
+    public static <T, K> Set<K> collectIds(Collection<T> rows, Function<T, K>... extractors) {
+        Set<K> ids = new LinkedHashSet<>();
+        for (T row : rows) {
+            for (Function<T, K> extractor : extractors) {
+                K id = extractor.apply(row);
+                if (id != null) {
+                    ids.add(id);
+                }
+            }
+        }
+        return ids;
+    }
+
+    public Map<Long, UserEntity> userEntitiesById(Collection<Long> ids) {
+        return load(ids, jpaUserRepository::findAllById, UserEntity::getId);
+    }
+
+    public Map<Long, User> usersById(Collection<Long> ids) {
+        return load(ids, userRepository::findAllById, User::getId);
+    }
+
+    public Map<Long, BranchEntity> branchesById(Collection<Long> ids) {
+        return load(ids, branchRepository::findAllById, BranchEntity::getId);
+    }
+
+    /**
+     * Los tipos de incidente salen del catálogo en memoria, por lo que el mapa
+     * puede contener más llaves que las pedidas.
+     */
+    public Map<Integer, IncidentTypeEntity> incidentTypesById(Collection<Integer> ids) {
+        return ids.isEmpty() ? Collections.emptyMap() : catalogCache.incidentTypes().asMapById();
+    }
+
+    /**
+     * Los tipos de operación salen del catálogo en memoria, por lo que el mapa
+     * puede contener más llaves que las pedidas.
+     */
+    public Map<Integer, OperationType> operationTypesById(Collection<Integer> ids) {
+        return ids.isEmpty() ? Collections.emptyMap() : catalogCache.operationTypes().asMapById();
+    }
+
+    public Map<Long, TicketEntity> ticketsById(Collection<Long> ids) {
+        return load(ids, ticketRepository::findAllById, TicketEntity::getId);
+    }
+
+    /**
+     * Cantidad de evidencias por incidente. Los incidentes sin evidencias no
+     * aparecen en el mapa.
+     */
+    public Map<Long, Long> evidenceCountsByIncidentId(Collection<Long> incidentIds) {
+        if (incidentIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Long, Long> counts = new HashMap<>();
+        for (IdCountProjection row : incidentEvidenceRepository.countGroupedByIncidentIds(incidentIds)) {
+            counts.put(row.getId(), row.getTotal());
+        }
+        return counts;
+    }
+
+    private <K, E> Map<K, E> load(Collection<K> ids, Function<Collection<K>, ? extends Iterable<E>> loader,
+            Function<E, K> idOf) {
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<K, E> result = new HashMap<>();
+        for (E entity : loader.apply(ids)) {
+            result.put(idOf.apply(entity), entity);
+        }
+        return result;
+    }
+}
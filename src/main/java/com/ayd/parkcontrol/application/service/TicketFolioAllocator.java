@@ -0,0 +1,127 @@
+package com.ayd.parkcontrol.application.service;
+
+import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketFolioSequenceEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketFolioSequenceRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Asigna folios de ticket por sucursal con el formato
+ * {@code T-{sucursal}-{número}}.
+ *
+ * Los números son monótonos por sucursal y se reservan por bloques (esquema
+ * hi/lo) sobre la tabla {@code ticket_folio_sequences}: cada instancia reserva
+ * un bloque en una transacción independiente y luego entrega los números desde
+ * memoria, por lo que dos ingresos simultáneos nunca reciben el mismo folio.
+ * Los números de un bloque no usado se pierden al reiniciar; el folio no
+ * necesita ser consecutivo, solo único.
+ *
+ * @author ParkControl Team
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class TicketFolioAllocator {
+
+    private static final Pattern FOLIO_PATTERN = Pattern.compile("^T-(\\d+)-\\d+$");
+
+    private final JpaTicketFolioSequenceRepository sequenceRepository;
+    private final JpaTicketRepository ticketRepository;
+    private final TransactionTemplate reserveTransaction;
+    private final int blockSize;
+
+    private final Map<Long, Block> blocks = new ConcurrentHashMap<>();
+
+    public TicketFolioAllocator(JpaTicketFolioSequenceRepository sequenceRepository,
+            JpaTicketRepository ticketRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.tickets.folio-block-size:50}") int blockSize) {
+        this.sequenceRepository = sequenceRepository;
+        this.ticketRepository = ticketRepository;
+        this.reserveTransaction = new TransactionTemplate(transactionManager);
+        this.reserveTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = Math.max(1, blockSize);
+    }
+
+    /**
+     * Siguiente folio de la sucursal.
+     */
+    public String nextFolio(Long branchId) {
+        Block block = blocks.computeIfAbsent(branchId, id -> new Block());
+        long number;
+        synchronized (block) {
+            if (block.next > block.last) {
+                long first = reserveBlock(branchId);
+                block.next = first;
+                block.last = first + blockSize - 1;
+            }
+            number = block.next++;
+        }
+        return String.format("T-%d-%08d", branchId, number);
+    }
+
+    /**
+     * Sucursal codificada en el folio, si el folio tiene el formato
+     * {@code T-{sucursal}-{número}}.
+     */
+    public static Optional<Long> branchIdOf(String folio) {
+        if (folio == null) {
+            return Optional.empty();
+        }
+        Matcher matcher = FOLIO_PATTERN.matcher(folio.trim());
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Long.valueOf(matcher.group(1)));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Reserva un bloque en su propia transacción para liberar el bloqueo de la
+     * fila de secuencia de inmediato. Si dos instancias crean la fila de la
+     * sucursal al mismo tiempo, la que pierde reintenta sobre la fila ya creada.
+     */
+    private long reserveBlock(Long branchId) {
+        try {
+            return reserveTransaction.execute(status -> reserveBlockInTransaction(branchId));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Secuencia de folios creada concurrentemente para sucursal {}. Reintentando", branchId);
+            return reserveTransaction.execute(status -> reserveBlockInTransaction(branchId));
+        }
+    }
+
+    private long reserveBlockInTransaction(Long branchId) {
+        TicketFolioSequenceEntity sequence = sequenceRepository.findByBranchIdForUpdate(branchId)
+                .orElseGet(() -> TicketFolioSequenceEntity.builder()
+                        .branchId(branchId)
+                        .nextValue(ticketRepository.findMaxFolioNumberByBranch(branchId) + 1)
+                        .build());
+
+        long first = sequence.getNextValue();
+        sequence.setNextValue(first + blockSize);
+        sequenceRepository.saveAndFlush(sequence);
+
+        log.debug("Bloque de folios reservado para sucursal {}: {} - {}", branchId, first, first + blockSize - 1);
+        return first;
+    }
+
+    private static final class Block {
+        private long next = 1;
+        private long last = 0;
+    }
+}
@@ -1,8 +1,11 @@
 package com.ayd.parkcontrol.application.usecase.admin;
 
+import com.ayd.parkcontrol.application.event.UserAccountChangedEvent;
 import com.ayd.parkcontrol.domain.exception.UserNotFoundException;
+import com.ayd.parkcontrol.domain.model.user.User;
 import com.ayd.parkcontrol.domain.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -11,13 +14,16 @@ import org.springframework.transaction.annotation.Transactional;
 public class DeleteUserUseCase {
 
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void execute(Long userId) {
         // Verify user exists before deleting
-        userRepository.findById(userId)
+        User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(userId));
 
         userRepository.deleteById(userId);
+
+        eventPublisher.publishEvent(new UserAccountChangedEvent(user.getEmail()));
     }
 }
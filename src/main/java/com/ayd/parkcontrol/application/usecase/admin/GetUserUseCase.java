@@ -5,8 +5,8 @@ import com.ayd.parkcontrol.application.mapper.UserDtoMapper;
 import com.ayd.parkcontrol.domain.exception.UserNotFoundException;
 import com.ayd.parkcontrol.domain.model.user.Role;
 import com.ayd.parkcontrol.domain.model.user.User;
-import com.ayd.parkcontrol.domain.repository.RoleRepository;
 import com.ayd.parkcontrol.domain.repository.UserRepository;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,7 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class GetUserUseCase {
 
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final CatalogCache catalogCache;
     private final UserDtoMapper userDtoMapper;
 
     @Transactional(readOnly = true)
@@ -24,7 +24,7 @@ public class GetUserUseCase {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(userId));
 
-        Role role = roleRepository.findById(user.getRoleTypeId()).orElse(null);
+        Role role = catalogCache.roles().findById(user.getRoleTypeId()).orElse(null);
 
         return userDtoMapper.toResponse(user, role);
     }
@@ -3,7 +3,7 @@ package com.ayd.parkcontrol.application.usecase.admin;
 import com.ayd.parkcontrol.application.dto.response.admin.UserResponse;
 import com.ayd.parkcontrol.application.mapper.UserDtoMapper;
 import com.ayd.parkcontrol.domain.model.user.Role;
-import com.ayd.parkcontrol.domain.repository.RoleRepository;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.UserEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.mapper.UserMapper;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaUserRepository;
@@ -15,7 +15,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,7 +24,7 @@ public class ListAllUsersUseCase {
 
     private final JpaUserRepository jpaUserRepository;
     private final UserMapper userMapper;
-    private final RoleRepository roleRepository;
+    private final CatalogCache catalogCache;
     private final UserDtoMapper userDtoMapper;
 
     @Transactional(readOnly = true)
@@ -35,9 +34,8 @@ public class ListAllUsersUseCase {
 
         List<UserEntity> userEntities = jpaUserRepository.findAll(sort);
 
-        // Load all roles and create a cache
-        Map<Integer, Role> roleCache = roleRepository.findAll().stream()
-                .collect(Collectors.toMap(Role::getId, Function.identity()));
+        // Roles from the in-memory catalog
+        Map<Integer, Role> roleCache = catalogCache.roles().asMapById();
 
         log.info("Retrieved all users: {} users found", userEntities.size());
 
@@ -5,8 +5,8 @@ import com.ayd.parkcontrol.application.dto.response.common.PageResponse;
 import com.ayd.parkcontrol.application.mapper.UserDtoMapper;
 import com.ayd.parkcontrol.domain.model.user.Role;
 import com.ayd.parkcontrol.domain.model.user.User;
-import com.ayd.parkcontrol.domain.repository.RoleRepository;
 import com.ayd.parkcontrol.domain.repository.UserRepository;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -15,7 +15,6 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -25,7 +24,7 @@ import java.util.stream.Collectors;
 public class ListUsersByStatusUseCase {
 
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final CatalogCache catalogCache;
     private final UserDtoMapper userDtoMapper;
 
     @Transactional(readOnly = true)
@@ -36,7 +35,7 @@ public class ListUsersByStatusUseCase {
 
         Page<User> usersPage = userRepository.findByIsActive(isActive, pageable);
 
-        Map<Integer, Role> roleCache = loadRolesCache();
+        Map<Integer, Role> roleCache = catalogCache.roles().asMapById();
 
         List<UserResponse> userResponses = usersPage.getContent().stream()
                 .map(user -> {
@@ -57,11 +56,4 @@ public class ListUsersByStatusUseCase {
                 .has_next(usersPage.hasNext())
                 .build();
     }
-
-    private Map<Integer, Role> loadRolesCache() {
-        List<Role> roles = roleRepository.findAll();
-        Map<Integer, Role> roleMap = new HashMap<>();
-        roles.forEach(role -> roleMap.put(role.getId(), role));
-        return roleMap;
-    }
 }
@@ -2,6 +2,7 @@ package com.ayd.parkcontrol.application.usecase.admin;
 
 import com.ayd.parkcontrol.application.dto.request.admin.UpdateUserStatusRequest;
 import com.ayd.parkcontrol.application.dto.response.admin.UserResponse;
+import com.ayd.parkcontrol.application.event.UserAccountChangedEvent;
 import com.ayd.parkcontrol.application.mapper.UserDtoMapper;
 import com.ayd.parkcontrol.domain.exception.UserNotFoundException;
 import com.ayd.parkcontrol.domain.model.user.Role;
@@ -9,6 +10,7 @@ import com.ayd.parkcontrol.domain.model.user.User;
 import com.ayd.parkcontrol.domain.repository.RoleRepository;
 import com.ayd.parkcontrol.domain.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,6 +21,7 @@ public class UpdateUserStatusUseCase {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final UserDtoMapper userDtoMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public UserResponse execute(Long userId, UpdateUserStatusRequest request) {
@@ -28,6 +31,8 @@ public class UpdateUserStatusUseCase {
         user.setIsActive(request.getIs_active());
         User updatedUser = userRepository.save(user);
 
+        eventPublisher.publishEvent(new UserAccountChangedEvent(updatedUser.getEmail()));
+
         Role role = roleRepository.findById(updatedUser.getRoleTypeId()).orElse(null);
 
         return userDtoMapper.toResponse(updatedUser, role);
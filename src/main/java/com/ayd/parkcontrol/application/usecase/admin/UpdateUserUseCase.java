@@ -2,6 +2,7 @@ package com.ayd.parkcontrol.application.usecase.admin;
 
 import com.ayd.parkcontrol.application.dto.request.admin.UpdateUserRequest;
 import com.ayd.parkcontrol.application.dto.response.admin.UserResponse;
+import com.ayd.parkcontrol.application.event.UserAccountChangedEvent;
 import com.ayd.parkcontrol.application.mapper.UserDtoMapper;
 import com.ayd.parkcontrol.domain.exception.DuplicateEmailException;
 import com.ayd.parkcontrol.domain.exception.RoleNotFoundException;
@@ -11,6 +12,7 @@ import com.ayd.parkcontrol.domain.model.user.User;
 import com.ayd.parkcontrol.domain.repository.RoleRepository;
 import com.ayd.parkcontrol.domain.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +23,7 @@ public class UpdateUserUseCase {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final UserDtoMapper userDtoMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public UserResponse execute(Long userId, UpdateUserRequest request) {
@@ -38,9 +41,15 @@ public class UpdateUserUseCase {
                     .orElseThrow(() -> new RoleNotFoundException(request.getRole_type_id()));
         }
 
+        String previousEmail = user.getEmail();
         userDtoMapper.updateDomain(user, request);
         User updatedUser = userRepository.save(user);
 
+        eventPublisher.publishEvent(new UserAccountChangedEvent(previousEmail));
+        if (updatedUser.getEmail() != null && !updatedUser.getEmail().equals(previousEmail)) {
+            eventPublisher.publishEvent(new UserAccountChangedEvent(updatedUser.getEmail()));
+        }
+
         Role role = roleRepository.findById(updatedUser.getRoleTypeId()).orElse(null);
 
         return userDtoMapper.toResponse(updatedUser, role);
@@ -7,8 +7,8 @@ import com.ayd.parkcontrol.domain.model.audit.AuditLog;
 import com.ayd.parkcontrol.domain.model.audit.OperationType;
 import com.ayd.parkcontrol.domain.model.user.User;
 import com.ayd.parkcontrol.domain.repository.AuditLogRepository;
-import com.ayd.parkcontrol.domain.repository.OperationTypeRepository;
 import com.ayd.parkcontrol.domain.repository.UserRepository;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,7 +19,7 @@ public class GetAuditLogUseCase {
 
     private final AuditLogRepository auditLogRepository;
     private final UserRepository userRepository;
-    private final OperationTypeRepository operationTypeRepository;
+    private final CatalogCache catalogCache;
     private final AuditLogDtoMapper auditLogDtoMapper;
 
     @Transactional(readOnly = true)
@@ -30,7 +30,7 @@ public class GetAuditLogUseCase {
         User user = auditLog.getUserId() != null
                 ? userRepository.findById(auditLog.getUserId()).orElse(null)
                 : null;
-        OperationType operationType = operationTypeRepository.findById(auditLog.getOperationTypeId()).orElse(null);
+        OperationType operationType = catalogCache.operationTypes().findById(auditLog.getOperationTypeId()).orElse(null);
 
         return auditLogDtoMapper.toResponse(auditLog, user, operationType);
     }
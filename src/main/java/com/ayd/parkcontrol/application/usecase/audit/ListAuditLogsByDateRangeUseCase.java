@@ -1,16 +1,11 @@
 package com.ayd.parkcontrol.application.usecase.audit;
 
 import com.ayd.parkcontrol.application.dto.response.audit.AuditLogResponse;
-import com.ayd.parkcontrol.application.mapper.AuditLogDtoMapper;
-import com.ayd.parkcontrol.domain.model.audit.AuditLog;
-import com.ayd.parkcontrol.domain.model.audit.OperationType;
-import com.ayd.parkcontrol.domain.model.user.User;
-import com.ayd.parkcontrol.domain.repository.AuditLogRepository;
-import com.ayd.parkcontrol.domain.repository.OperationTypeRepository;
-import com.ayd.parkcontrol.domain.repository.UserRepository;
+import com.ayd.parkcontrol.application.dto.response.common.CursorPageResponse;
+import com.ayd.parkcontrol.application.service.AuditLogPageLoader;
+import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
+import com.ayd.parkcontrol.domain.model.audit.AuditLogFilter;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,21 +15,19 @@ import java.time.LocalDateTime;
 @RequiredArgsConstructor
 public class ListAuditLogsByDateRangeUseCase {
 
-    private final AuditLogRepository auditLogRepository;
-    private final UserRepository userRepository;
-    private final OperationTypeRepository operationTypeRepository;
-    private final AuditLogDtoMapper auditLogDtoMapper;
+    private final AuditLogPageLoader auditLogPageLoader;
 
     @Transactional(readOnly = true)
-    public Page<AuditLogResponse> execute(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
-        Page<AuditLog> auditLogs = auditLogRepository.findByCreatedAtBetween(startDate, endDate, pageable);
+    public CursorPageResponse<AuditLogResponse> execute(LocalDateTime startDate, LocalDateTime endDate, String cursor,
+            Integer size, boolean includeTotal) {
+        if (startDate.isAfter(endDate)) {
+            throw new BusinessRuleException("La fecha de inicio no puede ser posterior a la fecha de fin");
+        }
 
-        return auditLogs.map(auditLog -> {
-            User user = auditLog.getUserId() != null
-                    ? userRepository.findById(auditLog.getUserId()).orElse(null)
-                    : null;
-            OperationType operationType = operationTypeRepository.findById(auditLog.getOperationTypeId()).orElse(null);
-            return auditLogDtoMapper.toResponse(auditLog, user, operationType);
-        });
+        AuditLogFilter filter = AuditLogFilter.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .build();
+        return auditLogPageLoader.load(filter, cursor, size, includeTotal);
     }
 }
@@ -2,6 +2,7 @@ package com.ayd.parkcontrol.application.usecase.auth;
 
 import com.ayd.parkcontrol.application.dto.request.auth.ChangePasswordRequest;
 import com.ayd.parkcontrol.application.dto.response.common.ApiResponse;
+import com.ayd.parkcontrol.application.event.UserAccountChangedEvent;
 import com.ayd.parkcontrol.application.port.notification.EmailService;
 import com.ayd.parkcontrol.domain.exception.InvalidCredentialsException;
 import com.ayd.parkcontrol.domain.exception.PasswordMismatchException;
@@ -10,6 +11,7 @@ import com.ayd.parkcontrol.infrastructure.persistence.entity.UserEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaUserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -24,6 +26,7 @@ public class ChangePasswordUseCase {
     private final JpaUserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ApiResponse<Void> execute(ChangePasswordRequest request) {
@@ -47,6 +50,7 @@ public class ChangePasswordUseCase {
 
         String newPasswordHash = passwordEncoder.encode(request.getNewPassword());
         userRepository.updatePassword(email, newPasswordHash);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(email));
 
         emailService.sendPasswordChangedNotification(email, user.getFirstName() + " " + user.getLastName());
 
@@ -2,6 +2,7 @@ package com.ayd.parkcontrol.application.usecase.auth;
 
 import com.ayd.parkcontrol.application.dto.request.auth.ChangePasswordWith2FARequest;
 import com.ayd.parkcontrol.application.dto.response.common.ApiResponse;
+import com.ayd.parkcontrol.application.event.UserAccountChangedEvent;
 import com.ayd.parkcontrol.application.port.notification.EmailService;
 import com.ayd.parkcontrol.domain.exception.InvalidCredentialsException;
 import com.ayd.parkcontrol.domain.exception.PasswordMismatchException;
@@ -12,6 +13,7 @@ import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaPasswordRese
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaUserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -29,6 +31,7 @@ public class ChangePasswordWith2FAUseCase {
     private final JpaPasswordResetTokenRepository tokenRepository;
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ApiResponse<Void> execute(ChangePasswordWith2FARequest request) {
@@ -53,6 +56,7 @@ public class ChangePasswordWith2FAUseCase {
         // Update password
         String newPasswordHash = passwordEncoder.encode(request.getNewPassword());
         userRepository.updatePassword(email, newPasswordHash);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(email));
 
         // Mark token as used
         token.setIsUsed(true);
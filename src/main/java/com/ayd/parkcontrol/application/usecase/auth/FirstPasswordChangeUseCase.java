@@ -2,6 +2,7 @@ package com.ayd.parkcontrol.application.usecase.auth;
 
 import com.ayd.parkcontrol.application.dto.request.auth.FirstPasswordChangeRequest;
 import com.ayd.parkcontrol.application.dto.response.common.ApiResponse;
+import com.ayd.parkcontrol.application.event.UserAccountChangedEvent;
 import com.ayd.parkcontrol.application.port.notification.EmailService;
 import com.ayd.parkcontrol.domain.exception.InvalidCredentialsException;
 import com.ayd.parkcontrol.domain.exception.PasswordMismatchException;
@@ -11,6 +12,7 @@ import com.ayd.parkcontrol.infrastructure.persistence.entity.UserEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaUserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -25,6 +27,7 @@ public class FirstPasswordChangeUseCase {
     private final JpaUserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ApiResponse<Void> execute(FirstPasswordChangeRequest request) {
@@ -57,6 +60,7 @@ public class FirstPasswordChangeUseCase {
         // Actualizar contraseña y marcar que ya no requiere cambio
         String newPasswordHash = passwordEncoder.encode(request.getNewPassword());
         userRepository.updatePassword(email, newPasswordHash);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(email));
 
         // Enviar notificación por email
         emailService.sendPasswordChangedNotification(email, user.getFirstName() + " " + user.getLastName());
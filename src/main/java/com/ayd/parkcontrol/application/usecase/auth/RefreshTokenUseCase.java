@@ -6,6 +6,7 @@ import com.ayd.parkcontrol.domain.exception.TokenExpiredException;
 import com.ayd.parkcontrol.domain.exception.UserNotFoundException;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.UserEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaUserRepository;
+import com.ayd.parkcontrol.security.jwt.JwtClaims;
 import com.ayd.parkcontrol.security.jwt.JwtTokenProvider;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,11 +27,10 @@ public class RefreshTokenUseCase {
     public TokenResponse execute(RefreshTokenRequest request) {
         String refreshToken = request.getRefreshToken();
 
-        if (!jwtTokenProvider.validateToken(refreshToken)) {
-            throw new TokenExpiredException("Invalid or expired refresh token");
-        }
+        String email = jwtTokenProvider.parseToken(refreshToken)
+                .map(JwtClaims::getUsername)
+                .orElseThrow(() -> new TokenExpiredException("Invalid or expired refresh token"));
 
-        String email = jwtTokenProvider.getUsernameFromToken(refreshToken);
         UserEntity user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UserNotFoundException("User not found"));
 
@@ -48,7 +48,11 @@ public class GetOccupancyUseCase {
         return 0;
     }
 
-    private OccupancyResponse buildOccupancyResponse(Branch branch, Integer occupied2r, Integer occupied4r) {
+    /**
+     * Construye la respuesta de ocupación a partir de los contadores ya
+     * leídos; la usa también el feed en vivo para no repetir las lecturas.
+     */
+    public OccupancyResponse buildOccupancyResponse(Branch branch, Integer occupied2r, Integer occupied4r) {
         int available2r = branch.getCapacity2r() - occupied2r;
         int available4r = branch.getCapacity4r() - occupied4r;
 
@@ -2,6 +2,7 @@ package com.ayd.parkcontrol.application.usecase.branch;
 
 import com.ayd.parkcontrol.application.dto.request.branch.UpdateBranchRequest;
 import com.ayd.parkcontrol.application.dto.response.branch.BranchResponse;
+import com.ayd.parkcontrol.application.event.RateChangedEvent;
 import com.ayd.parkcontrol.application.mapper.BranchDtoMapper;
 import com.ayd.parkcontrol.domain.exception.BranchNotFoundException;
 import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
@@ -10,6 +11,7 @@ import com.ayd.parkcontrol.domain.model.branch.Branch;
 import com.ayd.parkcontrol.domain.repository.BranchRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,6 +27,7 @@ public class UpdateBranchUseCase {
 
     private final BranchRepository branchRepository;
     private final BranchDtoMapper branchDtoMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public BranchResponse execute(Long branchId, UpdateBranchRequest request) {
@@ -37,6 +40,10 @@ public class UpdateBranchUseCase {
 
         Branch updatedBranch = branchRepository.save(branch);
 
+        if (request.getRatePerHour() != null) {
+            eventPublisher.publishEvent(RateChangedEvent.branchRate(branchId));
+        }
+
         log.info("Branch with ID {} updated successfully", branchId);
 
         return branchDtoMapper.toResponse(updatedBranch);
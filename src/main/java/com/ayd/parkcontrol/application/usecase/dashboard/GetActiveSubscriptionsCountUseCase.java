@@ -16,8 +16,6 @@ public class GetActiveSubscriptionsCountUseCase {
     @Transactional(readOnly = true)
     public Long execute() {
         // Contar suscripciones que no han expirado
-        return subscriptionRepository.findAll().stream()
-                .filter(sub -> sub.getEndDate() != null && sub.getEndDate().isAfter(LocalDateTime.now()))
-                .count();
+        return subscriptionRepository.countByEndDateAfter(LocalDateTime.now());
     }
 }
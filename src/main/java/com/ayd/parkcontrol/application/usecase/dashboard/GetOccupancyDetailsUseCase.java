@@ -1,10 +1,10 @@
 package com.ayd.parkcontrol.application.usecase.dashboard;
 
 import com.ayd.parkcontrol.application.dto.response.dashboard.OccupancyDetailResponse;
+import com.ayd.parkcontrol.application.service.OccupancyHistoryService;
 import com.ayd.parkcontrol.domain.repository.BranchRepository;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketStatusTypeRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaVehicleTypeRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
@@ -19,24 +19,31 @@ public class GetOccupancyDetailsUseCase {
 
     private final BranchRepository branchRepository;
     private final JpaTicketRepository ticketRepository;
-    private final JpaTicketStatusTypeRepository ticketStatusTypeRepository;
-    private final JpaVehicleTypeRepository vehicleTypeRepository;
+    private final CatalogCache catalogCache;
+    private final OccupancyHistoryService occupancyHistoryService;
 
+    /**
+     * Ocupación actual de cada sucursal junto con el pico y el promedio del
+     * día según el histórico de muestras.
+     */
     @Transactional(readOnly = true)
     public List<OccupancyDetailResponse> execute() {
         // Obtener estado IN_PROGRESS para tickets activos
-        var inProgressStatus = ticketStatusTypeRepository.findByCode("IN_PROGRESS")
+        var inProgressStatus = catalogCache.ticketStatuses().findByCode("IN_PROGRESS")
                 .orElseThrow(() -> new RuntimeException("Estado IN_PROGRESS no encontrado"));
 
         // Obtener tipos de vehículo
-        var vehicleType2R = vehicleTypeRepository.findByCode("2R")
+        var vehicleType2R = catalogCache.vehicleTypes().findByCode("2R")
                 .orElseThrow(() -> new RuntimeException("Tipo de vehículo 2R no encontrado"));
-        var vehicleType4R = vehicleTypeRepository.findByCode("4R")
+        var vehicleType4R = catalogCache.vehicleTypes().findByCode("4R")
                 .orElseThrow(() -> new RuntimeException("Tipo de vehículo 4R no encontrado"));
 
         // Obtener todas las sucursales activas
         var branches = branchRepository.findAll(PageRequest.of(0, Integer.MAX_VALUE)).getContent();
 
+        // Pico y promedio del día actual
+        var today = occupancyHistoryService.summarize(occupancyHistoryService.resolveRange(null, null));
+
         List<OccupancyDetailResponse> occupancyDetails = new ArrayList<>();
 
         for (var branch : branches) {
@@ -59,6 +66,7 @@ public class GetOccupancyDetailsUseCase {
             if (capacity2R > 0) {
                 double occupancy2R = (occupied2R * 100.0) / capacity2R;
                 int available2R = (int) (capacity2R - occupied2R);
+                var stats2R = today.get(branch.getId(), vehicleType2R.getId(), (int) occupied2R);
 
                 occupancyDetails.add(OccupancyDetailResponse.builder()
                         .branchId(branch.getId())
@@ -68,6 +76,8 @@ public class GetOccupancyDetailsUseCase {
                         .currentOccupancy((int) occupied2R)
                         .availableSpaces(available2R)
                         .occupancyPercentage(occupancy2R)
+                        .peakOccupancyToday(stats2R.peakOccupancy())
+                        .averageOccupancyToday(stats2R.averageOccupancy())
                         .build());
             }
 
@@ -75,6 +85,7 @@ public class GetOccupancyDetailsUseCase {
             if (capacity4R > 0) {
                 double occupancy4R = (occupied4R * 100.0) / capacity4R;
                 int available4R = (int) (capacity4R - occupied4R);
+                var stats4R = today.get(branch.getId(), vehicleType4R.getId(), (int) occupied4R);
 
                 occupancyDetails.add(OccupancyDetailResponse.builder()
                         .branchId(branch.getId())
@@ -84,6 +95,8 @@ public class GetOccupancyDetailsUseCase {
                         .currentOccupancy((int) occupied4R)
                         .availableSpaces(available4R)
                         .occupancyPercentage(occupancy4R)
+                        .peakOccupancyToday(stats4R.peakOccupancy())
+                        .averageOccupancyToday(stats4R.averageOccupancy())
                         .build());
             }
         }
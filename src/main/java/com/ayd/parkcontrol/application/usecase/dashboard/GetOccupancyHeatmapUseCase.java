@@ -0,0 +1,96 @@
+package com.ayd.parkcontrol.application.usecase.dashboard;
+
+import com.ayd.parkcontrol.application.dto.response.dashboard.OccupancyHeatmapResponse;
+import com.ayd.parkcontrol.application.service.OccupancyHistoryService;
+import com.ayd.parkcontrol.domain.exception.BranchNotFoundException;
+import com.ayd.parkcontrol.domain.model.branch.Branch;
+import com.ayd.parkcontrol.domain.repository.BranchRepository;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.VehicleTypeEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.OccupancyHeatmapProjection;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaOccupancyHourlyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class GetOccupancyHeatmapUseCase {
+
+    private final BranchRepository branchRepository;
+    private final JpaOccupancyHourlyRepository occupancyHourlyRepository;
+    private final OccupancyHistoryService occupancyHistoryService;
+    private final CatalogCache catalogCache;
+
+    /**
+     * Mapa de calor de ocupación por día de la semana y hora del día,
+     * calculado sobre el histórico de muestras agregado por hora.
+     *
+     * @param startDate fecha inicial inclusiva (sin fechas = día actual)
+     * @param endDate   fecha final inclusiva (sin fechas = día actual)
+     * @param branchId  sucursal (nula = todas)
+     * @return una celda por sucursal, tipo de vehículo, día y hora con muestras
+     */
+    @Transactional(readOnly = true)
+    public List<OccupancyHeatmapResponse> execute(LocalDate startDate, LocalDate endDate, Long branchId) {
+        var range = occupancyHistoryService.resolveRange(startDate, endDate);
+
+        Map<Long, Branch> branches;
+        if (branchId != null) {
+            Branch branch = branchRepository.findById(branchId)
+                    .orElseThrow(() -> new BranchNotFoundException("Branch with ID " + branchId + " not found"));
+            branches = Map.of(branch.getId(), branch);
+        } else {
+            branches = branchRepository.findAll(PageRequest.of(0, Integer.MAX_VALUE)).getContent().stream()
+                    .collect(Collectors.toMap(Branch::getId, Function.identity()));
+        }
+
+        List<OccupancyHeatmapProjection> rows = occupancyHourlyRepository.summarizeByWeekdayAndHour(branchId,
+                range.start(), range.end());
+
+        List<OccupancyHeatmapResponse> cells = new ArrayList<>(rows.size());
+        for (OccupancyHeatmapProjection row : rows) {
+            Branch branch = branches.get(row.getBranchId());
+            String vehicleType = catalogCache.vehicleTypes().findById(row.getVehicleTypeId())
+                    .map(VehicleTypeEntity::getCode)
+                    .orElse(null);
+            if (branch == null || vehicleType == null || row.getSamples() == null || row.getSamples() == 0) {
+                continue;
+            }
+
+            double average = OccupancyHistoryService.average(row.getOccupancySum(), row.getSamples());
+            Integer capacity = "2R".equals(vehicleType) ? branch.getCapacity2r() : branch.getCapacity4r();
+
+            cells.add(OccupancyHeatmapResponse.builder()
+                    .branchId(branch.getId())
+                    .branchName(branch.getName())
+                    .vehicleType(vehicleType)
+                    .dayOfWeek(toIsoDayOfWeek(row.getDayOfWeek()))
+                    .hour(row.getHourOfDay())
+                    .averageOccupancy(average)
+                    .peakOccupancy(row.getPeakOccupancy())
+                    .averagePercentage(capacity != null && capacity > 0
+                            ? Math.round(average * 10000.0 / capacity) / 100.0
+                            : null)
+                    .samples(row.getSamples())
+                    .build());
+        }
+        return cells;
+    }
+
+    /**
+     * La consulta numera los días de 1 (domingo) a 7 (sábado); la respuesta
+     * usa la numeración ISO de 1 (lunes) a 7 (domingo).
+     */
+    private static Integer toIsoDayOfWeek(Integer dayOfWeek) {
+        return dayOfWeek != null ? (dayOfWeek + 5) % 7 + 1 : null;
+    }
+}
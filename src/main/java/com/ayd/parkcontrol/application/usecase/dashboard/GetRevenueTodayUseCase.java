@@ -1,8 +1,8 @@
 package com.ayd.parkcontrol.application.usecase.dashboard;
 
 import com.ayd.parkcontrol.application.dto.response.dashboard.RevenueTodayResponse;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketChargeRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaSubscriptionRepository;
+import com.ayd.parkcontrol.infrastructure.cache.DashboardMetricsService;
+import com.ayd.parkcontrol.infrastructure.cache.model.DashboardMetricsSnapshot;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -10,46 +10,24 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 
 @Service
 @RequiredArgsConstructor
 public class GetRevenueTodayUseCase {
 
-    private final JpaTicketChargeRepository ticketChargeRepository;
-    private final JpaSubscriptionRepository subscriptionRepository;
+    private final DashboardMetricsService dashboardMetricsService;
 
     @Transactional(readOnly = true)
     public RevenueTodayResponse execute() {
-        // Rango de tiempo: desde las 00:00 de hoy hasta ahora
-        LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
-        LocalDateTime endOfDay = startOfDay.plusDays(1);
+        DashboardMetricsSnapshot snapshot = dashboardMetricsService.getSnapshot(LocalDate.now());
 
         // Ingresos por tickets (cobros del día)
-        var todayTicketCharges = ticketChargeRepository.findAll().stream()
-                .filter(charge -> charge.getCreatedAt() != null
-                        && !charge.getCreatedAt().isBefore(startOfDay)
-                        && charge.getCreatedAt().isBefore(endOfDay))
-                .toList();
-
-        BigDecimal ticketsRevenue = todayTicketCharges.stream()
-                .map(charge -> charge.getTotalAmount() != null ? charge.getTotalAmount() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        long ticketTransactions = todayTicketCharges.size();
+        BigDecimal ticketsRevenue = snapshot.totalRevenueToday();
+        long ticketTransactions = snapshot.totalChargesToday();
 
         // Ingresos por suscripciones (compras del día)
-        var todaySubscriptions = subscriptionRepository.findAll().stream()
-                .filter(sub -> sub.getPurchaseDate() != null
-                        && !sub.getPurchaseDate().isBefore(startOfDay)
-                        && sub.getPurchaseDate().isBefore(endOfDay))
-                .toList();
-
-        BigDecimal subscriptionsRevenue = todaySubscriptions.stream()
-                .map(sub -> sub.getFrozenRateBase() != null ? sub.getFrozenRateBase() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        long subscriptionTransactions = todaySubscriptions.size();
+        BigDecimal subscriptionsRevenue = snapshot.getSubscriptionsRevenueToday();
+        long subscriptionTransactions = snapshot.getSubscriptionsToday();
 
         // Totales
         BigDecimal totalRevenue = ticketsRevenue.add(subscriptionsRevenue);
@@ -3,9 +3,8 @@ package com.ayd.parkcontrol.application.usecase.dashboard;
 import com.ayd.parkcontrol.application.dto.response.dashboard.SystemAlertResponse;
 import com.ayd.parkcontrol.domain.repository.BranchRepository;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaIncidentRepository;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketStatusTypeRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaVehicleTypeRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
@@ -21,8 +20,7 @@ public class GetSystemAlertsUseCase {
 
     private final BranchRepository branchRepository;
     private final JpaTicketRepository ticketRepository;
-    private final JpaTicketStatusTypeRepository ticketStatusTypeRepository;
-    private final JpaVehicleTypeRepository vehicleTypeRepository;
+    private final CatalogCache catalogCache;
     private final JpaIncidentRepository incidentRepository;
 
     @Transactional(readOnly = true)
@@ -30,13 +28,13 @@ public class GetSystemAlertsUseCase {
         List<SystemAlertResponse> alerts = new ArrayList<>();
 
         // Obtener estado IN_PROGRESS
-        var inProgressStatus = ticketStatusTypeRepository.findByCode("IN_PROGRESS")
+        var inProgressStatus = catalogCache.ticketStatuses().findByCode("IN_PROGRESS")
                 .orElseThrow(() -> new RuntimeException("Estado IN_PROGRESS no encontrado"));
 
         // Obtener tipos de vehículo
-        var vehicleType2R = vehicleTypeRepository.findByCode("2R")
+        var vehicleType2R = catalogCache.vehicleTypes().findByCode("2R")
                 .orElseThrow(() -> new RuntimeException("Tipo de vehículo 2R no encontrado"));
-        var vehicleType4R = vehicleTypeRepository.findByCode("4R")
+        var vehicleType4R = catalogCache.vehicleTypes().findByCode("4R")
                 .orElseThrow(() -> new RuntimeException("Tipo de vehículo 4R no encontrado"));
 
         // Alertas de ocupación crítica (>90%)
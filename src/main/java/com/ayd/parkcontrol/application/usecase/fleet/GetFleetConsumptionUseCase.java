@@ -1,16 +1,19 @@
 package com.ayd.parkcontrol.application.usecase.fleet;
 
 import com.ayd.parkcontrol.application.dto.response.fleet.FleetConsumptionResponse;
+import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.FleetCompanyEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.FleetVehicleConsumptionProjection;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaFleetCompanyRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaFleetVehicleRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Use case for retrieving fleet consumption statistics
@@ -20,70 +23,74 @@ import java.util.stream.Collectors;
 public class GetFleetConsumptionUseCase {
 
     private final JpaFleetCompanyRepository fleetCompanyRepository;
-    private final JpaTicketRepository ticketRepository;
+    private final JpaFleetVehicleRepository fleetVehicleRepository;
 
     /**
      * Retrieves consumption statistics for a fleet company
      *
      * @param companyId the fleet company ID
+     * @param startDate optional start of the period (inclusive, by ticket entry)
+     * @param endDate   optional end of the period (exclusive, by ticket entry)
+     * @param pageable  page of the per-vehicle breakdown
      * @return fleet consumption statistics
      * @throws IllegalArgumentException if company not found
+     * @throws BusinessRuleException    if the period start is after its end
      */
     @Transactional(readOnly = true)
-    public FleetConsumptionResponse execute(Long companyId) {
+    public FleetConsumptionResponse execute(Long companyId, LocalDateTime startDate, LocalDateTime endDate,
+            Pageable pageable) {
         FleetCompanyEntity company = fleetCompanyRepository.findById(companyId)
                 .orElseThrow(
                         () -> new IllegalArgumentException("Empresa flotillera no encontrada con ID: " + companyId));
 
-        // Get all vehicle license plates from this fleet
-        List<String> fleetLicensePlates = ticketRepository.findLicensePlatesByFleetCompany(companyId);
-
-        if (fleetLicensePlates.isEmpty()) {
-            return buildEmptyConsumption(company);
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new BusinessRuleException("La fecha de inicio no puede ser posterior a la fecha de fin");
         }
 
-        // Get consumption statistics
-        Long totalVehicles = fleetCompanyRepository.countActiveVehiclesByCompanyId(companyId);
-        Long totalEntries = ticketRepository.countEntriesByLicensePlates(fleetLicensePlates);
-        BigDecimal totalHoursConsumed = ticketRepository.sumHoursByLicensePlates(fleetLicensePlates);
-        BigDecimal totalAmountCharged = ticketRepository.sumAmountByLicensePlates(fleetLicensePlates);
+        // Per-vehicle breakdown and fleet totals come from the same grouped query
+        List<FleetVehicleConsumptionProjection> rows = fleetVehicleRepository.findConsumptionByCompanyId(
+                companyId, startDate, endDate, pageable.getPageSize(), pageable.getOffset());
+
+        // A page past the end has no rows; read the totals from the first one
+        FleetVehicleConsumptionProjection totals = !rows.isEmpty() ? rows.get(0)
+                : pageable.getOffset() > 0
+                        ? fleetVehicleRepository.findConsumptionByCompanyId(companyId, startDate, endDate, 1, 0)
+                                .stream().findFirst().orElse(null)
+                        : null;
 
-        // Get per-vehicle consumption details
-        List<FleetConsumptionResponse.VehicleConsumptionDetail> vehicleDetails = fleetLicensePlates.stream()
-                .map(plate -> {
-                    Long entries = ticketRepository.countEntriesByLicensePlate(plate);
-                    BigDecimal hours = ticketRepository.sumHoursByLicensePlate(plate);
-                    BigDecimal amount = ticketRepository.sumAmountByLicensePlate(plate);
+        List<FleetConsumptionResponse.VehicleConsumptionDetail> vehicleDetails = rows.stream()
+                .map(row -> FleetConsumptionResponse.VehicleConsumptionDetail.builder()
+                        .licensePlate(row.getLicensePlate())
+                        .assignedEmployee(row.getAssignedEmployee())
+                        .entriesCount(orZero(row.getEntriesCount()))
+                        .hoursConsumed(orZero(row.getHoursConsumed()))
+                        .amountCharged(orZero(row.getAmountCharged()))
+                        .build())
+                .toList();
 
-                    return FleetConsumptionResponse.VehicleConsumptionDetail.builder()
-                            .licensePlate(plate)
-                            .entriesCount(entries != null ? entries : 0L)
-                            .hoursConsumed(hours != null ? hours : BigDecimal.ZERO)
-                            .amountCharged(amount != null ? amount : BigDecimal.ZERO)
-                            .build();
-                })
-                .collect(Collectors.toList());
+        int totalVehicles = totals != null ? orZero(totals.getTotalVehicles()).intValue() : 0;
 
         return FleetConsumptionResponse.builder()
-                .companyId(companyId)
+                .companyId(company.getId())
                 .companyName(company.getName())
-                .totalVehicles(totalVehicles != null ? totalVehicles.intValue() : 0)
-                .totalEntries(totalEntries != null ? totalEntries : 0L)
-                .totalHoursConsumed(totalHoursConsumed != null ? totalHoursConsumed : BigDecimal.ZERO)
-                .totalAmountCharged(totalAmountCharged != null ? totalAmountCharged : BigDecimal.ZERO)
+                .periodStart(startDate)
+                .periodEnd(endDate)
+                .totalVehicles(totalVehicles)
+                .totalEntries(totals != null ? orZero(totals.getTotalEntries()) : 0L)
+                .totalHoursConsumed(totals != null ? orZero(totals.getTotalHoursConsumed()) : BigDecimal.ZERO)
+                .totalAmountCharged(totals != null ? orZero(totals.getTotalAmountCharged()) : BigDecimal.ZERO)
                 .vehicleConsumption(vehicleDetails)
+                .page(pageable.getPageNumber())
+                .size(pageable.getPageSize())
+                .totalPages((totalVehicles + pageable.getPageSize() - 1) / pageable.getPageSize())
                 .build();
     }
 
-    private FleetConsumptionResponse buildEmptyConsumption(FleetCompanyEntity company) {
-        return FleetConsumptionResponse.builder()
-                .companyId(company.getId())
-                .companyName(company.getName())
-                .totalVehicles(0)
-                .totalEntries(0L)
-                .totalHoursConsumed(BigDecimal.ZERO)
-                .totalAmountCharged(BigDecimal.ZERO)
-                .vehicleConsumption(List.of())
-                .build();
+    private static Long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
     }
 }
@@ -9,12 +9,13 @@ import com.ayd.parkcontrol.domain.repository.FleetRepository;
 import com.ayd.parkcontrol.domain.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 /**
  * Use case para obtener estadísticas de consumo de la flotilla del
@@ -27,18 +28,22 @@ public class GetMyFleetConsumptionUseCase {
 
     private final UserRepository userRepository;
     private final FleetRepository fleetRepository;
+    private final GetFleetConsumptionUseCase getFleetConsumptionUseCase;
 
     /**
      * Obtiene las estadísticas de consumo de la flotilla del administrador
      * autenticado.
      *
+     * @param startDate inicio opcional del periodo (inclusive)
+     * @param endDate   fin opcional del periodo (exclusivo)
+     * @param pageable  página del detalle por vehículo
      * @return FleetConsumptionResponse con las estadísticas
      * @throws UserNotFoundException     si el usuario autenticado no existe
      * @throws ResourceNotFoundException si el usuario no tiene una flotilla
      *                                   asignada
      */
     @Transactional(readOnly = true)
-    public FleetConsumptionResponse execute() {
+    public FleetConsumptionResponse execute(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String email = authentication.getName();
 
@@ -53,21 +58,12 @@ public class GetMyFleetConsumptionUseCase {
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "El usuario no tiene una flotilla asignada"));
 
-        // Obtener estadísticas de consumo
-        // NOTA: Estas consultas deben implementarse en FleetRepository
-        BigDecimal totalConsumption = fleetRepository.getTotalConsumptionByFleetId(fleet.getId())
-                .orElse(BigDecimal.ZERO);
-
-        Integer totalVehicles = fleetRepository.countTotalVehiclesByFleetId(fleet.getId());
+        FleetConsumptionResponse response = getFleetConsumptionUseCase.execute(fleet.getId(), startDate, endDate,
+                pageable);
 
         log.info("Consumption stats retrieved for fleet: {}, total: {}",
-                fleet.getName(), totalConsumption);
+                fleet.getName(), response.getTotalAmountCharged());
 
-        return FleetConsumptionResponse.builder()
-                .companyId(fleet.getId())
-                .companyName(fleet.getName())
-                .totalVehicles(totalVehicles)
-                .totalAmountCharged(totalConsumption)
-                .build();
+        return response;
     }
 }
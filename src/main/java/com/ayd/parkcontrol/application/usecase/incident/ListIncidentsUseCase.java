@@ -2,6 +2,7 @@ package com.ayd.parkcontrol.application.usecase.incident;
 
 import com.ayd.parkcontrol.application.dto.response.incident.IncidentResponse;
 import com.ayd.parkcontrol.application.mapper.IncidentMapper;
+import com.ayd.parkcontrol.application.service.ReferenceDataResolver;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.*;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.*;
 import lombok.RequiredArgsConstructor;
@@ -10,18 +11,18 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import static com.ayd.parkcontrol.application.service.ReferenceDataResolver.collectIds;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ListIncidentsUseCase {
 
     private final JpaIncidentRepository incidentRepository;
-    private final JpaIncidentTypeRepository incidentTypeRepository;
-    private final JpaBranchRepository branchRepository;
-    private final JpaUserRepository userRepository;
-    private final JpaIncidentEvidenceRepository evidenceRepository;
+    private final ReferenceDataResolver referenceDataResolver;
     private final IncidentMapper mapper;
 
     @Transactional(readOnly = true)
@@ -30,28 +31,23 @@ public class ListIncidentsUseCase {
 
         List<IncidentEntity> incidents = incidentRepository.findAll();
 
+        Map<Integer, IncidentTypeEntity> incidentTypes = referenceDataResolver
+                .incidentTypesById(collectIds(incidents, IncidentEntity::getIncidentTypeId));
+        Map<Long, BranchEntity> branches = referenceDataResolver
+                .branchesById(collectIds(incidents, IncidentEntity::getBranchId));
+        Map<Long, UserEntity> users = referenceDataResolver.userEntitiesById(
+                collectIds(incidents, IncidentEntity::getReportedByUserId, IncidentEntity::getResolvedByUserId));
+        Map<Long, Long> evidenceCounts = referenceDataResolver
+                .evidenceCountsByIncidentId(collectIds(incidents, IncidentEntity::getId));
+
         return incidents.stream()
-                .map(this::mapToResponseWithDetails)
+                .map(incident -> mapper.toResponseWithDetails(
+                        incident,
+                        incidentTypes.get(incident.getIncidentTypeId()),
+                        branches.get(incident.getBranchId()),
+                        users.get(incident.getReportedByUserId()),
+                        incident.getResolvedByUserId() != null ? users.get(incident.getResolvedByUserId()) : null,
+                        evidenceCounts.getOrDefault(incident.getId(), 0L)))
                 .collect(Collectors.toList());
     }
-
-    private IncidentResponse mapToResponseWithDetails(IncidentEntity incident) {
-        IncidentTypeEntity incidentType = incidentTypeRepository.findById(incident.getIncidentTypeId())
-                .orElse(null);
-
-        BranchEntity branch = branchRepository.findById(incident.getBranchId())
-                .orElse(null);
-
-        UserEntity reportedByUser = userRepository.findById(incident.getReportedByUserId())
-                .orElse(null);
-
-        UserEntity resolvedByUser = incident.getResolvedByUserId() != null
-                ? userRepository.findById(incident.getResolvedByUserId()).orElse(null)
-                : null;
-
-        Long evidenceCount = evidenceRepository.countByIncidentId(incident.getId());
-
-        return mapper.toResponseWithDetails(
-                incident, incidentType, branch, reportedByUser, resolvedByUser, evidenceCount);
-    }
 }
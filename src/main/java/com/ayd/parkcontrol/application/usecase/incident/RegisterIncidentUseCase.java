@@ -2,12 +2,14 @@ package com.ayd.parkcontrol.application.usecase.incident;
 
 import com.ayd.parkcontrol.application.dto.request.incident.RegisterIncidentRequest;
 import com.ayd.parkcontrol.application.dto.response.incident.IncidentResponse;
+import com.ayd.parkcontrol.application.event.IncidentStatusChangedEvent;
 import com.ayd.parkcontrol.application.mapper.IncidentMapper;
 import com.ayd.parkcontrol.domain.exception.ResourceNotFoundException;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.*;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -24,6 +26,7 @@ public class RegisterIncidentUseCase {
     private final JpaBranchRepository branchRepository;
     private final JpaUserRepository userRepository;
     private final IncidentMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public IncidentResponse execute(RegisterIncidentRequest request) {
@@ -65,6 +68,9 @@ public class RegisterIncidentUseCase {
         ticket.setHasIncident(true);
         ticketRepository.save(ticket);
 
+        eventPublisher.publishEvent(
+                new IncidentStatusChangedEvent(savedIncident.getId(), savedIncident.getBranchId(), false));
+
         log.info("Incident registered successfully with ID: {}", savedIncident.getId());
 
         Long evidenceCount = 0L;
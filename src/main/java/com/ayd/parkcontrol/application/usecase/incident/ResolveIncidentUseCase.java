@@ -2,6 +2,7 @@ package com.ayd.parkcontrol.application.usecase.incident;
 
 import com.ayd.parkcontrol.application.dto.request.incident.ResolveIncidentRequest;
 import com.ayd.parkcontrol.application.dto.response.incident.IncidentResponse;
+import com.ayd.parkcontrol.application.event.IncidentStatusChangedEvent;
 import com.ayd.parkcontrol.application.mapper.IncidentMapper;
 import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
 import com.ayd.parkcontrol.domain.exception.ResourceNotFoundException;
@@ -9,6 +10,7 @@ import com.ayd.parkcontrol.infrastructure.persistence.entity.*;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -27,6 +29,7 @@ public class ResolveIncidentUseCase {
     private final JpaUserRepository userRepository;
     private final JpaIncidentEvidenceRepository evidenceRepository;
     private final IncidentMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public IncidentResponse execute(Long incidentId, ResolveIncidentRequest request) {
@@ -53,6 +56,9 @@ public class ResolveIncidentUseCase {
 
         IncidentEntity resolvedIncident = incidentRepository.save(incident);
 
+        eventPublisher.publishEvent(
+                new IncidentStatusChangedEvent(resolvedIncident.getId(), resolvedIncident.getBranchId(), true));
+
         // Load related entities for response
         IncidentTypeEntity incidentType = incidentTypeRepository.findById(resolvedIncident.getIncidentTypeId())
                 .orElse(null);
@@ -1,8 +1,10 @@
 package com.ayd.parkcontrol.application.usecase.rate;
 
+import com.ayd.parkcontrol.application.event.RateChangedEvent;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.BranchEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaBranchRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -11,6 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class DeleteBranchRateUseCase {
 
     private final JpaBranchRepository branchRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void execute(Long branchId) {
@@ -19,5 +22,6 @@ public class DeleteBranchRateUseCase {
 
         branch.setRatePerHour(null);
         branchRepository.save(branch);
+        eventPublisher.publishEvent(RateChangedEvent.branchRate(branchId));
     }
 }
@@ -2,11 +2,13 @@ package com.ayd.parkcontrol.application.usecase.rate;
 
 import com.ayd.parkcontrol.application.dto.request.rate.UpdateBranchRateRequest;
 import com.ayd.parkcontrol.application.dto.response.rate.RateBranchResponse;
+import com.ayd.parkcontrol.application.event.RateChangedEvent;
 import com.ayd.parkcontrol.application.mapper.RateDtoMapper;
 import com.ayd.parkcontrol.domain.model.rate.RateBranch;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.BranchEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaBranchRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,6 +18,7 @@ public class UpdateBranchRateUseCase {
 
     private final JpaBranchRepository branchRepository;
     private final RateDtoMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public RateBranchResponse execute(Long branchId, UpdateBranchRateRequest request) {
@@ -24,6 +27,7 @@ public class UpdateBranchRateUseCase {
 
         branch.setRatePerHour(request.getRatePerHour());
         BranchEntity updatedBranch = branchRepository.save(branch);
+        eventPublisher.publishEvent(RateChangedEvent.branchRate(branchId));
 
         RateBranch domain = mapper.toDomain(updatedBranch);
         return mapper.toRateBranchResponse(domain);
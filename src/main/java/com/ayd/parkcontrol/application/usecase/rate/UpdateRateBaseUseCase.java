@@ -2,12 +2,14 @@ package com.ayd.parkcontrol.application.usecase.rate;
 
 import com.ayd.parkcontrol.application.dto.request.rate.UpdateRateBaseRequest;
 import com.ayd.parkcontrol.application.dto.response.rate.RateBaseResponse;
+import com.ayd.parkcontrol.application.event.RateChangedEvent;
 import com.ayd.parkcontrol.application.mapper.RateDtoMapper;
 import com.ayd.parkcontrol.domain.model.rate.RateBase;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.RateBaseHistoryEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaRateBaseHistoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,6 +20,7 @@ public class UpdateRateBaseUseCase {
 
     private final JpaRateBaseHistoryRepository rateRepository;
     private final RateDtoMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public RateBaseResponse execute(UpdateRateBaseRequest request) {
@@ -31,6 +34,7 @@ public class UpdateRateBaseUseCase {
         currentRate.setAmountPerHour(request.getAmountPerHour());
 
         RateBaseHistoryEntity savedRate = rateRepository.save(currentRate);
+        eventPublisher.publishEvent(RateChangedEvent.baseRate());
         RateBase domain = mapper.toDomain(savedRate);
 
         log.info("Base rate updated successfully with ID: {}", savedRate.getId());
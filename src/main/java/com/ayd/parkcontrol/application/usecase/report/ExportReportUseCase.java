@@ -1,14 +1,43 @@
 package com.ayd.parkcontrol.application.usecase.report;
 
 import com.ayd.parkcontrol.application.dto.request.report.ExportReportRequest;
+import com.ayd.parkcontrol.application.usecase.report.export.ExportBillingReportUseCase;
+import com.ayd.parkcontrol.application.usecase.report.export.ExportFleetReportUseCase;
+import com.ayd.parkcontrol.application.usecase.report.export.ExportOccupancyReportUseCase;
+import com.ayd.parkcontrol.application.usecase.report.job.ReportDefinition;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Genera el archivo de un reporte a partir de una solicitud de exportación.
+ * Es el paso que ejecutan los workers de trabajos de reportes.
+ */
 @Service
 @RequiredArgsConstructor
 public class ExportReportUseCase {
 
+    private final ExportOccupancyReportUseCase exportOccupancyReportUseCase;
+    private final ExportBillingReportUseCase exportBillingReportUseCase;
+    private final ExportFleetReportUseCase exportFleetReportUseCase;
+
     public byte[] execute(ExportReportRequest request) {
-        return new byte[0];
+        return execute(ReportDefinition.from(request));
+    }
+
+    public byte[] execute(ReportDefinition definition) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        switch (definition.getReportType()) {
+            case OCCUPANCY -> exportOccupancyReportUseCase.export(definition.getFormat(),
+                    definition.getStartDate(), definition.getEndDate(), outputStream);
+            case BILLING -> exportBillingReportUseCase.export(definition.getFormat(),
+                    definition.getStartDate(), definition.getEndDate(), outputStream);
+            case FLEETS -> exportFleetReportUseCase.export(definition.getFormat(),
+                    definition.getStartDate(), definition.getEndDate(), definition.getCompanyId(), outputStream);
+        }
+
+        return outputStream.toByteArray();
     }
 }
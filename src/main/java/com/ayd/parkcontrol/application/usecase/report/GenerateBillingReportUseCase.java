@@ -1,63 +1,77 @@
 package com.ayd.parkcontrol.application.usecase.report;
 
 import com.ayd.parkcontrol.application.dto.response.report.BillingReportResponse;
-import com.ayd.parkcontrol.domain.repository.BranchRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.BranchReportProjection;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketChargeRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.ArrayList;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class GenerateBillingReportUseCase {
 
-    private final BranchRepository branchRepository;
-    private final JpaTicketRepository ticketRepository;
     private final JpaTicketChargeRepository ticketChargeRepository;
 
+    /**
+     * Genera el reporte de facturación por sucursal con una sola consulta
+     * agrupada.
+     *
+     * @param startDate fecha inicial inclusiva (nula = sin límite)
+     * @param endDate   fecha final inclusiva (nula = sin límite)
+     * @return facturación por sucursal
+     */
     @Transactional(readOnly = true)
-    public List<BillingReportResponse> execute() {
-        var branches = branchRepository.findAll(PageRequest.of(0, Integer.MAX_VALUE)).getContent();
-        List<BillingReportResponse> report = new ArrayList<>();
-
-        for (var branch : branches) {
-            var branchTickets = ticketRepository.findByBranchIdOrderByEntryTimeDesc(branch.getId());
-            var ticketIds = branchTickets.stream().map(t -> t.getId()).toList();
-
-            var charges = ticketChargeRepository.findAll().stream()
-                    .filter(charge -> ticketIds.contains(charge.getTicketId()))
-                    .toList();
-
-            long totalTickets = charges.size();
-            BigDecimal totalRevenue = charges.stream()
-                    .map(charge -> charge.getTotalAmount() != null ? charge.getTotalAmount() : BigDecimal.ZERO)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            BigDecimal averageTicketValue = BigDecimal.ZERO;
-            if (totalTickets > 0) {
-                averageTicketValue = totalRevenue.divide(
-                        BigDecimal.valueOf(totalTickets),
-                        2,
-                        RoundingMode.HALF_UP);
-            }
-
-            report.add(BillingReportResponse.builder()
-                    .branchId(branch.getId())
-                    .branchName(branch.getName())
-                    .totalTickets(totalTickets)
-                    .totalRevenue(totalRevenue)
-                    .averageTicketValue(averageTicketValue)
-                    .paymentMethod("EFECTIVO") // Por defecto, la entidad no tiene este campo
-                    .build());
+    public List<BillingReportResponse> execute(LocalDate startDate, LocalDate endDate) {
+        try (Stream<BillingReportResponse> rows = stream(startDate, endDate)) {
+            return rows.toList();
+        }
+    }
+
+    /**
+     * Igual que {@link #execute(LocalDate, LocalDate)} pero devuelve las filas
+     * como un stream respaldado por un cursor de base de datos. Debe
+     * consumirse y cerrarse dentro de una transacción.
+     *
+     * @param startDate fecha inicial inclusiva (nula = sin límite)
+     * @param endDate   fecha final inclusiva (nula = sin límite)
+     * @return stream de facturación por sucursal
+     */
+    public Stream<BillingReportResponse> stream(LocalDate startDate, LocalDate endDate) {
+        ReportDateRange.validate(startDate, endDate);
+
+        LocalDateTime start = startDate != null ? startDate.atStartOfDay() : null;
+        LocalDateTime end = endDate != null ? endDate.plusDays(1).atStartOfDay() : null;
+
+        return ticketChargeRepository.summarizeBillingByBranch(start, end).map(this::toResponse);
+    }
+
+    private BillingReportResponse toResponse(BranchReportProjection row) {
+        long totalTickets = row.getTotalTickets() != null ? row.getTotalTickets() : 0L;
+        BigDecimal totalRevenue = row.getTotalAmount() != null ? row.getTotalAmount() : BigDecimal.ZERO;
+
+        BigDecimal averageTicketValue = BigDecimal.ZERO;
+        if (totalTickets > 0) {
+            averageTicketValue = totalRevenue.divide(
+                    BigDecimal.valueOf(totalTickets),
+                    2,
+                    RoundingMode.HALF_UP);
         }
 
-        return report;
+        return BillingReportResponse.builder()
+                .branchId(row.getBranchId())
+                .branchName(row.getBranchName())
+                .totalTickets(totalTickets)
+                .totalRevenue(totalRevenue)
+                .averageTicketValue(averageTicketValue)
+                .paymentMethod("EFECTIVO") // Por defecto, la entidad no tiene este campo
+                .build();
     }
 }
@@ -1,16 +1,14 @@
 package com.ayd.parkcontrol.application.usecase.report;
 
-import com.ayd.parkcontrol.domain.repository.BranchRepository;
+import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.BranchReportProjection;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketChargeRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -20,40 +18,36 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class GenerateCashClosingReportUseCase {
 
-    private final BranchRepository branchRepository;
-    private final JpaTicketRepository ticketRepository;
     private final JpaTicketChargeRepository ticketChargeRepository;
 
+    /**
+     * Genera el corte de caja por sucursal con una sola consulta agrupada.
+     *
+     * @param startDate fecha inicial inclusiva (nula = hoy)
+     * @param endDate   fecha final inclusiva (nula = fecha inicial)
+     * @return corte de caja por sucursal
+     */
     @Transactional(readOnly = true)
-    public List<Map<String, Object>> execute() {
-        LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
-        LocalDateTime endOfDay = startOfDay.plusDays(1);
+    public List<Map<String, Object>> execute(LocalDate startDate, LocalDate endDate) {
+        LocalDate from = startDate != null ? startDate : LocalDate.now();
+        LocalDate to = endDate != null ? endDate : from;
 
-        var branches = branchRepository.findAll(PageRequest.of(0, Integer.MAX_VALUE)).getContent();
-        List<Map<String, Object>> cashClosingReport = new ArrayList<>();
-
-        for (var branch : branches) {
-            var todayTickets = ticketRepository.findByBranchIdOrderByEntryTimeDesc(branch.getId()).stream()
-                    .filter(ticket -> ticket.getEntryTime() != null
-                            && !ticket.getEntryTime().isBefore(startOfDay)
-                            && ticket.getEntryTime().isBefore(endOfDay))
-                    .toList();
-
-            var ticketIds = todayTickets.stream().map(t -> t.getId()).toList();
-            var todayCharges = ticketChargeRepository.findAll().stream()
-                    .filter(charge -> ticketIds.contains(charge.getTicketId()))
-                    .toList();
+        if (from.isAfter(to)) {
+            throw new BusinessRuleException("La fecha de inicio no puede ser posterior a la fecha de fin");
+        }
 
-            BigDecimal totalCash = todayCharges.stream()
-                    .map(charge -> charge.getTotalAmount() != null ? charge.getTotalAmount() : BigDecimal.ZERO)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+        List<BranchReportProjection> rows = ticketChargeRepository.summarizeCashClosingByBranch(
+                from.atStartOfDay(), to.plusDays(1).atStartOfDay());
 
+        List<Map<String, Object>> cashClosingReport = new ArrayList<>();
+        for (BranchReportProjection row : rows) {
             Map<String, Object> branchClosing = new HashMap<>();
-            branchClosing.put("branch_id", branch.getId());
-            branchClosing.put("branch_name", branch.getName());
-            branchClosing.put("date", LocalDate.now());
-            branchClosing.put("total_tickets", todayTickets.size());
-            branchClosing.put("total_cash", totalCash);
+            branchClosing.put("branch_id", row.getBranchId());
+            branchClosing.put("branch_name", row.getBranchName());
+            branchClosing.put("date", from);
+            branchClosing.put("end_date", to);
+            branchClosing.put("total_tickets", row.getTotalTickets() != null ? row.getTotalTickets() : 0L);
+            branchClosing.put("total_cash", row.getTotalAmount() != null ? row.getTotalAmount() : BigDecimal.ZERO);
 
             cashClosingReport.add(branchClosing);
         }
@@ -1,51 +1,71 @@
 package com.ayd.parkcontrol.application.usecase.report;
 
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
+import com.ayd.parkcontrol.application.dto.response.report.FleetReportResponse;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.FleetReportProjection;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaFleetCompanyRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class GenerateFleetsReportUseCase {
 
-    private final JpaTicketRepository ticketRepository;
+    private final JpaFleetCompanyRepository fleetCompanyRepository;
 
+    /**
+     * Genera el reporte de flotillas por empresa con una sola consulta
+     * agrupada.
+     *
+     * @param startDate fecha inicial inclusiva (nula = sin límite)
+     * @param endDate   fecha final inclusiva (nula = sin límite)
+     * @param companyId empresa flotillera (nula = todas las activas)
+     * @return consumo por empresa flotillera
+     */
     @Transactional(readOnly = true)
-    public List<Map<String, Object>> execute() {
-        // Obtener todas las placas de flota (simplificado)
-        var allTickets = ticketRepository.findAll();
-
-        // Agrupar por placas más frecuentes (asumiendo que son flotas)
-        Map<String, Long> plateFrequency = new HashMap<>();
-        for (var ticket : allTickets) {
-            if (ticket.getLicensePlate() != null) {
-                plateFrequency.merge(ticket.getLicensePlate(), 1L, Long::sum);
-            }
+    public List<FleetReportResponse> execute(LocalDate startDate, LocalDate endDate, Long companyId) {
+        try (Stream<FleetReportResponse> rows = stream(startDate, endDate, companyId)) {
+            return rows.toList();
         }
+    }
 
-        List<Map<String, Object>> fleetReport = new ArrayList<>();
-        plateFrequency.forEach((plate, count) -> {
-            if (count >= 3) { // Asumimos que 3+ entradas indica una flota
-                BigDecimal totalHours = ticketRepository.sumHoursByLicensePlate(plate);
-                BigDecimal totalAmount = ticketRepository.sumAmountByLicensePlate(plate);
+    /**
+     * Igual que {@link #execute(LocalDate, LocalDate, Long)} pero devuelve las
+     * filas como un stream respaldado por un cursor de base de datos. Debe
+     * consumirse y cerrarse dentro de una transacción.
+     *
+     * @param startDate fecha inicial inclusiva (nula = sin límite)
+     * @param endDate   fecha final inclusiva (nula = sin límite)
+     * @param companyId empresa flotillera (nula = todas las activas)
+     * @return stream de consumo por empresa flotillera
+     */
+    public Stream<FleetReportResponse> stream(LocalDate startDate, LocalDate endDate, Long companyId) {
+        ReportDateRange.validate(startDate, endDate);
 
-                Map<String, Object> fleetData = new HashMap<>();
-                fleetData.put("license_plate", plate);
-                fleetData.put("total_entries", count);
-                fleetData.put("total_hours", totalHours);
-                fleetData.put("total_amount", totalAmount);
+        LocalDateTime start = startDate != null ? startDate.atStartOfDay() : null;
+        LocalDateTime end = endDate != null ? endDate.plusDays(1).atStartOfDay() : null;
 
-                fleetReport.add(fleetData);
-            }
-        });
+        return fleetCompanyRepository.summarizeFleets(companyId, start, end).map(this::toResponse);
+    }
 
-        return fleetReport;
+    private FleetReportResponse toResponse(FleetReportProjection row) {
+        return FleetReportResponse.builder()
+                .companyId(row.getCompanyId())
+                .companyName(row.getCompanyName())
+                .taxId(row.getTaxId())
+                .plateLimit(row.getPlateLimit())
+                .paymentStatus(row.getPaymentStatus())
+                .totalVehicles(row.getTotalVehicles() != null ? row.getTotalVehicles() : 0L)
+                .activeVehicles(row.getActiveVehicles() != null ? row.getActiveVehicles() : 0L)
+                .totalEntries(row.getTotalEntries() != null ? row.getTotalEntries() : 0L)
+                .totalHours(row.getTotalHours() != null ? row.getTotalHours() : BigDecimal.ZERO)
+                .totalAmount(row.getTotalAmount() != null ? row.getTotalAmount() : BigDecimal.ZERO)
+                .build();
     }
 }
@@ -1,59 +1,90 @@
 package com.ayd.parkcontrol.application.usecase.report;
 
 import com.ayd.parkcontrol.application.dto.response.report.OccupancyReportResponse;
+import com.ayd.parkcontrol.application.service.OccupancyHistoryService;
+import com.ayd.parkcontrol.domain.model.branch.Branch;
 import com.ayd.parkcontrol.domain.repository.BranchRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketStatusTypeRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaVehicleTypeRepository;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
+import com.ayd.parkcontrol.infrastructure.cache.RedisOccupancyService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class GenerateOccupancyReportUseCase {
 
     private final BranchRepository branchRepository;
-    private final JpaTicketRepository ticketRepository;
-    private final JpaTicketStatusTypeRepository ticketStatusTypeRepository;
-    private final JpaVehicleTypeRepository vehicleTypeRepository;
+    private final RedisOccupancyService redisOccupancyService;
+    private final CatalogCache catalogCache;
+    private final OccupancyHistoryService occupancyHistoryService;
 
+    /**
+     * Genera el reporte de ocupación con la ocupación actual y el pico y
+     * promedio del periodo según el histórico de muestras.
+     *
+     * @param startDate fecha inicial inclusiva (sin fechas = día actual)
+     * @param endDate   fecha final inclusiva (sin fechas = día actual)
+     * @return ocupación por sucursal y tipo de vehículo
+     */
     @Transactional(readOnly = true)
-    public List<OccupancyReportResponse> execute() {
-        var inProgressStatus = ticketStatusTypeRepository.findByCode("IN_PROGRESS")
-                .orElseThrow(() -> new RuntimeException("Estado IN_PROGRESS no encontrado"));
-        var vehicleType2R = vehicleTypeRepository.findByCode("2R")
+    public List<OccupancyReportResponse> execute(LocalDate startDate, LocalDate endDate) {
+        try (Stream<OccupancyReportResponse> rows = stream(startDate, endDate)) {
+            return rows.toList();
+        }
+    }
+
+    /**
+     * Genera las filas del reporte bajo demanda. La ocupación actual de todas
+     * las sucursales se lee de los contadores en Redis con una lectura por
+     * tipo de vehículo, en lugar de contar tickets activos por sucursal.
+     *
+     * @param startDate fecha inicial inclusiva (sin fechas = día actual)
+     * @param endDate   fecha final inclusiva (sin fechas = día actual)
+     * @return stream de ocupación por sucursal y tipo de vehículo
+     */
+    public Stream<OccupancyReportResponse> stream(LocalDate startDate, LocalDate endDate) {
+        var range = occupancyHistoryService.resolveRange(startDate, endDate);
+        var vehicleType2R = catalogCache.vehicleTypes().findByCode("2R")
                 .orElseThrow(() -> new RuntimeException("Tipo de vehículo 2R no encontrado"));
-        var vehicleType4R = vehicleTypeRepository.findByCode("4R")
+        var vehicleType4R = catalogCache.vehicleTypes().findByCode("4R")
                 .orElseThrow(() -> new RuntimeException("Tipo de vehículo 4R no encontrado"));
 
         var branches = branchRepository.findAll(PageRequest.of(0, Integer.MAX_VALUE)).getContent();
-        List<OccupancyReportResponse> report = new ArrayList<>();
+        var history = occupancyHistoryService.summarize(range);
+
+        List<Long> branchIds = branches.stream().map(Branch::getId).toList();
+        Map<Long, Integer> current2R = redisOccupancyService.getCurrentOccupancies(branchIds, "2R");
+        Map<Long, Integer> current4R = redisOccupancyService.getCurrentOccupancies(branchIds, "4R");
+
+        return branches.stream().flatMap(branch -> {
+            List<OccupancyReportResponse> rows = new ArrayList<>(2);
 
-        for (var branch : branches) {
             int capacity2R = branch.getCapacity2r() != null ? branch.getCapacity2r() : 0;
             int capacity4R = branch.getCapacity4r() != null ? branch.getCapacity4r() : 0;
 
-            long occupied2R = ticketRepository.countActiveTicketsByBranchAndVehicleType(
-                    branch.getId(), vehicleType2R.getId(), inProgressStatus.getId());
-            long occupied4R = ticketRepository.countActiveTicketsByBranchAndVehicleType(
-                    branch.getId(), vehicleType4R.getId(), inProgressStatus.getId());
+            int occupied2R = current2R.getOrDefault(branch.getId(), 0);
+            int occupied4R = current4R.getOrDefault(branch.getId(), 0);
 
             // Reporte para vehículos 2R
             if (capacity2R > 0) {
                 double occupancy2R = (occupied2R * 100.0) / capacity2R;
-                report.add(OccupancyReportResponse.builder()
+                var stats2R = history.get(branch.getId(), vehicleType2R.getId(), occupied2R);
+                rows.add(OccupancyReportResponse.builder()
                         .branchId(branch.getId())
                         .branchName(branch.getName())
                         .vehicleType("2R")
                         .totalCapacity(capacity2R)
-                        .currentOccupancy((int) occupied2R)
-                        .peakOccupancy((int) occupied2R) // Para simplificar, usamos el actual como pico
-                        .averageOccupancy((double) occupied2R)
+                        .currentOccupancy(occupied2R)
+                        .peakOccupancy(stats2R.peakOccupancy())
+                        .averageOccupancy(stats2R.averageOccupancy())
                         .occupancyPercentage(occupancy2R)
                         .build());
             }
@@ -61,19 +92,20 @@ public class GenerateOccupancyReportUseCase {
             // Reporte para vehículos 4R
             if (capacity4R > 0) {
                 double occupancy4R = (occupied4R * 100.0) / capacity4R;
-                report.add(OccupancyReportResponse.builder()
+                var stats4R = history.get(branch.getId(), vehicleType4R.getId(), occupied4R);
+                rows.add(OccupancyReportResponse.builder()
                         .branchId(branch.getId())
                         .branchName(branch.getName())
                         .vehicleType("4R")
                         .totalCapacity(capacity4R)
-                        .currentOccupancy((int) occupied4R)
-                        .peakOccupancy((int) occupied4R)
-                        .averageOccupancy((double) occupied4R)
+                        .currentOccupancy(occupied4R)
+                        .peakOccupancy(stats4R.peakOccupancy())
+                        .averageOccupancy(stats4R.averageOccupancy())
                         .occupancyPercentage(occupancy4R)
                         .build());
             }
-        }
 
-        return report;
+            return rows.stream();
+        });
     }
 }
@@ -0,0 +1,28 @@
+package com.ayd.parkcontrol.application.usecase.report;
+
+import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
+
+import java.time.LocalDate;
+
+/**
+ * Validación del rango de fechas opcional de los reportes.
+ *
+ * Las exportaciones la invocan antes de construir el cuerpo de la respuesta,
+ * porque dentro del stream el estado 200 y los encabezados ya se enviaron.
+ */
+public final class ReportDateRange {
+
+    private ReportDateRange() {
+    }
+
+    /**
+     * @param startDate fecha inicial inclusiva, opcional
+     * @param endDate   fecha final inclusiva, opcional
+     * @throws BusinessRuleException si la fecha inicial es posterior a la final
+     */
+    public static void validate(LocalDate startDate, LocalDate endDate) {
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new BusinessRuleException("La fecha de inicio no puede ser posterior a la fecha de fin");
+        }
+    }
+}
@@ -2,14 +2,18 @@ package com.ayd.parkcontrol.application.usecase.report.export;
 
 import com.ayd.parkcontrol.application.dto.response.report.BillingReportResponse;
 import com.ayd.parkcontrol.application.usecase.report.GenerateBillingReportUseCase;
-import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.stream.Stream;
 
 /**
- * Use case para exportar reportes de facturación en diferentes formatos
+ * Use case para exportar reportes de facturación en diferentes formatos.
+ * Las filas se leen con un cursor y se escriben directamente en el stream de
+ * salida, sin materializar el reporte completo en memoria.
  */
 @Service
 @RequiredArgsConstructor
@@ -18,27 +22,14 @@ public class ExportBillingReportUseCase {
     private final GenerateBillingReportUseCase generateBillingReportUseCase;
     private final ReportExportService exportService;
 
-    public byte[] exportToPdf() {
-        List<BillingReportResponse> data = generateBillingReportUseCase.execute();
-        return exportService.exportBillingReportToPdf(data);
-    }
-
-    public byte[] exportToCsv() {
-        List<BillingReportResponse> data = generateBillingReportUseCase.execute();
-        return exportService.exportBillingReportToCsv(data);
-    }
-
-    public byte[] exportToImage() {
-        List<BillingReportResponse> data = generateBillingReportUseCase.execute();
-        return exportService.exportBillingReportToImage(data);
-    }
-
-    public byte[] export(String format) {
-        return switch (format.toUpperCase()) {
-            case "PDF" -> exportToPdf();
-            case "CSV" -> exportToCsv();
-            case "PNG", "IMAGE" -> exportToImage();
-            default -> throw new BusinessRuleException("Formato de exportación no soportado: " + format);
-        };
+    @Transactional(readOnly = true)
+    public void export(ExportFormat format, LocalDate startDate, LocalDate endDate, OutputStream outputStream) {
+        try (Stream<BillingReportResponse> rows = generateBillingReportUseCase.stream(startDate, endDate)) {
+            switch (format) {
+                case PDF -> exportService.writeBillingReportPdf(rows, outputStream);
+                case CSV -> exportService.writeBillingReportCsv(rows, outputStream);
+                case PNG -> exportService.writeBillingReportImage(rows, outputStream);
+            }
+        }
     }
 }
@@ -0,0 +1,36 @@
+package com.ayd.parkcontrol.application.usecase.report.export;
+
+import com.ayd.parkcontrol.application.dto.response.report.FleetReportResponse;
+import com.ayd.parkcontrol.application.usecase.report.GenerateFleetsReportUseCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+/**
+ * Use case para exportar reportes de flotillas en diferentes formatos.
+ * Las filas se leen con un cursor y se escriben directamente en el stream de
+ * salida, sin materializar el reporte completo en memoria.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportFleetReportUseCase {
+
+    private final GenerateFleetsReportUseCase generateFleetsReportUseCase;
+    private final ReportExportService exportService;
+
+    @Transactional(readOnly = true)
+    public void export(ExportFormat format, LocalDate startDate, LocalDate endDate, Long companyId,
+            OutputStream outputStream) {
+        try (Stream<FleetReportResponse> rows = generateFleetsReportUseCase.stream(startDate, endDate, companyId)) {
+            switch (format) {
+                case PDF -> exportService.writeFleetReportPdf(rows, outputStream);
+                case CSV -> exportService.writeFleetReportCsv(rows, outputStream);
+                case PNG -> exportService.writeFleetReportImage(rows, outputStream);
+            }
+        }
+    }
+}
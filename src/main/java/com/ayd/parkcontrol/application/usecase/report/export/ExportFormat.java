@@ -0,0 +1,38 @@
+package com.ayd.parkcontrol.application.usecase.report.export;
+
+import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Formatos soportados para la exportación de reportes.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+
+    PDF("pdf", "application/pdf"),
+    CSV("csv", "text/csv"),
+    PNG("png", "image/png");
+
+    private final String extension;
+    private final String mediaType;
+
+    /**
+     * Resuelve el formato a partir del parámetro recibido (sin distinguir
+     * mayúsculas). Acepta IMAGE como alias de PNG.
+     *
+     * @param format formato solicitado
+     * @return formato de exportación
+     * @throws BusinessRuleException si el formato no está soportado
+     */
+    public static ExportFormat from(String format) {
+        String normalized = format != null ? format.trim().toUpperCase() : "";
+        return switch (normalized) {
+            case "PDF" -> PDF;
+            case "CSV" -> CSV;
+            case "PNG", "IMAGE" -> PNG;
+            default -> throw new BusinessRuleException("Formato de exportación no soportado: " + format);
+        };
+    }
+}
@@ -2,14 +2,18 @@ package com.ayd.parkcontrol.application.usecase.report.export;
 
 import com.ayd.parkcontrol.application.dto.response.report.OccupancyReportResponse;
 import com.ayd.parkcontrol.application.usecase.report.GenerateOccupancyReportUseCase;
-import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.stream.Stream;
 
 /**
- * Use case para exportar reportes de ocupación en diferentes formatos
+ * Use case para exportar reportes de ocupación en diferentes formatos.
+ * Las filas se generan bajo demanda y se escriben directamente en el stream
+ * de salida.
  */
 @Service
 @RequiredArgsConstructor
@@ -18,27 +22,14 @@ public class ExportOccupancyReportUseCase {
     private final GenerateOccupancyReportUseCase generateOccupancyReportUseCase;
     private final ReportExportService exportService;
 
-    public byte[] exportToPdf() {
-        List<OccupancyReportResponse> data = generateOccupancyReportUseCase.execute();
-        return exportService.exportOccupancyReportToPdf(data);
-    }
-
-    public byte[] exportToCsv() {
-        List<OccupancyReportResponse> data = generateOccupancyReportUseCase.execute();
-        return exportService.exportOccupancyReportToCsv(data);
-    }
-
-    public byte[] exportToImage() {
-        List<OccupancyReportResponse> data = generateOccupancyReportUseCase.execute();
-        return exportService.exportOccupancyReportToImage(data);
-    }
-
-    public byte[] export(String format) {
-        return switch (format.toUpperCase()) {
-            case "PDF" -> exportToPdf();
-            case "CSV" -> exportToCsv();
-            case "PNG", "IMAGE" -> exportToImage();
-            default -> throw new BusinessRuleException("Formato de exportación no soportado: " + format);
-        };
+    @Transactional(readOnly = true)
+    public void export(ExportFormat format, LocalDate startDate, LocalDate endDate, OutputStream outputStream) {
+        try (Stream<OccupancyReportResponse> rows = generateOccupancyReportUseCase.stream(startDate, endDate)) {
+            switch (format) {
+                case PDF -> exportService.writeOccupancyReportPdf(rows, outputStream);
+                case CSV -> exportService.writeOccupancyReportCsv(rows, outputStream);
+                case PNG -> exportService.writeOccupancyReportImage(rows, outputStream);
+            }
+        }
     }
 }
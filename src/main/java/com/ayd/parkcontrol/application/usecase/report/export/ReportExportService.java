@@ -1,6 +1,7 @@
 package com.ayd.parkcontrol.application.usecase.report.export;
 
 import com.ayd.parkcontrol.application.dto.response.report.BillingReportResponse;
+import com.ayd.parkcontrol.application.dto.response.report.FleetReportResponse;
 import com.ayd.parkcontrol.application.dto.response.report.OccupancyReportResponse;
 import com.itextpdf.kernel.colors.ColorConstants;
 import com.itextpdf.kernel.pdf.PdfDocument;
@@ -19,114 +20,99 @@ import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.data.category.DefaultCategoryDataset;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 
 /**
  * Servicio para exportar reportes a diferentes formatos (PDF, CSV, PNG)
  * Implementación completa usando iText para PDF y JFreeChart para gráficos
+ *
+ * Los métodos write* consumen las filas de un Stream y escriben directamente
+ * en el OutputStream recibido (por ejemplo, el de la respuesta HTTP), de modo
+ * que el reporte nunca se materializa completo en memoria. El stream de
+ * salida no se cierra; es responsabilidad de quien lo provee.
  */
 @Service
 public class ReportExportService {
 
-    // ==================== Reportes de Ocupación ====================
-
-    public byte[] exportOccupancyReportToPdf(List<OccupancyReportResponse> data) {
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            PdfWriter writer = new PdfWriter(baos);
-            PdfDocument pdfDoc = new PdfDocument(writer);
-            Document document = new Document(pdfDoc);
-
-            // Título
-            Paragraph title = new Paragraph("REPORTE DE OCUPACIÓN")
-                    .setFontSize(20)
-                    .setBold()
-                    .setTextAlignment(TextAlignment.CENTER);
-            document.add(title);
-
-            // Fecha de generación
-            String fecha = LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"));
-            Paragraph date = new Paragraph("Generado: " + fecha)
-                    .setFontSize(10)
-                    .setTextAlignment(TextAlignment.CENTER)
-                    .setMarginBottom(20);
-            document.add(date);
-
-            // Tabla
-            float[] columnWidths = { 2, 2, 1.5f, 1.5f, 1.5f, 1.5f };
-            Table table = new Table(UnitValue.createPercentArray(columnWidths));
-            table.setWidth(UnitValue.createPercentValue(100));
-
-            // Encabezados
-            String[] headers = { "Sucursal", "Tipo Vehículo", "Capacidad", "Ocupación", "Pico", "% Ocupación" };
-            for (String header : headers) {
-                Cell cell = new Cell().add(new Paragraph(header).setBold())
-                        .setBackgroundColor(ColorConstants.LIGHT_GRAY)
-                        .setTextAlignment(TextAlignment.CENTER);
-                table.addCell(cell);
-            }
-
-            // Datos
-            for (OccupancyReportResponse item : data) {
-                table.addCell(new Cell().add(new Paragraph(item.getBranchName())));
-                table.addCell(new Cell().add(new Paragraph(item.getVehicleType())));
-                table.addCell(new Cell().add(new Paragraph(String.valueOf(item.getTotalCapacity())))
-                        .setTextAlignment(TextAlignment.CENTER));
-                table.addCell(new Cell().add(new Paragraph(String.valueOf(item.getCurrentOccupancy())))
-                        .setTextAlignment(TextAlignment.CENTER));
-                table.addCell(new Cell().add(new Paragraph(String.valueOf(item.getPeakOccupancy())))
-                        .setTextAlignment(TextAlignment.CENTER));
-                table.addCell(new Cell().add(new Paragraph(String.format("%.2f%%", item.getOccupancyPercentage())))
-                        .setTextAlignment(TextAlignment.CENTER));
-            }
+    /**
+     * Cantidad de filas tras la cual se vacía la tabla PDF hacia el stream.
+     */
+    private static final int PDF_FLUSH_ROWS = 100;
 
-            document.add(table);
-            document.close();
+    // ==================== Reportes de Ocupación ====================
 
-            return baos.toByteArray();
+    public void writeOccupancyReportPdf(Stream<OccupancyReportResponse> rows, OutputStream outputStream) {
+        try {
+            writePdfTable("REPORTE DE OCUPACIÓN",
+                    new float[] { 2, 2, 1.5f, 1.5f, 1.5f, 1.5f, 1.5f },
+                    new String[] { "Sucursal", "Tipo Vehículo", "Capacidad", "Ocupación", "Pico", "Promedio",
+                            "% Ocupación" },
+                    rows,
+                    (table, item) -> {
+                        table.addCell(new Cell().add(new Paragraph(item.getBranchName())));
+                        table.addCell(new Cell().add(new Paragraph(item.getVehicleType())));
+                        table.addCell(new Cell().add(new Paragraph(String.valueOf(item.getTotalCapacity())))
+                                .setTextAlignment(TextAlignment.CENTER));
+                        table.addCell(new Cell().add(new Paragraph(String.valueOf(item.getCurrentOccupancy())))
+                                .setTextAlignment(TextAlignment.CENTER));
+                        table.addCell(new Cell().add(new Paragraph(orDash(item.getPeakOccupancy())))
+                                .setTextAlignment(TextAlignment.CENTER));
+                        table.addCell(new Cell().add(new Paragraph(item.getAverageOccupancy() != null
+                                ? String.format("%.2f", item.getAverageOccupancy())
+                                : "-"))
+                                .setTextAlignment(TextAlignment.CENTER));
+                        table.addCell(new Cell()
+                                .add(new Paragraph(String.format("%.2f%%", item.getOccupancyPercentage())))
+                                .setTextAlignment(TextAlignment.CENTER));
+                    },
+                    outputStream);
         } catch (Exception e) {
             throw new RuntimeException("Error generando PDF de ocupación", e);
         }
     }
 
-    public byte[] exportOccupancyReportToCsv(List<OccupancyReportResponse> data) {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        PrintWriter writer = new PrintWriter(baos, true, StandardCharsets.UTF_8);
+    public void writeOccupancyReportCsv(Stream<OccupancyReportResponse> rows, OutputStream outputStream) {
+        PrintWriter writer = csvWriter(outputStream);
 
         // CSV Header
         writer.println(
-                "branch_id,branch_name,vehicle_type,total_capacity,current_occupancy,peak_occupancy,occupancy_percentage");
-
-        // CSV Data
-        for (OccupancyReportResponse item : data) {
-            writer.printf("%d,\"%s\",\"%s\",%d,%d,%d,%.2f%n",
-                    item.getBranchId(),
-                    item.getBranchName(),
-                    item.getVehicleType(),
-                    item.getTotalCapacity(),
-                    item.getCurrentOccupancy(),
-                    item.getPeakOccupancy(),
-                    item.getOccupancyPercentage());
-        }
-
-        writer.flush();
-        return baos.toByteArray();
+                "branch_id,branch_name,vehicle_type,total_capacity,current_occupancy,peak_occupancy,average_occupancy,occupancy_percentage");
+
+        // CSV Data; pico y promedio quedan vacíos si el periodo no tiene muestras
+        rows.forEach(item -> writer.printf("%d,\"%s\",\"%s\",%d,%d,%s,%s,%.2f%n",
+                item.getBranchId(),
+                item.getBranchName(),
+                item.getVehicleType(),
+                item.getTotalCapacity(),
+                item.getCurrentOccupancy(),
+                item.getPeakOccupancy() != null ? item.getPeakOccupancy().toString() : "",
+                item.getAverageOccupancy() != null ? String.format("%.2f", item.getAverageOccupancy()) : "",
+                item.getOccupancyPercentage()));
+
+        finishCsv(writer, "Error generando CSV de ocupación");
     }
 
-    public byte[] exportOccupancyReportToImage(List<OccupancyReportResponse> data) {
+    public void writeOccupancyReportImage(Stream<OccupancyReportResponse> rows, OutputStream outputStream) {
         try {
             // Crear dataset para el gráfico
             DefaultCategoryDataset dataset = new DefaultCategoryDataset();
 
-            for (OccupancyReportResponse item : data) {
+            rows.forEach(item -> {
                 String label = item.getBranchName() + " (" + item.getVehicleType() + ")";
                 dataset.addValue(item.getCurrentOccupancy(), "Ocupación Actual", label);
                 dataset.addValue(item.getTotalCapacity(), "Capacidad Total", label);
-            }
+            });
 
             // Crear gráfico de barras
             JFreeChart chart = ChartFactory.createBarChart(
@@ -144,102 +130,81 @@ public class ReportExportService {
             plot.setBackgroundPaint(java.awt.Color.WHITE);
             plot.setRangeGridlinePaint(java.awt.Color.GRAY);
 
-            // Convertir a bytes (PNG)
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            ChartUtils.writeChartAsPNG(baos, chart, 800, 600);
-            return baos.toByteArray();
+            // Escribir PNG
+            ChartUtils.writeChartAsPNG(outputStream, chart, 800, 600);
+            outputStream.flush();
 
         } catch (Exception e) {
             throw new RuntimeException("Error generando imagen de ocupación", e);
         }
     }
 
-    // ==================== Reportes de Facturación ====================
+    public byte[] exportOccupancyReportToPdf(List<OccupancyReportResponse> data) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeOccupancyReportPdf(data.stream(), baos);
+        return baos.toByteArray();
+    }
 
-    public byte[] exportBillingReportToPdf(List<BillingReportResponse> data) {
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            PdfWriter writer = new PdfWriter(baos);
-            PdfDocument pdfDoc = new PdfDocument(writer);
-            Document document = new Document(pdfDoc);
-
-            // Título
-            Paragraph title = new Paragraph("REPORTE DE FACTURACIÓN")
-                    .setFontSize(20)
-                    .setBold()
-                    .setTextAlignment(TextAlignment.CENTER);
-            document.add(title);
-
-            // Fecha de generación
-            String fecha = LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"));
-            Paragraph date = new Paragraph("Generado: " + fecha)
-                    .setFontSize(10)
-                    .setTextAlignment(TextAlignment.CENTER)
-                    .setMarginBottom(20);
-            document.add(date);
-
-            // Tabla
-            float[] columnWidths = { 3, 2, 2, 2 };
-            Table table = new Table(UnitValue.createPercentArray(columnWidths));
-            table.setWidth(UnitValue.createPercentValue(100));
-
-            // Encabezados
-            String[] headers = { "Sucursal", "Ingreso Total (Q)", "Total Tickets", "Promedio/Ticket (Q)" };
-            for (String header : headers) {
-                Cell cell = new Cell().add(new Paragraph(header).setBold())
-                        .setBackgroundColor(ColorConstants.LIGHT_GRAY)
-                        .setTextAlignment(TextAlignment.CENTER);
-                table.addCell(cell);
-            }
+    public byte[] exportOccupancyReportToCsv(List<OccupancyReportResponse> data) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeOccupancyReportCsv(data.stream(), baos);
+        return baos.toByteArray();
+    }
 
-            // Datos
-            for (BillingReportResponse item : data) {
-                table.addCell(new Cell().add(new Paragraph(item.getBranchName())));
-                table.addCell(new Cell().add(new Paragraph(String.format("%.2f", item.getTotalRevenue())))
-                        .setTextAlignment(TextAlignment.RIGHT));
-                table.addCell(new Cell().add(new Paragraph(String.valueOf(item.getTotalTickets())))
-                        .setTextAlignment(TextAlignment.CENTER));
-                table.addCell(new Cell().add(new Paragraph(String.format("%.2f", item.getAverageTicketValue())))
-                        .setTextAlignment(TextAlignment.RIGHT));
-            }
+    public byte[] exportOccupancyReportToImage(List<OccupancyReportResponse> data) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeOccupancyReportImage(data.stream(), baos);
+        return baos.toByteArray();
+    }
 
-            document.add(table);
-            document.close();
+    // ==================== Reportes de Facturación ====================
 
-            return baos.toByteArray();
+    public void writeBillingReportPdf(Stream<BillingReportResponse> rows, OutputStream outputStream) {
+        try {
+            writePdfTable("REPORTE DE FACTURACIÓN",
+                    new float[] { 3, 2, 2, 2 },
+                    new String[] { "Sucursal", "Ingreso Total (Q)", "Total Tickets", "Promedio/Ticket (Q)" },
+                    rows,
+                    (table, item) -> {
+                        table.addCell(new Cell().add(new Paragraph(item.getBranchName())));
+                        table.addCell(new Cell().add(new Paragraph(String.format("%.2f", item.getTotalRevenue())))
+                                .setTextAlignment(TextAlignment.RIGHT));
+                        table.addCell(new Cell().add(new Paragraph(String.valueOf(item.getTotalTickets())))
+                                .setTextAlignment(TextAlignment.CENTER));
+                        table.addCell(new Cell()
+                                .add(new Paragraph(String.format("%.2f", item.getAverageTicketValue())))
+                                .setTextAlignment(TextAlignment.RIGHT));
+                    },
+                    outputStream);
         } catch (Exception e) {
             throw new RuntimeException("Error generando PDF de facturación", e);
         }
     }
 
-    public byte[] exportBillingReportToCsv(List<BillingReportResponse> data) {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        PrintWriter writer = new PrintWriter(baos, true, StandardCharsets.UTF_8);
+    public void writeBillingReportCsv(Stream<BillingReportResponse> rows, OutputStream outputStream) {
+        PrintWriter writer = csvWriter(outputStream);
 
         // CSV Header
         writer.println("branch_id,branch_name,total_revenue,total_tickets,average_ticket_value");
 
         // CSV Data
-        for (BillingReportResponse item : data) {
-            writer.printf("%d,\"%s\",%.2f,%d,%.2f%n",
-                    item.getBranchId(),
-                    item.getBranchName(),
-                    item.getTotalRevenue(),
-                    item.getTotalTickets(),
-                    item.getAverageTicketValue());
-        }
-
-        writer.flush();
-        return baos.toByteArray();
+        rows.forEach(item -> writer.printf("%d,\"%s\",%.2f,%d,%.2f%n",
+                item.getBranchId(),
+                item.getBranchName(),
+                item.getTotalRevenue(),
+                item.getTotalTickets(),
+                item.getAverageTicketValue()));
+
+        finishCsv(writer, "Error generando CSV de facturación");
     }
 
-    public byte[] exportBillingReportToImage(List<BillingReportResponse> data) {
+    public void writeBillingReportImage(Stream<BillingReportResponse> rows, OutputStream outputStream) {
         try {
             // Crear dataset para el gráfico
             DefaultCategoryDataset dataset = new DefaultCategoryDataset();
 
-            for (BillingReportResponse item : data) {
-                dataset.addValue(item.getTotalRevenue().doubleValue(), "Ingresos (Q)", item.getBranchName());
-            }
+            rows.forEach(item -> dataset.addValue(item.getTotalRevenue().doubleValue(), "Ingresos (Q)",
+                    item.getBranchName()));
 
             // Crear gráfico de barras
             JFreeChart chart = ChartFactory.createBarChart(
@@ -258,13 +223,187 @@ public class ReportExportService {
             plot.setRangeGridlinePaint(java.awt.Color.GRAY);
             plot.getRenderer().setSeriesPaint(0, new java.awt.Color(34, 139, 34)); // Verde
 
-            // Convertir a bytes (PNG)
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            ChartUtils.writeChartAsPNG(baos, chart, 800, 600);
-            return baos.toByteArray();
+            // Escribir PNG
+            ChartUtils.writeChartAsPNG(outputStream, chart, 800, 600);
+            outputStream.flush();
 
         } catch (Exception e) {
             throw new RuntimeException("Error generando imagen de facturación", e);
         }
     }
+
+    public byte[] exportBillingReportToPdf(List<BillingReportResponse> data) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeBillingReportPdf(data.stream(), baos);
+        return baos.toByteArray();
+    }
+
+    public byte[] exportBillingReportToCsv(List<BillingReportResponse> data) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeBillingReportCsv(data.stream(), baos);
+        return baos.toByteArray();
+    }
+
+    public byte[] exportBillingReportToImage(List<BillingReportResponse> data) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeBillingReportImage(data.stream(), baos);
+        return baos.toByteArray();
+    }
+
+    // ==================== Reportes de Flotillas ====================
+
+    public void writeFleetReportPdf(Stream<FleetReportResponse> rows, OutputStream outputStream) {
+        try {
+            writePdfTable("REPORTE DE FLOTILLAS",
+                    new float[] { 3, 1.5f, 1.5f, 1.5f, 1.5f, 2 },
+                    new String[] { "Empresa", "Estado", "Vehículos Activos", "Entradas", "Horas", "Monto (Q)" },
+                    rows,
+                    (table, item) -> {
+                        table.addCell(new Cell().add(new Paragraph(item.getCompanyName())));
+                        table.addCell(new Cell().add(new Paragraph(item.getPaymentStatus()))
+                                .setTextAlignment(TextAlignment.CENTER));
+                        table.addCell(new Cell()
+                                .add(new Paragraph(item.getActiveVehicles() + "/" + item.getPlateLimit()))
+                                .setTextAlignment(TextAlignment.CENTER));
+                        table.addCell(new Cell().add(new Paragraph(String.valueOf(item.getTotalEntries())))
+                                .setTextAlignment(TextAlignment.CENTER));
+                        table.addCell(new Cell().add(new Paragraph(String.format("%.2f", item.getTotalHours())))
+                                .setTextAlignment(TextAlignment.RIGHT));
+                        table.addCell(new Cell().add(new Paragraph(String.format("%.2f", item.getTotalAmount())))
+                                .setTextAlignment(TextAlignment.RIGHT));
+                    },
+                    outputStream);
+        } catch (Exception e) {
+            throw new RuntimeException("Error generando PDF de flotillas", e);
+        }
+    }
+
+    public void writeFleetReportCsv(Stream<FleetReportResponse> rows, OutputStream outputStream) {
+        PrintWriter writer = csvWriter(outputStream);
+
+        // CSV Header
+        writer.println(
+                "company_id,company_name,tax_id,payment_status,plate_limit,total_vehicles,active_vehicles,total_entries,total_hours,total_amount");
+
+        // CSV Data
+        rows.forEach(item -> writer.printf("%d,\"%s\",\"%s\",%s,%d,%d,%d,%d,%.2f,%.2f%n",
+                item.getCompanyId(),
+                item.getCompanyName(),
+                item.getTaxId(),
+                item.getPaymentStatus(),
+                item.getPlateLimit(),
+                item.getTotalVehicles(),
+                item.getActiveVehicles(),
+                item.getTotalEntries(),
+                item.getTotalHours(),
+                item.getTotalAmount()));
+
+        finishCsv(writer, "Error generando CSV de flotillas");
+    }
+
+    public void writeFleetReportImage(Stream<FleetReportResponse> rows, OutputStream outputStream) {
+        try {
+            // Crear dataset para el gráfico
+            DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+
+            rows.forEach(item -> dataset.addValue(item.getTotalAmount().doubleValue(), "Consumo (Q)",
+                    item.getCompanyName()));
+
+            // Crear gráfico de barras
+            JFreeChart chart = ChartFactory.createBarChart(
+                    "Reporte de Flotillas",
+                    "Empresa",
+                    "Consumo (Q)",
+                    dataset,
+                    PlotOrientation.VERTICAL,
+                    true,
+                    true,
+                    false);
+
+            // Personalizar colores
+            CategoryPlot plot = chart.getCategoryPlot();
+            plot.setBackgroundPaint(java.awt.Color.WHITE);
+            plot.setRangeGridlinePaint(java.awt.Color.GRAY);
+
+            // Escribir PNG
+            ChartUtils.writeChartAsPNG(outputStream, chart, 800, 600);
+            outputStream.flush();
+
+        } catch (Exception e) {
+            throw new RuntimeException("Error generando imagen de flotillas", e);
+        }
+    }
+
+    // ==================== Helpers ====================
+
+    /**
+     * Escribe un documento PDF con título, fecha de generación y una tabla en
+     * modo "large table": las filas se vacían al stream cada
+     * {@link #PDF_FLUSH_ROWS} registros en lugar de acumularse en memoria.
+     */
+    private <T> void writePdfTable(String titleText, float[] columnWidths, String[] headers, Stream<T> rows,
+            BiConsumer<Table, T> rowWriter, OutputStream outputStream) throws Exception {
+        PdfWriter writer = new PdfWriter(outputStream);
+        writer.setCloseStream(false);
+        PdfDocument pdfDoc = new PdfDocument(writer);
+        Document document = new Document(pdfDoc);
+
+        // Título
+        Paragraph title = new Paragraph(titleText)
+                .setFontSize(20)
+                .setBold()
+                .setTextAlignment(TextAlignment.CENTER);
+        document.add(title);
+
+        // Fecha de generación
+        String fecha = LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"));
+        Paragraph date = new Paragraph("Generado: " + fecha)
+                .setFontSize(10)
+                .setTextAlignment(TextAlignment.CENTER)
+                .setMarginBottom(20);
+        document.add(date);
+
+        // Tabla
+        Table table = new Table(UnitValue.createPercentArray(columnWidths), true);
+        table.setWidth(UnitValue.createPercentValue(100));
+
+        // Encabezados
+        for (String header : headers) {
+            Cell cell = new Cell().add(new Paragraph(header).setBold())
+                    .setBackgroundColor(ColorConstants.LIGHT_GRAY)
+                    .setTextAlignment(TextAlignment.CENTER);
+            table.addHeaderCell(cell);
+        }
+        document.add(table);
+
+        // Datos
+        int pending = 0;
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            rowWriter.accept(table, iterator.next());
+            if (++pending == PDF_FLUSH_ROWS) {
+                table.flush();
+                pending = 0;
+            }
+        }
+
+        table.complete();
+        document.close();
+        outputStream.flush();
+    }
+
+    private PrintWriter csvWriter(OutputStream outputStream) {
+        return new PrintWriter(new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)));
+    }
+
+    private void finishCsv(PrintWriter writer, String errorMessage) {
+        writer.flush();
+        if (writer.checkError()) {
+            throw new RuntimeException(errorMessage);
+        }
+    }
+
+    private static String orDash(Object value) {
+        return value != null ? value.toString() : "-";
+    }
 }
@@ -0,0 +1,28 @@
+package com.ayd.parkcontrol.application.usecase.report.job;
+
+import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Obtiene el archivo de un trabajo de reporte completado.
+ */
+@Service
+@RequiredArgsConstructor
+public class DownloadReportJobUseCase {
+
+    private final ReportJobStore reportJobStore;
+
+    public ReportArtifact execute(String jobId) {
+        ReportJob job = GetReportJobUseCase.findOwnedJob(reportJobStore, jobId);
+
+        if (job.getStatus() != ReportJobStatus.COMPLETED) {
+            throw new BusinessRuleException("El reporte aún no está disponible. Estado: " + job.getStatus());
+        }
+
+        byte[] content = reportJobStore.findResult(job.getResultKey())
+                .orElseThrow(() -> new BusinessRuleException("El archivo del reporte expiró, solicítelo nuevamente"));
+
+        return new ReportArtifact(job.getFileName(), job.getMediaType(), content);
+    }
+}
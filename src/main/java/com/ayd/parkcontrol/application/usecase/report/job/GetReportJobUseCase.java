@@ -0,0 +1,30 @@
+package com.ayd.parkcontrol.application.usecase.report.job;
+
+import com.ayd.parkcontrol.application.dto.response.report.ReportJobResponse;
+import com.ayd.parkcontrol.application.mapper.ReportJobDtoMapper;
+import com.ayd.parkcontrol.domain.exception.ReportJobNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+/**
+ * Consulta el estado de un trabajo de reporte del usuario autenticado.
+ */
+@Service
+@RequiredArgsConstructor
+public class GetReportJobUseCase {
+
+    private final ReportJobStore reportJobStore;
+    private final ReportJobDtoMapper reportJobDtoMapper;
+
+    public ReportJobResponse execute(String jobId) {
+        return reportJobDtoMapper.toResponse(findOwnedJob(reportJobStore, jobId));
+    }
+
+    static ReportJob findOwnedJob(ReportJobStore store, String jobId) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        return store.findJob(jobId)
+                .filter(job -> username.equals(job.getRequestedBy()))
+                .orElseThrow(() -> new ReportJobNotFoundException(jobId));
+    }
+}
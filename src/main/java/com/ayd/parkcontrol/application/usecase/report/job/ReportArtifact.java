@@ -0,0 +1,16 @@
+package com.ayd.parkcontrol.application.usecase.report.job;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Archivo generado por un trabajo de reporte, listo para descargarse.
+ */
+@Getter
+@AllArgsConstructor
+public class ReportArtifact {
+
+    private final String fileName;
+    private final String mediaType;
+    private final byte[] content;
+}
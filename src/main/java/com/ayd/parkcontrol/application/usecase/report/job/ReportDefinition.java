@@ -0,0 +1,70 @@
+package com.ayd.parkcontrol.application.usecase.report.job;
+
+import com.ayd.parkcontrol.application.dto.request.report.ExportReportRequest;
+import com.ayd.parkcontrol.application.usecase.report.export.ExportFormat;
+import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Solicitud de exportación validada: tipo de reporte, formato, rango de
+ * fechas opcional y, para el reporte de flotillas, la empresa opcional.
+ */
+@Getter
+@AllArgsConstructor
+public class ReportDefinition {
+
+    private final ReportType reportType;
+    private final ExportFormat format;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final Long companyId;
+
+    public static ReportDefinition from(ExportReportRequest request) {
+        ReportType reportType = ReportType.from(request.getReportType());
+        ExportFormat format = ExportFormat.from(request.getExportFormat());
+        LocalDate startDate = parseDate(request.getStartDate(), "start_date");
+        LocalDate endDate = parseDate(request.getEndDate(), "end_date");
+
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new BusinessRuleException("La fecha de inicio no puede ser posterior a la fecha de fin");
+        }
+
+        Long companyId = reportType == ReportType.FLEETS ? request.getCompanyId() : null;
+
+        return new ReportDefinition(reportType, format, startDate, endDate, companyId);
+    }
+
+    /**
+     * Clave del resultado en caché. Incluye la marca de agua de los datos para
+     * que un periodo cerrado reutilice el archivo y uno abierto se regenere
+     * cuando cambian los datos.
+     */
+    public String cacheKey(String watermark) {
+        String company = companyId != null ? ":e" + companyId : "";
+        return reportType + ":" + format + ":" + valueOf(startDate) + ":" + valueOf(endDate) + company + ":"
+                + watermark;
+    }
+
+    public String fileName() {
+        return reportType.getBaseFileName() + "." + format.getExtension();
+    }
+
+    private static LocalDate parseDate(String value, String field) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new BusinessRuleException("Fecha inválida en " + field + ": " + value);
+        }
+    }
+
+    private static String valueOf(LocalDate date) {
+        return date != null ? date.toString() : "*";
+    }
+}
@@ -0,0 +1,35 @@
+package com.ayd.parkcontrol.application.usecase.report.job;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Trabajo de generación de reportes. Se guarda en caché para que cualquier
+ * instancia pueda responder a las consultas de estado y descarga.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJob {
+
+    private String id;
+    private String reportType;
+    private String exportFormat;
+    private String startDate;
+    private String endDate;
+    private Long companyId;
+    private String requestedBy;
+    private ReportJobStatus status;
+    private String resultKey;
+    private String fileName;
+    private String mediaType;
+    private boolean cached;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,11 @@
+package com.ayd.parkcontrol.application.usecase.report.job;
+
+/**
+ * Estados de un trabajo de generación de reportes.
+ */
+public enum ReportJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
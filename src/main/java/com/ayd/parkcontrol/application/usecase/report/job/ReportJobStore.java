@@ -0,0 +1,49 @@
+package com.ayd.parkcontrol.application.usecase.report.job;
+
+import com.ayd.parkcontrol.application.port.cache.CacheService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Persistencia de trabajos de reportes y de sus archivos generados sobre el
+ * servicio de caché compartido.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReportJobStore {
+
+    private static final String JOB_KEY_PREFIX = "report:job:";
+    private static final String RESULT_KEY_PREFIX = "report:result:";
+
+    private final CacheService cacheService;
+
+    @Value("${app.reports.jobs.ttl-minutes:60}")
+    private long jobTtlMinutes;
+
+    @Value("${app.reports.jobs.result-ttl-minutes:1440}")
+    private long resultTtlMinutes;
+
+    public void saveJob(ReportJob job) {
+        cacheService.save(JOB_KEY_PREFIX + job.getId(), job, Duration.ofMinutes(jobTtlMinutes));
+    }
+
+    public Optional<ReportJob> findJob(String jobId) {
+        return cacheService.get(JOB_KEY_PREFIX + jobId, ReportJob.class);
+    }
+
+    public void saveResult(String resultKey, byte[] content) {
+        cacheService.save(RESULT_KEY_PREFIX + resultKey, content, Duration.ofMinutes(resultTtlMinutes));
+    }
+
+    public Optional<byte[]> findResult(String resultKey) {
+        return cacheService.get(RESULT_KEY_PREFIX + resultKey, byte[].class);
+    }
+
+    public boolean hasResult(String resultKey) {
+        return cacheService.exists(RESULT_KEY_PREFIX + resultKey);
+    }
+}
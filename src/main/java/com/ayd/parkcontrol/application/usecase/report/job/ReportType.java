@@ -0,0 +1,29 @@
+package com.ayd.parkcontrol.application.usecase.report.job;
+
+import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Reportes que pueden generarse como trabajo asíncrono.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ReportType {
+
+    OCCUPANCY("reporte-ocupacion"),
+    BILLING("reporte-facturacion"),
+    FLEETS("reporte-flotillas");
+
+    private final String baseFileName;
+
+    public static ReportType from(String reportType) {
+        String normalized = reportType != null ? reportType.trim().toUpperCase() : "";
+        for (ReportType type : values()) {
+            if (type.name().equals(normalized)) {
+                return type;
+            }
+        }
+        throw new BusinessRuleException("Tipo de reporte no soportado: " + reportType);
+    }
+}
@@ -0,0 +1,147 @@
+package com.ayd.parkcontrol.application.usecase.report.job;
+
+import com.ayd.parkcontrol.application.dto.request.report.ExportReportRequest;
+import com.ayd.parkcontrol.application.dto.response.report.ReportJobResponse;
+import com.ayd.parkcontrol.application.mapper.ReportJobDtoMapper;
+import com.ayd.parkcontrol.application.usecase.report.ExportReportUseCase;
+import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.CountLastCreatedProjection;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaFleetCompanyRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaFleetVehicleRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaOccupancyHourlyRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketChargeRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Registra un trabajo de generación de reportes y lo encola en el pool de
+ * workers. Si ya existe un archivo generado para el mismo reporte,
+ * parámetros y marca de agua de datos, el trabajo se completa de inmediato
+ * reutilizándolo.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SubmitReportJobUseCase {
+
+    private final ReportJobStore reportJobStore;
+    private final ReportJobExecutor reportJobExecutor;
+    private final ExportReportUseCase exportReportUseCase;
+    private final JpaTicketChargeRepository ticketChargeRepository;
+    private final JpaTicketRepository ticketRepository;
+    private final JpaFleetCompanyRepository fleetCompanyRepository;
+    private final JpaFleetVehicleRepository fleetVehicleRepository;
+    private final JpaOccupancyHourlyRepository occupancyHourlyRepository;
+    private final ReportJobDtoMapper reportJobDtoMapper;
+
+    public ReportJobResponse execute(ExportReportRequest request) {
+        // 1. Validar la solicitud
+        ReportDefinition definition = ReportDefinition.from(request);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        // El reporte de flotillas solo está disponible para administradores
+        if (definition.getReportType() == ReportType.FLEETS && authentication.getAuthorities().stream()
+                .noneMatch(authority -> "ROLE_Administrador".equals(authority.getAuthority()))) {
+            throw new AccessDeniedException("El reporte de flotillas requiere el rol Administrador");
+        }
+
+        // 2. Calcular la clave del resultado con la marca de agua actual
+        String resultKey = definition.cacheKey(resolveWatermark(definition));
+
+        ReportJob job = ReportJob.builder()
+                .id(UUID.randomUUID().toString())
+                .reportType(definition.getReportType().name())
+                .exportFormat(definition.getFormat().name())
+                .startDate(definition.getStartDate() != null ? definition.getStartDate().toString() : null)
+                .endDate(definition.getEndDate() != null ? definition.getEndDate().toString() : null)
+                .companyId(definition.getCompanyId())
+                .requestedBy(authentication.getName())
+                .resultKey(resultKey)
+                .fileName(definition.fileName())
+                .mediaType(definition.getFormat().getMediaType())
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        // 3. Reutilizar el archivo si ya fue generado
+        if (reportJobStore.hasResult(resultKey)) {
+            job.setStatus(ReportJobStatus.COMPLETED);
+            job.setCached(true);
+            job.setCompletedAt(LocalDateTime.now());
+            reportJobStore.saveJob(job);
+            log.info("Trabajo de reporte {} servido desde caché ({})", job.getId(), resultKey);
+            return reportJobDtoMapper.toResponse(job);
+        }
+
+        // 4. Encolar la generación
+        job.setStatus(ReportJobStatus.PENDING);
+        reportJobStore.saveJob(job);
+
+        try {
+            reportJobExecutor.submit(() -> run(job, definition));
+        } catch (RejectedExecutionException e) {
+            job.setStatus(ReportJobStatus.FAILED);
+            job.setErrorMessage("Cola de reportes llena");
+            reportJobStore.saveJob(job);
+            throw new BusinessRuleException("La cola de reportes está llena, intente más tarde");
+        }
+
+        log.info("Trabajo de reporte {} encolado: {} {}", job.getId(), job.getReportType(), job.getExportFormat());
+        return reportJobDtoMapper.toResponse(job);
+    }
+
+    void run(ReportJob job, ReportDefinition definition) {
+        job.setStatus(ReportJobStatus.RUNNING);
+        reportJobStore.saveJob(job);
+
+        try {
+            byte[] content = exportReportUseCase.execute(definition);
+            reportJobStore.saveResult(job.getResultKey(), content);
+
+            job.setStatus(ReportJobStatus.COMPLETED);
+            log.info("Trabajo de reporte {} completado ({} bytes)", job.getId(), content.length);
+        } catch (Exception e) {
+            job.setStatus(ReportJobStatus.FAILED);
+            job.setErrorMessage(e.getMessage());
+            log.error("Error generando el trabajo de reporte {}", job.getId(), e);
+        }
+
+        job.setCompletedAt(LocalDateTime.now());
+        reportJobStore.saveJob(job);
+    }
+
+    private String resolveWatermark(ReportDefinition definition) {
+        return switch (definition.getReportType()) {
+            case BILLING -> {
+                LocalDateTime end = definition.getEndDate() != null
+                        ? definition.getEndDate().plusDays(1).atStartOfDay()
+                        : null;
+                CountLastCreatedProjection charges = ticketChargeRepository.summarizeChargesBefore(end);
+                yield "c" + charges.getTotal()
+                        + ":" + (charges.getLastCreatedAt() != null ? charges.getLastCreatedAt() : "0");
+            }
+            case OCCUPANCY -> {
+                LocalDateTime lastUpdate = ticketRepository.findLastUpdatedAt();
+                LocalDateTime lastRollup = occupancyHourlyRepository.findLastUpdatedAt();
+                yield "t" + (lastUpdate != null ? lastUpdate : "0")
+                        + ":o" + (lastRollup != null ? lastRollup : "0");
+            }
+            case FLEETS -> {
+                LocalDateTime lastTicketUpdate = ticketRepository.findLastUpdatedAt();
+                LocalDateTime lastCompanyUpdate = fleetCompanyRepository.findLastModifiedAt();
+                LocalDateTime lastVehicleUpdate = fleetVehicleRepository.findLastModifiedAt();
+                yield "t" + (lastTicketUpdate != null ? lastTicketUpdate : "0")
+                        + ":f" + (lastCompanyUpdate != null ? lastCompanyUpdate : "0")
+                        + ":v" + (lastVehicleUpdate != null ? lastVehicleUpdate : "0");
+            }
+        };
+    }
+}
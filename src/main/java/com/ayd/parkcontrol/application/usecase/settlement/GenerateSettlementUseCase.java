@@ -3,6 +3,7 @@ package com.ayd.parkcontrol.application.usecase.settlement;
 import com.ayd.parkcontrol.application.dto.request.settlement.GenerateSettlementRequest;
 import com.ayd.parkcontrol.application.dto.response.settlement.SettlementResponse;
 import com.ayd.parkcontrol.application.dto.response.settlement.SettlementTicketDetail;
+import com.ayd.parkcontrol.application.service.ReferenceDataResolver;
 import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
 import com.ayd.parkcontrol.domain.exception.NotFoundException;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.*;
@@ -17,8 +18,12 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
+import static com.ayd.parkcontrol.application.service.ReferenceDataResolver.collectIds;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -30,7 +35,7 @@ public class GenerateSettlementUseCase {
     private final JpaBranchRepository branchRepository;
     private final JpaUserRepository userRepository;
     private final JpaSettlementTicketRepository settlementTicketRepository;
-    private final JpaTicketRepository ticketRepository;
+    private final ReferenceDataResolver referenceDataResolver;
 
     @Transactional
     public SettlementResponse execute(GenerateSettlementRequest request) {
@@ -64,6 +69,46 @@ public class GenerateSettlementUseCase {
             throw new BusinessRuleException("No unsettled free hours found for the specified period");
         }
 
+        BusinessSettlementHistoryEntity saved = settle(commerce, request.getBranchId(), request.getPeriodStart(),
+                request.getPeriodEnd(), request.getObservations(), user.getId(), unsettledHours);
+
+        log.info("Settlement generated successfully with ID: {}, Total: {}", saved.getId(), saved.getTotalAmount());
+
+        return mapToResponse(saved, commerce, branch, user, unsettledHours);
+    }
+
+    /**
+     * Liquida en su propia transacción las horas gratis pendientes de un
+     * comercio en una sucursal. Lo usa la corrida masiva; devuelve vacío si
+     * el grupo ya no tiene horas pendientes, por ejemplo porque otra corrida
+     * lo liquidó primero.
+     */
+    @Transactional
+    public Optional<BusinessSettlementHistoryEntity> settlePending(Long businessId, Long branchId,
+            LocalDateTime periodStart, LocalDateTime periodEnd, String observations, Long settledBy) {
+        AffiliatedBusinessEntity commerce = commerceRepository.findById(businessId)
+                .orElseThrow(() -> new NotFoundException("Commerce not found with ID: " + businessId));
+
+        List<BusinessFreeHoursEntity> unsettledHours = businessFreeHoursRepository
+                .findUnsettledByBusinessBranchAndPeriod(businessId, branchId, periodStart, periodEnd);
+
+        if (unsettledHours.isEmpty()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(settle(commerce, branchId, periodStart, periodEnd, observations, settledBy,
+                unsettledHours));
+    }
+
+    /**
+     * Registra la liquidación, sus tickets en un solo batch y marca las horas
+     * como liquidadas con un único update. Si alguna hora ya estaba liquidada
+     * otra transacción se adelantó y se revierte todo para no cobrarla dos
+     * veces.
+     */
+    private BusinessSettlementHistoryEntity settle(AffiliatedBusinessEntity commerce, Long branchId,
+            LocalDateTime periodStart, LocalDateTime periodEnd, String observations, Long settledBy,
+            List<BusinessFreeHoursEntity> unsettledHours) {
         BigDecimal totalHours = unsettledHours.stream()
                 .map(BusinessFreeHoursEntity::getGrantedHours)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
@@ -71,46 +116,51 @@ public class GenerateSettlementUseCase {
         BigDecimal totalAmount = totalHours.multiply(commerce.getRatePerHour());
 
         BusinessSettlementHistoryEntity settlement = BusinessSettlementHistoryEntity.builder()
-                .businessId(request.getBusinessId())
-                .branchId(request.getBranchId())
-                .periodStart(request.getPeriodStart())
-                .periodEnd(request.getPeriodEnd())
+                .businessId(commerce.getId())
+                .branchId(branchId)
+                .periodStart(periodStart)
+                .periodEnd(periodEnd)
                 .totalHours(totalHours)
                 .totalAmount(totalAmount)
                 .ticketCount(unsettledHours.size())
                 .settledAt(LocalDateTime.now())
-                .settledBy(user.getId())
-                .observations(request.getObservations())
+                .settledBy(settledBy)
+                .observations(observations)
                 .build();
 
         BusinessSettlementHistoryEntity saved = settlementRepository.save(settlement);
 
-        for (BusinessFreeHoursEntity freeHours : unsettledHours) {
-            SettlementTicketEntity settlementTicket = SettlementTicketEntity.builder()
-                    .settlementId(saved.getId())
-                    .ticketId(freeHours.getTicketId())
-                    .freeHoursGranted(freeHours.getGrantedHours())
-                    .build();
-            settlementTicketRepository.save(settlementTicket);
-        }
+        List<SettlementTicketEntity> settlementTickets = unsettledHours.stream()
+                .map(freeHours -> SettlementTicketEntity.builder()
+                        .settlementId(saved.getId())
+                        .ticketId(freeHours.getTicketId())
+                        .freeHoursGranted(freeHours.getGrantedHours())
+                        .build())
+                .collect(Collectors.toList());
+        settlementTicketRepository.saveAll(settlementTickets);
 
         List<Long> freeHoursIds = unsettledHours.stream()
                 .map(BusinessFreeHoursEntity::getId)
                 .collect(Collectors.toList());
-        businessFreeHoursRepository.markAsSettled(freeHoursIds);
-
-        log.info("Settlement generated successfully with ID: {}, Total: {}", saved.getId(), totalAmount);
+        int marked = businessFreeHoursRepository.markAsSettled(freeHoursIds);
+        if (marked != freeHoursIds.size()) {
+            throw new BusinessRuleException("Free hours for business " + commerce.getId() + " at branch "
+                    + branchId + " were settled concurrently");
+        }
 
-        return mapToResponse(saved, commerce, branch, user, unsettledHours);
+        return saved;
     }
 
     private SettlementResponse mapToResponse(BusinessSettlementHistoryEntity entity,
             AffiliatedBusinessEntity commerce,
             BranchEntity branch, UserEntity user,
             List<BusinessFreeHoursEntity> freeHours) {
+        Map<Long, TicketEntity> tickets = referenceDataResolver
+                .ticketsById(collectIds(freeHours, BusinessFreeHoursEntity::getTicketId));
+
         List<SettlementTicketDetail> ticketDetails = freeHours.stream()
                 .map(fh -> {
-                    TicketEntity ticket = ticketRepository.findById(fh.getTicketId()).orElse(null);
+                    TicketEntity ticket = tickets.get(fh.getTicketId());
                     return SettlementTicketDetail.builder()
                             .ticketId(fh.getTicketId())
                             .folio(ticket != null ? ticket.getFolio() : null)
@@ -0,0 +1,171 @@
+package com.ayd.parkcontrol.application.usecase.settlement;
+
+import com.ayd.parkcontrol.application.dto.request.settlement.BulkSettlementRequest;
+import com.ayd.parkcontrol.application.dto.response.settlement.BulkSettlementGroupResult;
+import com.ayd.parkcontrol.application.dto.response.settlement.BulkSettlementRunResponse;
+import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
+import com.ayd.parkcontrol.domain.exception.NotFoundException;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.BusinessSettlementHistoryEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.UserEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.PendingSettlementProjection;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaBusinessFreeHoursRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaUserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Liquida de una vez todos los pares (comercio, sucursal) con horas gratis
+ * pendientes en un periodo.
+ *
+ * Cada par se liquida en su propia transacción sobre un pool acotado, de
+ * modo que un fallo solo revierte su grupo. Volver a ejecutar la corrida es
+ * seguro: solo se toman horas aún no liquidadas y los grupos que otra
+ * corrida alcanzó a cerrar se reportan como omitidos.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RunBulkSettlementUseCase {
+
+    private final GenerateSettlementUseCase generateSettlementUseCase;
+    private final JpaBusinessFreeHoursRepository businessFreeHoursRepository;
+    private final JpaUserRepository userRepository;
+
+    @Value("${app.settlements.run.pool-size:4}")
+    private int poolSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public BulkSettlementRunResponse execute(BulkSettlementRequest request) {
+        if (!request.getPeriodEnd().isAfter(request.getPeriodStart())) {
+            throw new BusinessRuleException("Period end must be after period start");
+        }
+
+        Long settledBy = currentUser().getId();
+
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessRuleException("A bulk settlement run is already in progress");
+        }
+        try {
+            return run(request, settledBy);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private BulkSettlementRunResponse run(BulkSettlementRequest request, Long settledBy) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<PendingSettlementProjection> groups = businessFreeHoursRepository
+                .findPendingSettlementGroups(request.getPeriodStart(), request.getPeriodEnd());
+
+        log.info("Starting bulk settlement for {} groups in period {} to {}",
+                groups.size(), request.getPeriodStart(), request.getPeriodEnd());
+
+        List<BulkSettlementGroupResult> results;
+        if (groups.isEmpty()) {
+            results = List.of();
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(Math.min(poolSize, groups.size()),
+                    threadFactory());
+            try {
+                List<CompletableFuture<BulkSettlementGroupResult>> futures = groups.stream()
+                        .map(group -> CompletableFuture.supplyAsync(() -> settleGroup(group, request, settledBy),
+                                executor))
+                        .toList();
+                results = futures.stream().map(CompletableFuture::join).toList();
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        int settled = count(results, BulkSettlementGroupResult.SETTLED);
+        int failed = count(results, BulkSettlementGroupResult.FAILED);
+        BulkSettlementRunResponse response = BulkSettlementRunResponse.builder()
+                .periodStart(request.getPeriodStart())
+                .periodEnd(request.getPeriodEnd())
+                .groups(results.size())
+                .settled(settled)
+                .skipped(count(results, BulkSettlementGroupResult.SKIPPED))
+                .failed(failed)
+                .ticketCount(results.stream()
+                        .filter(result -> BulkSettlementGroupResult.SETTLED.equals(result.getStatus()))
+                        .mapToInt(BulkSettlementGroupResult::getTicketCount)
+                        .sum())
+                .totalAmount(results.stream()
+                        .filter(result -> BulkSettlementGroupResult.SETTLED.equals(result.getStatus()))
+                        .map(BulkSettlementGroupResult::getTotalAmount)
+                        .reduce(BigDecimal.ZERO, BigDecimal::add))
+                .startedAt(startedAt)
+                .finishedAt(LocalDateTime.now())
+                .results(results)
+                .build();
+
+        log.info("Bulk settlement finished. Settled: {}, Skipped: {}, Failed: {}, Total: {}",
+                settled, response.getSkipped(), failed, response.getTotalAmount());
+
+        return response;
+    }
+
+    private BulkSettlementGroupResult settleGroup(PendingSettlementProjection group, BulkSettlementRequest request,
+            Long settledBy) {
+        BulkSettlementGroupResult.BulkSettlementGroupResultBuilder result = BulkSettlementGroupResult.builder()
+                .businessId(group.getBusinessId())
+                .branchId(group.getBranchId());
+        try {
+            Optional<BusinessSettlementHistoryEntity> settlement = generateSettlementUseCase.settlePending(
+                    group.getBusinessId(), group.getBranchId(), request.getPeriodStart(), request.getPeriodEnd(),
+                    request.getObservations(), settledBy);
+
+            if (settlement.isEmpty()) {
+                return result.status(BulkSettlementGroupResult.SKIPPED).build();
+            }
+
+            BusinessSettlementHistoryEntity saved = settlement.get();
+            return result.status(BulkSettlementGroupResult.SETTLED)
+                    .settlementId(saved.getId())
+                    .ticketCount(saved.getTicketCount())
+                    .totalHours(saved.getTotalHours())
+                    .totalAmount(saved.getTotalAmount())
+                    .build();
+        } catch (RuntimeException e) {
+            log.error("Settlement failed for business {} at branch {}", group.getBusinessId(),
+                    group.getBranchId(), e);
+            return result.status(BulkSettlementGroupResult.FAILED).error(e.getMessage()).build();
+        }
+    }
+
+    private UserEntity currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String email = authentication.getName();
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
+    }
+
+    private static int count(List<BulkSettlementGroupResult> results, String status) {
+        return (int) results.stream().filter(result -> status.equals(result.getStatus())).count();
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "settlement-run-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
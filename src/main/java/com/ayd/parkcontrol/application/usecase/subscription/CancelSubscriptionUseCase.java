@@ -1,11 +1,13 @@
 package com.ayd.parkcontrol.application.usecase.subscription;
 
+import com.ayd.parkcontrol.application.event.ActivePlateChangedEvent;
 import com.ayd.parkcontrol.domain.exception.SubscriptionNotFoundException;
 import com.ayd.parkcontrol.domain.model.subscription.Subscription;
 import com.ayd.parkcontrol.domain.repository.SubscriptionRepository;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaSubscriptionStatusTypeRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,6 +18,7 @@ public class CancelSubscriptionUseCase {
 
     private final SubscriptionRepository subscriptionRepository;
     private final JpaSubscriptionStatusTypeRepository statusTypeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void execute(Long id) {
@@ -31,6 +34,7 @@ public class CancelSubscriptionUseCase {
 
         subscription.setStatusTypeId(cancelledStatusId);
         subscriptionRepository.save(subscription);
+        eventPublisher.publishEvent(new ActivePlateChangedEvent(subscription.getLicensePlate()));
 
         log.info("Subscription cancelled successfully with ID: {}", id);
     }
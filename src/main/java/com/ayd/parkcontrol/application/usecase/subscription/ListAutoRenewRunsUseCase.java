@@ -0,0 +1,59 @@
+package com.ayd.parkcontrol.application.usecase.subscription;
+
+import com.ayd.parkcontrol.application.dto.response.subscription.AutoRenewRunResponse;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.SubscriptionRenewalRunEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaSubscriptionRenewalRunRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Lista las corridas más recientes de renovación automática, incluida la que
+ * esté en curso con los contadores de su último checkpoint.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ListAutoRenewRunsUseCase {
+
+    static final int MAX_LIMIT = 50;
+
+    private final JpaSubscriptionRenewalRunRepository runRepository;
+
+    @Transactional(readOnly = true)
+    public List<AutoRenewRunResponse> execute(int limit) {
+        log.debug("Listing last {} auto-renewal runs", limit);
+
+        int size = Math.min(Math.max(1, limit), MAX_LIMIT);
+        return runRepository.findAllByOrderByIdDesc(PageRequest.of(0, size)).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    private AutoRenewRunResponse toResponse(SubscriptionRenewalRunEntity run) {
+        LocalDateTime end = run.getFinishedAt() != null ? run.getFinishedAt() : run.getUpdatedAt();
+        return AutoRenewRunResponse.builder()
+                .runId(run.getId())
+                .status(run.getStatus().name())
+                .windowStart(run.getWindowStart())
+                .windowEnd(run.getWindowEnd())
+                .lastSubscriptionId(run.getLastSubscriptionId())
+                .renewed(run.getRenewed())
+                .skipped(run.getSkipped())
+                .failed(run.getFailed())
+                .chunks(run.getChunks())
+                .resumes(run.getResumes())
+                .lastError(run.getLastError())
+                .startedAt(run.getStartedAt())
+                .updatedAt(run.getUpdatedAt())
+                .finishedAt(run.getFinishedAt())
+                .durationMs(Duration.between(run.getStartedAt(), end).toMillis())
+                .build();
+    }
+}
@@ -2,6 +2,7 @@ package com.ayd.parkcontrol.application.usecase.subscription;
 
 import com.ayd.parkcontrol.application.dto.request.subscription.PurchaseSubscriptionRequest;
 import com.ayd.parkcontrol.application.dto.response.subscription.SubscriptionResponse;
+import com.ayd.parkcontrol.application.event.SubscriptionPurchasedEvent;
 import com.ayd.parkcontrol.application.mapper.SubscriptionDtoMapper;
 import com.ayd.parkcontrol.domain.exception.DuplicateLicensePlateException;
 import com.ayd.parkcontrol.domain.exception.SubscriptionPlanNotFoundException;
@@ -14,6 +15,7 @@ import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaUserReposito
 import com.ayd.parkcontrol.security.CustomUserDetails;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -33,6 +35,7 @@ public class PurchaseSubscriptionUseCase {
     private final JpaSubscriptionStatusTypeRepository statusTypeRepository;
     private final JpaUserRepository jpaUserRepository;
     private final SubscriptionDtoMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public SubscriptionResponse execute(PurchaseSubscriptionRequest request, Long userId) {
@@ -78,6 +81,9 @@ public class PurchaseSubscriptionUseCase {
 
         Subscription saved = subscriptionRepository.save(subscription);
 
+        eventPublisher.publishEvent(new SubscriptionPurchasedEvent(
+                saved.getId(), userId, saved.getLicensePlate(), saved.getFrozenRateBase(), saved.getPurchaseDate()));
+
         log.info("Subscription purchased successfully with ID: {} for user: {}", saved.getId(), userId);
 
         return mapper.toSubscriptionResponse(saved);
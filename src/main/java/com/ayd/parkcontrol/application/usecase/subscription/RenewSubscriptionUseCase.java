@@ -2,12 +2,14 @@ package com.ayd.parkcontrol.application.usecase.subscription;
 
 import com.ayd.parkcontrol.application.dto.request.subscription.RenewSubscriptionRequest;
 import com.ayd.parkcontrol.application.dto.response.subscription.SubscriptionResponse;
+import com.ayd.parkcontrol.application.event.SubscriptionPurchasedEvent;
 import com.ayd.parkcontrol.application.mapper.SubscriptionDtoMapper;
 import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
 import com.ayd.parkcontrol.domain.model.subscription.Subscription;
 import com.ayd.parkcontrol.domain.repository.SubscriptionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +23,7 @@ public class RenewSubscriptionUseCase {
 
     private final SubscriptionRepository subscriptionRepository;
     private final SubscriptionDtoMapper subscriptionMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public SubscriptionResponse execute(Long subscriptionId, RenewSubscriptionRequest request) {
@@ -61,6 +64,10 @@ public class RenewSubscriptionUseCase {
 
         Subscription renewed = subscriptionRepository.save(subscription);
 
+        eventPublisher.publishEvent(new SubscriptionPurchasedEvent(
+                renewed.getId(), renewed.getUserId(), renewed.getLicensePlate(),
+                renewed.getFrozenRateBase(), renewed.getPurchaseDate()));
+
         log.info("Subscription renewed successfully: {} - New period: {} to {}", 
                 subscriptionId, newStartDate, newEndDate);
 
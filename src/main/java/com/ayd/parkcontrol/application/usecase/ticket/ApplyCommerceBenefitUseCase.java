@@ -4,6 +4,7 @@ import com.ayd.parkcontrol.application.dto.request.ticket.ApplyBenefitRequest;
 import com.ayd.parkcontrol.application.dto.response.ticket.BusinessFreeHoursResponse;
 import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
 import com.ayd.parkcontrol.domain.exception.NotFoundException;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.AffiliatedBusinessEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.BusinessFreeHoursEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketEntity;
@@ -11,7 +12,6 @@ import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketStatusTypeEnt
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaAffiliatedBusinessRepository;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaBusinessFreeHoursRepository;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketStatusTypeRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -27,7 +27,7 @@ public class ApplyCommerceBenefitUseCase {
 
     private final JpaTicketRepository ticketRepository;
     private final JpaBusinessFreeHoursRepository businessFreeHoursRepository;
-    private final JpaTicketStatusTypeRepository ticketStatusTypeRepository;
+    private final CatalogCache catalogCache;
     private final JpaAffiliatedBusinessRepository affiliatedBusinessRepository;
 
     @Transactional
@@ -39,7 +39,7 @@ public class ApplyCommerceBenefitUseCase {
                 .orElseThrow(() -> new NotFoundException("Ticket not found with ID: " + ticketId));
 
         // 2. Validar que el ticket esté en progreso
-        TicketStatusTypeEntity inProgressStatus = ticketStatusTypeRepository.findByCode("IN_PROGRESS")
+        TicketStatusTypeEntity inProgressStatus = catalogCache.ticketStatuses().findByCode("IN_PROGRESS")
                 .orElseThrow(() -> new NotFoundException("Ticket status 'IN_PROGRESS' not found"));
 
         if (!ticket.getStatusTypeId().equals(inProgressStatus.getId())) {
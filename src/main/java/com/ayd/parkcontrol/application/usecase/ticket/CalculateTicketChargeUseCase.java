@@ -1,7 +1,7 @@
 package com.ayd.parkcontrol.application.usecase.ticket;
 
 import com.ayd.parkcontrol.application.dto.response.ticket.TicketChargeResponse;
-import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
+import com.ayd.parkcontrol.application.service.EffectiveRateResolver;
 import com.ayd.parkcontrol.domain.exception.NotFoundException;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.*;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.*;
@@ -21,65 +21,53 @@ import java.time.LocalDateTime;
 public class CalculateTicketChargeUseCase {
 
     private final JpaTicketRepository ticketRepository;
-    private final JpaBranchRepository branchRepository;
-    private final JpaRateBaseHistoryRepository rateBaseHistoryRepository;
     private final JpaBusinessFreeHoursRepository businessFreeHoursRepository;
     private final JpaSubscriptionRepository subscriptionRepository;
+    private final EffectiveRateResolver effectiveRateResolver;
 
     @Transactional(readOnly = true)
     public TicketChargeResponse execute(Long ticketId) {
         log.info("Calculating charge for ticket ID: {}", ticketId);
 
-        // 1. Obtener ticket
         TicketEntity ticket = ticketRepository.findById(ticketId)
                 .orElseThrow(() -> new NotFoundException("Ticket not found with ID: " + ticketId));
 
-        // 2. Calcular tiempo total
+        SubscriptionEntity subscription = null;
+        if (ticket.getIsSubscriber() && ticket.getSubscriptionId() != null) {
+            subscription = subscriptionRepository.findById(ticket.getSubscriptionId())
+                    .orElseThrow(() -> new NotFoundException("Subscription not found"));
+        }
+
+        return calculate(ticket, subscription);
+    }
+
+    /**
+     * Calcula el cargo de un ticket ya cargado. La salida de vehículos lo usa
+     * para no volver a leer el ticket ni la suscripción.
+     *
+     * @param ticket       ticket a cobrar
+     * @param subscription suscripción del ticket, o null si no es suscriptor
+     * @return detalle del cargo
+     */
+    public TicketChargeResponse calculate(TicketEntity ticket, SubscriptionEntity subscription) {
+        // 1. Calcular tiempo total
         LocalDateTime exitTime = ticket.getExitTime() != null ? ticket.getExitTime() : LocalDateTime.now();
         long minutes = Duration.between(ticket.getEntryTime(), exitTime).toMinutes();
         BigDecimal totalHours = BigDecimal.valueOf(minutes)
                 .divide(BigDecimal.valueOf(60), 2, RoundingMode.HALF_UP);
 
-        // 3. Obtener horas gratis otorgadas por comercios
-        BigDecimal freeHoursGranted = businessFreeHoursRepository.sumGrantedHoursByTicketId(ticketId);
+        // 2. Obtener horas gratis otorgadas por comercios
+        BigDecimal freeHoursGranted = businessFreeHoursRepository.sumGrantedHoursByTicketId(ticket.getId());
 
-        // 4. Obtener tarifa aplicable
-        BigDecimal rateApplied = getApplicableRate(ticket);
+        // 3. Obtener tarifa aplicable
+        BigDecimal rateApplied = effectiveRateResolver.resolve(ticket.getBranchId(), subscription);
 
-        // 5. Calcular según tipo de cliente
-        if (ticket.getIsSubscriber() && ticket.getSubscriptionId() != null) {
-            return calculateSubscriberCharge(ticket, totalHours, freeHoursGranted, rateApplied);
+        // 4. Calcular según tipo de cliente
+        if (ticket.getIsSubscriber() && subscription != null) {
+            return calculateSubscriberCharge(ticket, subscription, totalHours, freeHoursGranted, rateApplied);
         } else {
-            return calculateNonSubscriberCharge(ticketId, totalHours, freeHoursGranted, rateApplied);
-        }
-    }
-
-    private BigDecimal getApplicableRate(TicketEntity ticket) {
-        // 1. Verificar si es suscriptor con tarifa congelada
-        if (ticket.getIsSubscriber() && ticket.getSubscriptionId() != null) {
-            SubscriptionEntity subscription = subscriptionRepository.findById(ticket.getSubscriptionId())
-                    .orElse(null);
-            if (subscription != null && subscription.getFrozenRateBase() != null) {
-                log.info("Using frozen rate from subscription: {}", subscription.getFrozenRateBase());
-                return subscription.getFrozenRateBase();
-            }
-        }
-
-        // 2. Verificar tarifa de sucursal
-        BranchEntity branch = branchRepository.findById(ticket.getBranchId())
-                .orElseThrow(() -> new NotFoundException("Branch not found"));
-
-        if (branch.getRatePerHour() != null) {
-            log.info("Using branch rate: {}", branch.getRatePerHour());
-            return branch.getRatePerHour();
+            return calculateNonSubscriberCharge(ticket.getId(), totalHours, freeHoursGranted, rateApplied);
         }
-
-        // 3. Usar tarifa base actual
-        RateBaseHistoryEntity currentRate = rateBaseHistoryRepository.findCurrentRate()
-                .orElseThrow(() -> new BusinessRuleException("No base rate configured"));
-
-        log.info("Using base rate: {}", currentRate.getAmountPerHour());
-        return currentRate.getAmountPerHour();
     }
 
     private TicketChargeResponse calculateNonSubscriberCharge(
@@ -108,12 +96,10 @@ public class CalculateTicketChargeUseCase {
 
     private TicketChargeResponse calculateSubscriberCharge(
             TicketEntity ticket,
+            SubscriptionEntity subscription,
             BigDecimal totalHours,
             BigDecimal freeHoursGranted,
             BigDecimal rateApplied) {
-        SubscriptionEntity subscription = subscriptionRepository.findById(ticket.getSubscriptionId())
-                .orElseThrow(() -> new NotFoundException("Subscription not found"));
-
         // Para suscriptores, las horas gratis pueden:
         // - No consumir del bolsón (si el comercio configuró "NO_CONSUME_HOURS")
         // En este caso, las horas gratis simplemente no se descuentan del bolsón
@@ -2,12 +2,11 @@ package com.ayd.parkcontrol.application.usecase.ticket;
 
 import com.ayd.parkcontrol.application.dto.response.ticket.TicketResponse;
 import com.ayd.parkcontrol.domain.exception.NotFoundException;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketStatusTypeEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.VehicleTypeEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketStatusTypeRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaVehicleTypeRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -23,22 +22,21 @@ import java.util.stream.Collectors;
 public class GetActiveTicketsUseCase {
 
     private final JpaTicketRepository ticketRepository;
-    private final JpaTicketStatusTypeRepository ticketStatusTypeRepository;
-    private final JpaVehicleTypeRepository vehicleTypeRepository;
+    private final CatalogCache catalogCache;
 
     @Transactional(readOnly = true)
     public List<TicketResponse> execute() {
         log.info("Getting all active tickets");
 
         // 1. Obtener estado "IN_PROGRESS"
-        TicketStatusTypeEntity inProgressStatus = ticketStatusTypeRepository.findByCode("IN_PROGRESS")
+        TicketStatusTypeEntity inProgressStatus = catalogCache.ticketStatuses().findByCode("IN_PROGRESS")
                 .orElseThrow(() -> new NotFoundException("Ticket status 'IN_PROGRESS' not found"));
 
         // 2. Buscar tickets activos
         List<TicketEntity> activeTickets = ticketRepository.findByStatusTypeId(inProgressStatus.getId());
 
         // 3. Obtener tipos de vehículos y estados para mapear
-        List<VehicleTypeEntity> vehicleTypes = vehicleTypeRepository.findAll();
+        List<VehicleTypeEntity> vehicleTypes = catalogCache.vehicleTypes().all();
         Map<Integer, String> vehicleTypeMap = vehicleTypes.stream()
                 .collect(Collectors.toMap(VehicleTypeEntity::getId, VehicleTypeEntity::getName));
 
@@ -1,13 +1,13 @@
 package com.ayd.parkcontrol.application.usecase.ticket;
 
 import com.ayd.parkcontrol.application.dto.response.ticket.TicketResponse;
+import com.ayd.parkcontrol.application.service.TicketFolioAllocator;
 import com.ayd.parkcontrol.domain.exception.NotFoundException;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketStatusTypeEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.VehicleTypeEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketStatusTypeRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaVehicleTypeRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -19,22 +19,24 @@ import org.springframework.transaction.annotation.Transactional;
 public class GetTicketByFolioUseCase {
 
     private final JpaTicketRepository ticketRepository;
-    private final JpaVehicleTypeRepository vehicleTypeRepository;
-    private final JpaTicketStatusTypeRepository ticketStatusTypeRepository;
+    private final CatalogCache catalogCache;
 
     @Transactional(readOnly = true)
     public TicketResponse execute(String folio) {
         log.info("Getting ticket by folio: {}", folio);
 
-        // 1. Buscar ticket por folio
-        TicketEntity ticket = ticketRepository.findByFolio(folio)
+        // 1. Buscar ticket por folio. Los folios T-{sucursal}-{número} se
+        // resuelven con el índice (branch_id, folio)
+        TicketEntity ticket = TicketFolioAllocator.branchIdOf(folio)
+                .map(branchId -> ticketRepository.findByBranchIdAndFolio(branchId, folio))
+                .orElseGet(() -> ticketRepository.findByFolio(folio))
                 .orElseThrow(() -> new NotFoundException("Ticket not found with folio: " + folio));
 
         // 2. Obtener información adicional
-        VehicleTypeEntity vehicleType = vehicleTypeRepository.findById(ticket.getVehicleTypeId())
+        VehicleTypeEntity vehicleType = catalogCache.vehicleTypes().findById(ticket.getVehicleTypeId())
                 .orElseThrow(() -> new NotFoundException("Vehicle type not found"));
 
-        TicketStatusTypeEntity status = ticketStatusTypeRepository.findById(ticket.getStatusTypeId())
+        TicketStatusTypeEntity status = catalogCache.ticketStatuses().findById(ticket.getStatusTypeId())
                 .orElseThrow(() -> new NotFoundException("Ticket status not found"));
 
         return mapToResponse(ticket, vehicleType.getName(), status.getName());
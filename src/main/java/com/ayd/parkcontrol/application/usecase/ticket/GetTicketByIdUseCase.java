@@ -2,12 +2,11 @@ package com.ayd.parkcontrol.application.usecase.ticket;
 
 import com.ayd.parkcontrol.application.dto.response.ticket.TicketResponse;
 import com.ayd.parkcontrol.domain.exception.NotFoundException;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketStatusTypeEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.VehicleTypeEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketStatusTypeRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaVehicleTypeRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -19,8 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class GetTicketByIdUseCase {
 
     private final JpaTicketRepository ticketRepository;
-    private final JpaVehicleTypeRepository vehicleTypeRepository;
-    private final JpaTicketStatusTypeRepository ticketStatusTypeRepository;
+    private final CatalogCache catalogCache;
 
     @Transactional(readOnly = true)
     public TicketResponse execute(Long ticketId) {
@@ -29,10 +27,10 @@ public class GetTicketByIdUseCase {
         TicketEntity ticket = ticketRepository.findById(ticketId)
                 .orElseThrow(() -> new NotFoundException("Ticket not found with ID: " + ticketId));
 
-        VehicleTypeEntity vehicleType = vehicleTypeRepository.findById(ticket.getVehicleTypeId())
+        VehicleTypeEntity vehicleType = catalogCache.vehicleTypes().findById(ticket.getVehicleTypeId())
                 .orElseThrow(() -> new NotFoundException("Vehicle type not found"));
 
-        TicketStatusTypeEntity status = ticketStatusTypeRepository.findById(ticket.getStatusTypeId())
+        TicketStatusTypeEntity status = catalogCache.ticketStatuses().findById(ticket.getStatusTypeId())
                 .orElseThrow(() -> new NotFoundException("Ticket status not found"));
 
         return mapToResponse(ticket, vehicleType.getName(), status.getName());
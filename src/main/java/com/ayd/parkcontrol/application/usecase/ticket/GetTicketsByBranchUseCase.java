@@ -1,12 +1,11 @@
 package com.ayd.parkcontrol.application.usecase.ticket;
 
 import com.ayd.parkcontrol.application.dto.response.ticket.TicketResponse;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketStatusTypeEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.VehicleTypeEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketStatusTypeRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaVehicleTypeRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -22,8 +21,7 @@ import java.util.stream.Collectors;
 public class GetTicketsByBranchUseCase {
 
     private final JpaTicketRepository ticketRepository;
-    private final JpaVehicleTypeRepository vehicleTypeRepository;
-    private final JpaTicketStatusTypeRepository ticketStatusTypeRepository;
+    private final CatalogCache catalogCache;
 
     @Transactional(readOnly = true)
     public List<TicketResponse> execute(Long branchId) {
@@ -33,11 +31,11 @@ public class GetTicketsByBranchUseCase {
         List<TicketEntity> tickets = ticketRepository.findByBranchIdOrderByEntryTimeDesc(branchId);
 
         // 2. Obtener tipos de vehículos y estados para mapear
-        List<VehicleTypeEntity> vehicleTypes = vehicleTypeRepository.findAll();
+        List<VehicleTypeEntity> vehicleTypes = catalogCache.vehicleTypes().all();
         Map<Integer, String> vehicleTypeMap = vehicleTypes.stream()
                 .collect(Collectors.toMap(VehicleTypeEntity::getId, VehicleTypeEntity::getName));
 
-        List<TicketStatusTypeEntity> statuses = ticketStatusTypeRepository.findAll();
+        List<TicketStatusTypeEntity> statuses = catalogCache.ticketStatuses().all();
         Map<Integer, String> statusMap = statuses.stream()
                 .collect(Collectors.toMap(TicketStatusTypeEntity::getId, TicketStatusTypeEntity::getName));
 
@@ -0,0 +1,201 @@
+package com.ayd.parkcontrol.application.usecase.ticket;
+
+import com.ayd.parkcontrol.application.dto.request.ticket.GateEventBatchRequest;
+import com.ayd.parkcontrol.application.dto.request.ticket.GateEventRequest;
+import com.ayd.parkcontrol.application.dto.response.ticket.GateEventBatchResponse;
+import com.ayd.parkcontrol.application.dto.response.ticket.GateEventResult;
+import com.ayd.parkcontrol.application.dto.response.ticket.TicketResponse;
+import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
+import com.ayd.parkcontrol.domain.exception.NotFoundException;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
+import com.ayd.parkcontrol.infrastructure.cache.GateEventRegistry;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketStatusTypeEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Procesa un lote de eventos de garita en el orden recibido.
+ *
+ * Los ingresos consecutivos se registran juntos en una transacción para que
+ * sus inserts viajen en batch; cada salida se procesa en su propia
+ * transacción. El resultado de cada evento se reporta por separado, de modo
+ * que una garita que estuvo sin conexión puede reenviar sus eventos
+ * almacenados y reintentar solo los rechazados; los eventos que ya se
+ * procesaron se reconocen por su identificador de cliente y no se registran
+ * dos veces.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IngestGateEventsUseCase {
+
+    private final RegisterVehicleEntryUseCase registerVehicleEntryUseCase;
+    private final ProcessVehicleExitUseCase processVehicleExitUseCase;
+    private final JpaTicketRepository ticketRepository;
+    private final CatalogCache catalogCache;
+    private final GateEventRegistry gateEventRegistry;
+
+    public GateEventBatchResponse execute(GateEventBatchRequest request) {
+        List<GateEventRequest> events = request.getEvents();
+        log.info("Ingesting batch of {} gate events", events.size());
+
+        // Los eventos reenviados que ya se procesaron responden con su
+        // resultado original y no se vuelven a registrar
+        GateEventResult[] results = new GateEventResult[events.size()];
+        boolean[] claimed = new boolean[events.size()];
+        for (int i = 0; i < events.size(); i++) {
+            GateEventRequest event = events.get(i);
+            if (event.getClientEventId() == null) {
+                continue;
+            }
+            GateEventRegistry.Claim claim = gateEventRegistry.claim(event.getBranchId(), event.getClientEventId());
+            switch (claim.status()) {
+                case CLAIMED -> claimed[i] = true;
+                case PROCESSED -> results[i] = replayed(event, i, claim);
+                case IN_PROGRESS -> results[i] = GateEventResult.rejected(i, event.getClientEventId(),
+                        event.getType(), "Event is already being processed");
+            }
+        }
+
+        int index = 0;
+        while (index < events.size()) {
+            if (results[index] != null) {
+                index++;
+            } else if (events.get(index).isEntry()) {
+                int end = index;
+                while (end < events.size() && results[end] == null && events.get(end).isEntry()) {
+                    end++;
+                }
+                List<GateEventResult> entryResults = registerEntries(events.subList(index, end), index);
+                for (int i = index; i < end; i++) {
+                    results[i] = entryResults.get(i - index);
+                }
+                index = end;
+            } else {
+                results[index] = processExit(events.get(index), index);
+                index++;
+            }
+        }
+
+        for (int i = 0; i < events.size(); i++) {
+            if (claimed[i]) {
+                record(events.get(i), results[i]);
+            }
+        }
+
+        int accepted = (int) Arrays.stream(results)
+                .filter(result -> GateEventResult.ACCEPTED.equals(result.getStatus()))
+                .count();
+
+        log.info("Gate events processed. Accepted: {}, Rejected: {}", accepted, results.length - accepted);
+
+        return GateEventBatchResponse.builder()
+                .total(results.length)
+                .accepted(accepted)
+                .rejected(results.length - accepted)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    /**
+     * Registra los ingresos juntos. Si el insert del lote falla (por ejemplo
+     * porque un trigger rechaza uno de los tickets) se reintenta cada ingreso
+     * en su propia transacción para que solo se rechace el que falló.
+     */
+    private List<GateEventResult> registerEntries(List<GateEventRequest> entries, int firstIndex) {
+        try {
+            return registerVehicleEntryUseCase.executeBatch(entries, firstIndex);
+        } catch (RuntimeException e) {
+            if (entries.size() == 1) {
+                log.warn("Entry event {} could not be saved: {}", firstIndex, e.getMessage());
+                GateEventRequest entry = entries.get(0);
+                return List.of(GateEventResult.rejected(firstIndex, entry.getClientEventId(), entry.getType(),
+                        "Entry could not be saved: " + e.getMessage()));
+            }
+
+            log.warn("Entry batch starting at event {} could not be saved. Retrying entries one by one",
+                    firstIndex, e);
+            List<GateEventResult> results = new ArrayList<>(entries.size());
+            for (int i = 0; i < entries.size(); i++) {
+                results.addAll(registerEntries(entries.subList(i, i + 1), firstIndex + i));
+            }
+            return results;
+        }
+    }
+
+    private GateEventResult replayed(GateEventRequest event, int index, GateEventRegistry.Claim claim) {
+        log.info("Gate event {} already processed. Returning ticket {}", event.getClientEventId(), claim.ticketId());
+        return GateEventResult.builder()
+                .index(index)
+                .clientEventId(event.getClientEventId())
+                .type(event.getType())
+                .status(GateEventResult.ACCEPTED)
+                .ticketId(claim.ticketId())
+                .folio(claim.folio())
+                .build();
+    }
+
+    private void record(GateEventRequest event, GateEventResult result) {
+        if (GateEventResult.ACCEPTED.equals(result.getStatus())) {
+            gateEventRegistry.complete(event.getBranchId(), event.getClientEventId(), result.getTicketId(),
+                    result.getFolio());
+        } else {
+            gateEventRegistry.release(event.getBranchId(), event.getClientEventId());
+        }
+    }
+
+    private GateEventResult processExit(GateEventRequest event, int index) {
+        try {
+            TicketEntity ticket = resolveTicket(event);
+            LocalDateTime exitTime = event.getOccurredAt() != null ? event.getOccurredAt() : LocalDateTime.now();
+            TicketResponse response = processVehicleExitUseCase.execute(ticket.getId(), exitTime);
+
+            return GateEventResult.builder()
+                    .index(index)
+                    .clientEventId(event.getClientEventId())
+                    .type(event.getType())
+                    .status(GateEventResult.ACCEPTED)
+                    .ticketId(response.getId())
+                    .folio(response.getFolio())
+                    .build();
+        } catch (RuntimeException e) {
+            log.warn("Exit event {} rejected: {}", index, e.getMessage());
+            return GateEventResult.rejected(index, event.getClientEventId(), event.getType(), e.getMessage());
+        }
+    }
+
+    /**
+     * Ticket de la salida, por ID, por folio o por el ticket activo de la
+     * placa en la sucursal del evento.
+     */
+    private TicketEntity resolveTicket(GateEventRequest event) {
+        Optional<TicketEntity> ticket;
+        if (event.getTicketId() != null) {
+            ticket = ticketRepository.findById(event.getTicketId());
+        } else if (event.getFolio() != null) {
+            ticket = ticketRepository.findByBranchIdAndFolio(event.getBranchId(), event.getFolio());
+        } else if (event.getLicensePlate() != null) {
+            TicketStatusTypeEntity inProgressStatus = catalogCache.ticketStatuses().findByCode("IN_PROGRESS")
+                    .orElseThrow(() -> new NotFoundException("Ticket status 'IN_PROGRESS' not found"));
+            ticket = ticketRepository.findFirstByBranchIdAndLicensePlateAndStatusTypeIdOrderByEntryTimeDesc(
+                    event.getBranchId(), event.getLicensePlate().toUpperCase(), inProgressStatus.getId());
+        } else {
+            throw new BusinessRuleException("Exit events require a ticket ID, folio or license plate");
+        }
+
+        TicketEntity found = ticket.orElseThrow(() -> new NotFoundException("Ticket not found for exit event"));
+        if (!found.getBranchId().equals(event.getBranchId())) {
+            throw new BusinessRuleException("Ticket does not belong to branch " + event.getBranchId());
+        }
+        return found;
+    }
+}
@@ -2,12 +2,17 @@ package com.ayd.parkcontrol.application.usecase.ticket;
 
 import com.ayd.parkcontrol.application.dto.response.ticket.TicketChargeResponse;
 import com.ayd.parkcontrol.application.dto.response.ticket.TicketResponse;
+import com.ayd.parkcontrol.application.event.TicketExitProcessedEvent;
 import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
 import com.ayd.parkcontrol.domain.exception.NotFoundException;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
+import com.ayd.parkcontrol.infrastructure.cache.RedisOccupancyService;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.*;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,14 +24,27 @@ import java.time.LocalDateTime;
 public class ProcessVehicleExitUseCase {
 
     private final JpaTicketRepository ticketRepository;
-    private final JpaTicketStatusTypeRepository ticketStatusTypeRepository;
-    private final JpaVehicleTypeRepository vehicleTypeRepository;
+    private final CatalogCache catalogCache;
     private final JpaTicketChargeRepository ticketChargeRepository;
     private final JpaSubscriptionRepository subscriptionRepository;
     private final CalculateTicketChargeUseCase calculateTicketChargeUseCase;
+    private final RedisOccupancyService redisOccupancyService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.occupancy.redis-admission-enabled:true}")
+    private boolean redisAdmissionEnabled;
 
     @Transactional
     public TicketResponse execute(Long ticketId) {
+        return execute(ticketId, LocalDateTime.now());
+    }
+
+    /**
+     * Procesa la salida con la hora indicada. Las garitas que reenvían eventos
+     * almacenados sin conexión usan la hora en que ocurrió la salida.
+     */
+    @Transactional
+    public TicketResponse execute(Long ticketId, LocalDateTime exitTime) {
         log.info("Processing vehicle exit for ticket ID: {}", ticketId);
 
         // 1. Obtener ticket
@@ -34,7 +52,7 @@ public class ProcessVehicleExitUseCase {
                 .orElseThrow(() -> new NotFoundException("Ticket not found with ID: " + ticketId));
 
         // 2. Validar que el ticket está en progreso
-        TicketStatusTypeEntity inProgressStatus = ticketStatusTypeRepository.findByCode("IN_PROGRESS")
+        TicketStatusTypeEntity inProgressStatus = catalogCache.ticketStatuses().findByCode("IN_PROGRESS")
                 .orElseThrow(() -> new NotFoundException("Ticket status 'IN_PROGRESS' not found"));
 
         if (!ticket.getStatusTypeId().equals(inProgressStatus.getId())) {
@@ -47,10 +65,19 @@ public class ProcessVehicleExitUseCase {
         }
 
         // 4. Registrar hora de salida
-        ticket.setExitTime(LocalDateTime.now());
+        if (!exitTime.isAfter(ticket.getEntryTime())) {
+            throw new BusinessRuleException("Exit time must be after entry time");
+        }
+        ticket.setExitTime(exitTime);
 
-        // 5. Calcular cargo
-        TicketChargeResponse charge = calculateTicketChargeUseCase.execute(ticketId);
+        // 5. Calcular cargo con el ticket y la suscripción ya cargados
+        SubscriptionEntity subscription = null;
+        if (ticket.getIsSubscriber() && ticket.getSubscriptionId() != null) {
+            subscription = subscriptionRepository.findById(ticket.getSubscriptionId())
+                    .orElseThrow(() -> new NotFoundException("Subscription not found"));
+        }
+
+        TicketChargeResponse charge = calculateTicketChargeUseCase.calculate(ticket, subscription);
 
         // 6. Guardar cargo en base de datos
         TicketChargeEntity chargeEntity = TicketChargeEntity.builder()
@@ -69,29 +96,39 @@ public class ProcessVehicleExitUseCase {
         ticketChargeRepository.save(chargeEntity);
 
         // 7. Si es suscriptor, actualizar horas consumidas
-        if (ticket.getIsSubscriber() && ticket.getSubscriptionId() != null) {
-            SubscriptionEntity subscription = subscriptionRepository.findById(ticket.getSubscriptionId())
-                    .orElseThrow(() -> new NotFoundException("Subscription not found"));
-
+        if (subscription != null) {
             subscription.setConsumedHours(
                     subscription.getConsumedHours().add(charge.getSubscriptionHoursConsumed()));
             subscriptionRepository.save(subscription);
         }
 
         // 8. Cambiar estado del ticket a COMPLETED
-        TicketStatusTypeEntity completedStatus = ticketStatusTypeRepository.findByCode("COMPLETED")
+        TicketStatusTypeEntity completedStatus = catalogCache.ticketStatuses().findByCode("COMPLETED")
                 .orElseThrow(() -> new NotFoundException("Ticket status 'COMPLETED' not found"));
 
         ticket.setStatusTypeId(completedStatus.getId());
         TicketEntity savedTicket = ticketRepository.save(ticket);
 
+        eventPublisher.publishEvent(new TicketExitProcessedEvent(
+                savedTicket.getId(),
+                savedTicket.getBranchId(),
+                savedTicket.getLicensePlate(),
+                savedTicket.getVehicleTypeId(),
+                charge.getTotalAmount(),
+                savedTicket.getExitTime()));
+
         log.info("Vehicle exit processed successfully. Ticket ID: {}, Total charge: {}",
                 ticketId, charge.getTotalAmount());
 
         // 9. Obtener información adicional para la respuesta
-        VehicleTypeEntity vehicleType = vehicleTypeRepository.findById(ticket.getVehicleTypeId())
+        VehicleTypeEntity vehicleType = catalogCache.vehicleTypes().findById(ticket.getVehicleTypeId())
                 .orElseThrow(() -> new NotFoundException("Vehicle type not found"));
 
+        // 10. Liberar el espacio reservado en Redis una vez confirmada la salida
+        if (redisAdmissionEnabled) {
+            redisOccupancyService.releaseSpaceAfterCommit(ticket.getBranchId(), vehicleType.getCode());
+        }
+
         return mapToResponse(savedTicket, vehicleType.getName(), completedStatus.getName());
     }
 
@@ -1,18 +1,39 @@
 package com.ayd.parkcontrol.application.usecase.ticket;
 
+import com.ayd.parkcontrol.application.dto.request.ticket.GateEventRequest;
 import com.ayd.parkcontrol.application.dto.request.ticket.RegisterEntryRequest;
+import com.ayd.parkcontrol.application.dto.response.ticket.GateEventResult;
 import com.ayd.parkcontrol.application.dto.response.ticket.TicketResponse;
+import com.ayd.parkcontrol.application.event.TicketEntryRegisteredEvent;
+import com.ayd.parkcontrol.application.service.TicketFolioAllocator;
 import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
 import com.ayd.parkcontrol.domain.exception.InsufficientCapacityException;
 import com.ayd.parkcontrol.domain.exception.NotFoundException;
+import com.ayd.parkcontrol.infrastructure.cache.ActivePlateIndex;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
+import com.ayd.parkcontrol.infrastructure.cache.RedisOccupancyService;
+import com.ayd.parkcontrol.infrastructure.cache.model.ActivePlate;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.*;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Slf4j
@@ -20,17 +41,107 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class RegisterVehicleEntryUseCase {
 
+    private static final String NIGHT_PLAN = "NIGHT";
+
     private final JpaTicketRepository ticketRepository;
     private final JpaBranchRepository branchRepository;
-    private final JpaVehicleTypeRepository vehicleTypeRepository;
+    private final CatalogCache catalogCache;
     private final JpaSubscriptionRepository subscriptionRepository;
-    private final JpaTicketStatusTypeRepository ticketStatusTypeRepository;
+    private final RedisOccupancyService redisOccupancyService;
+    private final ActivePlateIndex activePlateIndex;
+    private final TicketFolioAllocator ticketFolioAllocator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.occupancy.redis-admission-enabled:true}")
+    private boolean redisAdmissionEnabled;
 
     @Transactional
     public TicketResponse execute(RegisterEntryRequest request) {
         log.info("Registering vehicle entry for plate: {} at branch: {}", request.getLicensePlate(),
                 request.getBranchId());
 
+        PendingEntry entry = prepareEntry(request, LocalDateTime.now(), new EntryBatch());
+
+        TicketEntity savedTicket = ticketRepository.save(entry.ticket());
+        publishEntry(savedTicket);
+
+        log.info("Vehicle entry registered successfully. Ticket ID: {}, Folio: {}", savedTicket.getId(),
+                savedTicket.getFolio());
+
+        return mapToResponse(savedTicket, entry.vehicleType().getName(), entry.status().getName());
+    }
+
+    /**
+     * Registra en una sola transacción un lote de ingresos de garita. Cada
+     * ingreso se valida por separado y los rechazados se reportan sin afectar
+     * al resto; los tickets aceptados se insertan juntos para que Hibernate
+     * los envíe en batch.
+     *
+     * @param events     ingresos consecutivos del lote original
+     * @param firstIndex posición del primer ingreso en el lote original
+     * @return resultado de cada ingreso, en el mismo orden
+     */
+    @Transactional
+    public List<GateEventResult> executeBatch(List<GateEventRequest> events, int firstIndex) {
+        log.info("Registering batch of {} vehicle entries", events.size());
+
+        EntryBatch batch = new EntryBatch();
+        GateEventResult[] results = new GateEventResult[events.size()];
+        List<PendingEntry> accepted = new ArrayList<>();
+        List<Integer> acceptedPositions = new ArrayList<>();
+
+        for (int i = 0; i < events.size(); i++) {
+            GateEventRequest event = events.get(i);
+            if (event.getLicensePlate() == null || event.getVehicleTypeId() == null) {
+                results[i] = GateEventResult.rejected(firstIndex + i, event.getClientEventId(), event.getType(),
+                        "License plate and vehicle type are required for entries");
+                continue;
+            }
+
+            RegisterEntryRequest request = RegisterEntryRequest.builder()
+                    .branchId(event.getBranchId())
+                    .licensePlate(event.getLicensePlate())
+                    .vehicleTypeId(event.getVehicleTypeId())
+                    .build();
+            LocalDateTime entryTime = event.getOccurredAt() != null ? event.getOccurredAt() : LocalDateTime.now();
+
+            try {
+                accepted.add(prepareEntry(request, entryTime, batch));
+                acceptedPositions.add(i);
+            } catch (BusinessRuleException | NotFoundException | InsufficientCapacityException e) {
+                results[i] = GateEventResult.rejected(firstIndex + i, event.getClientEventId(), event.getType(),
+                        e.getMessage());
+            }
+        }
+
+        List<TicketEntity> savedTickets = ticketRepository.saveAll(
+                accepted.stream().map(PendingEntry::ticket).toList());
+
+        for (int j = 0; j < savedTickets.size(); j++) {
+            TicketEntity savedTicket = savedTickets.get(j);
+            int position = acceptedPositions.get(j);
+            publishEntry(savedTicket);
+            results[position] = GateEventResult.builder()
+                    .index(firstIndex + position)
+                    .clientEventId(events.get(position).getClientEventId())
+                    .type(GateEventRequest.ENTRY)
+                    .status(GateEventResult.ACCEPTED)
+                    .ticketId(savedTicket.getId())
+                    .folio(savedTicket.getFolio())
+                    .build();
+        }
+
+        log.info("Batch registered. Accepted: {}, Rejected: {}", savedTickets.size(),
+                events.size() - savedTickets.size());
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Valida el ingreso, reserva el espacio y arma el ticket sin guardarlo. La
+     * reserva de capacidad se hace al final para que un ingreso rechazado por
+     * otra regla no retenga espacio dentro de un lote.
+     */
+    private PendingEntry prepareEntry(RegisterEntryRequest request, LocalDateTime entryTime, EntryBatch batch) {
         // 1. Validar que la sucursal existe y está activa
         BranchEntity branch = branchRepository.findById(request.getBranchId())
                 .orElseThrow(() -> new NotFoundException("Branch not found with ID: " + request.getBranchId()));
@@ -39,46 +150,61 @@ public class RegisterVehicleEntryUseCase {
             throw new BusinessRuleException("Branch is not active");
         }
 
+        // El trigger before_ticket_insert rechaza los ingresos fuera de horario;
+        // se valida antes para no hacer fallar el insert de un lote completo
+        validateOperatingHours(branch, entryTime);
+
         // 2. Validar tipo de vehículo
-        VehicleTypeEntity vehicleType = vehicleTypeRepository.findById(request.getVehicleTypeId())
+        VehicleTypeEntity vehicleType = catalogCache.vehicleTypes().findById(request.getVehicleTypeId())
                 .orElseThrow(
                         () -> new NotFoundException("Vehicle type not found with ID: " + request.getVehicleTypeId()));
 
         // 3. Obtener estado "IN_PROGRESS"
-        TicketStatusTypeEntity inProgressStatus = ticketStatusTypeRepository.findByCode("IN_PROGRESS")
+        TicketStatusTypeEntity inProgressStatus = catalogCache.ticketStatuses().findByCode("IN_PROGRESS")
                 .orElseThrow(() -> new NotFoundException("Ticket status 'IN_PROGRESS' not found"));
 
-        // 4. Validar capacidad disponible
-        Long currentOccupancy = ticketRepository.countActiveTicketsByBranchAndVehicleType(
-                request.getBranchId(),
-                request.getVehicleTypeId(),
-                inProgressStatus.getId());
-
-        Integer capacity = vehicleType.getCode().equals("2R") ? branch.getCapacity2r() : branch.getCapacity4r();
-
-        if (currentOccupancy >= capacity) {
-            throw new InsufficientCapacityException(
-                    String.format("Insufficient capacity for vehicle type %s at branch %s. Current: %d, Max: %d",
-                            vehicleType.getName(), branch.getName(), currentOccupancy, capacity));
-        }
+        // 4. Verificar si el vehículo ya tiene un ticket activo en esta sucursal.
+        // El índice de placas activas evita consultar la base de datos; si no
+        // está disponible se consulta como antes.
+        String licensePlate = request.getLicensePlate().toUpperCase();
+        Optional<ActivePlate> indexedPlate = activePlateIndex.find(licensePlate);
 
-        // 5. Verificar si el vehículo ya tiene un ticket activo en esta sucursal
-        Boolean hasActiveTicket = ticketRepository.existsActiveTicketForPlateInBranch(
-                request.getLicensePlate().toUpperCase(),
-                request.getBranchId(),
-                inProgressStatus.getId());
+        boolean hasActiveTicket = batch.hasPendingEntry(request.getBranchId(), licensePlate) || indexedPlate
+                .map(plate -> plate.hasOpenTicketAt(request.getBranchId()))
+                .orElseGet(() -> ticketRepository.existsActiveTicketForPlateInBranch(
+                        licensePlate,
+                        request.getBranchId(),
+                        inProgressStatus.getId()));
 
         if (hasActiveTicket) {
             throw new BusinessRuleException("Vehicle already has an active ticket at this branch");
         }
 
-        // 6. Verificar si tiene suscripción activa
-        SubscriptionEntity activeSubscription = subscriptionRepository
-                .findActiveLicensePlateSubscription(request.getLicensePlate().toUpperCase())
-                .orElse(null);
+        // 5. Verificar si tiene suscripción activa
+        Long activeSubscriptionId;
+        String planCode;
+        if (indexedPlate.isPresent()) {
+            ActivePlate plate = indexedPlate.get();
+            activeSubscriptionId = plate.eligibleSubscriptionId(entryTime);
+            planCode = activeSubscriptionId != null && activeSubscriptionId.equals(plate.getSubscriptionId())
+                    ? plate.getPlanCode()
+                    : null;
+        } else {
+            Optional<SubscriptionEntity> subscription = subscriptionRepository
+                    .findActiveLicensePlateSubscription(licensePlate);
+            activeSubscriptionId = subscription.map(SubscriptionEntity::getId).orElse(null);
+            planCode = subscription.map(this::planCodeOf).orElse(null);
+        }
+        validateNightPlan(branch, planCode, entryTime);
+
+        // 6. Validar y reservar capacidad disponible
+        Integer capacity = vehicleType.getCode().equals("2R") ? branch.getCapacity2r() : branch.getCapacity4r();
+        reserveCapacity(branch, vehicleType, capacity, inProgressStatus.getId(),
+                batch.pendingCount(branch.getId(), vehicleType.getId()));
+        batch.add(branch.getId(), vehicleType.getId(), licensePlate);
 
         // 7. Generar folio único
-        String folio = generateUniqueFolio(request.getBranchId());
+        String folio = ticketFolioAllocator.nextFolio(request.getBranchId());
 
         // 8. Generar QR code
         String qrCode = generateQRCode(folio, request.getLicensePlate());
@@ -87,27 +213,115 @@ public class RegisterVehicleEntryUseCase {
         TicketEntity ticket = TicketEntity.builder()
                 .branchId(request.getBranchId())
                 .folio(folio)
-                .licensePlate(request.getLicensePlate().toUpperCase())
+                .licensePlate(licensePlate)
                 .vehicleTypeId(request.getVehicleTypeId())
-                .entryTime(LocalDateTime.now())
-                .subscriptionId(activeSubscription != null ? activeSubscription.getId() : null)
-                .isSubscriber(activeSubscription != null)
+                .entryTime(entryTime)
+                .subscriptionId(activeSubscriptionId)
+                .isSubscriber(activeSubscriptionId != null)
                 .hasIncident(false)
                 .statusTypeId(inProgressStatus.getId())
                 .qrCode(qrCode)
                 .build();
 
-        TicketEntity savedTicket = ticketRepository.save(ticket);
+        return new PendingEntry(ticket, vehicleType, inProgressStatus);
+    }
 
-        log.info("Vehicle entry registered successfully. Ticket ID: {}, Folio: {}", savedTicket.getId(),
-                savedTicket.getFolio());
+    /**
+     * Misma regla de horario que el trigger before_ticket_insert.
+     */
+    private void validateOperatingHours(BranchEntity branch, LocalDateTime entryTime) {
+        if (branch.getOpeningTime() == null || branch.getClosingTime() == null) {
+            return;
+        }
+        LocalTime time = entryTime.toLocalTime().truncatedTo(ChronoUnit.SECONDS);
+        if (time.isBefore(branch.getOpeningTime()) || time.isAfter(branch.getClosingTime())) {
+            throw new BusinessRuleException("Entry time is outside the branch operating hours");
+        }
+    }
+
+    /**
+     * El plan nocturno solo permite ingresar entre el cierre de la sucursal y
+     * una hora antes de su apertura, igual que el trigger before_ticket_insert.
+     */
+    private void validateNightPlan(BranchEntity branch, String planCode, LocalDateTime entryTime) {
+        if (!NIGHT_PLAN.equals(planCode) || branch.getOpeningTime() == null || branch.getClosingTime() == null) {
+            return;
+        }
+        LocalTime time = entryTime.toLocalTime().truncatedTo(ChronoUnit.SECONDS);
+        LocalTime nightStart = branch.getClosingTime();
+        LocalTime nightEnd = branch.getOpeningTime().minusHours(1);
+        boolean nightTime = nightEnd.isBefore(nightStart)
+                ? !time.isBefore(nightStart) || !time.isAfter(nightEnd)
+                : !time.isBefore(nightStart) && !time.isAfter(nightEnd);
+
+        if (!nightTime) {
+            throw new BusinessRuleException(
+                    "Night plan is only valid between closing time and one hour before opening");
+        }
+    }
+
+    private String planCodeOf(SubscriptionEntity subscription) {
+        if (subscription.getPlan() == null || subscription.getPlan().getPlanType() == null) {
+            return null;
+        }
+        return subscription.getPlan().getPlanType().getCode();
+    }
+
+    private void publishEntry(TicketEntity savedTicket) {
+        eventPublisher.publishEvent(new TicketEntryRegisteredEvent(
+                savedTicket.getId(),
+                savedTicket.getBranchId(),
+                savedTicket.getLicensePlate(),
+                savedTicket.getVehicleTypeId(),
+                savedTicket.getSubscriptionId(),
+                savedTicket.getEntryTime()));
+    }
+
+    /**
+     * Reserva un espacio para el vehículo. En modo Redis la verificación y el
+     * incremento son una sola operación atómica y la reserva se compensa si la
+     * transacción no confirma; si Redis no está disponible, o el modo está
+     * deshabilitado, se valida contando los tickets activos en la base de datos
+     * más los ingresos del lote que aún no se han guardado.
+     */
+    private void reserveCapacity(BranchEntity branch, VehicleTypeEntity vehicleType, Integer capacity,
+            Integer inProgressStatusId, long pendingInBatch) {
+        if (redisAdmissionEnabled) {
+            boolean reserved;
+            try {
+                reserved = redisOccupancyService.tryReserveSpace(branch.getId(), vehicleType.getCode(), capacity);
+            } catch (DataAccessException e) {
+                log.warn("Redis no disponible para admisión en sucursal {}. Validando contra base de datos",
+                        branch.getId(), e);
+                validateCapacityFromDatabase(branch, vehicleType, capacity, inProgressStatusId, pendingInBatch);
+                return;
+            }
+
+            if (!reserved) {
+                throw new InsufficientCapacityException(
+                        String.format("Insufficient capacity for vehicle type %s at branch %s. Max: %d",
+                                vehicleType.getName(), branch.getName(), capacity));
+            }
+
+            redisOccupancyService.releaseSpaceOnRollback(branch.getId(), vehicleType.getCode());
+            return;
+        }
 
-        return mapToResponse(savedTicket, vehicleType.getName(), inProgressStatus.getName());
+        validateCapacityFromDatabase(branch, vehicleType, capacity, inProgressStatusId, pendingInBatch);
     }
 
-    private String generateUniqueFolio(Long branchId) {
-        String timestamp = String.valueOf(System.currentTimeMillis());
-        return String.format("T-%d-%s", branchId, timestamp.substring(timestamp.length() - 8));
+    private void validateCapacityFromDatabase(BranchEntity branch, VehicleTypeEntity vehicleType, Integer capacity,
+            Integer inProgressStatusId, long pendingInBatch) {
+        Long currentOccupancy = ticketRepository.countActiveTicketsByBranchAndVehicleType(
+                branch.getId(),
+                vehicleType.getId(),
+                inProgressStatusId) + pendingInBatch;
+
+        if (currentOccupancy >= capacity) {
+            throw new InsufficientCapacityException(
+                    String.format("Insufficient capacity for vehicle type %s at branch %s. Current: %d, Max: %d",
+                            vehicleType.getName(), branch.getName(), currentOccupancy, capacity));
+        }
     }
 
     private String generateQRCode(String folio, String licensePlate) {
@@ -134,4 +348,30 @@ public class RegisterVehicleEntryUseCase {
                 .updatedAt(ticket.getUpdatedAt())
                 .build();
     }
+
+    private record PendingEntry(TicketEntity ticket, VehicleTypeEntity vehicleType, TicketStatusTypeEntity status) {
+    }
+
+    /**
+     * Ingresos de un lote validados pero aún no guardados, para que las
+     * validaciones de ticket activo y capacidad los consideren.
+     */
+    private static final class EntryBatch {
+
+        private final Set<String> plates = new HashSet<>();
+        private final Map<String, Long> pendingByVehicleType = new HashMap<>();
+
+        boolean hasPendingEntry(Long branchId, String licensePlate) {
+            return plates.contains(branchId + ":" + licensePlate);
+        }
+
+        long pendingCount(Long branchId, Integer vehicleTypeId) {
+            return pendingByVehicleType.getOrDefault(branchId + ":" + vehicleTypeId, 0L);
+        }
+
+        void add(Long branchId, Integer vehicleTypeId, String licensePlate) {
+            plates.add(branchId + ":" + licensePlate);
+            pendingByVehicleType.merge(branchId + ":" + vehicleTypeId, 1L, Long::sum);
+        }
+    }
 }
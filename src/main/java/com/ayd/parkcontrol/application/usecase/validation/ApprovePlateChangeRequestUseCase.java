@@ -2,6 +2,7 @@ package com.ayd.parkcontrol.application.usecase.validation;
 
 import com.ayd.parkcontrol.application.dto.request.validation.ApprovePlateChangeRequest;
 import com.ayd.parkcontrol.application.dto.response.validation.PlateChangeRequestResponse;
+import com.ayd.parkcontrol.application.event.ActivePlateChangedEvent;
 import com.ayd.parkcontrol.application.mapper.PlateChangeRequestDtoMapper;
 import com.ayd.parkcontrol.application.port.notification.EmailService;
 import com.ayd.parkcontrol.domain.exception.InvalidPlateChangeStatusException;
@@ -16,6 +17,7 @@ import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaChangeReques
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaPlateChangeReasonRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -37,6 +39,7 @@ public class ApprovePlateChangeRequestUseCase {
     private final PlateChangeRequestDtoMapper mapper;
     private final EmailService emailService;
     private final PlateChangeChargeCalculationService chargeCalculationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public PlateChangeRequestResponse execute(Long id, ApprovePlateChangeRequest request) {
@@ -106,8 +109,13 @@ public class ApprovePlateChangeRequestUseCase {
 
         var subscription = subscriptionRepository.findById(savedRequest.getSubscriptionId()).orElse(null);
         if (subscription != null) {
+            String previousPlate = subscription.getLicensePlate();
             subscription.setLicensePlate(savedRequest.getNewLicensePlate());
             subscriptionRepository.save(subscription);
+            if (previousPlate != null) {
+                eventPublisher.publishEvent(new ActivePlateChangedEvent(previousPlate));
+            }
+            eventPublisher.publishEvent(new ActivePlateChangedEvent(savedRequest.getNewLicensePlate()));
             log.info("Updated subscription license plate to: {}", savedRequest.getNewLicensePlate());
         }
 
@@ -2,6 +2,7 @@ package com.ayd.parkcontrol.application.usecase.validation;
 
 import com.ayd.parkcontrol.application.dto.request.validation.CreateTemporalPermitRequest;
 import com.ayd.parkcontrol.application.dto.response.validation.TemporalPermitResponse;
+import com.ayd.parkcontrol.application.event.ActivePlateChangedEvent;
 import com.ayd.parkcontrol.application.mapper.TemporalPermitDtoMapper;
 import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
 import com.ayd.parkcontrol.domain.exception.SubscriptionNotFoundException;
@@ -11,6 +12,7 @@ import com.ayd.parkcontrol.infrastructure.persistence.entity.UserEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,6 +31,7 @@ public class CreateTemporalPermitUseCase {
     private final JpaTemporalPermitStatusTypeRepository statusRepository;
     private final JpaVehicleTypeRepository vehicleTypeRepository;
     private final TemporalPermitDtoMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public TemporalPermitResponse execute(CreateTemporalPermitRequest request) {
@@ -68,6 +71,7 @@ public class CreateTemporalPermitUseCase {
                 .build();
 
         TemporalPermitEntity saved = temporalPermitRepository.save(entity);
+        eventPublisher.publishEvent(new ActivePlateChangedEvent(saved.getTemporalPlate()));
 
         TemporalPermitEntity loaded = temporalPermitRepository.findById(saved.getId())
                 .orElseThrow(() -> new BusinessRuleException("Failed to load created permit"));
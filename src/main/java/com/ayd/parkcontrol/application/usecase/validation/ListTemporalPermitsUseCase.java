@@ -2,25 +2,28 @@ package com.ayd.parkcontrol.application.usecase.validation;
 
 import com.ayd.parkcontrol.application.dto.response.validation.TemporalPermitResponse;
 import com.ayd.parkcontrol.application.mapper.TemporalPermitDtoMapper;
+import com.ayd.parkcontrol.application.service.ReferenceDataResolver;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.TemporalPermitEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.UserEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTemporalPermitRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaUserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import static com.ayd.parkcontrol.application.service.ReferenceDataResolver.collectIds;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ListTemporalPermitsUseCase {
 
     private final JpaTemporalPermitRepository temporalPermitRepository;
-    private final JpaUserRepository userRepository;
+    private final ReferenceDataResolver referenceDataResolver;
     private final TemporalPermitDtoMapper mapper;
 
     @Transactional(readOnly = true)
@@ -29,13 +32,11 @@ public class ListTemporalPermitsUseCase {
 
         List<TemporalPermitEntity> permits = temporalPermitRepository.findAll();
 
+        Map<Long, UserEntity> approvers = referenceDataResolver
+                .userEntitiesById(collectIds(permits, TemporalPermitEntity::getApprovedBy));
+
         return permits.stream()
-                .map(this::mapToResponse)
+                .map(permit -> mapper.toResponse(permit, approvers.get(permit.getApprovedBy())))
                 .collect(Collectors.toList());
     }
-
-    private TemporalPermitResponse mapToResponse(TemporalPermitEntity entity) {
-        UserEntity approver = userRepository.findById(entity.getApprovedBy()).orElse(null);
-        return mapper.toResponse(entity, approver);
-    }
 }
@@ -1,6 +1,7 @@
 package com.ayd.parkcontrol.application.usecase.validation;
 
 import com.ayd.parkcontrol.application.dto.response.validation.TemporalPermitResponse;
+import com.ayd.parkcontrol.application.event.ActivePlateChangedEvent;
 import com.ayd.parkcontrol.application.mapper.TemporalPermitDtoMapper;
 import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.TemporalPermitEntity;
@@ -11,6 +12,7 @@ import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTemporalPerm
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaUserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +25,7 @@ public class RevokeTemporalPermitUseCase {
     private final JpaTemporalPermitStatusTypeRepository statusRepository;
     private final JpaUserRepository userRepository;
     private final TemporalPermitDtoMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public TemporalPermitResponse execute(Long id) {
@@ -39,6 +42,7 @@ public class RevokeTemporalPermitUseCase {
         permit.setStatusTypeId(revokedStatus.getId());
 
         TemporalPermitEntity updated = temporalPermitRepository.save(permit);
+        eventPublisher.publishEvent(new ActivePlateChangedEvent(updated.getTemporalPlate()));
 
         TemporalPermitEntity loaded = temporalPermitRepository.findById(updated.getId())
                 .orElseThrow(() -> new BusinessRuleException("Failed to load revoked permit"));
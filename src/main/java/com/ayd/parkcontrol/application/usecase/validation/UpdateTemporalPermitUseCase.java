@@ -2,6 +2,7 @@ package com.ayd.parkcontrol.application.usecase.validation;
 
 import com.ayd.parkcontrol.application.dto.request.validation.UpdateTemporalPermitRequest;
 import com.ayd.parkcontrol.application.dto.response.validation.TemporalPermitResponse;
+import com.ayd.parkcontrol.application.event.ActivePlateChangedEvent;
 import com.ayd.parkcontrol.application.mapper.TemporalPermitDtoMapper;
 import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.TemporalPermitEntity;
@@ -10,6 +11,7 @@ import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTemporalPerm
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaUserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,6 +26,7 @@ public class UpdateTemporalPermitUseCase {
     private final JpaTemporalPermitRepository temporalPermitRepository;
     private final JpaUserRepository userRepository;
     private final TemporalPermitDtoMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public TemporalPermitResponse execute(Long id, UpdateTemporalPermitRequest request) {
@@ -67,6 +70,7 @@ public class UpdateTemporalPermitUseCase {
 
         try {
             TemporalPermitEntity updated = temporalPermitRepository.save(permit);
+            eventPublisher.publishEvent(new ActivePlateChangedEvent(updated.getTemporalPlate()));
 
             TemporalPermitEntity loaded = temporalPermitRepository.findById(updated.getId())
                     .orElseThrow(() -> new BusinessRuleException("Failed to load updated permit"));
@@ -2,10 +2,10 @@ package com.ayd.parkcontrol.application.usecase.vehicle;
 
 import com.ayd.parkcontrol.application.dto.response.vehicle.VehicleResponse;
 import com.ayd.parkcontrol.application.mapper.VehicleDtoMapper;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.VehicleEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.VehicleTypeEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaVehicleRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaVehicleTypeRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -21,7 +21,7 @@ import java.util.stream.Collectors;
 public class GetMyVehiclesUseCase {
 
     private final JpaVehicleRepository vehicleRepository;
-    private final JpaVehicleTypeRepository vehicleTypeRepository;
+    private final CatalogCache catalogCache;
     private final VehicleDtoMapper mapper;
 
     @Transactional(readOnly = true)
@@ -30,9 +30,7 @@ public class GetMyVehiclesUseCase {
 
         List<VehicleEntity> vehicles = vehicleRepository.findByUserIdAndIsActive(userId, true);
 
-        Map<Integer, VehicleTypeEntity> vehicleTypes = vehicleTypeRepository.findAll()
-                .stream()
-                .collect(Collectors.toMap(VehicleTypeEntity::getId, vt -> vt));
+        Map<Integer, VehicleTypeEntity> vehicleTypes = catalogCache.vehicleTypes().asMapById();
 
         return vehicles.stream()
                 .map(vehicle -> mapper.toResponse(
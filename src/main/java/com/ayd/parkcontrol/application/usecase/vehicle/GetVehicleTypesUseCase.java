@@ -2,7 +2,7 @@ package com.ayd.parkcontrol.application.usecase.vehicle;
 
 import com.ayd.parkcontrol.application.dto.response.vehicle.VehicleTypeResponse;
 import com.ayd.parkcontrol.application.mapper.VehicleDtoMapper;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaVehicleTypeRepository;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -16,14 +16,14 @@ import java.util.stream.Collectors;
 @Slf4j
 public class GetVehicleTypesUseCase {
 
-    private final JpaVehicleTypeRepository vehicleTypeRepository;
+    private final CatalogCache catalogCache;
     private final VehicleDtoMapper mapper;
 
     @Transactional(readOnly = true)
     public List<VehicleTypeResponse> execute() {
         log.debug("Fetching all vehicle types");
 
-        return vehicleTypeRepository.findAll()
+        return catalogCache.vehicleTypes().all()
                 .stream()
                 .map(mapper::toVehicleTypeResponse)
                 .collect(Collectors.toList());
@@ -0,0 +1,7 @@
+package com.ayd.parkcontrol.domain.exception;
+
+public class ReportJobNotFoundException extends RuntimeException {
+    public ReportJobNotFoundException(String jobId) {
+        super("Trabajo de reporte no encontrado: " + jobId);
+    }
+}
@@ -0,0 +1,24 @@
+package com.ayd.parkcontrol.domain.model.audit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Criterios opcionales para listar registros de auditoría. Los campos nulos
+ * no filtran.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogFilter {
+
+    private Long userId;
+    private String module;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+}
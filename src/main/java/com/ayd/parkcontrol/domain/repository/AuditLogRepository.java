@@ -1,8 +1,7 @@
 package com.ayd.parkcontrol.domain.repository;
 
 import com.ayd.parkcontrol.domain.model.audit.AuditLog;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import com.ayd.parkcontrol.domain.model.audit.AuditLogFilter;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -14,13 +13,18 @@ public interface AuditLogRepository {
 
     Optional<AuditLog> findById(Long id);
 
-    Page<AuditLog> findAll(Pageable pageable);
-
-    Page<AuditLog> findByUserId(Long userId, Pageable pageable);
-
-    Page<AuditLog> findByModule(String module, Pageable pageable);
-
-    Page<AuditLog> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
+    /**
+     * Página de registros ordenada por {@code (created_at, id)} descendente
+     * que empieza después del registro indicado (keyset). Sin cursor devuelve
+     * la primera página.
+     *
+     * @param afterCreatedAt fecha del último registro de la página anterior, o null
+     * @param afterId        id del último registro de la página anterior, o null
+     * @param limit          cantidad máxima de registros
+     */
+    List<AuditLog> findPage(AuditLogFilter filter, LocalDateTime afterCreatedAt, Long afterId, int limit);
+
+    long count(AuditLogFilter filter);
 
     List<AuditLog> findByUserIdAndCreatedAtBetween(Long userId, LocalDateTime startDate, LocalDateTime endDate);
 
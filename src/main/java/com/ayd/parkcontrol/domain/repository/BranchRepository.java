@@ -4,6 +4,8 @@ import com.ayd.parkcontrol.domain.model.branch.Branch;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface BranchRepository {
@@ -11,6 +13,8 @@ public interface BranchRepository {
 
     Optional<Branch> findById(Long id);
 
+    List<Branch> findAllById(Collection<Long> ids);
+
     Optional<Branch> findByName(String name);
 
     Page<Branch> findAll(Pageable pageable);
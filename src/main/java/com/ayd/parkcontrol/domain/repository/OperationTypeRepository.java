@@ -2,6 +2,7 @@ package com.ayd.parkcontrol.domain.repository;
 
 import com.ayd.parkcontrol.domain.model.audit.OperationType;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +13,6 @@ public interface OperationTypeRepository {
     Optional<OperationType> findByCode(String code);
 
     List<OperationType> findAll();
+
+    List<OperationType> findAllById(Collection<Integer> ids);
 }
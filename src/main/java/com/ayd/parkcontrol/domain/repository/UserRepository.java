@@ -4,6 +4,8 @@ import com.ayd.parkcontrol.domain.model.user.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository {
@@ -14,6 +16,8 @@ public interface UserRepository {
 
     Optional<User> findByEmail(String email);
 
+    List<User> findAllById(Collection<Long> ids);
+
     Page<User> findAll(Pageable pageable);
 
     Page<User> findByRoleTypeId(Integer roleTypeId, Pageable pageable);
@@ -0,0 +1,272 @@
+package com.ayd.parkcontrol.infrastructure.audit;
+
+import com.ayd.parkcontrol.infrastructure.util.ClientIpResolver;
+import com.ayd.parkcontrol.security.CustomUserDetails;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Table;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Captura de auditoría a nivel de Hibernate.
+ *
+ * Se registra como listener post-commit de inserciones, actualizaciones y
+ * eliminaciones, así que cubre todos los casos de uso sin tocarlos y solo
+ * registra cambios que realmente se confirmaron. Para cada entidad marcada con
+ * {@link Audited} arma las instantáneas de valores previos y nuevos (en una
+ * actualización, solo de las propiedades modificadas), toma el usuario y la IP
+ * del contexto de la petición y deja el registro en el
+ * {@link AuditLogPipeline}; la escritura ocurre fuera de la transacción.
+ *
+ * Las actualizaciones masivas por JPQL no pasan por estos eventos.
+ *
+ * @author ParkControl Team
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class AuditCaptureListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    static final String MASKED_VALUE = "***";
+
+    private static final Set<String> SENSITIVE_PROPERTIES = Set.of("passwordhash", "password", "token", "secret");
+    private static final Set<String> NON_AUDITABLE_CHANGES = Set.of("updatedAt");
+
+    private final AuditLogPipeline pipeline;
+    private final AuditPipelineMetrics metrics;
+    private final ObjectMapper objectMapper;
+    private final EntityManagerFactory entityManagerFactory;
+    private final boolean enabled;
+
+    private final Map<Class<?>, Optional<Audited>> auditedTypes = new ConcurrentHashMap<>();
+
+    public AuditCaptureListener(AuditLogPipeline pipeline,
+            AuditPipelineMetrics metrics,
+            ObjectMapper objectMapper,
+            EntityManagerFactory entityManagerFactory,
+            @Value("${app.audit.enabled:true}") boolean enabled) {
+        this.pipeline = pipeline;
+        this.metrics = metrics;
+        this.objectMapper = objectMapper;
+        this.entityManagerFactory = entityManagerFactory;
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    void register() {
+        if (!enabled) {
+            return;
+        }
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        log.info("Captura de auditoría registrada en Hibernate");
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return audited(persister).isPresent();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        capture(event.getPersister(), "INSERT", () -> {
+            Map<String, Object> newValues = snapshot(event.getPersister(), event.getState(), null);
+            return new Snapshot("Registro creado en %s (id %s)".formatted(tableOf(event.getPersister()), event.getId()),
+                    null, newValues);
+        });
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        capture(event.getPersister(), "UPDATE", () -> {
+            int[] changed = changedProperties(event);
+            if (changed.length == 0) {
+                return null;
+            }
+            Map<String, Object> previousValues = event.getOldState() == null
+                    ? null
+                    : snapshot(event.getPersister(), event.getOldState(), changed);
+            Map<String, Object> newValues = snapshot(event.getPersister(), event.getState(), changed);
+            return new Snapshot("Registro actualizado en %s (id %s): %s".formatted(tableOf(event.getPersister()),
+                    event.getId(), String.join(", ", newValues.keySet())), previousValues, newValues);
+        });
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        capture(event.getPersister(), "DELETE", () -> {
+            Map<String, Object> previousValues = snapshot(event.getPersister(), event.getDeletedState(), null);
+            return new Snapshot("Registro eliminado de %s (id %s)".formatted(tableOf(event.getPersister()),
+                    event.getId()), previousValues, null);
+        });
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Sin commit no hay nada que auditar
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Sin commit no hay nada que auditar
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Sin commit no hay nada que auditar
+    }
+
+    private void capture(EntityPersister persister, String operation, SnapshotBuilder builder) {
+        Optional<Audited> audited = audited(persister);
+        if (audited.isEmpty()) {
+            return;
+        }
+        // El commit ya ocurrió: un error aquí no puede afectar la operación
+        try {
+            Snapshot snapshot = builder.build();
+            if (snapshot == null) {
+                return;
+            }
+            pipeline.enqueue(new AuditEntry(
+                    currentUserId(),
+                    audited.get().module(),
+                    tableOf(persister),
+                    operation,
+                    snapshot.description(),
+                    toJson(snapshot.previousValues()),
+                    toJson(snapshot.newValues()),
+                    currentClientIp(),
+                    LocalDateTime.now()));
+        } catch (Exception e) {
+            metrics.recordCaptureFailure();
+            log.warn("No se pudo capturar la auditoría de {}: {}", persister.getEntityName(), e.toString());
+        }
+    }
+
+    /**
+     * Índices de las propiedades modificadas, sin las que la entidad declara
+     * como ignoradas.
+     */
+    private int[] changedProperties(PostUpdateEvent event) {
+        String[] names = event.getPersister().getPropertyNames();
+        int[] dirty = event.getDirtyProperties();
+        if (dirty == null) {
+            Object[] oldState = event.getOldState();
+            Object[] state = event.getState();
+            dirty = IntStream.range(0, names.length)
+                    .filter(i -> oldState == null || !Objects.equals(oldState[i], state[i]))
+                    .toArray();
+        }
+        Set<String> ignored = Set.of(audited(event.getPersister()).map(Audited::ignore).orElse(new String[0]));
+        return Arrays.stream(dirty)
+                .filter(i -> !ignored.contains(names[i]) && !NON_AUDITABLE_CHANGES.contains(names[i]))
+                .toArray();
+    }
+
+    private Map<String, Object> snapshot(EntityPersister persister, Object[] state, int[] indexes) {
+        String[] names = persister.getPropertyNames();
+        Type[] types = persister.getPropertyTypes();
+        int[] selected = indexes != null ? indexes : IntStream.range(0, names.length).toArray();
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (int i : selected) {
+            Type type = types[i];
+            if (type.isCollectionType()) {
+                continue;
+            }
+            String column = toColumnName(names[i]);
+            Object value = state[i];
+            if (type.isEntityType()) {
+                column = column + "_id";
+                value = value == null ? null : persister.getFactory().getPersistenceUnitUtil().getIdentifier(value);
+            } else if (value != null && isSensitive(names[i])) {
+                value = MASKED_VALUE;
+            }
+            values.put(column, value);
+        }
+        return values;
+    }
+
+    private Optional<Audited> audited(EntityPersister persister) {
+        Class<?> mappedClass = persister.getMappedClass();
+        if (mappedClass == null) {
+            return Optional.empty();
+        }
+        return auditedTypes.computeIfAbsent(mappedClass,
+                type -> Optional.ofNullable(type.getAnnotation(Audited.class)));
+    }
+
+    private String tableOf(EntityPersister persister) {
+        Table table = persister.getMappedClass().getAnnotation(Table.class);
+        return table != null && !table.name().isBlank() ? table.name() : persister.getMappedClass().getSimpleName();
+    }
+
+    private String toJson(Map<String, Object> values) throws Exception {
+        return values == null ? null : objectMapper.writeValueAsString(values);
+    }
+
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
+            return userDetails.getUser().getId();
+        }
+        return null;
+    }
+
+    private String currentClientIp() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return ClientIpResolver.resolve(attributes.getRequest());
+        }
+        return null;
+    }
+
+    static String toColumnName(String propertyName) {
+        return propertyName.replaceAll("([a-z])([A-Z0-9])", "$1_$2").toLowerCase();
+    }
+
+    private static boolean isSensitive(String propertyName) {
+        String normalized = propertyName.toLowerCase();
+        return SENSITIVE_PROPERTIES.stream().anyMatch(normalized::contains);
+    }
+
+    @FunctionalInterface
+    private interface SnapshotBuilder {
+        Snapshot build() throws Exception;
+    }
+
+    private record Snapshot(String description, Map<String, Object> previousValues, Map<String, Object> newValues) {
+    }
+}
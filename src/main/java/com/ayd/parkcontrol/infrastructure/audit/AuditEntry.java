@@ -0,0 +1,20 @@
+package com.ayd.parkcontrol.infrastructure.audit;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registro de auditoría capturado y pendiente de escribir en
+ * {@code audit_log}. Los valores previos y nuevos ya vienen serializados
+ * como JSON.
+ */
+public record AuditEntry(
+        Long userId,
+        String module,
+        String entity,
+        String operation,
+        String description,
+        String previousValues,
+        String newValues,
+        String clientIp,
+        LocalDateTime createdAt) {
+}
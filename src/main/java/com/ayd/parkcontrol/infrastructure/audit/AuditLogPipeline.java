@@ -0,0 +1,249 @@
+package com.ayd.parkcontrol.infrastructure.audit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pipeline asíncrono de escritura de {@code audit_log}.
+ *
+ * Los registros capturados entran a un buffer circular acotado sin tocar la
+ * base de datos en la transacción que los originó. Un hilo escritor lo vacía
+ * en lotes JDBC: bajo carga los lotes se llenan solos y en reposo cada
+ * registro se escribe apenas llega. Cuando el buffer está lleno o un lote no
+ * se puede escribir, los registros van al {@link AuditSpillFile} y se
+ * reprocesan después; al apagar la aplicación lo pendiente se escribe o se
+ * respalda en disco.
+ *
+ * @author ParkControl Team
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class AuditLogPipeline {
+
+    static final String INSERT_SQL = "INSERT INTO audit_log (user_id, module, entity, operation_type_id, description, "
+            + "previous_values, new_values, client_ip, created_at) "
+            + "VALUES (?, ?, ?, (SELECT id FROM operation_types WHERE code = ?), ?, ?, ?, ?, ?)";
+
+    private static final long SHUTDOWN_WAIT_MS = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditSpillFile spillFile;
+    private final AuditPipelineMetrics metrics;
+    private final boolean enabled;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final ArrayBlockingQueue<AuditEntry> buffer;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public AuditLogPipeline(JdbcTemplate jdbcTemplate,
+            AuditSpillFile spillFile,
+            AuditPipelineMetrics metrics,
+            @Value("${app.audit.enabled:true}") boolean enabled,
+            @Value("${app.audit.buffer-capacity:10000}") int capacity,
+            @Value("${app.audit.batch-size:200}") int batchSize,
+            @Value("${app.audit.flush-interval-ms:500}") long flushIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.spillFile = spillFile;
+        this.metrics = metrics;
+        this.enabled = enabled;
+        this.capacity = Math.max(1, capacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMs = Math.max(1, flushIntervalMs);
+        this.buffer = new ArrayBlockingQueue<>(this.capacity);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            log.info("Pipeline de auditoría deshabilitado");
+            return;
+        }
+        replaySpillFile();
+        running = true;
+        writer = new Thread(this::runWriter, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(flushIntervalMs + SHUTDOWN_WAIT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int pending = drainPending();
+        log.info("Pipeline de auditoría detenido; {} registros pendientes procesados al apagar", pending);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Encola un registro sin bloquear. Si el buffer está lleno el registro se
+     * respalda en disco en lugar de descartarse.
+     */
+    public void enqueue(AuditEntry entry) {
+        if (!enabled) {
+            return;
+        }
+        if (buffer.offer(entry)) {
+            metrics.recordEnqueued();
+            return;
+        }
+        metrics.recordOverflow();
+        spill(List.of(entry));
+    }
+
+    /**
+     * Reprocesa los registros respaldados en disco. Se ejecuta al iniciar y
+     * periódicamente para recuperar lo que se respaldó durante una caída de la
+     * base de datos.
+     */
+    @Scheduled(fixedDelayString = "${app.audit.replay-interval-ms:60000}",
+            initialDelayString = "${app.audit.replay-interval-ms:60000}")
+    public synchronized void replaySpillFile() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            List<AuditEntry> pending = spillFile.takeForReplay();
+            int replayed = 0;
+            for (int from = 0; from < pending.size(); from += batchSize) {
+                List<AuditEntry> chunk = pending.subList(from, Math.min(pending.size(), from + batchSize));
+                try {
+                    write(chunk);
+                    replayed += chunk.size();
+                } catch (DataAccessException e) {
+                    metrics.recordWriteFailure();
+                    log.warn("No se pudo reprocesar el respaldo de auditoría: {}", e.getMostSpecificCause().toString());
+                    // Lo no escrito vuelve al respaldo para no duplicar lo ya insertado
+                    spill(pending.subList(from, pending.size()));
+                    break;
+                }
+            }
+            spillFile.completeReplay();
+            if (replayed > 0) {
+                metrics.recordReplayed(replayed);
+                log.info("Reprocesados {} registros de auditoría desde {}", replayed, spillFile.getSpillPath());
+            }
+        } catch (Exception e) {
+            log.warn("Error al reprocesar el respaldo de auditoría: {}", e.toString());
+        }
+    }
+
+    public int getQueueDepth() {
+        return buffer.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Antigüedad del registro más viejo que sigue en el buffer.
+     */
+    public long getPendingLagMs() {
+        AuditEntry oldest = buffer.peek();
+        return oldest == null ? 0 : lagOf(oldest);
+    }
+
+    private void runWriter() {
+        List<AuditEntry> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                AuditEntry first = buffer.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+                flushBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Error inesperado en el escritor de auditoría", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Escribe lo que queda en el buffer; lo que no se pueda escribir se
+     * respalda en disco.
+     *
+     * @return registros procesados
+     */
+    int drainPending() {
+        int processed = 0;
+        List<AuditEntry> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            flushBatch(batch);
+            processed += batch.size();
+            batch.clear();
+        }
+        return processed;
+    }
+
+    void flushBatch(List<AuditEntry> batch) {
+        try {
+            write(batch);
+            metrics.recordBatch(batch.size(), lagOf(batch.get(0)));
+        } catch (DataAccessException e) {
+            metrics.recordWriteFailure();
+            log.warn("No se pudo escribir un lote de {} registros de auditoría: {}",
+                    batch.size(), e.getMostSpecificCause().toString());
+            spill(new ArrayList<>(batch));
+        }
+    }
+
+    private void write(List<AuditEntry> entries) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setObject(1, entry.userId(), Types.BIGINT);
+            ps.setString(2, entry.module());
+            ps.setString(3, entry.entity());
+            ps.setString(4, entry.operation());
+            ps.setString(5, entry.description());
+            ps.setString(6, entry.previousValues());
+            ps.setString(7, entry.newValues());
+            ps.setString(8, entry.clientIp());
+            ps.setTimestamp(9, Timestamp.valueOf(entry.createdAt()));
+        });
+    }
+
+    private void spill(List<AuditEntry> entries) {
+        if (spillFile.append(entries)) {
+            metrics.recordSpilled(entries.size());
+        }
+    }
+
+    private long lagOf(AuditEntry entry) {
+        return Math.max(0, Duration.between(entry.createdAt(), LocalDateTime.now()).toMillis());
+    }
+}
@@ -0,0 +1,73 @@
+package com.ayd.parkcontrol.infrastructure.audit;
+
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores del pipeline de auditoría: registros capturados, escritos,
+ * desbordados al archivo de respaldo y el retraso del escritor.
+ */
+@Component
+public class AuditPipelineMetrics {
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder overflow = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder writeFailures = new LongAdder();
+    private final LongAdder captureFailures = new LongAdder();
+    private final AtomicLong lastBatchLagMs = new AtomicLong();
+    private final AtomicLong maxLagMs = new AtomicLong();
+
+    public void recordEnqueued() {
+        enqueued.increment();
+    }
+
+    public void recordBatch(int size, long lagMs) {
+        batches.increment();
+        written.add(size);
+        lastBatchLagMs.set(lagMs);
+        maxLagMs.accumulateAndGet(lagMs, Math::max);
+    }
+
+    public void recordOverflow() {
+        overflow.increment();
+    }
+
+    public void recordSpilled(int count) {
+        spilled.add(count);
+    }
+
+    public void recordReplayed(int count) {
+        replayed.add(count);
+    }
+
+    public void recordWriteFailure() {
+        writeFailures.increment();
+    }
+
+    public void recordCaptureFailure() {
+        captureFailures.increment();
+    }
+
+    public Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new LinkedHashMap<>();
+        snapshot.put("enqueued", enqueued.sum());
+        snapshot.put("written", written.sum());
+        snapshot.put("batches", batches.sum());
+        snapshot.put("overflow", overflow.sum());
+        snapshot.put("spilled", spilled.sum());
+        snapshot.put("replayed", replayed.sum());
+        snapshot.put("write_failures", writeFailures.sum());
+        snapshot.put("capture_failures", captureFailures.sum());
+        snapshot.put("last_batch_lag_ms", lastBatchLagMs.get());
+        snapshot.put("max_lag_ms", maxLagMs.get());
+        return snapshot;
+    }
+}
@@ -0,0 +1,111 @@
+package com.ayd.parkcontrol.infrastructure.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Archivo de respaldo del pipeline de auditoría.
+ *
+ * Guarda una línea JSON por registro que no pudo pasar por el buffer (buffer
+ * lleno, base de datos caída o apagado de la aplicación). Cada escritura se
+ * sincroniza a disco antes de volver. Para reprocesarlo, el archivo se mueve
+ * primero a {@code .replay}: los registros que se desborden mientras tanto van
+ * a un archivo nuevo y, si la aplicación cae a mitad del reproceso, el archivo
+ * {@code .replay} se retoma en el siguiente arranque.
+ *
+ * @author ParkControl Team
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class AuditSpillFile {
+
+    private final ObjectMapper objectMapper;
+    private final Path spillPath;
+    private final Path replayPath;
+
+    public AuditSpillFile(ObjectMapper objectMapper,
+            @Value("${app.audit.spill-file:data/audit/audit-spill.jsonl}") String spillFile) {
+        this.objectMapper = objectMapper;
+        this.spillPath = Path.of(spillFile);
+        this.replayPath = Path.of(spillFile + ".replay");
+    }
+
+    /**
+     * Agrega los registros al final del archivo de respaldo.
+     *
+     * @return {@code true} si quedaron escritos en disco
+     */
+    public synchronized boolean append(List<AuditEntry> entries) {
+        if (entries.isEmpty()) {
+            return true;
+        }
+        try {
+            StringBuilder lines = new StringBuilder();
+            for (AuditEntry entry : entries) {
+                lines.append(objectMapper.writeValueAsString(entry)).append('\n');
+            }
+            Path parent = spillPath.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.write(spillPath, lines.toString().getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+            return true;
+        } catch (IOException e) {
+            log.error("No se pudieron respaldar {} registros de auditoría en {}", entries.size(), spillPath, e);
+            return false;
+        }
+    }
+
+    /**
+     * Toma los registros pendientes de reprocesar. Si quedó un reproceso
+     * incompleto se devuelve ese; si no, el archivo de respaldo actual pasa a
+     * reprocesarse.
+     */
+    public synchronized List<AuditEntry> takeForReplay() throws IOException {
+        if (!Files.exists(replayPath)) {
+            if (!Files.exists(spillPath)) {
+                return List.of();
+            }
+            Files.move(spillPath, replayPath, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        List<AuditEntry> entries = new ArrayList<>();
+        for (String line : Files.readAllLines(replayPath, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                entries.add(objectMapper.readValue(line, AuditEntry.class));
+            } catch (JsonProcessingException e) {
+                // Una línea cortada por una caída a mitad de escritura
+                log.warn("Se descarta una línea inválida del respaldo de auditoría: {}", e.getOriginalMessage());
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Elimina el archivo en reproceso una vez que sus registros se escribieron.
+     */
+    public synchronized void completeReplay() throws IOException {
+        Files.deleteIfExists(replayPath);
+    }
+
+    public Path getSpillPath() {
+        return spillPath;
+    }
+}
@@ -0,0 +1,29 @@
+package com.ayd.parkcontrol.infrastructure.audit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca una entidad JPA cuyos cambios se registran en {@code audit_log}.
+ *
+ * Las entidades sin esta anotación no se auditan; así quedan fuera las
+ * tablas de alto volumen (tickets, muestras de ocupación, secuencias) que
+ * ya guardan su propia historia.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Audited {
+
+    /**
+     * Módulo con el que se registra el cambio.
+     */
+    String module();
+
+    /**
+     * Propiedades que no generan registro por sí solas al actualizarse
+     * (por ejemplo, el último inicio de sesión).
+     */
+    String[] ignore() default {};
+}
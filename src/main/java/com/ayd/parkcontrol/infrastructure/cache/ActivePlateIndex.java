@@ -0,0 +1,405 @@
+package com.ayd.parkcontrol.infrastructure.cache;
+
+import com.ayd.parkcontrol.infrastructure.cache.model.ActivePlate;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.SubscriptionEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.TemporalPermitEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketStatusTypeEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaSubscriptionRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTemporalPermitRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Índice en Redis de las placas activas: tickets abiertos por sucursal,
+ * suscripción vigente y permiso temporal vigente de cada placa.
+ *
+ * Permite decidir en garita si un vehículo ya tiene un ticket abierto y con
+ * qué suscripción ingresa sin consultar la base de datos. Cada placa es un
+ * hash; los ingresos y salidas lo actualizan directamente y los cambios de
+ * suscripciones o permisos recargan la placa afectada.
+ *
+ * El índice solo se usa mientras existe la marca de índice listo. Si una
+ * actualización falla la marca se elimina y los casos de uso vuelven a
+ * consultar la base de datos hasta que el índice se reconstruye. Una
+ * instancia que arranca con la marca presente conserva el índice existente.
+ *
+ * @author ParkControl Team
+ * @version 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ActivePlateIndex {
+
+    private static final String PLATE_KEY_PREFIX = "plate:active:";
+    private static final String PLATES_KEY = "plate:active-index:plates";
+    private static final String READY_KEY = "plate:active-index:ready";
+    private static final String REBUILDING_KEY = "plate:active-index:rebuilding";
+    private static final String DIRTY_KEY = "plate:active-index:dirty";
+    private static final String BUILD_KEY_PREFIX = "plate:active-index:build:";
+
+    private static final String LOCK_NAME = "plate:active-index:rebuild";
+    private static final Duration LOCK_TTL = Duration.ofMinutes(5);
+
+    private static final String TICKET_FIELD_PREFIX = "ticket:";
+    private static final String SUBSCRIPTION_ID = "sub:id";
+    private static final String SUBSCRIPTION_PLAN = "sub:plan";
+    private static final String SUBSCRIPTION_END = "sub:end";
+    private static final String PERMIT_ID = "permit:id";
+    private static final String PERMIT_SUBSCRIPTION = "permit:sub";
+    private static final String PERMIT_USES = "permit:uses";
+    private static final String PERMIT_START = "permit:start";
+    private static final String PERMIT_END = "permit:end";
+
+    /**
+     * Reemplaza el índice vigente por el construido: borra los hashes de las
+     * placas anteriores y renombra los nuevos a sus claves definitivas.
+     */
+    private static final RedisScript<Long> SWAP_SCRIPT = new DefaultRedisScript<>("""
+            for _, plate in ipairs(redis.call('SMEMBERS', KEYS[1])) do
+                redis.call('DEL', ARGV[1] .. plate)
+            end
+            redis.call('DEL', KEYS[1])
+            local plates = redis.call('SMEMBERS', KEYS[2])
+            for _, plate in ipairs(plates) do
+                redis.call('RENAME', ARGV[2] .. plate, ARGV[1] .. plate)
+                redis.call('PERSIST', ARGV[1] .. plate)
+            end
+            if #plates > 0 then
+                redis.call('RENAME', KEYS[2], KEYS[1])
+                redis.call('PERSIST', KEYS[1])
+            end
+            return #plates
+            """, Long.class);
+
+    private static final RedisScript<Long> MARK_DIRTY_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                return redis.call('SADD', KEYS[2], ARGV[1])
+            end
+            return 0
+            """, Long.class);
+
+    private static final List<Object> REFRESHABLE_FIELDS = List.of(SUBSCRIPTION_ID, SUBSCRIPTION_PLAN,
+            SUBSCRIPTION_END, PERMIT_ID, PERMIT_SUBSCRIPTION, PERMIT_USES, PERMIT_START, PERMIT_END);
+
+    private final StringRedisTemplate redisTemplate;
+    private final JpaTicketRepository ticketRepository;
+    private final JpaSubscriptionRepository subscriptionRepository;
+    private final JpaTemporalPermitRepository temporalPermitRepository;
+    private final CatalogCache catalogCache;
+    private final RedisLock redisLock;
+
+    @Value("${app.plates.index-enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Estado indexado de la placa.
+     *
+     * @return el estado de la placa (vacío si no tiene nada activo), u
+     *         {@code Optional.empty()} si el índice no está disponible y debe
+     *         consultarse la base de datos
+     */
+    public Optional<ActivePlate> find(String licensePlate) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(READY_KEY))) {
+                return Optional.empty();
+            }
+            Map<Object, Object> fields = redisTemplate.opsForHash().entries(plateKey(licensePlate));
+            return Optional.of(toActivePlate(normalize(licensePlate), fields));
+        } catch (DataAccessException e) {
+            log.warn("Índice de placas no disponible. Consultando base de datos", e);
+            return Optional.empty();
+        }
+    }
+
+    public void recordTicketOpened(String licensePlate, Long branchId, Long ticketId) {
+        update(licensePlate, () -> {
+            redisTemplate.opsForHash().put(plateKey(licensePlate), TICKET_FIELD_PREFIX + branchId,
+                    String.valueOf(ticketId));
+            redisTemplate.opsForSet().add(PLATES_KEY, normalize(licensePlate));
+        });
+    }
+
+    public void recordTicketClosed(String licensePlate, Long branchId) {
+        update(licensePlate,
+                () -> redisTemplate.opsForHash().delete(plateKey(licensePlate), TICKET_FIELD_PREFIX + branchId));
+    }
+
+    /**
+     * Recarga desde la base de datos la suscripción y el permiso vigentes de
+     * la placa, conservando sus tickets abiertos.
+     */
+    public void refreshPlate(String licensePlate) {
+        update(licensePlate, () -> {
+            String plate = normalize(licensePlate);
+            LocalDateTime now = LocalDateTime.now();
+            Map<String, String> fields = new HashMap<>();
+            subscriptionRepository.findActiveWithPlanTypeByLicensePlate(plate, now)
+                    .ifPresent(subscription -> putSubscription(fields, subscription));
+            temporalPermitRepository.findActivePermitByPlate(plate, now)
+                    .ifPresent(permit -> putPermit(fields, permit));
+
+            String key = plateKey(plate);
+            redisTemplate.opsForHash().delete(key, REFRESHABLE_FIELDS.toArray());
+            if (!fields.isEmpty()) {
+                redisTemplate.opsForHash().putAll(key, fields);
+                redisTemplate.opsForSet().add(PLATES_KEY, plate);
+            }
+        });
+    }
+
+    /**
+     * Reconstruye el índice desde la base de datos si no existe la marca de
+     * índice listo. La reconstrucción se hace bajo un candado distribuido y
+     * el resultado reemplaza al índice anterior de forma atómica, de modo que
+     * una instancia que reinicia no pisa el estado que las demás mantienen.
+     */
+    public void rebuild() {
+        if (isReady()) {
+            return;
+        }
+        if (!redisLock.runExclusively(LOCK_NAME, LOCK_TTL, this::rebuildFromDatabase)) {
+            log.info("Otra instancia está reconstruyendo el índice de placas activas");
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("Error construyendo el índice de placas activas", e);
+        }
+    }
+
+    /**
+     * Reconstruye el índice si se invalidó por un error o si Redis se reinició.
+     */
+    @Scheduled(fixedDelayString = "${app.plates.index-check-ms:60000}",
+            initialDelayString = "${app.plates.index-check-ms:60000}")
+    public void ensureReady() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("Error reconstruyendo el índice de placas activas", e);
+        }
+    }
+
+    private void rebuildFromDatabase() {
+        // Otra instancia pudo terminar la reconstrucción mientras se esperaba el candado
+        if (isReady()) {
+            return;
+        }
+
+        // Las placas que cambian durante la reconstrucción se recargan al final
+        redisTemplate.delete(DIRTY_KEY);
+        redisTemplate.opsForValue().set(REBUILDING_KEY, LocalDateTime.now().toString(), LOCK_TTL);
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Map<String, Map<String, String>> plates = new HashMap<>();
+
+            inProgressStatusId().ifPresent(statusId -> {
+                for (TicketEntity ticket : ticketRepository.findByStatusTypeId(statusId)) {
+                    fieldsOf(plates, ticket.getLicensePlate())
+                            .put(TICKET_FIELD_PREFIX + ticket.getBranchId(), String.valueOf(ticket.getId()));
+                }
+            });
+
+            for (SubscriptionEntity subscription : subscriptionRepository.findAllActiveWithPlanType(now)) {
+                putSubscription(fieldsOf(plates, subscription.getLicensePlate()), subscription);
+            }
+
+            for (TemporalPermitEntity permit : temporalPermitRepository.findActivePermits(now)) {
+                if (permit.getStartDate() == null || !permit.getStartDate().isAfter(now)) {
+                    putPermit(fieldsOf(plates, permit.getTemporalPlate()), permit);
+                }
+            }
+
+            String build = UUID.randomUUID().toString();
+            String buildPlatesKey = BUILD_KEY_PREFIX + build;
+            String buildPlateKeyPrefix = buildPlatesKey + ":";
+            plates.forEach((plate, fields) -> {
+                redisTemplate.opsForHash().putAll(buildPlateKeyPrefix + plate, fields);
+                redisTemplate.expire(buildPlateKeyPrefix + plate, LOCK_TTL);
+            });
+            if (!plates.isEmpty()) {
+                redisTemplate.opsForSet().add(buildPlatesKey, plates.keySet().toArray(String[]::new));
+                redisTemplate.expire(buildPlatesKey, LOCK_TTL);
+            }
+
+            redisTemplate.execute(SWAP_SCRIPT, List.of(PLATES_KEY, buildPlatesKey),
+                    PLATE_KEY_PREFIX, buildPlateKeyPrefix);
+
+            int reloaded = reloadDirtyPlates();
+            redisTemplate.delete(REBUILDING_KEY);
+            reloaded += reloadDirtyPlates();
+
+            redisTemplate.opsForValue().set(READY_KEY, now.toString());
+            log.info("Índice de placas activas reconstruido con {} placas; {} recargadas por cambios concurrentes",
+                    plates.size(), reloaded);
+        } finally {
+            redisTemplate.delete(REBUILDING_KEY);
+        }
+    }
+
+    /**
+     * Recarga desde la base de datos las placas que se actualizaron mientras
+     * se reconstruía el índice, ya que el reemplazo pudo descartar esos cambios.
+     */
+    private int reloadDirtyPlates() {
+        int reloaded = 0;
+        String plate;
+        while ((plate = redisTemplate.opsForSet().pop(DIRTY_KEY)) != null) {
+            reloadPlate(plate);
+            reloaded++;
+        }
+        return reloaded;
+    }
+
+    private void reloadPlate(String plate) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, String> fields = new HashMap<>();
+
+        inProgressStatusId().ifPresent(statusId -> {
+            for (TicketEntity ticket : ticketRepository.findByLicensePlateOrderByEntryTimeDesc(plate)) {
+                if (statusId.equals(ticket.getStatusTypeId())) {
+                    fields.putIfAbsent(TICKET_FIELD_PREFIX + ticket.getBranchId(), String.valueOf(ticket.getId()));
+                }
+            }
+        });
+        subscriptionRepository.findActiveWithPlanTypeByLicensePlate(plate, now)
+                .ifPresent(subscription -> putSubscription(fields, subscription));
+        temporalPermitRepository.findActivePermitByPlate(plate, now)
+                .ifPresent(permit -> putPermit(fields, permit));
+
+        String key = plateKey(plate);
+        redisTemplate.delete(key);
+        if (fields.isEmpty()) {
+            redisTemplate.opsForSet().remove(PLATES_KEY, plate);
+        } else {
+            redisTemplate.opsForHash().putAll(key, fields);
+            redisTemplate.opsForSet().add(PLATES_KEY, plate);
+        }
+    }
+
+    private Optional<Integer> inProgressStatusId() {
+        return catalogCache.ticketStatuses().findByCode("IN_PROGRESS").map(TicketStatusTypeEntity::getId);
+    }
+
+    private boolean isReady() {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(READY_KEY));
+    }
+
+    private void update(String licensePlate, Runnable operation) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            operation.run();
+            redisTemplate.execute(MARK_DIRTY_SCRIPT, List.of(REBUILDING_KEY, DIRTY_KEY), normalize(licensePlate));
+        } catch (Exception e) {
+            log.error("Error actualizando el índice para la placa {}. Se invalidará el índice", licensePlate, e);
+            invalidate();
+        }
+    }
+
+    private void invalidate() {
+        try {
+            redisTemplate.delete(READY_KEY);
+        } catch (DataAccessException e) {
+            log.error("No se pudo invalidar el índice de placas activas", e);
+        }
+    }
+
+    private void putSubscription(Map<String, String> fields, SubscriptionEntity subscription) {
+        fields.put(SUBSCRIPTION_ID, String.valueOf(subscription.getId()));
+        fields.put(SUBSCRIPTION_END, String.valueOf(subscription.getEndDate()));
+        if (subscription.getPlan() != null && subscription.getPlan().getPlanType() != null) {
+            fields.put(SUBSCRIPTION_PLAN, subscription.getPlan().getPlanType().getCode());
+        }
+    }
+
+    private void putPermit(Map<String, String> fields, TemporalPermitEntity permit) {
+        int currentUses = permit.getCurrentUses() != null ? permit.getCurrentUses() : 0;
+        fields.put(PERMIT_ID, String.valueOf(permit.getId()));
+        fields.put(PERMIT_SUBSCRIPTION, String.valueOf(permit.getSubscriptionId()));
+        fields.put(PERMIT_USES, String.valueOf(permit.getMaxUses() - currentUses));
+        fields.put(PERMIT_START, String.valueOf(permit.getStartDate()));
+        fields.put(PERMIT_END, String.valueOf(permit.getEndDate()));
+    }
+
+    private Map<String, String> fieldsOf(Map<String, Map<String, String>> plates, String licensePlate) {
+        return plates.computeIfAbsent(normalize(licensePlate), plate -> new HashMap<>());
+    }
+
+    private ActivePlate toActivePlate(String licensePlate, Map<Object, Object> fields) {
+        ActivePlate activePlate = ActivePlate.builder().licensePlate(licensePlate).build();
+        for (Map.Entry<Object, Object> entry : fields.entrySet()) {
+            String field = String.valueOf(entry.getKey());
+            String value = String.valueOf(entry.getValue());
+
+            if (field.startsWith(TICKET_FIELD_PREFIX)) {
+                activePlate.getOpenTickets().put(
+                        Long.valueOf(field.substring(TICKET_FIELD_PREFIX.length())), Long.valueOf(value));
+                continue;
+            }
+
+            switch (field) {
+                case SUBSCRIPTION_ID -> activePlate.setSubscriptionId(Long.valueOf(value));
+                case SUBSCRIPTION_PLAN -> activePlate.setPlanCode(value);
+                case SUBSCRIPTION_END -> activePlate.setSubscriptionEndDate(parseDateTime(value));
+                case PERMIT_ID -> activePlate.setPermitId(Long.valueOf(value));
+                case PERMIT_SUBSCRIPTION -> activePlate.setPermitSubscriptionId(parseLong(value));
+                case PERMIT_USES -> activePlate.setPermitRemainingUses(Integer.valueOf(value));
+                case PERMIT_START -> activePlate.setPermitStartDate(parseDateTime(value));
+                case PERMIT_END -> activePlate.setPermitEndDate(parseDateTime(value));
+                default -> log.debug("Campo desconocido en índice de placas: {}", field);
+            }
+        }
+        return activePlate;
+    }
+
+    private LocalDateTime parseDateTime(String value) {
+        return "null".equals(value) ? null : LocalDateTime.parse(value);
+    }
+
+    private Long parseLong(String value) {
+        return "null".equals(value) ? null : Long.valueOf(value);
+    }
+
+    private String plateKey(String licensePlate) {
+        return PLATE_KEY_PREFIX + normalize(licensePlate);
+    }
+
+    private String normalize(String licensePlate) {
+        return licensePlate.trim().toUpperCase();
+    }
+}
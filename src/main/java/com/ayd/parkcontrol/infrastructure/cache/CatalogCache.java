@@ -0,0 +1,202 @@
+package com.ayd.parkcontrol.infrastructure.cache;
+
+import com.ayd.parkcontrol.domain.model.audit.OperationType;
+import com.ayd.parkcontrol.domain.model.user.Role;
+import com.ayd.parkcontrol.domain.repository.OperationTypeRepository;
+import com.ayd.parkcontrol.domain.repository.RoleRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.DocumentTypeEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.IncidentTypeEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.SubscriptionStatusTypeEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketStatusTypeEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.VehicleTypeEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaDocumentTypeRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaIncidentTypeRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaSubscriptionStatusTypeRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketStatusTypeRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaVehicleTypeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Caché en memoria de los catálogos del sistema: estados de ticket, tipos de
+ * vehículo, roles, tipos de operación, tipos de incidente, tipos de documento
+ * y estados de suscripción.
+ *
+ * Los catálogos casi nunca cambian y se consultan en cada ingreso y salida de
+ * vehículos, por lo que se cargan completos al iniciar la aplicación y se
+ * sirven desde memoria. Cada carga produce una instantánea inmutable que se
+ * reemplaza de forma atómica, así que los lectores nunca ven un catálogo a
+ * medio actualizar. Los registros de la instantánea son compartidos y no deben
+ * modificarse.
+ *
+ * La instantánea se recarga periódicamente y puede recargarse de forma
+ * explícita con {@link #refresh()} después de modificar un catálogo.
+ *
+ * @author ParkControl Team
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogCache {
+
+    private final JpaTicketStatusTypeRepository ticketStatusTypeRepository;
+    private final JpaVehicleTypeRepository vehicleTypeRepository;
+    private final RoleRepository roleRepository;
+    private final OperationTypeRepository operationTypeRepository;
+    private final JpaIncidentTypeRepository incidentTypeRepository;
+    private final JpaDocumentTypeRepository documentTypeRepository;
+    private final JpaSubscriptionStatusTypeRepository subscriptionStatusTypeRepository;
+
+    private volatile Snapshot snapshot;
+
+    public Catalog<TicketStatusTypeEntity> ticketStatuses() {
+        return snapshot().ticketStatuses();
+    }
+
+    public Catalog<VehicleTypeEntity> vehicleTypes() {
+        return snapshot().vehicleTypes();
+    }
+
+    /**
+     * Roles indexados por ID y por nombre.
+     */
+    public Catalog<Role> roles() {
+        return snapshot().roles();
+    }
+
+    public Catalog<OperationType> operationTypes() {
+        return snapshot().operationTypes();
+    }
+
+    public Catalog<IncidentTypeEntity> incidentTypes() {
+        return snapshot().incidentTypes();
+    }
+
+    public Catalog<DocumentTypeEntity> documentTypes() {
+        return snapshot().documentTypes();
+    }
+
+    public Catalog<SubscriptionStatusTypeEntity> subscriptionStatuses() {
+        return snapshot().subscriptionStatuses();
+    }
+
+    /**
+     * Vuelve a leer todos los catálogos desde la base de datos y publica la
+     * nueva instantánea.
+     */
+    public synchronized void refresh() {
+        snapshot = new Snapshot(
+                Catalog.of(ticketStatusTypeRepository.findAll(), TicketStatusTypeEntity::getId,
+                        TicketStatusTypeEntity::getCode),
+                Catalog.of(vehicleTypeRepository.findAll(), VehicleTypeEntity::getId, VehicleTypeEntity::getCode),
+                Catalog.of(roleRepository.findAll(), Role::getId, Role::getName),
+                Catalog.of(operationTypeRepository.findAll(), OperationType::getId, OperationType::getCode),
+                Catalog.of(incidentTypeRepository.findAll(), IncidentTypeEntity::getId, IncidentTypeEntity::getCode),
+                Catalog.of(documentTypeRepository.findAll(), DocumentTypeEntity::getId, DocumentTypeEntity::getCode),
+                Catalog.of(subscriptionStatusTypeRepository.findAll(), SubscriptionStatusTypeEntity::getId,
+                        SubscriptionStatusTypeEntity::getCode));
+        log.info("Catálogos cargados en memoria");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.error("Error cargando catálogos al iniciar. Se reintentará en la primera consulta", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.catalog.refresh-ms:3600000}",
+            initialDelayString = "${app.catalog.refresh-ms:3600000}")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.error("Error recargando catálogos. Se conserva la instantánea anterior", e);
+        }
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    refresh();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private record Snapshot(
+            Catalog<TicketStatusTypeEntity> ticketStatuses,
+            Catalog<VehicleTypeEntity> vehicleTypes,
+            Catalog<Role> roles,
+            Catalog<OperationType> operationTypes,
+            Catalog<IncidentTypeEntity> incidentTypes,
+            Catalog<DocumentTypeEntity> documentTypes,
+            Catalog<SubscriptionStatusTypeEntity> subscriptionStatuses) {
+    }
+
+    /**
+     * Instantánea inmutable de un catálogo, indexada por ID y por código.
+     */
+    public static final class Catalog<T> {
+
+        private final List<T> all;
+        private final Map<Integer, T> byId;
+        private final Map<String, T> byCode;
+
+        private Catalog(List<T> all, Map<Integer, T> byId, Map<String, T> byCode) {
+            this.all = all;
+            this.byId = byId;
+            this.byCode = byCode;
+        }
+
+        public static <T> Catalog<T> of(Collection<T> rows, Function<T, Integer> idOf, Function<T, String> codeOf) {
+            Map<Integer, T> byId = new HashMap<>();
+            Map<String, T> byCode = new HashMap<>();
+            for (T row : rows) {
+                byId.put(idOf.apply(row), row);
+                String code = codeOf.apply(row);
+                if (code != null) {
+                    byCode.put(code, row);
+                }
+            }
+            return new Catalog<>(List.copyOf(rows), Map.copyOf(byId), Map.copyOf(byCode));
+        }
+
+        public Optional<T> findById(Integer id) {
+            return id != null ? Optional.ofNullable(byId.get(id)) : Optional.empty();
+        }
+
+        public Optional<T> findByCode(String code) {
+            return code != null ? Optional.ofNullable(byCode.get(code)) : Optional.empty();
+        }
+
+        public List<T> all() {
+            return all;
+        }
+
+        /**
+         * Catálogo completo indexado por ID.
+         */
+        public Map<Integer, T> asMapById() {
+            return byId;
+        }
+    }
+}
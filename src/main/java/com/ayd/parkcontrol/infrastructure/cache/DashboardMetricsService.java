@@ -0,0 +1,330 @@
+package com.ayd.parkcontrol.infrastructure.cache;
+
+import com.ayd.parkcontrol.infrastructure.cache.model.BranchDailyMetrics;
+import com.ayd.parkcontrol.infrastructure.cache.model.DashboardMetricsSnapshot;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.BranchAmountProjection;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.BranchCountProjection;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.CountAmountProjection;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaIncidentRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaSubscriptionRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketChargeRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Agregados del dashboard mantenidos incrementalmente en Redis.
+ *
+ * Los contadores diarios (vehículos ingresados, cobros e ingresos por
+ * sucursal, compras de suscripciones) viven en un hash por día con TTL, y los
+ * valores instantáneos (tickets activos e incidentes pendientes por sucursal)
+ * en un hash de indicadores. Los eventos de ingreso, salida, compra e
+ * incidentes actualizan los contadores, de modo que leer el dashboard cuesta
+ * O(sucursales) en lugar de recorrer el histórico.
+ *
+ * Si un hash no existe (primer uso del día o Redis reiniciado) se reconstruye
+ * con consultas agrupadas sobre la base de datos. La siembra solo se escribe
+ * si el hash sigue sin marca {@code seeded}, en un script Lua atómico, de modo
+ * que una siembra tardía no pisa los contadores que otra instancia ya sembró
+ * y los eventos siguieron incrementando. El recálculo periódico de
+ * indicadores escribe en una llave temporal y la renombra, así que nunca hay
+ * un instante en que el hash esté vacío o a medio escribir.
+ *
+ * @author ParkControl Team
+ * @version 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardMetricsService {
+
+    private static final String DAILY_KEY_PREFIX = "dashboard:daily:";
+    private static final String GAUGES_KEY = "dashboard:gauges";
+    private static final String SEEDED_FIELD = "seeded";
+    private static final String BRANCH_FIELD = "branch";
+    private static final String SUBSCRIPTIONS_COUNT_FIELD = "subscriptions:count";
+    private static final String SUBSCRIPTIONS_REVENUE_FIELD = "subscriptions:revenue";
+
+    private static final String VEHICLES = "vehicles";
+    private static final String CHARGES = "charges";
+    private static final String REVENUE = "revenue";
+    private static final String ACTIVE_TICKETS = "active_tickets";
+    private static final String PENDING_INCIDENTS = "pending_incidents";
+
+    private static final Duration DAILY_TTL = Duration.ofDays(2);
+
+    /**
+     * Script Lua que siembra el hash solo si aún no tiene la marca
+     * {@code seeded}. ARGV[1] es el TTL en milisegundos (0 sin TTL) y el
+     * resto son pares campo/valor. Retorna 1 si sembró y 0 si ya estaba.
+     */
+    private static final RedisScript<Long> SEED_IF_ABSENT_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('HEXISTS', KEYS[1], 'seeded') == 1 then
+                return 0
+            end
+            redis.call('DEL', KEYS[1])
+            for i = 2, #ARGV, 2 do
+                redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+            end
+            if tonumber(ARGV[1]) > 0 then
+                redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            end
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final JpaTicketRepository ticketRepository;
+    private final JpaTicketChargeRepository ticketChargeRepository;
+    private final JpaIncidentRepository incidentRepository;
+    private final JpaSubscriptionRepository subscriptionRepository;
+    private final CatalogCache catalogCache;
+
+    /**
+     * Registra el ingreso de un vehículo: suma al conteo del día y a los
+     * tickets activos de la sucursal.
+     */
+    public void recordVehicleEntry(Long branchId, LocalDate day) {
+        incrementDaily(day, branchField(branchId, VEHICLES), 1);
+        incrementGauge(branchField(branchId, ACTIVE_TICKETS), 1);
+    }
+
+    /**
+     * Registra la salida de un vehículo con su cobro: suma al ingreso del día
+     * y descuenta de los tickets activos de la sucursal.
+     */
+    public void recordVehicleExit(Long branchId, BigDecimal amount, LocalDate day) {
+        incrementDaily(day, branchField(branchId, CHARGES), 1);
+        incrementDaily(day, branchField(branchId, REVENUE), toCents(amount));
+        incrementGauge(branchField(branchId, ACTIVE_TICKETS), -1);
+    }
+
+    /**
+     * Registra la compra o renovación de una suscripción.
+     */
+    public void recordSubscriptionPurchase(BigDecimal amount, LocalDate day) {
+        incrementDaily(day, SUBSCRIPTIONS_COUNT_FIELD, 1);
+        incrementDaily(day, SUBSCRIPTIONS_REVENUE_FIELD, toCents(amount));
+    }
+
+    /**
+     * Registra el alta (+1) o la resolución (-1) de un incidente pendiente.
+     */
+    public void recordIncidentStatusChange(Long branchId, boolean resolved) {
+        incrementGauge(branchField(branchId, PENDING_INCIDENTS), resolved ? -1 : 1);
+    }
+
+    /**
+     * Obtiene los agregados del día indicado. Si Redis no está disponible se
+     * calculan con consultas agrupadas sobre la base de datos.
+     *
+     * @param day día a consultar
+     * @return agregados por sucursal del día
+     */
+    public DashboardMetricsSnapshot getSnapshot(LocalDate day) {
+        try {
+            Map<String, String> daily = readHash(dailyKey(day));
+            if (!daily.containsKey(SEEDED_FIELD)) {
+                daily = seedIfAbsent(dailyKey(day), loadDailyFromDatabase(day), DAILY_TTL);
+            }
+
+            Map<String, String> gauges = readHash(GAUGES_KEY);
+            if (!gauges.containsKey(SEEDED_FIELD)) {
+                gauges = seedIfAbsent(GAUGES_KEY, loadGaugesFromDatabase(), Duration.ZERO);
+            }
+
+            return toSnapshot(day, daily, gauges);
+        } catch (DataAccessException e) {
+            log.warn("No se pudieron leer los agregados del dashboard desde Redis. Usando base de datos", e);
+            return toSnapshot(day, loadDailyFromDatabase(day), loadGaugesFromDatabase());
+        }
+    }
+
+    /**
+     * Recalcula periódicamente los indicadores instantáneos desde la base de
+     * datos para corregir desvíos por eventos perdidos. El hash nuevo se
+     * escribe aparte y reemplaza al actual con RENAME.
+     */
+    @Scheduled(fixedDelayString = "${app.dashboard.gauges-refresh-ms:900000}",
+            initialDelayString = "${app.dashboard.gauges-refresh-ms:900000}")
+    public void refreshGauges() {
+        try {
+            replaceGauges(loadGaugesFromDatabase());
+            log.debug("Indicadores del dashboard recalculados desde base de datos");
+        } catch (Exception e) {
+            log.error("Error recalculando indicadores del dashboard", e);
+        }
+    }
+
+    /**
+     * Siembra el hash con los valores calculados si nadie lo sembró antes. Si
+     * otra instancia se adelantó, se devuelve lo que ella dejó.
+     */
+    private Map<String, String> seedIfAbsent(String key, Map<String, String> values, Duration ttl) {
+        List<String> args = new ArrayList<>(values.size() * 2 + 1);
+        args.add(String.valueOf(ttl.toMillis()));
+        values.forEach((field, value) -> {
+            args.add(field);
+            args.add(value);
+        });
+
+        Long seeded = redisTemplate.execute(SEED_IF_ABSENT_SCRIPT, List.of(key), args.toArray());
+        if (seeded != null && seeded == 1L) {
+            log.info("Agregados del dashboard reconstruidos en {}", key);
+            return values;
+        }
+        return readHash(key);
+    }
+
+    private void replaceGauges(Map<String, String> values) {
+        String tempKey = GAUGES_KEY + ":tmp:" + UUID.randomUUID();
+        redisTemplate.opsForHash().putAll(tempKey, values);
+        redisTemplate.rename(tempKey, GAUGES_KEY);
+    }
+
+    private Map<String, String> loadDailyFromDatabase(LocalDate day) {
+        LocalDateTime start = day.atStartOfDay();
+        LocalDateTime end = start.plusDays(1);
+        Map<String, String> values = new HashMap<>();
+
+        for (BranchCountProjection row : ticketRepository.countEntriesGroupedByBranch(start, end)) {
+            values.put(branchField(row.getBranchId(), VEHICLES), String.valueOf(row.getTotal()));
+        }
+
+        for (BranchAmountProjection row : ticketChargeRepository.sumChargesGroupedByBranch(start, end)) {
+            values.put(branchField(row.getBranchId(), CHARGES), String.valueOf(row.getTotal()));
+            values.put(branchField(row.getBranchId(), REVENUE), String.valueOf(toCents(row.getAmount())));
+        }
+
+        CountAmountProjection subscriptions = subscriptionRepository.sumPurchasesBetween(start, end);
+        if (subscriptions != null) {
+            values.put(SUBSCRIPTIONS_COUNT_FIELD, String.valueOf(subscriptions.getTotal()));
+            values.put(SUBSCRIPTIONS_REVENUE_FIELD, String.valueOf(toCents(subscriptions.getAmount())));
+        }
+
+        values.put(SEEDED_FIELD, "1");
+        return values;
+    }
+
+    private Map<String, String> loadGaugesFromDatabase() {
+        Map<String, String> values = new HashMap<>();
+
+        catalogCache.ticketStatuses().findByCode("IN_PROGRESS").ifPresent(status -> {
+            for (BranchCountProjection row : ticketRepository.countByStatusGroupedByBranch(status.getId())) {
+                values.put(branchField(row.getBranchId(), ACTIVE_TICKETS), String.valueOf(row.getTotal()));
+            }
+        });
+
+        for (BranchCountProjection row : incidentRepository.countUnresolvedGroupedByBranch()) {
+            values.put(branchField(row.getBranchId(), PENDING_INCIDENTS), String.valueOf(row.getTotal()));
+        }
+
+        values.put(SEEDED_FIELD, "1");
+        return values;
+    }
+
+    private DashboardMetricsSnapshot toSnapshot(LocalDate day, Map<String, String> daily,
+            Map<String, String> gauges) {
+        Map<Long, BranchDailyMetrics> branches = new HashMap<>();
+        applyBranchFields(branches, daily);
+        applyBranchFields(branches, gauges);
+
+        return DashboardMetricsSnapshot.builder()
+                .date(day)
+                .branches(branches)
+                .subscriptionsToday(parseLong(daily.get(SUBSCRIPTIONS_COUNT_FIELD)))
+                .subscriptionsRevenueToday(fromCents(parseLong(daily.get(SUBSCRIPTIONS_REVENUE_FIELD))))
+                .build();
+    }
+
+    private void applyBranchFields(Map<Long, BranchDailyMetrics> branches, Map<String, String> values) {
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            String[] parts = entry.getKey().split(":");
+            if (parts.length != 3 || !BRANCH_FIELD.equals(parts[0])) {
+                continue;
+            }
+
+            Long branchId;
+            try {
+                branchId = Long.valueOf(parts[1]);
+            } catch (NumberFormatException e) {
+                continue;
+            }
+
+            BranchDailyMetrics metrics = branches.computeIfAbsent(branchId, BranchDailyMetrics::empty);
+            long value = Math.max(parseLong(entry.getValue()), 0L);
+
+            switch (parts[2]) {
+                case VEHICLES -> metrics.setVehiclesToday(value);
+                case CHARGES -> metrics.setChargesToday(value);
+                case REVENUE -> metrics.setRevenueToday(fromCents(value));
+                case ACTIVE_TICKETS -> metrics.setActiveTickets(value);
+                case PENDING_INCIDENTS -> metrics.setPendingIncidents(value);
+                default -> log.debug("Campo de dashboard desconocido: {}", entry.getKey());
+            }
+        }
+    }
+
+    private Map<String, String> readHash(String key) {
+        Map<String, String> values = new HashMap<>();
+        redisTemplate.opsForHash().entries(key)
+                .forEach((field, value) -> values.put(String.valueOf(field), String.valueOf(value)));
+        return values;
+    }
+
+    private void incrementDaily(LocalDate day, String field, long delta) {
+        String key = dailyKey(day);
+        redisTemplate.opsForHash().increment(key, field, delta);
+        redisTemplate.expire(key, DAILY_TTL);
+    }
+
+    private void incrementGauge(String field, long delta) {
+        redisTemplate.opsForHash().increment(GAUGES_KEY, field, delta);
+    }
+
+    private String dailyKey(LocalDate day) {
+        return DAILY_KEY_PREFIX + day;
+    }
+
+    private String branchField(Long branchId, String metric) {
+        return BRANCH_FIELD + ":" + branchId + ":" + metric;
+    }
+
+    private long toCents(BigDecimal amount) {
+        if (amount == null) {
+            return 0L;
+        }
+        return amount.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValue();
+    }
+
+    private BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private long parseLong(String value) {
+        if (value == null) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.ayd.parkcontrol.infrastructure.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Registro en Redis de los eventos de garita ya procesados, por sucursal e
+ * identificador de evento del cliente.
+ *
+ * Una garita que estuvo sin conexión reenvía sus eventos almacenados y puede
+ * repetir los que sí llegaron. Antes de procesar un evento se reclama su
+ * identificador con SET NX; si ya se procesó se devuelve el ticket original
+ * en lugar de registrarlo otra vez. Un reclamo cuyo proceso no termina
+ * expira solo, y los eventos rechazados se liberan para poder reintentarlos.
+ *
+ * Si Redis no está disponible los eventos se procesan sin deduplicar.
+ *
+ * @author ParkControl Team
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class GateEventRegistry {
+
+    private static final String KEY_PREFIX = "gate:event:";
+    private static final String PENDING = "PENDING";
+    private static final Duration PENDING_TTL = Duration.ofMinutes(5);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration retention;
+
+    public GateEventRegistry(StringRedisTemplate redisTemplate,
+            @Value("${app.gate.event-retention-hours:168}") long retentionHours) {
+        this.redisTemplate = redisTemplate;
+        this.retention = Duration.ofHours(Math.max(1, retentionHours));
+    }
+
+    /**
+     * Reclama el evento para procesarlo.
+     *
+     * @return {@link Claim#claimed()} si el evento es nuevo (o Redis no está
+     *         disponible), el ticket original si ya se procesó, o
+     *         {@link Claim#inProgress()} si otra solicitud lo está procesando
+     */
+    public Claim claim(Long branchId, String clientEventId) {
+        String key = key(branchId, clientEventId);
+        try {
+            if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, PENDING, PENDING_TTL))) {
+                return Claim.claimed();
+            }
+
+            String value = redisTemplate.opsForValue().get(key);
+            if (value == null || PENDING.equals(value)) {
+                return Claim.inProgress();
+            }
+
+            int separator = value.indexOf(':');
+            return Claim.processed(Long.valueOf(value.substring(0, separator)), value.substring(separator + 1));
+        } catch (DataAccessException e) {
+            log.warn("Registro de eventos de garita no disponible. Se procesa el evento {} sin deduplicar",
+                    clientEventId, e);
+            return Claim.claimed();
+        }
+    }
+
+    /**
+     * Guarda el ticket registrado por el evento para responder a sus reenvíos.
+     */
+    public void complete(Long branchId, String clientEventId, Long ticketId, String folio) {
+        try {
+            redisTemplate.opsForValue().set(key(branchId, clientEventId), ticketId + ":" + folio, retention);
+        } catch (DataAccessException e) {
+            log.warn("No se pudo registrar el evento de garita {}", clientEventId, e);
+        }
+    }
+
+    /**
+     * Libera el reclamo de un evento rechazado para que pueda reintentarse.
+     */
+    public void release(Long branchId, String clientEventId) {
+        try {
+            redisTemplate.delete(key(branchId, clientEventId));
+        } catch (DataAccessException e) {
+            log.warn("No se pudo liberar el evento de garita {}; expirará en {}", clientEventId, PENDING_TTL, e);
+        }
+    }
+
+    private String key(Long branchId, String clientEventId) {
+        return KEY_PREFIX + branchId + ":" + clientEventId;
+    }
+
+    /**
+     * Resultado de reclamar un evento.
+     */
+    public record Claim(Status status, Long ticketId, String folio) {
+
+        public enum Status {
+            CLAIMED, IN_PROGRESS, PROCESSED
+        }
+
+        public static Claim claimed() {
+            return new Claim(Status.CLAIMED, null, null);
+        }
+
+        public static Claim inProgress() {
+            return new Claim(Status.IN_PROGRESS, null, null);
+        }
+
+        public static Claim processed(Long ticketId, String folio) {
+            return new Claim(Status.PROCESSED, ticketId, folio);
+        }
+    }
+}
@@ -1,74 +1,112 @@
 package com.ayd.parkcontrol.infrastructure.cache;
 
+import com.ayd.parkcontrol.infrastructure.persistence.entity.BranchEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.ActiveOccupancyProjection;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaBranchRepository;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Inicializador de ocupación en Redis desde la base de datos.
- * 
+ *
  * Se ejecuta al iniciar la aplicación para sincronizar el estado de ocupación
- * en Redis con los tickets activos en la base de datos.
- * 
+ * en Redis con los tickets activos en la base de datos. Solo carga los
+ * contadores cuando Redis no los tiene todavía y bajo un candado distribuido,
+ * de modo que una instancia que reinicia en horario de operación no pisa los
+ * contadores que las garitas ya están moviendo. Las diferencias posteriores
+ * las corrige {@link OccupancyReconciler}.
+ *
  * @author ParkControl Team
  * @version 1.0.0
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class OccupancyInitializer {
 
+    static final List<String> VEHICLE_TYPES = List.of("2R", "4R");
+
+    private static final String LOCK_NAME = "occupancy:bootstrap";
+
     private final RedisOccupancyService redisOccupancyService;
     private final JpaBranchRepository branchRepository;
     private final JpaTicketRepository ticketRepository;
+    private final RedisLock redisLock;
+    private final Duration lockTtl;
+
+    public OccupancyInitializer(RedisOccupancyService redisOccupancyService,
+            JpaBranchRepository branchRepository,
+            JpaTicketRepository ticketRepository,
+            RedisLock redisLock,
+            @Value("${app.occupancy.bootstrap.lock-ttl-seconds:120}") long lockTtlSeconds) {
+        this.redisOccupancyService = redisOccupancyService;
+        this.branchRepository = branchRepository;
+        this.ticketRepository = ticketRepository;
+        this.redisLock = redisLock;
+        this.lockTtl = Duration.ofSeconds(Math.max(1, lockTtlSeconds));
+    }
 
     /**
      * Sincroniza la ocupación de Redis con los tickets activos en la base de datos.
      * Se ejecuta automáticamente cuando la aplicación está lista.
      */
     @EventListener(ApplicationReadyEvent.class)
-    @Transactional(readOnly = true)
     public void initializeOccupancy() {
-        log.info("Iniciando sincronización de ocupación desde base de datos a Redis...");
-
         try {
-            var branches = branchRepository.findAll();
-
-            for (var branch : branches) {
-                syncBranchOccupancy(branch.getId());
+            if (redisOccupancyService.isInitialized()) {
+                log.info("Ocupación ya inicializada en Redis. Se omite la carga desde base de datos");
+                return;
             }
 
-            log.info("Sincronización de ocupación completada exitosamente para {} sucursales",
-                    branches.size());
+            if (!redisLock.runExclusively(LOCK_NAME, lockTtl, this::loadFromDatabase)) {
+                log.info("Otra instancia está inicializando la ocupación en Redis");
+            }
         } catch (Exception e) {
             log.error("Error durante la sincronización de ocupación", e);
         }
     }
 
+    private void loadFromDatabase() {
+        // Otra instancia pudo terminar la carga mientras se esperaba el candado
+        if (redisOccupancyService.isInitialized()) {
+            return;
+        }
+
+        log.info("Iniciando sincronización de ocupación desde base de datos a Redis...");
+        Map<Long, Map<String, Integer>> occupancies = toOccupancyMap(branchRepository.findAll(),
+                ticketRepository.countActiveGroupedByBranchAndVehicleType());
+        redisOccupancyService.initializeOccupancies(occupancies);
+
+        log.info("Sincronización de ocupación completada exitosamente para {} sucursales", occupancies.size());
+    }
+
     /**
-     * Sincroniza la ocupación de una sucursal específica.
-     * 
-     * @param branchId ID de la sucursal
+     * Ocupación por sucursal y tipo de vehículo según los tickets activos;
+     * las sucursales sin tickets quedan en 0.
      */
-    private void syncBranchOccupancy(Long branchId) {
-        try {
-            // Contar tickets activos (sin exit_time) por tipo de vehículo
-            long occupancy2R = ticketRepository.countActiveTwoWheelerTickets(branchId);
-            long occupancy4R = ticketRepository.countActiveFourWheelerTickets(branchId);
-
-            // Establecer en Redis
-            redisOccupancyService.setOccupancy(branchId, "2R", (int) occupancy2R);
-            redisOccupancyService.setOccupancy(branchId, "4R", (int) occupancy4R);
+    static Map<Long, Map<String, Integer>> toOccupancyMap(List<BranchEntity> branches,
+            List<ActiveOccupancyProjection> activeTickets) {
+        Map<Long, Map<String, Integer>> occupancies = new LinkedHashMap<>();
+        for (BranchEntity branch : branches) {
+            Map<String, Integer> byType = new LinkedHashMap<>();
+            VEHICLE_TYPES.forEach(vehicleType -> byType.put(vehicleType, 0));
+            occupancies.put(branch.getId(), byType);
+        }
 
-            log.debug("Sincronizada ocupación para sucursal {}: 2R={}, 4R={}",
-                    branchId, occupancy2R, occupancy4R);
-        } catch (Exception e) {
-            log.error("Error sincronizando ocupación para sucursal {}", branchId, e);
+        for (ActiveOccupancyProjection row : activeTickets) {
+            Map<String, Integer> byType = occupancies.get(row.getBranchId());
+            if (byType != null && byType.containsKey(row.getVehicleType()) && row.getTotal() != null) {
+                byType.put(row.getVehicleType(), row.getTotal().intValue());
+            }
         }
+        return occupancies;
     }
 }
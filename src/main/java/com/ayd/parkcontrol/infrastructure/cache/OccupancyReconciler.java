@@ -0,0 +1,120 @@
+package com.ayd.parkcontrol.infrastructure.cache;
+
+import com.ayd.parkcontrol.infrastructure.persistence.entity.BranchEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaBranchRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Conciliación periódica de los contadores de ocupación en Redis contra los
+ * tickets activos en la base de datos.
+ *
+ * Entre la reserva en Redis y el commit del ticket (y entre el commit de la
+ * salida y la liberación) los contadores difieren por unos milisegundos, así
+ * que una diferencia solo se corrige cuando se observa igual en dos
+ * ejecuciones seguidas. La corrección usa compare-and-set sobre el valor
+ * leído: si una garita movió el contador mientras tanto no se toca y se
+ * vuelve a evaluar en la siguiente ejecución.
+ *
+ * @author ParkControl Team
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OccupancyReconciler {
+
+    private final RedisOccupancyService redisOccupancyService;
+    private final JpaBranchRepository branchRepository;
+    private final JpaTicketRepository ticketRepository;
+    private final OccupancyInitializer occupancyInitializer;
+    private final OccupancyReconciliationMetrics metrics;
+
+    /**
+     * Diferencia (Redis - base de datos) observada en la ejecución anterior
+     * por serie {@code sucursal:tipo}.
+     */
+    private Map<String, Integer> previousDrift = Map.of();
+
+    @Scheduled(fixedDelayString = "${app.occupancy.reconcile.interval-ms:300000}",
+            initialDelayString = "${app.occupancy.reconcile.interval-ms:300000}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            metrics.recordFailure();
+            log.warn("No se pudo conciliar la ocupación: {}", e.toString());
+        }
+    }
+
+    /**
+     * Compara Redis con la base de datos y corrige las diferencias
+     * confirmadas.
+     *
+     * @return cantidad de contadores corregidos
+     */
+    public synchronized int reconcile() {
+        if (!redisOccupancyService.isInitialized()) {
+            log.warn("Contadores de ocupación ausentes en Redis. Se vuelven a cargar");
+            occupancyInitializer.initializeOccupancy();
+            previousDrift = Map.of();
+            return 0;
+        }
+
+        List<BranchEntity> branches = branchRepository.findAll();
+        List<Long> branchIds = branches.stream().map(BranchEntity::getId).toList();
+
+        // Redis se lee antes que la base de datos: una entrada en curso aparece
+        // primero en Redis y una diferencia transitoria no se repite igual
+        Map<String, Map<Long, Integer>> cached = new HashMap<>();
+        for (String vehicleType : OccupancyInitializer.VEHICLE_TYPES) {
+            cached.put(vehicleType, redisOccupancyService.getCurrentOccupancies(branchIds, vehicleType));
+        }
+        Map<Long, Map<String, Integer>> expected = OccupancyInitializer.toOccupancyMap(branches,
+                ticketRepository.countActiveGroupedByBranchAndVehicleType());
+
+        Map<String, Integer> drift = new HashMap<>();
+        long totalDrift = 0;
+        int corrected = 0;
+        for (Long branchId : branchIds) {
+            for (String vehicleType : OccupancyInitializer.VEHICLE_TYPES) {
+                int current = cached.get(vehicleType).getOrDefault(branchId, 0);
+                int actual = expected.get(branchId).get(vehicleType);
+                int difference = current - actual;
+                if (difference == 0) {
+                    continue;
+                }
+
+                String series = branchId + ":" + vehicleType;
+                totalDrift += Math.abs(difference);
+                if (!Integer.valueOf(difference).equals(previousDrift.get(series))) {
+                    drift.put(series, difference);
+                    continue;
+                }
+
+                if (redisOccupancyService.compareAndSetOccupancy(branchId, vehicleType, current, actual)) {
+                    metrics.recordCorrection();
+                    corrected++;
+                    log.warn("Ocupación corregida en sucursal {} tipo {}: {} -> {}",
+                            branchId, vehicleType, current, actual);
+                } else {
+                    metrics.recordConflict();
+                    drift.put(series, difference);
+                }
+            }
+        }
+
+        previousDrift = drift;
+        metrics.recordRun(drift.size() + corrected, totalDrift);
+        log.debug("Conciliación de ocupación: {} series con diferencia, {} corregidas",
+                drift.size() + corrected, corrected);
+        return corrected;
+    }
+}
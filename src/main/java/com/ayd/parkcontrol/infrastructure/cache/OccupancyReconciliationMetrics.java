@@ -0,0 +1,59 @@
+package com.ayd.parkcontrol.infrastructure.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas de la conciliación de ocupación entre Redis y la base de datos:
+ * la diferencia observada en la última ejecución y las correcciones aplicadas.
+ */
+@Component
+public class OccupancyReconciliationMetrics {
+
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder corrections = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final AtomicLong driftingSeries = new AtomicLong();
+    private final AtomicLong totalDrift = new AtomicLong();
+    private volatile LocalDateTime lastRunAt;
+
+    public void recordRun(int driftingSeries, long totalDrift) {
+        runs.increment();
+        this.driftingSeries.set(driftingSeries);
+        this.totalDrift.set(totalDrift);
+        lastRunAt = LocalDateTime.now();
+    }
+
+    public void recordCorrection() {
+        corrections.increment();
+    }
+
+    public void recordConflict() {
+        conflicts.increment();
+    }
+
+    public void recordFailure() {
+        failures.increment();
+    }
+
+    public LocalDateTime getLastRunAt() {
+        return lastRunAt;
+    }
+
+    public Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new LinkedHashMap<>();
+        snapshot.put("runs", runs.sum());
+        snapshot.put("drifting_series", driftingSeries.get());
+        snapshot.put("total_drift", totalDrift.get());
+        snapshot.put("corrections", corrections.sum());
+        snapshot.put("conflicts", conflicts.sum());
+        snapshot.put("failures", failures.sum());
+        return snapshot;
+    }
+}
@@ -0,0 +1,192 @@
+package com.ayd.parkcontrol.infrastructure.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serie de tiempo de ocupación en Redis con cubetas de un minuto.
+ *
+ * Cada cubeta es un hash {@code occupancy:samples:{yyyyMMddHHmm}} con, por
+ * sucursal y tipo de vehículo, la cantidad de muestras, su suma y el máximo
+ * observado. Las cubetas expiran tras {@code app.occupancy.samples.redis-ttl-minutes},
+ * por lo que la memoria usada en Redis es acotada; el histórico se conserva en
+ * la tabla {@code occupancy_hourly}.
+ *
+ * @author ParkControl Team
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+public class OccupancyTimeSeries {
+
+    private static final String BUCKET_KEY_PREFIX = "occupancy:samples:";
+    private static final DateTimeFormatter BUCKET_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmm");
+
+    private static final String COUNT_SUFFIX = ":n";
+    private static final String SUM_SUFFIX = ":s";
+    private static final String PEAK_SUFFIX = ":m";
+
+    /**
+     * Registra varias muestras en la cubeta de un minuto en una sola operación
+     * atómica. ARGV[1] es el TTL en segundos y luego siguen pares (serie, valor).
+     */
+    private static final RedisScript<Long> RECORD_SAMPLES_SCRIPT = new DefaultRedisScript<>("""
+            for i = 2, #ARGV, 2 do
+                local series = ARGV[i]
+                local value = tonumber(ARGV[i + 1])
+                redis.call('HINCRBY', KEYS[1], series .. ':n', 1)
+                redis.call('HINCRBY', KEYS[1], series .. ':s', value)
+                local peak = tonumber(redis.call('HGET', KEYS[1], series .. ':m') or '-1')
+                if value > peak then
+                    redis.call('HSET', KEYS[1], series .. ':m', value)
+                end
+            end
+            redis.call('EXPIRE', KEYS[1], ARGV[1])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final long ttlSeconds;
+
+    public OccupancyTimeSeries(StringRedisTemplate redisTemplate,
+            @Value("${app.occupancy.samples.redis-ttl-minutes:180}") long ttlMinutes) {
+        this.redisTemplate = redisTemplate;
+        this.ttlSeconds = Math.max(1, ttlMinutes) * 60;
+    }
+
+    /**
+     * Registra la ocupación leída de cada serie en la cubeta del minuto.
+     *
+     * @param minute  instante de la muestra
+     * @param samples ocupación por serie (sucursal y tipo de vehículo)
+     */
+    public void record(LocalDateTime minute, Map<SeriesKey, Integer> samples) {
+        if (samples.isEmpty()) {
+            return;
+        }
+
+        List<String> args = new ArrayList<>(1 + samples.size() * 2);
+        args.add(String.valueOf(ttlSeconds));
+        samples.forEach((series, value) -> {
+            args.add(series.field());
+            args.add(String.valueOf(Math.max(0, value)));
+        });
+
+        redisTemplate.execute(RECORD_SAMPLES_SCRIPT, List.of(bucketKey(minute)), args.toArray());
+    }
+
+    /**
+     * Agrega las cubetas de minuto de una hora leyéndolas en un solo pipeline.
+     *
+     * @param hourStart inicio de la hora
+     * @return muestras agregadas por serie; vacío si la hora no tiene muestras
+     */
+    public Map<SeriesKey, Aggregate> readHour(LocalDateTime hourStart) {
+        LocalDateTime hour = hourStart.truncatedTo(ChronoUnit.HOURS);
+        List<String> keys = new ArrayList<>(60);
+        for (int minute = 0; minute < 60; minute++) {
+            keys.add(bucketKey(hour.plusMinutes(minute)));
+        }
+
+        List<Object> buckets = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            keys.forEach(stringConnection::hGetAll);
+            return null;
+        });
+
+        Map<SeriesKey, Aggregate> result = new HashMap<>();
+        for (Object bucket : buckets) {
+            if (bucket instanceof Map<?, ?> fields && !fields.isEmpty()) {
+                mergeBucket(fields, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Tiempo que se conserva cada cubeta de minuto.
+     */
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    private void mergeBucket(Map<?, ?> fields, Map<SeriesKey, Aggregate> result) {
+        for (Map.Entry<?, ?> entry : fields.entrySet()) {
+            String field = String.valueOf(entry.getKey());
+            if (!field.endsWith(COUNT_SUFFIX)) {
+                continue;
+            }
+            String series = field.substring(0, field.length() - COUNT_SUFFIX.length());
+            SeriesKey key = SeriesKey.parse(series);
+            if (key == null) {
+                log.warn("Serie de ocupación inválida en Redis: {}", series);
+                continue;
+            }
+            long count = parseLong(entry.getValue());
+            long sum = parseLong(fields.get(series + SUM_SUFFIX));
+            int peak = (int) parseLong(fields.get(series + PEAK_SUFFIX));
+            result.merge(key, new Aggregate(count, sum, peak), Aggregate::plus);
+        }
+    }
+
+    private static long parseLong(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(value.toString());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static String bucketKey(LocalDateTime minute) {
+        return BUCKET_KEY_PREFIX + minute.truncatedTo(ChronoUnit.MINUTES).format(BUCKET_FORMAT);
+    }
+
+    /**
+     * Serie de ocupación: una sucursal y un tipo de vehículo.
+     */
+    public record SeriesKey(Long branchId, String vehicleType) {
+
+        String field() {
+            return branchId + ":" + vehicleType;
+        }
+
+        static SeriesKey parse(String field) {
+            int separator = field.indexOf(':');
+            if (separator <= 0 || separator == field.length() - 1) {
+                return null;
+            }
+            try {
+                return new SeriesKey(Long.valueOf(field.substring(0, separator)), field.substring(separator + 1));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Muestras agregadas de una serie: cantidad, suma y pico.
+     */
+    public record Aggregate(long samples, long sum, int peak) {
+
+        Aggregate plus(Aggregate other) {
+            return new Aggregate(samples + other.samples, sum + other.sum, Math.max(peak, other.peak));
+        }
+    }
+}
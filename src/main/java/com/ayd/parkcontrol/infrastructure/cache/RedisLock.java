@@ -0,0 +1,69 @@
+package com.ayd.parkcontrol.infrastructure.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Candado distribuido en Redis para tareas que solo una instancia debe
+ * ejecutar a la vez.
+ *
+ * El candado se toma con SET NX y expira solo, así que una instancia que cae
+ * no lo deja tomado; al liberarlo se verifica el token para no borrar un
+ * candado que ya expiró y tomó otra instancia.
+ *
+ * @author ParkControl Team
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RedisLock {
+
+    private static final String LOCK_KEY_PREFIX = "lock:";
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * Ejecuta la tarea solo si se obtiene el candado.
+     *
+     * @param name nombre del candado
+     * @param ttl  tiempo máximo que se conserva el candado
+     * @param task tarea a ejecutar
+     * @return true si se obtuvo el candado y se ejecutó la tarea
+     */
+    public boolean runExclusively(String name, Duration ttl, Runnable task) {
+        String key = LOCK_KEY_PREFIX + name;
+        String token = UUID.randomUUID().toString();
+
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, token, ttl))) {
+            log.debug("Candado {} tomado por otra instancia", key);
+            return false;
+        }
+
+        try {
+            task.run();
+            return true;
+        } finally {
+            try {
+                redisTemplate.execute(RELEASE_SCRIPT, List.of(key), token);
+            } catch (Exception e) {
+                log.warn("No se pudo liberar el candado {}; expirará en {}", key, ttl);
+            }
+        }
+    }
+}
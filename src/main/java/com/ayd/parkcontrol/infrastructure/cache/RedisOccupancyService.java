@@ -2,15 +2,25 @@ package com.ayd.parkcontrol.infrastructure.cache;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Servicio para gestión de ocupación en tiempo real usando Redis.
  * 
  * Regla de Negocio: Control de concurrencia atómico para evitar sobreventa
- * de espacios de estacionamiento. Usa operaciones INCR/DECR de Redis que
- * son atómicas y thread-safe.
+ * de espacios de estacionamiento. La reserva se hace con un script Lua
+ * (verificación + INCR) y la liberación con DECR, ambas atómicas en Redis.
  * 
  * @author ParkControl Team
  * @version 1.0.0
@@ -22,13 +32,51 @@ public class RedisOccupancyService {
 
     private static final String OCCUPANCY_KEY_PREFIX = "branch:occupancy:";
 
+    /**
+     * Canal de Redis en el que se publica el ID de la sucursal cada vez que
+     * cambia uno de sus contadores.
+     */
+    public static final String OCCUPANCY_CHANNEL = "branch:occupancy:changes";
+
+    /**
+     * Marca que indica que los contadores ya se cargaron desde la base de
+     * datos. Desaparece junto con los contadores si Redis pierde sus datos.
+     */
+    private static final String INITIALIZED_KEY = "branch:occupancy:initialized";
+
+    /**
+     * Script Lua que verifica la capacidad e incrementa el contador en una sola
+     * operación atómica. Retorna la nueva ocupación o -1 si no hay espacio.
+     */
+    private static final RedisScript<Long> RESERVE_SPACE_SCRIPT = new DefaultRedisScript<>("""
+            local current = tonumber(redis.call('GET', KEYS[1]) or '0')
+            if current >= tonumber(ARGV[1]) then
+                return -1
+            end
+            return redis.call('INCR', KEYS[1])
+            """, Long.class);
+
+    /**
+     * Script Lua que reemplaza el contador solo si aún tiene el valor
+     * esperado. Retorna 1 si se actualizó y 0 si el contador cambió.
+     */
+    private static final RedisScript<Long> COMPARE_AND_SET_SCRIPT = new DefaultRedisScript<>("""
+            local current = tonumber(redis.call('GET', KEYS[1]) or '0')
+            if current ~= tonumber(ARGV[1]) then
+                return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[2])
+            return 1
+            """, Long.class);
+
     private final StringRedisTemplate redisTemplate;
 
     /**
      * Intenta reservar un espacio de estacionamiento de forma atómica.
      * 
-     * Si la nueva ocupación excede la capacidad, realiza un rollback automático
-     * decrementando el contador.
+     * La verificación de capacidad y el incremento se ejecutan en un único
+     * script Lua, por lo que dos garitas concurrentes nunca pueden sobrepasar
+     * la capacidad ni requieren un rollback del contador.
      * 
      * @param branchId    ID de la sucursal
      * @param vehicleType tipo de vehículo (2R o 4R)
@@ -40,28 +88,70 @@ public class RedisOccupancyService {
 
         log.debug("Intentando reservar espacio en sucursal {} para tipo {}", branchId, vehicleType);
 
-        // Operación atómica de incremento
-        Long newOccupancy = redisTemplate.opsForValue().increment(key);
+        Long newOccupancy = redisTemplate.execute(RESERVE_SPACE_SCRIPT, List.of(key), String.valueOf(capacity));
 
         if (newOccupancy == null) {
-            log.error("Error al incrementar ocupación en Redis para key: {}", key);
+            log.error("Error al ejecutar reserva de ocupación en Redis para key: {}", key);
             return false;
         }
 
-        // Verificar si excedió la capacidad
-        if (newOccupancy > capacity) {
-            // Rollback: decrementar para deshacer la reserva
-            redisTemplate.opsForValue().decrement(key);
-            log.warn("Capacidad excedida en sucursal {} para tipo {}. Ocupación: {}, Capacidad: {}",
-                    branchId, vehicleType, newOccupancy - 1, capacity);
+        if (newOccupancy < 0) {
+            log.warn("Capacidad excedida en sucursal {} para tipo {}. Capacidad: {}",
+                    branchId, vehicleType, capacity);
             return false;
         }
 
         log.info("Espacio reservado exitosamente. Sucursal: {}, Tipo: {}, Nueva ocupación: {}/{}",
                 branchId, vehicleType, newOccupancy, capacity);
+        publishChange(branchId);
         return true;
     }
 
+    /**
+     * Registra la compensación de una reserva: si la transacción activa no
+     * confirma (rollback), el espacio reservado se libera.
+     * 
+     * @param branchId    ID de la sucursal
+     * @param vehicleType tipo de vehículo (2R o 4R)
+     */
+    public void releaseSpaceOnRollback(Long branchId, String vehicleType) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    log.info("Transacción revertida. Compensando reserva en sucursal {} tipo {}",
+                            branchId, vehicleType);
+                    releaseSpaceSafely(branchId, vehicleType);
+                }
+            }
+        });
+    }
+
+    /**
+     * Libera un espacio una vez que la transacción activa confirma. Sin
+     * transacción activa la liberación es inmediata.
+     * 
+     * @param branchId    ID de la sucursal
+     * @param vehicleType tipo de vehículo (2R o 4R)
+     */
+    public void releaseSpaceAfterCommit(Long branchId, String vehicleType) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            releaseSpaceSafely(branchId, vehicleType);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                releaseSpaceSafely(branchId, vehicleType);
+            }
+        });
+    }
+
     /**
      * Libera un espacio de estacionamiento decrementando el contador.
      * 
@@ -89,6 +179,7 @@ public class RedisOccupancyService {
 
         log.info("Espacio liberado. Sucursal: {}, Tipo: {}, Nueva ocupación: {}",
                 branchId, vehicleType, Math.max(newOccupancy, 0));
+        publishChange(branchId);
     }
 
     /**
@@ -102,16 +193,31 @@ public class RedisOccupancyService {
         String key = buildKey(branchId, vehicleType);
         String value = redisTemplate.opsForValue().get(key);
 
-        if (value == null) {
-            return 0;
+        return parseOccupancy(key, value);
+    }
+
+    /**
+     * Obtiene la ocupación actual de varias sucursales para un tipo de
+     * vehículo con una sola lectura (MGET).
+     *
+     * @param branchIds   IDs de las sucursales
+     * @param vehicleType tipo de vehículo (2R o 4R)
+     * @return ocupación por sucursal (0 si no existe)
+     */
+    public Map<Long, Integer> getCurrentOccupancies(List<Long> branchIds, String vehicleType) {
+        Map<Long, Integer> occupancies = new LinkedHashMap<>();
+        if (branchIds.isEmpty()) {
+            return occupancies;
         }
 
-        try {
-            return Integer.parseInt(value);
-        } catch (NumberFormatException e) {
-            log.error("Valor inválido en Redis para key: {}. Valor: {}", key, value);
-            return 0;
+        List<String> keys = branchIds.stream().map(branchId -> buildKey(branchId, vehicleType)).toList();
+        List<String> values = redisTemplate.opsForValue().multiGet(keys);
+
+        for (int i = 0; i < branchIds.size(); i++) {
+            String value = values != null && i < values.size() ? values.get(i) : null;
+            occupancies.put(branchIds.get(i), parseOccupancy(keys.get(i), value));
         }
+        return occupancies;
     }
 
     /**
@@ -132,6 +238,59 @@ public class RedisOccupancyService {
 
         redisTemplate.opsForValue().set(key, String.valueOf(occupancy));
         log.debug("Ocupación establecida. Key: {}, Valor: {}", key, occupancy);
+        publishChange(branchId);
+    }
+
+    /**
+     * Indica si los contadores ya se cargaron desde la base de datos.
+     */
+    public boolean isInitialized() {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(INITIALIZED_KEY));
+    }
+
+    /**
+     * Carga los contadores de varias sucursales con un único MSET, que también
+     * deja la marca de inicialización, y avisa los cambios en el mismo
+     * pipeline.
+     *
+     * @param occupancies ocupación por sucursal y tipo de vehículo
+     */
+    public void initializeOccupancies(Map<Long, Map<String, Integer>> occupancies) {
+        Map<String, String> values = new LinkedHashMap<>();
+        occupancies.forEach((branchId, byType) -> byType.forEach((vehicleType, occupancy) ->
+                values.put(buildKey(branchId, vehicleType), String.valueOf(Math.max(0, occupancy)))));
+        values.put(INITIALIZED_KEY, String.valueOf(System.currentTimeMillis()));
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            stringConnection.mSetString(values);
+            occupancies.keySet().forEach(branchId ->
+                    stringConnection.publish(OCCUPANCY_CHANNEL, String.valueOf(branchId)));
+            return null;
+        });
+        log.info("Ocupación inicializada para {} sucursales", occupancies.size());
+    }
+
+    /**
+     * Corrige un contador solo si todavía tiene el valor leído; si una garita
+     * lo movió mientras tanto no se modifica.
+     *
+     * @param branchId    ID de la sucursal
+     * @param vehicleType tipo de vehículo (2R o 4R)
+     * @param expected    valor leído previamente
+     * @param occupancy   nuevo valor
+     * @return true si se actualizó el contador
+     */
+    public boolean compareAndSetOccupancy(Long branchId, String vehicleType, int expected, int occupancy) {
+        String key = buildKey(branchId, vehicleType);
+        Long updated = redisTemplate.execute(COMPARE_AND_SET_SCRIPT, List.of(key),
+                String.valueOf(expected), String.valueOf(Math.max(0, occupancy)));
+
+        if (updated == null || updated == 0) {
+            return false;
+        }
+        publishChange(branchId);
+        return true;
     }
 
     /**
@@ -145,6 +304,40 @@ public class RedisOccupancyService {
         log.info("Ocupación reseteada para sucursal {} tipo {}", branchId, vehicleType);
     }
 
+    private int parseOccupancy(String key, String value) {
+        if (value == null) {
+            return 0;
+        }
+
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            log.error("Valor inválido en Redis para key: {}. Valor: {}", key, value);
+            return 0;
+        }
+    }
+
+    /**
+     * Avisa a todas las instancias que la ocupación de la sucursal cambió. Un
+     * fallo al publicar no afecta la operación de la garita: el feed en vivo
+     * se pone al día con el siguiente cambio.
+     */
+    private void publishChange(Long branchId) {
+        try {
+            redisTemplate.convertAndSend(OCCUPANCY_CHANNEL, String.valueOf(branchId));
+        } catch (Exception e) {
+            log.debug("No se pudo publicar el cambio de ocupación de la sucursal {}: {}", branchId, e.toString());
+        }
+    }
+
+    private void releaseSpaceSafely(Long branchId, String vehicleType) {
+        try {
+            releaseSpace(branchId, vehicleType);
+        } catch (Exception e) {
+            log.error("Error liberando espacio en sucursal {} tipo {}", branchId, vehicleType, e);
+        }
+    }
+
     /**
      * Construye la clave de Redis para ocupación.
      * 
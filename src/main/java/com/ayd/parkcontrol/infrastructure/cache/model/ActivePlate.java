@@ -0,0 +1,61 @@
+package com.ayd.parkcontrol.infrastructure.cache.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Estado vigente de una placa según el índice de placas activas: tickets
+ * abiertos por sucursal, suscripción activa y permiso temporal activo.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivePlate {
+
+    private String licensePlate;
+
+    /**
+     * Ticket abierto por sucursal (ID de sucursal a ID de ticket).
+     */
+    @Builder.Default
+    private Map<Long, Long> openTickets = new HashMap<>();
+
+    private Long subscriptionId;
+    private String planCode;
+    private LocalDateTime subscriptionEndDate;
+
+    private Long permitId;
+    private Long permitSubscriptionId;
+    private Integer permitRemainingUses;
+    private LocalDateTime permitStartDate;
+    private LocalDateTime permitEndDate;
+
+    public boolean hasOpenTicketAt(Long branchId) {
+        return openTickets.containsKey(branchId);
+    }
+
+    /**
+     * Suscripción con la que ingresa la placa: la suscripción propia si está
+     * vigente o, en su defecto, la del permiso temporal si aún tiene usos.
+     *
+     * @return ID de la suscripción o null si la placa no tiene ninguna
+     */
+    public Long eligibleSubscriptionId(LocalDateTime now) {
+        if (subscriptionId != null && subscriptionEndDate != null && subscriptionEndDate.isAfter(now)) {
+            return subscriptionId;
+        }
+        if (permitId != null && permitRemainingUses != null && permitRemainingUses > 0
+                && (permitStartDate == null || !permitStartDate.isAfter(now))
+                && permitEndDate != null && !permitEndDate.isBefore(now)) {
+            return permitSubscriptionId;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,40 @@
+package com.ayd.parkcontrol.infrastructure.cache.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Contadores del dashboard para una sucursal: acumulados del día y valores
+ * instantáneos (tickets activos e incidentes pendientes).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BranchDailyMetrics {
+
+    private Long branchId;
+
+    @Builder.Default
+    private long vehiclesToday = 0L;
+
+    @Builder.Default
+    private long chargesToday = 0L;
+
+    @Builder.Default
+    private BigDecimal revenueToday = BigDecimal.ZERO;
+
+    @Builder.Default
+    private long activeTickets = 0L;
+
+    @Builder.Default
+    private long pendingIncidents = 0L;
+
+    public static BranchDailyMetrics empty(Long branchId) {
+        return BranchDailyMetrics.builder().branchId(branchId).build();
+    }
+}
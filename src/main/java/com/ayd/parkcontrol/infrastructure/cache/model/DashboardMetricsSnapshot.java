@@ -0,0 +1,59 @@
+package com.ayd.parkcontrol.infrastructure.cache.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fotografía de los agregados del dashboard para un día, indexada por
+ * sucursal. Leerla cuesta O(sucursales) sin importar el volumen histórico.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardMetricsSnapshot {
+
+    private LocalDate date;
+
+    @Builder.Default
+    private Map<Long, BranchDailyMetrics> branches = new HashMap<>();
+
+    @Builder.Default
+    private long subscriptionsToday = 0L;
+
+    @Builder.Default
+    private BigDecimal subscriptionsRevenueToday = BigDecimal.ZERO;
+
+    public BranchDailyMetrics branch(Long branchId) {
+        return branches.getOrDefault(branchId, BranchDailyMetrics.empty(branchId));
+    }
+
+    public long totalVehiclesToday() {
+        return branches.values().stream().mapToLong(BranchDailyMetrics::getVehiclesToday).sum();
+    }
+
+    public long totalChargesToday() {
+        return branches.values().stream().mapToLong(BranchDailyMetrics::getChargesToday).sum();
+    }
+
+    public BigDecimal totalRevenueToday() {
+        return branches.values().stream()
+                .map(BranchDailyMetrics::getRevenueToday)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    public long totalActiveTickets() {
+        return branches.values().stream().mapToLong(BranchDailyMetrics::getActiveTickets).sum();
+    }
+
+    public long totalPendingIncidents() {
+        return branches.values().stream().mapToLong(BranchDailyMetrics::getPendingIncidents).sum();
+    }
+}
@@ -0,0 +1,47 @@
+package com.ayd.parkcontrol.infrastructure.listener;
+
+import com.ayd.parkcontrol.application.event.ActivePlateChangedEvent;
+import com.ayd.parkcontrol.application.event.SubscriptionPurchasedEvent;
+import com.ayd.parkcontrol.application.event.TicketEntryRegisteredEvent;
+import com.ayd.parkcontrol.application.event.TicketExitProcessedEvent;
+import com.ayd.parkcontrol.infrastructure.cache.ActivePlateIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Listener que mantiene el índice de placas activas a partir de los eventos
+ * de tickets, suscripciones y permisos temporales.
+ *
+ * Se ejecuta de forma síncrona después del commit para que la siguiente
+ * lectura en garita ya vea el cambio.
+ *
+ * @author ParkControl Team
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class ActivePlateIndexListener {
+
+    private final ActivePlateIndex activePlateIndex;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleTicketEntry(TicketEntryRegisteredEvent event) {
+        activePlateIndex.recordTicketOpened(event.getLicensePlate(), event.getBranchId(), event.getTicketId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleTicketExit(TicketExitProcessedEvent event) {
+        activePlateIndex.recordTicketClosed(event.getLicensePlate(), event.getBranchId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleSubscriptionPurchased(SubscriptionPurchasedEvent event) {
+        activePlateIndex.refreshPlate(event.getLicensePlate());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleActivePlateChanged(ActivePlateChangedEvent event) {
+        activePlateIndex.refreshPlate(event.getLicensePlate());
+    }
+}
@@ -0,0 +1,79 @@
+package com.ayd.parkcontrol.infrastructure.listener;
+
+import com.ayd.parkcontrol.application.event.IncidentStatusChangedEvent;
+import com.ayd.parkcontrol.application.event.SubscriptionPurchasedEvent;
+import com.ayd.parkcontrol.application.event.TicketEntryRegisteredEvent;
+import com.ayd.parkcontrol.application.event.TicketExitProcessedEvent;
+import com.ayd.parkcontrol.infrastructure.cache.DashboardMetricsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Listener que actualiza los agregados del dashboard a partir de los eventos
+ * de tickets, suscripciones e incidentes.
+ *
+ * Se ejecuta después del commit de la transacción que publica el evento y de
+ * forma asíncrona para no agregar latencia a las garitas.
+ *
+ * @author ParkControl Team
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardMetricsListener {
+
+    private final DashboardMetricsService dashboardMetricsService;
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleTicketEntry(TicketEntryRegisteredEvent event) {
+        try {
+            dashboardMetricsService.recordVehicleEntry(event.getBranchId(), dayOf(event.getEntryTime()));
+        } catch (Exception e) {
+            log.error("Error actualizando dashboard por ingreso del ticket ID: {}", event.getTicketId(), e);
+        }
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleTicketExit(TicketExitProcessedEvent event) {
+        try {
+            dashboardMetricsService.recordVehicleExit(event.getBranchId(), event.getTotalAmount(),
+                    dayOf(event.getExitTime()));
+        } catch (Exception e) {
+            log.error("Error actualizando dashboard por salida del ticket ID: {}", event.getTicketId(), e);
+        }
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleSubscriptionPurchased(SubscriptionPurchasedEvent event) {
+        try {
+            dashboardMetricsService.recordSubscriptionPurchase(event.getAmount(), dayOf(event.getPurchaseDate()));
+        } catch (Exception e) {
+            log.error("Error actualizando dashboard por compra de suscripción ID: {}",
+                    event.getSubscriptionId(), e);
+        }
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleIncidentStatusChanged(IncidentStatusChangedEvent event) {
+        try {
+            dashboardMetricsService.recordIncidentStatusChange(event.getBranchId(), event.isResolved());
+        } catch (Exception e) {
+            log.error("Error actualizando dashboard por incidente ID: {}", event.getIncidentId(), e);
+        }
+    }
+
+    private LocalDate dayOf(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toLocalDate() : LocalDate.now();
+    }
+}
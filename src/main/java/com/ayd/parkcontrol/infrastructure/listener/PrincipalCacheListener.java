@@ -0,0 +1,28 @@
+package com.ayd.parkcontrol.infrastructure.listener;
+
+import com.ayd.parkcontrol.application.event.UserAccountChangedEvent;
+import com.ayd.parkcontrol.security.PrincipalCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Listener que invalida los principales en caché cuando cambia una cuenta.
+ *
+ * Se ejecuta de forma síncrona después del commit para que la siguiente
+ * petición del usuario ya lea los datos actualizados.
+ *
+ * @author ParkControl Team
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class PrincipalCacheListener {
+
+    private final PrincipalCache principalCache;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleUserAccountChanged(UserAccountChangedEvent event) {
+        principalCache.evict(event.getEmail());
+    }
+}
@@ -0,0 +1,33 @@
+package com.ayd.parkcontrol.infrastructure.listener;
+
+import com.ayd.parkcontrol.application.event.RateChangedEvent;
+import com.ayd.parkcontrol.application.service.EffectiveRateResolver;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Listener que invalida las tarifas en caché cuando se modifica la tarifa
+ * base o la de una sucursal.
+ *
+ * Se ejecuta de forma síncrona después del commit para que el siguiente cobro
+ * ya use la tarifa nueva.
+ *
+ * @author ParkControl Team
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class RateCacheListener {
+
+    private final EffectiveRateResolver effectiveRateResolver;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleRateChanged(RateChangedEvent event) {
+        if (event.isBaseRate()) {
+            effectiveRateResolver.evictBaseRate();
+        } else {
+            effectiveRateResolver.evictBranchRate(event.getBranchId());
+        }
+    }
+}
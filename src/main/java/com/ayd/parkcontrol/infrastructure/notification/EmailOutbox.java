@@ -0,0 +1,60 @@
+package com.ayd.parkcontrol.infrastructure.notification;
+
+import com.ayd.parkcontrol.infrastructure.persistence.entity.EmailOutboxEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaEmailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registra correos en la tabla {@code email_outbox}.
+ *
+ * El registro se une a la transacción del caso de uso: si éste hace
+ * rollback, el correo no se envía, y el hilo de la petición nunca espera al
+ * servidor SMTP. Tras el commit se despierta al dispatcher para que correos
+ * urgentes, como el código 2FA, salgan sin esperar al siguiente sondeo.
+ *
+ * @author ParkControl Team
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutbox {
+
+    private final JpaEmailOutboxRepository outboxRepository;
+    private final EmailOutboxDispatcher dispatcher;
+    private final EmailOutboxMetrics metrics;
+
+    @Transactional
+    public void enqueue(String to, String subject, String body) {
+        LocalDateTime now = LocalDateTime.now();
+        EmailOutboxEntity saved = outboxRepository.save(EmailOutboxEntity.builder()
+                .recipient(to)
+                .subject(subject)
+                .body(body)
+                .status(EmailOutboxEntity.Status.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+        metrics.recordEnqueued();
+        log.debug("Email {} queued for: {}", saved.getId(), to);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatcher.wakeUp();
+                }
+            });
+        } else {
+            dispatcher.wakeUp();
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.ayd.parkcontrol.infrastructure.notification;
+
+import com.ayd.parkcontrol.infrastructure.persistence.entity.EmailOutboxEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.EmailOutboxEntity.Status;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaEmailOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Entrega los correos del outbox con un pool acotado de workers.
+ *
+ * Cada sondeo reclama con un UPDATE condicional tantos correos vencidos como
+ * workers libres haya, así que varias instancias pueden despachar la misma
+ * tabla sin enviar un correo dos veces. Los envíos reutilizan conexiones de
+ * {@link SmtpTransportPool}. Un envío fallido se reprograma con backoff
+ * exponencial; al agotar {@code max-attempts} el correo queda en estado
+ * {@code DEAD} con el último error. Los correos reclamados por una instancia
+ * que se detuvo a mitad del envío vuelven a pendiente tras
+ * {@code claim-timeout-ms}.
+ *
+ * @author ParkControl Team
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final JpaEmailOutboxRepository outboxRepository;
+    private final SmtpTransportPool transportPool;
+    private final EmailOutboxMetrics metrics;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final String fromEmail;
+    private final int workers;
+    private final int maxInFlight;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration claimTimeout;
+    private final int sentRetentionDays;
+
+    private final ThreadPoolExecutor senders;
+    private final ThreadPoolExecutor poller;
+    private final ReentrantLock pollLock = new ReentrantLock();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile boolean backlog;
+
+    public EmailOutboxDispatcher(JpaEmailOutboxRepository outboxRepository,
+            SmtpTransportPool transportPool,
+            EmailOutboxMetrics metrics,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.mail.outbox.enabled:true}") boolean enabled,
+            @Value("${spring.mail.username}") String fromEmail,
+            @Value("${app.mail.outbox.workers:4}") int workers,
+            @Value("${app.mail.outbox.batch-size:50}") int batchSize,
+            @Value("${app.mail.outbox.max-attempts:5}") int maxAttempts,
+            @Value("${app.mail.outbox.backoff-initial-ms:30000}") long initialBackoffMs,
+            @Value("${app.mail.outbox.backoff-max-ms:3600000}") long maxBackoffMs,
+            @Value("${app.mail.outbox.claim-timeout-ms:300000}") long claimTimeoutMs,
+            @Value("${app.mail.outbox.sent-retention-days:7}") int sentRetentionDays) {
+        this.outboxRepository = outboxRepository;
+        this.transportPool = transportPool;
+        this.metrics = metrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.fromEmail = fromEmail;
+        this.workers = Math.max(1, workers);
+        this.maxInFlight = Math.max(this.workers, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoff = Duration.ofMillis(initialBackoffMs);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMs);
+        this.claimTimeout = Duration.ofMillis(claimTimeoutMs);
+        this.sentRetentionDays = sentRetentionDays;
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(this.workers, this.workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxInFlight), runnable -> {
+                    Thread thread = new Thread(runnable, "email-outbox-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.poller = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "email-outbox-poller");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /**
+     * Pide un sondeo inmediato. Las llamadas que llegan mientras ya hay uno
+     * pendiente se descartan.
+     */
+    public void wakeUp() {
+        if (enabled) {
+            poller.execute(this::dispatchDue);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:2000}", initialDelayString = "${app.mail.outbox.initial-delay-ms:5000}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Integer released = transactionTemplate.execute(status -> outboxRepository.releaseStale(
+                    LocalDateTime.now().minus(claimTimeout), Status.PENDING, Status.SENDING));
+            if (released != null && released > 0) {
+                metrics.recordStaleReleased(released);
+                log.warn("{} correos reclamados sin terminar volvieron a pendiente", released);
+            }
+        } catch (Exception e) {
+            log.error("Error liberando correos reclamados del outbox", e);
+        }
+        dispatchDue();
+    }
+
+    @Scheduled(cron = "${app.mail.outbox.purge-cron:0 15 4 * * *}")
+    public void purgeSent() {
+        if (!enabled) {
+            return;
+        }
+        Integer deleted = transactionTemplate.execute(status -> outboxRepository.deleteSentBefore(
+                LocalDateTime.now().minusDays(sentRetentionDays), Status.SENT));
+        log.info("Se eliminaron {} correos enviados del outbox", deleted);
+    }
+
+    /**
+     * Reclama los correos vencidos que quepan en el pool y los entrega a los
+     * workers.
+     *
+     * @return cantidad de correos reclamados
+     */
+    int dispatchDue() {
+        if (!pollLock.tryLock()) {
+            return 0;
+        }
+        try {
+            int free = maxInFlight - inFlight.get();
+            if (free <= 0) {
+                return 0;
+            }
+            List<EmailOutboxEntity> claimed = claim(free);
+            backlog = claimed.size() == free;
+            for (EmailOutboxEntity email : claimed) {
+                inFlight.incrementAndGet();
+                senders.execute(() -> {
+                    try {
+                        deliver(email);
+                    } finally {
+                        inFlight.decrementAndGet();
+                        if (backlog) {
+                            wakeUp();
+                        }
+                    }
+                });
+            }
+            return claimed.size();
+        } catch (Exception e) {
+            log.error("Error reclamando correos del outbox", e);
+            return 0;
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    private List<EmailOutboxEntity> claim(int limit) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = outboxRepository.findDueIds(Status.PENDING, now, PageRequest.of(0, limit));
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            String token = UUID.randomUUID().toString();
+            if (outboxRepository.claim(ids, token, now, Status.SENDING, Status.PENDING) == 0) {
+                return List.of();
+            }
+            return outboxRepository.findByClaimTokenAndStatus(token, Status.SENDING);
+        });
+    }
+
+    void deliver(EmailOutboxEntity email) {
+        int attempts = email.getAttempts() + 1;
+        try {
+            MimeMessage message = transportPool.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+            helper.setFrom(fromEmail);
+            helper.setTo(email.getRecipient());
+            helper.setSubject(email.getSubject());
+            helper.setText(email.getBody(), true);
+
+            transportPool.send(message);
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.markSent(email.getId(), attempts,
+                    LocalDateTime.now(), Status.SENT, Status.SENDING));
+            metrics.recordSent();
+            log.info("Email sent successfully to: {}", email.getRecipient());
+        } catch (Exception e) {
+            metrics.recordSendFailure();
+            recordFailure(email, attempts, e);
+        }
+    }
+
+    private void recordFailure(EmailOutboxEntity email, int attempts, Exception error) {
+        String message = truncate(error.getClass().getSimpleName() + ": " + error.getMessage());
+        boolean dead = attempts >= maxAttempts;
+        LocalDateTime nextAttemptAt = LocalDateTime.now().plus(backoff(attempts));
+        try {
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.markFailed(email.getId(),
+                    dead ? Status.DEAD : Status.PENDING, attempts, nextAttemptAt, message, Status.SENDING));
+        } catch (Exception e) {
+            log.error("No se pudo registrar el fallo del correo {}", email.getId(), e);
+            return;
+        }
+        if (dead) {
+            metrics.recordDeadLettered();
+            log.error("Email {} to {} moved to dead-letter after {} attempts: {}", email.getId(),
+                    email.getRecipient(), attempts, message);
+        } else {
+            metrics.recordRetried();
+            log.warn("Error sending email {} to {} (attempt {}), retrying at {}: {}", email.getId(),
+                    email.getRecipient(), attempts, nextAttemptAt, message);
+        }
+    }
+
+    Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    public Map<String, Long> queueDepth() {
+        Map<String, Long> depth = new LinkedHashMap<>();
+        depth.put("pending", outboxRepository.countByStatus(Status.PENDING));
+        depth.put("sending", outboxRepository.countByStatus(Status.SENDING));
+        depth.put("dead", outboxRepository.countByStatus(Status.DEAD));
+        return depth;
+    }
+
+    public long getOldestPendingAgeMs() {
+        LocalDateTime oldest = outboxRepository.findOldestCreatedAt(Status.PENDING);
+        return oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis());
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PreDestroy
+    public void stop() {
+        poller.shutdownNow();
+        senders.shutdown();
+        try {
+            if (!senders.awaitTermination(10, TimeUnit.SECONDS)) {
+                senders.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            senders.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String truncate(String value) {
+        return value.length() <= MAX_ERROR_LENGTH ? value : value.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,69 @@
+package com.ayd.parkcontrol.infrastructure.notification;
+
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores del outbox de correo: encolados, entregados, reintentos,
+ * correos enviados a dead-letter y uso de conexiones SMTP.
+ */
+@Component
+public class EmailOutboxMetrics {
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder sendFailures = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+    private final LongAdder staleReleased = new LongAdder();
+    private final LongAdder transportConnects = new LongAdder();
+    private final LongAdder transportReuses = new LongAdder();
+
+    public void recordEnqueued() {
+        enqueued.increment();
+    }
+
+    public void recordSent() {
+        sent.increment();
+    }
+
+    public void recordSendFailure() {
+        sendFailures.increment();
+    }
+
+    public void recordRetried() {
+        retried.increment();
+    }
+
+    public void recordDeadLettered() {
+        deadLettered.increment();
+    }
+
+    public void recordStaleReleased(int count) {
+        staleReleased.add(count);
+    }
+
+    public void recordTransportConnect() {
+        transportConnects.increment();
+    }
+
+    public void recordTransportReuse() {
+        transportReuses.increment();
+    }
+
+    public Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new LinkedHashMap<>();
+        snapshot.put("enqueued", enqueued.sum());
+        snapshot.put("sent", sent.sum());
+        snapshot.put("send_failures", sendFailures.sum());
+        snapshot.put("retried", retried.sum());
+        snapshot.put("dead_lettered", deadLettered.sum());
+        snapshot.put("stale_released", staleReleased.sum());
+        snapshot.put("transport_connects", transportConnects.sum());
+        snapshot.put("transport_reuses", transportReuses.sum());
+        return snapshot;
+    }
+}
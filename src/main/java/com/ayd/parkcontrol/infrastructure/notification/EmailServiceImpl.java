@@ -1,13 +1,9 @@
 package com.ayd.parkcontrol.infrastructure.notification;
 
 import com.ayd.parkcontrol.application.port.notification.EmailService;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -15,31 +11,18 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class EmailServiceImpl implements EmailService {
 
-    private final JavaMailSender mailSender;
-
-    @Value("${spring.mail.username}")
-    private String fromEmail;
+    private final EmailOutbox emailOutbox;
 
     @Value("${info.app.name:ParkControl S.A.}")
     private String appName;
 
+    /**
+     * Registra el correo en el outbox; EmailOutboxDispatcher lo envía después
+     * del commit de la transacción en curso.
+     */
     @Override
     public void sendEmail(String to, String subject, String body) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            helper.setFrom(fromEmail);
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(body, true);
-
-            mailSender.send(message);
-            log.info("Email sent successfully to: {}", to);
-        } catch (MessagingException e) {
-            log.error("Error sending email to: {}", to, e);
-            throw new RuntimeException("Failed to send email", e);
-        }
+        emailOutbox.enqueue(to, subject, body);
     }
 
     @Override
@@ -0,0 +1,128 @@
+package com.ayd.parkcontrol.infrastructure.notification;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+
+/**
+ * Conexiones SMTP reutilizables para el envío de correos.
+ *
+ * JavaMailSender abre y cierra una conexión (TCP, STARTTLS y AUTH) por cada
+ * envío. Este pool conserva hasta {@code maxIdle} conexiones autenticadas y
+ * las entrega a los workers del outbox; una conexión que lleva más de
+ * {@code maxIdleMs} sin uso, que el servidor cerró o que falló en un envío se
+ * descarta y se abre otra.
+ *
+ * @author ParkControl Team
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class SmtpTransportPool {
+
+    private static final String DEFAULT_PROTOCOL = "smtp";
+
+    private final JavaMailSenderImpl mailSender;
+    private final EmailOutboxMetrics metrics;
+    private final int maxIdle;
+    private final long maxIdleNanos;
+    private final BlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+
+    public SmtpTransportPool(JavaMailSenderImpl mailSender,
+            EmailOutboxMetrics metrics,
+            @Value("${app.mail.outbox.workers:4}") int maxIdle,
+            @Value("${app.mail.transport.max-idle-ms:60000}") long maxIdleMs) {
+        this.mailSender = mailSender;
+        this.metrics = metrics;
+        this.maxIdle = Math.max(1, maxIdle);
+        this.maxIdleNanos = maxIdleMs * 1_000_000L;
+    }
+
+    public MimeMessage createMimeMessage() {
+        return mailSender.createMimeMessage();
+    }
+
+    /**
+     * Envía el mensaje por una conexión del pool.
+     *
+     * @param message mensaje a enviar
+     * @throws MessagingException si la conexión o el envío fallan; la
+     *                            conexión usada se descarta
+     */
+    public void send(MimeMessage message) throws MessagingException {
+        Transport transport = borrow();
+        try {
+            message.saveChanges();
+            transport.sendMessage(message, message.getAllRecipients());
+        } catch (MessagingException | RuntimeException e) {
+            closeQuietly(transport);
+            throw e;
+        }
+        release(transport);
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    @PreDestroy
+    public void close() {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            closeQuietly(pooled.transport());
+        }
+    }
+
+    private Transport borrow() throws MessagingException {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            if (System.nanoTime() - pooled.releasedAt() < maxIdleNanos && pooled.transport().isConnected()) {
+                metrics.recordTransportReuse();
+                return pooled.transport();
+            }
+            closeQuietly(pooled.transport());
+        }
+        return connect();
+    }
+
+    private Transport connect() throws MessagingException {
+        Session session = mailSender.getSession();
+        String protocol = mailSender.getProtocol() != null
+                ? mailSender.getProtocol()
+                : session.getProperty("mail.transport.protocol");
+        Transport transport = session.getTransport(protocol != null ? protocol : DEFAULT_PROTOCOL);
+        String username = mailSender.getUsername();
+        String password = mailSender.getPassword();
+        transport.connect(mailSender.getHost(), mailSender.getPort(),
+                username == null || username.isEmpty() ? null : username,
+                password == null || password.isEmpty() ? null : password);
+        metrics.recordTransportConnect();
+        return transport;
+    }
+
+    private void release(Transport transport) {
+        if (idle.size() >= maxIdle || !idle.offerFirst(new PooledTransport(transport, System.nanoTime()))) {
+            closeQuietly(transport);
+        }
+    }
+
+    private void closeQuietly(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("Error al cerrar la conexión SMTP: {}", e.getMessage());
+        }
+    }
+
+    private record PooledTransport(Transport transport, long releasedAt) {
+    }
+}
@@ -1,13 +1,13 @@
 package com.ayd.parkcontrol.infrastructure.persistence.adapter;
 
 import com.ayd.parkcontrol.domain.model.audit.AuditLog;
+import com.ayd.parkcontrol.domain.model.audit.AuditLogFilter;
 import com.ayd.parkcontrol.domain.repository.AuditLogRepository;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.AuditLogEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.mapper.AuditLogMapper;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaAuditLogRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
@@ -36,27 +36,18 @@ public class AuditLogRepositoryAdapter implements AuditLogRepository {
     }
 
     @Override
-    public Page<AuditLog> findAll(Pageable pageable) {
-        return jpaAuditLogRepository.findAll(pageable)
-                .map(auditLogMapper::toDomain);
-    }
-
-    @Override
-    public Page<AuditLog> findByUserId(Long userId, Pageable pageable) {
-        return jpaAuditLogRepository.findByUserId(userId, pageable)
-                .map(auditLogMapper::toDomain);
-    }
-
-    @Override
-    public Page<AuditLog> findByModule(String module, Pageable pageable) {
-        return jpaAuditLogRepository.findByModule(module, pageable)
-                .map(auditLogMapper::toDomain);
+    public List<AuditLog> findPage(AuditLogFilter filter, LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        return jpaAuditLogRepository.findPage(filter.getUserId(), filter.getModule(), filter.getStartDate(),
+                filter.getEndDate(), afterCreatedAt, afterId, PageRequest.of(0, limit))
+                .stream()
+                .map(auditLogMapper::toDomain)
+                .collect(Collectors.toList());
     }
 
     @Override
-    public Page<AuditLog> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
-        return jpaAuditLogRepository.findByCreatedAtBetween(startDate, endDate, pageable)
-                .map(auditLogMapper::toDomain);
+    public long count(AuditLogFilter filter) {
+        return jpaAuditLogRepository.countFiltered(filter.getUserId(), filter.getModule(), filter.getStartDate(),
+                filter.getEndDate());
     }
 
     @Override
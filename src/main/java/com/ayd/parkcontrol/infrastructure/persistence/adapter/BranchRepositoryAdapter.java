@@ -10,6 +10,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Component
@@ -32,6 +34,13 @@ public class BranchRepositoryAdapter implements BranchRepository {
                 .map(branchMapper::toDomain);
     }
 
+    @Override
+    public List<Branch> findAllById(Collection<Long> ids) {
+        return jpaBranchRepository.findAllById(ids).stream()
+                .map(branchMapper::toDomain)
+                .toList();
+    }
+
     @Override
     public Optional<Branch> findByName(String name) {
         return jpaBranchRepository.findByName(name)
@@ -7,6 +7,7 @@ import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaOperationTyp
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -37,4 +38,12 @@ public class OperationTypeRepositoryAdapter implements OperationTypeRepository {
                 .map(operationTypeMapper::toDomain)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public List<OperationType> findAllById(Collection<Integer> ids) {
+        return jpaOperationTypeRepository.findAllById(ids)
+                .stream()
+                .map(operationTypeMapper::toDomain)
+                .collect(Collectors.toList());
+    }
 }
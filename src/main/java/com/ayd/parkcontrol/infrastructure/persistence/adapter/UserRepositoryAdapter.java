@@ -10,7 +10,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
@@ -38,6 +41,14 @@ public class UserRepositoryAdapter implements UserRepository {
                 .map(userMapper::toDomain);
     }
 
+    @Override
+    public List<User> findAllById(Collection<Long> ids) {
+        return jpaUserRepository.findAllById(ids)
+                .stream()
+                .map(userMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public Page<User> findAll(Pageable pageable) {
         return jpaUserRepository.findAll(pageable)
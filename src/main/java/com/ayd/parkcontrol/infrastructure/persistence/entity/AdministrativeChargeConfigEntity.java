@@ -1,5 +1,6 @@
 package com.ayd.parkcontrol.infrastructure.persistence.entity;
 
+import com.ayd.parkcontrol.infrastructure.audit.Audited;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -10,6 +11,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
+@Audited(module = "Administracion")
 @Table(name = "administrative_charge_config")
 @Data
 @NoArgsConstructor
@@ -1,5 +1,6 @@
 package com.ayd.parkcontrol.infrastructure.persistence.entity;
 
+import com.ayd.parkcontrol.infrastructure.audit.Audited;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -15,6 +16,7 @@ import java.time.LocalDateTime;
  * específicas
  */
 @Entity
+@Audited(module = "Comercios")
 @Table(name = "affiliated_businesses")
 @Data
 @Builder
@@ -1,5 +1,6 @@
 package com.ayd.parkcontrol.infrastructure.persistence.entity;
 
+import com.ayd.parkcontrol.infrastructure.audit.Audited;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -9,6 +10,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
+@Audited(module = "Comercios")
 @Table(name = "branch_businesses")
 @Data
 @Builder
@@ -1,5 +1,6 @@
 package com.ayd.parkcontrol.infrastructure.persistence.entity;
 
+import com.ayd.parkcontrol.infrastructure.audit.Audited;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -11,6 +12,7 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 @Entity
+@Audited(module = "Administracion")
 @Table(name = "branches")
 @Data
 @Builder
@@ -0,0 +1,52 @@
+package com.ayd.parkcontrol.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Muestras de ocupación de una sucursal y tipo de vehículo agregadas por hora.
+ */
+@Entity
+@Table(name = "occupancy_hourly")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OccupancyHourlyEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "branch_id", nullable = false)
+    private Long branchId;
+
+    @Column(name = "vehicle_type_id", nullable = false)
+    private Integer vehicleTypeId;
+
+    @Column(name = "hour_start", nullable = false)
+    private LocalDateTime hourStart;
+
+    @Column(nullable = false)
+    private Integer samples;
+
+    @Column(name = "occupancy_sum", nullable = false)
+    private Long occupancySum;
+
+    @Column(name = "peak_occupancy", nullable = false)
+    private Integer peakOccupancy;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
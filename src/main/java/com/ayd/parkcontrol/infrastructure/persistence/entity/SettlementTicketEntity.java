@@ -18,7 +18,9 @@ import java.time.LocalDateTime;
 public class SettlementTicketEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "settlement_tickets_id")
+    @TableGenerator(name = "settlement_tickets_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "settlement_tickets", allocationSize = 50)
     private Long id;
 
     @Column(name = "settlement_id", nullable = false)
@@ -0,0 +1,47 @@
+package com.ayd.parkcontrol.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Renovación automática aplicada a una suscripción. La pareja
+ * (subscription_id, period_end) es única: identifica el periodo que se
+ * renovó e impide renovarlo dos veces aunque una corrida se repita.
+ */
+@Entity
+@Table(name = "subscription_renewals", uniqueConstraints = @UniqueConstraint(name = "uk_subscription_renewal_period", columnNames = {
+        "subscription_id", "period_end" }))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubscriptionRenewalEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    @Column(name = "subscription_id", nullable = false)
+    private Long subscriptionId;
+
+    @Column(name = "period_end", nullable = false)
+    private LocalDateTime periodEnd;
+
+    @Column(name = "new_end_date", nullable = false)
+    private LocalDateTime newEndDate;
+
+    @Column(name = "frozen_rate_base", nullable = false, precision = 10, scale = 2)
+    private BigDecimal frozenRateBase;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
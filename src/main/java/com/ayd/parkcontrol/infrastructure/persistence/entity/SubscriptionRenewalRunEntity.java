@@ -0,0 +1,72 @@
+package com.ayd.parkcontrol.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Corrida de renovación automática de suscripciones. Guarda la ventana de
+ * vencimientos que procesa, el último id de suscripción confirmado
+ * (checkpoint) y los contadores, de modo que una corrida interrumpida se
+ * retome donde quedó y sirva como reporte.
+ */
+@Entity
+@Table(name = "subscription_renewal_runs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubscriptionRenewalRunEntity {
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    @Column(name = "window_start", nullable = false)
+    private LocalDateTime windowStart;
+
+    @Column(name = "window_end", nullable = false)
+    private LocalDateTime windowEnd;
+
+    @Column(name = "last_subscription_id", nullable = false)
+    private Long lastSubscriptionId;
+
+    @Column(nullable = false)
+    private Integer renewed;
+
+    @Column(nullable = false)
+    private Integer skipped;
+
+    @Column(nullable = false)
+    private Integer failed;
+
+    @Column(nullable = false)
+    private Integer chunks;
+
+    @Column(nullable = false)
+    private Integer resumes;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
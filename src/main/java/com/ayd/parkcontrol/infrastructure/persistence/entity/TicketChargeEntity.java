@@ -17,8 +17,13 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class TicketChargeEntity {
 
+    // Cada instancia reserva bloques de 50 IDs, así que un cobro nuevo puede
+    // tener un ID menor que otros ya guardados; no usar MAX(id) como marca de
+    // cambios (ver JpaTicketChargeRepository#summarizeChargesBefore)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "ticket_charges_id")
+    @TableGenerator(name = "ticket_charges_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "ticket_charges", allocationSize = 50)
     private Long id;
 
     @Column(name = "ticket_id", nullable = false)
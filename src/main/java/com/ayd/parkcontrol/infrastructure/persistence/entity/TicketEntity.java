@@ -17,7 +17,9 @@ import java.time.LocalDateTime;
 public class TicketEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "tickets_id")
+    @TableGenerator(name = "tickets_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "tickets", allocationSize = 50)
     private Long id;
 
     @Column(name = "branch_id", nullable = false)
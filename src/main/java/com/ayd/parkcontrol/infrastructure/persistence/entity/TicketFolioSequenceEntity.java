@@ -0,0 +1,34 @@
+package com.ayd.parkcontrol.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "ticket_folio_sequences")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketFolioSequenceEntity {
+
+    @Id
+    @Column(name = "branch_id")
+    private Long branchId;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
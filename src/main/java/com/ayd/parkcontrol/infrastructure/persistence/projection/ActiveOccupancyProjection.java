@@ -0,0 +1,14 @@
+package com.ayd.parkcontrol.infrastructure.persistence.projection;
+
+/**
+ * Proyección de los tickets activos (sin salida) agrupados por sucursal y
+ * código de tipo de vehículo.
+ */
+public interface ActiveOccupancyProjection {
+
+    Long getBranchId();
+
+    String getVehicleType();
+
+    Long getTotal();
+}
@@ -0,0 +1,15 @@
+package com.ayd.parkcontrol.infrastructure.persistence.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Proyección de un conteo y una suma de montos agrupados por sucursal.
+ */
+public interface BranchAmountProjection {
+
+    Long getBranchId();
+
+    Long getTotal();
+
+    BigDecimal getAmount();
+}
@@ -0,0 +1,11 @@
+package com.ayd.parkcontrol.infrastructure.persistence.projection;
+
+/**
+ * Proyección de un conteo agrupado por sucursal.
+ */
+public interface BranchCountProjection {
+
+    Long getBranchId();
+
+    Long getTotal();
+}
@@ -0,0 +1,19 @@
+package com.ayd.parkcontrol.infrastructure.persistence.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Fila agregada por sucursal para los reportes de facturación y corte de
+ * caja: identifica la sucursal e incluye el total de tickets y el monto
+ * cobrado en el periodo.
+ */
+public interface BranchReportProjection {
+
+    Long getBranchId();
+
+    String getBranchName();
+
+    Long getTotalTickets();
+
+    BigDecimal getTotalAmount();
+}
@@ -0,0 +1,13 @@
+package com.ayd.parkcontrol.infrastructure.persistence.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Proyección de un conteo y una suma de montos sin agrupación.
+ */
+public interface CountAmountProjection {
+
+    Long getTotal();
+
+    BigDecimal getAmount();
+}
@@ -0,0 +1,13 @@
+package com.ayd.parkcontrol.infrastructure.persistence.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de un conteo de registros y la fecha de creación más reciente.
+ */
+public interface CountLastCreatedProjection {
+
+    Long getTotal();
+
+    LocalDateTime getLastCreatedAt();
+}
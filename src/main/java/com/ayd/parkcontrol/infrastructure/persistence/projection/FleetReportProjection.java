@@ -0,0 +1,31 @@
+package com.ayd.parkcontrol.infrastructure.persistence.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Fila agregada por empresa flotillera para el reporte de flotillas: datos
+ * de la empresa y de sus vehículos, como en {@code v_fleet_statistics}, más
+ * el consumo de sus placas activas en el periodo.
+ */
+public interface FleetReportProjection {
+
+    Long getCompanyId();
+
+    String getCompanyName();
+
+    String getTaxId();
+
+    Integer getPlateLimit();
+
+    String getPaymentStatus();
+
+    Long getTotalVehicles();
+
+    Long getActiveVehicles();
+
+    Long getTotalEntries();
+
+    BigDecimal getTotalHours();
+
+    BigDecimal getTotalAmount();
+}
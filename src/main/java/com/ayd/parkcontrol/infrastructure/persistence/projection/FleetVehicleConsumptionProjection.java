@@ -0,0 +1,29 @@
+package com.ayd.parkcontrol.infrastructure.persistence.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Proyección del consumo de un vehículo de flotilla. Cada fila incluye
+ * además los totales de la flotilla calculados sobre el mismo resultado
+ * agrupado, de modo que son iguales en todas las filas de la consulta.
+ */
+public interface FleetVehicleConsumptionProjection {
+
+    String getLicensePlate();
+
+    String getAssignedEmployee();
+
+    Long getEntriesCount();
+
+    BigDecimal getHoursConsumed();
+
+    BigDecimal getAmountCharged();
+
+    Long getTotalVehicles();
+
+    Long getTotalEntries();
+
+    BigDecimal getTotalHoursConsumed();
+
+    BigDecimal getTotalAmountCharged();
+}
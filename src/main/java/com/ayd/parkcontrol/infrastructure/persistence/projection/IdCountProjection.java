@@ -0,0 +1,11 @@
+package com.ayd.parkcontrol.infrastructure.persistence.projection;
+
+/**
+ * Proyección de un conteo agrupado por un identificador.
+ */
+public interface IdCountProjection {
+
+    Long getId();
+
+    Long getTotal();
+}
@@ -0,0 +1,22 @@
+package com.ayd.parkcontrol.infrastructure.persistence.projection;
+
+/**
+ * Proyección de las muestras de ocupación agregadas por sucursal, tipo de
+ * vehículo, día de la semana (1 = domingo) y hora del día.
+ */
+public interface OccupancyHeatmapProjection {
+
+    Long getBranchId();
+
+    Integer getVehicleTypeId();
+
+    Integer getDayOfWeek();
+
+    Integer getHourOfDay();
+
+    Integer getPeakOccupancy();
+
+    Long getOccupancySum();
+
+    Long getSamples();
+}
@@ -0,0 +1,18 @@
+package com.ayd.parkcontrol.infrastructure.persistence.projection;
+
+/**
+ * Proyección de las muestras de ocupación agregadas por sucursal y tipo de
+ * vehículo en un rango de horas.
+ */
+public interface OccupancyStatsProjection {
+
+    Long getBranchId();
+
+    Integer getVehicleTypeId();
+
+    Integer getPeakOccupancy();
+
+    Long getOccupancySum();
+
+    Long getSamples();
+}
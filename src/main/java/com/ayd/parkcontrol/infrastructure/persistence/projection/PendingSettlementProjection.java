@@ -0,0 +1,18 @@
+package com.ayd.parkcontrol.infrastructure.persistence.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Proyección de las horas gratis pendientes de liquidar agrupadas por
+ * comercio y sucursal, equivalente a {@code v_pending_business_settlements}.
+ */
+public interface PendingSettlementProjection {
+
+    Long getBusinessId();
+
+    Long getBranchId();
+
+    Long getTicketCount();
+
+    BigDecimal getTotalHours();
+}
@@ -1,9 +1,10 @@
 package com.ayd.parkcontrol.infrastructure.persistence.repository;
 
 import com.ayd.parkcontrol.infrastructure.persistence.entity.AuditLogEntity;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -12,11 +13,42 @@ import java.util.List;
 @Repository
 public interface JpaAuditLogRepository extends JpaRepository<AuditLogEntity, Long> {
 
-    Page<AuditLogEntity> findByUserId(Long userId, Pageable pageable);
-
-    Page<AuditLogEntity> findByModule(String module, Pageable pageable);
-
-    Page<AuditLogEntity> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
+    /**
+     * Página keyset sobre {@code (created_at, id)}: en lugar de un OFFSET
+     * continúa desde el último registro entregado, así que cualquier página
+     * cuesta lo mismo que la primera. Con rango de fechas MariaDB solo lee
+     * las particiones mensuales que lo cubren.
+     */
+    @Query("""
+            SELECT a FROM AuditLogEntity a
+            WHERE (:userId IS NULL OR a.userId = :userId)
+              AND (:module IS NULL OR a.module = :module)
+              AND (:startDate IS NULL OR a.createdAt >= :startDate)
+              AND (:endDate IS NULL OR a.createdAt <= :endDate)
+              AND (:afterCreatedAt IS NULL
+                   OR a.createdAt < :afterCreatedAt
+                   OR (a.createdAt = :afterCreatedAt AND a.id < :afterId))
+            ORDER BY a.createdAt DESC, a.id DESC
+            """)
+    List<AuditLogEntity> findPage(@Param("userId") Long userId,
+            @Param("module") String module,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    @Query("""
+            SELECT COUNT(a) FROM AuditLogEntity a
+            WHERE (:userId IS NULL OR a.userId = :userId)
+              AND (:module IS NULL OR a.module = :module)
+              AND (:startDate IS NULL OR a.createdAt >= :startDate)
+              AND (:endDate IS NULL OR a.createdAt <= :endDate)
+            """)
+    long countFiltered(@Param("userId") Long userId,
+            @Param("module") String module,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
 
     List<AuditLogEntity> findByUserIdAndCreatedAtBetween(Long userId, LocalDateTime startDate, LocalDateTime endDate);
 
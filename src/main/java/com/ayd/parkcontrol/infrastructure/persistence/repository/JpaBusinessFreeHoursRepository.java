@@ -1,6 +1,7 @@
 package com.ayd.parkcontrol.infrastructure.persistence.repository;
 
 import com.ayd.parkcontrol.infrastructure.persistence.entity.BusinessFreeHoursEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.PendingSettlementProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -25,6 +26,13 @@ public interface JpaBusinessFreeHoursRepository extends JpaRepository<BusinessFr
             @Param("endDate") LocalDateTime endDate);
 
     @Modifying
-    @Query("UPDATE BusinessFreeHoursEntity bfh SET bfh.isSettled = true WHERE bfh.id IN :ids")
-    void markAsSettled(@Param("ids") List<Long> ids);
+    @Query("UPDATE BusinessFreeHoursEntity bfh SET bfh.isSettled = true WHERE bfh.id IN :ids AND bfh.isSettled = false")
+    int markAsSettled(@Param("ids") List<Long> ids);
+
+    @Query("SELECT bfh.businessId AS businessId, bfh.branchId AS branchId, COUNT(bfh) AS ticketCount, "
+            + "SUM(bfh.grantedHours) AS totalHours FROM BusinessFreeHoursEntity bfh "
+            + "WHERE bfh.isSettled = false AND bfh.grantedAt BETWEEN :startDate AND :endDate "
+            + "GROUP BY bfh.businessId, bfh.branchId ORDER BY bfh.businessId, bfh.branchId")
+    List<PendingSettlementProjection> findPendingSettlementGroups(@Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
 }
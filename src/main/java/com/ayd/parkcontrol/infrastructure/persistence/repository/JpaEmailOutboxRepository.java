@@ -0,0 +1,82 @@
+package com.ayd.parkcontrol.infrastructure.persistence.repository;
+
+import com.ayd.parkcontrol.infrastructure.persistence.entity.EmailOutboxEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.EmailOutboxEntity.Status;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface JpaEmailOutboxRepository extends JpaRepository<EmailOutboxEntity, Long> {
+
+    @Query("""
+            SELECT e.id FROM EmailOutboxEntity e
+            WHERE e.status = :status AND e.nextAttemptAt <= :now
+            ORDER BY e.nextAttemptAt, e.id
+            """)
+    List<Long> findDueIds(@Param("status") Status status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Reclama los correos indicados que sigan pendientes. Solo una instancia
+     * logra cambiar cada fila, las demás ven 0 filas afectadas.
+     */
+    @Modifying
+    @Query("""
+            UPDATE EmailOutboxEntity e
+            SET e.status = :sending, e.claimToken = :token, e.claimedAt = :now
+            WHERE e.id IN :ids AND e.status = :pending
+            """)
+    int claim(@Param("ids") Collection<Long> ids, @Param("token") String token, @Param("now") LocalDateTime now,
+            @Param("sending") Status sending, @Param("pending") Status pending);
+
+    List<EmailOutboxEntity> findByClaimTokenAndStatus(String claimToken, Status status);
+
+    @Modifying
+    @Query("""
+            UPDATE EmailOutboxEntity e
+            SET e.status = :sent, e.attempts = :attempts, e.sentAt = :now, e.lastError = NULL, e.claimToken = NULL
+            WHERE e.id = :id AND e.status = :sending
+            """)
+    int markSent(@Param("id") Long id, @Param("attempts") int attempts, @Param("now") LocalDateTime now,
+            @Param("sent") Status sent, @Param("sending") Status sending);
+
+    @Modifying
+    @Query("""
+            UPDATE EmailOutboxEntity e
+            SET e.status = :status, e.attempts = :attempts, e.nextAttemptAt = :nextAttemptAt,
+                e.lastError = :error, e.claimToken = NULL
+            WHERE e.id = :id AND e.status = :sending
+            """)
+    int markFailed(@Param("id") Long id, @Param("status") Status status, @Param("attempts") int attempts,
+            @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error,
+            @Param("sending") Status sending);
+
+    /**
+     * Devuelve a pendiente los correos reclamados por una instancia que no
+     * terminó de enviarlos (caída o reinicio a mitad del envío).
+     */
+    @Modifying
+    @Query("""
+            UPDATE EmailOutboxEntity e
+            SET e.status = :pending, e.claimToken = NULL
+            WHERE e.status = :sending AND e.claimedAt < :staleBefore
+            """)
+    int releaseStale(@Param("staleBefore") LocalDateTime staleBefore, @Param("pending") Status pending,
+            @Param("sending") Status sending);
+
+    long countByStatus(Status status);
+
+    @Query("SELECT MIN(e.createdAt) FROM EmailOutboxEntity e WHERE e.status = :status")
+    LocalDateTime findOldestCreatedAt(@Param("status") Status status);
+
+    @Modifying
+    @Query("DELETE FROM EmailOutboxEntity e WHERE e.status = :status AND e.sentAt < :cutoff")
+    int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff, @Param("status") Status status);
+}
@@ -1,15 +1,21 @@
 package com.ayd.parkcontrol.infrastructure.persistence.repository;
 
 import com.ayd.parkcontrol.infrastructure.persistence.entity.FleetCompanyEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.FleetReportProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface JpaFleetCompanyRepository extends JpaRepository<FleetCompanyEntity, Long> {
@@ -56,4 +62,68 @@ public interface JpaFleetCompanyRepository extends JpaRepository<FleetCompanyEnt
                         AND fv.isActive = true
                         """)
         Long countActiveVehiclesByCompanyId(@Param("companyId") Long companyId);
+
+        /**
+         * Última modificación de una empresa flotillera. Junto con
+         * {@link JpaFleetVehicleRepository#findLastModifiedAt()} forma la marca de agua del
+         * reporte de flotillas.
+         */
+        @Query("SELECT MAX(COALESCE(fc.updatedAt, fc.createdAt)) FROM FleetCompanyEntity fc")
+        LocalDateTime findLastModifiedAt();
+
+        /**
+         * Reporte de flotillas activas en una sola consulta agrupada: datos de
+         * {@code v_fleet_statistics} más las entradas, horas y monto cobrado a
+         * las placas activas de cada empresa para tickets con entrada en
+         * [startDate, endDate) (sin límite si son nulos). Si companyId no es
+         * nulo se limita a esa empresa.
+         *
+         * Se lee como cursor con fetch size para que las exportaciones consuman
+         * las filas a medida que llegan; debe cerrarse dentro de una transacción.
+         */
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+        @Query(value = """
+                        SELECT fc.id AS companyId,
+                               fc.name AS companyName,
+                               fc.tax_id AS taxId,
+                               fc.plate_limit AS plateLimit,
+                               CASE
+                                   WHEN fc.months_unpaid >= 2 THEN 'BLOQUEADO'
+                                   WHEN fc.months_unpaid = 1 THEN 'ADVERTENCIA'
+                                   ELSE 'ACTIVO'
+                               END AS paymentStatus,
+                               COALESCE(veh.total_vehicles, 0) AS totalVehicles,
+                               COALESCE(veh.active_vehicles, 0) AS activeVehicles,
+                               COALESCE(usage_agg.total_entries, 0) AS totalEntries,
+                               COALESCE(usage_agg.total_hours, 0) AS totalHours,
+                               COALESCE(usage_agg.total_amount, 0) AS totalAmount
+                        FROM fleet_companies fc
+                        LEFT JOIN (
+                            SELECT fv.company_id,
+                                   COUNT(*) AS total_vehicles,
+                                   SUM(CASE WHEN fv.is_active = TRUE THEN 1 ELSE 0 END) AS active_vehicles
+                            FROM fleet_vehicles fv
+                            GROUP BY fv.company_id
+                        ) veh ON veh.company_id = fc.id
+                        LEFT JOIN (
+                            SELECT fv.company_id,
+                                   COUNT(DISTINCT t.id) AS total_entries,
+                                   SUM(tc.total_hours) AS total_hours,
+                                   SUM(tc.total_amount) AS total_amount
+                            FROM fleet_vehicles fv
+                            INNER JOIN tickets t ON t.license_plate = fv.license_plate
+                            LEFT JOIN ticket_charges tc ON tc.ticket_id = t.id
+                            WHERE fv.is_active = TRUE
+                              AND (:companyId IS NULL OR fv.company_id = :companyId)
+                              AND (:startDate IS NULL OR t.entry_time >= :startDate)
+                              AND (:endDate IS NULL OR t.entry_time < :endDate)
+                            GROUP BY fv.company_id
+                        ) usage_agg ON usage_agg.company_id = fc.id
+                        WHERE fc.is_active = TRUE
+                          AND (:companyId IS NULL OR fc.id = :companyId)
+                        ORDER BY fc.name, fc.id
+                        """, nativeQuery = true)
+        Stream<FleetReportProjection> summarizeFleets(@Param("companyId") Long companyId,
+                        @Param("startDate") LocalDateTime startDate,
+                        @Param("endDate") LocalDateTime endDate);
 }
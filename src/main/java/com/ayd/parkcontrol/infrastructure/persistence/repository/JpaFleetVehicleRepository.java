@@ -1,6 +1,7 @@
 package com.ayd.parkcontrol.infrastructure.persistence.repository;
 
 import com.ayd.parkcontrol.infrastructure.persistence.entity.FleetVehicleEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.FleetVehicleConsumptionProjection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -85,4 +87,53 @@ public interface JpaFleetVehicleRepository extends JpaRepository<FleetVehicleEnt
                         AND fv.isActive = true
                         """)
         boolean existsActiveLicensePlate(@Param("licensePlate") String licensePlate);
+
+        /**
+         * Última modificación de un vehículo de flotilla. Forma parte de la
+         * marca de agua del reporte de flotillas.
+         */
+        @Query("SELECT MAX(COALESCE(fv.updatedAt, fv.createdAt)) FROM FleetVehicleEntity fv")
+        LocalDateTime findLastModifiedAt();
+
+        /**
+         * Consumo por placa de los vehículos activos de una flotilla en una
+         * sola consulta agrupada: tickets con entrada en [startDate, endDate)
+         * (sin límite si son nulos) y sus cobros. Los totales de la flotilla
+         * se calculan con funciones de ventana sobre el resultado agrupado
+         * antes de aplicar la paginación.
+         */
+        @Query(value = """
+                        SELECT g.license_plate AS licensePlate,
+                               g.assigned_employee AS assignedEmployee,
+                               g.entries_count AS entriesCount,
+                               g.hours_consumed AS hoursConsumed,
+                               g.amount_charged AS amountCharged,
+                               COUNT(*) OVER () AS totalVehicles,
+                               SUM(g.entries_count) OVER () AS totalEntries,
+                               SUM(g.hours_consumed) OVER () AS totalHoursConsumed,
+                               SUM(g.amount_charged) OVER () AS totalAmountCharged
+                        FROM (
+                            SELECT fv.license_plate,
+                                   MAX(fv.assigned_employee) AS assigned_employee,
+                                   COUNT(DISTINCT t.id) AS entries_count,
+                                   COALESCE(SUM(tc.total_hours), 0) AS hours_consumed,
+                                   COALESCE(SUM(tc.total_amount), 0) AS amount_charged
+                            FROM fleet_vehicles fv
+                            LEFT JOIN tickets t ON t.license_plate = fv.license_plate
+                                AND (:startDate IS NULL OR t.entry_time >= :startDate)
+                                AND (:endDate IS NULL OR t.entry_time < :endDate)
+                            LEFT JOIN ticket_charges tc ON tc.ticket_id = t.id
+                            WHERE fv.company_id = :companyId
+                              AND fv.is_active = true
+                            GROUP BY fv.license_plate
+                        ) g
+                        ORDER BY g.license_plate
+                        LIMIT :limit OFFSET :offset
+                        """, nativeQuery = true)
+        List<FleetVehicleConsumptionProjection> findConsumptionByCompanyId(
+                        @Param("companyId") Long companyId,
+                        @Param("startDate") LocalDateTime startDate,
+                        @Param("endDate") LocalDateTime endDate,
+                        @Param("limit") int limit,
+                        @Param("offset") long offset);
 }
@@ -1,11 +1,13 @@
 package com.ayd.parkcontrol.infrastructure.persistence.repository;
 
 import com.ayd.parkcontrol.infrastructure.persistence.entity.IncidentEvidenceEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.IdCountProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -20,6 +22,14 @@ public interface JpaIncidentEvidenceRepository extends JpaRepository<IncidentEvi
     @Query("SELECT COUNT(e) FROM IncidentEvidenceEntity e WHERE e.incidentId = :incidentId")
     Long countByIncidentId(@Param("incidentId") Long incidentId);
 
+    @Query("""
+                SELECT e.incidentId AS id, COUNT(e) AS total
+                FROM IncidentEvidenceEntity e
+                WHERE e.incidentId IN :incidentIds
+                GROUP BY e.incidentId
+            """)
+    List<IdCountProjection> countGroupedByIncidentIds(@Param("incidentIds") Collection<Long> incidentIds);
+
     @Query("SELECT e FROM IncidentEvidenceEntity e WHERE e.incidentId = :incidentId AND e.documentTypeId = :documentTypeId")
     List<IncidentEvidenceEntity> findByIncidentAndDocumentType(@Param("incidentId") Long incidentId,
             @Param("documentTypeId") Integer documentTypeId);
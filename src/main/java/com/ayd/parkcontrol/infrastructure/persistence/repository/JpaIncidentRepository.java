@@ -1,6 +1,7 @@
 package com.ayd.parkcontrol.infrastructure.persistence.repository;
 
 import com.ayd.parkcontrol.infrastructure.persistence.entity.IncidentEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.BranchCountProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -40,4 +41,12 @@ public interface JpaIncidentRepository extends JpaRepository<IncidentEntity, Lon
 
     @Query("SELECT COUNT(i) FROM IncidentEntity i WHERE i.isResolved = false")
     Long countAllUnresolved();
+
+    @Query("""
+                SELECT i.branchId AS branchId, COUNT(i) AS total
+                FROM IncidentEntity i
+                WHERE i.isResolved = false
+                GROUP BY i.branchId
+            """)
+    List<BranchCountProjection> countUnresolvedGroupedByBranch();
 }
@@ -0,0 +1,70 @@
+package com.ayd.parkcontrol.infrastructure.persistence.repository;
+
+import com.ayd.parkcontrol.infrastructure.persistence.entity.OccupancyHourlyEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.OccupancyHeatmapProjection;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.OccupancyStatsProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface JpaOccupancyHourlyRepository extends JpaRepository<OccupancyHourlyEntity, Long> {
+
+    List<OccupancyHourlyEntity> findByHourStartIn(Collection<LocalDateTime> hourStarts);
+
+    /**
+     * Pico y suma de muestras por sucursal y tipo de vehículo en el rango
+     * [start, end). Los límites nulos no restringen el rango.
+     */
+    @Query("""
+                        SELECT o.branchId AS branchId, o.vehicleTypeId AS vehicleTypeId,
+                               MAX(o.peakOccupancy) AS peakOccupancy,
+                               SUM(o.occupancySum) AS occupancySum,
+                               SUM(o.samples) AS samples
+                        FROM OccupancyHourlyEntity o
+                        WHERE (:start IS NULL OR o.hourStart >= :start)
+                          AND (:end IS NULL OR o.hourStart < :end)
+                        GROUP BY o.branchId, o.vehicleTypeId
+                    """)
+    List<OccupancyStatsProjection> summarize(@Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    /**
+     * Muestras agregadas por día de la semana y hora del día en el rango
+     * [start, end), para todas las sucursales o solo una.
+     */
+    @Query("""
+                        SELECT o.branchId AS branchId, o.vehicleTypeId AS vehicleTypeId,
+                               EXTRACT(DAY OF WEEK FROM o.hourStart) AS dayOfWeek,
+                               EXTRACT(HOUR FROM o.hourStart) AS hourOfDay,
+                               MAX(o.peakOccupancy) AS peakOccupancy,
+                               SUM(o.occupancySum) AS occupancySum,
+                               SUM(o.samples) AS samples
+                        FROM OccupancyHourlyEntity o
+                        WHERE (:branchId IS NULL OR o.branchId = :branchId)
+                          AND (:start IS NULL OR o.hourStart >= :start)
+                          AND (:end IS NULL OR o.hourStart < :end)
+                        GROUP BY o.branchId, o.vehicleTypeId,
+                                 EXTRACT(DAY OF WEEK FROM o.hourStart), EXTRACT(HOUR FROM o.hourStart)
+                        ORDER BY o.branchId, o.vehicleTypeId,
+                                 EXTRACT(DAY OF WEEK FROM o.hourStart), EXTRACT(HOUR FROM o.hourStart)
+                    """)
+    List<OccupancyHeatmapProjection> summarizeByWeekdayAndHour(@Param("branchId") Long branchId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    @Query("SELECT MAX(o.updatedAt) FROM OccupancyHourlyEntity o")
+    LocalDateTime findLastUpdatedAt();
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OccupancyHourlyEntity o WHERE o.hourStart < :cutoff")
+    int deleteByHourStartBefore(@Param("cutoff") LocalDateTime cutoff);
+}
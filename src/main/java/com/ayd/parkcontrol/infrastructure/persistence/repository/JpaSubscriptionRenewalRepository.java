@@ -0,0 +1,14 @@
+package com.ayd.parkcontrol.infrastructure.persistence.repository;
+
+import com.ayd.parkcontrol.infrastructure.persistence.entity.SubscriptionRenewalEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface JpaSubscriptionRenewalRepository extends JpaRepository<SubscriptionRenewalEntity, Long> {
+
+    List<SubscriptionRenewalEntity> findBySubscriptionIdIn(Collection<Long> subscriptionIds);
+}
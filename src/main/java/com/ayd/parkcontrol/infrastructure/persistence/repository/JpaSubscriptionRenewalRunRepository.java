@@ -0,0 +1,17 @@
+package com.ayd.parkcontrol.infrastructure.persistence.repository;
+
+import com.ayd.parkcontrol.infrastructure.persistence.entity.SubscriptionRenewalRunEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface JpaSubscriptionRenewalRunRepository extends JpaRepository<SubscriptionRenewalRunEntity, Long> {
+
+    Optional<SubscriptionRenewalRunEntity> findFirstByOrderByIdDesc();
+
+    List<SubscriptionRenewalRunEntity> findAllByOrderByIdDesc(Pageable pageable);
+}
@@ -1,6 +1,7 @@
 package com.ayd.parkcontrol.infrastructure.persistence.repository;
 
 import com.ayd.parkcontrol.infrastructure.persistence.entity.SubscriptionEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.CountAmountProjection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -90,6 +92,39 @@ public interface JpaSubscriptionRepository extends JpaRepository<SubscriptionEnt
                         @Param("startDate") LocalDateTime startDate,
                         @Param("endDate") LocalDateTime endDate);
 
+        /**
+         * Ids de suscripciones con auto-renovación que vencen en la ventana,
+         * en orden de id a partir de {@code afterId} (paginación por llave).
+         */
+        @Query("""
+                            SELECT s.id FROM SubscriptionEntity s
+                            WHERE s.statusTypeId = :statusTypeId
+                            AND s.autoRenewEnabled = true
+                            AND s.endDate BETWEEN :startDate AND :endDate
+                            AND s.id > :afterId
+                            ORDER BY s.id
+                        """)
+        List<Long> findAutoRenewCandidateIds(
+                        @Param("statusTypeId") Integer statusTypeId,
+                        @Param("startDate") LocalDateTime startDate,
+                        @Param("endDate") LocalDateTime endDate,
+                        @Param("afterId") Long afterId,
+                        Pageable pageable);
+
+        @Query("""
+                            SELECT s FROM SubscriptionEntity s
+                            JOIN FETCH s.plan sp
+                            JOIN FETCH sp.planType spt
+                            LEFT JOIN FETCH s.user u
+                            WHERE s.id IN :ids
+                            AND s.statusTypeId = :statusTypeId
+                            AND s.autoRenewEnabled = true
+                            ORDER BY s.id
+                        """)
+        List<SubscriptionEntity> findAutoRenewCandidates(
+                        @Param("ids") Collection<Long> ids,
+                        @Param("statusTypeId") Integer statusTypeId);
+
         @Query("""
                             SELECT COUNT(s) > 0 FROM SubscriptionEntity s
                             WHERE s.licensePlate = :licensePlate
@@ -111,4 +146,49 @@ public interface JpaSubscriptionRepository extends JpaRepository<SubscriptionEnt
                         @Param("licensePlate") String licensePlate,
                         @Param("excludeId") Long excludeId,
                         @Param("now") LocalDateTime now);
+
+        /**
+         * Contar suscripciones vigentes (fecha de fin posterior a la indicada)
+         */
+        @Query("SELECT COUNT(s) FROM SubscriptionEntity s WHERE s.endDate > :now")
+        long countByEndDateAfter(@Param("now") LocalDateTime now);
+
+        /**
+         * Contar y sumar las compras de suscripciones en un rango de fechas
+         */
+        @Query("""
+                            SELECT COUNT(s) AS total, COALESCE(SUM(s.frozenRateBase), 0) AS amount
+                            FROM SubscriptionEntity s
+                            WHERE s.purchaseDate >= :startDate AND s.purchaseDate < :endDate
+                        """)
+        CountAmountProjection sumPurchasesBetween(@Param("startDate") LocalDateTime startDate,
+                        @Param("endDate") LocalDateTime endDate);
+
+        /**
+         * Suscripciones vigentes con su tipo de plan. Usado para reconstruir el
+         * índice de placas activas.
+         */
+        @Query("""
+                            SELECT s FROM SubscriptionEntity s
+                            JOIN FETCH s.plan sp
+                            JOIN FETCH sp.planType spt
+                            WHERE s.statusTypeId = (SELECT st.id FROM SubscriptionStatusTypeEntity st WHERE st.code = 'ACTIVE')
+                            AND s.endDate > :now
+                        """)
+        List<SubscriptionEntity> findAllActiveWithPlanType(@Param("now") LocalDateTime now);
+
+        /**
+         * Suscripción vigente de una placa con su tipo de plan.
+         */
+        @Query("""
+                            SELECT s FROM SubscriptionEntity s
+                            JOIN FETCH s.plan sp
+                            JOIN FETCH sp.planType spt
+                            WHERE s.licensePlate = :licensePlate
+                            AND s.statusTypeId = (SELECT st.id FROM SubscriptionStatusTypeEntity st WHERE st.code = 'ACTIVE')
+                            AND s.endDate > :now
+                        """)
+        Optional<SubscriptionEntity> findActiveWithPlanTypeByLicensePlate(
+                        @Param("licensePlate") String licensePlate,
+                        @Param("now") LocalDateTime now);
 }
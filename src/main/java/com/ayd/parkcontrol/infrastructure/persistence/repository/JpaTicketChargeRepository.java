@@ -1,10 +1,21 @@
 package com.ayd.parkcontrol.infrastructure.persistence.repository;
 
 import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketChargeEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.BranchAmountProjection;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.BranchReportProjection;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.CountLastCreatedProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface JpaTicketChargeRepository extends JpaRepository<TicketChargeEntity, Long> {
@@ -13,4 +24,87 @@ public interface JpaTicketChargeRepository extends JpaRepository<TicketChargeEnt
      * Buscar cargo por ticket ID
      */
     Optional<TicketChargeEntity> findByTicketId(Long ticketId);
+
+    /**
+     * Contar y sumar los cobros registrados en un rango de fechas, agrupados por
+     * la sucursal del ticket.
+     */
+    @Query("""
+                SELECT t.branchId AS branchId, COUNT(c) AS total, COALESCE(SUM(c.totalAmount), 0) AS amount
+                FROM TicketChargeEntity c
+                JOIN TicketEntity t ON t.id = c.ticketId
+                WHERE c.createdAt >= :startDate AND c.createdAt < :endDate
+                GROUP BY t.branchId
+            """)
+    List<BranchAmountProjection> sumChargesGroupedByBranch(@Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Resumen de facturación por sucursal: cobros registrados y monto total en
+     * el rango [startDate, endDate). Incluye todas las sucursales, con cero si
+     * no tuvieron cobros. Si un límite es nulo el rango queda abierto.
+     *
+     * Se lee como cursor con fetch size para que las exportaciones consuman
+     * las filas a medida que llegan; debe cerrarse dentro de una transacción.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(value = """
+                SELECT b.id AS branchId,
+                       b.name AS branchName,
+                       COALESCE(agg.total_tickets, 0) AS totalTickets,
+                       COALESCE(agg.total_amount, 0) AS totalAmount
+                FROM branches b
+                LEFT JOIN (
+                    SELECT t.branch_id,
+                           COUNT(c.id) AS total_tickets,
+                           SUM(c.total_amount) AS total_amount
+                    FROM ticket_charges c
+                    INNER JOIN tickets t ON t.id = c.ticket_id
+                    WHERE (:startDate IS NULL OR c.created_at >= :startDate)
+                      AND (:endDate IS NULL OR c.created_at < :endDate)
+                    GROUP BY t.branch_id
+                ) agg ON agg.branch_id = b.id
+                ORDER BY b.id
+            """, nativeQuery = true)
+    Stream<BranchReportProjection> summarizeBillingByBranch(@Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Resumen de corte de caja por sucursal: tickets ingresados en el rango
+     * [startDate, endDate) y el efectivo cobrado por esos tickets. Incluye
+     * todas las sucursales, con cero si no tuvieron movimiento.
+     */
+    @Query(value = """
+                SELECT b.id AS branchId,
+                       b.name AS branchName,
+                       COALESCE(agg.total_tickets, 0) AS totalTickets,
+                       COALESCE(agg.total_amount, 0) AS totalAmount
+                FROM branches b
+                LEFT JOIN (
+                    SELECT t.branch_id,
+                           COUNT(DISTINCT t.id) AS total_tickets,
+                           SUM(c.total_amount) AS total_amount
+                    FROM tickets t
+                    LEFT JOIN ticket_charges c ON c.ticket_id = t.id
+                    WHERE t.entry_time >= :startDate AND t.entry_time < :endDate
+                    GROUP BY t.branch_id
+                ) agg ON agg.branch_id = b.id
+                ORDER BY b.id
+            """, nativeQuery = true)
+    List<BranchReportProjection> summarizeCashClosingByBranch(@Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Cantidad de cobros registrados antes de la fecha indicada (o en total si
+     * es nula) y la fecha del más reciente. Sirve como marca de agua para la
+     * caché de reportes: los IDs se asignan por bloques en cada instancia y un
+     * cobro nuevo puede tener un ID menor al máximo, pero siempre aumenta el
+     * conteo. Los cobros no se modifican después de crearse.
+     */
+    @Query("""
+                SELECT COUNT(c) AS total, MAX(c.createdAt) AS lastCreatedAt
+                FROM TicketChargeEntity c
+                WHERE (:endDate IS NULL OR c.createdAt < :endDate)
+            """)
+    CountLastCreatedProjection summarizeChargesBefore(@Param("endDate") LocalDateTime endDate);
 }
@@ -0,0 +1,22 @@
+package com.ayd.parkcontrol.infrastructure.persistence.repository;
+
+import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketFolioSequenceEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface JpaTicketFolioSequenceRepository extends JpaRepository<TicketFolioSequenceEntity, Long> {
+
+    /**
+     * Secuencia de la sucursal bloqueada para reservar un bloque de folios
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM TicketFolioSequenceEntity s WHERE s.branchId = :branchId")
+    Optional<TicketFolioSequenceEntity> findByBranchIdForUpdate(@Param("branchId") Long branchId);
+}
@@ -1,11 +1,14 @@
 package com.ayd.parkcontrol.infrastructure.persistence.repository;
 
 import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.ActiveOccupancyProjection;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.BranchCountProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +25,20 @@ public interface JpaTicketRepository extends JpaRepository<TicketEntity, Long> {
          */
         Optional<TicketEntity> findByFolio(String folio);
 
+        /**
+         * Ticket más reciente de la placa en la sucursal con el estado indicado
+         */
+        Optional<TicketEntity> findFirstByBranchIdAndLicensePlateAndStatusTypeIdOrderByEntryTimeDesc(
+                        Long branchId, String licensePlate, Integer statusTypeId);
+
+        /**
+         * Mayor número de folio asignado en la sucursal (folios T-{sucursal}-{número})
+         */
+        @Query(value = "SELECT COALESCE(MAX(CAST(SUBSTRING_INDEX(t.folio, '-', -1) AS UNSIGNED)), 0) " +
+                        "FROM tickets t WHERE t.branch_id = :branchId " +
+                        "AND t.folio LIKE CONCAT('T-', :branchId, '-%')", nativeQuery = true)
+        Long findMaxFolioNumberByBranch(@Param("branchId") Long branchId);
+
         /**
          * Buscar tickets por placa
          */
@@ -61,86 +78,53 @@ public interface JpaTicketRepository extends JpaRepository<TicketEntity, Long> {
                         @Param("branchId") Long branchId, @Param("statusTypeId") Integer statusTypeId);
 
         /**
-         * Obtener placas de vehículos de una flotilla (basado en fleet_vehicles)
-         */
-        @Query(value = "SELECT DISTINCT fv.license_plate FROM fleet_vehicles fv WHERE fv.company_id = :companyId AND fv.is_active = true", nativeQuery = true)
-        List<String> findLicensePlatesByFleetCompany(@Param("companyId") Long companyId);
-
-        /**
-         * Contar entradas por lista de placas
-         */
-        @Query("SELECT COUNT(t) FROM TicketEntity t WHERE t.licensePlate IN :licensePlates")
-        Long countEntriesByLicensePlates(@Param("licensePlates") List<String> licensePlates);
-
-        /**
-         * Sumar horas consumidas por lista de placas
-         */
-        @Query(value = "SELECT COALESCE(SUM(tc.total_hours), 0) FROM tickets t " +
-                        "INNER JOIN ticket_charges tc ON t.id = tc.ticket_id " +
-                        "WHERE t.license_plate IN :licensePlates", nativeQuery = true)
-        java.math.BigDecimal sumHoursByLicensePlates(@Param("licensePlates") List<String> licensePlates);
-
-        /**
-         * Sumar monto cobrado por lista de placas
-         */
-        @Query(value = "SELECT COALESCE(SUM(tc.total_amount), 0) FROM tickets t " +
-                        "INNER JOIN ticket_charges tc ON t.id = tc.ticket_id " +
-                        "WHERE t.license_plate IN :licensePlates", nativeQuery = true)
-        java.math.BigDecimal sumAmountByLicensePlates(@Param("licensePlates") List<String> licensePlates);
-
-        /**
-         * Contar entradas por placa específica
-         */
-        @Query("SELECT COUNT(t) FROM TicketEntity t WHERE t.licensePlate = :licensePlate")
-        Long countEntriesByLicensePlate(@Param("licensePlate") String licensePlate);
-
-        /**
-         * Sumar horas consumidas por placa específica
+         * Obtener última entrada por placa
          */
-        @Query(value = "SELECT COALESCE(SUM(tc.total_hours), 0) FROM tickets t " +
-                        "INNER JOIN ticket_charges tc ON t.id = tc.ticket_id " +
-                        "WHERE t.license_plate = :licensePlate", nativeQuery = true)
-        java.math.BigDecimal sumHoursByLicensePlate(@Param("licensePlate") String licensePlate);
+        @Query("SELECT MAX(t.entryTime) FROM TicketEntity t WHERE t.licensePlate = :licensePlate")
+        java.time.LocalDateTime findLastEntryByLicensePlate(@Param("licensePlate") String licensePlate);
 
         /**
-         * Sumar monto cobrado por placa específica
+         * Contar tickets activos (sin exit_time) por sucursal y tipo de vehículo
+         * en una sola consulta. Usado para sincronizar la ocupación con Redis.
          */
-        @Query(value = "SELECT COALESCE(SUM(tc.total_amount), 0) FROM tickets t " +
-                        "INNER JOIN ticket_charges tc ON t.id = tc.ticket_id " +
-                        "WHERE t.license_plate = :licensePlate", nativeQuery = true)
-        java.math.BigDecimal sumAmountByLicensePlate(@Param("licensePlate") String licensePlate);
+        @Query("""
+                            SELECT t.branchId AS branchId, vt.code AS vehicleType, COUNT(t) AS total
+                            FROM TicketEntity t, VehicleTypeEntity vt
+                            WHERE vt.id = t.vehicleTypeId
+                              AND t.exitTime IS NULL
+                            GROUP BY t.branchId, vt.code
+                        """)
+        List<ActiveOccupancyProjection> countActiveGroupedByBranchAndVehicleType();
 
         /**
-         * Obtener última entrada por placa
+         * Contar entradas de vehículos por sucursal dentro de un rango de fechas.
+         * Usado para reconstruir los agregados del dashboard.
          */
-        @Query("SELECT MAX(t.entryTime) FROM TicketEntity t WHERE t.licensePlate = :licensePlate")
-        java.time.LocalDateTime findLastEntryByLicensePlate(@Param("licensePlate") String licensePlate);
+        @Query("""
+                            SELECT t.branchId AS branchId, COUNT(t) AS total
+                            FROM TicketEntity t
+                            WHERE t.entryTime >= :startDate AND t.entryTime < :endDate
+                            GROUP BY t.branchId
+                        """)
+        List<BranchCountProjection> countEntriesGroupedByBranch(@Param("startDate") LocalDateTime startDate,
+                        @Param("endDate") LocalDateTime endDate);
 
         /**
-         * Contar tickets activos (sin exit_time) de dos ruedas en una sucursal.
-         * Usado para sincronización de ocupación con Redis.
+         * Contar tickets en un estado dado por sucursal.
+         * Usado para reconstruir los agregados del dashboard.
          */
-        @Query(value = """
-                            SELECT COUNT(t.id)
-                            FROM tickets t
-                            INNER JOIN vehicle_types vt ON t.vehicle_type_id = vt.id
-                            WHERE t.branch_id = :branchId
-                              AND vt.code = '2R'
-                              AND t.exit_time IS NULL
-                        """, nativeQuery = true)
-        long countActiveTwoWheelerTickets(@Param("branchId") Long branchId);
+        @Query("""
+                            SELECT t.branchId AS branchId, COUNT(t) AS total
+                            FROM TicketEntity t
+                            WHERE t.statusTypeId = :statusTypeId
+                            GROUP BY t.branchId
+                        """)
+        List<BranchCountProjection> countByStatusGroupedByBranch(@Param("statusTypeId") Integer statusTypeId);
 
         /**
-         * Contar tickets activos (sin exit_time) de cuatro ruedas en una sucursal.
-         * Usado para sincronización de ocupación con Redis.
+         * Fecha de la última modificación de cualquier ticket. Sirve como marca
+         * de agua para la caché de reportes de ocupación.
          */
-        @Query(value = """
-                            SELECT COUNT(t.id)
-                            FROM tickets t
-                            INNER JOIN vehicle_types vt ON t.vehicle_type_id = vt.id
-                            WHERE t.branch_id = :branchId
-                              AND vt.code = '4R'
-                              AND t.exit_time IS NULL
-                        """, nativeQuery = true)
-        long countActiveFourWheelerTickets(@Param("branchId") Long branchId);
+        @Query("SELECT MAX(t.updatedAt) FROM TicketEntity t")
+        LocalDateTime findLastUpdatedAt();
 }
@@ -0,0 +1,83 @@
+package com.ayd.parkcontrol.infrastructure.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Circuit breaker para las consultas del rate limiter a Redis.
+ *
+ * Tras {@code failureThreshold} fallos o consultas lentas consecutivas se
+ * abre y el rate limiter aplica solo los límites locales. Pasado
+ * {@code openMillis} deja pasar una consulta de prueba: si responde a tiempo
+ * se cierra, si no vuelve a abrirse.
+ */
+@Component
+@Slf4j
+public class RateLimitCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final RateLimitMetrics metrics;
+
+    private volatile State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    public RateLimitCircuitBreaker(
+            @Value("${app.rate-limit.breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${app.rate-limit.breaker.open-ms:30000}") long openMillis,
+            RateLimitMetrics metrics) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Indica si se puede consultar Redis.
+     */
+    public boolean allowRequest() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openMillis) {
+                state = State.HALF_OPEN;
+                probeInFlight = false;
+            }
+            if (state == State.HALF_OPEN && !probeInFlight) {
+                probeInFlight = true;
+                return true;
+            }
+            return state == State.CLOSED;
+        }
+    }
+
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        if (state != State.CLOSED) {
+            log.info("Redis respondió de nuevo, rate limiting distribuido restablecido");
+            state = State.CLOSED;
+        }
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            log.warn("Redis lento o caído tras {} fallos, rate limiting local durante {} ms",
+                    consecutiveFailures, openMillis);
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+            metrics.recordCircuitOpened();
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+}
@@ -12,4 +12,23 @@ public class RateLimitConfig {
 
     private final int maxAttempts;
     private final int windowSeconds;
+
+    /**
+     * Interpreta un límite con formato {@code intentos/segundos}, por ejemplo
+     * {@code 50/900}.
+     *
+     * @throws IllegalArgumentException si el formato no es válido
+     */
+    public static RateLimitConfig parse(String value) {
+        String[] parts = value == null ? new String[0] : value.trim().split("/");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid rate limit '" + value + "', expected <requests>/<seconds>");
+        }
+        int maxAttempts = Integer.parseInt(parts[0].trim());
+        int windowSeconds = Integer.parseInt(parts[1].trim());
+        if (maxAttempts <= 0 || windowSeconds <= 0) {
+            throw new IllegalArgumentException("Rate limit values must be positive: '" + value + "'");
+        }
+        return new RateLimitConfig(maxAttempts, windowSeconds);
+    }
 }
@@ -0,0 +1,9 @@
+package com.ayd.parkcontrol.infrastructure.ratelimit;
+
+/**
+ * Resultado de consultar una cuota: si la petición se admite, cuántas
+ * peticiones quedan en la ventana y en cuántos segundos se libera la
+ * siguiente.
+ */
+public record RateLimitDecision(boolean allowed, int limit, long remaining, long resetSeconds) {
+}
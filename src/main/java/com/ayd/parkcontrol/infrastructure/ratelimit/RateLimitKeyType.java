@@ -0,0 +1,16 @@
+package com.ayd.parkcontrol.infrastructure.ratelimit;
+
+/**
+ * Sujeto sobre el que se contabiliza una regla de rate limit.
+ */
+public enum RateLimitKeyType {
+
+    /** Dirección IP del cliente. */
+    IP,
+
+    /** Usuario autenticado; las peticiones anónimas se cuentan por IP. */
+    USER,
+
+    /** Rol del usuario autenticado; todos los usuarios del rol comparten cuota. */
+    ROLE
+}
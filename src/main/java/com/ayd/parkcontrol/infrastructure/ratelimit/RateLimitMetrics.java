@@ -0,0 +1,63 @@
+package com.ayd.parkcontrol.infrastructure.ratelimit;
+
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores del rate limiter: dónde se resolvió cada decisión y cuántas
+ * veces Redis falló o el circuit breaker se abrió.
+ */
+@Component
+public class RateLimitMetrics {
+
+    private final LongAdder localDecisions = new LongAdder();
+    private final LongAdder redisDecisions = new LongAdder();
+    private final LongAdder fallbackDecisions = new LongAdder();
+    private final LongAdder rejectedRequests = new LongAdder();
+    private final LongAdder redisFailures = new LongAdder();
+    private final LongAdder circuitOpenings = new LongAdder();
+    private final LongAdder syncedPermits = new LongAdder();
+
+    public void recordLocalDecision() {
+        localDecisions.increment();
+    }
+
+    public void recordRedisDecision() {
+        redisDecisions.increment();
+    }
+
+    public void recordFallbackDecision() {
+        fallbackDecisions.increment();
+    }
+
+    public void recordRejected() {
+        rejectedRequests.increment();
+    }
+
+    public void recordRedisFailure() {
+        redisFailures.increment();
+    }
+
+    public void recordCircuitOpened() {
+        circuitOpenings.increment();
+    }
+
+    public void recordSyncedPermits(int permits) {
+        syncedPermits.add(permits);
+    }
+
+    public Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new LinkedHashMap<>();
+        snapshot.put("local_decisions", localDecisions.sum());
+        snapshot.put("redis_decisions", redisDecisions.sum());
+        snapshot.put("fallback_decisions", fallbackDecisions.sum());
+        snapshot.put("rejected_requests", rejectedRequests.sum());
+        snapshot.put("redis_failures", redisFailures.sum());
+        snapshot.put("circuit_openings", circuitOpenings.sum());
+        snapshot.put("synced_permits", syncedPermits.sum());
+        return snapshot;
+    }
+}
@@ -0,0 +1,41 @@
+package com.ayd.parkcontrol.infrastructure.ratelimit;
+
+import lombok.Getter;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Regla de rate limit aplicada a un conjunto de rutas.
+ *
+ * Cada ruta se declara como {@code "METODO patron"}, donde el patrón sigue
+ * la sintaxis Ant relativa al context path y el método {@code *} acepta
+ * cualquier verbo HTTP.
+ */
+@Getter
+public class RateLimitRule {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final String name;
+    private final RateLimitKeyType keyType;
+    private final RateLimitConfig config;
+    private final List<String[]> routes;
+
+    public RateLimitRule(String name, RateLimitKeyType keyType, RateLimitConfig config, String... routes) {
+        this.name = name;
+        this.keyType = keyType;
+        this.config = config;
+        this.routes = Arrays.stream(routes).map(route -> route.split(" ", 2)).toList();
+    }
+
+    public boolean matches(String method, String path) {
+        for (String[] route : routes) {
+            if (("*".equals(route[0]) || route[0].equalsIgnoreCase(method)) && PATH_MATCHER.match(route[1], path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,59 @@
+package com.ayd.parkcontrol.infrastructure.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Tabla de reglas de rate limit. Se evalúan en orden y aplica la primera que
+ * coincide con el método y la ruta, por lo que las reglas específicas van
+ * antes que la regla general del API.
+ *
+ * Los límites se configuran con propiedades {@code app.rate-limit.*} en
+ * formato {@code intentos/segundos}.
+ */
+@Component
+@Slf4j
+public class RateLimitRules {
+
+    private final List<RateLimitRule> rules;
+
+    public RateLimitRules(
+            @Value("${app.rate-limit.login:50/900}") String login,
+            @Value("${app.rate-limit.verify-2fa:30/300}") String verify2fa,
+            @Value("${app.rate-limit.forgot-password:20/3600}") String forgotPassword,
+            @Value("${app.rate-limit.gates:600/60}") String gates,
+            @Value("${app.rate-limit.exports:20/60}") String exports,
+            @Value("${app.rate-limit.reports:60/60}") String reports,
+            @Value("${app.rate-limit.api:300/60}") String api) {
+        this.rules = List.of(
+                new RateLimitRule("login", RateLimitKeyType.IP, RateLimitConfig.parse(login),
+                        "POST /auth/login"),
+                new RateLimitRule("verify-2fa", RateLimitKeyType.IP, RateLimitConfig.parse(verify2fa),
+                        "POST /auth/verify-2fa"),
+                new RateLimitRule("forgot-password", RateLimitKeyType.IP, RateLimitConfig.parse(forgotPassword),
+                        "POST /auth/forgot-password"),
+                new RateLimitRule("gates", RateLimitKeyType.USER, RateLimitConfig.parse(gates),
+                        "POST /tickets", "POST /tickets/gate-events", "PATCH /tickets/*/exit"),
+                new RateLimitRule("exports", RateLimitKeyType.ROLE, RateLimitConfig.parse(exports),
+                        "GET /reports/**/export", "POST /reports/jobs", "GET /reports/jobs/*/download"),
+                new RateLimitRule("reports", RateLimitKeyType.USER, RateLimitConfig.parse(reports),
+                        "* /reports/**"),
+                new RateLimitRule("api", RateLimitKeyType.USER, RateLimitConfig.parse(api),
+                        "* /**"));
+        log.info("Rate limit rules loaded: {}", rules.stream().map(RateLimitRule::getName).toList());
+    }
+
+    /**
+     * Primera regla que aplica a la petición.
+     *
+     * @param method método HTTP
+     * @param path   ruta sin el context path
+     */
+    public Optional<RateLimitRule> find(String method, String path) {
+        return rules.stream().filter(rule -> rule.matches(method, path)).findFirst();
+    }
+}
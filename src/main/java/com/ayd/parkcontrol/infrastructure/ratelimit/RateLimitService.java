@@ -3,17 +3,20 @@ package com.ayd.parkcontrol.infrastructure.ratelimit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
-import java.util.concurrent.TimeUnit;
+import java.util.List;
+import java.util.UUID;
 
 /**
  * Servicio de limitación de tasa (rate limiting) usando Redis.
- * 
- * Regla de Negocio: Protege endpoints críticos contra ataques de fuerza bruta
- * y abuso mediante la limitación de intentos por IP en ventanas de tiempo.
- * 
+ *
+ * Regla de Negocio: Protege el API contra ataques de fuerza bruta y abuso
+ * limitando las peticiones de cada sujeto (IP, usuario o rol) en una ventana
+ * deslizante.
+ *
  * @author ParkControl Team
  * @version 1.0.0
  */
@@ -24,88 +27,94 @@ public class RateLimitService {
 
     private static final String RATE_LIMIT_KEY_PREFIX = "rate_limit:";
 
-    private final StringRedisTemplate redisTemplate;
-
     /**
-     * Verifica si el límite de tasa ha sido excedido para un endpoint + IP.
-     * 
-     * @param endpoint      ruta del endpoint (ej: "/api/v1/auth/login")
-     * @param ip            dirección IP del cliente
-     * @param maxAttempts   número máximo de intentos permitidos
-     * @param windowSeconds ventana de tiempo en segundos
-     * @return true si el límite fue excedido, false si aún puede hacer requests
+     * Ventana deslizante sobre un sorted set con el instante de cada petición
+     * admitida. Descarta las entradas fuera de la ventana, registra hasta
+     * {@code cost} peticiones mientras quede cuota y devuelve {admitidas
+     * todas, restantes, segundos para liberar} en un solo viaje a Redis. Usa
+     * el reloj de Redis para que todas las instancias compartan la misma
+     * ventana.
      */
-    public boolean isRateLimitExceeded(String endpoint, String ip, int maxAttempts, int windowSeconds) {
-        String key = buildKey(endpoint, ip);
-
-        // Obtener el valor actual
-        String currentValue = redisTemplate.opsForValue().get(key);
+    private static final RedisScript<List> SLIDING_WINDOW_SCRIPT = new DefaultRedisScript<>("""
+            local limit = tonumber(ARGV[1])
+            local window = tonumber(ARGV[2]) * 1000
+            local cost = tonumber(ARGV[4])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window)
+            local count = redis.call('ZCARD', KEYS[1])
+            local allowed = 0
+            if count + cost <= limit then
+                allowed = 1
+            end
+            local admitted = math.min(cost, limit - count)
+            for i = 1, admitted do
+                redis.call('ZADD', KEYS[1], now, ARGV[3] .. ':' .. i)
+            end
+            if admitted > 0 then
+                count = count + admitted
+            end
+            redis.call('PEXPIRE', KEYS[1], window)
+            local oldest = redis.call('ZRANGE', KEYS[1], 0, 0, 'WITHSCORES')
+            local reset = 0
+            if oldest[2] then
+                reset = math.ceil((tonumber(oldest[2]) + window - now) / 1000)
+            end
+            return {allowed, limit - count, reset}
+            """, List.class);
 
-        if (currentValue == null) {
-            // Primera petición: inicializar contador con TTL
-            redisTemplate.opsForValue().set(key, "1", Duration.ofSeconds(windowSeconds));
-            log.debug("Primera petición para endpoint={}, ip={}. Contador: 1/{}", endpoint, ip, maxAttempts);
-            return false;
-        }
-
-        try {
-            int attempts = Integer.parseInt(currentValue);
+    private final StringRedisTemplate redisTemplate;
 
-            if (attempts >= maxAttempts) {
-                log.warn("Límite de tasa excedido para endpoint={}, ip={}. Intentos: {}/{}",
-                        endpoint, ip, attempts, maxAttempts);
-                return true;
-            }
+    /**
+     * Registra {@code cost} peticiones contra la cuota de una regla y un
+     * sujeto. {@link TieredRateLimiter} lo usa tanto para decidir peticiones
+     * como para sincronizar las admitidas localmente.
+     *
+     * @param rule    nombre de la regla
+     * @param subject sujeto contabilizado (ej: "ip:192.168.1.1")
+     * @param config  límite de la regla
+     * @param cost    peticiones a registrar
+     * @return decisión con la cuota restante y el tiempo para liberarla
+     * @throws org.springframework.dao.DataAccessException si Redis no responde
+     */
+    public RateLimitDecision tryAcquire(String rule, String subject, RateLimitConfig config, int cost) {
+        String key = buildKey(rule, subject);
 
-            // Incrementar contador (sin modificar TTL)
-            Long newAttempts = redisTemplate.opsForValue().increment(key);
-            log.debug("Petición registrada para endpoint={}, ip={}. Contador: {}/{}",
-                    endpoint, ip, newAttempts, maxAttempts);
+        List<?> result = redisTemplate.execute(SLIDING_WINDOW_SCRIPT, List.of(key),
+                String.valueOf(config.getMaxAttempts()),
+                String.valueOf(config.getWindowSeconds()),
+                UUID.randomUUID().toString(),
+                String.valueOf(cost));
 
-            return false;
-        } catch (NumberFormatException e) {
-            log.error("Valor inválido en Redis para key: {}. Valor: {}. Reiniciando.", key, currentValue);
-            redisTemplate.delete(key);
-            return false;
+        if (result == null || result.size() < 3) {
+            throw new IllegalStateException("Invalid rate limit script result for key: " + key);
         }
-    }
-
-    /**
-     * Obtiene el tiempo restante (en segundos) hasta que se libere el bloqueo.
-     * 
-     * @param endpoint ruta del endpoint
-     * @param ip       dirección IP del cliente
-     * @return segundos restantes hasta que expire el bloqueo (0 si no está
-     *         bloqueado)
-     */
-    public long getRemainingLockTime(String endpoint, String ip) {
-        String key = buildKey(endpoint, ip);
-        Long ttl = redisTemplate.getExpire(key, TimeUnit.SECONDS);
 
-        return ttl != null && ttl > 0 ? ttl : 0;
+        return new RateLimitDecision(((Number) result.get(0)).longValue() == 1, config.getMaxAttempts(),
+                ((Number) result.get(1)).longValue(), ((Number) result.get(2)).longValue());
     }
 
     /**
-     * Resetea manualmente el contador de intentos para un endpoint + IP.
+     * Resetea manualmente el contador de una regla para un sujeto.
      * Útil para desbloquear a un usuario legítimo.
-     * 
-     * @param endpoint ruta del endpoint
-     * @param ip       dirección IP del cliente
+     *
+     * @param rule    nombre de la regla
+     * @param subject sujeto contabilizado
      */
-    public void resetLimit(String endpoint, String ip) {
-        String key = buildKey(endpoint, ip);
+    public void resetLimit(String rule, String subject) {
+        String key = buildKey(rule, subject);
         redisTemplate.delete(key);
-        log.info("Límite de tasa reseteado para endpoint={}, ip={}", endpoint, ip);
+        log.info("Límite de tasa reseteado para regla={}, sujeto={}", rule, subject);
     }
 
     /**
      * Construye la clave de Redis para rate limiting.
-     * 
-     * @param endpoint ruta del endpoint
-     * @param ip       dirección IP
+     *
+     * @param rule    nombre de la regla
+     * @param subject sujeto contabilizado
      * @return clave de Redis
      */
-    private String buildKey(String endpoint, String ip) {
-        return RATE_LIMIT_KEY_PREFIX + endpoint + ":" + ip;
+    private String buildKey(String rule, String subject) {
+        return RATE_LIMIT_KEY_PREFIX + rule + ":" + subject;
     }
 }
@@ -0,0 +1,267 @@
+package com.ayd.parkcontrol.infrastructure.ratelimit;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rate limiter en dos niveles: una cuota local por clave delante de la
+ * ventana deslizante de Redis.
+ *
+ * Cada clave guarda la cuota restante que Redis informó en la última
+ * sincronización y admite localmente hasta {@code maxLocalBatch} peticiones
+ * mientras esa información sea reciente; las peticiones admitidas se envían
+ * a Redis en segundo plano. Una clave agotada se rechaza localmente hasta
+ * que se libere su ventana.
+ *
+ * Las consultas a Redis esperan como máximo {@code redisTimeoutMs}; una
+ * consulta lenta o fallida cuenta para el circuit breaker y mientras esté
+ * abierto los límites se aplican solo con contadores locales por instancia.
+ */
+@Component
+@Slf4j
+public class TieredRateLimiter {
+
+    private final RateLimitService rateLimitService;
+    private final RateLimitCircuitBreaker circuitBreaker;
+    private final RateLimitMetrics metrics;
+    private final int maxLocalBatch;
+    private final long syncMillis;
+    private final long redisTimeoutMs;
+    private final ThreadPoolExecutor redisExecutor;
+
+    private final Map<String, LocalQuota> quotas = new ConcurrentHashMap<>();
+
+    public TieredRateLimiter(RateLimitService rateLimitService,
+            RateLimitCircuitBreaker circuitBreaker,
+            RateLimitMetrics metrics,
+            @Value("${app.rate-limit.local.max-batch:10}") int maxLocalBatch,
+            @Value("${app.rate-limit.local.sync-ms:1000}") long syncMillis,
+            @Value("${app.rate-limit.redis.timeout-ms:50}") long redisTimeoutMs,
+            @Value("${app.rate-limit.redis.threads:4}") int redisThreads) {
+        this.rateLimitService = rateLimitService;
+        this.circuitBreaker = circuitBreaker;
+        this.metrics = metrics;
+        this.maxLocalBatch = maxLocalBatch;
+        this.syncMillis = syncMillis;
+        this.redisTimeoutMs = redisTimeoutMs;
+
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "rate-limit-redis-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.redisExecutor = new ThreadPoolExecutor(redisThreads, redisThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(redisThreads * 16), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Decide si se admite una petición para la regla y el sujeto.
+     */
+    public RateLimitDecision tryAcquire(String rule, String subject, RateLimitConfig config) {
+        LocalQuota quota = quotas.computeIfAbsent(rule + ":" + subject,
+                key -> new LocalQuota(rule, subject, config));
+        long now = System.currentTimeMillis();
+
+        RateLimitDecision decision = circuitBreaker.getState() == RateLimitCircuitBreaker.State.CLOSED
+                ? quota.acquireLocal(now, maxLocalBatch, syncMillis)
+                : null;
+        if (decision != null) {
+            metrics.recordLocalDecision();
+        } else if (circuitBreaker.allowRequest()) {
+            decision = acquireRemote(quota, now);
+        } else {
+            metrics.recordFallbackDecision();
+            decision = quota.acquireDegraded(now);
+        }
+
+        if (!decision.allowed()) {
+            metrics.recordRejected();
+            log.warn("Límite de tasa excedido para regla={}, sujeto={}. Límite: {}/{}s",
+                    rule, subject, config.getMaxAttempts(), config.getWindowSeconds());
+        }
+        return decision;
+    }
+
+    /**
+     * Envía a Redis las peticiones admitidas localmente y descarta las claves
+     * inactivas.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.local.sync-ms:1000}",
+            initialDelayString = "${app.rate-limit.local.sync-ms:1000}")
+    public void syncPending() {
+        long now = System.currentTimeMillis();
+        for (LocalQuota quota : quotas.values()) {
+            int pending = quota.drainPending();
+            if (pending == 0) {
+                if (quota.isIdle(now)) {
+                    quotas.remove(quota.key(), quota);
+                }
+                continue;
+            }
+            if (!circuitBreaker.allowRequest()) {
+                quota.restorePending(pending);
+                return;
+            }
+            try {
+                RateLimitDecision remote = callRedis(quota, pending);
+                quota.applyRemote(remote, System.currentTimeMillis());
+                metrics.recordSyncedPermits(pending);
+            } catch (Exception e) {
+                quota.restorePending(pending);
+                log.warn("No se pudo sincronizar el rate limit de {} con Redis: {}", quota.key(), e.toString());
+                return;
+            }
+        }
+    }
+
+    private RateLimitDecision acquireRemote(LocalQuota quota, long now) {
+        int pending = quota.drainPending();
+        try {
+            RateLimitDecision remote = callRedis(quota, pending + 1);
+            quota.applyRemote(remote, System.currentTimeMillis());
+            metrics.recordRedisDecision();
+            return remote;
+        } catch (Exception e) {
+            quota.restorePending(pending);
+            metrics.recordFallbackDecision();
+            log.warn("Rate limit de {} resuelto localmente, Redis no respondió: {}", quota.key(), e.toString());
+            return quota.acquireDegraded(now);
+        }
+    }
+
+    /**
+     * Consulta Redis esperando como máximo {@code redisTimeoutMs}. Registra
+     * el resultado en el circuit breaker.
+     */
+    private RateLimitDecision callRedis(LocalQuota quota, int cost) throws Exception {
+        Future<RateLimitDecision> future = null;
+        try {
+            future = redisExecutor.submit(
+                    () -> rateLimitService.tryAcquire(quota.rule, quota.subject, quota.config, cost));
+            RateLimitDecision decision = future.get(redisTimeoutMs, TimeUnit.MILLISECONDS);
+            circuitBreaker.recordSuccess();
+            return decision;
+        } catch (Exception e) {
+            if (future != null) {
+                future.cancel(true);
+            }
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            circuitBreaker.recordFailure();
+            metrics.recordRedisFailure();
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        redisExecutor.shutdownNow();
+    }
+
+    /**
+     * Estado local de una clave. Los métodos sincronizan sobre la propia
+     * cuota, de modo que claves distintas no compiten entre sí.
+     */
+    static final class LocalQuota {
+
+        private final String rule;
+        private final String subject;
+        private final RateLimitConfig config;
+
+        private long remoteRemaining;
+        private long resetAt;
+        private long syncedAt;
+        private int pending;
+
+        private long degradedWindowStart;
+        private int degradedCount;
+
+        LocalQuota(String rule, String subject, RateLimitConfig config) {
+            this.rule = rule;
+            this.subject = subject;
+            this.config = config;
+        }
+
+        String key() {
+            return rule + ":" + subject;
+        }
+
+        /**
+         * Admite o rechaza con la información local, o devuelve null si hay
+         * que consultar Redis.
+         */
+        synchronized RateLimitDecision acquireLocal(long now, int maxLocalBatch, long syncMillis) {
+            if (syncedAt == 0) {
+                return null;
+            }
+            if (pending >= remoteRemaining && now < resetAt) {
+                return new RateLimitDecision(false, config.getMaxAttempts(), 0, secondsUntil(resetAt, now));
+            }
+            if (now - syncedAt > syncMillis || pending >= Math.min(remoteRemaining, maxLocalBatch)) {
+                return null;
+            }
+            pending++;
+            return new RateLimitDecision(true, config.getMaxAttempts(), remoteRemaining - pending,
+                    secondsUntil(resetAt, now));
+        }
+
+        /**
+         * Límite aplicado solo con la instancia local cuando Redis no está
+         * disponible: ventana fija del mismo tamaño que la regla.
+         */
+        synchronized RateLimitDecision acquireDegraded(long now) {
+            long windowMillis = config.getWindowSeconds() * 1000L;
+            if (now - degradedWindowStart >= windowMillis) {
+                degradedWindowStart = now;
+                degradedCount = 0;
+            }
+            long reset = secondsUntil(degradedWindowStart + windowMillis, now);
+            if (degradedCount >= config.getMaxAttempts()) {
+                return new RateLimitDecision(false, config.getMaxAttempts(), 0, reset);
+            }
+            degradedCount++;
+            return new RateLimitDecision(true, config.getMaxAttempts(),
+                    config.getMaxAttempts() - degradedCount, reset);
+        }
+
+        synchronized void applyRemote(RateLimitDecision remote, long now) {
+            remoteRemaining = remote.remaining();
+            resetAt = now + remote.resetSeconds() * 1000L;
+            syncedAt = now;
+        }
+
+        synchronized int drainPending() {
+            int drained = pending;
+            pending = 0;
+            return drained;
+        }
+
+        synchronized void restorePending(int permits) {
+            pending += permits;
+        }
+
+        synchronized boolean isIdle(long now) {
+            long windowMillis = config.getWindowSeconds() * 1000L;
+            return pending == 0 && now >= resetAt && now - syncedAt >= windowMillis
+                    && now - degradedWindowStart >= windowMillis;
+        }
+
+        private static long secondsUntil(long at, long now) {
+            return Math.max(0, (at - now + 999) / 1000);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.ayd.parkcontrol.infrastructure.scheduler;
+
+import com.ayd.parkcontrol.infrastructure.cache.RedisLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Mantenimiento de las particiones mensuales de {@code audit_log}.
+ *
+ * La tabla está particionada por rango sobre {@code created_at} (un mes por
+ * partición más {@code pmax}). El job crea por adelantado las particiones de
+ * los próximos {@code app.audit.partitions.ahead-months} meses, para que los
+ * registros nuevos no caigan en {@code pmax}, y retira los meses más antiguos
+ * que {@code app.audit.retention.months}. Con archivado habilitado, cada mes
+ * vencido se intercambia con una tabla {@code audit_log_archive_pYYYYMM}
+ * (EXCHANGE PARTITION mueve los datos sin copiarlos) antes de eliminar la
+ * partición vacía; sin archivado la partición se elimina directamente. En
+ * ambos casos no se ejecuta ningún DELETE fila por fila.
+ *
+ * Si la tabla no está particionada (base de datos sin migrar) el job no hace
+ * nada.
+ *
+ * @author ParkControl Team
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class AuditLogPartitionJob {
+
+    static final String PARTITIONS_SQL = "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS "
+            + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'audit_log' AND PARTITION_NAME IS NOT NULL";
+    static final String TABLE_EXISTS_SQL = "SELECT COUNT(*) FROM information_schema.TABLES "
+            + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?";
+
+    private static final String LOCK_NAME = "audit-log:partitions";
+    private static final Duration LOCK_TTL = Duration.ofMinutes(30);
+    private static final String MAXVALUE = "MAXVALUE";
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z0-9_]+");
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RedisLock redisLock;
+    private final boolean enabled;
+    private final int aheadMonths;
+    private final int retentionMonths;
+    private final boolean archive;
+
+    public AuditLogPartitionJob(JdbcTemplate jdbcTemplate,
+            RedisLock redisLock,
+            @Value("${app.audit.partitions.enabled:true}") boolean enabled,
+            @Value("${app.audit.partitions.ahead-months:3}") int aheadMonths,
+            @Value("${app.audit.retention.months:24}") int retentionMonths,
+            @Value("${app.audit.retention.archive:true}") boolean archive) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.redisLock = redisLock;
+        this.enabled = enabled;
+        this.aheadMonths = Math.max(1, aheadMonths);
+        this.retentionMonths = Math.max(1, retentionMonths);
+        this.archive = archive;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${app.audit.retention.cron:0 45 3 * * *}")
+    public void scheduledMaintenance() {
+        maintain();
+    }
+
+    void maintain() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (!redisLock.runExclusively(LOCK_NAME, LOCK_TTL, () -> run(LocalDate.now()))) {
+                log.info("Otra instancia está dando mantenimiento a las particiones de audit_log");
+            }
+        } catch (Exception e) {
+            log.error("Error en el mantenimiento de particiones de audit_log", e);
+        }
+    }
+
+    /**
+     * Crea las particiones faltantes y retira las vencidas.
+     *
+     * @param today fecha de referencia
+     */
+    MaintenanceResult run(LocalDate today) {
+        List<RangePartition> partitions = jdbcTemplate.query(PARTITIONS_SQL,
+                (rs, rowNum) -> new RangePartition(rs.getString(1), rs.getString(2)));
+        if (partitions.isEmpty()) {
+            log.warn("audit_log no está particionada; se omite el mantenimiento de particiones");
+            return new MaintenanceResult(0, 0, 0);
+        }
+
+        int created = createUpcoming(partitions, today.withDayOfMonth(1).plusMonths(aheadMonths + 1L));
+        MaintenanceResult result = expire(partitions, today.withDayOfMonth(1).minusMonths(retentionMonths), created);
+        log.info("Mantenimiento de audit_log: {} particiones creadas, {} archivadas, {} eliminadas",
+                result.created(), result.archived(), result.dropped());
+        return result;
+    }
+
+    /**
+     * Agrega particiones mensuales hasta que la última acotada termine en
+     * {@code until}.
+     */
+    private int createUpcoming(List<RangePartition> partitions, LocalDate until) {
+        List<RangePartition> bounded = bounded(partitions);
+        if (bounded.isEmpty()) {
+            return 0;
+        }
+
+        List<String> definitions = new ArrayList<>();
+        LocalDate from = bounded.get(bounded.size() - 1).upperBound();
+        while (from.isBefore(until)) {
+            LocalDate next = from.plusMonths(1);
+            definitions.add("PARTITION %s VALUES LESS THAN ('%s')".formatted(from.format(PARTITION_NAME), next));
+            from = next;
+        }
+        if (definitions.isEmpty()) {
+            return 0;
+        }
+
+        String maxPartition = partitions.stream()
+                .filter(partition -> MAXVALUE.equalsIgnoreCase(partition.description()))
+                .map(RangePartition::name)
+                .findFirst()
+                .orElse(null);
+        if (maxPartition != null) {
+            definitions.add("PARTITION %s VALUES LESS THAN (MAXVALUE)".formatted(identifier(maxPartition)));
+            jdbcTemplate.execute("ALTER TABLE audit_log REORGANIZE PARTITION %s INTO (%s)"
+                    .formatted(identifier(maxPartition), String.join(", ", definitions)));
+            return definitions.size() - 1;
+        }
+        jdbcTemplate.execute("ALTER TABLE audit_log ADD PARTITION (%s)".formatted(String.join(", ", definitions)));
+        return definitions.size();
+    }
+
+    /**
+     * Retira las particiones cuyos registros son todos anteriores a
+     * {@code cutoff}.
+     */
+    private MaintenanceResult expire(List<RangePartition> partitions, LocalDate cutoff, int created) {
+        int archived = 0;
+        int dropped = 0;
+        for (RangePartition partition : bounded(partitions)) {
+            if (partition.upperBound().isAfter(cutoff)) {
+                break;
+            }
+            String name = identifier(partition.name());
+            if (archive) {
+                String archiveTable = "audit_log_archive_" + name;
+                Integer existing = jdbcTemplate.queryForObject(TABLE_EXISTS_SQL, Integer.class, archiveTable);
+                if (existing != null && existing > 0) {
+                    log.warn("La tabla {} ya existe; se conserva la partición {} sin archivar", archiveTable, name);
+                    continue;
+                }
+                jdbcTemplate.execute("CREATE TABLE %s LIKE audit_log".formatted(archiveTable));
+                jdbcTemplate.execute("ALTER TABLE %s REMOVE PARTITIONING".formatted(archiveTable));
+                jdbcTemplate.execute("ALTER TABLE audit_log EXCHANGE PARTITION %s WITH TABLE %s"
+                        .formatted(name, archiveTable));
+                archived++;
+            }
+            jdbcTemplate.execute("ALTER TABLE audit_log DROP PARTITION %s".formatted(name));
+            dropped++;
+        }
+        return new MaintenanceResult(created, archived, dropped);
+    }
+
+    private static List<RangePartition> bounded(List<RangePartition> partitions) {
+        return partitions.stream()
+                .filter(partition -> !MAXVALUE.equalsIgnoreCase(partition.description()))
+                .sorted(Comparator.comparing(RangePartition::upperBound))
+                .toList();
+    }
+
+    private static String identifier(String name) {
+        if (!IDENTIFIER.matcher(name).matches()) {
+            throw new IllegalStateException("Nombre de partición inválido: " + name);
+        }
+        return name;
+    }
+
+    /**
+     * Partición tal como la reporta {@code information_schema}: la
+     * descripción es el límite superior entre comillas o {@code MAXVALUE}.
+     */
+    record RangePartition(String name, String description) {
+
+        LocalDate upperBound() {
+            return LocalDate.parse(description.replace("'", "").trim().substring(0, 10));
+        }
+    }
+
+    record MaintenanceResult(int created, int archived, int dropped) {
+    }
+}
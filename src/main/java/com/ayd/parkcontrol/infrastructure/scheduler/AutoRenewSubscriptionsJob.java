@@ -1,139 +1,440 @@
 package com.ayd.parkcontrol.infrastructure.scheduler;
 
-import com.ayd.parkcontrol.application.dto.request.subscription.PurchaseSubscriptionRequest;
+import com.ayd.parkcontrol.application.event.SubscriptionPurchasedEvent;
 import com.ayd.parkcontrol.application.port.notification.EmailService;
-import com.ayd.parkcontrol.application.usecase.subscription.PurchaseSubscriptionUseCase;
-import com.ayd.parkcontrol.domain.model.subscription.Subscription;
-import com.ayd.parkcontrol.domain.repository.SubscriptionRepository;
-import lombok.RequiredArgsConstructor;
+import com.ayd.parkcontrol.infrastructure.cache.RedisLock;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.SubscriptionEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.SubscriptionRenewalEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.SubscriptionRenewalRunEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.SubscriptionRenewalRunEntity.Status;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaRateBaseHistoryRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaSubscriptionRenewalRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaSubscriptionRenewalRunRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaSubscriptionRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaSubscriptionStatusTypeRepository;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 /**
  * Job programado para procesar renovaciones automáticas de suscripciones.
- * 
+ *
  * Regla de Negocio: Las suscripciones con auto_renew_enabled=true se renuevan
- * automáticamente
- * 7 días antes de su vencimiento. Se notifica al usuario por email del
- * resultado.
- * 
+ * automáticamente 7 días antes de su vencimiento. El nuevo periodo empieza
+ * cuando termina el actual y congela la tarifa base vigente. Se notifica al
+ * usuario por email del resultado.
+ *
+ * Las suscripciones se recorren por id en bloques de {@code chunk-size} sobre
+ * un pool de {@code workers} hilos; cada bloque se renueva en su propia
+ * transacción junto con sus correos (outbox) y su llave de idempotencia
+ * (suscripción, fin de periodo). Si un bloque falla se reintenta suscripción
+ * por suscripción para aislar la que falló. La tarifa vigente y el estado
+ * ACTIVE se leen una sola vez por corrida.
+ *
+ * Cada ola de bloques confirmados avanza el checkpoint de la corrida en
+ * {@code subscription_renewal_runs}; una corrida interrumpida se retoma desde
+ * ahí al iniciar la aplicación o en la siguiente ejecución programada.
+ *
+ * El cron y el arranque solo entregan la corrida a un hilo propio del job y
+ * retornan, para no ocupar el hilo compartido de las tareas programadas
+ * mientras dura la renovación. Si ya hay una corrida en ese hilo, la nueva se
+ * descarta.
+ *
  * Ejecución: Diariamente a las 2:00 AM
+ *
+ * @author ParkControl Team
+ * @version 1.0.0
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class AutoRenewSubscriptionsJob {
 
-    private static final int DAYS_BEFORE_EXPIRY = 7;
+    static final int DAYS_BEFORE_EXPIRY = 7;
 
-    private final SubscriptionRepository subscriptionRepository;
-    private final PurchaseSubscriptionUseCase purchaseSubscriptionUseCase;
+    private static final String LOCK_NAME = "subscriptions:auto-renew";
+    private static final Duration LOCK_TTL = Duration.ofHours(2);
+    private static final String ACTIVE_STATUS = "ACTIVE";
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final JpaSubscriptionRepository subscriptionRepository;
+    private final JpaSubscriptionRenewalRepository renewalRepository;
+    private final JpaSubscriptionRenewalRunRepository runRepository;
+    private final JpaRateBaseHistoryRepository rateBaseRepository;
+    private final JpaSubscriptionStatusTypeRepository statusTypeRepository;
     private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RedisLock redisLock;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor runner;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final int workers;
+
+    public AutoRenewSubscriptionsJob(JpaSubscriptionRepository subscriptionRepository,
+            JpaSubscriptionRenewalRepository renewalRepository,
+            JpaSubscriptionRenewalRunRepository runRepository,
+            JpaRateBaseHistoryRepository rateBaseRepository,
+            JpaSubscriptionStatusTypeRepository statusTypeRepository,
+            EmailService emailService,
+            ApplicationEventPublisher eventPublisher,
+            RedisLock redisLock,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.subscriptions.auto-renew.enabled:true}") boolean enabled,
+            @Value("${app.subscriptions.auto-renew.chunk-size:100}") int chunkSize,
+            @Value("${app.subscriptions.auto-renew.workers:4}") int workers) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.renewalRepository = renewalRepository;
+        this.runRepository = runRepository;
+        this.rateBaseRepository = rateBaseRepository;
+        this.statusTypeRepository = statusTypeRepository;
+        this.emailService = emailService;
+        this.eventPublisher = eventPublisher;
+        this.redisLock = redisLock;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.workers = Math.max(1, workers);
+        this.runner = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "auto-renew-runner");
+                    thread.setDaemon(true);
+                    return thread;
+                }, (runnable, executor) -> log.info("Ya hay una corrida de renovación automática en curso"));
+    }
+
+    /**
+     * Retoma la corrida que quedó a medias si la aplicación se detuvo
+     * mientras se ejecutaba.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (!enabled) {
+            return;
+        }
+        runner.execute(this::resumeExclusively);
+    }
 
     /**
      * Procesa renovaciones automáticas de suscripciones próximas a vencer.
      * Cron: 0 0 2 * * * = Todos los días a las 2:00 AM
      */
-    @Scheduled(cron = "0 0 2 * * *")
+    @Scheduled(cron = "${app.subscriptions.auto-renew.cron:0 0 2 * * *}")
     public void processAutoRenewals() {
-        log.info("Iniciando proceso de renovación automática de suscripciones");
+        if (!enabled) {
+            return;
+        }
+        runner.execute(this::renewExclusively);
+    }
 
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime startWindow = now;
-        LocalDateTime endWindow = now.plusDays(DAYS_BEFORE_EXPIRY);
+    @PreDestroy
+    public void stop() {
+        runner.shutdownNow();
+    }
 
-        List<Subscription> expiring = subscriptionRepository.findExpiringSoonWithAutoRenew(startWindow, endWindow);
+    void resumeExclusively() {
+        try {
+            redisLock.runExclusively(LOCK_NAME, LOCK_TTL, () -> resumeInterrupted(LocalDateTime.now()));
+        } catch (Exception e) {
+            log.error("Error retomando la renovación automática interrumpida", e);
+        }
+    }
 
-        log.info("Encontradas {} suscripciones para renovación automática", expiring.size());
+    /**
+     * Retoma la corrida pendiente y procesa la ventana actual bajo el candado
+     * distribuido, en el hilo del job.
+     */
+    void renewExclusively() {
+        try {
+            boolean executed = redisLock.runExclusively(LOCK_NAME, LOCK_TTL, () -> {
+                LocalDateTime now = LocalDateTime.now();
+                resumeInterrupted(now);
+                run(startRun(now));
+            });
+            if (!executed) {
+                log.info("Otra instancia está procesando la renovación automática de suscripciones");
+            }
+        } catch (Exception e) {
+            log.error("Error en el proceso de renovación automática de suscripciones", e);
+        }
+    }
 
-        int successCount = 0;
-        int failureCount = 0;
+    /**
+     * Termina la última corrida si no llegó a completarse y su ventana sigue
+     * vigente.
+     */
+    Optional<SubscriptionRenewalRunEntity> resumeInterrupted(LocalDateTime now) {
+        Optional<SubscriptionRenewalRunEntity> unfinished = runRepository.findFirstByOrderByIdDesc()
+                .filter(run -> run.getStatus() != Status.COMPLETED);
+        if (unfinished.isEmpty()) {
+            return Optional.empty();
+        }
 
-        for (Subscription subscription : expiring) {
-            try {
-                renewSubscription(subscription);
-                successCount++;
-            } catch (Exception e) {
-                log.error("Error renovando suscripción ID: {} para usuario: {}",
-                        subscription.getId(), subscription.getUserId(), e);
-                sendRenewalFailureEmail(subscription, e.getMessage());
-                failureCount++;
+        SubscriptionRenewalRunEntity run = unfinished.get();
+        if (!run.getWindowEnd().isAfter(now)) {
+            if (run.getStatus() == Status.RUNNING) {
+                run.setStatus(Status.FAILED);
+                run.setLastError("Corrida interrumpida; su ventana ya venció");
+                run.setUpdatedAt(now);
+                runRepository.save(run);
             }
+            return Optional.empty();
         }
 
-        log.info("Proceso de renovación automática completado. Exitosas: {}, Fallidas: {}",
-                successCount, failureCount);
+        log.info("Retomando la corrida de renovación {} desde la suscripción {}",
+                run.getId(), run.getLastSubscriptionId());
+        run.setResumes(run.getResumes() + 1);
+        return Optional.of(run(run));
+    }
+
+    SubscriptionRenewalRunEntity startRun(LocalDateTime now) {
+        return runRepository.save(SubscriptionRenewalRunEntity.builder()
+                .status(Status.RUNNING)
+                .windowStart(now)
+                .windowEnd(now.plusDays(DAYS_BEFORE_EXPIRY))
+                .lastSubscriptionId(0L)
+                .renewed(0)
+                .skipped(0)
+                .failed(0)
+                .chunks(0)
+                .resumes(0)
+                .startedAt(now)
+                .updatedAt(now)
+                .build());
     }
 
     /**
-     * Renueva una suscripción creando una nueva con los mismos parámetros.
+     * Procesa la corrida desde su checkpoint hasta agotar la ventana.
      */
-    private void renewSubscription(Subscription subscription) {
-        log.debug("Renovando suscripción ID: {} para usuario: {}",
-                subscription.getId(), subscription.getUserId());
+    SubscriptionRenewalRunEntity run(SubscriptionRenewalRunEntity run) {
+        log.info("Iniciando renovación automática de suscripciones que vencen entre {} y {}",
+                run.getWindowStart(), run.getWindowEnd());
+        run.setStatus(Status.RUNNING);
+        run.setLastError(null);
+        run.setUpdatedAt(LocalDateTime.now());
+        runRepository.save(run);
 
-        PurchaseSubscriptionRequest renewalRequest = PurchaseSubscriptionRequest.builder()
-                .planId(subscription.getPlanId())
-                .licensePlate(subscription.getLicensePlate())
-                .isAnnual(subscription.getIsAnnual())
-                .autoRenewEnabled(true) // Mantener auto-renovación activa
-                .build();
+        try {
+            processFromCheckpoint(run, loadReferenceData());
+            run.setStatus(Status.COMPLETED);
+        } catch (RuntimeException e) {
+            log.error("La corrida de renovación {} se detuvo en la suscripción {}", run.getId(),
+                    run.getLastSubscriptionId(), e);
+            run.setStatus(Status.FAILED);
+            run.setLastError(truncate(e.getMessage()));
+        }
 
-        purchaseSubscriptionUseCase.execute(renewalRequest, subscription.getUserId());
+        LocalDateTime finishedAt = LocalDateTime.now();
+        run.setFinishedAt(finishedAt);
+        run.setUpdatedAt(finishedAt);
+        runRepository.save(run);
 
-        sendRenewalSuccessEmail(subscription);
+        log.info("Proceso de renovación automática {}. Renovadas: {}, Omitidas: {}, Fallidas: {}",
+                run.getStatus(), run.getRenewed(), run.getSkipped(), run.getFailed());
+        return run;
+    }
 
-        log.info("Suscripción renovada exitosamente. Original ID: {}, Usuario: {}",
-                subscription.getId(), subscription.getUserId());
+    private ReferenceData loadReferenceData() {
+        BigDecimal rate = rateBaseRepository.findCurrentRate()
+                .map(current -> current.getAmountPerHour())
+                .orElseThrow(() -> new IllegalStateException("No current base rate found"));
+        Integer activeStatusId = statusTypeRepository.findByCode(ACTIVE_STATUS)
+                .map(status -> status.getId())
+                .orElseThrow(() -> new IllegalStateException("ACTIVE status type not found"));
+        return new ReferenceData(rate, activeStatusId);
     }
 
     /**
-     * Envía email de confirmación de renovación exitosa.
+     * Lee los ids en olas de {@code workers} bloques, renueva los bloques en
+     * paralelo y solo avanza el checkpoint cuando toda la ola terminó.
      */
-    private void sendRenewalSuccessEmail(Subscription subscription) {
-        if (subscription.getUserEmail() == null) {
-            log.warn("No se puede enviar email de renovación: usuario sin email configurado. Subscription ID: {}",
-                    subscription.getId());
-            return;
+    private void processFromCheckpoint(SubscriptionRenewalRunEntity run, ReferenceData reference) {
+        int waveSize = chunkSize * workers;
+        ExecutorService executor = Executors.newFixedThreadPool(workers, threadFactory());
+        try {
+            while (true) {
+                List<Long> ids = subscriptionRepository.findAutoRenewCandidateIds(reference.activeStatusId(),
+                        run.getWindowStart(), run.getWindowEnd(), run.getLastSubscriptionId(),
+                        PageRequest.of(0, waveSize));
+                if (ids.isEmpty()) {
+                    return;
+                }
+
+                List<CompletableFuture<ChunkResult>> futures = partition(ids).stream()
+                        .map(chunk -> CompletableFuture.supplyAsync(
+                                () -> processChunk(chunk, reference, run.getId()), executor))
+                        .toList();
+                ChunkResult wave = futures.stream()
+                        .map(CompletableFuture::join)
+                        .reduce(ChunkResult.EMPTY, ChunkResult::plus);
+
+                checkpoint(run, ids.get(ids.size() - 1), wave, futures.size());
+                if (ids.size() < waveSize) {
+                    return;
+                }
+            }
+        } finally {
+            executor.shutdown();
         }
+    }
 
-        String subject = "✅ Suscripción renovada automáticamente - ParkControl";
-        String body = buildSuccessEmailBody(subscription);
+    private void checkpoint(SubscriptionRenewalRunEntity run, Long lastSubscriptionId, ChunkResult wave,
+            int chunks) {
+        run.setLastSubscriptionId(lastSubscriptionId);
+        run.setRenewed(run.getRenewed() + wave.renewed());
+        run.setSkipped(run.getSkipped() + wave.skipped());
+        run.setFailed(run.getFailed() + wave.failed());
+        run.setChunks(run.getChunks() + chunks);
+        run.setUpdatedAt(LocalDateTime.now());
+        runRepository.save(run);
+        log.debug("Corrida de renovación {}: checkpoint en la suscripción {}", run.getId(), lastSubscriptionId);
+    }
 
+    /**
+     * Renueva un bloque en una sola transacción. Si falla, reintenta cada
+     * suscripción por separado para que el error afecte solo a la suya.
+     */
+    ChunkResult processChunk(List<Long> ids, ReferenceData reference, Long runId) {
         try {
-            emailService.sendEmail(subscription.getUserEmail(), subject, body);
-            log.debug("Email de renovación exitosa enviado a: {}", subscription.getUserEmail());
-        } catch (Exception e) {
-            log.error("Error enviando email de renovación exitosa a: {}", subscription.getUserEmail(), e);
+            return transactionTemplate.execute(status -> renewAll(ids, reference, runId));
+        } catch (RuntimeException e) {
+            log.warn("Falló la renovación del bloque {}..{}; se reintenta una por una",
+                    ids.get(0), ids.get(ids.size() - 1), e);
+        }
+
+        ChunkResult result = ChunkResult.EMPTY;
+        for (Long id : ids) {
+            try {
+                result = result.plus(transactionTemplate.execute(status -> renewAll(List.of(id), reference, runId)));
+            } catch (RuntimeException e) {
+                log.error("Error renovando suscripción ID: {}", id, e);
+                notifyFailure(id, e.getMessage());
+                result = result.plus(new ChunkResult(0, 0, 1));
+            }
+        }
+        return result;
+    }
+
+    private ChunkResult renewAll(List<Long> ids, ReferenceData reference, Long runId) {
+        List<SubscriptionEntity> subscriptions = subscriptionRepository.findAutoRenewCandidates(ids,
+                reference.activeStatusId());
+        Set<String> renewedPeriods = renewalRepository.findBySubscriptionIdIn(ids).stream()
+                .map(renewal -> periodKey(renewal.getSubscriptionId(), renewal.getPeriodEnd()))
+                .collect(Collectors.toSet());
+
+        LocalDateTime now = LocalDateTime.now();
+        List<SubscriptionEntity> renewed = new ArrayList<>();
+        for (SubscriptionEntity subscription : subscriptions) {
+            if (renewedPeriods.contains(periodKey(subscription.getId(), subscription.getEndDate()))) {
+                log.debug("El periodo que termina {} de la suscripción {} ya fue renovado",
+                        subscription.getEndDate(), subscription.getId());
+                continue;
+            }
+            renew(subscription, reference, runId, now);
+            renewed.add(subscription);
         }
+        subscriptionRepository.saveAll(renewed);
+
+        return new ChunkResult(renewed.size(), ids.size() - renewed.size(), 0);
     }
 
     /**
-     * Envía email notificando fallo en la renovación automática.
+     * Extiende la suscripción un periodo más a partir de su vencimiento, igual
+     * que la renovación manual.
      */
-    private void sendRenewalFailureEmail(Subscription subscription, String errorMessage) {
-        if (subscription.getUserEmail() == null) {
-            log.warn("No se puede enviar email de fallo: usuario sin email configurado. Subscription ID: {}",
+    private void renew(SubscriptionEntity subscription, ReferenceData reference, Long runId, LocalDateTime now) {
+        LocalDateTime periodEnd = subscription.getEndDate();
+        LocalDateTime newStartDate = periodEnd.isBefore(now) ? now : periodEnd;
+        LocalDateTime newEndDate = Boolean.TRUE.equals(subscription.getIsAnnual())
+                ? newStartDate.plusYears(1)
+                : newStartDate.plusMonths(1);
+
+        renewalRepository.save(SubscriptionRenewalEntity.builder()
+                .runId(runId)
+                .subscriptionId(subscription.getId())
+                .periodEnd(periodEnd)
+                .newEndDate(newEndDate)
+                .frozenRateBase(reference.rate())
+                .createdAt(now)
+                .build());
+
+        subscription.setFrozenRateBase(reference.rate());
+        subscription.setPurchaseDate(now);
+        subscription.setStartDate(newStartDate);
+        subscription.setEndDate(newEndDate);
+        subscription.setConsumedHours(BigDecimal.ZERO);
+        subscription.setNotified80Percent(false);
+
+        sendRenewalSuccessEmail(subscription, periodEnd);
+        eventPublisher.publishEvent(new SubscriptionPurchasedEvent(subscription.getId(), subscription.getUserId(),
+                subscription.getLicensePlate(), subscription.getFrozenRateBase(), now));
+
+        log.info("Suscripción renovada exitosamente. ID: {}, Usuario: {}, Nueva vigencia: {} a {}",
+                subscription.getId(), subscription.getUserId(), newStartDate, newEndDate);
+    }
+
+    /**
+     * Envía email de confirmación de renovación exitosa. Se encola en el
+     * outbox dentro de la transacción del bloque.
+     */
+    private void sendRenewalSuccessEmail(SubscriptionEntity subscription, LocalDateTime previousEndDate) {
+        String email = userEmail(subscription);
+        if (email == null) {
+            log.warn("No se puede enviar email de renovación: usuario sin email configurado. Subscription ID: {}",
                     subscription.getId());
             return;
         }
 
-        String subject = "⚠️ Fallo en renovación automática de suscripción - ParkControl";
-        String body = buildFailureEmailBody(subscription, errorMessage);
+        String subject = "✅ Suscripción renovada automáticamente - ParkControl";
+        emailService.sendEmail(email, subject, buildSuccessEmailBody(subscription, previousEndDate));
+    }
 
+    /**
+     * Envía email notificando fallo en la renovación automática.
+     */
+    private void notifyFailure(Long subscriptionId, String errorMessage) {
         try {
-            emailService.sendEmail(subscription.getUserEmail(), subject, body);
-            log.debug("Email de fallo en renovación enviado a: {}", subscription.getUserEmail());
+            transactionTemplate.executeWithoutResult(status -> subscriptionRepository.findById(subscriptionId)
+                    .ifPresent(subscription -> {
+                        String email = userEmail(subscription);
+                        if (email == null) {
+                            log.warn("No se puede enviar email de fallo: usuario sin email configurado. Subscription ID: {}",
+                                    subscriptionId);
+                            return;
+                        }
+                        String subject = "⚠️ Fallo en renovación automática de suscripción - ParkControl";
+                        emailService.sendEmail(email, subject, buildFailureEmailBody(subscription, errorMessage));
+                    }));
         } catch (Exception e) {
-            log.error("Error enviando email de fallo en renovación a: {}", subscription.getUserEmail(), e);
+            log.error("Error enviando email de fallo en renovación. Subscription ID: {}", subscriptionId, e);
         }
     }
 
-    private String buildSuccessEmailBody(Subscription subscription) {
+    private String buildSuccessEmailBody(SubscriptionEntity subscription, LocalDateTime previousEndDate) {
         return String.format("""
                 Estimado/a usuario/a,
 
@@ -144,6 +445,7 @@ public class AutoRenewSubscriptionsJob {
                 - Plan: %s
                 - Tipo: %s
                 - Vigencia anterior: %s
+                - Nueva vigencia: %s a %s
 
                 La nueva suscripción estará activa desde la fecha de vencimiento de la anterior.
 
@@ -154,13 +456,14 @@ public class AutoRenewSubscriptionsJob {
                 Equipo ParkControl
                 """,
                 subscription.getLicensePlate(),
-                subscription.getPlan() != null ? subscription.getPlan().getPlanTypeName()
-                        : "Plan ID: " + subscription.getPlanId(),
-                subscription.getIsAnnual() ? "Anual" : "Mensual",
+                planName(subscription),
+                Boolean.TRUE.equals(subscription.getIsAnnual()) ? "Anual" : "Mensual",
+                previousEndDate,
+                subscription.getStartDate(),
                 subscription.getEndDate());
     }
 
-    private String buildFailureEmailBody(Subscription subscription, String errorMessage) {
+    private String buildFailureEmailBody(SubscriptionEntity subscription, String errorMessage) {
         return String.format("""
                 Estimado/a usuario/a,
 
@@ -183,4 +486,58 @@ public class AutoRenewSubscriptionsJob {
                 subscription.getEndDate(),
                 errorMessage);
     }
+
+    private List<List<Long>> partition(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            chunks.add(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+        }
+        return chunks;
+    }
+
+    private static String userEmail(SubscriptionEntity subscription) {
+        return subscription.getUser() != null ? subscription.getUser().getEmail() : null;
+    }
+
+    private static String planName(SubscriptionEntity subscription) {
+        if (subscription.getPlan() != null && subscription.getPlan().getPlanType() != null) {
+            return subscription.getPlan().getPlanType().getName();
+        }
+        return "Plan ID: " + subscription.getPlanId();
+    }
+
+    private static String periodKey(Long subscriptionId, LocalDateTime periodEnd) {
+        return subscriptionId + "|" + periodEnd;
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "auto-renew-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Datos de referencia que se leen una vez por corrida.
+     */
+    record ReferenceData(BigDecimal rate, Integer activeStatusId) {
+    }
+
+    record ChunkResult(int renewed, int skipped, int failed) {
+
+        static final ChunkResult EMPTY = new ChunkResult(0, 0, 0);
+
+        ChunkResult plus(ChunkResult other) {
+            return new ChunkResult(renewed + other.renewed, skipped + other.skipped, failed + other.failed);
+        }
+    }
 }
@@ -0,0 +1,205 @@
+package com.ayd.parkcontrol.infrastructure.scheduler;
+
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
+import com.ayd.parkcontrol.infrastructure.cache.OccupancyTimeSeries;
+import com.ayd.parkcontrol.infrastructure.cache.OccupancyTimeSeries.Aggregate;
+import com.ayd.parkcontrol.infrastructure.cache.OccupancyTimeSeries.SeriesKey;
+import com.ayd.parkcontrol.infrastructure.cache.RedisOccupancyService;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.BranchEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.OccupancyHourlyEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.VehicleTypeEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaBranchRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaOccupancyHourlyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Job programado que construye el histórico de ocupación.
+ *
+ * Cada {@code app.occupancy.samples.interval-ms} lee la ocupación de todas las
+ * sucursales activas desde Redis y la registra en cubetas de un minuto
+ * ({@link OccupancyTimeSeries}). Cada {@code app.occupancy.samples.rollup-ms}
+ * agrega las cubetas de la hora actual y la anterior en la tabla
+ * {@code occupancy_hourly}; la agregación se recalcula completa a partir de
+ * las cubetas, así que repetirla (o ejecutarla en varias instancias) produce
+ * las mismas filas. Una vez al día se eliminan las horas más antiguas que
+ * {@code app.occupancy.samples.retention-days}.
+ *
+ * Con varias instancias cada una registra sus propias muestras; el pico y el
+ * promedio no se ven afectados porque todas leen los mismos contadores.
+ */
+@Component
+@Slf4j
+public class OccupancySamplingJob {
+
+    private static final String TWO_WHEELER = "2R";
+    private static final String FOUR_WHEELER = "4R";
+
+    private final JpaBranchRepository branchRepository;
+    private final RedisOccupancyService redisOccupancyService;
+    private final OccupancyTimeSeries occupancyTimeSeries;
+    private final JpaOccupancyHourlyRepository occupancyHourlyRepository;
+    private final CatalogCache catalogCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+
+    public OccupancySamplingJob(JpaBranchRepository branchRepository,
+            RedisOccupancyService redisOccupancyService,
+            OccupancyTimeSeries occupancyTimeSeries,
+            JpaOccupancyHourlyRepository occupancyHourlyRepository,
+            CatalogCache catalogCache,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.occupancy.samples.retention-days:400}") int retentionDays) {
+        this.branchRepository = branchRepository;
+        this.redisOccupancyService = redisOccupancyService;
+        this.occupancyTimeSeries = occupancyTimeSeries;
+        this.occupancyHourlyRepository = occupancyHourlyRepository;
+        this.catalogCache = catalogCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionDays = Math.max(1, retentionDays);
+    }
+
+    /**
+     * Registra una muestra de la ocupación actual de cada sucursal activa.
+     */
+    @Scheduled(fixedDelayString = "${app.occupancy.samples.interval-ms:15000}",
+            initialDelayString = "${app.occupancy.samples.interval-ms:15000}")
+    public void sample() {
+        try {
+            List<BranchEntity> branches = branchRepository.findByIsActive(true, Pageable.unpaged()).getContent();
+
+            Map<SeriesKey, Integer> samples = new LinkedHashMap<>();
+            collect(branches, TWO_WHEELER, BranchEntity::getCapacity2r, samples);
+            collect(branches, FOUR_WHEELER, BranchEntity::getCapacity4r, samples);
+
+            occupancyTimeSeries.record(LocalDateTime.now(), samples);
+            log.debug("Muestra de ocupación registrada para {} series", samples.size());
+        } catch (Exception e) {
+            log.warn("No se pudo registrar la muestra de ocupación: {}", e.toString());
+        }
+    }
+
+    /**
+     * Agrega las cubetas de minuto de la hora anterior y la actual en la
+     * tabla {@code occupancy_hourly}.
+     */
+    @Scheduled(fixedDelayString = "${app.occupancy.samples.rollup-ms:300000}",
+            initialDelayString = "${app.occupancy.samples.rollup-ms:300000}")
+    public void rollUp() {
+        LocalDateTime currentHour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        rollUp(List.of(currentHour.minusHours(1), currentHour));
+    }
+
+    /**
+     * Agrega las horas indicadas. Solo deben pedirse horas cuyas cubetas sigan
+     * en Redis; de lo contrario la fila se sobrescribiría con datos parciales.
+     *
+     * @param hours inicios de hora a agregar
+     * @return cantidad de filas escritas
+     */
+    public int rollUp(List<LocalDateTime> hours) {
+        try {
+            Map<LocalDateTime, Map<SeriesKey, Aggregate>> aggregates = new LinkedHashMap<>();
+            for (LocalDateTime hour : hours) {
+                Map<SeriesKey, Aggregate> series = occupancyTimeSeries.readHour(hour);
+                if (!series.isEmpty()) {
+                    aggregates.put(hour.truncatedTo(ChronoUnit.HOURS), series);
+                }
+            }
+            if (aggregates.isEmpty()) {
+                return 0;
+            }
+
+            Integer written = transactionTemplate.execute(status -> upsert(aggregates));
+            log.debug("Ocupación agregada: {} filas en {} horas", written, aggregates.size());
+            return written != null ? written : 0;
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Otra instancia agregó la misma hora de ocupación: {}", e.getMostSpecificCause().getMessage());
+            return 0;
+        } catch (Exception e) {
+            log.warn("No se pudo agregar la ocupación por hora: {}", e.toString());
+            return 0;
+        }
+    }
+
+    /**
+     * Elimina las horas de ocupación fuera del periodo de retención.
+     * Cron: todos los días a las 3:30 AM
+     */
+    @Scheduled(cron = "${app.occupancy.samples.purge-cron:0 30 3 * * *}")
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays).truncatedTo(ChronoUnit.HOURS);
+        try {
+            int deleted = occupancyHourlyRepository.deleteByHourStartBefore(cutoff);
+            log.info("Histórico de ocupación depurado: {} filas anteriores a {}", deleted, cutoff);
+        } catch (Exception e) {
+            log.error("Error depurando el histórico de ocupación", e);
+        }
+    }
+
+    private void collect(List<BranchEntity> branches, String vehicleType,
+            Function<BranchEntity, Integer> capacityOf, Map<SeriesKey, Integer> samples) {
+        Predicate<BranchEntity> hasCapacity = branch -> capacityOf.apply(branch) != null
+                && capacityOf.apply(branch) > 0;
+        List<Long> branchIds = branches.stream().filter(hasCapacity).map(BranchEntity::getId).toList();
+
+        redisOccupancyService.getCurrentOccupancies(branchIds, vehicleType)
+                .forEach((branchId, occupancy) -> samples.put(new SeriesKey(branchId, vehicleType), occupancy));
+    }
+
+    private int upsert(Map<LocalDateTime, Map<SeriesKey, Aggregate>> aggregates) {
+        Map<String, Integer> vehicleTypeIds = catalogCache.vehicleTypes().all().stream()
+                .collect(Collectors.toMap(VehicleTypeEntity::getCode, VehicleTypeEntity::getId));
+
+        Map<String, OccupancyHourlyEntity> existing = new HashMap<>();
+        for (OccupancyHourlyEntity row : occupancyHourlyRepository.findByHourStartIn(aggregates.keySet())) {
+            existing.put(rowKey(row.getBranchId(), row.getVehicleTypeId(), row.getHourStart()), row);
+        }
+
+        List<OccupancyHourlyEntity> rows = new ArrayList<>();
+        aggregates.forEach((hour, series) -> series.forEach((key, aggregate) -> {
+            Integer vehicleTypeId = vehicleTypeIds.get(key.vehicleType());
+            if (vehicleTypeId == null || aggregate.samples() <= 0) {
+                log.warn("Serie de ocupación ignorada: sucursal {} tipo {}", key.branchId(), key.vehicleType());
+                return;
+            }
+
+            OccupancyHourlyEntity row = existing.get(rowKey(key.branchId(), vehicleTypeId, hour));
+            if (row == null) {
+                row = OccupancyHourlyEntity.builder()
+                        .branchId(key.branchId())
+                        .vehicleTypeId(vehicleTypeId)
+                        .hourStart(hour)
+                        .build();
+            }
+            row.setSamples((int) aggregate.samples());
+            row.setOccupancySum(aggregate.sum());
+            row.setPeakOccupancy(Math.max(0, aggregate.peak()));
+            rows.add(row);
+        }));
+
+        occupancyHourlyRepository.saveAll(rows);
+        return rows.size();
+    }
+
+    private static String rowKey(Long branchId, Integer vehicleTypeId, LocalDateTime hour) {
+        return branchId + ":" + vehicleTypeId + ":" + hour;
+    }
+}
@@ -0,0 +1,50 @@
+package com.ayd.parkcontrol.infrastructure.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Utilidad para obtener la dirección IP real del cliente.
+ *
+ * Considera headers de proxies/load balancers:
+ * - X-Forwarded-For
+ * - X-Real-IP
+ * - Proxy-Client-IP
+ *
+ * @author ParkControl Team
+ * @version 1.0.0
+ */
+public final class ClientIpResolver {
+
+    private ClientIpResolver() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Obtiene la dirección IP real del cliente.
+     *
+     * @param request request HTTP
+     * @return dirección IP del cliente
+     */
+    public static String resolve(HttpServletRequest request) {
+        String ip = request.getHeader("X-Forwarded-For");
+
+        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
+            ip = request.getHeader("X-Real-IP");
+        }
+
+        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
+            ip = request.getHeader("Proxy-Client-IP");
+        }
+
+        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
+            ip = request.getRemoteAddr();
+        }
+
+        // Si X-Forwarded-For contiene múltiples IPs, tomar la primera
+        if (ip != null && ip.contains(",")) {
+            ip = ip.split(",")[0].trim();
+        }
+
+        return ip != null ? ip : "unknown";
+    }
+}
@@ -1,9 +1,12 @@
 package com.ayd.parkcontrol.presentation.controller.audit;
 
 import com.ayd.parkcontrol.application.dto.response.audit.AuditLogResponse;
+import com.ayd.parkcontrol.application.dto.response.audit.AuditPipelineResponse;
 import com.ayd.parkcontrol.application.dto.response.common.ApiResponse;
-import com.ayd.parkcontrol.application.dto.response.common.PageResponse;
+import com.ayd.parkcontrol.application.dto.response.common.CursorPageResponse;
 import com.ayd.parkcontrol.application.usecase.audit.*;
+import com.ayd.parkcontrol.infrastructure.audit.AuditLogPipeline;
+import com.ayd.parkcontrol.infrastructure.audit.AuditPipelineMetrics;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,10 +15,6 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -35,25 +34,23 @@ public class AuditLogController {
     private final ListAuditLogsByUserUseCase listAuditLogsByUserUseCase;
     private final ListAuditLogsByModuleUseCase listAuditLogsByModuleUseCase;
     private final ListAuditLogsByDateRangeUseCase listAuditLogsByDateRangeUseCase;
+    private final AuditLogPipeline auditLogPipeline;
+    private final AuditPipelineMetrics auditPipelineMetrics;
 
-    @Operation(summary = "Listar logs de auditoría", description = "Obtiene una lista paginada de todos los logs de auditoría del sistema")
+    @Operation(summary = "Listar logs de auditoría", description = "Obtiene los logs de auditoría del más reciente al más antiguo, paginados por cursor. Para la página siguiente se envía el next_cursor de la respuesta anterior; el total solo se calcula con includeTotal=true")
     @ApiResponses(value = {
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Lista de logs obtenida exitosamente", content = @Content(schema = @Schema(implementation = PageResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Lista de logs obtenida exitosamente", content = @Content(schema = @Schema(implementation = CursorPageResponse.class))),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "No autenticado", content = @Content),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Sin permisos para acceder", content = @Content)
     })
     @GetMapping
     @PreAuthorize("hasRole('Administrador')")
-    public ResponseEntity<ApiResponse<Page<AuditLogResponse>>> listAuditLogs(
-            @Parameter(description = "Número de página (base 0)", example = "0") @RequestParam(defaultValue = "0") Integer page,
-            @Parameter(description = "Tamaño de página", example = "20") @RequestParam(defaultValue = "20") Integer size,
-            @Parameter(description = "Campo de ordenamiento", example = "createdAt") @RequestParam(defaultValue = "createdAt") String sortBy,
-            @Parameter(description = "Dirección de ordenamiento", example = "desc") @RequestParam(defaultValue = "desc") String sortDirection) {
+    public ResponseEntity<ApiResponse<CursorPageResponse<AuditLogResponse>>> listAuditLogs(
+            @Parameter(description = "Cursor devuelto en next_cursor por la página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (máximo 100)", example = "20") @RequestParam(defaultValue = "20") Integer size,
+            @Parameter(description = "Calcular el total de elementos", example = "false") @RequestParam(defaultValue = "false") boolean includeTotal) {
 
-        Sort.Direction direction = sortDirection.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-
-        Page<AuditLogResponse> response = listAuditLogsUseCase.execute(pageable);
+        CursorPageResponse<AuditLogResponse> response = listAuditLogsUseCase.execute(cursor, size, includeTotal);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
@@ -74,68 +71,78 @@ public class AuditLogController {
 
     @Operation(summary = "Listar logs por usuario", description = "Obtiene logs de auditoría filtrados por ID de usuario")
     @ApiResponses(value = {
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Lista de logs obtenida exitosamente", content = @Content(schema = @Schema(implementation = PageResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Lista de logs obtenida exitosamente", content = @Content(schema = @Schema(implementation = CursorPageResponse.class))),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "No autenticado", content = @Content),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Sin permisos para acceder", content = @Content)
     })
     @GetMapping("/by-user/{userId}")
     @PreAuthorize("hasRole('Administrador')")
-    public ResponseEntity<ApiResponse<Page<AuditLogResponse>>> listAuditLogsByUser(
+    public ResponseEntity<ApiResponse<CursorPageResponse<AuditLogResponse>>> listAuditLogsByUser(
             @Parameter(description = "ID del usuario", example = "1", required = true) @PathVariable Long userId,
-            @Parameter(description = "Número de página (base 0)", example = "0") @RequestParam(defaultValue = "0") Integer page,
-            @Parameter(description = "Tamaño de página", example = "20") @RequestParam(defaultValue = "20") Integer size,
-            @Parameter(description = "Campo de ordenamiento", example = "createdAt") @RequestParam(defaultValue = "createdAt") String sortBy,
-            @Parameter(description = "Dirección de ordenamiento", example = "desc") @RequestParam(defaultValue = "desc") String sortDirection) {
-
-        Sort.Direction direction = sortDirection.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+            @Parameter(description = "Cursor devuelto en next_cursor por la página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (máximo 100)", example = "20") @RequestParam(defaultValue = "20") Integer size,
+            @Parameter(description = "Calcular el total de elementos", example = "false") @RequestParam(defaultValue = "false") boolean includeTotal) {
 
-        Page<AuditLogResponse> response = listAuditLogsByUserUseCase.execute(userId, pageable);
+        CursorPageResponse<AuditLogResponse> response = listAuditLogsByUserUseCase.execute(userId, cursor, size,
+                includeTotal);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
     @Operation(summary = "Listar logs por módulo", description = "Obtiene logs de auditoría filtrados por módulo del sistema")
     @ApiResponses(value = {
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Lista de logs obtenida exitosamente", content = @Content(schema = @Schema(implementation = PageResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Lista de logs obtenida exitosamente", content = @Content(schema = @Schema(implementation = CursorPageResponse.class))),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "No autenticado", content = @Content),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Sin permisos para acceder", content = @Content)
     })
     @GetMapping("/by-module/{module}")
     @PreAuthorize("hasRole('Administrador')")
-    public ResponseEntity<ApiResponse<Page<AuditLogResponse>>> listAuditLogsByModule(
+    public ResponseEntity<ApiResponse<CursorPageResponse<AuditLogResponse>>> listAuditLogsByModule(
             @Parameter(description = "Nombre del módulo", example = "usuarios", required = true) @PathVariable String module,
-            @Parameter(description = "Número de página (base 0)", example = "0") @RequestParam(defaultValue = "0") Integer page,
-            @Parameter(description = "Tamaño de página", example = "20") @RequestParam(defaultValue = "20") Integer size,
-            @Parameter(description = "Campo de ordenamiento", example = "createdAt") @RequestParam(defaultValue = "createdAt") String sortBy,
-            @Parameter(description = "Dirección de ordenamiento", example = "desc") @RequestParam(defaultValue = "desc") String sortDirection) {
-
-        Sort.Direction direction = sortDirection.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+            @Parameter(description = "Cursor devuelto en next_cursor por la página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (máximo 100)", example = "20") @RequestParam(defaultValue = "20") Integer size,
+            @Parameter(description = "Calcular el total de elementos", example = "false") @RequestParam(defaultValue = "false") boolean includeTotal) {
 
-        Page<AuditLogResponse> response = listAuditLogsByModuleUseCase.execute(module, pageable);
+        CursorPageResponse<AuditLogResponse> response = listAuditLogsByModuleUseCase.execute(module, cursor, size,
+                includeTotal);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
     @Operation(summary = "Listar logs por rango de fechas", description = "Obtiene logs de auditoría filtrados por rango de fechas")
     @ApiResponses(value = {
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Lista de logs obtenida exitosamente", content = @Content(schema = @Schema(implementation = PageResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Lista de logs obtenida exitosamente", content = @Content(schema = @Schema(implementation = CursorPageResponse.class))),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "No autenticado", content = @Content),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Sin permisos para acceder", content = @Content)
     })
     @GetMapping("/by-date-range")
     @PreAuthorize("hasRole('Administrador')")
-    public ResponseEntity<ApiResponse<Page<AuditLogResponse>>> listAuditLogsByDateRange(
+    public ResponseEntity<ApiResponse<CursorPageResponse<AuditLogResponse>>> listAuditLogsByDateRange(
             @Parameter(description = "Fecha inicio (formato: yyyy-MM-dd'T'HH:mm:ss)", example = "2025-01-01T00:00:00", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @Parameter(description = "Fecha fin (formato: yyyy-MM-dd'T'HH:mm:ss)", example = "2025-12-31T23:59:59", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
-            @Parameter(description = "Número de página (base 0)", example = "0") @RequestParam(defaultValue = "0") Integer page,
-            @Parameter(description = "Tamaño de página", example = "20") @RequestParam(defaultValue = "20") Integer size,
-            @Parameter(description = "Campo de ordenamiento", example = "createdAt") @RequestParam(defaultValue = "createdAt") String sortBy,
-            @Parameter(description = "Dirección de ordenamiento", example = "desc") @RequestParam(defaultValue = "desc") String sortDirection) {
+            @Parameter(description = "Cursor devuelto en next_cursor por la página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (máximo 100)", example = "20") @RequestParam(defaultValue = "20") Integer size,
+            @Parameter(description = "Calcular el total de elementos", example = "false") @RequestParam(defaultValue = "false") boolean includeTotal) {
 
-        Sort.Direction direction = sortDirection.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+        CursorPageResponse<AuditLogResponse> response = listAuditLogsByDateRangeUseCase.execute(startDate, endDate,
+                cursor, size, includeTotal);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
 
-        Page<AuditLogResponse> response = listAuditLogsByDateRangeUseCase.execute(startDate, endDate, pageable);
+    @Operation(summary = "Estado del pipeline de auditoría", description = "Obtiene la ocupación del buffer de auditoría, el retraso del escritor y los contadores de registros escritos, desbordados y respaldados en disco")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Métricas obtenidas exitosamente", content = @Content(schema = @Schema(implementation = AuditPipelineResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "No autenticado", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Sin permisos para acceder", content = @Content)
+    })
+    @GetMapping("/pipeline")
+    @PreAuthorize("hasRole('Administrador')")
+    public ResponseEntity<ApiResponse<AuditPipelineResponse>> getPipelineMetrics() {
+        AuditPipelineResponse response = AuditPipelineResponse.builder()
+                .enabled(auditLogPipeline.isEnabled())
+                .queueDepth(auditLogPipeline.getQueueDepth())
+                .queueCapacity(auditLogPipeline.getCapacity())
+                .pendingLagMs(auditLogPipeline.getPendingLagMs())
+                .counters(auditPipelineMetrics.snapshot())
+                .build();
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 }
@@ -7,7 +7,9 @@ import com.ayd.parkcontrol.application.dto.request.branch.UpdateScheduleRequest;
 import com.ayd.parkcontrol.application.dto.response.branch.*;
 import com.ayd.parkcontrol.application.dto.response.common.ApiResponse;
 import com.ayd.parkcontrol.application.dto.response.common.PageResponse;
+import com.ayd.parkcontrol.application.service.OccupancyFeedService;
 import com.ayd.parkcontrol.application.usecase.branch.*;
+import com.ayd.parkcontrol.infrastructure.cache.OccupancyReconciliationMetrics;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -18,9 +20,11 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/branches")
@@ -39,6 +43,8 @@ public class BranchController {
         private final GetScheduleUseCase getScheduleUseCase;
         private final UpdateScheduleUseCase updateScheduleUseCase;
         private final GetOccupancyUseCase getOccupancyUseCase;
+        private final OccupancyFeedService occupancyFeedService;
+        private final OccupancyReconciliationMetrics occupancyReconciliationMetrics;
 
         @PostMapping
         @PreAuthorize("hasRole('Administrador')")
@@ -185,4 +191,31 @@ public class BranchController {
                 OccupancyResponse response = getOccupancyUseCase.execute(id);
                 return ResponseEntity.ok(ApiResponse.success(response, "Occupancy retrieved successfully"));
         }
+
+        @GetMapping(value = "/occupancy/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+        @PreAuthorize("hasAnyRole('Administrador', 'Operador Sucursal', 'Operador Back Office')")
+        @Operation(summary = "Stream real-time occupancy", description = "Opens a Server-Sent Events stream with the current occupancy followed by an 'occupancy' event each time it changes, at most one per branch per interval. Without branchId all active branches are streamed.")
+        @ApiResponses(value = {
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Occupancy stream opened", content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = OccupancyResponse.class))),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Branch not found")
+        })
+        public SseEmitter streamOccupancy(
+                        @Parameter(description = "Branch ID (all active branches if omitted)") @RequestParam(required = false) Long branchId) {
+                return occupancyFeedService.subscribe(branchId);
+        }
+
+        @GetMapping("/occupancy/reconciliation")
+        @PreAuthorize("hasRole('Administrador')")
+        @Operation(summary = "Get occupancy reconciliation metrics", description = "Retrieves the drift between the Redis occupancy counters and the active tickets observed by the last reconciliation run, plus the corrections applied so far.")
+        @ApiResponses(value = {
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Reconciliation metrics retrieved successfully", content = @Content(schema = @Schema(implementation = OccupancyReconciliationResponse.class))),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden")
+        })
+        public ResponseEntity<ApiResponse<OccupancyReconciliationResponse>> getOccupancyReconciliation() {
+                OccupancyReconciliationResponse response = OccupancyReconciliationResponse.builder()
+                                .lastRunAt(occupancyReconciliationMetrics.getLastRunAt())
+                                .counters(occupancyReconciliationMetrics.snapshot())
+                                .build();
+                return ResponseEntity.ok(ApiResponse.success(response, "Reconciliation metrics retrieved successfully"));
+        }
 }
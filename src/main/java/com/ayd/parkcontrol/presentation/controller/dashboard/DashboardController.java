@@ -3,6 +3,7 @@ package com.ayd.parkcontrol.presentation.controller.dashboard;
 import com.ayd.parkcontrol.application.dto.response.common.ApiResponse;
 import com.ayd.parkcontrol.application.dto.response.dashboard.DashboardOverviewResponse;
 import com.ayd.parkcontrol.application.dto.response.dashboard.OccupancyDetailResponse;
+import com.ayd.parkcontrol.application.dto.response.dashboard.OccupancyHeatmapResponse;
 import com.ayd.parkcontrol.application.dto.response.dashboard.RevenueTodayResponse;
 import com.ayd.parkcontrol.application.dto.response.dashboard.SystemAlertResponse;
 import com.ayd.parkcontrol.application.usecase.dashboard.*;
@@ -14,10 +15,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -33,6 +36,7 @@ public class DashboardController {
     private final GetActiveSubscriptionsCountUseCase getActiveSubscriptionsCountUseCase;
     private final GetSystemAlertsUseCase getSystemAlertsUseCase;
     private final GetDashboardByBranchUseCase getDashboardByBranchUseCase;
+    private final GetOccupancyHeatmapUseCase getOccupancyHeatmapUseCase;
 
     @Operation(summary = "Resumen general", description = "Obtiene las métricas principales del sistema")
     @ApiResponses(value = {
@@ -47,7 +51,7 @@ public class DashboardController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
-    @Operation(summary = "Ocupación en tiempo real", description = "Obtiene detalles de ocupación de todas las sucursales")
+    @Operation(summary = "Ocupación en tiempo real", description = "Obtiene detalles de ocupación de todas las sucursales, con el pico y el promedio del día")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Datos de ocupación obtenidos exitosamente", content = @Content),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "No autenticado", content = @Content),
@@ -60,6 +64,24 @@ public class DashboardController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @Operation(summary = "Mapa de calor de ocupación", description = "Obtiene la ocupación promedio y pico por día de la semana y hora del día en un rango de fechas (por defecto el día actual)")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Mapa de calor obtenido exitosamente", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "No autenticado", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Sin permisos para acceder", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Sucursal no encontrada", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "422", description = "Rango de fechas inválido", content = @Content)
+    })
+    @GetMapping("/occupancy/heatmap")
+    @PreAuthorize("hasAnyRole('Administrador', 'Operador Sucursal')")
+    public ResponseEntity<ApiResponse<List<OccupancyHeatmapResponse>>> getOccupancyHeatmap(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = "ID de la sucursal", example = "1") @RequestParam(required = false) Long branchId) {
+        List<OccupancyHeatmapResponse> response = getOccupancyHeatmapUseCase.execute(startDate, endDate, branchId);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @Operation(summary = "Ingresos del día", description = "Obtiene el resumen de ingresos del día actual")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Ingresos obtenidos exitosamente", content = @Content(schema = @Schema(implementation = RevenueTodayResponse.class))),
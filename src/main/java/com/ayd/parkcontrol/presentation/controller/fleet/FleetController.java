@@ -19,11 +19,14 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+
 @RestController
 @RequestMapping("/fleets")
 @RequiredArgsConstructor
@@ -208,15 +211,20 @@ public class FleetController {
 
     @GetMapping("/{id}/consumption")
     @PreAuthorize("hasAnyRole('Administrador', 'Operador Back Office')")
-    @Operation(summary = "Get fleet consumption statistics", description = "Returns consumption statistics for a fleet company")
+    @Operation(summary = "Get fleet consumption statistics", description = "Returns consumption statistics for a fleet company, optionally for a period, with a paginated per-vehicle breakdown")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Consumption retrieved successfully"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "403", description = "Forbidden"),
-            @ApiResponse(responseCode = "404", description = "Fleet not found")
+            @ApiResponse(responseCode = "404", description = "Fleet not found"),
+            @ApiResponse(responseCode = "422", description = "Invalid period")
     })
-    public ResponseEntity<FleetConsumptionResponse> getFleetConsumption(@PathVariable Long id) {
-        FleetConsumptionResponse response = getFleetConsumptionUseCase.execute(id);
+    public ResponseEntity<FleetConsumptionResponse> getFleetConsumption(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @PageableDefault(size = 50) Pageable pageable) {
+        FleetConsumptionResponse response = getFleetConsumptionUseCase.execute(id, startDate, endDate, pageable);
         return ResponseEntity.ok(response);
     }
 }
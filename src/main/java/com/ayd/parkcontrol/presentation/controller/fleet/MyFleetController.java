@@ -18,11 +18,14 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+
 /**
  * Controller for fleet administrators to manage their own fleets.
  * All endpoints require the "Administrador Flotilla" role.
@@ -86,15 +89,19 @@ public class MyFleetController {
 
     @GetMapping("/consumption")
     @PreAuthorize("hasRole('Administrador Flotilla')")
-    @Operation(summary = "Obtener consumo de mi flotilla", description = "Retorna estadísticas de consumo de estacionamiento de la flotilla del administrador")
+    @Operation(summary = "Obtener consumo de mi flotilla", description = "Retorna estadísticas de consumo de estacionamiento de la flotilla del administrador, opcionalmente por periodo, con el detalle por vehículo paginado")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Consumo obtenido exitosamente"),
             @ApiResponse(responseCode = "401", description = "No autenticado"),
             @ApiResponse(responseCode = "403", description = "Sin permisos - Requiere rol Administrador Flotilla"),
-            @ApiResponse(responseCode = "404", description = "El usuario no tiene una flotilla asignada")
+            @ApiResponse(responseCode = "404", description = "El usuario no tiene una flotilla asignada"),
+            @ApiResponse(responseCode = "422", description = "Periodo inválido")
     })
-    public ResponseEntity<FleetConsumptionResponse> getMyFleetConsumption() {
-        FleetConsumptionResponse response = getMyFleetConsumptionUseCase.execute();
+    public ResponseEntity<FleetConsumptionResponse> getMyFleetConsumption(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @PageableDefault(size = 50) Pageable pageable) {
+        FleetConsumptionResponse response = getMyFleetConsumptionUseCase.execute(startDate, endDate, pageable);
         return ResponseEntity.ok(response);
     }
 }
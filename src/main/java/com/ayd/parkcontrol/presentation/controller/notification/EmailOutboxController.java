@@ -0,0 +1,52 @@
+package com.ayd.parkcontrol.presentation.controller.notification;
+
+import com.ayd.parkcontrol.application.dto.response.common.ApiResponse;
+import com.ayd.parkcontrol.application.dto.response.notification.EmailOutboxMetricsResponse;
+import com.ayd.parkcontrol.infrastructure.notification.EmailOutboxDispatcher;
+import com.ayd.parkcontrol.infrastructure.notification.EmailOutboxMetrics;
+import com.ayd.parkcontrol.infrastructure.notification.SmtpTransportPool;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/email-outbox")
+@RequiredArgsConstructor
+@Tag(name = "Correo", description = "Monitoreo del outbox de correo")
+@SecurityRequirement(name = "bearerAuth")
+public class EmailOutboxController {
+
+    private final EmailOutboxDispatcher emailOutboxDispatcher;
+    private final EmailOutboxMetrics emailOutboxMetrics;
+    private final SmtpTransportPool smtpTransportPool;
+
+    @Operation(summary = "Estado del outbox de correo", description = "Obtiene los correos pendientes, en envío y en dead-letter, la antigüedad del pendiente más viejo y los contadores de envíos, reintentos y conexiones SMTP")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Métricas obtenidas exitosamente", content = @Content(schema = @Schema(implementation = EmailOutboxMetricsResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "No autenticado", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Sin permisos para acceder", content = @Content)
+    })
+    @GetMapping("/metrics")
+    @PreAuthorize("hasRole('Administrador')")
+    public ResponseEntity<ApiResponse<EmailOutboxMetricsResponse>> getMetrics() {
+        EmailOutboxMetricsResponse response = EmailOutboxMetricsResponse.builder()
+                .enabled(emailOutboxDispatcher.isEnabled())
+                .queueDepth(emailOutboxDispatcher.queueDepth())
+                .oldestPendingAgeMs(emailOutboxDispatcher.getOldestPendingAgeMs())
+                .inFlight(emailOutboxDispatcher.getInFlight())
+                .workers(emailOutboxDispatcher.getWorkers())
+                .idleConnections(smtpTransportPool.getIdleCount())
+                .counters(emailOutboxMetrics.snapshot())
+                .build();
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+}
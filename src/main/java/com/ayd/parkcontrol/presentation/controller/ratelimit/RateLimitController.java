@@ -0,0 +1,42 @@
+package com.ayd.parkcontrol.presentation.controller.ratelimit;
+
+import com.ayd.parkcontrol.application.dto.response.ratelimit.RateLimitMetricsResponse;
+import com.ayd.parkcontrol.infrastructure.ratelimit.RateLimitCircuitBreaker;
+import com.ayd.parkcontrol.infrastructure.ratelimit.RateLimitMetrics;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/rate-limit")
+@RequiredArgsConstructor
+@Tag(name = "Rate Limit", description = "Rate limiter monitoring endpoints")
+@SecurityRequirement(name = "bearerAuth")
+public class RateLimitController {
+
+    private final RateLimitMetrics rateLimitMetrics;
+    private final RateLimitCircuitBreaker circuitBreaker;
+
+    @GetMapping("/metrics")
+    @PreAuthorize("hasRole('Administrador')")
+    @Operation(summary = "Get rate limit metrics", description = "Retrieve the circuit breaker state and rate limiter counters, including local fallback decisions")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Metrics retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    public ResponseEntity<RateLimitMetricsResponse> getMetrics() {
+        return ResponseEntity.ok(RateLimitMetricsResponse.builder()
+                .circuitState(circuitBreaker.getState().name())
+                .counters(rateLimitMetrics.snapshot())
+                .build());
+    }
+}
@@ -1,21 +1,35 @@
 package com.ayd.parkcontrol.presentation.controller.report;
 
+import com.ayd.parkcontrol.application.dto.request.report.ExportReportRequest;
 import com.ayd.parkcontrol.application.dto.response.common.ApiResponse;
 import com.ayd.parkcontrol.application.dto.response.report.BillingReportResponse;
+import com.ayd.parkcontrol.application.dto.response.report.FleetReportResponse;
 import com.ayd.parkcontrol.application.dto.response.report.OccupancyReportResponse;
+import com.ayd.parkcontrol.application.dto.response.report.ReportJobResponse;
 import com.ayd.parkcontrol.application.usecase.report.*;
 import com.ayd.parkcontrol.application.usecase.report.export.ExportBillingReportUseCase;
+import com.ayd.parkcontrol.application.usecase.report.export.ExportFleetReportUseCase;
+import com.ayd.parkcontrol.application.usecase.report.export.ExportFormat;
 import com.ayd.parkcontrol.application.usecase.report.export.ExportOccupancyReportUseCase;
+import com.ayd.parkcontrol.application.usecase.report.job.DownloadReportJobUseCase;
+import com.ayd.parkcontrol.application.usecase.report.job.GetReportJobUseCase;
+import com.ayd.parkcontrol.application.usecase.report.job.ReportArtifact;
+import com.ayd.parkcontrol.application.usecase.report.job.SubmitReportJobUseCase;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -36,8 +50,14 @@ public class ReportController {
     // Export use cases
     private final ExportOccupancyReportUseCase exportOccupancyReportUseCase;
     private final ExportBillingReportUseCase exportBillingReportUseCase;
+    private final ExportFleetReportUseCase exportFleetReportUseCase;
 
-    @Operation(summary = "Reporte de ocupación", description = "Genera reporte de ocupación de sucursales. Operador Sucursal solo ve su sucursal.")
+    // Report job use cases
+    private final SubmitReportJobUseCase submitReportJobUseCase;
+    private final GetReportJobUseCase getReportJobUseCase;
+    private final DownloadReportJobUseCase downloadReportJobUseCase;
+
+    @Operation(summary = "Reporte de ocupación", description = "Genera reporte de ocupación de sucursales con el pico y el promedio del periodo (por defecto el día actual). Operador Sucursal solo ve su sucursal.")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Reporte generado exitosamente", content = @Content),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "No autenticado", content = @Content),
@@ -45,12 +65,14 @@ public class ReportController {
     })
     @GetMapping("/occupancy")
     @PreAuthorize("hasAnyRole('Administrador', 'Operador Sucursal')")
-    public ResponseEntity<ApiResponse<List<OccupancyReportResponse>>> getOccupancyReport() {
-        List<OccupancyReportResponse> response = generateOccupancyReportUseCase.execute();
+    public ResponseEntity<ApiResponse<List<OccupancyReportResponse>>> getOccupancyReport(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        List<OccupancyReportResponse> response = generateOccupancyReportUseCase.execute(startDate, endDate);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
-    @Operation(summary = "Reporte de facturación", description = "Genera reporte de facturación por sucursal. Operador Sucursal solo ve su sucursal.")
+    @Operation(summary = "Reporte de facturación", description = "Genera reporte de facturación por sucursal en un rango de fechas opcional. Operador Sucursal solo ve su sucursal.")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Reporte generado exitosamente", content = @Content),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "No autenticado", content = @Content),
@@ -58,8 +80,10 @@ public class ReportController {
     })
     @GetMapping("/billing")
     @PreAuthorize("hasAnyRole('Administrador', 'Operador Sucursal')")
-    public ResponseEntity<ApiResponse<List<BillingReportResponse>>> getBillingReport() {
-        List<BillingReportResponse> response = generateBillingReportUseCase.execute();
+    public ResponseEntity<ApiResponse<List<BillingReportResponse>>> getBillingReport(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        List<BillingReportResponse> response = generateBillingReportUseCase.execute(startDate, endDate);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
@@ -89,7 +113,7 @@ public class ReportController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
-    @Operation(summary = "Reporte de cortes de caja", description = "Genera reporte de cortes de caja por periodo. Operador Sucursal solo ve su sucursal.")
+    @Operation(summary = "Reporte de cortes de caja", description = "Genera reporte de cortes de caja por periodo (por defecto el día actual). Operador Sucursal solo ve su sucursal.")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Reporte generado exitosamente", content = @Content),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "No autenticado", content = @Content),
@@ -97,8 +121,10 @@ public class ReportController {
     })
     @GetMapping("/cash-closing")
     @PreAuthorize("hasAnyRole('Administrador', 'Operador Sucursal')")
-    public ResponseEntity<ApiResponse<List<?>>> getCashClosingReport() {
-        List<?> response = generateCashClosingReportUseCase.execute();
+    public ResponseEntity<ApiResponse<List<?>>> getCashClosingReport(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        List<?> response = generateCashClosingReportUseCase.execute(startDate, endDate);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
@@ -115,7 +141,7 @@ public class ReportController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
-    @Operation(summary = "Reporte de flotillas", description = "Genera reporte de flotillas empresariales y su consumo")
+    @Operation(summary = "Reporte de flotillas", description = "Genera reporte de flotillas empresariales y su consumo en un rango de fechas opcional, para todas las empresas activas o una sola")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Reporte generado exitosamente", content = @Content),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "No autenticado", content = @Content),
@@ -123,26 +149,35 @@ public class ReportController {
     })
     @GetMapping("/fleets")
     @PreAuthorize("hasRole('Administrador')")
-    public ResponseEntity<ApiResponse<List<?>>> getFleetsReport() {
-        List<?> response = generateFleetsReportUseCase.execute();
+    public ResponseEntity<ApiResponse<List<FleetReportResponse>>> getFleetsReport(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Long companyId) {
+        List<FleetReportResponse> response = generateFleetsReportUseCase.execute(startDate, endDate, companyId);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
     // ==================== Endpoints de Exportación ====================
 
-    @Operation(summary = "Exportar reporte de ocupación", description = "Exporta el reporte de ocupación en formato PDF, CSV o PNG. Operador Sucursal solo ve su sucursal.")
+    @Operation(summary = "Exportar reporte de ocupación", description = "Exporta el reporte de ocupación en formato PDF, CSV o PNG, con rango de fechas opcional. Operador Sucursal solo ve su sucursal.")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Reporte exportado exitosamente", content = @Content),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Formato no soportado", content = @Content),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "No autenticado", content = @Content),
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Sin permisos", content = @Content)
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Sin permisos", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "422", description = "Rango de fechas inválido", content = @Content)
     })
     @GetMapping("/occupancy/export")
     @PreAuthorize("hasAnyRole('Administrador', 'Operador Sucursal')")
-    public ResponseEntity<byte[]> exportOccupancyReport(
-            @RequestParam(name = "format", defaultValue = "PDF") String format) {
-        byte[] content = exportOccupancyReportUseCase.export(format);
-        return buildExportResponse(content, format, "reporte-ocupacion");
+    public ResponseEntity<StreamingResponseBody> exportOccupancyReport(
+            @RequestParam(name = "format", defaultValue = "PDF") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        ReportDateRange.validate(startDate, endDate);
+        StreamingResponseBody body = outputStream -> exportOccupancyReportUseCase.export(exportFormat, startDate,
+                endDate, outputStream);
+        return buildExportResponse(body, exportFormat, "reporte-ocupacion");
     }
 
     @Operation(summary = "Exportar reporte de facturación", description = "Exporta el reporte de facturación en formato PDF, CSV o PNG. Operador Sucursal solo ve su sucursal.")
@@ -150,46 +185,105 @@ public class ReportController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Reporte exportado exitosamente", content = @Content),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Formato no soportado", content = @Content),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "No autenticado", content = @Content),
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Sin permisos", content = @Content)
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Sin permisos", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "422", description = "Rango de fechas inválido", content = @Content)
     })
     @GetMapping("/billing/export")
     @PreAuthorize("hasAnyRole('Administrador', 'Operador Sucursal')")
-    public ResponseEntity<byte[]> exportBillingReport(
-            @RequestParam(name = "format", defaultValue = "PDF") String format) {
-        byte[] content = exportBillingReportUseCase.export(format);
-        return buildExportResponse(content, format, "reporte-facturacion");
+    public ResponseEntity<StreamingResponseBody> exportBillingReport(
+            @RequestParam(name = "format", defaultValue = "PDF") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        ReportDateRange.validate(startDate, endDate);
+        StreamingResponseBody body = outputStream -> exportBillingReportUseCase.export(exportFormat, startDate,
+                endDate, outputStream);
+        return buildExportResponse(body, exportFormat, "reporte-facturacion");
+    }
+
+    @Operation(summary = "Exportar reporte de flotillas", description = "Exporta el reporte de flotillas en formato PDF, CSV o PNG, con rango de fechas y empresa opcionales.")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Reporte exportado exitosamente", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Formato no soportado", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "No autenticado", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Sin permisos", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "422", description = "Rango de fechas inválido", content = @Content)
+    })
+    @GetMapping("/fleets/export")
+    @PreAuthorize("hasRole('Administrador')")
+    public ResponseEntity<StreamingResponseBody> exportFleetsReport(
+            @RequestParam(name = "format", defaultValue = "PDF") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Long companyId) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        ReportDateRange.validate(startDate, endDate);
+        StreamingResponseBody body = outputStream -> exportFleetReportUseCase.export(exportFormat, startDate,
+                endDate, companyId, outputStream);
+        return buildExportResponse(body, exportFormat, "reporte-flotillas");
+    }
+
+    // ==================== Endpoints de Trabajos de Reportes ====================
+
+    @Operation(summary = "Solicitar reporte asíncrono", description = "Encola la generación de un reporte (OCCUPANCY, BILLING o FLEETS, este último solo para Administrador) en formato PDF, CSV o PNG. Si ya existe un archivo generado para los mismos datos, el trabajo se completa de inmediato.")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202", description = "Trabajo registrado", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Datos inválidos", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "No autenticado", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Sin permisos", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "422", description = "Tipo o formato no soportado, o cola llena", content = @Content)
+    })
+    @PostMapping("/jobs")
+    @PreAuthorize("hasAnyRole('Administrador', 'Operador Sucursal')")
+    public ResponseEntity<ApiResponse<ReportJobResponse>> submitReportJob(
+            @Valid @RequestBody ExportReportRequest request) {
+        ReportJobResponse response = submitReportJobUseCase.execute(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success(response, "Trabajo de reporte registrado"));
+    }
+
+    @Operation(summary = "Consultar trabajo de reporte", description = "Obtiene el estado de un trabajo de reporte solicitado por el usuario autenticado")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Trabajo encontrado", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "No autenticado", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Sin permisos", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Trabajo no encontrado", content = @Content)
+    })
+    @GetMapping("/jobs/{jobId}")
+    @PreAuthorize("hasAnyRole('Administrador', 'Operador Sucursal')")
+    public ResponseEntity<ApiResponse<ReportJobResponse>> getReportJob(@PathVariable String jobId) {
+        ReportJobResponse response = getReportJobUseCase.execute(jobId);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @Operation(summary = "Descargar reporte", description = "Descarga el archivo de un trabajo de reporte completado")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Archivo descargado", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "No autenticado", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Sin permisos", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Trabajo no encontrado", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "422", description = "Reporte aún no disponible", content = @Content)
+    })
+    @GetMapping("/jobs/{jobId}/download")
+    @PreAuthorize("hasAnyRole('Administrador', 'Operador Sucursal')")
+    public ResponseEntity<byte[]> downloadReportJob(@PathVariable String jobId) {
+        ReportArtifact artifact = downloadReportJobUseCase.execute(jobId);
+
+        return ResponseEntity.ok()
+                .header("Content-Type", artifact.getMediaType())
+                .header("Content-Disposition", "attachment; filename=\"" + artifact.getFileName() + "\"")
+                .body(artifact.getContent());
     }
 
     // ==================== Helper Methods ====================
 
-    private ResponseEntity<byte[]> buildExportResponse(byte[] content, String format, String baseFileName) {
-        String extension;
-        String mediaType;
-
-        switch (format.toUpperCase()) {
-            case "PDF":
-                extension = "pdf";
-                mediaType = "application/pdf";
-                break;
-            case "CSV":
-                extension = "csv";
-                mediaType = "text/csv";
-                break;
-            case "PNG":
-            case "IMAGE":
-                extension = "png";
-                mediaType = "image/png";
-                break;
-            default:
-                extension = "txt";
-                mediaType = "text/plain";
-        }
-
-        String fileName = baseFileName + "." + extension;
+    private ResponseEntity<StreamingResponseBody> buildExportResponse(StreamingResponseBody body,
+            ExportFormat format, String baseFileName) {
+        String fileName = baseFileName + "." + format.getExtension();
 
         return ResponseEntity.ok()
-                .header("Content-Type", mediaType)
+                .header("Content-Type", format.getMediaType())
                 .header("Content-Disposition", "attachment; filename=\"" + fileName + "\"")
-                .body(content);
+                .body(body);
     }
 }
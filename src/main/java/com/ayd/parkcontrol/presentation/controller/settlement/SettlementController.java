@@ -1,9 +1,12 @@
 package com.ayd.parkcontrol.presentation.controller.settlement;
 
+import com.ayd.parkcontrol.application.dto.request.settlement.BulkSettlementRequest;
 import com.ayd.parkcontrol.application.dto.request.settlement.GenerateSettlementRequest;
+import com.ayd.parkcontrol.application.dto.response.settlement.BulkSettlementRunResponse;
 import com.ayd.parkcontrol.application.dto.response.settlement.SettlementResponse;
 import com.ayd.parkcontrol.application.usecase.settlement.GenerateSettlementUseCase;
 import com.ayd.parkcontrol.application.usecase.settlement.GetSettlementByIdUseCase;
+import com.ayd.parkcontrol.application.usecase.settlement.RunBulkSettlementUseCase;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.BusinessSettlementHistoryEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaBusinessSettlementHistoryRepository;
 import io.swagger.v3.oas.annotations.Operation;
@@ -31,6 +34,7 @@ public class SettlementController {
 
     private final GenerateSettlementUseCase generateSettlementUseCase;
     private final GetSettlementByIdUseCase getSettlementByIdUseCase;
+    private final RunBulkSettlementUseCase runBulkSettlementUseCase;
     private final JpaBusinessSettlementHistoryRepository settlementRepository;
 
     @GetMapping
@@ -63,6 +67,22 @@ public class SettlementController {
         return ResponseEntity.status(HttpStatus.CREATED).body(settlement);
     }
 
+    @PostMapping("/run")
+    @PreAuthorize("hasRole('Administrador')")
+    @Operation(summary = "Run bulk settlement", description = "Settle every business and branch with pending free hours in a period")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Settlement run completed"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "409", description = "A settlement run is already in progress")
+    })
+    public ResponseEntity<BulkSettlementRunResponse> runBulkSettlement(
+            @Valid @RequestBody BulkSettlementRequest request) {
+        BulkSettlementRunResponse run = runBulkSettlementUseCase.execute(request);
+        return ResponseEntity.ok(run);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('Administrador', 'Operador Back Office')")
     @Operation(summary = "Get settlement by ID", description = "Retrieve a settlement by its ID")
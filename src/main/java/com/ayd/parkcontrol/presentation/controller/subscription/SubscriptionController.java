@@ -2,6 +2,7 @@ package com.ayd.parkcontrol.presentation.controller.subscription;
 
 import com.ayd.parkcontrol.application.dto.request.subscription.PurchaseSubscriptionRequest;
 import com.ayd.parkcontrol.application.dto.request.subscription.RenewSubscriptionRequest;
+import com.ayd.parkcontrol.application.dto.response.subscription.AutoRenewRunResponse;
 import com.ayd.parkcontrol.application.dto.response.subscription.SubscriptionBalanceResponse;
 import com.ayd.parkcontrol.application.dto.response.subscription.SubscriptionOverageResponse;
 import com.ayd.parkcontrol.application.dto.response.subscription.SubscriptionResponse;
@@ -22,6 +23,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/subscriptions")
 @RequiredArgsConstructor
@@ -39,6 +42,7 @@ public class SubscriptionController {
         private final GetSubscriptionOveragesUseCase getSubscriptionOveragesUseCase;
         private final GetMySubscriptionUseCase getMySubscriptionUseCase;
         private final GetMySubscriptionBalanceUseCase getMySubscriptionBalanceUseCase;
+        private final ListAutoRenewRunsUseCase listAutoRenewRunsUseCase;
 
         @GetMapping
         @PreAuthorize("hasAnyRole('Administrador', 'Operador Back Office')")
@@ -212,4 +216,18 @@ public class SubscriptionController {
                 SubscriptionBalanceResponse response = getMySubscriptionBalanceUseCase.execute();
                 return ResponseEntity.ok(response);
         }
+
+        @GetMapping("/auto-renewals/runs")
+        @PreAuthorize("hasRole('Administrador')")
+        @Operation(summary = "List auto-renewal runs", description = "Returns the most recent automatic renewal runs with their checkpoint and renewed, skipped and failed counts")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Runs retrieved successfully"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+                        @ApiResponse(responseCode = "403", description = "Forbidden")
+        })
+        public ResponseEntity<List<AutoRenewRunResponse>> listAutoRenewRuns(
+                        @RequestParam(defaultValue = "10") int limit) {
+                List<AutoRenewRunResponse> runs = listAutoRenewRunsUseCase.execute(limit);
+                return ResponseEntity.ok(runs);
+        }
 }
@@ -1,8 +1,10 @@
 package com.ayd.parkcontrol.presentation.controller.ticket;
 
 import com.ayd.parkcontrol.application.dto.request.ticket.ApplyBenefitRequest;
+import com.ayd.parkcontrol.application.dto.request.ticket.GateEventBatchRequest;
 import com.ayd.parkcontrol.application.dto.request.ticket.RegisterEntryRequest;
 import com.ayd.parkcontrol.application.dto.response.ticket.BusinessFreeHoursResponse;
+import com.ayd.parkcontrol.application.dto.response.ticket.GateEventBatchResponse;
 import com.ayd.parkcontrol.application.dto.response.ticket.TicketChargeResponse;
 import com.ayd.parkcontrol.application.dto.response.ticket.TicketResponse;
 import com.ayd.parkcontrol.application.usecase.ticket.*;
@@ -36,6 +38,7 @@ public class TicketController {
     private final GetTicketsByBranchUseCase getTicketsByBranchUseCase;
     private final GetTicketsByPlateUseCase getTicketsByPlateUseCase;
     private final GetTicketByFolioUseCase getTicketByFolioUseCase;
+    private final IngestGateEventsUseCase ingestGateEventsUseCase;
 
     @PostMapping
     @PreAuthorize("hasAnyRole('Operador Sucursal', 'Administrador')")
@@ -52,6 +55,21 @@ public class TicketController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/gate-events")
+    @PreAuthorize("hasAnyRole('Operador Sucursal', 'Administrador')")
+    @Operation(summary = "Ingest gate events", description = "Processes a batch of entry/exit events in order and reports the result of each event")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; see per-event results"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    public ResponseEntity<GateEventBatchResponse> ingestGateEvents(
+            @Valid @RequestBody GateEventBatchRequest request) {
+        GateEventBatchResponse response = ingestGateEventsUseCase.execute(request);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('Operador Sucursal', 'Operador Back Office', 'Administrador')")
     @Operation(summary = "Get ticket by ID", description = "Returns ticket details by ID")
@@ -129,6 +129,20 @@ public class GlobalExceptionHandler {
                 return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
         }
 
+        @ExceptionHandler(ReportJobNotFoundException.class)
+        public ResponseEntity<ErrorResponse> handleReportJobNotFoundException(ReportJobNotFoundException ex,
+                        WebRequest request) {
+                log.error("Report job not found: {}", ex.getMessage());
+                ErrorResponse error = ErrorResponse.builder()
+                                .status(HttpStatus.NOT_FOUND.value())
+                                .error("Not Found")
+                                .message(ex.getMessage())
+                                .path(request.getDescription(false).replace("uri=", ""))
+                                .timestamp(LocalDateTime.now().toString())
+                                .build();
+                return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+        }
+
         @ExceptionHandler(BranchNotFoundException.class)
         public ResponseEntity<ErrorResponse> handleBranchNotFoundException(BranchNotFoundException ex,
                         WebRequest request) {
@@ -1,5 +1,7 @@
 package com.ayd.parkcontrol.presentation.filter;
 
+import com.ayd.parkcontrol.security.PrincipalCache;
+import com.ayd.parkcontrol.security.jwt.JwtClaims;
 import com.ayd.parkcontrol.security.jwt.JwtTokenProvider;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -18,7 +20,9 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
@@ -27,6 +31,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
 
     private static final List<String> PUBLIC_ENDPOINTS = Arrays.asList(
             "/auth/login",
@@ -64,10 +69,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-                String username = jwtTokenProvider.getUsernameFromToken(jwt);
+            Optional<JwtClaims> claims = StringUtils.hasText(jwt) ? jwtTokenProvider.parseToken(jwt)
+                    : Optional.empty();
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (claims.isPresent()) {
+                String username = claims.get().getUsername();
+                Date issuedAt = claims.get().getIssuedAt();
+
+                UserDetails userDetails = principalCache.get(username, issuedAt);
+                if (userDetails == null) {
+                    userDetails = userDetailsService.loadUserByUsername(username);
+                    principalCache.put(username, issuedAt, userDetails);
+                }
 
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
@@ -1,7 +1,13 @@
 package com.ayd.parkcontrol.presentation.filter;
 
 import com.ayd.parkcontrol.infrastructure.ratelimit.RateLimitConfig;
-import com.ayd.parkcontrol.infrastructure.ratelimit.RateLimitService;
+import com.ayd.parkcontrol.infrastructure.ratelimit.RateLimitDecision;
+import com.ayd.parkcontrol.infrastructure.ratelimit.RateLimitKeyType;
+import com.ayd.parkcontrol.infrastructure.ratelimit.RateLimitRule;
+import com.ayd.parkcontrol.infrastructure.ratelimit.RateLimitRules;
+import com.ayd.parkcontrol.infrastructure.ratelimit.TieredRateLimiter;
+import com.ayd.parkcontrol.infrastructure.util.ClientIpResolver;
+import com.ayd.parkcontrol.security.CustomUserDetails;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -9,83 +15,73 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.Ordered;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
- * Filtro HTTP para aplicar rate limiting a endpoints críticos.
+ * Filtro HTTP para aplicar rate limiting a todo el tráfico del API.
  * 
- * Se ejecuta con prioridad HIGHEST para interceptar requests antes de
- * que lleguen a los controladores.
+ * Se ejecuta inmediatamente después de la cadena de Spring Security para
+ * poder contabilizar por usuario o rol autenticado. La cuota se resuelve en
+ * {@link TieredRateLimiter} y la respuesta incluye los headers
+ * X-RateLimit-Limit, X-RateLimit-Remaining y X-RateLimit-Reset.
  * 
- * Endpoints protegidos:
- * - POST /api/v1/auth/login: 5 intentos / 15 min
- * - POST /api/v1/auth/verify-2fa: 3 intentos / 5 min
- * - POST /api/v1/auth/forgot-password: 3 intentos / 1 hora
+ * Las reglas por ruta están definidas en {@link RateLimitRules}.
  * 
  * @author ParkControl Team
  * @version 1.0.0
  */
 @Component
-@Order(Ordered.HIGHEST_PRECEDENCE)
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
 @RequiredArgsConstructor
 @Slf4j
 public class RateLimitFilter extends OncePerRequestFilter {
 
-    private final RateLimitService rateLimitService;
+    private final TieredRateLimiter rateLimiter;
+    private final RateLimitRules rateLimitRules;
     private final ObjectMapper objectMapper;
 
-    /**
-     * Configuración de límites de tasa por endpoint.
-     * 
-     * Reglas de Negocio:
-     * - Login: 50 intentos cada 15 minutos (900 segundos)
-     * - Verificación 2FA: 30 intentos cada 5 minutos (300 segundos)
-     * - Recuperación de contraseña: 20 intentos cada hora (3600 segundos)
-     * 
-     * NOTA: Estos límites están configurados para desarrollo. En producción, se
-     * recomienda
-     * reducir a: Login (5), 2FA (3), Forgot Password (3)
-     */
-    private static final Map<String, RateLimitConfig> RATE_LIMITS = Map.of(
-            "/api/v1/auth/login", new RateLimitConfig(50, 900),
-            "/api/v1/auth/verify-2fa", new RateLimitConfig(30, 300),
-            "/api/v1/auth/forgot-password", new RateLimitConfig(20, 3600));
-
     @Override
     protected void doFilterInternal(HttpServletRequest request,
             HttpServletResponse response,
             FilterChain filterChain) throws ServletException, IOException {
 
-        String uri = request.getRequestURI();
         String method = request.getMethod();
+        String path = getPath(request);
+
+        // Las peticiones preflight de CORS no consumen cuota
+        Optional<RateLimitRule> rule = "OPTIONS".equals(method)
+                ? Optional.empty()
+                : rateLimitRules.find(method, path);
 
-        // Solo aplicar a endpoints POST configurados
-        if ("POST".equals(method) && RATE_LIMITS.containsKey(uri)) {
-            RateLimitConfig config = RATE_LIMITS.get(uri);
-            String clientIp = getClientIp(request);
+        if (rule.isPresent()) {
+            RateLimitConfig config = rule.get().getConfig();
+            String subject = resolveSubject(rule.get().getKeyType(), request);
 
-            boolean exceeded = rateLimitService.isRateLimitExceeded(
-                    uri,
-                    clientIp,
-                    config.getMaxAttempts(),
-                    config.getWindowSeconds());
+            RateLimitDecision decision = rateLimiter.tryAcquire(rule.get().getName(), subject, config);
 
-            if (exceeded) {
-                long remainingTime = rateLimitService.getRemainingLockTime(uri, clientIp);
+            response.setHeader("X-RateLimit-Limit", String.valueOf(decision.limit()));
+            response.setHeader("X-RateLimit-Remaining", String.valueOf(decision.remaining()));
+            response.setHeader("X-RateLimit-Reset", String.valueOf(decision.resetSeconds()));
 
-                log.warn("Rate limit excedido para IP={}, endpoint={}, reintente en {} segundos",
-                        clientIp, uri, remainingTime);
+            if (!decision.allowed()) {
+                log.warn("Rate limit excedido para {}, regla={}, endpoint={}, reintente en {} segundos",
+                        subject, rule.get().getName(), path, decision.resetSeconds());
 
-                sendRateLimitResponse(response, remainingTime);
+                sendRateLimitResponse(response, decision.resetSeconds());
                 return; // No continuar con el filter chain
             }
         }
@@ -93,6 +89,45 @@ public class RateLimitFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Ruta de la petición sin el context path.
+     */
+    private String getPath(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        if (contextPath != null && !contextPath.isEmpty() && uri.startsWith(contextPath)) {
+            return uri.substring(contextPath.length());
+        }
+        return uri;
+    }
+
+    /**
+     * Sujeto contabilizado según el tipo de regla. Si la regla es por usuario
+     * o rol y la petición es anónima se usa la IP.
+     */
+    private String resolveSubject(RateLimitKeyType keyType, HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean authenticated = authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken);
+
+        if (authenticated && keyType == RateLimitKeyType.USER) {
+            if (authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
+                return "user:" + userDetails.getUserId();
+            }
+            return "user:" + authentication.getName();
+        }
+
+        if (authenticated && keyType == RateLimitKeyType.ROLE) {
+            return authentication.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .findFirst()
+                    .map(role -> "role:" + role.replace("ROLE_", ""))
+                    .orElse("user:" + authentication.getName());
+        }
+
+        return "ip:" + ClientIpResolver.resolve(request);
+    }
+
     /**
      * Envía una respuesta HTTP 429 (Too Many Requests) al cliente.
      * 
@@ -114,38 +149,4 @@ public class RateLimitFilter extends OncePerRequestFilter {
         String jsonResponse = objectMapper.writeValueAsString(errorBody);
         response.getWriter().write(jsonResponse);
     }
-
-    /**
-     * Obtiene la dirección IP real del cliente.
-     * 
-     * Considera headers de proxies/load balancers:
-     * - X-Forwarded-For
-     * - X-Real-IP
-     * - Proxy-Client-IP
-     * 
-     * @param request request HTTP
-     * @return dirección IP del cliente
-     */
-    private String getClientIp(HttpServletRequest request) {
-        String ip = request.getHeader("X-Forwarded-For");
-
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("X-Real-IP");
-        }
-
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("Proxy-Client-IP");
-        }
-
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getRemoteAddr();
-        }
-
-        // Si X-Forwarded-For contiene múltiples IPs, tomar la primera
-        if (ip != null && ip.contains(",")) {
-            ip = ip.split(",")[0].trim();
-        }
-
-        return ip != null ? ip : "unknown";
-    }
 }
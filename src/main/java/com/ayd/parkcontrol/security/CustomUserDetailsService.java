@@ -1,8 +1,8 @@
 package com.ayd.parkcontrol.security;
 
 import com.ayd.parkcontrol.domain.model.user.Role;
-import com.ayd.parkcontrol.domain.repository.RoleRepository;
 import com.ayd.parkcontrol.domain.repository.UserRepository;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,7 +16,7 @@ import org.springframework.stereotype.Service;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final CatalogCache catalogCache;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -25,8 +25,8 @@ public class CustomUserDetailsService implements UserDetailsService {
         com.ayd.parkcontrol.domain.model.user.User user = userRepository.findByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
-        // Get role name from role repository
-        Role role = roleRepository.findById(user.getRoleTypeId())
+        // Get role name from the in-memory catalog
+        Role role = catalogCache.roles().findById(user.getRoleTypeId())
                 .orElseThrow(() -> new UsernameNotFoundException("Role not found for user: " + username));
 
         String roleName = role.getName();
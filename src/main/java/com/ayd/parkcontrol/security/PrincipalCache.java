@@ -0,0 +1,82 @@
+package com.ayd.parkcontrol.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caché local de los principales autenticados por el filtro JWT.
+ *
+ * Las entradas se indexan por sujeto y fecha de emisión del token, tienen un
+ * TTL corto y el tamaño está acotado (se descarta la menos usada). Los cambios
+ * de cuenta invalidan todas las entradas del usuario.
+ */
+@Component
+@Slf4j
+public class PrincipalCache {
+
+    private final Map<String, CachedPrincipal> entries;
+    private final long ttlMillis;
+
+    public PrincipalCache(@Value("${app.security.principal-cache.max-size:10000}") int maxSize,
+            @Value("${app.security.principal-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedPrincipal> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public synchronized UserDetails get(String username, Date issuedAt) {
+        String key = key(username, issuedAt);
+        CachedPrincipal cached = entries.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expiresAt < System.currentTimeMillis()) {
+            entries.remove(key);
+            return null;
+        }
+        return cached.userDetails;
+    }
+
+    public synchronized void put(String username, Date issuedAt, UserDetails userDetails) {
+        if (ttlMillis <= 0) {
+            return;
+        }
+        entries.put(key(username, issuedAt),
+                new CachedPrincipal(username, userDetails, System.currentTimeMillis() + ttlMillis));
+    }
+
+    /**
+     * Elimina todas las entradas del usuario, sin importar el token con el que
+     * se cargaron.
+     */
+    public synchronized void evict(String username) {
+        if (username == null) {
+            return;
+        }
+        boolean removed = entries.values().removeIf(cached -> cached.username.equalsIgnoreCase(username));
+        if (removed) {
+            log.debug("Principal cache invalidated for user: {}", username);
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private String key(String username, Date issuedAt) {
+        return username + ":" + (issuedAt != null ? issuedAt.getTime() : 0L);
+    }
+
+    private record CachedPrincipal(String username, UserDetails userDetails, long expiresAt) {
+    }
+}
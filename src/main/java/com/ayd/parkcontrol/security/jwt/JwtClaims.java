@@ -0,0 +1,43 @@
+package com.ayd.parkcontrol.security.jwt;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+/**
+ * Claims de un token ya verificado. Se obtiene una sola vez por petición con
+ * {@link JwtTokenProvider#parseToken(String)} y evita volver a verificar la
+ * firma para leer cada claim.
+ */
+public class JwtClaims {
+
+    private final Claims claims;
+
+    public JwtClaims(Claims claims) {
+        this.claims = claims;
+    }
+
+    public String getUsername() {
+        return claims.getSubject();
+    }
+
+    public Integer getUserId() {
+        return claims.get("userId", Integer.class);
+    }
+
+    public String getRole() {
+        return claims.get("role", String.class);
+    }
+
+    public Date getIssuedAt() {
+        return claims.getIssuedAt();
+    }
+
+    public Date getExpiration() {
+        return claims.getExpiration();
+    }
+
+    Claims getClaims() {
+        return claims;
+    }
+}
@@ -9,10 +9,16 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
 
 @Component
 @Slf4j
@@ -27,11 +33,52 @@ public class JwtTokenProvider {
     @Value("${app.jwt.refresh-expiration}")
     private long jwtRefreshExpirationMs;
 
+    @Value("${app.jwt.verified-cache-size:1024}")
+    private int verifiedCacheSize;
+
+    // La llave y el parser son inmutables y thread-safe: se construyen una vez
+    private volatile SecretKey signingKey;
+    private volatile JwtParser jwtParser;
+
+    // Tokens verificados recientemente, indexados por el hash del token
+    private final Map<String, Claims> verifiedTokens = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Claims> eldest) {
+            return size() > verifiedCacheSize;
+        }
+    };
+
     private SecretKey getSigningKey() {
-        if (jwtSecret.length() < 32) {
-            throw new IllegalStateException("JWT secret must be at least 32 characters long");
+        SecretKey key = signingKey;
+        if (key == null) {
+            synchronized (this) {
+                key = signingKey;
+                if (key == null) {
+                    if (jwtSecret.length() < 32) {
+                        throw new IllegalStateException("JWT secret must be at least 32 characters long");
+                    }
+                    key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+                    signingKey = key;
+                }
+            }
+        }
+        return key;
+    }
+
+    private JwtParser getParser() {
+        JwtParser parser = jwtParser;
+        if (parser == null) {
+            synchronized (this) {
+                parser = jwtParser;
+                if (parser == null) {
+                    parser = Jwts.parser()
+                            .verifyWith(getSigningKey())
+                            .build();
+                    jwtParser = parser;
+                }
+            }
         }
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        return parser;
     }
 
     public String generateToken(Authentication authentication) {
@@ -69,6 +116,20 @@ public class JwtTokenProvider {
                 .compact();
     }
 
+    /**
+     * Valida el token y devuelve sus claims en una sola verificación.
+     *
+     * @param token token JWT
+     * @return claims del token, o vacío si el token no es válido o expiró
+     */
+    public Optional<JwtClaims> parseToken(String token) {
+        try {
+            return Optional.of(new JwtClaims(extractAllClaims(token)));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
     public String getUsernameFromToken(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -81,6 +142,10 @@ public class JwtTokenProvider {
         return extractClaim(token, claims -> claims.get("role", String.class));
     }
 
+    public Date getIssuedAtFromToken(String token) {
+        return extractClaim(token, Claims::getIssuedAt);
+    }
+
     public Date getExpirationDateFromToken(String token) {
         return extractClaim(token, Claims::getExpiration);
     }
@@ -91,12 +156,20 @@ public class JwtTokenProvider {
     }
 
     private Claims extractAllClaims(String token) {
+        String cacheKey = verifiedCacheSize > 0 && token != null && !token.isEmpty() ? hash(token) : null;
+        if (cacheKey != null) {
+            Claims cached = getVerified(cacheKey);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
         try {
-            return Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            Claims claims = getParser().parseSignedClaims(token).getPayload();
+            if (cacheKey != null) {
+                putVerified(cacheKey, claims);
+            }
+            return claims;
         } catch (ExpiredJwtException e) {
             log.warn("JWT token expired: {}", e.getMessage());
             throw e;
@@ -117,10 +190,7 @@ public class JwtTokenProvider {
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
+            extractAllClaims(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             log.error("Invalid JWT token: {}", e.getMessage());
@@ -135,4 +205,34 @@ public class JwtTokenProvider {
             return true;
         }
     }
-}
\ No newline at end of file
+
+    private Claims getVerified(String cacheKey) {
+        synchronized (verifiedTokens) {
+            Claims claims = verifiedTokens.get(cacheKey);
+            if (claims == null) {
+                return null;
+            }
+            // Un token expirado vuelve a pasar por el parser para reportar el error
+            if (claims.getExpiration() != null && claims.getExpiration().before(new Date())) {
+                verifiedTokens.remove(cacheKey);
+                return null;
+            }
+            return claims;
+        }
+    }
+
+    private void putVerified(String cacheKey, Claims claims) {
+        synchronized (verifiedTokens) {
+            verifiedTokens.put(cacheKey, claims);
+        }
+    }
+
+    private String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
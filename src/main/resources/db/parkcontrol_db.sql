@@ -254,6 +254,7 @@ CREATE TABLE subscriptions (
     INDEX idx_dates (start_date, end_date),
     INDEX idx_plate_status_dates (license_plate, status_type_id, end_date),
     INDEX idx_user_status (user_id, status_type_id),
+    INDEX idx_auto_renew (status_type_id, auto_renew_enabled, end_date),
     CONSTRAINT chk_frozen_rate CHECK (frozen_rate_base > 0),
     CONSTRAINT chk_consumed_hours CHECK (consumed_hours >= 0),
     CONSTRAINT chk_date_range_sub CHECK (end_date > start_date),
@@ -330,6 +331,24 @@ CREATE TABLE tickets (
     CONSTRAINT chk_ticket_plate_format CHECK (license_plate REGEXP '^[A-Z]{1,3}-?[0-9]{3,4}$|^[A-Z]{1,3}[0-9]{3,4}$|^P-[0-9]{5,6}$')
 ) ENGINE=InnoDB;
 
+CREATE TABLE id_generators (
+    sequence_name VARCHAR(50) PRIMARY KEY,
+    next_val BIGINT NOT NULL
+) ENGINE=InnoDB;
+
+INSERT INTO id_generators (sequence_name, next_val) VALUES
+('tickets', 50),
+('ticket_charges', 50),
+('settlement_tickets', 50);
+
+CREATE TABLE ticket_folio_sequences (
+    branch_id BIGINT PRIMARY KEY,
+    next_value BIGINT NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    CONSTRAINT fk_folio_sequences_branch FOREIGN KEY (branch_id) REFERENCES branches(id) ON DELETE CASCADE ON UPDATE CASCADE,
+    CONSTRAINT chk_folio_next_value CHECK (next_value > 0)
+) ENGINE=InnoDB;
+
 CREATE TABLE ticket_charges (
     id BIGINT PRIMARY KEY AUTO_INCREMENT,
     ticket_id BIGINT NOT NULL,
@@ -354,6 +373,25 @@ CREATE TABLE ticket_charges (
     CONSTRAINT chk_total_amount CHECK (total_amount >= 0)
 ) ENGINE=InnoDB;
 
+CREATE TABLE occupancy_hourly (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    branch_id BIGINT NOT NULL,
+    vehicle_type_id INT NOT NULL,
+    hour_start DATETIME NOT NULL,
+    samples INT NOT NULL,
+    occupancy_sum BIGINT NOT NULL,
+    peak_occupancy INT NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    CONSTRAINT fk_occupancy_hourly_branch FOREIGN KEY (branch_id) REFERENCES branches(id) ON DELETE CASCADE ON UPDATE CASCADE,
+    CONSTRAINT fk_occupancy_hourly_vehicle_type FOREIGN KEY (vehicle_type_id) REFERENCES vehicle_types(id) ON DELETE RESTRICT ON UPDATE CASCADE,
+    UNIQUE KEY uk_occupancy_hour (branch_id, vehicle_type_id, hour_start),
+    INDEX idx_hour_start (hour_start),
+    INDEX idx_updated_at (updated_at),
+    CONSTRAINT chk_occupancy_samples CHECK (samples > 0),
+    CONSTRAINT chk_occupancy_sum CHECK (occupancy_sum >= 0),
+    CONSTRAINT chk_occupancy_peak CHECK (peak_occupancy >= 0)
+) ENGINE=InnoDB;
+
 CREATE TABLE business_free_hours (
     id BIGINT PRIMARY KEY AUTO_INCREMENT,
     ticket_id BIGINT NOT NULL,
@@ -646,8 +684,73 @@ CREATE TABLE fleet_vehicles (
     CONSTRAINT chk_fleet_plate_format CHECK (license_plate REGEXP '^[A-Z]{1,3}-?[0-9]{3,4}$|^[A-Z]{1,3}[0-9]{3,4}$|^P-[0-9]{5,6}$')
 ) ENGINE=InnoDB;
 
-CREATE TABLE audit_log (
+-- Corridas de renovación automática. last_subscription_id es el checkpoint:
+-- una corrida interrumpida se retoma desde ahí con la misma ventana.
+CREATE TABLE subscription_renewal_runs (
     id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    status VARCHAR(16) NOT NULL,
+    window_start DATETIME NOT NULL,
+    window_end DATETIME NOT NULL,
+    last_subscription_id BIGINT NOT NULL DEFAULT 0,
+    renewed INT NOT NULL DEFAULT 0,
+    skipped INT NOT NULL DEFAULT 0,
+    failed INT NOT NULL DEFAULT 0,
+    chunks INT NOT NULL DEFAULT 0,
+    resumes INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(500) NULL,
+    started_at DATETIME NOT NULL,
+    updated_at DATETIME NOT NULL,
+    finished_at DATETIME NULL,
+    CONSTRAINT chk_renewal_run_status CHECK (status IN ('RUNNING', 'COMPLETED', 'FAILED'))
+) ENGINE=InnoDB;
+
+-- Periodos renovados automáticamente. La llave única (subscription_id,
+-- period_end) impide renovar dos veces el mismo periodo de una suscripción.
+CREATE TABLE subscription_renewals (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    run_id BIGINT NOT NULL,
+    subscription_id BIGINT NOT NULL,
+    period_end DATETIME NOT NULL,
+    new_end_date DATETIME NOT NULL,
+    frozen_rate_base DECIMAL(10,2) NOT NULL,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_subscription_renewal_period UNIQUE (subscription_id, period_end),
+    CONSTRAINT fk_subscription_renewals_run FOREIGN KEY (run_id) REFERENCES subscription_renewal_runs(id) ON DELETE RESTRICT ON UPDATE CASCADE,
+    CONSTRAINT fk_subscription_renewals_subscription FOREIGN KEY (subscription_id) REFERENCES subscriptions(id) ON DELETE CASCADE ON UPDATE CASCADE,
+    INDEX idx_subscription_renewals_run (run_id)
+) ENGINE=InnoDB;
+
+-- Correos pendientes de envío. Se escriben en la transacción del caso de uso
+-- y EmailOutboxDispatcher los entrega; status: PENDING, SENDING, SENT, DEAD.
+CREATE TABLE email_outbox (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    body TEXT NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME NOT NULL,
+    claim_token VARCHAR(36) NULL,
+    claimed_at DATETIME NULL,
+    last_error VARCHAR(500) NULL,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    sent_at DATETIME NULL,
+    INDEX idx_email_outbox_due (status, next_attempt_at),
+    INDEX idx_email_outbox_claim (claim_token),
+    INDEX idx_email_outbox_sent (status, sent_at),
+    CONSTRAINT chk_email_outbox_status CHECK (status IN ('PENDING', 'SENDING', 'SENT', 'DEAD')),
+    CONSTRAINT chk_email_outbox_attempts CHECK (attempts >= 0)
+) ENGINE=InnoDB;
+
+-- audit_log se particiona por mes sobre created_at para que las consultas por
+-- rango de fechas lean solo las particiones necesarias y la retención se haga
+-- con DROP/EXCHANGE PARTITION. Las tablas particionadas no admiten llaves
+-- foráneas, por lo que user_id y operation_type_id no tienen FK; la clave
+-- primaria incluye created_at porque toda llave única debe contener la
+-- columna de particionamiento. AuditLogPartitionJob crea las particiones de
+-- los meses siguientes y retira las vencidas.
+CREATE TABLE audit_log (
+    id BIGINT NOT NULL AUTO_INCREMENT,
     user_id BIGINT NULL,
     module VARCHAR(100) NOT NULL,
     entity VARCHAR(100) NOT NULL,
@@ -656,15 +759,40 @@ CREATE TABLE audit_log (
     previous_values JSON,
     new_values JSON,
     client_ip VARCHAR(45),
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    CONSTRAINT fk_audit_log_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE SET NULL ON UPDATE CASCADE,
-    CONSTRAINT fk_audit_log_operation FOREIGN KEY (operation_type_id) REFERENCES operation_types(id) ON DELETE RESTRICT ON UPDATE CASCADE,
-    INDEX idx_user (user_id),
-    INDEX idx_module (module),
-    INDEX idx_created_at (created_at),
-    INDEX idx_module_created (module, created_at),
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at),
+    INDEX idx_created_id (created_at, id),
+    INDEX idx_user_created (user_id, created_at, id),
+    INDEX idx_module_created (module, created_at, id),
     INDEX idx_entity_created (entity, created_at)
-) ENGINE=InnoDB;
+) ENGINE=InnoDB
+PARTITION BY RANGE COLUMNS(created_at) (
+    PARTITION p202501 VALUES LESS THAN ('2025-02-01'),
+    PARTITION p202502 VALUES LESS THAN ('2025-03-01'),
+    PARTITION p202503 VALUES LESS THAN ('2025-04-01'),
+    PARTITION p202504 VALUES LESS THAN ('2025-05-01'),
+    PARTITION p202505 VALUES LESS THAN ('2025-06-01'),
+    PARTITION p202506 VALUES LESS THAN ('2025-07-01'),
+    PARTITION p202507 VALUES LESS THAN ('2025-08-01'),
+    PARTITION p202508 VALUES LESS THAN ('2025-09-01'),
+    PARTITION p202509 VALUES LESS THAN ('2025-10-01'),
+    PARTITION p202510 VALUES LESS THAN ('2025-11-01'),
+    PARTITION p202511 VALUES LESS THAN ('2025-12-01'),
+    PARTITION p202512 VALUES LESS THAN ('2026-01-01'),
+    PARTITION p202601 VALUES LESS THAN ('2026-02-01'),
+    PARTITION p202602 VALUES LESS THAN ('2026-03-01'),
+    PARTITION p202603 VALUES LESS THAN ('2026-04-01'),
+    PARTITION p202604 VALUES LESS THAN ('2026-05-01'),
+    PARTITION p202605 VALUES LESS THAN ('2026-06-01'),
+    PARTITION p202606 VALUES LESS THAN ('2026-07-01'),
+    PARTITION p202607 VALUES LESS THAN ('2026-08-01'),
+    PARTITION p202608 VALUES LESS THAN ('2026-09-01'),
+    PARTITION p202609 VALUES LESS THAN ('2026-10-01'),
+    PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+    PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+    PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+    PARTITION pmax VALUES LESS THAN (MAXVALUE)
+);
 
 SELECT '============================================' AS '';
 SELECT 'SCRIPT DDL EJECUTADO EXITOSAMENTE' AS status;
@@ -0,0 +1,66 @@
+-- ============================================
+-- PARKCONTROL S.A. - SCRIPT (Particionamiento de audit_log)
+-- ============================================
+-- Migra una base existente al esquema particionado por mes de audit_log.
+-- Las tablas particionadas no admiten llaves foráneas y toda llave única
+-- debe incluir la columna de particionamiento, por lo que se eliminan las FK
+-- y la clave primaria pasa a ser (id, created_at). Los registros anteriores a
+-- 2025 quedan en pold; AuditLogPartitionJob crea los meses siguientes y
+-- retira los vencidos según app.audit.retention.months.
+-- La reconstrucción copia la tabla completa: ejecutar en una ventana de
+-- mantenimiento.
+
+USE parkcontrol_db;
+
+ALTER TABLE audit_log
+    DROP FOREIGN KEY fk_audit_log_user,
+    DROP FOREIGN KEY fk_audit_log_operation;
+
+UPDATE audit_log SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+
+ALTER TABLE audit_log
+    MODIFY created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, created_at),
+    DROP INDEX idx_user,
+    DROP INDEX idx_module,
+    DROP INDEX idx_created_at,
+    DROP INDEX idx_module_created,
+    ADD INDEX idx_created_id (created_at, id),
+    ADD INDEX idx_user_created (user_id, created_at, id),
+    ADD INDEX idx_module_created (module, created_at, id);
+
+ALTER TABLE audit_log
+PARTITION BY RANGE COLUMNS(created_at) (
+    PARTITION pold VALUES LESS THAN ('2025-01-01'),
+    PARTITION p202501 VALUES LESS THAN ('2025-02-01'),
+    PARTITION p202502 VALUES LESS THAN ('2025-03-01'),
+    PARTITION p202503 VALUES LESS THAN ('2025-04-01'),
+    PARTITION p202504 VALUES LESS THAN ('2025-05-01'),
+    PARTITION p202505 VALUES LESS THAN ('2025-06-01'),
+    PARTITION p202506 VALUES LESS THAN ('2025-07-01'),
+    PARTITION p202507 VALUES LESS THAN ('2025-08-01'),
+    PARTITION p202508 VALUES LESS THAN ('2025-09-01'),
+    PARTITION p202509 VALUES LESS THAN ('2025-10-01'),
+    PARTITION p202510 VALUES LESS THAN ('2025-11-01'),
+    PARTITION p202511 VALUES LESS THAN ('2025-12-01'),
+    PARTITION p202512 VALUES LESS THAN ('2026-01-01'),
+    PARTITION p202601 VALUES LESS THAN ('2026-02-01'),
+    PARTITION p202602 VALUES LESS THAN ('2026-03-01'),
+    PARTITION p202603 VALUES LESS THAN ('2026-04-01'),
+    PARTITION p202604 VALUES LESS THAN ('2026-05-01'),
+    PARTITION p202605 VALUES LESS THAN ('2026-06-01'),
+    PARTITION p202606 VALUES LESS THAN ('2026-07-01'),
+    PARTITION p202607 VALUES LESS THAN ('2026-08-01'),
+    PARTITION p202608 VALUES LESS THAN ('2026-09-01'),
+    PARTITION p202609 VALUES LESS THAN ('2026-10-01'),
+    PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+    PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+    PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+    PARTITION pmax VALUES LESS THAN (MAXVALUE)
+);
+
+SELECT PARTITION_NAME, TABLE_ROWS
+FROM information_schema.PARTITIONS
+WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'audit_log'
+ORDER BY PARTITION_ORDINAL_POSITION;
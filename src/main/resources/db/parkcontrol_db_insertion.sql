@@ -243,6 +243,17 @@ INSERT INTO audit_log (user_id, module, entity, operation_type_id, description,
 (6, 'Suscripciones', 'subscriptions', 1, 'Usuario maria.gonzalez@email.com compro plan Full Access', NULL, JSON_OBJECT('user_id', 6, 'plan_id', 1, 'license_plate', 'ABC-123'), '192.168.1.150', '2025-10-01 10:00:00'),
 (1, 'Seguridad', 'users', 5, 'Usuario admin@parkcontrol.com inicio sesion', NULL, NULL, '192.168.1.100', '2025-10-17 07:00:00');
 
+-- ============================================
+-- GENERADORES DE IDENTIFICADORES
+-- Los identificadores de estas tablas se asignan por bloques de 50
+-- desde la aplicación; el siguiente bloque inicia después del mayor id
+-- insertado por este script.
+-- ============================================
+
+UPDATE id_generators SET next_val = (SELECT COALESCE(MAX(id), 0) + 50 FROM tickets) WHERE sequence_name = 'tickets';
+UPDATE id_generators SET next_val = (SELECT COALESCE(MAX(id), 0) + 50 FROM ticket_charges) WHERE sequence_name = 'ticket_charges';
+UPDATE id_generators SET next_val = (SELECT COALESCE(MAX(id), 0) + 50 FROM settlement_tickets) WHERE sequence_name = 'settlement_tickets';
+
 -- ============================================
 -- VERIFICACIÓN DE DATOS CARGADOS
 -- ============================================
@@ -0,0 +1,121 @@
+package com.ayd.parkcontrol.application.service;
+
+import com.ayd.parkcontrol.application.dto.response.audit.AuditLogResponse;
+import com.ayd.parkcontrol.application.dto.response.common.CursorPageResponse;
+import com.ayd.parkcontrol.application.mapper.AuditLogDtoMapper;
+import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
+import com.ayd.parkcontrol.domain.model.audit.AuditLog;
+import com.ayd.parkcontrol.domain.model.audit.AuditLogFilter;
+import com.ayd.parkcontrol.domain.model.audit.OperationType;
+import com.ayd.parkcontrol.domain.model.user.User;
+import com.ayd.parkcontrol.domain.repository.AuditLogRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para AuditLogPageLoader.
+ */
+@ExtendWith(MockitoExtension.class)
+class AuditLogPageLoaderTest {
+
+    @Mock
+    private AuditLogRepository auditLogRepository;
+
+    @Mock
+    private ReferenceDataResolver referenceDataResolver;
+
+    @Mock
+    private AuditLogDtoMapper auditLogDtoMapper;
+
+    @InjectMocks
+    private AuditLogPageLoader loader;
+
+    private final AuditLogFilter filter = AuditLogFilter.builder().module("Seguridad").build();
+
+    @Test
+    void load_withMoreRowsThanPageSize_shouldReturnNextCursorFromLastRow() {
+        // Arrange
+        AuditLog first = auditLog(30L, LocalDateTime.of(2025, 10, 17, 9, 0));
+        AuditLog second = auditLog(29L, LocalDateTime.of(2025, 10, 17, 8, 0));
+        AuditLog extra = auditLog(28L, LocalDateTime.of(2025, 10, 17, 7, 0));
+        User user = User.builder().id(1L).email("admin@parkcontrol.com").build();
+        OperationType operationType = OperationType.builder().id(2).code("UPDATE").build();
+        when(auditLogRepository.findPage(filter, null, null, 3)).thenReturn(List.of(first, second, extra));
+        when(referenceDataResolver.usersById(anyCollection())).thenReturn(Map.of(1L, user));
+        when(referenceDataResolver.operationTypesById(anyCollection())).thenReturn(Map.of(2, operationType));
+        when(auditLogDtoMapper.toResponse(any(AuditLog.class), eq(user), eq(operationType)))
+                .thenAnswer(invocation -> AuditLogResponse.builder()
+                        .id(invocation.<AuditLog>getArgument(0).getId())
+                        .build());
+
+        // Act
+        CursorPageResponse<AuditLogResponse> result = loader.load(filter, null, 2, false);
+
+        // Assert
+        assertEquals(List.of(30L, 29L), result.getContent().stream().map(AuditLogResponse::getId).toList());
+        assertTrue(result.getHasNext());
+        assertEquals(new AuditLogPageLoader.Position(second.getCreatedAt(), 29L),
+                AuditLogPageLoader.decodeCursor(result.getNextCursor()));
+        assertNull(result.getTotalElements());
+        verify(auditLogRepository, never()).count(any());
+    }
+
+    @Test
+    void load_withCursor_shouldContinueAfterPositionAndCountWhenRequested() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2025, 10, 17, 8, 0);
+        String cursor = AuditLogPageLoader.encodeCursor(createdAt, 29L);
+        when(auditLogRepository.findPage(filter, createdAt, 29L, 21)).thenReturn(List.of());
+        when(auditLogRepository.count(filter)).thenReturn(2L);
+
+        // Act
+        CursorPageResponse<AuditLogResponse> result = loader.load(filter, cursor, null, true);
+
+        // Assert
+        assertTrue(result.getContent().isEmpty());
+        assertFalse(result.getHasNext());
+        assertNull(result.getNextCursor());
+        assertEquals(AuditLogPageLoader.DEFAULT_PAGE_SIZE, result.getSize());
+        assertEquals(2L, result.getTotalElements());
+    }
+
+    @Test
+    void load_withOversizedPage_shouldClampToMaximum() {
+        // Arrange
+        when(auditLogRepository.findPage(filter, null, null, AuditLogPageLoader.MAX_PAGE_SIZE + 1))
+                .thenReturn(List.of());
+
+        // Act
+        CursorPageResponse<AuditLogResponse> result = loader.load(filter, null, 5000, false);
+
+        // Assert
+        assertEquals(AuditLogPageLoader.MAX_PAGE_SIZE, result.getSize());
+    }
+
+    @Test
+    void load_withMalformedCursor_shouldThrowBusinessRuleException() {
+        assertThrows(BusinessRuleException.class, () -> loader.load(filter, "no-es-un-cursor", 20, false));
+        verifyNoInteractions(auditLogRepository);
+    }
+
+    private AuditLog auditLog(Long id, LocalDateTime createdAt) {
+        return AuditLog.builder()
+                .id(id)
+                .userId(1L)
+                .operationTypeId(2)
+                .module("Seguridad")
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,114 @@
+package com.ayd.parkcontrol.application.service;
+
+import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.BranchEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.RateBaseHistoryEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.SubscriptionEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaBranchRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaRateBaseHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EffectiveRateResolverTest {
+
+    @Mock
+    private JpaBranchRepository branchRepository;
+
+    @Mock
+    private JpaRateBaseHistoryRepository rateBaseHistoryRepository;
+
+    private EffectiveRateResolver resolver;
+
+    private BranchEntity branchWithRate;
+    private BranchEntity branchWithoutRate;
+    private RateBaseHistoryEntity baseRate;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new EffectiveRateResolver(branchRepository, rateBaseHistoryRepository, 300);
+
+        branchWithRate = BranchEntity.builder().id(1L).ratePerHour(new BigDecimal("15.00")).build();
+        branchWithoutRate = BranchEntity.builder().id(2L).build();
+        baseRate = RateBaseHistoryEntity.builder().id(1L).amountPerHour(new BigDecimal("20.00")).build();
+    }
+
+    @Test
+    void resolve_shouldUseFrozenSubscriptionRate_withoutQueries() {
+        SubscriptionEntity subscription = new SubscriptionEntity();
+        subscription.setFrozenRateBase(new BigDecimal("18.00"));
+
+        assertThat(resolver.resolve(1L, subscription)).isEqualByComparingTo("18.00");
+        verify(branchRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void resolve_shouldCacheBranchRate() {
+        when(branchRepository.findById(1L)).thenReturn(Optional.of(branchWithRate));
+
+        assertThat(resolver.resolve(1L, null)).isEqualByComparingTo("15.00");
+        assertThat(resolver.resolve(1L, null)).isEqualByComparingTo("15.00");
+
+        verify(branchRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void resolve_shouldFallBackToCachedBaseRate() {
+        when(branchRepository.findById(2L)).thenReturn(Optional.of(branchWithoutRate));
+        when(rateBaseHistoryRepository.findCurrentRate()).thenReturn(Optional.of(baseRate));
+
+        assertThat(resolver.resolve(2L, null)).isEqualByComparingTo("20.00");
+        assertThat(resolver.resolve(2L, null)).isEqualByComparingTo("20.00");
+
+        verify(branchRepository, times(1)).findById(2L);
+        verify(rateBaseHistoryRepository, times(1)).findCurrentRate();
+    }
+
+    @Test
+    void evictBranchRate_shouldReloadBranch() {
+        when(branchRepository.findById(1L)).thenReturn(Optional.of(branchWithRate));
+        resolver.resolve(1L, null);
+
+        branchWithRate.setRatePerHour(new BigDecimal("12.00"));
+        resolver.evictBranchRate(1L);
+
+        assertThat(resolver.resolve(1L, null)).isEqualByComparingTo("12.00");
+        verify(branchRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void evictBaseRate_shouldReloadBaseRate() {
+        when(branchRepository.findById(2L)).thenReturn(Optional.of(branchWithoutRate));
+        when(rateBaseHistoryRepository.findCurrentRate()).thenReturn(Optional.of(baseRate));
+        resolver.resolve(2L, null);
+
+        resolver.evictBaseRate();
+        resolver.resolve(2L, null);
+
+        verify(rateBaseHistoryRepository, times(2)).findCurrentRate();
+    }
+
+    @Test
+    void resolve_shouldThrow_whenNoBaseRateConfigured() {
+        when(branchRepository.findById(2L)).thenReturn(Optional.of(branchWithoutRate));
+        when(rateBaseHistoryRepository.findCurrentRate()).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> resolver.resolve(2L, null))
+                .isInstanceOf(BusinessRuleException.class)
+                .hasMessageContaining("No base rate configured");
+    }
+}
@@ -0,0 +1,128 @@
+package com.ayd.parkcontrol.application.service;
+
+import com.ayd.parkcontrol.application.usecase.branch.GetOccupancyUseCase;
+import com.ayd.parkcontrol.domain.exception.BranchNotFoundException;
+import com.ayd.parkcontrol.domain.model.branch.Branch;
+import com.ayd.parkcontrol.domain.repository.BranchRepository;
+import com.ayd.parkcontrol.infrastructure.cache.RedisOccupancyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OccupancyFeedServiceTest {
+
+    @Mock
+    private BranchRepository branchRepository;
+
+    @Mock
+    private RedisOccupancyService redisOccupancyService;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private OccupancyFeedService feed;
+
+    private final Branch centro = Branch.builder().id(1L).name("Centro").capacity2r(20).capacity4r(40).build();
+    private final Branch norte = Branch.builder().id(2L).name("Norte").capacity2r(10).capacity4r(30).build();
+
+    @BeforeEach
+    void setUp() {
+        feed = new OccupancyFeedService(branchRepository, redisOccupancyService,
+                new GetOccupancyUseCase(branchRepository, redisTemplate), listenerContainer, true, 60000, 2, 10, 5000);
+    }
+
+    @Test
+    void registerListener_shouldSubscribeToOccupancyChannel() {
+        feed.registerListener();
+
+        verify(listenerContainer).addMessageListener(feed, new ChannelTopic(RedisOccupancyService.OCCUPANCY_CHANNEL));
+    }
+
+    @Test
+    void registerListener_whenDisabled_shouldNotSubscribe() {
+        OccupancyFeedService disabled = new OccupancyFeedService(branchRepository, redisOccupancyService,
+                new GetOccupancyUseCase(branchRepository, redisTemplate), listenerContainer, false, 60000, 2, 10, 5000);
+
+        disabled.registerListener();
+
+        verifyNoInteractions(listenerContainer);
+    }
+
+    @Test
+    void subscribe_withUnknownBranch_shouldThrowBranchNotFound() {
+        when(branchRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> feed.subscribe(99L)).isInstanceOf(BranchNotFoundException.class);
+        assertThat(feed.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    void flush_shouldCoalesceBurstIntoOneReadPerBranch() {
+        when(branchRepository.findByIsActive(eq(true), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(centro, norte)));
+        when(branchRepository.findAllById(anyCollection())).thenReturn(List.of(centro, norte));
+        when(redisOccupancyService.getCurrentOccupancies(anyList(), eq("2R"))).thenReturn(Map.of(1L, 5, 2L, 3));
+        when(redisOccupancyService.getCurrentOccupancies(anyList(), eq("4R"))).thenReturn(Map.of(1L, 12));
+
+        feed.subscribe(null);
+        feed.onMessage(change("1"), null);
+        feed.onMessage(change("1"), null);
+        feed.onMessage(change("2"), null);
+        feed.onMessage(change("1"), null);
+        feed.flush();
+        feed.flush();
+
+        assertThat(feed.getSubscriberCount()).isEqualTo(1);
+        verify(branchRepository, times(1)).findAllById(anyCollection());
+        verify(branchRepository, never()).findById(any());
+        // Una lectura para la ocupación inicial y otra para la ráfaga completa
+        verify(redisOccupancyService, times(2)).getCurrentOccupancies(anyList(), eq("2R"));
+        verify(redisOccupancyService, times(2)).getCurrentOccupancies(anyList(), eq("4R"));
+    }
+
+    @Test
+    void flush_withoutSubscribers_shouldDiscardChanges() {
+        feed.onMessage(change("1"), null);
+        feed.flush();
+
+        verifyNoInteractions(branchRepository, redisOccupancyService);
+    }
+
+    @Test
+    void onMessage_withInvalidBody_shouldBeIgnored() {
+        feed.onMessage(change("sucursal"), null);
+        feed.flush();
+
+        verifyNoInteractions(branchRepository, redisOccupancyService);
+    }
+
+    private DefaultMessage change(String branchId) {
+        return new DefaultMessage(RedisOccupancyService.OCCUPANCY_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                branchId.getBytes(StandardCharsets.UTF_8));
+    }
+}
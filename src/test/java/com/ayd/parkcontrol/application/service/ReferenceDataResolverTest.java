@@ -0,0 +1,113 @@
+package com.ayd.parkcontrol.application.service;
+
+import com.ayd.parkcontrol.domain.model.audit.OperationType;
+import com.ayd.parkcontrol.domain.model.user.User;
+import com.ayd.parkcontrol.domain.repository.UserRepository;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.BranchEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.IncidentEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.IdCountProjection;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaBranchRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaIncidentEvidenceRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaUserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataResolverTest {
+
+    @Mock
+    private JpaUserRepository jpaUserRepository;
+
+    @Mock
+    private JpaBranchRepository branchRepository;
+
+    @Mock
+    private JpaIncidentEvidenceRepository incidentEvidenceRepository;
+
+    @Mock
+    private JpaTicketRepository ticketRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CatalogCache catalogCache;
+
+    @InjectMocks
+    private ReferenceDataResolver referenceDataResolver;
+
+    @Test
+    void collectIds_shouldReturnDistinctNonNullKeys() {
+        List<IncidentEntity> incidents = List.of(
+                IncidentEntity.builder().id(1L).reportedByUserId(10L).resolvedByUserId(11L).build(),
+                IncidentEntity.builder().id(2L).reportedByUserId(10L).build());
+
+        Set<Long> ids = ReferenceDataResolver.collectIds(incidents,
+                IncidentEntity::getReportedByUserId, IncidentEntity::getResolvedByUserId);
+
+        assertThat(ids).containsExactly(10L, 11L);
+    }
+
+    @Test
+    void branchesById_shouldLoadAllBranchesInOneQuery() {
+        BranchEntity branch1 = BranchEntity.builder().id(1L).name("Centro").build();
+        BranchEntity branch2 = BranchEntity.builder().id(2L).name("Norte").build();
+        when(branchRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(branch1, branch2));
+
+        Map<Long, BranchEntity> result = referenceDataResolver.branchesById(Set.of(1L, 2L));
+
+        assertThat(result).containsEntry(1L, branch1).containsEntry(2L, branch2);
+    }
+
+    @Test
+    void usersById_shouldSkipQuery_whenThereAreNoIds() {
+        Map<Long, User> result = referenceDataResolver.usersById(Collections.emptySet());
+
+        assertThat(result).isEmpty();
+        verify(userRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void operationTypesById_shouldReadFromCatalog() {
+        OperationType create = OperationType.builder().id(1).code("CREATE").build();
+        when(catalogCache.operationTypes())
+                .thenReturn(CatalogCache.Catalog.of(List.of(create), OperationType::getId, OperationType::getCode));
+
+        assertThat(referenceDataResolver.operationTypesById(Set.of(1))).containsEntry(1, create);
+    }
+
+    @Test
+    void operationTypesById_shouldSkipCatalog_whenThereAreNoIds() {
+        assertThat(referenceDataResolver.operationTypesById(Collections.emptySet())).isEmpty();
+        verify(catalogCache, never()).operationTypes();
+    }
+
+    @Test
+    void evidenceCountsByIncidentId_shouldUseGroupedCount() {
+        IdCountProjection row = mock(IdCountProjection.class);
+        when(row.getId()).thenReturn(5L);
+        when(row.getTotal()).thenReturn(3L);
+        when(incidentEvidenceRepository.countGroupedByIncidentIds(Set.of(5L, 6L))).thenReturn(List.of(row));
+
+        Map<Long, Long> result = referenceDataResolver.evidenceCountsByIncidentId(Set.of(5L, 6L));
+
+        assertThat(result).containsEntry(5L, 3L).doesNotContainKey(6L);
+    }
+}
@@ -0,0 +1,96 @@
+package com.ayd.parkcontrol.application.service;
+
+import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketFolioSequenceEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketFolioSequenceRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TicketFolioAllocatorTest {
+
+    @Mock
+    private JpaTicketFolioSequenceRepository sequenceRepository;
+
+    @Mock
+    private JpaTicketRepository ticketRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TicketFolioAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        allocator = new TicketFolioAllocator(sequenceRepository, ticketRepository, transactionManager, 3);
+    }
+
+    @Test
+    void nextFolio_shouldServeNumbersFromReservedBlock() {
+        TicketFolioSequenceEntity sequence = TicketFolioSequenceEntity.builder().branchId(1L).nextValue(10L).build();
+        when(sequenceRepository.findByBranchIdForUpdate(1L)).thenReturn(Optional.of(sequence));
+
+        assertThat(allocator.nextFolio(1L)).isEqualTo("T-1-00000010");
+        assertThat(allocator.nextFolio(1L)).isEqualTo("T-1-00000011");
+        assertThat(allocator.nextFolio(1L)).isEqualTo("T-1-00000012");
+        assertThat(allocator.nextFolio(1L)).isEqualTo("T-1-00000013");
+
+        verify(sequenceRepository, times(2)).findByBranchIdForUpdate(1L);
+        assertThat(sequence.getNextValue()).isEqualTo(16L);
+    }
+
+    @Test
+    void nextFolio_shouldSeedSequenceFromExistingFolios() {
+        when(sequenceRepository.findByBranchIdForUpdate(2L)).thenReturn(Optional.empty());
+        when(ticketRepository.findMaxFolioNumberByBranch(2L)).thenReturn(41L);
+
+        assertThat(allocator.nextFolio(2L)).isEqualTo("T-2-00000042");
+        verify(sequenceRepository).saveAndFlush(any(TicketFolioSequenceEntity.class));
+    }
+
+    @Test
+    void nextFolio_shouldRetry_whenSequenceWasCreatedConcurrently() {
+        TicketFolioSequenceEntity created = TicketFolioSequenceEntity.builder().branchId(3L).nextValue(7L).build();
+        when(sequenceRepository.findByBranchIdForUpdate(3L))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(created));
+        when(ticketRepository.findMaxFolioNumberByBranch(3L)).thenReturn(0L);
+        when(sequenceRepository.saveAndFlush(any(TicketFolioSequenceEntity.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate"))
+                .thenReturn(created);
+
+        assertThat(allocator.nextFolio(3L)).isEqualTo("T-3-00000007");
+    }
+
+    @Test
+    void nextFolio_shouldKeepSeparateSequencesPerBranch() {
+        when(sequenceRepository.findByBranchIdForUpdate(1L)).thenReturn(Optional.of(
+                TicketFolioSequenceEntity.builder().branchId(1L).nextValue(1L).build()));
+        when(sequenceRepository.findByBranchIdForUpdate(2L)).thenReturn(Optional.of(
+                TicketFolioSequenceEntity.builder().branchId(2L).nextValue(1L).build()));
+
+        assertThat(allocator.nextFolio(1L)).isEqualTo("T-1-00000001");
+        assertThat(allocator.nextFolio(2L)).isEqualTo("T-2-00000001");
+    }
+
+    @Test
+    void branchIdOf_shouldParseBranchFromFolio() {
+        assertThat(TicketFolioAllocator.branchIdOf("T-12-00000042")).contains(12L);
+        assertThat(TicketFolioAllocator.branchIdOf("T-1-12345678")).contains(1L);
+        assertThat(TicketFolioAllocator.branchIdOf("CTR-003")).isEmpty();
+        assertThat(TicketFolioAllocator.branchIdOf(null)).isEmpty();
+    }
+}
@@ -1,5 +1,6 @@
 package com.ayd.parkcontrol.application.usecase.admin;
 
+import com.ayd.parkcontrol.application.event.UserAccountChangedEvent;
 import com.ayd.parkcontrol.domain.exception.UserNotFoundException;
 import com.ayd.parkcontrol.domain.repository.UserRepository;
 import org.junit.jupiter.api.Test;
@@ -7,8 +8,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -17,6 +20,9 @@ class DeleteUserUseCaseTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private DeleteUserUseCase deleteUserUseCase;
 
@@ -33,6 +39,8 @@ class DeleteUserUseCaseTest {
         // When & Then
         assertDoesNotThrow(() -> deleteUserUseCase.execute(userId));
         verify(userRepository).deleteById(userId);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof UserAccountChangedEvent
+                && "test@parkcontrol.com".equals(((UserAccountChangedEvent) event).getEmail())));
     }
 
     @Test
@@ -5,8 +5,8 @@ import com.ayd.parkcontrol.application.mapper.UserDtoMapper;
 import com.ayd.parkcontrol.domain.exception.UserNotFoundException;
 import com.ayd.parkcontrol.domain.model.user.Role;
 import com.ayd.parkcontrol.domain.model.user.User;
-import com.ayd.parkcontrol.domain.repository.RoleRepository;
 import com.ayd.parkcontrol.domain.repository.UserRepository;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,6 +14,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -28,7 +29,7 @@ class GetUserUseCaseTest {
     private UserRepository userRepository;
 
     @Mock
-    private RoleRepository roleRepository;
+    private CatalogCache catalogCache;
 
     @Mock
     private UserDtoMapper userDtoMapper;
@@ -69,7 +70,7 @@ class GetUserUseCaseTest {
     @Test
     void execute_shouldReturnUser_whenUserExists() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(mockUser));
-        when(roleRepository.findById(2)).thenReturn(Optional.of(mockRole));
+        when(catalogCache.roles()).thenReturn(CatalogCache.Catalog.of(List.of(mockRole), Role::getId, Role::getName));
         when(userDtoMapper.toResponse(any(User.class), any(Role.class))).thenReturn(mockResponse);
 
         UserResponse result = getUserUseCase.execute(1L);
@@ -80,7 +81,7 @@ class GetUserUseCaseTest {
         assertThat(result.getRole_name()).isEqualTo("Operador Sucursal");
 
         verify(userRepository).findById(1L);
-        verify(roleRepository).findById(2);
+        verify(catalogCache).roles();
         verify(userDtoMapper).toResponse(mockUser, mockRole);
     }
 
@@ -92,14 +93,14 @@ class GetUserUseCaseTest {
                 .isInstanceOf(UserNotFoundException.class);
 
         verify(userRepository).findById(1L);
-        verify(roleRepository, never()).findById(any());
+        verify(catalogCache, never()).roles();
         verify(userDtoMapper, never()).toResponse(any(), any());
     }
 
     @Test
     void execute_shouldHandleNullRole_whenRoleNotFound() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(mockUser));
-        when(roleRepository.findById(2)).thenReturn(Optional.empty());
+        when(catalogCache.roles()).thenReturn(CatalogCache.Catalog.of(List.of(), Role::getId, Role::getName));
         when(userDtoMapper.toResponse(any(User.class), isNull())).thenReturn(mockResponse);
 
         UserResponse result = getUserUseCase.execute(1L);
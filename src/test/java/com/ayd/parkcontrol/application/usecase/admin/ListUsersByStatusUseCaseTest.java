@@ -5,8 +5,8 @@ import com.ayd.parkcontrol.application.dto.response.common.PageResponse;
 import com.ayd.parkcontrol.application.mapper.UserDtoMapper;
 import com.ayd.parkcontrol.domain.model.user.Role;
 import com.ayd.parkcontrol.domain.model.user.User;
-import com.ayd.parkcontrol.domain.repository.RoleRepository;
 import com.ayd.parkcontrol.domain.repository.UserRepository;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -33,7 +33,7 @@ class ListUsersByStatusUseCaseTest {
     private UserRepository userRepository;
 
     @Mock
-    private RoleRepository roleRepository;
+    private CatalogCache catalogCache;
 
     @Mock
     private UserDtoMapper userDtoMapper;
@@ -85,7 +85,7 @@ class ListUsersByStatusUseCaseTest {
                 .is_active(true)
                 .build();
 
-        when(roleRepository.findAll()).thenReturn(List.of(adminRole));
+        when(catalogCache.roles()).thenReturn(CatalogCache.Catalog.of(List.of(adminRole), Role::getId, Role::getName));
         when(userRepository.findByIsActive(eq(isActive), any(Pageable.class))).thenReturn(userPage);
         when(userDtoMapper.toResponse(user1, adminRole)).thenReturn(response1);
         when(userDtoMapper.toResponse(user2, adminRole)).thenReturn(response2);
@@ -102,7 +102,7 @@ class ListUsersByStatusUseCaseTest {
         assertTrue(result.getContent().get(0).getIs_active());
         assertTrue(result.getContent().get(1).getIs_active());
 
-        verify(roleRepository, times(1)).findAll();
+        verify(catalogCache, times(1)).roles();
         verify(userRepository, times(1)).findByIsActive(eq(isActive), any(Pageable.class));
         verify(userDtoMapper, times(2)).toResponse(any(User.class), any(Role.class));
     }
@@ -137,7 +137,7 @@ class ListUsersByStatusUseCaseTest {
                 .is_active(false)
                 .build();
 
-        when(roleRepository.findAll()).thenReturn(List.of(clientRole));
+        when(catalogCache.roles()).thenReturn(CatalogCache.Catalog.of(List.of(clientRole), Role::getId, Role::getName));
         when(userRepository.findByIsActive(eq(isActive), any(Pageable.class))).thenReturn(userPage);
         when(userDtoMapper.toResponse(user1, clientRole)).thenReturn(response1);
 
@@ -149,7 +149,7 @@ class ListUsersByStatusUseCaseTest {
         assertEquals(1, result.getContent().size());
         assertFalse(result.getContent().get(0).getIs_active());
 
-        verify(roleRepository, times(1)).findAll();
+        verify(catalogCache, times(1)).roles();
         verify(userRepository, times(1)).findByIsActive(eq(isActive), any(Pageable.class));
         verify(userDtoMapper, times(1)).toResponse(any(User.class), any(Role.class));
     }
@@ -162,7 +162,7 @@ class ListUsersByStatusUseCaseTest {
 
         Page<User> emptyPage = new PageImpl<>(List.of(), pageable, 0);
 
-        when(roleRepository.findAll()).thenReturn(List.of());
+        when(catalogCache.roles()).thenReturn(CatalogCache.Catalog.of(List.of(), Role::getId, Role::getName));
         when(userRepository.findByIsActive(eq(isActive), any(Pageable.class))).thenReturn(emptyPage);
 
         // When
@@ -173,7 +173,7 @@ class ListUsersByStatusUseCaseTest {
         assertTrue(result.getContent().isEmpty());
         assertEquals(0, result.getTotal_elements());
 
-        verify(roleRepository, times(1)).findAll();
+        verify(catalogCache, times(1)).roles();
         verify(userRepository, times(1)).findByIsActive(eq(isActive), any(Pageable.class));
         verify(userDtoMapper, never()).toResponse(any(), any());
     }
@@ -183,7 +183,7 @@ class ListUsersByStatusUseCaseTest {
         // Given
         Boolean isActive = true;
 
-        when(roleRepository.findAll()).thenReturn(List.of());
+        when(catalogCache.roles()).thenReturn(CatalogCache.Catalog.of(List.of(), Role::getId, Role::getName));
         when(userRepository.findByIsActive(eq(isActive), any(Pageable.class)))
                 .thenReturn(new PageImpl<>(List.of()));
 
@@ -200,7 +200,7 @@ class ListUsersByStatusUseCaseTest {
         // Given
         Boolean isActive = false;
 
-        when(roleRepository.findAll()).thenReturn(List.of());
+        when(catalogCache.roles()).thenReturn(CatalogCache.Catalog.of(List.of(), Role::getId, Role::getName));
         when(userRepository.findByIsActive(eq(isActive), any(Pageable.class)))
                 .thenReturn(new PageImpl<>(List.of()));
 
@@ -5,8 +5,8 @@ import com.ayd.parkcontrol.application.dto.response.common.PageResponse;
 import com.ayd.parkcontrol.application.mapper.UserDtoMapper;
 import com.ayd.parkcontrol.domain.model.user.Role;
 import com.ayd.parkcontrol.domain.model.user.User;
-import com.ayd.parkcontrol.domain.repository.RoleRepository;
 import com.ayd.parkcontrol.domain.repository.UserRepository;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -32,7 +32,7 @@ class ListUsersUseCaseTest {
     private UserRepository userRepository;
 
     @Mock
-    private RoleRepository roleRepository;
+    private CatalogCache catalogCache;
 
     @Mock
     private UserDtoMapper userDtoMapper;
@@ -80,7 +80,7 @@ class ListUsersUseCaseTest {
                 .build();
 
         when(userRepository.findAll(any(Pageable.class))).thenReturn(userPage);
-        when(roleRepository.findAll()).thenReturn(Arrays.asList(adminRole));
+        when(catalogCache.roles()).thenReturn(CatalogCache.Catalog.of(Arrays.asList(adminRole), Role::getId, Role::getName));
         when(userDtoMapper.toResponse(user1, adminRole)).thenReturn(response1);
         when(userDtoMapper.toResponse(user2, adminRole)).thenReturn(response2);
 
@@ -105,6 +105,7 @@ class ListUsersUseCaseTest {
         Page<User> emptyPage = new PageImpl<>(List.of(), pageable, 0);
 
         when(userRepository.findAll(any(Pageable.class))).thenReturn(emptyPage);
+        when(catalogCache.roles()).thenReturn(CatalogCache.Catalog.of(List.of(), Role::getId, Role::getName));
 
         // When
         PageResponse<UserResponse> result = listUsersUseCase.execute(0, 10, "id", "asc");
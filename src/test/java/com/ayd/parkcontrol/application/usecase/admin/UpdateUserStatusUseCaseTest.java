@@ -1,6 +1,7 @@
 package com.ayd.parkcontrol.application.usecase.admin;
 
 import com.ayd.parkcontrol.application.dto.request.admin.UpdateUserStatusRequest;
+import com.ayd.parkcontrol.application.event.UserAccountChangedEvent;
 import com.ayd.parkcontrol.application.mapper.UserDtoMapper;
 import com.ayd.parkcontrol.domain.exception.UserNotFoundException;
 import com.ayd.parkcontrol.domain.model.user.User;
@@ -13,6 +14,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Optional;
+import org.springframework.context.ApplicationEventPublisher;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -30,6 +32,9 @@ class UpdateUserStatusUseCaseTest {
     @Mock
     private UserDtoMapper userDtoMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UpdateUserStatusUseCase updateUserStatusUseCase;
 
@@ -72,6 +77,7 @@ class UpdateUserStatusUseCaseTest {
         verify(userRepository).findById(userId);
         verify(userRepository).save(any(User.class));
         verify(roleRepository).findById(2);
+        verify(eventPublisher).publishEvent(any(UserAccountChangedEvent.class));
     }
 
     @Test
@@ -7,8 +7,8 @@ import com.ayd.parkcontrol.domain.model.audit.AuditLog;
 import com.ayd.parkcontrol.domain.model.audit.OperationType;
 import com.ayd.parkcontrol.domain.model.user.User;
 import com.ayd.parkcontrol.domain.repository.AuditLogRepository;
-import com.ayd.parkcontrol.domain.repository.OperationTypeRepository;
 import com.ayd.parkcontrol.domain.repository.UserRepository;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,6 +17,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -34,7 +35,7 @@ class GetAuditLogUseCaseTest {
     private UserRepository userRepository;
 
     @Mock
-    private OperationTypeRepository operationTypeRepository;
+    private CatalogCache catalogCache;
 
     @Mock
     private AuditLogDtoMapper auditLogDtoMapper;
@@ -88,7 +89,7 @@ class GetAuditLogUseCaseTest {
     void execute_shouldReturnAuditLog_whenAuditLogExists() {
         when(auditLogRepository.findById(1L)).thenReturn(Optional.of(mockAuditLog));
         when(userRepository.findById(1L)).thenReturn(Optional.of(mockUser));
-        when(operationTypeRepository.findById(1)).thenReturn(Optional.of(mockOperationType));
+        when(catalogCache.operationTypes()).thenReturn(CatalogCache.Catalog.of(List.of(mockOperationType), OperationType::getId, OperationType::getCode));
         when(auditLogDtoMapper.toResponse(any(), any(), any())).thenReturn(mockResponse);
 
         AuditLogResponse result = getAuditLogUseCase.execute(1L);
@@ -100,7 +101,7 @@ class GetAuditLogUseCaseTest {
 
         verify(auditLogRepository).findById(1L);
         verify(userRepository).findById(1L);
-        verify(operationTypeRepository).findById(1);
+        verify(catalogCache).operationTypes();
         verify(auditLogDtoMapper).toResponse(mockAuditLog, mockUser, mockOperationType);
     }
 
@@ -113,14 +114,14 @@ class GetAuditLogUseCaseTest {
 
         verify(auditLogRepository).findById(1L);
         verify(userRepository, never()).findById(any());
-        verify(operationTypeRepository, never()).findById(any());
+        verify(catalogCache, never()).operationTypes();
     }
 
     @Test
     void execute_shouldHandleNullUser_whenUserNotFound() {
         when(auditLogRepository.findById(1L)).thenReturn(Optional.of(mockAuditLog));
         when(userRepository.findById(1L)).thenReturn(Optional.empty());
-        when(operationTypeRepository.findById(1)).thenReturn(Optional.of(mockOperationType));
+        when(catalogCache.operationTypes()).thenReturn(CatalogCache.Catalog.of(List.of(mockOperationType), OperationType::getId, OperationType::getCode));
         when(auditLogDtoMapper.toResponse(any(), any(), any())).thenReturn(mockResponse);
 
         AuditLogResponse result = getAuditLogUseCase.execute(1L);
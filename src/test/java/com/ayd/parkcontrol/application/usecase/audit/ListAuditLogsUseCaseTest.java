@@ -1,83 +1,54 @@
 package com.ayd.parkcontrol.application.usecase.audit;
 
 import com.ayd.parkcontrol.application.dto.response.audit.AuditLogResponse;
-import com.ayd.parkcontrol.application.mapper.AuditLogDtoMapper;
-import com.ayd.parkcontrol.domain.model.audit.AuditLog;
-import com.ayd.parkcontrol.domain.repository.AuditLogRepository;
-import com.ayd.parkcontrol.domain.repository.OperationTypeRepository;
-import com.ayd.parkcontrol.domain.repository.UserRepository;
-import org.junit.jupiter.api.BeforeEach;
+import com.ayd.parkcontrol.application.dto.response.common.CursorPageResponse;
+import com.ayd.parkcontrol.application.service.AuditLogPageLoader;
+import com.ayd.parkcontrol.domain.model.audit.AuditLogFilter;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 
-import java.time.LocalDateTime;
-import java.util.Arrays;
-import java.util.Optional;
+import java.util.List;
 
-import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.any;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class ListAuditLogsUseCaseTest {
 
     @Mock
-    private AuditLogRepository auditLogRepository;
-
-    @Mock
-    private UserRepository userRepository;
-
-    @Mock
-    private OperationTypeRepository operationTypeRepository;
-
-    @Mock
-    private AuditLogDtoMapper auditLogDtoMapper;
+    private AuditLogPageLoader auditLogPageLoader;
 
     @InjectMocks
-    private ListAuditLogsUseCase listAuditLogsUseCase;
-
-    private AuditLog mockAuditLog;
-    private AuditLogResponse mockResponse;
-
-    @BeforeEach
-    void setUp() {
-        mockAuditLog = AuditLog.builder()
-                .id(1L)
-                .userId(1L)
-                .module("usuarios")
-                .entity("User")
-                .operationTypeId(1)
-                .description("Usuario creado")
-                .createdAt(LocalDateTime.now())
-                .build();
-
-        mockResponse = AuditLogResponse.builder()
-                .id(1L)
-                .module("usuarios")
-                .build();
-    }
+    private ListAuditLogsUseCase useCase;
 
     @Test
-    void execute_shouldReturnPageOfAuditLogs() {
-        Pageable pageable = PageRequest.of(0, 20);
-        Page<AuditLog> auditLogPage = new PageImpl<>(Arrays.asList(mockAuditLog));
-
-        when(auditLogRepository.findAll(pageable)).thenReturn(auditLogPage);
-        when(userRepository.findById(any())).thenReturn(Optional.empty());
-        when(operationTypeRepository.findById(any())).thenReturn(Optional.empty());
-        when(auditLogDtoMapper.toResponse(any(), any(), any())).thenReturn(mockResponse);
-
-        Page<AuditLogResponse> result = listAuditLogsUseCase.execute(pageable);
+    void execute_shouldLoadUnfilteredPage() {
+        // Arrange
+        CursorPageResponse<AuditLogResponse> expected = page();
+        when(auditLogPageLoader.load(any(AuditLogFilter.class), eq("abc"), eq(20), eq(false))).thenReturn(expected);
+
+        // Act
+        CursorPageResponse<AuditLogResponse> result = useCase.execute("abc", 20, false);
+
+        // Assert
+        assertSame(expected, result);
+        ArgumentCaptor<AuditLogFilter> filter = ArgumentCaptor.forClass(AuditLogFilter.class);
+        verify(auditLogPageLoader).load(filter.capture(), eq("abc"), eq(20), eq(false));
+        assertNull(filter.getValue().getUserId());
+        assertNull(filter.getValue().getModule());
+        assertNull(filter.getValue().getStartDate());
+    }
 
-        assertThat(result).isNotNull();
-        assertThat(result.getContent()).hasSize(1);
-        verify(auditLogRepository).findAll(pageable);
+    private CursorPageResponse<AuditLogResponse> page() {
+        return CursorPageResponse.<AuditLogResponse>builder()
+                .content(List.of(AuditLogResponse.builder().id(1L).module("Administracion").build()))
+                .size(20)
+                .hasNext(false)
+                .build();
     }
 }
@@ -6,7 +6,9 @@ import com.ayd.parkcontrol.domain.exception.TokenExpiredException;
 import com.ayd.parkcontrol.domain.exception.UserNotFoundException;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.UserEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaUserRepository;
+import com.ayd.parkcontrol.security.jwt.JwtClaims;
 import com.ayd.parkcontrol.security.jwt.JwtTokenProvider;
+import io.jsonwebtoken.Jwts;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -57,8 +59,7 @@ class RefreshTokenUseCaseTest {
 
     @Test
     void execute_shouldRefreshTokensSuccessfully_whenRefreshTokenIsValid() {
-        when(jwtTokenProvider.validateToken(anyString())).thenReturn(true);
-        when(jwtTokenProvider.getUsernameFromToken(anyString())).thenReturn("test@parkcontrol.com");
+        when(jwtTokenProvider.parseToken(anyString())).thenReturn(Optional.of(claimsFor("test@parkcontrol.com")));
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(testUser));
         when(jwtTokenProvider.generateToken(anyString(), anyInt(), anyString())).thenReturn("new-access-token");
         when(jwtTokenProvider.generateRefreshToken(anyString())).thenReturn("new-refresh-token");
@@ -74,7 +75,7 @@ class RefreshTokenUseCaseTest {
 
     @Test
     void execute_shouldThrowTokenExpiredException_whenRefreshTokenIsInvalid() {
-        when(jwtTokenProvider.validateToken(anyString())).thenReturn(false);
+        when(jwtTokenProvider.parseToken(anyString())).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> refreshTokenUseCase.execute(request))
                 .isInstanceOf(TokenExpiredException.class)
@@ -83,8 +84,7 @@ class RefreshTokenUseCaseTest {
 
     @Test
     void execute_shouldThrowUserNotFoundException_whenUserNotFound() {
-        when(jwtTokenProvider.validateToken(anyString())).thenReturn(true);
-        when(jwtTokenProvider.getUsernameFromToken(anyString())).thenReturn("test@parkcontrol.com");
+        when(jwtTokenProvider.parseToken(anyString())).thenReturn(Optional.of(claimsFor("test@parkcontrol.com")));
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> refreshTokenUseCase.execute(request))
@@ -95,8 +95,7 @@ class RefreshTokenUseCaseTest {
     @Test
     void execute_shouldThrowTokenExpiredException_whenUserIsInactive() {
         testUser.setIsActive(false);
-        when(jwtTokenProvider.validateToken(anyString())).thenReturn(true);
-        when(jwtTokenProvider.getUsernameFromToken(anyString())).thenReturn("test@parkcontrol.com");
+        when(jwtTokenProvider.parseToken(anyString())).thenReturn(Optional.of(claimsFor("test@parkcontrol.com")));
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(testUser));
 
         assertThatThrownBy(() -> refreshTokenUseCase.execute(request))
@@ -107,8 +106,7 @@ class RefreshTokenUseCaseTest {
     @Test
     void execute_shouldGenerateTokensWithCorrectRole_forDifferentRoleTypes() {
         testUser.setRoleTypeId(4); // CLIENT role
-        when(jwtTokenProvider.validateToken(anyString())).thenReturn(true);
-        when(jwtTokenProvider.getUsernameFromToken(anyString())).thenReturn("test@parkcontrol.com");
+        when(jwtTokenProvider.parseToken(anyString())).thenReturn(Optional.of(claimsFor("test@parkcontrol.com")));
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(testUser));
         when(jwtTokenProvider.generateToken(anyString(), anyInt(), eq("CLIENT"))).thenReturn("token");
         when(jwtTokenProvider.generateRefreshToken(anyString())).thenReturn("refresh");
@@ -117,4 +115,8 @@ class RefreshTokenUseCaseTest {
 
         assertThat(response).isNotNull();
     }
+
+    private JwtClaims claimsFor(String username) {
+        return new JwtClaims(Jwts.claims().subject(username).build());
+    }
 }
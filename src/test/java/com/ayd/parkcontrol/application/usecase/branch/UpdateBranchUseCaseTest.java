@@ -1,5 +1,6 @@
 package com.ayd.parkcontrol.application.usecase.branch;
 
+import com.ayd.parkcontrol.application.event.RateChangedEvent;
 import com.ayd.parkcontrol.application.dto.request.branch.UpdateBranchRequest;
 import com.ayd.parkcontrol.application.dto.response.branch.BranchResponse;
 import com.ayd.parkcontrol.application.mapper.BranchDtoMapper;
@@ -15,6 +16,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalTime;
@@ -36,6 +38,9 @@ class UpdateBranchUseCaseTest {
     @Mock
     private BranchDtoMapper branchDtoMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UpdateBranchUseCase updateBranchUseCase;
 
@@ -87,6 +92,7 @@ class UpdateBranchUseCaseTest {
         verify(branchRepository).findById(1L);
         verify(branchRepository).existsByNameAndIdNot("New Branch Name", 1L);
         verify(branchRepository).save(any(Branch.class));
+        verify(eventPublisher).publishEvent(any(RateChangedEvent.class));
     }
 
     @Test
@@ -148,5 +154,6 @@ class UpdateBranchUseCaseTest {
 
         verify(branchRepository).save(any(Branch.class));
         verify(branchRepository, never()).existsByNameAndIdNot(anyString(), anyLong());
+        verifyNoInteractions(eventPublisher);
     }
 }
@@ -3,13 +3,9 @@ package com.ayd.parkcontrol.application.usecase.dashboard;
 import com.ayd.parkcontrol.application.dto.response.dashboard.DashboardOverviewResponse;
 import com.ayd.parkcontrol.domain.model.branch.Branch;
 import com.ayd.parkcontrol.domain.repository.BranchRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketChargeEntity;
-import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketEntity;
-import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketStatusTypeEntity;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketChargeRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketStatusTypeRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaIncidentRepository;
+import com.ayd.parkcontrol.infrastructure.cache.DashboardMetricsService;
+import com.ayd.parkcontrol.infrastructure.cache.model.BranchDailyMetrics;
+import com.ayd.parkcontrol.infrastructure.cache.model.DashboardMetricsSnapshot;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,13 +15,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,92 +29,73 @@ class GetDashboardByBranchUseCaseTest {
     private BranchRepository branchRepository;
 
     @Mock
-    private JpaTicketRepository ticketRepository;
-
-    @Mock
-    private JpaTicketChargeRepository ticketChargeRepository;
-
-    @Mock
-    private JpaTicketStatusTypeRepository ticketStatusTypeRepository;
-
-    @Mock
-    private JpaIncidentRepository incidentRepository;
+    private DashboardMetricsService dashboardMetricsService;
 
     @InjectMocks
     private GetDashboardByBranchUseCase getDashboardByBranchUseCase;
 
     private Branch branch;
-    private TicketStatusTypeEntity inProgressStatus;
-    private TicketEntity activeTicket;
-    private TicketChargeEntity todayCharge;
+    private DashboardMetricsSnapshot snapshot;
 
     @BeforeEach
     void setUp() {
         branch = Branch.builder()
                 .id(1L)
-                .name("Test Branch")
+                .name("Sucursal Centro")
                 .capacity2r(50)
-                .capacity4r(30)
-                .build();
-
-        inProgressStatus = TicketStatusTypeEntity.builder()
-                .id(1)
-                .code("IN_PROGRESS")
-                .name("In Progress")
-                .build();
-
-        activeTicket = TicketEntity.builder()
-                .id(1L)
-                .branchId(1L)
-                .statusTypeId(1)
-                .entryTime(LocalDate.now().atTime(10, 0))
+                .capacity4r(50)
+                .ratePerHour(BigDecimal.valueOf(20.00))
+                .isActive(true)
                 .build();
 
-        todayCharge = TicketChargeEntity.builder()
-                .id(1L)
-                .ticketId(1L)
-                .totalAmount(BigDecimal.valueOf(50.00))
-                .createdAt(LocalDate.now().atTime(14, 0))
+        snapshot = DashboardMetricsSnapshot.builder()
+                .date(LocalDate.now())
+                .branches(Map.of(1L, BranchDailyMetrics.builder()
+                        .branchId(1L)
+                        .vehiclesToday(20L)
+                        .chargesToday(10L)
+                        .revenueToday(BigDecimal.valueOf(150.50))
+                        .activeTickets(25L)
+                        .pendingIncidents(1L)
+                        .build()))
                 .build();
     }
 
     @Test
     void execute_shouldReturnBranchDashboard_whenBranchExists() {
-        when(branchRepository.findById(anyLong())).thenReturn(Optional.of(branch));
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
-        when(ticketRepository.findByBranchIdAndStatusTypeId(anyLong(), anyInt())).thenReturn(List.of(activeTicket));
-        when(ticketRepository.findByBranchIdOrderByEntryTimeDesc(anyLong())).thenReturn(List.of(activeTicket));
-        when(ticketChargeRepository.findAll()).thenReturn(List.of(todayCharge));
+        when(branchRepository.findById(1L)).thenReturn(Optional.of(branch));
+        when(dashboardMetricsService.getSnapshot(LocalDate.now())).thenReturn(snapshot);
 
         DashboardOverviewResponse result = getDashboardByBranchUseCase.execute(1L);
 
         assertThat(result).isNotNull();
-        assertThat(result.getActiveTickets()).isEqualTo(1L);
-        assertThat(result.getTotalVehiclesToday()).isEqualTo(1L);
-        assertThat(result.getRevenueToday()).isEqualByComparingTo(BigDecimal.valueOf(50.00));
+        assertThat(result.getTotalBranches()).isEqualTo(1);
+        assertThat(result.getActiveTickets()).isEqualTo(25L);
+        assertThat(result.getTotalVehiclesToday()).isEqualTo(20L);
+        assertThat(result.getRevenueToday()).isEqualByComparingTo(BigDecimal.valueOf(150.50));
+        assertThat(result.getPendingIncidents()).isEqualTo(1L);
+        assertThat(result.getAverageOccupancyPercentage()).isEqualTo(25.0);
     }
 
     @Test
-    void execute_shouldThrowException_whenBranchNotFound() {
-        when(branchRepository.findById(anyLong())).thenReturn(Optional.empty());
+    void execute_shouldReturnZeros_whenBranchHasNoActivityToday() {
+        when(branchRepository.findById(2L)).thenReturn(Optional.of(branch));
+        when(dashboardMetricsService.getSnapshot(LocalDate.now())).thenReturn(snapshot);
 
-        assertThatThrownBy(() -> getDashboardByBranchUseCase.execute(999L))
-                .isInstanceOf(RuntimeException.class)
-                .hasMessageContaining("Sucursal no encontrada");
+        DashboardOverviewResponse result = getDashboardByBranchUseCase.execute(2L);
+
+        assertThat(result.getActiveTickets()).isZero();
+        assertThat(result.getTotalVehiclesToday()).isZero();
+        assertThat(result.getRevenueToday()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(result.getAverageOccupancyPercentage()).isZero();
     }
 
     @Test
-    void execute_shouldCalculateActiveTickets_whenMultipleTicketsExist() {
-        when(branchRepository.findById(anyLong())).thenReturn(Optional.of(branch));
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
-        when(ticketRepository.findByBranchIdAndStatusTypeId(anyLong(), anyInt()))
-                .thenReturn(List.of(activeTicket, activeTicket, activeTicket));
-        when(ticketRepository.findByBranchIdOrderByEntryTimeDesc(anyLong())).thenReturn(List.of());
-        when(ticketChargeRepository.findAll()).thenReturn(List.of());
-
-        DashboardOverviewResponse result = getDashboardByBranchUseCase.execute(1L);
+    void execute_shouldThrowException_whenBranchNotFound() {
+        when(branchRepository.findById(99L)).thenReturn(Optional.empty());
 
-        assertThat(result).isNotNull();
-        assertThat(result.getActiveTickets()).isEqualTo(3L);
+        assertThatThrownBy(() -> getDashboardByBranchUseCase.execute(99L))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Sucursal no encontrada");
     }
 }
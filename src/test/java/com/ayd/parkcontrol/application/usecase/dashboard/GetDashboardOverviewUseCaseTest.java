@@ -1,10 +1,13 @@
 package com.ayd.parkcontrol.application.usecase.dashboard;
 
+import com.ayd.parkcontrol.application.dto.response.dashboard.DashboardOverviewResponse;
 import com.ayd.parkcontrol.domain.model.branch.Branch;
 import com.ayd.parkcontrol.domain.repository.BranchRepository;
 import com.ayd.parkcontrol.domain.repository.PlateChangeRequestRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.entity.*;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.*;
+import com.ayd.parkcontrol.infrastructure.cache.DashboardMetricsService;
+import com.ayd.parkcontrol.infrastructure.cache.model.BranchDailyMetrics;
+import com.ayd.parkcontrol.infrastructure.cache.model.DashboardMetricsSnapshot;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaSubscriptionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,14 +19,13 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,40 +38,21 @@ class GetDashboardOverviewUseCaseTest {
     @Mock
     private PlateChangeRequestRepository plateChangeRequestRepository;
 
-    @Mock
-    private JpaTicketRepository ticketRepository;
-
     @Mock
     private JpaSubscriptionRepository subscriptionRepository;
 
     @Mock
-    private JpaTicketChargeRepository ticketChargeRepository;
-
-    @Mock
-    private JpaTicketStatusTypeRepository ticketStatusTypeRepository;
-
-    @Mock
-    private JpaIncidentRepository incidentRepository;
+    private DashboardMetricsService dashboardMetricsService;
 
     @InjectMocks
     private GetDashboardOverviewUseCase getDashboardOverviewUseCase;
 
-    private TicketStatusTypeEntity inProgressStatus;
     private Branch branch;
-    private TicketEntity ticket;
-    private SubscriptionEntity subscription;
-    private TicketChargeEntity charge;
-    private IncidentEntity incident;
+    private Branch secondBranch;
+    private DashboardMetricsSnapshot snapshot;
 
     @BeforeEach
     void setUp() {
-        // Status IN_PROGRESS
-        inProgressStatus = new TicketStatusTypeEntity();
-        inProgressStatus.setId(1);
-        inProgressStatus.setCode("IN_PROGRESS");
-        inProgressStatus.setName("En Curso");
-
-        // Branch
         branch = Branch.builder()
                 .id(1L)
                 .name("Sucursal Centro")
@@ -79,156 +62,116 @@ class GetDashboardOverviewUseCaseTest {
                 .isActive(true)
                 .build();
 
-        // Ticket
-        ticket = new TicketEntity();
-        ticket.setId(1L);
-        ticket.setBranchId(1L);
-        ticket.setFolio("T-001");
-        ticket.setLicensePlate("ABC-123");
-        ticket.setStatusTypeId(1);
-        ticket.setEntryTime(LocalDateTime.now().minusHours(2));
-
-        // Subscription
-        subscription = new SubscriptionEntity();
-        subscription.setId(1L);
-        subscription.setUserId(1L);
-        subscription.setPlanId(1L);
-        subscription.setLicensePlate("XYZ-789");
-        subscription.setEndDate(LocalDateTime.now().plusMonths(1));
-        subscription.setFrozenRateBase(BigDecimal.valueOf(500.00));
-
-        // Ticket Charge
-        charge = new TicketChargeEntity();
-        charge.setId(1L);
-        charge.setTicketId(1L);
-        charge.setTotalAmount(BigDecimal.valueOf(40.00));
-        charge.setCreatedAt(LocalDateTime.now());
-
-        // Incident
-        incident = new IncidentEntity();
-        incident.setId(1L);
-        incident.setBranchId(1L);
-        incident.setIsResolved(false);
-        incident.setDescription("Incidente de prueba");
+        secondBranch = Branch.builder()
+                .id(2L)
+                .name("Sucursal Norte")
+                .capacity2r(10)
+                .capacity4r(10)
+                .ratePerHour(BigDecimal.valueOf(15.00))
+                .isActive(true)
+                .build();
+
+        snapshot = DashboardMetricsSnapshot.builder()
+                .date(LocalDate.now())
+                .branches(Map.of(
+                        1L, BranchDailyMetrics.builder()
+                                .branchId(1L)
+                                .vehiclesToday(12L)
+                                .chargesToday(8L)
+                                .revenueToday(BigDecimal.valueOf(320.00))
+                                .activeTickets(40L)
+                                .pendingIncidents(2L)
+                                .build(),
+                        2L, BranchDailyMetrics.builder()
+                                .branchId(2L)
+                                .vehiclesToday(3L)
+                                .chargesToday(1L)
+                                .revenueToday(BigDecimal.valueOf(30.00))
+                                .activeTickets(5L)
+                                .pendingIncidents(1L)
+                                .build()))
+                .build();
     }
 
     @Test
-    @DisplayName("Debe obtener el resumen del dashboard exitosamente")
+    @DisplayName("Debe obtener el resumen del dashboard desde los agregados")
     void shouldGetDashboardOverviewSuccessfully() {
         // Arrange
         when(branchRepository.findAll(any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(List.of(branch)));
-        when(plateChangeRequestRepository.findAll())
-                .thenReturn(List.of());
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS"))
-                .thenReturn(Optional.of(inProgressStatus));
-        when(ticketRepository.findByStatusTypeId(anyInt()))
-                .thenReturn(List.of(ticket));
-        when(subscriptionRepository.findAll())
-                .thenReturn(List.of(subscription));
-        when(ticketRepository.findAll())
-                .thenReturn(List.of(ticket));
-        when(ticketChargeRepository.findAll())
-                .thenReturn(List.of(charge));
-        when(ticketRepository.findByBranchIdAndStatusTypeId(anyLong(), anyInt()))
-                .thenReturn(List.of(ticket));
-        when(incidentRepository.findAll())
-                .thenReturn(List.of(incident));
+                .thenReturn(new PageImpl<>(List.of(branch, secondBranch)));
+        when(plateChangeRequestRepository.findAll()).thenReturn(List.of());
+        when(subscriptionRepository.countByEndDateAfter(any(LocalDateTime.class))).thenReturn(7L);
+        when(dashboardMetricsService.getSnapshot(LocalDate.now())).thenReturn(snapshot);
 
         // Act
-        var result = getDashboardOverviewUseCase.execute();
+        DashboardOverviewResponse result = getDashboardOverviewUseCase.execute();
 
         // Assert
         assertNotNull(result);
-        assertEquals(1, result.getTotalBranches());
-        assertEquals(1L, result.getActiveTickets());
-        assertEquals(1L, result.getActiveSubscriptions());
-        assertTrue(result.getRevenueToday().compareTo(BigDecimal.ZERO) >= 0);
-        assertEquals(1L, result.getPendingIncidents());
-
-        verify(ticketStatusTypeRepository).findByCode("IN_PROGRESS");
-        verify(subscriptionRepository).findAll();
+        assertEquals(2, result.getTotalBranches());
+        assertEquals(45L, result.getActiveTickets());
+        assertEquals(7L, result.getActiveSubscriptions());
+        assertEquals(15L, result.getTotalVehiclesToday());
+        assertEquals(0, BigDecimal.valueOf(350.00).compareTo(result.getRevenueToday()));
+        assertEquals(3L, result.getPendingIncidents());
+        assertEquals(0L, result.getPendingPlateChanges());
+        // (40/80 * 100 + 5/20 * 100) / 2 = 37.5
+        assertEquals(37.5, result.getAverageOccupancyPercentage(), 0.01);
     }
 
     @Test
-    @DisplayName("Debe calcular ocupación promedio correctamente")
-    void shouldCalculateAverageOccupancyCorrectly() {
+    @DisplayName("Debe retornar ceros cuando no hay actividad registrada")
+    void shouldReturnZerosWhenSnapshotIsEmpty() {
         // Arrange
-        Branch branch1 = Branch.builder()
-                .id(1L)
-                .name("Sucursal 1")
-                .capacity2r(50)
-                .capacity4r(50)
-                .build();
-
-        Branch branch2 = Branch.builder()
-                .id(2L)
-                .name("Sucursal 2")
-                .capacity2r(40)
-                .capacity4r(60)
-                .build();
-
         when(branchRepository.findAll(any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(Arrays.asList(branch1, branch2)));
+                .thenReturn(new PageImpl<>(List.of(branch)));
         when(plateChangeRequestRepository.findAll()).thenReturn(List.of());
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS"))
-                .thenReturn(Optional.of(inProgressStatus));
-        when(ticketRepository.findByStatusTypeId(anyInt())).thenReturn(List.of());
-        when(subscriptionRepository.findAll()).thenReturn(List.of());
-        when(ticketRepository.findAll()).thenReturn(List.of());
-        when(ticketChargeRepository.findAll()).thenReturn(List.of());
-        when(ticketRepository.findByBranchIdAndStatusTypeId(1L, 1)).thenReturn(List.of(ticket));
-        when(ticketRepository.findByBranchIdAndStatusTypeId(2L, 1)).thenReturn(List.of());
-        when(incidentRepository.findAll()).thenReturn(List.of());
+        when(subscriptionRepository.countByEndDateAfter(any(LocalDateTime.class))).thenReturn(0L);
+        when(dashboardMetricsService.getSnapshot(LocalDate.now()))
+                .thenReturn(DashboardMetricsSnapshot.builder().date(LocalDate.now()).build());
 
         // Act
-        var result = getDashboardOverviewUseCase.execute();
+        DashboardOverviewResponse result = getDashboardOverviewUseCase.execute();
 
         // Assert
-        assertNotNull(result);
-        assertTrue(result.getAverageOccupancyPercentage() >= 0);
-        assertTrue(result.getAverageOccupancyPercentage() <= 100);
+        assertEquals(0L, result.getActiveTickets());
+        assertEquals(0L, result.getTotalVehiclesToday());
+        assertEquals(0, BigDecimal.ZERO.compareTo(result.getRevenueToday()));
+        assertEquals(0.0, result.getAverageOccupancyPercentage());
     }
 
     @Test
-    @DisplayName("Debe manejar correctamente cuando no hay datos")
-    void shouldHandleNoDataGracefully() {
+    @DisplayName("Debe ignorar sucursales sin capacidad al calcular la ocupación promedio")
+    void shouldSkipBranchesWithoutCapacity() {
         // Arrange
+        Branch noCapacity = Branch.builder().id(3L).name("Sin capacidad").capacity2r(0).capacity4r(null).build();
         when(branchRepository.findAll(any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(List.of()));
+                .thenReturn(new PageImpl<>(List.of(branch, noCapacity)));
         when(plateChangeRequestRepository.findAll()).thenReturn(List.of());
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS"))
-                .thenReturn(Optional.of(inProgressStatus));
-        when(ticketRepository.findByStatusTypeId(anyInt())).thenReturn(List.of());
-        when(subscriptionRepository.findAll()).thenReturn(List.of());
-        when(ticketRepository.findAll()).thenReturn(List.of());
-        when(ticketChargeRepository.findAll()).thenReturn(List.of());
-        when(incidentRepository.findAll()).thenReturn(List.of());
+        when(subscriptionRepository.countByEndDateAfter(any(LocalDateTime.class))).thenReturn(0L);
+        when(dashboardMetricsService.getSnapshot(LocalDate.now())).thenReturn(snapshot);
 
         // Act
-        var result = getDashboardOverviewUseCase.execute();
+        DashboardOverviewResponse result = getDashboardOverviewUseCase.execute();
 
         // Assert
-        assertNotNull(result);
-        assertEquals(0, result.getTotalBranches());
-        assertEquals(0L, result.getActiveTickets());
-        assertEquals(0L, result.getActiveSubscriptions());
-        assertEquals(BigDecimal.ZERO, result.getRevenueToday());
-        assertEquals(0.0, result.getAverageOccupancyPercentage());
+        assertEquals(50.0, result.getAverageOccupancyPercentage(), 0.01);
     }
 
     @Test
-    @DisplayName("Debe lanzar excepción cuando el estado IN_PROGRESS no existe")
-    void shouldThrowExceptionWhenInProgressStatusNotFound() {
+    @DisplayName("Debe retornar ocupación cero cuando no hay sucursales")
+    void shouldReturnZeroOccupancyWhenNoBranches() {
         // Arrange
-        when(branchRepository.findAll(any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(List.of(branch)));
+        when(branchRepository.findAll(any(PageRequest.class))).thenReturn(new PageImpl<>(List.of()));
         when(plateChangeRequestRepository.findAll()).thenReturn(List.of());
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS"))
-                .thenReturn(Optional.empty());
+        when(subscriptionRepository.countByEndDateAfter(any(LocalDateTime.class))).thenReturn(0L);
+        when(dashboardMetricsService.getSnapshot(LocalDate.now())).thenReturn(snapshot);
 
-        // Act & Assert
-        assertThrows(RuntimeException.class, () -> getDashboardOverviewUseCase.execute());
-        verify(ticketStatusTypeRepository).findByCode("IN_PROGRESS");
+        // Act
+        DashboardOverviewResponse result = getDashboardOverviewUseCase.execute();
+
+        // Assert
+        assertEquals(0, result.getTotalBranches());
+        assertEquals(0.0, result.getAverageOccupancyPercentage());
     }
 }
@@ -1,17 +1,18 @@
 package com.ayd.parkcontrol.application.usecase.dashboard;
 
+import com.ayd.parkcontrol.application.service.OccupancyHistoryService;
 import com.ayd.parkcontrol.domain.model.branch.Branch;
 import com.ayd.parkcontrol.domain.repository.BranchRepository;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketStatusTypeEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.VehicleTypeEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.OccupancyStatsProjection;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaOccupancyHourlyRepository;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketStatusTypeRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaVehicleTypeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
@@ -19,10 +20,10 @@ import org.springframework.data.domain.PageRequest;
 
 import java.math.BigDecimal;
 import java.util.List;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,12 +37,11 @@ class GetOccupancyDetailsUseCaseTest {
     private JpaTicketRepository ticketRepository;
 
     @Mock
-    private JpaTicketStatusTypeRepository ticketStatusTypeRepository;
+    private CatalogCache catalogCache;
 
     @Mock
-    private JpaVehicleTypeRepository vehicleTypeRepository;
+    private JpaOccupancyHourlyRepository occupancyHourlyRepository;
 
-    @InjectMocks
     private GetOccupancyDetailsUseCase getOccupancyDetailsUseCase;
 
     private TicketStatusTypeEntity inProgressStatus;
@@ -51,6 +51,10 @@ class GetOccupancyDetailsUseCaseTest {
 
     @BeforeEach
     void setUp() {
+        getOccupancyDetailsUseCase = new GetOccupancyDetailsUseCase(branchRepository, ticketRepository,
+                catalogCache,
+                new OccupancyHistoryService(occupancyHourlyRepository));
+
         inProgressStatus = new TicketStatusTypeEntity();
         inProgressStatus.setId(1);
         inProgressStatus.setCode("IN_PROGRESS");
@@ -78,12 +82,10 @@ class GetOccupancyDetailsUseCaseTest {
     @DisplayName("Debe obtener detalles de ocupación exitosamente")
     void shouldGetOccupancyDetailsSuccessfully() {
         // Arrange
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS"))
-                .thenReturn(Optional.of(inProgressStatus));
-        when(vehicleTypeRepository.findByCode("2R"))
-                .thenReturn(Optional.of(vehicleType2R));
-        when(vehicleTypeRepository.findByCode("4R"))
-                .thenReturn(Optional.of(vehicleType4R));
+        when(catalogCache.ticketStatuses()).thenReturn(CatalogCache.Catalog.of(List.of(inProgressStatus),
+                TicketStatusTypeEntity::getId, TicketStatusTypeEntity::getCode));
+        when(catalogCache.vehicleTypes()).thenReturn(CatalogCache.Catalog.of(List.of(vehicleType2R, vehicleType4R),
+                VehicleTypeEntity::getId, VehicleTypeEntity::getCode));
         when(branchRepository.findAll(any(PageRequest.class)))
                 .thenReturn(new PageImpl<>(List.of(branch)));
         when(ticketRepository.countActiveTicketsByBranchAndVehicleType(anyLong(), eq(1), eq(1)))
@@ -118,16 +120,44 @@ class GetOccupancyDetailsUseCaseTest {
         assertEquals(50.0, detail4R.getOccupancyPercentage());
     }
 
+    @Test
+    @DisplayName("Debe incluir el pico y el promedio del día desde el histórico")
+    void shouldIncludeTodayPeakAndAverageFromHistory() {
+        // Arrange
+        OccupancyStatsProjection history2R = stats(1L, 1, 42, 300L, 10L);
+        when(catalogCache.ticketStatuses()).thenReturn(CatalogCache.Catalog.of(List.of(inProgressStatus),
+                TicketStatusTypeEntity::getId, TicketStatusTypeEntity::getCode));
+        when(catalogCache.vehicleTypes()).thenReturn(CatalogCache.Catalog.of(List.of(vehicleType2R, vehicleType4R),
+                VehicleTypeEntity::getId, VehicleTypeEntity::getCode));
+        when(branchRepository.findAll(any(PageRequest.class)))
+                .thenReturn(new PageImpl<>(List.of(branch)));
+        when(ticketRepository.countActiveTicketsByBranchAndVehicleType(anyLong(), eq(1), eq(1)))
+                .thenReturn(30L);
+        when(ticketRepository.countActiveTicketsByBranchAndVehicleType(anyLong(), eq(2), eq(1)))
+                .thenReturn(5L);
+        when(occupancyHourlyRepository.summarize(any(), any())).thenReturn(List.of(history2R));
+
+        // Act
+        var result = getOccupancyDetailsUseCase.execute();
+
+        // Assert: la ocupación actual cuenta como una muestra más del día
+        var detail2R = result.stream().filter(d -> "2R".equals(d.getVehicleType())).findFirst().orElseThrow();
+        assertEquals(42, detail2R.getPeakOccupancyToday());
+        assertEquals(30.0, detail2R.getAverageOccupancyToday());
+
+        var detail4R = result.stream().filter(d -> "4R".equals(d.getVehicleType())).findFirst().orElseThrow();
+        assertEquals(5, detail4R.getPeakOccupancyToday());
+        assertEquals(5.0, detail4R.getAverageOccupancyToday());
+    }
+
     @Test
     @DisplayName("Debe retornar lista vacía cuando no hay sucursales")
     void shouldReturnEmptyListWhenNoBranches() {
         // Arrange
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS"))
-                .thenReturn(Optional.of(inProgressStatus));
-        when(vehicleTypeRepository.findByCode("2R"))
-                .thenReturn(Optional.of(vehicleType2R));
-        when(vehicleTypeRepository.findByCode("4R"))
-                .thenReturn(Optional.of(vehicleType4R));
+        when(catalogCache.ticketStatuses()).thenReturn(CatalogCache.Catalog.of(List.of(inProgressStatus),
+                TicketStatusTypeEntity::getId, TicketStatusTypeEntity::getCode));
+        when(catalogCache.vehicleTypes()).thenReturn(CatalogCache.Catalog.of(List.of(vehicleType2R, vehicleType4R),
+                VehicleTypeEntity::getId, VehicleTypeEntity::getCode));
         when(branchRepository.findAll(any(PageRequest.class)))
                 .thenReturn(new PageImpl<>(List.of()));
 
@@ -150,12 +180,10 @@ class GetOccupancyDetailsUseCaseTest {
                 .capacity4r(0)
                 .build();
 
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS"))
-                .thenReturn(Optional.of(inProgressStatus));
-        when(vehicleTypeRepository.findByCode("2R"))
-                .thenReturn(Optional.of(vehicleType2R));
-        when(vehicleTypeRepository.findByCode("4R"))
-                .thenReturn(Optional.of(vehicleType4R));
+        when(catalogCache.ticketStatuses()).thenReturn(CatalogCache.Catalog.of(List.of(inProgressStatus),
+                TicketStatusTypeEntity::getId, TicketStatusTypeEntity::getCode));
+        when(catalogCache.vehicleTypes()).thenReturn(CatalogCache.Catalog.of(List.of(vehicleType2R, vehicleType4R),
+                VehicleTypeEntity::getId, VehicleTypeEntity::getCode));
         when(branchRepository.findAll(any(PageRequest.class)))
                 .thenReturn(new PageImpl<>(List.of(branchNoCapacity)));
 
@@ -171,12 +199,22 @@ class GetOccupancyDetailsUseCaseTest {
     @DisplayName("Debe lanzar excepción cuando no encuentra tipo de vehículo")
     void shouldThrowExceptionWhenVehicleTypeNotFound() {
         // Arrange
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS"))
-                .thenReturn(Optional.of(inProgressStatus));
-        when(vehicleTypeRepository.findByCode("2R"))
-                .thenReturn(Optional.empty());
+        when(catalogCache.ticketStatuses()).thenReturn(CatalogCache.Catalog.of(List.of(inProgressStatus),
+                TicketStatusTypeEntity::getId, TicketStatusTypeEntity::getCode));
+        when(catalogCache.vehicleTypes()).thenReturn(CatalogCache.Catalog.of(List.<VehicleTypeEntity>of(),
+                VehicleTypeEntity::getId, VehicleTypeEntity::getCode));
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> getOccupancyDetailsUseCase.execute());
     }
+
+    private OccupancyStatsProjection stats(Long branchId, Integer vehicleTypeId, int peak, long sum, long samples) {
+        OccupancyStatsProjection projection = mock(OccupancyStatsProjection.class);
+        when(projection.getBranchId()).thenReturn(branchId);
+        when(projection.getVehicleTypeId()).thenReturn(vehicleTypeId);
+        when(projection.getPeakOccupancy()).thenReturn(peak);
+        when(projection.getOccupancySum()).thenReturn(sum);
+        when(projection.getSamples()).thenReturn(samples);
+        return projection;
+    }
 }
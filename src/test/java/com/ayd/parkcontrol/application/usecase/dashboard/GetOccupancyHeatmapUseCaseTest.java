@@ -0,0 +1,128 @@
+package com.ayd.parkcontrol.application.usecase.dashboard;
+
+import com.ayd.parkcontrol.application.dto.response.dashboard.OccupancyHeatmapResponse;
+import com.ayd.parkcontrol.application.service.OccupancyHistoryService;
+import com.ayd.parkcontrol.domain.exception.BranchNotFoundException;
+import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
+import com.ayd.parkcontrol.domain.model.branch.Branch;
+import com.ayd.parkcontrol.domain.repository.BranchRepository;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.VehicleTypeEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.OccupancyHeatmapProjection;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaOccupancyHourlyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GetOccupancyHeatmapUseCase Tests")
+class GetOccupancyHeatmapUseCaseTest {
+
+    @Mock
+    private BranchRepository branchRepository;
+
+    @Mock
+    private JpaOccupancyHourlyRepository occupancyHourlyRepository;
+
+    @Mock
+    private CatalogCache catalogCache;
+
+    private GetOccupancyHeatmapUseCase getOccupancyHeatmapUseCase;
+
+    private Branch branch;
+
+    @BeforeEach
+    void setUp() {
+        getOccupancyHeatmapUseCase = new GetOccupancyHeatmapUseCase(branchRepository, occupancyHourlyRepository,
+                new OccupancyHistoryService(occupancyHourlyRepository), catalogCache);
+
+        branch = Branch.builder()
+                .id(1L)
+                .name("Sucursal Centro")
+                .capacity2r(20)
+                .capacity4r(80)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should build heatmap cells with ISO weekday and capacity percentage")
+    void shouldBuildHeatmapCells() {
+        LocalDate start = LocalDate.of(2025, 9, 1);
+        LocalDate end = LocalDate.of(2025, 9, 30);
+        OccupancyHeatmapProjection mondayMorning = cell(2, 9, 60, 2400L, 60L);
+        OccupancyHeatmapProjection sundayNight = cell(1, 22, 10, 300L, 60L);
+
+        when(branchRepository.findById(1L)).thenReturn(Optional.of(branch));
+        when(occupancyHourlyRepository.summarizeByWeekdayAndHour(1L, start.atStartOfDay(),
+                end.plusDays(1).atStartOfDay())).thenReturn(List.of(mondayMorning, sundayNight));
+        stubVehicleTypes();
+
+        List<OccupancyHeatmapResponse> result = getOccupancyHeatmapUseCase.execute(start, end, 1L);
+
+        assertEquals(2, result.size());
+        OccupancyHeatmapResponse monday = result.get(0);
+        assertEquals("Sucursal Centro", monday.getBranchName());
+        assertEquals("4R", monday.getVehicleType());
+        assertEquals(1, monday.getDayOfWeek());
+        assertEquals(9, monday.getHour());
+        assertEquals(40.0, monday.getAverageOccupancy());
+        assertEquals(60, monday.getPeakOccupancy());
+        assertEquals(50.0, monday.getAveragePercentage());
+        assertEquals(60L, monday.getSamples());
+
+        OccupancyHeatmapResponse sunday = result.get(1);
+        assertEquals(7, sunday.getDayOfWeek());
+        assertEquals(5.0, sunday.getAverageOccupancy());
+        assertEquals(6.25, sunday.getAveragePercentage());
+    }
+
+    @Test
+    @DisplayName("Should throw when branch does not exist")
+    void shouldThrowWhenBranchNotFound() {
+        when(branchRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(BranchNotFoundException.class, () -> getOccupancyHeatmapUseCase.execute(null, null, 99L));
+        verifyNoInteractions(occupancyHourlyRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject inverted date range")
+    void shouldRejectInvertedRange() {
+        assertThrows(BusinessRuleException.class, () -> getOccupancyHeatmapUseCase.execute(
+                LocalDate.of(2025, 9, 30), LocalDate.of(2025, 9, 1), null));
+        verifyNoInteractions(branchRepository, occupancyHourlyRepository);
+    }
+
+    private OccupancyHeatmapProjection cell(int dayOfWeek, int hour, int peak, long sum, long samples) {
+        OccupancyHeatmapProjection row = mock(OccupancyHeatmapProjection.class);
+        when(row.getBranchId()).thenReturn(1L);
+        when(row.getVehicleTypeId()).thenReturn(2);
+        when(row.getDayOfWeek()).thenReturn(dayOfWeek);
+        when(row.getHourOfDay()).thenReturn(hour);
+        when(row.getPeakOccupancy()).thenReturn(peak);
+        when(row.getOccupancySum()).thenReturn(sum);
+        when(row.getSamples()).thenReturn(samples);
+        return row;
+    }
+
+    private void stubVehicleTypes() {
+        VehicleTypeEntity twoWheels = new VehicleTypeEntity();
+        twoWheels.setId(1);
+        twoWheels.setCode("2R");
+        VehicleTypeEntity fourWheels = new VehicleTypeEntity();
+        fourWheels.setId(2);
+        fourWheels.setCode("4R");
+        when(catalogCache.vehicleTypes()).thenReturn(CatalogCache.Catalog.of(List.of(twoWheels, fourWheels),
+                VehicleTypeEntity::getId, VehicleTypeEntity::getCode));
+    }
+}
@@ -3,13 +3,12 @@ package com.ayd.parkcontrol.application.usecase.dashboard;
 import com.ayd.parkcontrol.application.dto.response.dashboard.SystemAlertResponse;
 import com.ayd.parkcontrol.domain.model.branch.Branch;
 import com.ayd.parkcontrol.domain.repository.BranchRepository;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.IncidentEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketStatusTypeEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.VehicleTypeEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaIncidentRepository;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketStatusTypeRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaVehicleTypeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,7 +20,6 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
-import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -39,10 +37,7 @@ class GetSystemAlertsUseCaseTest {
     private JpaTicketRepository ticketRepository;
 
     @Mock
-    private JpaTicketStatusTypeRepository ticketStatusTypeRepository;
-
-    @Mock
-    private JpaVehicleTypeRepository vehicleTypeRepository;
+    private CatalogCache catalogCache;
 
     @Mock
     private JpaIncidentRepository incidentRepository;
@@ -92,9 +87,10 @@ class GetSystemAlertsUseCaseTest {
     void execute_shouldReturnCriticalOccupancyAlert_when90PercentOccupied() {
         Page<Branch> branches = new PageImpl<>(List.of(branch));
         when(branchRepository.findAll(any(Pageable.class))).thenReturn(branches);
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
-        when(vehicleTypeRepository.findByCode("2R")).thenReturn(Optional.of(vehicleType2R));
-        when(vehicleTypeRepository.findByCode("4R")).thenReturn(Optional.of(vehicleType4R));
+        when(catalogCache.ticketStatuses()).thenReturn(CatalogCache.Catalog.of(List.of(inProgressStatus),
+                TicketStatusTypeEntity::getId, TicketStatusTypeEntity::getCode));
+        when(catalogCache.vehicleTypes()).thenReturn(CatalogCache.Catalog.of(List.of(vehicleType2R, vehicleType4R),
+                VehicleTypeEntity::getId, VehicleTypeEntity::getCode));
         when(ticketRepository.countActiveTicketsByBranchAndVehicleType(anyLong(), anyInt(), anyInt()))
                 .thenReturn(9L).thenReturn(9L);
         when(incidentRepository.findAll()).thenReturn(List.of());
@@ -110,9 +106,10 @@ class GetSystemAlertsUseCaseTest {
     void execute_shouldReturnHighOccupancyAlert_when80PercentOccupied() {
         Page<Branch> branches = new PageImpl<>(List.of(branch));
         when(branchRepository.findAll(any(Pageable.class))).thenReturn(branches);
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
-        when(vehicleTypeRepository.findByCode("2R")).thenReturn(Optional.of(vehicleType2R));
-        when(vehicleTypeRepository.findByCode("4R")).thenReturn(Optional.of(vehicleType4R));
+        when(catalogCache.ticketStatuses()).thenReturn(CatalogCache.Catalog.of(List.of(inProgressStatus),
+                TicketStatusTypeEntity::getId, TicketStatusTypeEntity::getCode));
+        when(catalogCache.vehicleTypes()).thenReturn(CatalogCache.Catalog.of(List.of(vehicleType2R, vehicleType4R),
+                VehicleTypeEntity::getId, VehicleTypeEntity::getCode));
         when(ticketRepository.countActiveTicketsByBranchAndVehicleType(anyLong(), anyInt(), anyInt()))
                 .thenReturn(8L).thenReturn(8L);
         when(incidentRepository.findAll()).thenReturn(List.of());
@@ -128,9 +125,10 @@ class GetSystemAlertsUseCaseTest {
     void execute_shouldReturnPendingIncidentsAlert_whenUnresolvedIncidentsExist() {
         Page<Branch> branches = new PageImpl<>(List.of(branch));
         when(branchRepository.findAll(any(Pageable.class))).thenReturn(branches);
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
-        when(vehicleTypeRepository.findByCode("2R")).thenReturn(Optional.of(vehicleType2R));
-        when(vehicleTypeRepository.findByCode("4R")).thenReturn(Optional.of(vehicleType4R));
+        when(catalogCache.ticketStatuses()).thenReturn(CatalogCache.Catalog.of(List.of(inProgressStatus),
+                TicketStatusTypeEntity::getId, TicketStatusTypeEntity::getCode));
+        when(catalogCache.vehicleTypes()).thenReturn(CatalogCache.Catalog.of(List.of(vehicleType2R, vehicleType4R),
+                VehicleTypeEntity::getId, VehicleTypeEntity::getCode));
         when(ticketRepository.countActiveTicketsByBranchAndVehicleType(anyLong(), anyInt(), anyInt()))
                 .thenReturn(5L).thenReturn(5L);
         when(incidentRepository.findAll()).thenReturn(List.of(pendingIncident));
@@ -147,9 +145,10 @@ class GetSystemAlertsUseCaseTest {
     void execute_shouldReturnEmptyList_whenNoAlertsExist() {
         Page<Branch> branches = new PageImpl<>(List.of(branch));
         when(branchRepository.findAll(any(Pageable.class))).thenReturn(branches);
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
-        when(vehicleTypeRepository.findByCode("2R")).thenReturn(Optional.of(vehicleType2R));
-        when(vehicleTypeRepository.findByCode("4R")).thenReturn(Optional.of(vehicleType4R));
+        when(catalogCache.ticketStatuses()).thenReturn(CatalogCache.Catalog.of(List.of(inProgressStatus),
+                TicketStatusTypeEntity::getId, TicketStatusTypeEntity::getCode));
+        when(catalogCache.vehicleTypes()).thenReturn(CatalogCache.Catalog.of(List.of(vehicleType2R, vehicleType4R),
+                VehicleTypeEntity::getId, VehicleTypeEntity::getCode));
         when(ticketRepository.countActiveTicketsByBranchAndVehicleType(anyLong(), anyInt(), anyInt()))
                 .thenReturn(2L).thenReturn(2L);
         when(incidentRepository.findAll()).thenReturn(List.of());
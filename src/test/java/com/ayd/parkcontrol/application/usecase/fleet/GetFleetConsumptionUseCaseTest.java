@@ -1,23 +1,29 @@
 package com.ayd.parkcontrol.application.usecase.fleet;
 
 import com.ayd.parkcontrol.application.dto.response.fleet.FleetConsumptionResponse;
+import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.FleetCompanyEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.FleetVehicleConsumptionProjection;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaFleetCompanyRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaFleetVehicleRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import java.math.BigDecimal;
-import java.util.Arrays;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,13 +33,12 @@ class GetFleetConsumptionUseCaseTest {
     private JpaFleetCompanyRepository fleetCompanyRepository;
 
     @Mock
-    private JpaTicketRepository ticketRepository;
+    private JpaFleetVehicleRepository fleetVehicleRepository;
 
     @InjectMocks
     private GetFleetConsumptionUseCase getFleetConsumptionUseCase;
 
     private FleetCompanyEntity company;
-    private List<String> licensePlates;
 
     @BeforeEach
     void setUp() {
@@ -48,36 +53,22 @@ class GetFleetConsumptionUseCaseTest {
                 .monthsUnpaid(0)
                 .isActive(true)
                 .build();
-
-        licensePlates = Arrays.asList("ABC-123", "DEF-456", "GHI-789");
     }
 
     @Test
     void shouldGetFleetConsumptionSuccessfully() {
         // Given
         Long companyId = 1L;
+        List<FleetVehicleConsumptionProjection> rows = List.of(
+                row("ABC-123", 50L, "150.00", "7500.00"),
+                row("DEF-456", 60L, "180.25", "9012.50"),
+                row("GHI-789", 40L, "120.25", "6012.50"));
         when(fleetCompanyRepository.findById(companyId)).thenReturn(Optional.of(company));
-        when(ticketRepository.findLicensePlatesByFleetCompany(companyId)).thenReturn(licensePlates);
-        when(fleetCompanyRepository.countActiveVehiclesByCompanyId(companyId)).thenReturn(3L);
-        when(ticketRepository.countEntriesByLicensePlates(licensePlates)).thenReturn(150L);
-        when(ticketRepository.sumHoursByLicensePlates(licensePlates)).thenReturn(new BigDecimal("450.50"));
-        when(ticketRepository.sumAmountByLicensePlates(licensePlates)).thenReturn(new BigDecimal("22525.00"));
-
-        // Mock per-vehicle consumption
-        when(ticketRepository.countEntriesByLicensePlate("ABC-123")).thenReturn(50L);
-        when(ticketRepository.sumHoursByLicensePlate("ABC-123")).thenReturn(new BigDecimal("150.00"));
-        when(ticketRepository.sumAmountByLicensePlate("ABC-123")).thenReturn(new BigDecimal("7500.00"));
-
-        when(ticketRepository.countEntriesByLicensePlate("DEF-456")).thenReturn(60L);
-        when(ticketRepository.sumHoursByLicensePlate("DEF-456")).thenReturn(new BigDecimal("180.25"));
-        when(ticketRepository.sumAmountByLicensePlate("DEF-456")).thenReturn(new BigDecimal("9012.50"));
-
-        when(ticketRepository.countEntriesByLicensePlate("GHI-789")).thenReturn(40L);
-        when(ticketRepository.sumHoursByLicensePlate("GHI-789")).thenReturn(new BigDecimal("120.25"));
-        when(ticketRepository.sumAmountByLicensePlate("GHI-789")).thenReturn(new BigDecimal("6012.50"));
+        when(fleetVehicleRepository.findConsumptionByCompanyId(companyId, null, null, 10, 0L)).thenReturn(rows);
 
         // When
-        FleetConsumptionResponse response = getFleetConsumptionUseCase.execute(companyId);
+        FleetConsumptionResponse response = getFleetConsumptionUseCase.execute(companyId, null, null,
+                PageRequest.of(0, 10));
 
         // Then
         assertThat(response).isNotNull();
@@ -88,11 +79,56 @@ class GetFleetConsumptionUseCaseTest {
         assertThat(response.getTotalHoursConsumed()).isEqualByComparingTo(new BigDecimal("450.50"));
         assertThat(response.getTotalAmountCharged()).isEqualByComparingTo(new BigDecimal("22525.00"));
         assertThat(response.getVehicleConsumption()).hasSize(3);
+        assertThat(response.getVehicleConsumption().get(1).getLicensePlate()).isEqualTo("DEF-456");
+        assertThat(response.getVehicleConsumption().get(1).getEntriesCount()).isEqualTo(60L);
+        assertThat(response.getTotalPages()).isEqualTo(1);
 
-        verify(fleetCompanyRepository).findById(companyId);
-        verify(ticketRepository).findLicensePlatesByFleetCompany(companyId);
-        verify(fleetCompanyRepository).countActiveVehiclesByCompanyId(companyId);
-        verify(ticketRepository).countEntriesByLicensePlates(licensePlates);
+        verify(fleetVehicleRepository, times(1)).findConsumptionByCompanyId(anyLong(), any(), any(), anyInt(),
+                anyLong());
+    }
+
+    @Test
+    void shouldPassPeriodAndPageToGroupedQuery() {
+        // Given
+        Long companyId = 1L;
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2025, 2, 1, 0, 0);
+        FleetVehicleConsumptionProjection last = row("GHI-789", 40L, "120.25", "6012.50");
+        when(fleetCompanyRepository.findById(companyId)).thenReturn(Optional.of(company));
+        when(fleetVehicleRepository.findConsumptionByCompanyId(companyId, start, end, 2, 2L)).thenReturn(List.of(last));
+
+        // When
+        FleetConsumptionResponse response = getFleetConsumptionUseCase.execute(companyId, start, end,
+                PageRequest.of(1, 2));
+
+        // Then
+        assertThat(response.getPeriodStart()).isEqualTo(start);
+        assertThat(response.getPeriodEnd()).isEqualTo(end);
+        assertThat(response.getVehicleConsumption()).hasSize(1);
+        assertThat(response.getTotalVehicles()).isEqualTo(3);
+        assertThat(response.getTotalAmountCharged()).isEqualByComparingTo(new BigDecimal("22525.00"));
+        assertThat(response.getPage()).isEqualTo(1);
+        assertThat(response.getTotalPages()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReadTotalsFromFirstPageWhenPageIsPastTheEnd() {
+        // Given
+        Long companyId = 1L;
+        FleetVehicleConsumptionProjection first = row("ABC-123", 50L, "150.00", "7500.00");
+        when(fleetCompanyRepository.findById(companyId)).thenReturn(Optional.of(company));
+        when(fleetVehicleRepository.findConsumptionByCompanyId(companyId, null, null, 10, 50L)).thenReturn(List.of());
+        when(fleetVehicleRepository.findConsumptionByCompanyId(companyId, null, null, 1, 0L))
+                .thenReturn(List.of(first));
+
+        // When
+        FleetConsumptionResponse response = getFleetConsumptionUseCase.execute(companyId, null, null,
+                PageRequest.of(5, 10));
+
+        // Then
+        assertThat(response.getVehicleConsumption()).isEmpty();
+        assertThat(response.getTotalVehicles()).isEqualTo(3);
+        assertThat(response.getTotalEntries()).isEqualTo(150L);
     }
 
     @Test
@@ -102,12 +138,25 @@ class GetFleetConsumptionUseCaseTest {
         when(fleetCompanyRepository.findById(companyId)).thenReturn(Optional.empty());
 
         // When & Then
-        assertThatThrownBy(() -> getFleetConsumptionUseCase.execute(companyId))
+        assertThatThrownBy(() -> getFleetConsumptionUseCase.execute(companyId, null, null, PageRequest.of(0, 10)))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Empresa flotillera no encontrada con ID: 999");
 
         verify(fleetCompanyRepository).findById(companyId);
-        verifyNoInteractions(ticketRepository);
+        verifyNoInteractions(fleetVehicleRepository);
+    }
+
+    @Test
+    void shouldRejectPeriodWithStartAfterEnd() {
+        // Given
+        when(fleetCompanyRepository.findById(1L)).thenReturn(Optional.of(company));
+
+        // When & Then
+        assertThatThrownBy(() -> getFleetConsumptionUseCase.execute(1L, LocalDateTime.of(2025, 2, 1, 0, 0),
+                LocalDateTime.of(2025, 1, 1, 0, 0), PageRequest.of(0, 10)))
+                .isInstanceOf(BusinessRuleException.class);
+
+        verifyNoInteractions(fleetVehicleRepository);
     }
 
     @Test
@@ -115,10 +164,11 @@ class GetFleetConsumptionUseCaseTest {
         // Given
         Long companyId = 1L;
         when(fleetCompanyRepository.findById(companyId)).thenReturn(Optional.of(company));
-        when(ticketRepository.findLicensePlatesByFleetCompany(companyId)).thenReturn(List.of());
+        when(fleetVehicleRepository.findConsumptionByCompanyId(companyId, null, null, 10, 0L)).thenReturn(List.of());
 
         // When
-        FleetConsumptionResponse response = getFleetConsumptionUseCase.execute(companyId);
+        FleetConsumptionResponse response = getFleetConsumptionUseCase.execute(companyId, null, null,
+                PageRequest.of(0, 10));
 
         // Then
         assertThat(response).isNotNull();
@@ -129,30 +179,22 @@ class GetFleetConsumptionUseCaseTest {
         assertThat(response.getTotalHoursConsumed()).isEqualByComparingTo(BigDecimal.ZERO);
         assertThat(response.getTotalAmountCharged()).isEqualByComparingTo(BigDecimal.ZERO);
         assertThat(response.getVehicleConsumption()).isEmpty();
-
-        verify(fleetCompanyRepository).findById(companyId);
-        verify(ticketRepository).findLicensePlatesByFleetCompany(companyId);
-        verify(fleetCompanyRepository, never()).countActiveVehiclesByCompanyId(anyLong());
+        assertThat(response.getTotalPages()).isZero();
     }
 
     @Test
     void shouldHandleNullValuesInConsumptionData() {
         // Given
         Long companyId = 1L;
-        List<String> singlePlate = List.of("ABC-123");
+        FleetVehicleConsumptionProjection empty = mock(FleetVehicleConsumptionProjection.class);
+        when(empty.getLicensePlate()).thenReturn("ABC-123");
         when(fleetCompanyRepository.findById(companyId)).thenReturn(Optional.of(company));
-        when(ticketRepository.findLicensePlatesByFleetCompany(companyId)).thenReturn(singlePlate);
-        when(fleetCompanyRepository.countActiveVehiclesByCompanyId(companyId)).thenReturn(null);
-        when(ticketRepository.countEntriesByLicensePlates(singlePlate)).thenReturn(null);
-        when(ticketRepository.sumHoursByLicensePlates(singlePlate)).thenReturn(null);
-        when(ticketRepository.sumAmountByLicensePlates(singlePlate)).thenReturn(null);
-
-        when(ticketRepository.countEntriesByLicensePlate("ABC-123")).thenReturn(null);
-        when(ticketRepository.sumHoursByLicensePlate("ABC-123")).thenReturn(null);
-        when(ticketRepository.sumAmountByLicensePlate("ABC-123")).thenReturn(null);
+        when(fleetVehicleRepository.findConsumptionByCompanyId(companyId, null, null, 10, 0L))
+                .thenReturn(List.of(empty));
 
         // When
-        FleetConsumptionResponse response = getFleetConsumptionUseCase.execute(companyId);
+        FleetConsumptionResponse response = getFleetConsumptionUseCase.execute(companyId, null, null,
+                PageRequest.of(0, 10));
 
         // Then
         assertThat(response).isNotNull();
@@ -167,4 +209,21 @@ class GetFleetConsumptionUseCaseTest {
         assertThat(vehicleDetail.getHoursConsumed()).isEqualByComparingTo(BigDecimal.ZERO);
         assertThat(vehicleDetail.getAmountCharged()).isEqualByComparingTo(BigDecimal.ZERO);
     }
+
+    /**
+     * Fila de una flotilla de tres vehículos con 150 entradas, 450.50 horas y
+     * 22525.00 cobrados en total.
+     */
+    private FleetVehicleConsumptionProjection row(String plate, Long entries, String hours, String amount) {
+        FleetVehicleConsumptionProjection row = mock(FleetVehicleConsumptionProjection.class);
+        lenient().when(row.getLicensePlate()).thenReturn(plate);
+        lenient().when(row.getEntriesCount()).thenReturn(entries);
+        lenient().when(row.getHoursConsumed()).thenReturn(new BigDecimal(hours));
+        lenient().when(row.getAmountCharged()).thenReturn(new BigDecimal(amount));
+        lenient().when(row.getTotalVehicles()).thenReturn(3L);
+        lenient().when(row.getTotalEntries()).thenReturn(150L);
+        lenient().when(row.getTotalHoursConsumed()).thenReturn(new BigDecimal("450.50"));
+        lenient().when(row.getTotalAmountCharged()).thenReturn(new BigDecimal("22525.00"));
+        return row;
+    }
 }
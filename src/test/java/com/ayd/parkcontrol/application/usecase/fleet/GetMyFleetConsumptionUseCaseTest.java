@@ -0,0 +1,91 @@
+package com.ayd.parkcontrol.application.usecase.fleet;
+
+import com.ayd.parkcontrol.application.dto.response.fleet.FleetConsumptionResponse;
+import com.ayd.parkcontrol.domain.exception.ResourceNotFoundException;
+import com.ayd.parkcontrol.domain.model.fleet.FleetCompany;
+import com.ayd.parkcontrol.domain.model.user.User;
+import com.ayd.parkcontrol.domain.repository.FleetRepository;
+import com.ayd.parkcontrol.domain.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GetMyFleetConsumptionUseCaseTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private FleetRepository fleetRepository;
+
+    @Mock
+    private GetFleetConsumptionUseCase getFleetConsumptionUseCase;
+
+    @InjectMocks
+    private GetMyFleetConsumptionUseCase getMyFleetConsumptionUseCase;
+
+    private final Pageable pageable = PageRequest.of(0, 50);
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.setContext(new SecurityContextImpl(
+                new UsernamePasswordAuthenticationToken("fleet@company.com", null)));
+        when(userRepository.findByEmail("fleet@company.com"))
+                .thenReturn(Optional.of(User.builder().id(5L).email("fleet@company.com").build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldDelegateToFleetConsumptionForOwnFleet() {
+        // Given
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2025, 2, 1, 0, 0);
+        FleetConsumptionResponse expected = FleetConsumptionResponse.builder()
+                .companyId(3L)
+                .companyName("My Fleet")
+                .totalAmountCharged(new BigDecimal("1200.00"))
+                .build();
+        when(fleetRepository.findByAdminUserId(5L))
+                .thenReturn(Optional.of(FleetCompany.builder().id(3L).name("My Fleet").build()));
+        when(getFleetConsumptionUseCase.execute(3L, start, end, pageable)).thenReturn(expected);
+
+        // When
+        FleetConsumptionResponse response = getMyFleetConsumptionUseCase.execute(start, end, pageable);
+
+        // Then
+        assertThat(response).isSameAs(expected);
+    }
+
+    @Test
+    void shouldThrowWhenUserHasNoFleet() {
+        // Given
+        when(fleetRepository.findByAdminUserId(5L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> getMyFleetConsumptionUseCase.execute(null, null, pageable))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(getFleetConsumptionUseCase);
+    }
+}
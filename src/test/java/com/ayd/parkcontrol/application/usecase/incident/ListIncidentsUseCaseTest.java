@@ -2,6 +2,7 @@ package com.ayd.parkcontrol.application.usecase.incident;
 
 import com.ayd.parkcontrol.application.dto.response.incident.IncidentResponse;
 import com.ayd.parkcontrol.application.mapper.IncidentMapper;
+import com.ayd.parkcontrol.application.service.ReferenceDataResolver;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.*;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +14,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -25,16 +28,7 @@ class ListIncidentsUseCaseTest {
     private JpaIncidentRepository incidentRepository;
 
     @Mock
-    private JpaIncidentTypeRepository incidentTypeRepository;
-
-    @Mock
-    private JpaBranchRepository branchRepository;
-
-    @Mock
-    private JpaUserRepository userRepository;
-
-    @Mock
-    private JpaIncidentEvidenceRepository evidenceRepository;
+    private ReferenceDataResolver referenceDataResolver;
 
     @Mock
     private IncidentMapper mapper;
@@ -88,12 +82,17 @@ class ListIncidentsUseCaseTest {
     void execute_ShouldReturnAllIncidents() {
         // Arrange
         when(incidentRepository.findAll()).thenReturn(Arrays.asList(incident1, incident2));
-        when(incidentTypeRepository.findById(any())).thenReturn(java.util.Optional.empty());
-        when(branchRepository.findById(any())).thenReturn(java.util.Optional.empty());
-        when(userRepository.findById(any())).thenReturn(java.util.Optional.empty());
-        when(evidenceRepository.countByIncidentId(any())).thenReturn(0L);
-        when(mapper.toResponseWithDetails(any(), any(), any(), any(), any(), any()))
-                .thenReturn(response1, response2);
+        IncidentTypeEntity type1 = IncidentTypeEntity.builder().id(1).build();
+        BranchEntity branch2 = BranchEntity.builder().id(2L).build();
+        UserEntity user1 = UserEntity.builder().id(1L).build();
+        UserEntity user2 = UserEntity.builder().id(2L).build();
+
+        when(referenceDataResolver.incidentTypesById(Set.of(1, 2))).thenReturn(Map.of(1, type1));
+        when(referenceDataResolver.branchesById(Set.of(1L, 2L))).thenReturn(Map.of(2L, branch2));
+        when(referenceDataResolver.userEntitiesById(Set.of(1L, 2L))).thenReturn(Map.of(1L, user1, 2L, user2));
+        when(referenceDataResolver.evidenceCountsByIncidentId(Set.of(1L, 2L))).thenReturn(Map.of(2L, 3L));
+        when(mapper.toResponseWithDetails(incident1, type1, null, user1, null, 0L)).thenReturn(response1);
+        when(mapper.toResponseWithDetails(incident2, null, branch2, user2, null, 3L)).thenReturn(response2);
 
         // Act
         List<IncidentResponse> result = listIncidentsUseCase.execute();
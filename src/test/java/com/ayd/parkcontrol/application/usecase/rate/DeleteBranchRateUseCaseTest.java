@@ -1,5 +1,6 @@
 package com.ayd.parkcontrol.application.usecase.rate;
 
+import com.ayd.parkcontrol.application.event.RateChangedEvent;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.BranchEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaBranchRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,6 +9,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.Optional;
@@ -22,6 +24,9 @@ class DeleteBranchRateUseCaseTest {
     @Mock
     private JpaBranchRepository branchRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private DeleteBranchRateUseCase useCase;
 
@@ -45,6 +50,7 @@ class DeleteBranchRateUseCaseTest {
 
         verify(branchRepository).findById(1L);
         verify(branchRepository).save(any(BranchEntity.class));
+        verify(eventPublisher).publishEvent(any(RateChangedEvent.class));
     }
 
     @Test
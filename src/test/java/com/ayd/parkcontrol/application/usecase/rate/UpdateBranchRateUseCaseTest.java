@@ -1,5 +1,6 @@
 package com.ayd.parkcontrol.application.usecase.rate;
 
+import com.ayd.parkcontrol.application.event.RateChangedEvent;
 import com.ayd.parkcontrol.application.dto.request.rate.UpdateBranchRateRequest;
 import com.ayd.parkcontrol.application.dto.response.rate.RateBranchResponse;
 import com.ayd.parkcontrol.application.mapper.RateDtoMapper;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.Optional;
@@ -30,6 +32,9 @@ class UpdateBranchRateUseCaseTest {
     @Mock
     private RateDtoMapper mapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UpdateBranchRateUseCase useCase;
 
@@ -81,6 +86,7 @@ class UpdateBranchRateUseCaseTest {
         verify(branchRepository).save(any(BranchEntity.class));
         verify(mapper).toDomain(branchEntity);
         verify(mapper).toRateBranchResponse(rateBranch);
+        verify(eventPublisher).publishEvent(any(RateChangedEvent.class));
     }
 
     @Test
@@ -1,5 +1,6 @@
 package com.ayd.parkcontrol.application.usecase.rate;
 
+import com.ayd.parkcontrol.application.event.RateChangedEvent;
 import com.ayd.parkcontrol.application.dto.request.rate.UpdateRateBaseRequest;
 import com.ayd.parkcontrol.application.dto.response.rate.RateBaseResponse;
 import com.ayd.parkcontrol.application.mapper.RateDtoMapper;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -31,6 +33,9 @@ class UpdateRateBaseUseCaseTest {
         @Mock
         private RateDtoMapper mapper;
 
+        @Mock
+        private ApplicationEventPublisher eventPublisher;
+
         @InjectMocks
         private UpdateRateBaseUseCase useCase;
 
@@ -91,6 +96,7 @@ class UpdateRateBaseUseCaseTest {
                 verify(rateRepository, times(1)).save(any(RateBaseHistoryEntity.class));
                 verify(mapper).toDomain(updatedRateEntity);
                 verify(mapper).toRateBaseResponse(updatedRateDomain);
+                verify(eventPublisher).publishEvent(any(RateChangedEvent.class));
         }
 
         @Test
@@ -1,29 +1,113 @@
 package com.ayd.parkcontrol.application.usecase.report;
 
 import com.ayd.parkcontrol.application.dto.request.report.ExportReportRequest;
+import com.ayd.parkcontrol.application.usecase.report.export.ExportBillingReportUseCase;
+import com.ayd.parkcontrol.application.usecase.report.export.ExportFleetReportUseCase;
+import com.ayd.parkcontrol.application.usecase.report.export.ExportFormat;
+import com.ayd.parkcontrol.application.usecase.report.export.ExportOccupancyReportUseCase;
+import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.OutputStream;
+import java.time.LocalDate;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 class ExportReportUseCaseTest {
 
+    @Mock
+    private ExportOccupancyReportUseCase exportOccupancyReportUseCase;
+
+    @Mock
+    private ExportBillingReportUseCase exportBillingReportUseCase;
+
+    @Mock
+    private ExportFleetReportUseCase exportFleetReportUseCase;
+
     @InjectMocks
     private ExportReportUseCase exportReportUseCase;
 
     @Test
-    void execute_shouldReturnEmptyByteArray_whenExportingReport() {
+    void execute_shouldGenerateBillingReport_withRequestedRange() throws Exception {
         ExportReportRequest request = ExportReportRequest.builder()
                 .reportType("BILLING")
+                .exportFormat("CSV")
+                .startDate("2025-01-01")
+                .endDate("2025-01-31")
+                .build();
+
+        doAnswer(invocation -> {
+            invocation.getArgument(3, OutputStream.class).write("csv".getBytes());
+            return null;
+        }).when(exportBillingReportUseCase).export(eq(ExportFormat.CSV), eq(LocalDate.of(2025, 1, 1)),
+                eq(LocalDate.of(2025, 1, 31)), any(OutputStream.class));
+
+        byte[] result = exportReportUseCase.execute(request);
+
+        assertThat(result).isEqualTo("csv".getBytes());
+        verifyNoInteractions(exportOccupancyReportUseCase);
+    }
+
+    @Test
+    void execute_shouldGenerateOccupancyReport() throws Exception {
+        ExportReportRequest request = ExportReportRequest.builder()
+                .reportType("OCCUPANCY")
                 .exportFormat("PDF")
                 .build();
 
+        doAnswer(invocation -> {
+            invocation.getArgument(3, OutputStream.class).write("pdf".getBytes());
+            return null;
+        }).when(exportOccupancyReportUseCase).export(eq(ExportFormat.PDF), isNull(), isNull(),
+                any(OutputStream.class));
+
+        byte[] result = exportReportUseCase.execute(request);
+
+        assertThat(result).isEqualTo("pdf".getBytes());
+        verifyNoInteractions(exportBillingReportUseCase);
+    }
+
+    @Test
+    void execute_shouldGenerateFleetReport_forRequestedCompanyAndRange() throws Exception {
+        ExportReportRequest request = ExportReportRequest.builder()
+                .reportType("FLEETS")
+                .exportFormat("CSV")
+                .companyId(3L)
+                .startDate("2025-01-01")
+                .endDate("2025-01-31")
+                .build();
+
+        doAnswer(invocation -> {
+            invocation.getArgument(4, OutputStream.class).write("fleets".getBytes());
+            return null;
+        }).when(exportFleetReportUseCase).export(eq(ExportFormat.CSV), eq(LocalDate.of(2025, 1, 1)),
+                eq(LocalDate.of(2025, 1, 31)), eq(3L), any(OutputStream.class));
+
         byte[] result = exportReportUseCase.execute(request);
 
-        assertThat(result).isNotNull();
-        assertThat(result).isEmpty();
+        assertThat(result).isEqualTo("fleets".getBytes());
+        verifyNoInteractions(exportOccupancyReportUseCase, exportBillingReportUseCase);
+    }
+
+    @Test
+    void execute_shouldThrowException_whenReportTypeIsNotSupported() {
+        ExportReportRequest request = ExportReportRequest.builder()
+                .reportType("UNKNOWN")
+                .exportFormat("PDF")
+                .build();
+
+        assertThatThrownBy(() -> exportReportUseCase.execute(request))
+                .isInstanceOf(BusinessRuleException.class);
     }
 }
@@ -0,0 +1,93 @@
+package com.ayd.parkcontrol.application.usecase.report;
+
+import com.ayd.parkcontrol.application.dto.response.report.BillingReportResponse;
+import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.BranchReportProjection;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketChargeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GenerateBillingReportUseCaseTest {
+
+    @Mock
+    private JpaTicketChargeRepository ticketChargeRepository;
+
+    @InjectMocks
+    private GenerateBillingReportUseCase generateBillingReportUseCase;
+
+    @Test
+    void execute_shouldBuildReportFromAggregatedRows() {
+        BranchReportProjection row = branchRow(1L, "Sucursal Centro", 4L, BigDecimal.valueOf(100.00));
+        when(ticketChargeRepository.summarizeBillingByBranch(null, null)).thenReturn(Stream.of(row));
+
+        List<BillingReportResponse> result = generateBillingReportUseCase.execute(null, null);
+
+        assertThat(result).hasSize(1);
+        BillingReportResponse response = result.get(0);
+        assertThat(response.getBranchId()).isEqualTo(1L);
+        assertThat(response.getBranchName()).isEqualTo("Sucursal Centro");
+        assertThat(response.getTotalTickets()).isEqualTo(4L);
+        assertThat(response.getTotalRevenue()).isEqualByComparingTo(BigDecimal.valueOf(100.00));
+        assertThat(response.getAverageTicketValue()).isEqualByComparingTo(BigDecimal.valueOf(25.00));
+        assertThat(response.getPaymentMethod()).isEqualTo("EFECTIVO");
+    }
+
+    @Test
+    void execute_shouldReturnZeroAverage_whenBranchHasNoCharges() {
+        BranchReportProjection row = branchRow(2L, "Sucursal Norte", 0L, null);
+        when(ticketChargeRepository.summarizeBillingByBranch(null, null)).thenReturn(Stream.of(row));
+
+        List<BillingReportResponse> result = generateBillingReportUseCase.execute(null, null);
+
+        assertThat(result.get(0).getTotalRevenue()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(result.get(0).getAverageTicketValue()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    void execute_shouldQueryInclusiveRange_whenDatesProvided() {
+        LocalDate startDate = LocalDate.of(2025, 10, 1);
+        LocalDate endDate = LocalDate.of(2025, 10, 31);
+        when(ticketChargeRepository.summarizeBillingByBranch(
+                startDate.atStartOfDay(), LocalDate.of(2025, 11, 1).atStartOfDay())).thenReturn(Stream.empty());
+
+        List<BillingReportResponse> result = generateBillingReportUseCase.execute(startDate, endDate);
+
+        assertThat(result).isEmpty();
+        verify(ticketChargeRepository).summarizeBillingByBranch(
+                startDate.atStartOfDay(), LocalDate.of(2025, 11, 1).atStartOfDay());
+    }
+
+    @Test
+    void execute_shouldThrowException_whenStartDateIsAfterEndDate() {
+        assertThatThrownBy(() -> generateBillingReportUseCase.execute(
+                LocalDate.of(2025, 11, 1), LocalDate.of(2025, 10, 1)))
+                .isInstanceOf(BusinessRuleException.class);
+
+        verifyNoInteractions(ticketChargeRepository);
+    }
+
+    private BranchReportProjection branchRow(Long branchId, String name, Long tickets, BigDecimal amount) {
+        BranchReportProjection row = mock(BranchReportProjection.class);
+        when(row.getBranchId()).thenReturn(branchId);
+        when(row.getBranchName()).thenReturn(name);
+        when(row.getTotalTickets()).thenReturn(tickets);
+        when(row.getTotalAmount()).thenReturn(amount);
+        return row;
+    }
+}
@@ -1,110 +1,102 @@
 package com.ayd.parkcontrol.application.usecase.report;
 
-import com.ayd.parkcontrol.domain.model.branch.Branch;
-import com.ayd.parkcontrol.domain.repository.BranchRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketChargeEntity;
-import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketEntity;
+import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.BranchReportProjection;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketChargeRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class GenerateCashClosingReportUseCaseTest {
 
-    @Mock
-    private BranchRepository branchRepository;
-
-    @Mock
-    private JpaTicketRepository ticketRepository;
-
     @Mock
     private JpaTicketChargeRepository ticketChargeRepository;
 
     @InjectMocks
     private GenerateCashClosingReportUseCase generateCashClosingReportUseCase;
 
-    private Branch branch;
-    private TicketEntity ticket;
-    private TicketChargeEntity charge;
-
-    @BeforeEach
-    void setUp() {
-        branch = Branch.builder()
-                .id(1L)
-                .name("Test Branch")
-                .build();
-
-        LocalDateTime now = LocalDate.now().atTime(10, 0);
-        ticket = TicketEntity.builder()
-                .id(1L)
-                .branchId(1L)
-                .entryTime(now)
-                .build();
-
-        charge = TicketChargeEntity.builder()
-                .id(1L)
-                .ticketId(1L)
-                .totalAmount(BigDecimal.valueOf(50.00))
-                .build();
-    }
-
     @Test
     void execute_shouldGenerateCashClosingReport_whenDataExists() {
-        Page<Branch> branches = new PageImpl<>(List.of(branch));
-        when(branchRepository.findAll(any(Pageable.class))).thenReturn(branches);
-        when(ticketRepository.findByBranchIdOrderByEntryTimeDesc(anyLong())).thenReturn(List.of(ticket));
-        when(ticketChargeRepository.findAll()).thenReturn(List.of(charge));
+        BranchReportProjection row = branchRow(1L, "Test Branch", 1L, BigDecimal.valueOf(50.00));
+        when(ticketChargeRepository.summarizeCashClosingByBranch(any(), any())).thenReturn(List.of(row));
 
-        List<Map<String, Object>> result = generateCashClosingReportUseCase.execute();
+        List<Map<String, Object>> result = generateCashClosingReportUseCase.execute(null, null);
 
         assertThat(result).hasSize(1);
         Map<String, Object> branchReport = result.get(0);
         assertThat(branchReport.get("branch_id")).isEqualTo(1L);
         assertThat(branchReport.get("branch_name")).isEqualTo("Test Branch");
         assertThat(branchReport.get("date")).isEqualTo(LocalDate.now());
-        assertThat(branchReport.get("total_tickets")).isEqualTo(1);
+        assertThat(branchReport.get("end_date")).isEqualTo(LocalDate.now());
+        assertThat(branchReport.get("total_tickets")).isEqualTo(1L);
         assertThat(branchReport.get("total_cash")).isEqualTo(BigDecimal.valueOf(50.00));
+        verify(ticketChargeRepository).summarizeCashClosingByBranch(
+                LocalDate.now().atStartOfDay(), LocalDate.now().plusDays(1).atStartOfDay());
     }
 
     @Test
     void execute_shouldReturnZeroCash_whenNoChargesExist() {
-        Page<Branch> branches = new PageImpl<>(List.of(branch));
-        when(branchRepository.findAll(any(Pageable.class))).thenReturn(branches);
-        when(ticketRepository.findByBranchIdOrderByEntryTimeDesc(anyLong())).thenReturn(List.of(ticket));
-        when(ticketChargeRepository.findAll()).thenReturn(List.of());
+        BranchReportProjection row = branchRow(1L, "Test Branch", 1L, null);
+        when(ticketChargeRepository.summarizeCashClosingByBranch(any(), any())).thenReturn(List.of(row));
 
-        List<Map<String, Object>> result = generateCashClosingReportUseCase.execute();
+        List<Map<String, Object>> result = generateCashClosingReportUseCase.execute(null, null);
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).get("total_cash")).isEqualTo(BigDecimal.ZERO);
     }
 
+    @Test
+    void execute_shouldQueryInclusiveRange_whenDatesProvided() {
+        LocalDate startDate = LocalDate.of(2025, 10, 1);
+        LocalDate endDate = LocalDate.of(2025, 10, 7);
+        when(ticketChargeRepository.summarizeCashClosingByBranch(any(), any())).thenReturn(List.of());
+
+        generateCashClosingReportUseCase.execute(startDate, endDate);
+
+        verify(ticketChargeRepository).summarizeCashClosingByBranch(
+                startDate.atStartOfDay(), LocalDate.of(2025, 10, 8).atStartOfDay());
+    }
+
+    @Test
+    void execute_shouldThrowException_whenStartDateIsAfterEndDate() {
+        assertThatThrownBy(() -> generateCashClosingReportUseCase.execute(
+                LocalDate.of(2025, 10, 8), LocalDate.of(2025, 10, 1)))
+                .isInstanceOf(BusinessRuleException.class);
+
+        verifyNoInteractions(ticketChargeRepository);
+    }
+
     @Test
     void execute_shouldReturnEmptyReport_whenNoBranchesExist() {
-        Page<Branch> branches = new PageImpl<>(List.of());
-        when(branchRepository.findAll(any(Pageable.class))).thenReturn(branches);
+        when(ticketChargeRepository.summarizeCashClosingByBranch(any(), any())).thenReturn(List.of());
 
-        List<Map<String, Object>> result = generateCashClosingReportUseCase.execute();
+        List<Map<String, Object>> result = generateCashClosingReportUseCase.execute(null, null);
 
         assertThat(result).isEmpty();
     }
+
+    private BranchReportProjection branchRow(Long branchId, String name, Long tickets, BigDecimal amount) {
+        BranchReportProjection row = mock(BranchReportProjection.class);
+        when(row.getBranchId()).thenReturn(branchId);
+        when(row.getBranchName()).thenReturn(name);
+        when(row.getTotalTickets()).thenReturn(tickets);
+        when(row.getTotalAmount()).thenReturn(amount);
+        return row;
+    }
 }
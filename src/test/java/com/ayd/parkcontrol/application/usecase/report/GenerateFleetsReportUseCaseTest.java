@@ -1,8 +1,9 @@
 package com.ayd.parkcontrol.application.usecase.report;
 
-import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketEntity;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
-import org.junit.jupiter.api.BeforeEach;
+import com.ayd.parkcontrol.application.dto.response.report.FleetReportResponse;
+import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.FleetReportProjection;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaFleetCompanyRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -10,83 +11,81 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.when;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class GenerateFleetsReportUseCaseTest {
 
     @Mock
-    private JpaTicketRepository ticketRepository;
+    private JpaFleetCompanyRepository fleetCompanyRepository;
 
     @InjectMocks
     private GenerateFleetsReportUseCase generateFleetsReportUseCase;
 
-    private TicketEntity ticket1;
-    private TicketEntity ticket2;
-    private TicketEntity ticket3;
-
-    @BeforeEach
-    void setUp() {
-        ticket1 = TicketEntity.builder()
-                .id(1L)
-                .licensePlate("ABC123")
-                .build();
-
-        ticket2 = TicketEntity.builder()
-                .id(2L)
-                .licensePlate("ABC123")
-                .build();
-
-        ticket3 = TicketEntity.builder()
-                .id(3L)
-                .licensePlate("ABC123")
-                .build();
-    }
-
     @Test
-    void execute_shouldGenerateFleetsReport_whenPlatesHaveMultipleEntries() {
-        when(ticketRepository.findAll()).thenReturn(List.of(ticket1, ticket2, ticket3));
-        when(ticketRepository.sumHoursByLicensePlate(anyString())).thenReturn(BigDecimal.valueOf(15.0));
-        when(ticketRepository.sumAmountByLicensePlate(anyString())).thenReturn(BigDecimal.valueOf(100.0));
-
-        List<Map<String, Object>> result = generateFleetsReportUseCase.execute();
+    void execute_shouldMapOneRowPerCompany() {
+        FleetReportProjection row = mock(FleetReportProjection.class);
+        when(row.getCompanyId()).thenReturn(1L);
+        when(row.getCompanyName()).thenReturn("Transportes Uno");
+        when(row.getPaymentStatus()).thenReturn("ACTIVO");
+        when(row.getTotalVehicles()).thenReturn(4L);
+        when(row.getActiveVehicles()).thenReturn(3L);
+        when(row.getTotalEntries()).thenReturn(25L);
+        when(row.getTotalHours()).thenReturn(new BigDecimal("60.25"));
+        when(row.getTotalAmount()).thenReturn(new BigDecimal("500.50"));
+        when(fleetCompanyRepository.summarizeFleets(null, null, null)).thenReturn(Stream.of(row));
+
+        List<FleetReportResponse> result = generateFleetsReportUseCase.execute(null, null, null);
 
         assertThat(result).hasSize(1);
-        Map<String, Object> fleetData = result.get(0);
-        assertThat(fleetData.get("license_plate")).isEqualTo("ABC123");
-        assertThat(fleetData.get("total_entries")).isEqualTo(3L);
-        assertThat(fleetData.get("total_hours")).isEqualTo(BigDecimal.valueOf(15.0));
-        assertThat(fleetData.get("total_amount")).isEqualTo(BigDecimal.valueOf(100.0));
+        FleetReportResponse fleet = result.get(0);
+        assertThat(fleet.getCompanyName()).isEqualTo("Transportes Uno");
+        assertThat(fleet.getPaymentStatus()).isEqualTo("ACTIVO");
+        assertThat(fleet.getActiveVehicles()).isEqualTo(3L);
+        assertThat(fleet.getTotalEntries()).isEqualTo(25L);
+        assertThat(fleet.getTotalHours()).isEqualByComparingTo("60.25");
+        assertThat(fleet.getTotalAmount()).isEqualByComparingTo("500.50");
     }
 
     @Test
-    void execute_shouldExcludePlatesWithFewerThan3Entries_whenFilteringFleets() {
-        TicketEntity singleEntry = TicketEntity.builder()
-                .id(4L)
-                .licensePlate("XYZ789")
-                .build();
+    void execute_shouldPassCompanyAndInclusiveRangeToQuery() {
+        when(fleetCompanyRepository.summarizeFleets(3L, LocalDateTime.of(2025, 1, 1, 0, 0),
+                LocalDateTime.of(2025, 2, 1, 0, 0))).thenReturn(Stream.empty());
 
-        when(ticketRepository.findAll()).thenReturn(List.of(ticket1, ticket2, ticket3, singleEntry));
-        when(ticketRepository.sumHoursByLicensePlate("ABC123")).thenReturn(BigDecimal.valueOf(15.0));
-        when(ticketRepository.sumAmountByLicensePlate("ABC123")).thenReturn(BigDecimal.valueOf(100.0));
+        List<FleetReportResponse> result = generateFleetsReportUseCase.execute(LocalDate.of(2025, 1, 1),
+                LocalDate.of(2025, 1, 31), 3L);
 
-        List<Map<String, Object>> result = generateFleetsReportUseCase.execute();
-
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).get("license_plate")).isEqualTo("ABC123");
+        assertThat(result).isEmpty();
+        verify(fleetCompanyRepository, times(1)).summarizeFleets(3L, LocalDateTime.of(2025, 1, 1, 0, 0),
+                LocalDateTime.of(2025, 2, 1, 0, 0));
     }
 
     @Test
-    void execute_shouldReturnEmptyReport_whenNoFleetsExist() {
-        when(ticketRepository.findAll()).thenReturn(List.of());
+    void execute_shouldDefaultMissingAggregatesToZero() {
+        FleetReportProjection row = mock(FleetReportProjection.class);
+        when(row.getCompanyId()).thenReturn(2L);
+        when(fleetCompanyRepository.summarizeFleets(null, null, null)).thenReturn(Stream.of(row));
 
-        List<Map<String, Object>> result = generateFleetsReportUseCase.execute();
+        FleetReportResponse fleet = generateFleetsReportUseCase.execute(null, null, null).get(0);
 
-        assertThat(result).isEmpty();
+        assertThat(fleet.getTotalVehicles()).isZero();
+        assertThat(fleet.getTotalEntries()).isZero();
+        assertThat(fleet.getTotalHours()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(fleet.getTotalAmount()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    void execute_shouldRejectInvertedRange() {
+        assertThatThrownBy(() -> generateFleetsReportUseCase.execute(LocalDate.of(2025, 2, 1),
+                LocalDate.of(2025, 1, 1), null))
+                .isInstanceOf(BusinessRuleException.class);
+        verifyNoInteractions(fleetCompanyRepository);
     }
 }
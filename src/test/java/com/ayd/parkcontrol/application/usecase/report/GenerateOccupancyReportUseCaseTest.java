@@ -1,30 +1,35 @@
 package com.ayd.parkcontrol.application.usecase.report;
 
+import com.ayd.parkcontrol.application.service.OccupancyHistoryService;
+import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
 import com.ayd.parkcontrol.domain.model.branch.Branch;
 import com.ayd.parkcontrol.domain.repository.BranchRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketStatusTypeEntity;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
+import com.ayd.parkcontrol.infrastructure.cache.RedisOccupancyService;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.VehicleTypeEntity;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketStatusTypeRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaVehicleTypeRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.OccupancyStatsProjection;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaOccupancyHourlyRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,18 +40,16 @@ class GenerateOccupancyReportUseCaseTest {
     private BranchRepository branchRepository;
 
     @Mock
-    private JpaTicketRepository ticketRepository;
+    private RedisOccupancyService redisOccupancyService;
 
     @Mock
-    private JpaTicketStatusTypeRepository ticketStatusTypeRepository;
+    private CatalogCache catalogCache;
 
     @Mock
-    private JpaVehicleTypeRepository vehicleTypeRepository;
+    private JpaOccupancyHourlyRepository occupancyHourlyRepository;
 
-    @InjectMocks
     private GenerateOccupancyReportUseCase generateOccupancyReportUseCase;
 
-    private TicketStatusTypeEntity inProgressStatus;
     private VehicleTypeEntity vehicleType2R;
     private VehicleTypeEntity vehicleType4R;
     private Branch branch1;
@@ -54,9 +57,9 @@ class GenerateOccupancyReportUseCaseTest {
 
     @BeforeEach
     void setUp() {
-        inProgressStatus = new TicketStatusTypeEntity();
-        inProgressStatus.setId(1);
-        inProgressStatus.setCode("IN_PROGRESS");
+        generateOccupancyReportUseCase = new GenerateOccupancyReportUseCase(branchRepository, redisOccupancyService,
+                catalogCache,
+                new OccupancyHistoryService(occupancyHourlyRepository));
 
         vehicleType2R = new VehicleTypeEntity();
         vehicleType2R.setId(1);
@@ -87,29 +90,19 @@ class GenerateOccupancyReportUseCaseTest {
     @DisplayName("Debe generar reporte de ocupación exitosamente")
     void shouldGenerateOccupancyReportSuccessfully() {
         // Arrange
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS"))
-                .thenReturn(Optional.of(inProgressStatus));
-        when(vehicleTypeRepository.findByCode("2R"))
-                .thenReturn(Optional.of(vehicleType2R));
-        when(vehicleTypeRepository.findByCode("4R"))
-                .thenReturn(Optional.of(vehicleType4R));
+        when(catalogCache.vehicleTypes()).thenReturn(CatalogCache.Catalog.of(List.of(vehicleType2R, vehicleType4R),
+                VehicleTypeEntity::getId, VehicleTypeEntity::getCode));
         when(branchRepository.findAll(any(PageRequest.class)))
                 .thenReturn(new PageImpl<>(Arrays.asList(branch1, branch2)));
 
-        // Sucursal 1: 10 motos de 50, 15 autos de 30
-        when(ticketRepository.countActiveTicketsByBranchAndVehicleType(1L, 1, 1))
-                .thenReturn(10L);
-        when(ticketRepository.countActiveTicketsByBranchAndVehicleType(1L, 2, 1))
-                .thenReturn(15L);
-
-        // Sucursal 2: 20 motos de 40, 10 autos de 25
-        when(ticketRepository.countActiveTicketsByBranchAndVehicleType(2L, 1, 1))
-                .thenReturn(20L);
-        when(ticketRepository.countActiveTicketsByBranchAndVehicleType(2L, 2, 1))
-                .thenReturn(10L);
+        // Sucursal 1: 10 motos de 50, 15 autos de 30; Sucursal 2: 20 motos de 40, 10 autos de 25
+        when(redisOccupancyService.getCurrentOccupancies(List.of(1L, 2L), "2R"))
+                .thenReturn(Map.of(1L, 10, 2L, 20));
+        when(redisOccupancyService.getCurrentOccupancies(List.of(1L, 2L), "4R"))
+                .thenReturn(Map.of(1L, 15, 2L, 10));
 
         // Act
-        var result = generateOccupancyReportUseCase.execute();
+        var result = generateOccupancyReportUseCase.execute(null, null);
 
         // Assert
         assertNotNull(result);
@@ -137,26 +130,75 @@ class GenerateOccupancyReportUseCaseTest {
         assertEquals(10, norte4R.getCurrentOccupancy());
         assertEquals(40.0, norte4R.getOccupancyPercentage());
 
-        verify(ticketStatusTypeRepository).findByCode("IN_PROGRESS");
-        verify(vehicleTypeRepository).findByCode("2R");
-        verify(vehicleTypeRepository).findByCode("4R");
+        verify(redisOccupancyService).getCurrentOccupancies(List.of(1L, 2L), "2R");
+        verify(redisOccupancyService).getCurrentOccupancies(List.of(1L, 2L), "4R");
+        verifyNoMoreInteractions(redisOccupancyService);
+    }
+
+    @Test
+    @DisplayName("Debe usar el histórico para el pico y el promedio de un periodo cerrado")
+    void shouldUseHistoryForPeakAndAverageOfClosedPeriod() {
+        // Arrange
+        LocalDate start = LocalDate.of(2025, 9, 1);
+        LocalDate end = LocalDate.of(2025, 9, 30);
+        OccupancyStatsProjection history2R = stats(1L, 1, 48, 2500L, 100L);
+        stubCatalogsAndBranches(List.of(branch1));
+        stubCurrentOccupancy(5, 3);
+        when(occupancyHourlyRepository.summarize(start.atStartOfDay(), end.plusDays(1).atStartOfDay()))
+                .thenReturn(List.of(history2R));
+
+        // Act
+        var result = generateOccupancyReportUseCase.execute(start, end);
+
+        // Assert: la ocupación actual no forma parte de un periodo pasado
+        var centro2R = result.stream().filter(r -> "2R".equals(r.getVehicleType())).findFirst().orElseThrow();
+        assertEquals(5, centro2R.getCurrentOccupancy());
+        assertEquals(48, centro2R.getPeakOccupancy());
+        assertEquals(25.0, centro2R.getAverageOccupancy());
+
+        var centro4R = result.stream().filter(r -> "4R".equals(r.getVehicleType())).findFirst().orElseThrow();
+        assertNull(centro4R.getPeakOccupancy());
+        assertNull(centro4R.getAverageOccupancy());
+    }
+
+    @Test
+    @DisplayName("Debe sumar la ocupación actual como muestra cuando el periodo incluye hoy")
+    void shouldFoldCurrentOccupancyIntoPeriodIncludingToday() {
+        // Arrange
+        OccupancyStatsProjection history4R = stats(1L, 2, 12, 90L, 9L);
+        stubCatalogsAndBranches(List.of(branch1));
+        stubCurrentOccupancy(0, 20);
+        when(occupancyHourlyRepository.summarize(any(), any())).thenReturn(List.of(history4R));
+
+        // Act
+        var result = generateOccupancyReportUseCase.execute(null, null);
+
+        // Assert
+        var centro4R = result.stream().filter(r -> "4R".equals(r.getVehicleType())).findFirst().orElseThrow();
+        assertEquals(20, centro4R.getPeakOccupancy());
+        assertEquals(11.0, centro4R.getAverageOccupancy());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un periodo con fecha de inicio posterior a la de fin")
+    void shouldRejectInvertedPeriod() {
+        // Act & Assert
+        assertThrows(BusinessRuleException.class, () -> generateOccupancyReportUseCase
+                .execute(LocalDate.of(2025, 10, 2), LocalDate.of(2025, 10, 1)));
+        verifyNoInteractions(redisOccupancyService, occupancyHourlyRepository);
     }
 
     @Test
     @DisplayName("Debe retornar lista vacía cuando no hay sucursales")
     void shouldReturnEmptyListWhenNoBranches() {
         // Arrange
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS"))
-                .thenReturn(Optional.of(inProgressStatus));
-        when(vehicleTypeRepository.findByCode("2R"))
-                .thenReturn(Optional.of(vehicleType2R));
-        when(vehicleTypeRepository.findByCode("4R"))
-                .thenReturn(Optional.of(vehicleType4R));
+        when(catalogCache.vehicleTypes()).thenReturn(CatalogCache.Catalog.of(List.of(vehicleType2R, vehicleType4R),
+                VehicleTypeEntity::getId, VehicleTypeEntity::getCode));
         when(branchRepository.findAll(any(PageRequest.class)))
                 .thenReturn(new PageImpl<>(List.of()));
 
         // Act
-        var result = generateOccupancyReportUseCase.execute();
+        var result = generateOccupancyReportUseCase.execute(null, null);
 
         // Assert
         assertNotNull(result);
@@ -167,23 +209,16 @@ class GenerateOccupancyReportUseCaseTest {
     @DisplayName("Debe manejar sucursales con ocupación 100%")
     void shouldHandleFullOccupancy() {
         // Arrange
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS"))
-                .thenReturn(Optional.of(inProgressStatus));
-        when(vehicleTypeRepository.findByCode("2R"))
-                .thenReturn(Optional.of(vehicleType2R));
-        when(vehicleTypeRepository.findByCode("4R"))
-                .thenReturn(Optional.of(vehicleType4R));
+        when(catalogCache.vehicleTypes()).thenReturn(CatalogCache.Catalog.of(List.of(vehicleType2R, vehicleType4R),
+                VehicleTypeEntity::getId, VehicleTypeEntity::getCode));
         when(branchRepository.findAll(any(PageRequest.class)))
                 .thenReturn(new PageImpl<>(List.of(branch1)));
 
         // 100% ocupación en 2R
-        when(ticketRepository.countActiveTicketsByBranchAndVehicleType(1L, 1, 1))
-                .thenReturn(50L);
-        when(ticketRepository.countActiveTicketsByBranchAndVehicleType(1L, 2, 1))
-                .thenReturn(30L);
+        stubCurrentOccupancy(50, 30);
 
         // Act
-        var result = generateOccupancyReportUseCase.execute();
+        var result = generateOccupancyReportUseCase.execute(null, null);
 
         // Assert
         assertNotNull(result);
@@ -197,13 +232,34 @@ class GenerateOccupancyReportUseCaseTest {
     }
 
     @Test
-    @DisplayName("Debe lanzar excepción cuando no encuentra estado IN_PROGRESS")
-    void shouldThrowExceptionWhenStatusNotFound() {
+    @DisplayName("Debe lanzar excepción cuando no encuentra tipo de vehículo")
+    void shouldThrowExceptionWhenVehicleTypeNotFound() {
         // Arrange
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS"))
-                .thenReturn(Optional.empty());
+        when(catalogCache.vehicleTypes()).thenReturn(CatalogCache.Catalog.of(List.<VehicleTypeEntity>of(),
+                VehicleTypeEntity::getId, VehicleTypeEntity::getCode));
 
         // Act & Assert
-        assertThrows(RuntimeException.class, () -> generateOccupancyReportUseCase.execute());
+        assertThrows(RuntimeException.class, () -> generateOccupancyReportUseCase.execute(null, null));
+    }
+
+    private void stubCatalogsAndBranches(List<Branch> branches) {
+        when(catalogCache.vehicleTypes()).thenReturn(CatalogCache.Catalog.of(List.of(vehicleType2R, vehicleType4R),
+                VehicleTypeEntity::getId, VehicleTypeEntity::getCode));
+        when(branchRepository.findAll(any(PageRequest.class))).thenReturn(new PageImpl<>(branches));
+    }
+
+    private void stubCurrentOccupancy(int occupied2R, int occupied4R) {
+        when(redisOccupancyService.getCurrentOccupancies(List.of(1L), "2R")).thenReturn(Map.of(1L, occupied2R));
+        when(redisOccupancyService.getCurrentOccupancies(List.of(1L), "4R")).thenReturn(Map.of(1L, occupied4R));
+    }
+
+    private OccupancyStatsProjection stats(Long branchId, Integer vehicleTypeId, int peak, long sum, long samples) {
+        OccupancyStatsProjection projection = mock(OccupancyStatsProjection.class);
+        when(projection.getBranchId()).thenReturn(branchId);
+        when(projection.getVehicleTypeId()).thenReturn(vehicleTypeId);
+        when(projection.getPeakOccupancy()).thenReturn(peak);
+        when(projection.getOccupancySum()).thenReturn(sum);
+        when(projection.getSamples()).thenReturn(samples);
+        return projection;
     }
 }
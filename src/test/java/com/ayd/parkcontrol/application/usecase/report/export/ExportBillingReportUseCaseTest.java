@@ -10,11 +10,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
-import java.util.Arrays;
-import java.util.List;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,7 +32,8 @@ class ExportBillingReportUseCaseTest {
     @InjectMocks
     private ExportBillingReportUseCase exportBillingReportUseCase;
 
-    private List<BillingReportResponse> mockReportData;
+    private Stream<BillingReportResponse> mockRows;
+    private ByteArrayOutputStream outputStream;
 
     @BeforeEach
     void setUp() {
@@ -40,113 +44,86 @@ class ExportBillingReportUseCaseTest {
         response.setTotalTickets(150L);
         response.setAverageTicketValue(new BigDecimal("100.00"));
 
-        mockReportData = Arrays.asList(response);
+        mockRows = Stream.of(response);
+        outputStream = new ByteArrayOutputStream();
     }
 
     @Test
-    void exportToPdf_shouldCallGenerateAndExportService() {
+    void export_withPdfFormat_shouldWritePdfToOutputStream() {
         // Arrange
-        byte[] expectedPdfBytes = "PDF Content".getBytes();
-        when(generateBillingReportUseCase.execute()).thenReturn(mockReportData);
-        when(exportService.exportBillingReportToPdf(mockReportData)).thenReturn(expectedPdfBytes);
+        when(generateBillingReportUseCase.stream(null, null)).thenReturn(mockRows);
 
         // Act
-        byte[] result = exportBillingReportUseCase.exportToPdf();
+        exportBillingReportUseCase.export(ExportFormat.PDF, null, null, outputStream);
 
         // Assert
-        assertNotNull(result);
-        assertArrayEquals(expectedPdfBytes, result);
-        verify(generateBillingReportUseCase, times(1)).execute();
-        verify(exportService, times(1)).exportBillingReportToPdf(mockReportData);
+        verify(generateBillingReportUseCase, times(1)).stream(null, null);
+        verify(exportService, times(1)).writeBillingReportPdf(mockRows, outputStream);
     }
 
     @Test
-    void exportToCsv_shouldCallGenerateAndExportService() {
+    void export_withCsvFormat_shouldWriteCsvToOutputStream() {
         // Arrange
-        byte[] expectedCsvBytes = "CSV Content".getBytes();
-        when(generateBillingReportUseCase.execute()).thenReturn(mockReportData);
-        when(exportService.exportBillingReportToCsv(mockReportData)).thenReturn(expectedCsvBytes);
+        when(generateBillingReportUseCase.stream(null, null)).thenReturn(mockRows);
 
         // Act
-        byte[] result = exportBillingReportUseCase.exportToCsv();
+        exportBillingReportUseCase.export(ExportFormat.CSV, null, null, outputStream);
 
         // Assert
-        assertNotNull(result);
-        assertArrayEquals(expectedCsvBytes, result);
-        verify(generateBillingReportUseCase, times(1)).execute();
-        verify(exportService, times(1)).exportBillingReportToCsv(mockReportData);
+        verify(exportService, times(1)).writeBillingReportCsv(mockRows, outputStream);
+        verify(exportService, never()).writeBillingReportPdf(any(), any());
     }
 
     @Test
-    void exportToImage_shouldCallGenerateAndExportService() {
+    void export_withPngFormat_shouldWriteImageToOutputStream() {
         // Arrange
-        byte[] expectedImageBytes = "PNG Content".getBytes();
-        when(generateBillingReportUseCase.execute()).thenReturn(mockReportData);
-        when(exportService.exportBillingReportToImage(mockReportData)).thenReturn(expectedImageBytes);
+        when(generateBillingReportUseCase.stream(null, null)).thenReturn(mockRows);
 
         // Act
-        byte[] result = exportBillingReportUseCase.exportToImage();
+        exportBillingReportUseCase.export(ExportFormat.PNG, null, null, outputStream);
 
         // Assert
-        assertNotNull(result);
-        assertArrayEquals(expectedImageBytes, result);
-        verify(generateBillingReportUseCase, times(1)).execute();
-        verify(exportService, times(1)).exportBillingReportToImage(mockReportData);
+        verify(exportService, times(1)).writeBillingReportImage(mockRows, outputStream);
     }
 
     @Test
-    void export_withPdfFormat_shouldCallExportToPdf() {
+    void export_withDateRange_shouldPassRangeToReport() {
         // Arrange
-        byte[] expectedPdfBytes = "PDF Content".getBytes();
-        when(generateBillingReportUseCase.execute()).thenReturn(mockReportData);
-        when(exportService.exportBillingReportToPdf(mockReportData)).thenReturn(expectedPdfBytes);
+        LocalDate startDate = LocalDate.of(2025, 7, 1);
+        LocalDate endDate = LocalDate.of(2025, 9, 30);
+        when(generateBillingReportUseCase.stream(startDate, endDate)).thenReturn(mockRows);
 
         // Act
-        byte[] result = exportBillingReportUseCase.export("PDF");
+        exportBillingReportUseCase.export(ExportFormat.CSV, startDate, endDate, outputStream);
 
         // Assert
-        assertNotNull(result);
-        assertArrayEquals(expectedPdfBytes, result);
+        verify(generateBillingReportUseCase, times(1)).stream(startDate, endDate);
     }
 
     @Test
-    void export_withCsvFormat_shouldCallExportToCsv() {
+    void export_shouldCloseRowStream() {
         // Arrange
-        byte[] expectedCsvBytes = "CSV Content".getBytes();
-        when(generateBillingReportUseCase.execute()).thenReturn(mockReportData);
-        when(exportService.exportBillingReportToCsv(mockReportData)).thenReturn(expectedCsvBytes);
+        AtomicBoolean closed = new AtomicBoolean(false);
+        when(generateBillingReportUseCase.stream(null, null)).thenReturn(mockRows.onClose(() -> closed.set(true)));
 
         // Act
-        byte[] result = exportBillingReportUseCase.export("CSV");
+        exportBillingReportUseCase.export(ExportFormat.PDF, null, null, outputStream);
 
         // Assert
-        assertNotNull(result);
-        assertArrayEquals(expectedCsvBytes, result);
+        assertTrue(closed.get());
     }
 
     @Test
-    void export_withPngFormat_shouldCallExportToImage() {
+    void export_withInvalidRange_shouldPropagateBusinessRuleException() {
         // Arrange
-        byte[] expectedImageBytes = "PNG Content".getBytes();
-        when(generateBillingReportUseCase.execute()).thenReturn(mockReportData);
-        when(exportService.exportBillingReportToImage(mockReportData)).thenReturn(expectedImageBytes);
+        LocalDate startDate = LocalDate.of(2025, 10, 1);
+        LocalDate endDate = LocalDate.of(2025, 9, 1);
+        when(generateBillingReportUseCase.stream(startDate, endDate))
+                .thenThrow(new BusinessRuleException("La fecha de inicio no puede ser posterior a la fecha de fin"));
 
-        // Act
-        byte[] result = exportBillingReportUseCase.export("PNG");
-
-        // Assert
-        assertNotNull(result);
-        assertArrayEquals(expectedImageBytes, result);
-    }
-
-    @Test
-    void export_withInvalidFormat_shouldThrowBusinessRuleException() {
         // Act & Assert
-        BusinessRuleException exception = assertThrows(
-                BusinessRuleException.class,
-                () -> exportBillingReportUseCase.export("XML"));
-
-        assertEquals("Formato de exportación no soportado: XML", exception.getMessage());
-        verify(generateBillingReportUseCase, never()).execute();
+        assertThrows(BusinessRuleException.class,
+                () -> exportBillingReportUseCase.export(ExportFormat.PDF, startDate, endDate, outputStream));
+        verifyNoInteractions(exportService);
     }
 }
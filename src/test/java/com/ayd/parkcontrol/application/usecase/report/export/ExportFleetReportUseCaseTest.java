@@ -0,0 +1,92 @@
+package com.ayd.parkcontrol.application.usecase.report.export;
+
+import com.ayd.parkcontrol.application.dto.response.report.FleetReportResponse;
+import com.ayd.parkcontrol.application.usecase.report.GenerateFleetsReportUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportFleetReportUseCaseTest {
+
+    @Mock
+    private GenerateFleetsReportUseCase generateFleetsReportUseCase;
+
+    @Mock
+    private ReportExportService exportService;
+
+    @InjectMocks
+    private ExportFleetReportUseCase exportFleetReportUseCase;
+
+    private Stream<FleetReportResponse> mockRows;
+    private ByteArrayOutputStream outputStream;
+
+    @BeforeEach
+    void setUp() {
+        FleetReportResponse response = FleetReportResponse.builder()
+                .companyId(1L)
+                .companyName("Transportes Uno")
+                .totalEntries(25L)
+                .totalHours(new BigDecimal("60.25"))
+                .totalAmount(new BigDecimal("500.50"))
+                .build();
+
+        mockRows = Stream.of(response);
+        outputStream = new ByteArrayOutputStream();
+    }
+
+    @Test
+    void export_withPdfFormat_shouldWritePdfToOutputStream() {
+        // Arrange
+        when(generateFleetsReportUseCase.stream(null, null, null)).thenReturn(mockRows);
+
+        // Act
+        exportFleetReportUseCase.export(ExportFormat.PDF, null, null, null, outputStream);
+
+        // Assert
+        verify(exportService, times(1)).writeFleetReportPdf(mockRows, outputStream);
+        verify(exportService, never()).writeFleetReportCsv(any(), any());
+    }
+
+    @Test
+    void export_withCsvFormatAndFilters_shouldPassFiltersToReport() {
+        // Arrange
+        LocalDate startDate = LocalDate.of(2025, 7, 1);
+        LocalDate endDate = LocalDate.of(2025, 9, 30);
+        when(generateFleetsReportUseCase.stream(startDate, endDate, 3L)).thenReturn(mockRows);
+
+        // Act
+        exportFleetReportUseCase.export(ExportFormat.CSV, startDate, endDate, 3L, outputStream);
+
+        // Assert
+        verify(exportService, times(1)).writeFleetReportCsv(mockRows, outputStream);
+    }
+
+    @Test
+    void export_shouldCloseRowStream() {
+        // Arrange
+        AtomicBoolean closed = new AtomicBoolean(false);
+        when(generateFleetsReportUseCase.stream(null, null, null))
+                .thenReturn(mockRows.onClose(() -> closed.set(true)));
+
+        // Act
+        exportFleetReportUseCase.export(ExportFormat.PNG, null, null, null, outputStream);
+
+        // Assert
+        verify(exportService, times(1)).writeFleetReportImage(any(), eq(outputStream));
+        assertTrue(closed.get());
+    }
+}
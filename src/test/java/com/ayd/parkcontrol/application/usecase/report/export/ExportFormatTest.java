@@ -0,0 +1,43 @@
+package com.ayd.parkcontrol.application.usecase.report.export;
+
+import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportFormatTest {
+
+    @Test
+    void from_shouldResolveFormatsIgnoringCase() {
+        assertEquals(ExportFormat.PDF, ExportFormat.from("pdf"));
+        assertEquals(ExportFormat.CSV, ExportFormat.from("CSV"));
+        assertEquals(ExportFormat.PNG, ExportFormat.from("png"));
+    }
+
+    @Test
+    void from_shouldAcceptImageAsPngAlias() {
+        assertEquals(ExportFormat.PNG, ExportFormat.from("IMAGE"));
+    }
+
+    @Test
+    void from_withInvalidFormat_shouldThrowBusinessRuleException() {
+        BusinessRuleException exception = assertThrows(
+                BusinessRuleException.class,
+                () -> ExportFormat.from("INVALID_FORMAT"));
+
+        assertEquals("Formato de exportación no soportado: INVALID_FORMAT", exception.getMessage());
+    }
+
+    @Test
+    void from_withNullFormat_shouldThrowBusinessRuleException() {
+        assertThrows(BusinessRuleException.class, () -> ExportFormat.from(null));
+    }
+
+    @Test
+    void getters_shouldExposeExtensionAndMediaType() {
+        assertEquals("pdf", ExportFormat.PDF.getExtension());
+        assertEquals("application/pdf", ExportFormat.PDF.getMediaType());
+        assertEquals("text/csv", ExportFormat.CSV.getMediaType());
+        assertEquals("png", ExportFormat.PNG.getExtension());
+    }
+}
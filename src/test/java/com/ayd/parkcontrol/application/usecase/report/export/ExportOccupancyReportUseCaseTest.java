@@ -2,7 +2,6 @@ package com.ayd.parkcontrol.application.usecase.report.export;
 
 import com.ayd.parkcontrol.application.dto.response.report.OccupancyReportResponse;
 import com.ayd.parkcontrol.application.usecase.report.GenerateOccupancyReportUseCase;
-import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,10 +9,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.Arrays;
-import java.util.List;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,7 +29,8 @@ class ExportOccupancyReportUseCaseTest {
     @InjectMocks
     private ExportOccupancyReportUseCase exportOccupancyReportUseCase;
 
-    private List<OccupancyReportResponse> mockReportData;
+    private Stream<OccupancyReportResponse> mockRows;
+    private ByteArrayOutputStream outputStream;
 
     @BeforeEach
     void setUp() {
@@ -40,143 +42,72 @@ class ExportOccupancyReportUseCaseTest {
         response.setCurrentOccupancy(75);
         response.setPeakOccupancy(95);
 
-        mockReportData = Arrays.asList(response);
+        mockRows = Stream.of(response);
+        outputStream = new ByteArrayOutputStream();
     }
 
     @Test
-    void exportToPdf_shouldCallGenerateAndExportService() {
+    void export_withPdfFormat_shouldWritePdfToOutputStream() {
         // Arrange
-        byte[] expectedPdfBytes = "PDF Content".getBytes();
-        when(generateOccupancyReportUseCase.execute()).thenReturn(mockReportData);
-        when(exportService.exportOccupancyReportToPdf(mockReportData)).thenReturn(expectedPdfBytes);
+        when(generateOccupancyReportUseCase.stream(null, null)).thenReturn(mockRows);
 
         // Act
-        byte[] result = exportOccupancyReportUseCase.exportToPdf();
+        exportOccupancyReportUseCase.export(ExportFormat.PDF, null, null, outputStream);
 
         // Assert
-        assertNotNull(result);
-        assertArrayEquals(expectedPdfBytes, result);
-        verify(generateOccupancyReportUseCase, times(1)).execute();
-        verify(exportService, times(1)).exportOccupancyReportToPdf(mockReportData);
+        verify(exportService, times(1)).writeOccupancyReportPdf(mockRows, outputStream);
+        verify(exportService, never()).writeOccupancyReportCsv(any(), any());
     }
 
     @Test
-    void exportToCsv_shouldCallGenerateAndExportService() {
+    void export_withCsvFormat_shouldWriteCsvToOutputStream() {
         // Arrange
-        byte[] expectedCsvBytes = "CSV Content".getBytes();
-        when(generateOccupancyReportUseCase.execute()).thenReturn(mockReportData);
-        when(exportService.exportOccupancyReportToCsv(mockReportData)).thenReturn(expectedCsvBytes);
+        when(generateOccupancyReportUseCase.stream(null, null)).thenReturn(mockRows);
 
         // Act
-        byte[] result = exportOccupancyReportUseCase.exportToCsv();
+        exportOccupancyReportUseCase.export(ExportFormat.CSV, null, null, outputStream);
 
         // Assert
-        assertNotNull(result);
-        assertArrayEquals(expectedCsvBytes, result);
-        verify(generateOccupancyReportUseCase, times(1)).execute();
-        verify(exportService, times(1)).exportOccupancyReportToCsv(mockReportData);
+        verify(exportService, times(1)).writeOccupancyReportCsv(mockRows, outputStream);
+        verify(exportService, never()).writeOccupancyReportPdf(any(), any());
     }
 
     @Test
-    void exportToImage_shouldCallGenerateAndExportService() {
+    void export_withPngFormat_shouldWriteImageToOutputStream() {
         // Arrange
-        byte[] expectedImageBytes = "PNG Content".getBytes();
-        when(generateOccupancyReportUseCase.execute()).thenReturn(mockReportData);
-        when(exportService.exportOccupancyReportToImage(mockReportData)).thenReturn(expectedImageBytes);
+        when(generateOccupancyReportUseCase.stream(null, null)).thenReturn(mockRows);
 
         // Act
-        byte[] result = exportOccupancyReportUseCase.exportToImage();
+        exportOccupancyReportUseCase.export(ExportFormat.PNG, null, null, outputStream);
 
         // Assert
-        assertNotNull(result);
-        assertArrayEquals(expectedImageBytes, result);
-        verify(generateOccupancyReportUseCase, times(1)).execute();
-        verify(exportService, times(1)).exportOccupancyReportToImage(mockReportData);
+        verify(exportService, times(1)).writeOccupancyReportImage(mockRows, outputStream);
     }
 
     @Test
-    void export_withPdfFormat_shouldCallExportToPdf() {
+    void export_shouldCloseRowStream() {
         // Arrange
-        byte[] expectedPdfBytes = "PDF Content".getBytes();
-        when(generateOccupancyReportUseCase.execute()).thenReturn(mockReportData);
-        when(exportService.exportOccupancyReportToPdf(mockReportData)).thenReturn(expectedPdfBytes);
+        AtomicBoolean closed = new AtomicBoolean(false);
+        when(generateOccupancyReportUseCase.stream(null, null)).thenReturn(mockRows.onClose(() -> closed.set(true)));
 
         // Act
-        byte[] result = exportOccupancyReportUseCase.export("PDF");
+        exportOccupancyReportUseCase.export(ExportFormat.CSV, null, null, outputStream);
 
         // Assert
-        assertNotNull(result);
-        assertArrayEquals(expectedPdfBytes, result);
+        assertTrue(closed.get());
     }
 
     @Test
-    void export_withCsvFormat_shouldCallExportToCsv() {
+    void export_whenWriterFails_shouldStillCloseRowStream() {
         // Arrange
-        byte[] expectedCsvBytes = "CSV Content".getBytes();
-        when(generateOccupancyReportUseCase.execute()).thenReturn(mockReportData);
-        when(exportService.exportOccupancyReportToCsv(mockReportData)).thenReturn(expectedCsvBytes);
+        AtomicBoolean closed = new AtomicBoolean(false);
+        when(generateOccupancyReportUseCase.stream(null, null)).thenReturn(mockRows.onClose(() -> closed.set(true)));
+        doThrow(new RuntimeException("Error generando PDF de ocupación"))
+                .when(exportService).writeOccupancyReportPdf(any(), any());
 
-        // Act
-        byte[] result = exportOccupancyReportUseCase.export("CSV");
-
-        // Assert
-        assertNotNull(result);
-        assertArrayEquals(expectedCsvBytes, result);
-    }
-
-    @Test
-    void export_withPngFormat_shouldCallExportToImage() {
-        // Arrange
-        byte[] expectedImageBytes = "PNG Content".getBytes();
-        when(generateOccupancyReportUseCase.execute()).thenReturn(mockReportData);
-        when(exportService.exportOccupancyReportToImage(mockReportData)).thenReturn(expectedImageBytes);
-
-        // Act
-        byte[] result = exportOccupancyReportUseCase.export("PNG");
-
-        // Assert
-        assertNotNull(result);
-        assertArrayEquals(expectedImageBytes, result);
-    }
-
-    @Test
-    void export_withImageFormat_shouldCallExportToImage() {
-        // Arrange
-        byte[] expectedImageBytes = "IMAGE Content".getBytes();
-        when(generateOccupancyReportUseCase.execute()).thenReturn(mockReportData);
-        when(exportService.exportOccupancyReportToImage(mockReportData)).thenReturn(expectedImageBytes);
-
-        // Act
-        byte[] result = exportOccupancyReportUseCase.export("IMAGE");
-
-        // Assert
-        assertNotNull(result);
-        assertArrayEquals(expectedImageBytes, result);
-    }
-
-    @Test
-    void export_withInvalidFormat_shouldThrowBusinessRuleException() {
         // Act & Assert
-        BusinessRuleException exception = assertThrows(
-                BusinessRuleException.class,
-                () -> exportOccupancyReportUseCase.export("INVALID_FORMAT"));
-
-        assertEquals("Formato de exportación no soportado: INVALID_FORMAT", exception.getMessage());
-        verify(generateOccupancyReportUseCase, never()).execute();
-    }
-
-    @Test
-    void export_withLowercaseFormat_shouldWork() {
-        // Arrange
-        byte[] expectedPdfBytes = "PDF Content".getBytes();
-        when(generateOccupancyReportUseCase.execute()).thenReturn(mockReportData);
-        when(exportService.exportOccupancyReportToPdf(mockReportData)).thenReturn(expectedPdfBytes);
-
-        // Act
-        byte[] result = exportOccupancyReportUseCase.export("pdf");
-
-        // Assert
-        assertNotNull(result);
-        assertArrayEquals(expectedPdfBytes, result);
+        assertThrows(RuntimeException.class,
+                () -> exportOccupancyReportUseCase.export(ExportFormat.PDF, null, null, outputStream));
+        assertTrue(closed.get());
     }
 }
@@ -1,13 +1,18 @@
 package com.ayd.parkcontrol.application.usecase.report.export;
 
 import com.ayd.parkcontrol.application.dto.response.report.BillingReportResponse;
+import com.ayd.parkcontrol.application.dto.response.report.FleetReportResponse;
 import com.ayd.parkcontrol.application.dto.response.report.OccupancyReportResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -211,4 +216,132 @@ class ReportExportServiceTest {
         assertTrue(content.contains("2R"));
         assertTrue(content.contains("4R"));
     }
+
+    @Test
+    void writeBillingReportPdf_withManyRows_shouldStreamValidPdf() {
+        // Arrange
+        Stream<BillingReportResponse> rows = IntStream.rangeClosed(1, 1500)
+                .mapToObj(i -> BillingReportResponse.builder()
+                        .branchId((long) i)
+                        .branchName("Sucursal " + i)
+                        .totalRevenue(BigDecimal.valueOf(i))
+                        .totalTickets((long) i)
+                        .averageTicketValue(BigDecimal.ONE)
+                        .build());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // Act
+        reportExportService.writeBillingReportPdf(rows, outputStream);
+
+        // Assert
+        String content = outputStream.toString();
+        assertTrue(content.startsWith("%PDF"));
+        assertTrue(content.contains("%%EOF"));
+    }
+
+    @Test
+    void writeBillingReportCsv_shouldWriteRowsWithoutClosingOutputStream() {
+        // Arrange
+        AtomicBoolean closed = new AtomicBoolean(false);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        Stream<BillingReportResponse> rows = Stream.of(BillingReportResponse.builder()
+                .branchId(1L)
+                .branchName("Sucursal Centro")
+                .totalRevenue(new BigDecimal("150.00"))
+                .totalTickets(3L)
+                .averageTicketValue(new BigDecimal("50.00"))
+                .build());
+
+        // Act
+        reportExportService.writeBillingReportCsv(rows, outputStream);
+
+        // Assert
+        String[] lines = outputStream.toString().split("\\R");
+        assertEquals("branch_id,branch_name,total_revenue,total_tickets,average_ticket_value", lines[0]);
+        assertTrue(lines[1].startsWith("1,\"Sucursal Centro\","));
+        assertFalse(closed.get());
+    }
+
+    @Test
+    void writeOccupancyReportPdf_shouldNotCloseOutputStream() {
+        // Arrange
+        AtomicBoolean closed = new AtomicBoolean(false);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        OccupancyReportResponse response = new OccupancyReportResponse();
+        response.setBranchId(1L);
+        response.setBranchName("Sucursal Centro");
+        response.setVehicleType("2R");
+        response.setTotalCapacity(100);
+        response.setCurrentOccupancy(75);
+        response.setPeakOccupancy(95);
+        response.setOccupancyPercentage(75.0);
+
+        // Act
+        reportExportService.writeOccupancyReportPdf(Stream.of(response), outputStream);
+
+        // Assert
+        assertTrue(outputStream.size() > 0);
+        assertFalse(closed.get());
+    }
+
+    @Test
+    void writeFleetReportCsv_shouldWriteOneRowPerCompany() {
+        // Arrange
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Stream<FleetReportResponse> rows = Stream.of(
+                fleetRow(1L, "Transportes Uno", "500.50"),
+                fleetRow(2L, "Logística Dos", "0.00"));
+
+        // Act
+        reportExportService.writeFleetReportCsv(rows, outputStream);
+
+        // Assert
+        String[] lines = outputStream.toString(java.nio.charset.StandardCharsets.UTF_8).split("\\R");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("company_id,company_name,tax_id,payment_status"));
+        assertTrue(lines[1].startsWith("1,\"Transportes Uno\",\"1234567-8\",ACTIVO,10,4,3,25,"));
+        assertTrue(lines[2].startsWith("2,\"Logística Dos\""));
+    }
+
+    @Test
+    void writeFleetReportPdfAndImage_shouldProduceValidFiles() {
+        // Arrange
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+
+        // Act
+        reportExportService.writeFleetReportPdf(Stream.of(fleetRow(1L, "Transportes Uno", "500.50")), pdf);
+        reportExportService.writeFleetReportImage(Stream.of(fleetRow(1L, "Transportes Uno", "500.50")), png);
+
+        // Assert
+        assertTrue(pdf.toString().startsWith("%PDF"));
+        byte[] image = png.toByteArray();
+        assertEquals((byte) 0x89, image[0]);
+        assertEquals('P', image[1]);
+    }
+
+    private FleetReportResponse fleetRow(Long companyId, String name, String amount) {
+        return FleetReportResponse.builder()
+                .companyId(companyId)
+                .companyName(name)
+                .taxId("1234567-8")
+                .paymentStatus("ACTIVO")
+                .plateLimit(10)
+                .totalVehicles(4L)
+                .activeVehicles(3L)
+                .totalEntries(25L)
+                .totalHours(new BigDecimal("60.25"))
+                .totalAmount(new BigDecimal(amount))
+                .build();
+    }
 }
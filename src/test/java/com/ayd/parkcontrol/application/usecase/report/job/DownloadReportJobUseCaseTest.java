@@ -0,0 +1,88 @@
+package com.ayd.parkcontrol.application.usecase.report.job;
+
+import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DownloadReportJobUseCaseTest {
+
+    @Mock
+    private ReportJobStore reportJobStore;
+
+    @InjectMocks
+    private DownloadReportJobUseCase downloadReportJobUseCase;
+
+    private ReportJob job;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.clearContext();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("admin@parkcontrol.com", null));
+
+        job = ReportJob.builder()
+                .id("job-1")
+                .requestedBy("admin@parkcontrol.com")
+                .resultKey("key")
+                .fileName("reporte-facturacion.csv")
+                .mediaType("text/csv")
+                .status(ReportJobStatus.COMPLETED)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void execute_shouldReturnArtifact_whenJobIsCompleted() {
+        byte[] content = "csv".getBytes();
+        when(reportJobStore.findJob("job-1")).thenReturn(Optional.of(job));
+        when(reportJobStore.findResult("key")).thenReturn(Optional.of(content));
+
+        ReportArtifact artifact = downloadReportJobUseCase.execute("job-1");
+
+        assertThat(artifact.getFileName()).isEqualTo("reporte-facturacion.csv");
+        assertThat(artifact.getMediaType()).isEqualTo("text/csv");
+        assertThat(artifact.getContent()).isEqualTo(content);
+    }
+
+    @Test
+    void execute_shouldThrowException_whenJobIsNotCompleted() {
+        job.setStatus(ReportJobStatus.PENDING);
+        when(reportJobStore.findJob("job-1")).thenReturn(Optional.of(job));
+
+        assertThatThrownBy(() -> downloadReportJobUseCase.execute("job-1"))
+                .isInstanceOf(BusinessRuleException.class)
+                .hasMessageContaining("PENDING");
+        verify(reportJobStore, never()).findResult(anyString());
+    }
+
+    @Test
+    void execute_shouldThrowException_whenResultExpired() {
+        when(reportJobStore.findJob("job-1")).thenReturn(Optional.of(job));
+        when(reportJobStore.findResult("key")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> downloadReportJobUseCase.execute("job-1"))
+                .isInstanceOf(BusinessRuleException.class)
+                .hasMessageContaining("expiró");
+    }
+}
@@ -0,0 +1,86 @@
+package com.ayd.parkcontrol.application.usecase.report.job;
+
+import com.ayd.parkcontrol.application.dto.response.report.ReportJobResponse;
+import com.ayd.parkcontrol.application.mapper.ReportJobDtoMapper;
+import com.ayd.parkcontrol.domain.exception.ReportJobNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GetReportJobUseCaseTest {
+
+    @Mock
+    private ReportJobStore reportJobStore;
+
+    @Spy
+    private ReportJobDtoMapper reportJobDtoMapper;
+
+    @InjectMocks
+    private GetReportJobUseCase getReportJobUseCase;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.clearContext();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("admin@parkcontrol.com", null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void execute_shouldReturnJob_whenRequestedByCurrentUser() {
+        ReportJob job = ReportJob.builder()
+                .id("job-1")
+                .reportType("BILLING")
+                .exportFormat("PDF")
+                .requestedBy("admin@parkcontrol.com")
+                .status(ReportJobStatus.RUNNING)
+                .build();
+        when(reportJobStore.findJob("job-1")).thenReturn(Optional.of(job));
+
+        ReportJobResponse response = getReportJobUseCase.execute("job-1");
+
+        assertThat(response.getJobId()).isEqualTo("job-1");
+        assertThat(response.getStatus()).isEqualTo("RUNNING");
+        assertThat(response.getDownloadUrl()).isNull();
+    }
+
+    @Test
+    void execute_shouldThrowException_whenJobBelongsToAnotherUser() {
+        ReportJob job = ReportJob.builder()
+                .id("job-1")
+                .requestedBy("operador@parkcontrol.com")
+                .status(ReportJobStatus.COMPLETED)
+                .build();
+        when(reportJobStore.findJob("job-1")).thenReturn(Optional.of(job));
+
+        assertThatThrownBy(() -> getReportJobUseCase.execute("job-1"))
+                .isInstanceOf(ReportJobNotFoundException.class);
+    }
+
+    @Test
+    void execute_shouldThrowException_whenJobDoesNotExist() {
+        when(reportJobStore.findJob("missing")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> getReportJobUseCase.execute("missing"))
+                .isInstanceOf(ReportJobNotFoundException.class)
+                .hasMessageContaining("missing");
+    }
+}
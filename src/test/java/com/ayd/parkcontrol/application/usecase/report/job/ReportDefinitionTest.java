@@ -0,0 +1,82 @@
+package com.ayd.parkcontrol.application.usecase.report.job;
+
+import com.ayd.parkcontrol.application.dto.request.report.ExportReportRequest;
+import com.ayd.parkcontrol.application.usecase.report.export.ExportFormat;
+import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReportDefinitionTest {
+
+    @Test
+    void from_shouldParseRequest() {
+        ExportReportRequest request = ExportReportRequest.builder()
+                .reportType("billing")
+                .exportFormat("csv")
+                .startDate("2025-01-01")
+                .endDate("2025-01-31")
+                .build();
+
+        ReportDefinition definition = ReportDefinition.from(request);
+
+        assertThat(definition.getReportType()).isEqualTo(ReportType.BILLING);
+        assertThat(definition.getFormat()).isEqualTo(ExportFormat.CSV);
+        assertThat(definition.getStartDate()).isEqualTo(LocalDate.of(2025, 1, 1));
+        assertThat(definition.getEndDate()).isEqualTo(LocalDate.of(2025, 1, 31));
+        assertThat(definition.fileName()).isEqualTo("reporte-facturacion.csv");
+        assertThat(definition.cacheKey("c10")).isEqualTo("BILLING:CSV:2025-01-01:2025-01-31:c10");
+    }
+
+    @Test
+    void from_shouldKeepCompanyOnlyForFleetReports() {
+        ExportReportRequest fleets = ExportReportRequest.builder()
+                .reportType("FLEETS")
+                .exportFormat("PDF")
+                .companyId(7L)
+                .build();
+        ExportReportRequest billing = ExportReportRequest.builder()
+                .reportType("BILLING")
+                .exportFormat("PDF")
+                .companyId(7L)
+                .build();
+
+        ReportDefinition fleetDefinition = ReportDefinition.from(fleets);
+        ReportDefinition billingDefinition = ReportDefinition.from(billing);
+
+        assertThat(fleetDefinition.getCompanyId()).isEqualTo(7L);
+        assertThat(fleetDefinition.fileName()).isEqualTo("reporte-flotillas.pdf");
+        assertThat(fleetDefinition.cacheKey("t0")).isEqualTo("FLEETS:PDF:*:*:e7:t0");
+        assertThat(billingDefinition.getCompanyId()).isNull();
+        assertThat(billingDefinition.cacheKey("c10")).isEqualTo("BILLING:PDF:*:*:c10");
+    }
+
+    @Test
+    void from_shouldRejectInvalidDate() {
+        ExportReportRequest request = ExportReportRequest.builder()
+                .reportType("BILLING")
+                .exportFormat("PDF")
+                .startDate("01/01/2025")
+                .build();
+
+        assertThatThrownBy(() -> ReportDefinition.from(request))
+                .isInstanceOf(BusinessRuleException.class)
+                .hasMessageContaining("start_date");
+    }
+
+    @Test
+    void from_shouldRejectInvertedRange() {
+        ExportReportRequest request = ExportReportRequest.builder()
+                .reportType("BILLING")
+                .exportFormat("PDF")
+                .startDate("2025-02-01")
+                .endDate("2025-01-01")
+                .build();
+
+        assertThatThrownBy(() -> ReportDefinition.from(request))
+                .isInstanceOf(BusinessRuleException.class);
+    }
+}
@@ -0,0 +1,271 @@
+package com.ayd.parkcontrol.application.usecase.report.job;
+
+import com.ayd.parkcontrol.application.dto.request.report.ExportReportRequest;
+import com.ayd.parkcontrol.application.dto.response.report.ReportJobResponse;
+import com.ayd.parkcontrol.application.mapper.ReportJobDtoMapper;
+import com.ayd.parkcontrol.application.usecase.report.ExportReportUseCase;
+import com.ayd.parkcontrol.application.usecase.report.export.ExportFormat;
+import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.CountLastCreatedProjection;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaFleetCompanyRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaFleetVehicleRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaOccupancyHourlyRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketChargeRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SubmitReportJobUseCaseTest {
+
+    private static final LocalDateTime LAST_CHARGE = LocalDateTime.of(2025, 1, 31, 18, 0);
+
+    @Mock
+    private ReportJobStore reportJobStore;
+
+    @Mock
+    private ReportJobExecutor reportJobExecutor;
+
+    @Mock
+    private ExportReportUseCase exportReportUseCase;
+
+    @Mock
+    private JpaTicketChargeRepository ticketChargeRepository;
+
+    @Mock
+    private JpaTicketRepository ticketRepository;
+
+    @Mock
+    private JpaFleetCompanyRepository fleetCompanyRepository;
+
+    @Mock
+    private JpaFleetVehicleRepository fleetVehicleRepository;
+
+    @Mock
+    private JpaOccupancyHourlyRepository occupancyHourlyRepository;
+
+    @Spy
+    private ReportJobDtoMapper reportJobDtoMapper;
+
+    @InjectMocks
+    private SubmitReportJobUseCase submitReportJobUseCase;
+
+    private ExportReportRequest billingRequest;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.clearContext();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("admin@parkcontrol.com", null));
+
+        billingRequest = ExportReportRequest.builder()
+                .reportType("BILLING")
+                .exportFormat("PDF")
+                .startDate("2025-01-01")
+                .endDate("2025-01-31")
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void execute_shouldCompleteImmediately_whenResultIsCached() {
+        when(ticketChargeRepository.summarizeChargesBefore(LocalDateTime.of(2025, 2, 1, 0, 0)))
+                .thenReturn(chargeSummary(42L, LAST_CHARGE));
+        when(reportJobStore.hasResult("BILLING:PDF:2025-01-01:2025-01-31:c42:" + LAST_CHARGE)).thenReturn(true);
+
+        ReportJobResponse response = submitReportJobUseCase.execute(billingRequest);
+
+        assertThat(response.getStatus()).isEqualTo("COMPLETED");
+        assertThat(response.getCached()).isTrue();
+        assertThat(response.getDownloadUrl()).isEqualTo("/reports/jobs/" + response.getJobId() + "/download");
+        verify(reportJobStore).saveJob(any(ReportJob.class));
+        verifyNoInteractions(reportJobExecutor, exportReportUseCase);
+    }
+
+    @Test
+    void execute_shouldEnqueueJob_whenResultIsNotCached() {
+        when(ticketChargeRepository.summarizeChargesBefore(any())).thenReturn(chargeSummary(42L, LAST_CHARGE));
+        when(reportJobStore.hasResult(anyString())).thenReturn(false);
+
+        ReportJobResponse response = submitReportJobUseCase.execute(billingRequest);
+
+        assertThat(response.getStatus()).isEqualTo("PENDING");
+        assertThat(response.getCached()).isFalse();
+        assertThat(response.getDownloadUrl()).isNull();
+        verify(reportJobExecutor).submit(any(Runnable.class));
+
+        ArgumentCaptor<ReportJob> captor = ArgumentCaptor.forClass(ReportJob.class);
+        verify(reportJobStore).saveJob(captor.capture());
+        assertThat(captor.getValue().getRequestedBy()).isEqualTo("admin@parkcontrol.com");
+        assertThat(captor.getValue().getFileName()).isEqualTo("reporte-facturacion.pdf");
+    }
+
+    @Test
+    void execute_shouldMissCache_whenChargeWithLowerIdIsCommittedLate() {
+        // Un cobro de otra instancia llega con un ID menor al máximo y la misma
+        // fecha del último cobro: el conteo cambia y el resultado previo no se usa
+        when(ticketChargeRepository.summarizeChargesBefore(any()))
+                .thenReturn(chargeSummary(42L, LAST_CHARGE), chargeSummary(43L, LAST_CHARGE));
+        when(reportJobStore.hasResult("BILLING:PDF:2025-01-01:2025-01-31:c42:" + LAST_CHARGE)).thenReturn(true);
+        when(reportJobStore.hasResult("BILLING:PDF:2025-01-01:2025-01-31:c43:" + LAST_CHARGE)).thenReturn(false);
+
+        ReportJobResponse first = submitReportJobUseCase.execute(billingRequest);
+        ReportJobResponse second = submitReportJobUseCase.execute(billingRequest);
+
+        assertThat(first.getCached()).isTrue();
+        assertThat(second.getCached()).isFalse();
+        assertThat(second.getStatus()).isEqualTo("PENDING");
+        verify(reportJobExecutor).submit(any(Runnable.class));
+    }
+
+    @Test
+    void execute_shouldUseTicketAndOccupancyHistoryWatermark_forOccupancyReports() {
+        LocalDateTime lastUpdate = LocalDateTime.of(2025, 1, 15, 10, 30);
+        LocalDateTime lastRollup = LocalDateTime.of(2025, 1, 15, 10, 35);
+        ExportReportRequest request = ExportReportRequest.builder()
+                .reportType("OCCUPANCY")
+                .exportFormat("CSV")
+                .build();
+        when(ticketRepository.findLastUpdatedAt()).thenReturn(lastUpdate);
+        when(occupancyHourlyRepository.findLastUpdatedAt()).thenReturn(lastRollup);
+        when(reportJobStore.hasResult("OCCUPANCY:CSV:*:*:t" + lastUpdate + ":o" + lastRollup)).thenReturn(false);
+
+        submitReportJobUseCase.execute(request);
+
+        verify(reportJobExecutor).submit(any(Runnable.class));
+        verifyNoInteractions(ticketChargeRepository);
+    }
+
+    @Test
+    void execute_shouldUseTicketAndFleetWatermark_forFleetReports() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin@parkcontrol.com", null, List.of(new SimpleGrantedAuthority("ROLE_Administrador"))));
+        LocalDateTime lastTicket = LocalDateTime.of(2025, 1, 15, 10, 30);
+        LocalDateTime lastCompany = LocalDateTime.of(2025, 1, 10, 8, 0);
+        ExportReportRequest request = ExportReportRequest.builder()
+                .reportType("FLEETS")
+                .exportFormat("CSV")
+                .companyId(3L)
+                .build();
+        when(ticketRepository.findLastUpdatedAt()).thenReturn(lastTicket);
+        when(fleetCompanyRepository.findLastModifiedAt()).thenReturn(lastCompany);
+        when(fleetVehicleRepository.findLastModifiedAt()).thenReturn(null);
+        when(reportJobStore.hasResult("FLEETS:CSV:*:*:e3:t" + lastTicket + ":f" + lastCompany + ":v0"))
+                .thenReturn(false);
+
+        ReportJobResponse response = submitReportJobUseCase.execute(request);
+
+        assertThat(response.getCompanyId()).isEqualTo(3L);
+        verify(reportJobExecutor).submit(any(Runnable.class));
+        verifyNoInteractions(ticketChargeRepository);
+    }
+
+    @Test
+    void execute_shouldRejectFleetReport_whenUserIsNotAdministrator() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "operador@parkcontrol.com", null, List.of(new SimpleGrantedAuthority("ROLE_Operador Sucursal"))));
+        ExportReportRequest request = ExportReportRequest.builder()
+                .reportType("FLEETS")
+                .exportFormat("PDF")
+                .build();
+
+        assertThatThrownBy(() -> submitReportJobUseCase.execute(request))
+                .isInstanceOf(AccessDeniedException.class);
+        verifyNoInteractions(reportJobStore, reportJobExecutor);
+    }
+
+    @Test
+    void execute_shouldThrowException_whenQueueIsFull() {
+        when(ticketChargeRepository.summarizeChargesBefore(any())).thenReturn(chargeSummary(0L, null));
+        when(reportJobStore.hasResult(anyString())).thenReturn(false);
+        doThrow(new RejectedExecutionException()).when(reportJobExecutor).submit(any(Runnable.class));
+
+        assertThatThrownBy(() -> submitReportJobUseCase.execute(billingRequest))
+                .isInstanceOf(BusinessRuleException.class)
+                .hasMessageContaining("cola de reportes");
+    }
+
+    @Test
+    void execute_shouldRejectRequest_whenFormatIsNotSupported() {
+        billingRequest.setExportFormat("XLSX");
+
+        assertThatThrownBy(() -> submitReportJobUseCase.execute(billingRequest))
+                .isInstanceOf(BusinessRuleException.class);
+        verify(reportJobStore, never()).saveJob(any());
+    }
+
+    @Test
+    void run_shouldStoreResultAndCompleteJob() {
+        ReportDefinition definition = new ReportDefinition(ReportType.BILLING,
+                ExportFormat.CSV,
+                LocalDate.of(2025, 1, 1), null, null);
+        ReportJob job = ReportJob.builder().id("job-1").resultKey("key").status(ReportJobStatus.PENDING).build();
+        byte[] content = "csv".getBytes();
+        when(exportReportUseCase.execute(definition)).thenReturn(content);
+
+        submitReportJobUseCase.run(job, definition);
+
+        verify(reportJobStore).saveResult(eq("key"), eq(content));
+        assertThat(job.getStatus()).isEqualTo(ReportJobStatus.COMPLETED);
+        assertThat(job.getCompletedAt()).isNotNull();
+    }
+
+    @Test
+    void run_shouldMarkJobAsFailed_whenGenerationFails() {
+        ReportDefinition definition = new ReportDefinition(ReportType.OCCUPANCY,
+                ExportFormat.PDF, null, null, null);
+        ReportJob job = ReportJob.builder().id("job-1").resultKey("key").status(ReportJobStatus.PENDING).build();
+        when(exportReportUseCase.execute(definition)).thenThrow(new IllegalStateException("Error"));
+
+        submitReportJobUseCase.run(job, definition);
+
+        verify(reportJobStore, never()).saveResult(anyString(), any());
+        assertThat(job.getStatus()).isEqualTo(ReportJobStatus.FAILED);
+        assertThat(job.getErrorMessage()).isEqualTo("Error");
+    }
+
+    private CountLastCreatedProjection chargeSummary(Long total, LocalDateTime lastCreatedAt) {
+        return new CountLastCreatedProjection() {
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+
+            @Override
+            public LocalDateTime getLastCreatedAt() {
+                return lastCreatedAt;
+            }
+        };
+    }
+}
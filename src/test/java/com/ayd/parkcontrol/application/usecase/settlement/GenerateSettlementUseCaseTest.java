@@ -2,10 +2,12 @@ package com.ayd.parkcontrol.application.usecase.settlement;
 
 import com.ayd.parkcontrol.application.dto.request.settlement.GenerateSettlementRequest;
 import com.ayd.parkcontrol.application.dto.response.settlement.SettlementResponse;
+import com.ayd.parkcontrol.application.service.ReferenceDataResolver;
 import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
 import com.ayd.parkcontrol.domain.exception.NotFoundException;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.*;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.*;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,7 +22,9 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -50,7 +54,7 @@ class GenerateSettlementUseCaseTest {
         private JpaSettlementTicketRepository settlementTicketRepository;
 
         @Mock
-        private JpaTicketRepository ticketRepository;
+        private ReferenceDataResolver referenceDataResolver;
 
         @InjectMocks
         private GenerateSettlementUseCase generateSettlementUseCase;
@@ -64,6 +68,8 @@ class GenerateSettlementUseCaseTest {
 
         @BeforeEach
         void setUp() {
+                SecurityContextHolder.clearContext();
+
                 request = GenerateSettlementRequest.builder()
                                 .businessId(1L)
                                 .branchId(1L)
@@ -133,6 +139,11 @@ class GenerateSettlementUseCaseTest {
                                 new UsernamePasswordAuthenticationToken("admin@parkcontrol.com", "password"));
         }
 
+        @AfterEach
+        void tearDown() {
+                SecurityContextHolder.clearContext();
+        }
+
         @Test
         void execute_ShouldGenerateSettlement_WhenDataIsValid() {
                 // Setup security context
@@ -146,9 +157,10 @@ class GenerateSettlementUseCaseTest {
                 when(businessFreeHoursRepository.findUnsettledByBusinessBranchAndPeriod(
                                 any(), any(), any(), any())).thenReturn(unsettledHours);
                 when(settlementRepository.save(any(BusinessSettlementHistoryEntity.class))).thenReturn(settlement);
-                when(settlementTicketRepository.save(any(SettlementTicketEntity.class)))
-                                .thenReturn(SettlementTicketEntity.builder().build());
-                when(ticketRepository.findById(any())).thenReturn(Optional.of(TicketEntity.builder()
+                when(settlementTicketRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+                when(businessFreeHoursRepository.markAsSettled(List.of(1L, 2L))).thenReturn(2);
+                when(referenceDataResolver.ticketsById(Set.of(1L, 2L))).thenReturn(Map.of(1L, TicketEntity.builder()
+                                .id(1L)
                                 .folio("T-1-12345678")
                                 .licensePlate("ABC-123")
                                 .build()));
@@ -161,9 +173,12 @@ class GenerateSettlementUseCaseTest {
                 assertThat(response.getTotalHours()).isEqualByComparingTo(BigDecimal.valueOf(5.0));
                 assertThat(response.getTotalAmount()).isEqualByComparingTo(BigDecimal.valueOf(40.0));
                 assertThat(response.getTicketCount()).isEqualTo(2);
+                assertThat(response.getTickets()).hasSize(2);
+                assertThat(response.getTickets().get(0).getFolio()).isEqualTo("T-1-12345678");
+                assertThat(response.getTickets().get(1).getFolio()).isNull();
 
                 verify(settlementRepository).save(any(BusinessSettlementHistoryEntity.class));
-                verify(settlementTicketRepository, times(2)).save(any(SettlementTicketEntity.class));
+                verify(settlementTicketRepository).saveAll(argThat(tickets -> tickets.spliterator().getExactSizeIfKnown() == 2));
                 verify(businessFreeHoursRepository).markAsSettled(anyList());
         }
 
@@ -208,4 +223,33 @@ class GenerateSettlementUseCaseTest {
 
                 verify(settlementRepository, never()).save(any());
         }
+
+        @Test
+        void settlePending_ShouldReturnEmpty_WhenGroupWasAlreadySettled() {
+                when(commerceRepository.findById(1L)).thenReturn(Optional.of(commerce));
+                when(businessFreeHoursRepository.findUnsettledByBusinessBranchAndPeriod(
+                                any(), any(), any(), any())).thenReturn(Collections.emptyList());
+
+                Optional<BusinessSettlementHistoryEntity> result = generateSettlementUseCase.settlePending(1L, 1L,
+                                request.getPeriodStart(), request.getPeriodEnd(), null, 1L);
+
+                assertThat(result).isEmpty();
+                verify(settlementRepository, never()).save(any());
+        }
+
+        @Test
+        void settlePending_ShouldFail_WhenHoursWereSettledConcurrently() {
+                when(commerceRepository.findById(1L)).thenReturn(Optional.of(commerce));
+                when(businessFreeHoursRepository.findUnsettledByBusinessBranchAndPeriod(
+                                any(), any(), any(), any())).thenReturn(unsettledHours);
+                when(settlementRepository.save(any(BusinessSettlementHistoryEntity.class))).thenReturn(settlement);
+                when(businessFreeHoursRepository.markAsSettled(List.of(1L, 2L))).thenReturn(1);
+
+                assertThatThrownBy(() -> generateSettlementUseCase.settlePending(1L, 1L,
+                                request.getPeriodStart(), request.getPeriodEnd(), null, 1L))
+                                .isInstanceOf(BusinessRuleException.class)
+                                .hasMessageContaining("settled concurrently");
+
+                verify(referenceDataResolver, never()).ticketsById(any());
+        }
 }
@@ -0,0 +1,172 @@
+package com.ayd.parkcontrol.application.usecase.settlement;
+
+import com.ayd.parkcontrol.application.dto.request.settlement.BulkSettlementRequest;
+import com.ayd.parkcontrol.application.dto.response.settlement.BulkSettlementGroupResult;
+import com.ayd.parkcontrol.application.dto.response.settlement.BulkSettlementRunResponse;
+import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.BusinessSettlementHistoryEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.UserEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.PendingSettlementProjection;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaBusinessFreeHoursRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaUserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RunBulkSettlementUseCaseTest {
+
+    @Mock
+    private GenerateSettlementUseCase generateSettlementUseCase;
+
+    @Mock
+    private JpaBusinessFreeHoursRepository businessFreeHoursRepository;
+
+    @Mock
+    private JpaUserRepository userRepository;
+
+    @InjectMocks
+    private RunBulkSettlementUseCase runBulkSettlementUseCase;
+
+    private BulkSettlementRequest request;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(runBulkSettlementUseCase, "poolSize", 2);
+        SecurityContextHolder.clearContext();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("admin@parkcontrol.com", null));
+
+        request = BulkSettlementRequest.builder()
+                .periodStart(LocalDateTime.now().minusDays(30))
+                .periodEnd(LocalDateTime.now())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void execute_ShouldSettleEachGroup_AndSummarizeRun() {
+        when(userRepository.findByEmail("admin@parkcontrol.com"))
+                .thenReturn(Optional.of(UserEntity.builder().id(7L).build()));
+        when(businessFreeHoursRepository.findPendingSettlementGroups(request.getPeriodStart(), request.getPeriodEnd()))
+                .thenReturn(List.of(group(1L, 1L), group(1L, 2L), group(2L, 1L)));
+        when(generateSettlementUseCase.settlePending(eq(1L), eq(1L), any(), any(), any(), eq(7L)))
+                .thenReturn(Optional.of(settlement(10L, 3, "300.00")));
+        when(generateSettlementUseCase.settlePending(eq(1L), eq(2L), any(), any(), any(), eq(7L)))
+                .thenReturn(Optional.empty());
+        when(generateSettlementUseCase.settlePending(eq(2L), eq(1L), any(), any(), any(), eq(7L)))
+                .thenReturn(Optional.of(settlement(11L, 2, "150.00")));
+
+        BulkSettlementRunResponse response = runBulkSettlementUseCase.execute(request);
+
+        assertThat(response.getGroups()).isEqualTo(3);
+        assertThat(response.getSettled()).isEqualTo(2);
+        assertThat(response.getSkipped()).isEqualTo(1);
+        assertThat(response.getFailed()).isZero();
+        assertThat(response.getTicketCount()).isEqualTo(5);
+        assertThat(response.getTotalAmount()).isEqualByComparingTo("450.00");
+        assertThat(response.getResults()).extracting(BulkSettlementGroupResult::getBranchId)
+                .containsExactly(1L, 2L, 1L);
+    }
+
+    @Test
+    void execute_ShouldReportFailedGroup_WithoutStoppingRun() {
+        when(userRepository.findByEmail("admin@parkcontrol.com"))
+                .thenReturn(Optional.of(UserEntity.builder().id(7L).build()));
+        when(businessFreeHoursRepository.findPendingSettlementGroups(any(), any()))
+                .thenReturn(List.of(group(1L, 1L), group(2L, 1L)));
+        when(generateSettlementUseCase.settlePending(eq(1L), eq(1L), any(), any(), any(), eq(7L)))
+                .thenThrow(new BusinessRuleException("Free hours were settled concurrently"));
+        when(generateSettlementUseCase.settlePending(eq(2L), eq(1L), any(), any(), any(), eq(7L)))
+                .thenReturn(Optional.of(settlement(11L, 2, "150.00")));
+
+        BulkSettlementRunResponse response = runBulkSettlementUseCase.execute(request);
+
+        assertThat(response.getSettled()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(1);
+        assertThat(response.getResults().get(0).getStatus()).isEqualTo(BulkSettlementGroupResult.FAILED);
+        assertThat(response.getResults().get(0).getError()).contains("settled concurrently");
+        assertThat(response.getTotalAmount()).isEqualByComparingTo("150.00");
+    }
+
+    @Test
+    void execute_ShouldReturnEmptySummary_WhenNothingIsPending() {
+        when(userRepository.findByEmail("admin@parkcontrol.com"))
+                .thenReturn(Optional.of(UserEntity.builder().id(7L).build()));
+        when(businessFreeHoursRepository.findPendingSettlementGroups(any(), any())).thenReturn(List.of());
+
+        BulkSettlementRunResponse response = runBulkSettlementUseCase.execute(request);
+
+        assertThat(response.getGroups()).isZero();
+        assertThat(response.getTotalAmount()).isEqualByComparingTo(BigDecimal.ZERO);
+        verify(generateSettlementUseCase, never()).settlePending(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void execute_ShouldThrowBusinessRuleException_WhenPeriodEndBeforeStart() {
+        request.setPeriodEnd(request.getPeriodStart().minusDays(1));
+
+        assertThatThrownBy(() -> runBulkSettlementUseCase.execute(request))
+                .isInstanceOf(BusinessRuleException.class)
+                .hasMessageContaining("after period start");
+
+        verify(businessFreeHoursRepository, never()).findPendingSettlementGroups(any(), any());
+    }
+
+    private PendingSettlementProjection group(Long businessId, Long branchId) {
+        return new PendingSettlementProjection() {
+            @Override
+            public Long getBusinessId() {
+                return businessId;
+            }
+
+            @Override
+            public Long getBranchId() {
+                return branchId;
+            }
+
+            @Override
+            public Long getTicketCount() {
+                return 1L;
+            }
+
+            @Override
+            public BigDecimal getTotalHours() {
+                return BigDecimal.ONE;
+            }
+        };
+    }
+
+    private BusinessSettlementHistoryEntity settlement(Long id, int ticketCount, String totalAmount) {
+        return BusinessSettlementHistoryEntity.builder()
+                .id(id)
+                .ticketCount(ticketCount)
+                .totalHours(BigDecimal.valueOf(ticketCount))
+                .totalAmount(new BigDecimal(totalAmount))
+                .build();
+    }
+}
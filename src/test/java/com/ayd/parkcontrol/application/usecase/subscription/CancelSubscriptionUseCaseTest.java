@@ -1,5 +1,6 @@
 package com.ayd.parkcontrol.application.usecase.subscription;
 
+import com.ayd.parkcontrol.application.event.ActivePlateChangedEvent;
 import com.ayd.parkcontrol.domain.exception.SubscriptionNotFoundException;
 import com.ayd.parkcontrol.domain.model.subscription.Subscription;
 import com.ayd.parkcontrol.domain.repository.SubscriptionRepository;
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -29,6 +31,9 @@ class CancelSubscriptionUseCaseTest {
     @Mock
     private JpaSubscriptionStatusTypeRepository statusTypeRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CancelSubscriptionUseCase useCase;
 
@@ -71,6 +76,7 @@ class CancelSubscriptionUseCaseTest {
         verify(subscriptionRepository).findById(1L);
         verify(statusTypeRepository).findByCode("CANCELLED");
         verify(subscriptionRepository).save(subscription);
+        verify(eventPublisher).publishEvent(any(ActivePlateChangedEvent.class));
     }
 
     @Test
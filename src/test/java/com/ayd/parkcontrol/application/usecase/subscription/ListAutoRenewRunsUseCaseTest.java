@@ -0,0 +1,86 @@
+package com.ayd.parkcontrol.application.usecase.subscription;
+
+import com.ayd.parkcontrol.application.dto.response.subscription.AutoRenewRunResponse;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.SubscriptionRenewalRunEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.SubscriptionRenewalRunEntity.Status;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaSubscriptionRenewalRunRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para ListAutoRenewRunsUseCase.
+ */
+@ExtendWith(MockitoExtension.class)
+class ListAutoRenewRunsUseCaseTest {
+
+    @Mock
+    private JpaSubscriptionRenewalRunRepository runRepository;
+
+    @InjectMocks
+    private ListAutoRenewRunsUseCase useCase;
+
+    @Test
+    void execute_shouldMapRunsWithDuration() {
+        // Arrange
+        LocalDateTime startedAt = LocalDateTime.of(2025, 10, 17, 2, 0);
+        SubscriptionRenewalRunEntity running = run(2L, Status.RUNNING, startedAt, startedAt.plusMinutes(5), null);
+        SubscriptionRenewalRunEntity completed = run(1L, Status.COMPLETED, startedAt.minusDays(1),
+                startedAt.minusDays(1).plusMinutes(12), startedAt.minusDays(1).plusMinutes(12));
+        when(runRepository.findAllByOrderByIdDesc(PageRequest.of(0, 10))).thenReturn(List.of(running, completed));
+
+        // Act
+        List<AutoRenewRunResponse> result = useCase.execute(10);
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals("RUNNING", result.get(0).getStatus());
+        assertEquals(300_000L, result.get(0).getDurationMs());
+        assertNull(result.get(0).getFinishedAt());
+        assertEquals("COMPLETED", result.get(1).getStatus());
+        assertEquals(720_000L, result.get(1).getDurationMs());
+        assertEquals(150L, result.get(1).getLastSubscriptionId());
+    }
+
+    @Test
+    void execute_shouldClampLimit() {
+        // Arrange
+        when(runRepository.findAllByOrderByIdDesc(any())).thenReturn(List.of());
+
+        // Act
+        useCase.execute(500);
+        useCase.execute(0);
+
+        // Assert
+        verify(runRepository).findAllByOrderByIdDesc(PageRequest.of(0, ListAutoRenewRunsUseCase.MAX_LIMIT));
+        verify(runRepository).findAllByOrderByIdDesc(PageRequest.of(0, 1));
+    }
+
+    private SubscriptionRenewalRunEntity run(Long id, Status status, LocalDateTime startedAt,
+            LocalDateTime updatedAt, LocalDateTime finishedAt) {
+        return SubscriptionRenewalRunEntity.builder()
+                .id(id)
+                .status(status)
+                .windowStart(startedAt)
+                .windowEnd(startedAt.plusDays(7))
+                .lastSubscriptionId(150L)
+                .renewed(140)
+                .skipped(8)
+                .failed(2)
+                .chunks(2)
+                .resumes(0)
+                .startedAt(startedAt)
+                .updatedAt(updatedAt)
+                .finishedAt(finishedAt)
+                .build();
+    }
+}
@@ -4,6 +4,7 @@ import com.ayd.parkcontrol.application.dto.request.ticket.ApplyBenefitRequest;
 import com.ayd.parkcontrol.application.dto.response.ticket.BusinessFreeHoursResponse;
 import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
 import com.ayd.parkcontrol.domain.exception.NotFoundException;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.AffiliatedBusinessEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.BusinessFreeHoursEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketEntity;
@@ -11,7 +12,6 @@ import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketStatusTypeEnt
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaAffiliatedBusinessRepository;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaBusinessFreeHoursRepository;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketStatusTypeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -38,11 +38,14 @@ class ApplyCommerceBenefitUseCaseTest {
     private JpaBusinessFreeHoursRepository businessFreeHoursRepository;
 
     @Mock
-    private JpaTicketStatusTypeRepository ticketStatusTypeRepository;
+    private CatalogCache.Catalog<TicketStatusTypeEntity> ticketStatuses;
 
     @Mock
     private JpaAffiliatedBusinessRepository affiliatedBusinessRepository;
 
+    @Mock
+    private CatalogCache catalogCache;
+
     @InjectMocks
     private ApplyCommerceBenefitUseCase applyCommerceBenefitUseCase;
 
@@ -53,6 +56,7 @@ class ApplyCommerceBenefitUseCaseTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(catalogCache.ticketStatuses()).thenReturn(ticketStatuses);
         request = ApplyBenefitRequest.builder()
                 .businessId(1L)
                 .grantedHours(2.0)
@@ -87,7 +91,7 @@ class ApplyCommerceBenefitUseCaseTest {
     void execute_ShouldApplyBenefit_WhenDataIsValid() {
         // Arrange
         when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
         when(affiliatedBusinessRepository.findById(1L)).thenReturn(Optional.of(business));
 
         BusinessFreeHoursEntity savedEntity = BusinessFreeHoursEntity.builder()
@@ -132,7 +136,7 @@ class ApplyCommerceBenefitUseCaseTest {
         // Arrange
         ticket.setStatusTypeId(2); // COMPLETED
         when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
 
         // Act & Assert
         assertThatThrownBy(() -> applyCommerceBenefitUseCase.execute(1L, request))
@@ -145,7 +149,7 @@ class ApplyCommerceBenefitUseCaseTest {
         // Arrange
         request.setGrantedHours(0.0);
         when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
 
         // Act & Assert
         assertThatThrownBy(() -> applyCommerceBenefitUseCase.execute(1L, request))
@@ -158,7 +162,7 @@ class ApplyCommerceBenefitUseCaseTest {
         // Arrange
         request.setGrantedHours(-1.0);
         when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
 
         // Act & Assert
         assertThatThrownBy(() -> applyCommerceBenefitUseCase.execute(1L, request))
@@ -170,7 +174,7 @@ class ApplyCommerceBenefitUseCaseTest {
     void execute_ShouldThrowNotFoundException_WhenBusinessNotFound() {
         // Arrange
         when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
         when(affiliatedBusinessRepository.findById(999L)).thenReturn(Optional.empty());
         request.setBusinessId(999L);
 
@@ -1,12 +1,12 @@
 package com.ayd.parkcontrol.application.usecase.ticket;
 
+import com.ayd.parkcontrol.application.service.EffectiveRateResolver;
 import com.ayd.parkcontrol.domain.exception.NotFoundException;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.*;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -16,6 +16,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,7 +38,6 @@ class CalculateTicketChargeUseCaseTest {
     @Mock
     private JpaSubscriptionRepository subscriptionRepository;
 
-    @InjectMocks
     private CalculateTicketChargeUseCase calculateTicketChargeUseCase;
 
     private TicketEntity ticket;
@@ -47,6 +48,10 @@ class CalculateTicketChargeUseCaseTest {
 
     @BeforeEach
     void setUp() {
+        calculateTicketChargeUseCase = new CalculateTicketChargeUseCase(ticketRepository,
+                businessFreeHoursRepository, subscriptionRepository,
+                new EffectiveRateResolver(branchRepository, rateBaseHistoryRepository, 0));
+
         // Setup branch
         branch = new BranchEntity();
         branch.setId(1L);
@@ -223,4 +228,21 @@ class CalculateTicketChargeUseCaseTest {
         // Act & Assert
         assertThrows(NotFoundException.class, () -> calculateTicketChargeUseCase.execute(1L));
     }
+
+    @Test
+    void calculate_ShouldUsePreloadedTicketAndSubscription() {
+        // Arrange
+        ticket.setExitTime(LocalDateTime.now());
+        ticket.setIsSubscriber(true);
+        ticket.setSubscriptionId(1L);
+        when(businessFreeHoursRepository.sumGrantedHoursByTicketId(1L)).thenReturn(BigDecimal.ZERO);
+
+        // Act
+        var result = calculateTicketChargeUseCase.calculate(ticket, subscription);
+
+        // Assert
+        assertNotNull(result);
+        verify(ticketRepository, never()).findById(anyLong());
+        verify(subscriptionRepository, never()).findById(anyLong());
+    }
 }
@@ -1,6 +1,7 @@
 package com.ayd.parkcontrol.application.usecase.ticket;
 
 import com.ayd.parkcontrol.application.dto.response.ticket.TicketResponse;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.*;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +17,7 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,10 +27,13 @@ class GetActiveTicketsUseCaseTest {
     private JpaTicketRepository ticketRepository;
 
     @Mock
-    private JpaTicketStatusTypeRepository ticketStatusTypeRepository;
+    private CatalogCache.Catalog<TicketStatusTypeEntity> ticketStatuses;
 
     @Mock
-    private JpaVehicleTypeRepository vehicleTypeRepository;
+    private CatalogCache.Catalog<VehicleTypeEntity> vehicleTypes;
+
+    @Mock
+    private CatalogCache catalogCache;
 
     @InjectMocks
     private GetActiveTicketsUseCase getActiveTicketsUseCase;
@@ -40,6 +45,8 @@ class GetActiveTicketsUseCaseTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(catalogCache.ticketStatuses()).thenReturn(ticketStatuses);
+        lenient().when(catalogCache.vehicleTypes()).thenReturn(vehicleTypes);
         statusType = new TicketStatusTypeEntity();
         statusType.setId(1);
         statusType.setCode("IN_PROGRESS");
@@ -74,9 +81,9 @@ class GetActiveTicketsUseCaseTest {
     @Test
     void execute_ShouldReturnActiveTickets_WhenTicketsExist() {
         // Arrange
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS")).thenReturn(java.util.Optional.of(statusType));
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(java.util.Optional.of(statusType));
         when(ticketRepository.findByStatusTypeId(1)).thenReturn(Arrays.asList(ticket1, ticket2));
-        when(vehicleTypeRepository.findAll()).thenReturn(List.of(vehicleType));
+        when(vehicleTypes.all()).thenReturn(List.of(vehicleType));
 
         // Act
         List<TicketResponse> result = getActiveTicketsUseCase.execute();
@@ -89,9 +96,9 @@ class GetActiveTicketsUseCaseTest {
     @Test
     void execute_ShouldReturnEmptyList_WhenNoActiveTickets() {
         // Arrange
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS")).thenReturn(java.util.Optional.of(statusType));
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(java.util.Optional.of(statusType));
         when(ticketRepository.findByStatusTypeId(1)).thenReturn(Collections.emptyList());
-        when(vehicleTypeRepository.findAll()).thenReturn(List.of(vehicleType));
+        when(vehicleTypes.all()).thenReturn(List.of(vehicleType));
 
         // Act
         List<TicketResponse> result = getActiveTicketsUseCase.execute();
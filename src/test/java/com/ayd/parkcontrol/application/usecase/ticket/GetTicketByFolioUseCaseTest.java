@@ -2,12 +2,11 @@ package com.ayd.parkcontrol.application.usecase.ticket;
 
 import com.ayd.parkcontrol.application.dto.response.ticket.TicketResponse;
 import com.ayd.parkcontrol.domain.exception.NotFoundException;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketStatusTypeEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.VehicleTypeEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketStatusTypeRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaVehicleTypeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,6 +19,10 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,10 +32,13 @@ class GetTicketByFolioUseCaseTest {
     private JpaTicketRepository ticketRepository;
 
     @Mock
-    private JpaVehicleTypeRepository vehicleTypeRepository;
+    private CatalogCache.Catalog<VehicleTypeEntity> vehicleTypes;
 
     @Mock
-    private JpaTicketStatusTypeRepository ticketStatusTypeRepository;
+    private CatalogCache.Catalog<TicketStatusTypeEntity> ticketStatuses;
+
+    @Mock
+    private CatalogCache catalogCache;
 
     @InjectMocks
     private GetTicketByFolioUseCase getTicketByFolioUseCase;
@@ -43,6 +49,8 @@ class GetTicketByFolioUseCaseTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(catalogCache.ticketStatuses()).thenReturn(ticketStatuses);
+        lenient().when(catalogCache.vehicleTypes()).thenReturn(vehicleTypes);
         ticket = TicketEntity.builder()
                 .id(1L)
                 .branchId(1L)
@@ -75,9 +83,9 @@ class GetTicketByFolioUseCaseTest {
     @Test
     void execute_ShouldReturnTicket_WhenFolioExists() {
         // Arrange
-        when(ticketRepository.findByFolio("T-1-12345678")).thenReturn(Optional.of(ticket));
-        when(vehicleTypeRepository.findById(2)).thenReturn(Optional.of(vehicleType));
-        when(ticketStatusTypeRepository.findById(1)).thenReturn(Optional.of(status));
+        when(ticketRepository.findByBranchIdAndFolio(1L, "T-1-12345678")).thenReturn(Optional.of(ticket));
+        when(vehicleTypes.findById(2)).thenReturn(Optional.of(vehicleType));
+        when(ticketStatuses.findById(1)).thenReturn(Optional.of(status));
 
         // Act
         TicketResponse response = getTicketByFolioUseCase.execute("T-1-12345678");
@@ -86,6 +94,22 @@ class GetTicketByFolioUseCaseTest {
         assertThat(response).isNotNull();
         assertThat(response.getFolio()).isEqualTo("T-1-12345678");
         assertThat(response.getLicensePlate()).isEqualTo("ABC-123");
+        verify(ticketRepository, never()).findByFolio(anyString());
+    }
+
+    @Test
+    void execute_ShouldSearchWithoutBranch_WhenFolioDoesNotEncodeBranch() {
+        // Arrange
+        ticket.setFolio("CTR-003");
+        when(ticketRepository.findByFolio("CTR-003")).thenReturn(Optional.of(ticket));
+        when(vehicleTypes.findById(2)).thenReturn(Optional.of(vehicleType));
+        when(ticketStatuses.findById(1)).thenReturn(Optional.of(status));
+
+        // Act
+        TicketResponse response = getTicketByFolioUseCase.execute("CTR-003");
+
+        // Assert
+        assertThat(response.getFolio()).isEqualTo("CTR-003");
     }
 
     @Test
@@ -2,12 +2,11 @@ package com.ayd.parkcontrol.application.usecase.ticket;
 
 import com.ayd.parkcontrol.application.dto.response.ticket.TicketResponse;
 import com.ayd.parkcontrol.domain.exception.NotFoundException;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketStatusTypeEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.VehicleTypeEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketStatusTypeRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaVehicleTypeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,6 +19,7 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,10 +29,13 @@ class GetTicketByIdUseCaseTest {
     private JpaTicketRepository ticketRepository;
 
     @Mock
-    private JpaVehicleTypeRepository vehicleTypeRepository;
+    private CatalogCache.Catalog<VehicleTypeEntity> vehicleTypes;
 
     @Mock
-    private JpaTicketStatusTypeRepository ticketStatusTypeRepository;
+    private CatalogCache.Catalog<TicketStatusTypeEntity> ticketStatuses;
+
+    @Mock
+    private CatalogCache catalogCache;
 
     @InjectMocks
     private GetTicketByIdUseCase getTicketByIdUseCase;
@@ -43,6 +46,8 @@ class GetTicketByIdUseCaseTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(catalogCache.ticketStatuses()).thenReturn(ticketStatuses);
+        lenient().when(catalogCache.vehicleTypes()).thenReturn(vehicleTypes);
         ticket = TicketEntity.builder()
                 .id(1L)
                 .branchId(1L)
@@ -76,8 +81,8 @@ class GetTicketByIdUseCaseTest {
     void execute_ShouldReturnTicket_WhenTicketExists() {
         // Arrange
         when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
-        when(vehicleTypeRepository.findById(2)).thenReturn(Optional.of(vehicleType));
-        when(ticketStatusTypeRepository.findById(1)).thenReturn(Optional.of(status));
+        when(vehicleTypes.findById(2)).thenReturn(Optional.of(vehicleType));
+        when(ticketStatuses.findById(1)).thenReturn(Optional.of(status));
 
         // Act
         TicketResponse response = getTicketByIdUseCase.execute(1L);
@@ -106,7 +111,7 @@ class GetTicketByIdUseCaseTest {
     void execute_ShouldThrowNotFoundException_WhenVehicleTypeNotFound() {
         // Arrange
         when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
-        when(vehicleTypeRepository.findById(2)).thenReturn(Optional.empty());
+        when(vehicleTypes.findById(2)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> getTicketByIdUseCase.execute(1L))
@@ -1,6 +1,7 @@
 package com.ayd.parkcontrol.application.usecase.ticket;
 
 import com.ayd.parkcontrol.application.dto.response.ticket.TicketResponse;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.*;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +17,7 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,10 +27,13 @@ class GetTicketsByBranchUseCaseTest {
     private JpaTicketRepository ticketRepository;
 
     @Mock
-    private JpaVehicleTypeRepository vehicleTypeRepository;
+    private CatalogCache.Catalog<VehicleTypeEntity> vehicleTypes;
 
     @Mock
-    private JpaTicketStatusTypeRepository ticketStatusTypeRepository;
+    private CatalogCache.Catalog<TicketStatusTypeEntity> ticketStatuses;
+
+    @Mock
+    private CatalogCache catalogCache;
 
     @InjectMocks
     private GetTicketsByBranchUseCase getTicketsByBranchUseCase;
@@ -40,6 +45,8 @@ class GetTicketsByBranchUseCaseTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(catalogCache.ticketStatuses()).thenReturn(ticketStatuses);
+        lenient().when(catalogCache.vehicleTypes()).thenReturn(vehicleTypes);
         vehicleType = new VehicleTypeEntity();
         vehicleType.setId(1);
         vehicleType.setCode("MOTO");
@@ -75,8 +82,8 @@ class GetTicketsByBranchUseCaseTest {
     void execute_ShouldReturnTickets_WhenTicketsExist() {
         // Arrange
         when(ticketRepository.findByBranchIdOrderByEntryTimeDesc(1L)).thenReturn(Arrays.asList(ticket1, ticket2));
-        when(vehicleTypeRepository.findAll()).thenReturn(List.of(vehicleType));
-        when(ticketStatusTypeRepository.findAll()).thenReturn(List.of(statusType));
+        when(vehicleTypes.all()).thenReturn(List.of(vehicleType));
+        when(ticketStatuses.all()).thenReturn(List.of(statusType));
 
         // Act
         List<TicketResponse> result = getTicketsByBranchUseCase.execute(1L);
@@ -90,8 +97,8 @@ class GetTicketsByBranchUseCaseTest {
     void execute_ShouldReturnEmptyList_WhenNoTicketsExist() {
         // Arrange
         when(ticketRepository.findByBranchIdOrderByEntryTimeDesc(999L)).thenReturn(Collections.emptyList());
-        when(vehicleTypeRepository.findAll()).thenReturn(List.of(vehicleType));
-        when(ticketStatusTypeRepository.findAll()).thenReturn(List.of(statusType));
+        when(vehicleTypes.all()).thenReturn(List.of(vehicleType));
+        when(ticketStatuses.all()).thenReturn(List.of(statusType));
 
         // Act
         List<TicketResponse> result = getTicketsByBranchUseCase.execute(999L);
@@ -1,6 +1,7 @@
 package com.ayd.parkcontrol.application.usecase.ticket;
 
 import com.ayd.parkcontrol.application.dto.response.ticket.TicketResponse;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.*;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +17,7 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,10 +27,13 @@ class GetTicketsByPlateUseCaseTest {
     private JpaTicketRepository ticketRepository;
 
     @Mock
-    private JpaVehicleTypeRepository vehicleTypeRepository;
+    private CatalogCache.Catalog<VehicleTypeEntity> vehicleTypes;
 
     @Mock
-    private JpaTicketStatusTypeRepository ticketStatusTypeRepository;
+    private CatalogCache.Catalog<TicketStatusTypeEntity> ticketStatuses;
+
+    @Mock
+    private CatalogCache catalogCache;
 
     @InjectMocks
     private GetTicketsByPlateUseCase getTicketsByPlateUseCase;
@@ -40,6 +45,8 @@ class GetTicketsByPlateUseCaseTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(catalogCache.ticketStatuses()).thenReturn(ticketStatuses);
+        lenient().when(catalogCache.vehicleTypes()).thenReturn(vehicleTypes);
         vehicleType = new VehicleTypeEntity();
         vehicleType.setId(1);
         vehicleType.setCode("MOTO");
@@ -77,8 +84,8 @@ class GetTicketsByPlateUseCaseTest {
         // Arrange
         when(ticketRepository.findByLicensePlateOrderByEntryTimeDesc("ABC-123"))
                 .thenReturn(Arrays.asList(ticket1, ticket2));
-        when(vehicleTypeRepository.findAll()).thenReturn(List.of(vehicleType));
-        when(ticketStatusTypeRepository.findAll()).thenReturn(List.of(statusType));
+        when(vehicleTypes.all()).thenReturn(List.of(vehicleType));
+        when(ticketStatuses.all()).thenReturn(List.of(statusType));
 
         // Act
         List<TicketResponse> result = getTicketsByPlateUseCase.execute("ABC-123");
@@ -92,8 +99,8 @@ class GetTicketsByPlateUseCaseTest {
     void execute_ShouldReturnEmptyList_WhenNoTicketsExist() {
         // Arrange
         when(ticketRepository.findByLicensePlateOrderByEntryTimeDesc("XYZ-999")).thenReturn(Collections.emptyList());
-        when(vehicleTypeRepository.findAll()).thenReturn(List.of(vehicleType));
-        when(ticketStatusTypeRepository.findAll()).thenReturn(List.of(statusType));
+        when(vehicleTypes.all()).thenReturn(List.of(vehicleType));
+        when(ticketStatuses.all()).thenReturn(List.of(statusType));
 
         // Act
         List<TicketResponse> result = getTicketsByPlateUseCase.execute("XYZ-999");
@@ -0,0 +1,260 @@
+package com.ayd.parkcontrol.application.usecase.ticket;
+
+import com.ayd.parkcontrol.application.dto.request.ticket.GateEventBatchRequest;
+import com.ayd.parkcontrol.application.dto.request.ticket.GateEventRequest;
+import com.ayd.parkcontrol.application.dto.response.ticket.GateEventBatchResponse;
+import com.ayd.parkcontrol.application.dto.response.ticket.GateEventResult;
+import com.ayd.parkcontrol.application.dto.response.ticket.TicketResponse;
+import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
+import com.ayd.parkcontrol.infrastructure.cache.GateEventRegistry;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketStatusTypeEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IngestGateEventsUseCaseTest {
+
+    @Mock
+    private RegisterVehicleEntryUseCase registerVehicleEntryUseCase;
+
+    @Mock
+    private ProcessVehicleExitUseCase processVehicleExitUseCase;
+
+    @Mock
+    private JpaTicketRepository ticketRepository;
+
+    @Mock
+    private CatalogCache catalogCache;
+
+    @Mock
+    private CatalogCache.Catalog<TicketStatusTypeEntity> ticketStatuses;
+
+    @Mock
+    private GateEventRegistry gateEventRegistry;
+
+    @InjectMocks
+    private IngestGateEventsUseCase ingestGateEventsUseCase;
+
+    private TicketEntity ticket;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(catalogCache.ticketStatuses()).thenReturn(ticketStatuses);
+        lenient().when(gateEventRegistry.claim(any(), any())).thenReturn(GateEventRegistry.Claim.claimed());
+        ticket = TicketEntity.builder().id(10L).branchId(1L).folio("T-1-00000010").licensePlate("ABC-123").build();
+    }
+
+    @Test
+    void execute_ShouldGroupConsecutiveEntries_AndProcessExitsInOrder() {
+        // Arrange
+        GateEventRequest entry1 = entry("e1", "ABC-123");
+        GateEventRequest entry2 = entry("e2", "XYZ-789");
+        GateEventRequest exit = GateEventRequest.builder().clientEventId("x1").type(GateEventRequest.EXIT)
+                .branchId(1L).ticketId(10L).build();
+        GateEventRequest entry3 = entry("e3", "DEF-456");
+
+        when(registerVehicleEntryUseCase.executeBatch(List.of(entry1, entry2), 0)).thenReturn(List.of(
+                accepted(0, "e1"), accepted(1, "e2")));
+        when(registerVehicleEntryUseCase.executeBatch(List.of(entry3), 3)).thenReturn(List.of(accepted(3, "e3")));
+        when(ticketRepository.findById(10L)).thenReturn(Optional.of(ticket));
+        when(processVehicleExitUseCase.execute(eq(10L), any(LocalDateTime.class)))
+                .thenReturn(TicketResponse.builder().id(10L).folio("T-1-00000010").build());
+
+        // Act
+        GateEventBatchResponse response = ingestGateEventsUseCase.execute(GateEventBatchRequest.builder()
+                .events(List.of(entry1, entry2, exit, entry3))
+                .build());
+
+        // Assert
+        assertThat(response.getTotal()).isEqualTo(4);
+        assertThat(response.getAccepted()).isEqualTo(4);
+        assertThat(response.getResults()).extracting(GateEventResult::getIndex).containsExactly(0, 1, 2, 3);
+        assertThat(response.getResults().get(2).getFolio()).isEqualTo("T-1-00000010");
+    }
+
+    @Test
+    void execute_ShouldUseEventTime_ForReplayedExit() {
+        // Arrange
+        LocalDateTime occurredAt = LocalDateTime.now().minusHours(1);
+        GateEventRequest exit = GateEventRequest.builder().type(GateEventRequest.EXIT).branchId(1L)
+                .folio("T-1-00000010").occurredAt(occurredAt).build();
+        when(ticketRepository.findByBranchIdAndFolio(1L, "T-1-00000010")).thenReturn(Optional.of(ticket));
+        when(processVehicleExitUseCase.execute(10L, occurredAt))
+                .thenReturn(TicketResponse.builder().id(10L).build());
+
+        // Act
+        GateEventBatchResponse response = ingestGateEventsUseCase.execute(GateEventBatchRequest.builder()
+                .events(List.of(exit))
+                .build());
+
+        // Assert
+        assertThat(response.getAccepted()).isEqualTo(1);
+        verify(processVehicleExitUseCase).execute(10L, occurredAt);
+    }
+
+    @Test
+    void execute_ShouldResolveExitByActivePlate() {
+        // Arrange
+        TicketStatusTypeEntity inProgress = TicketStatusTypeEntity.builder().id(1).code("IN_PROGRESS").build();
+        GateEventRequest exit = GateEventRequest.builder().type(GateEventRequest.EXIT).branchId(1L)
+                .licensePlate("abc-123").build();
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgress));
+        when(ticketRepository.findFirstByBranchIdAndLicensePlateAndStatusTypeIdOrderByEntryTimeDesc(1L, "ABC-123", 1))
+                .thenReturn(Optional.of(ticket));
+        when(processVehicleExitUseCase.execute(eq(10L), any(LocalDateTime.class)))
+                .thenReturn(TicketResponse.builder().id(10L).build());
+
+        // Act
+        GateEventBatchResponse response = ingestGateEventsUseCase.execute(GateEventBatchRequest.builder()
+                .events(List.of(exit))
+                .build());
+
+        // Assert
+        assertThat(response.getResults().get(0).getTicketId()).isEqualTo(10L);
+    }
+
+    @Test
+    void execute_ShouldRejectExit_WhenTicketBelongsToAnotherBranch() {
+        // Arrange
+        GateEventRequest exit = GateEventRequest.builder().type(GateEventRequest.EXIT).branchId(2L)
+                .ticketId(10L).build();
+        when(ticketRepository.findById(10L)).thenReturn(Optional.of(ticket));
+
+        // Act
+        GateEventBatchResponse response = ingestGateEventsUseCase.execute(GateEventBatchRequest.builder()
+                .events(List.of(exit))
+                .build());
+
+        // Assert
+        assertThat(response.getRejected()).isEqualTo(1);
+        assertThat(response.getResults().get(0).getError()).contains("does not belong to branch 2");
+        verify(processVehicleExitUseCase, never()).execute(any(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void execute_ShouldReportExitFailure_WithoutStoppingBatch() {
+        // Arrange
+        GateEventRequest exit = GateEventRequest.builder().clientEventId("x1").type(GateEventRequest.EXIT)
+                .branchId(1L).ticketId(10L).build();
+        GateEventRequest entry = entry("e1", "XYZ-789");
+        when(ticketRepository.findById(10L)).thenReturn(Optional.of(ticket));
+        when(processVehicleExitUseCase.execute(eq(10L), any(LocalDateTime.class)))
+                .thenThrow(new BusinessRuleException("Ticket already has an exit time registered"));
+        when(registerVehicleEntryUseCase.executeBatch(List.of(entry), 1)).thenReturn(List.of(accepted(1, "e1")));
+
+        // Act
+        GateEventBatchResponse response = ingestGateEventsUseCase.execute(GateEventBatchRequest.builder()
+                .events(List.of(exit, entry))
+                .build());
+
+        // Assert
+        assertThat(response.getResults()).extracting(GateEventResult::getStatus)
+                .containsExactly(GateEventResult.REJECTED, GateEventResult.ACCEPTED);
+        assertThat(response.getResults().get(0).getClientEventId()).isEqualTo("x1");
+    }
+
+    @Test
+    void execute_ShouldRetryEntriesOneByOne_WhenBatchCannotBeSaved() {
+        // Arrange
+        GateEventRequest entry1 = entry("e1", "ABC-123");
+        GateEventRequest entry2 = entry("e2", "XYZ-789");
+        when(registerVehicleEntryUseCase.executeBatch(List.of(entry1, entry2), 0))
+                .thenThrow(new DataIntegrityViolationException("Fuera del horario de operacion"));
+        when(registerVehicleEntryUseCase.executeBatch(List.of(entry1), 0)).thenReturn(List.of(accepted(0, "e1")));
+        when(registerVehicleEntryUseCase.executeBatch(List.of(entry2), 1))
+                .thenThrow(new DataIntegrityViolationException("Fuera del horario de operacion"));
+
+        // Act
+        GateEventBatchResponse response = ingestGateEventsUseCase.execute(GateEventBatchRequest.builder()
+                .events(List.of(entry1, entry2))
+                .build());
+
+        // Assert
+        assertThat(response.getResults()).extracting(GateEventResult::getStatus)
+                .containsExactly(GateEventResult.ACCEPTED, GateEventResult.REJECTED);
+        assertThat(response.getResults()).extracting(GateEventResult::getClientEventId).containsExactly("e1", "e2");
+        assertThat(response.getResults().get(1).getError()).contains("Fuera del horario");
+        verify(gateEventRegistry).complete(eq(1L), eq("e1"), any(), any());
+        verify(gateEventRegistry).release(1L, "e2");
+    }
+
+    @Test
+    void execute_ShouldReturnOriginalTicket_WhenEventWasAlreadyProcessed() {
+        // Arrange
+        GateEventRequest replayed = entry("e1", "ABC-123");
+        GateEventRequest fresh = entry("e2", "XYZ-789");
+        when(gateEventRegistry.claim(1L, "e1")).thenReturn(GateEventRegistry.Claim.processed(10L, "T-1-00000010"));
+        when(registerVehicleEntryUseCase.executeBatch(List.of(fresh), 1)).thenReturn(List.of(accepted(1, "e2")));
+
+        // Act
+        GateEventBatchResponse response = ingestGateEventsUseCase.execute(GateEventBatchRequest.builder()
+                .events(List.of(replayed, fresh))
+                .build());
+
+        // Assert
+        assertThat(response.getAccepted()).isEqualTo(2);
+        assertThat(response.getResults().get(0).getTicketId()).isEqualTo(10L);
+        assertThat(response.getResults().get(0).getFolio()).isEqualTo("T-1-00000010");
+        verify(registerVehicleEntryUseCase, never()).executeBatch(eq(List.of(replayed, fresh)), anyInt());
+        verify(gateEventRegistry, never()).complete(eq(1L), eq("e1"), any(), any());
+    }
+
+    @Test
+    void execute_ShouldRejectEvent_WhenItIsBeingProcessedByAnotherRequest() {
+        // Arrange
+        GateEventRequest entry = entry("e1", "ABC-123");
+        when(gateEventRegistry.claim(1L, "e1")).thenReturn(GateEventRegistry.Claim.inProgress());
+
+        // Act
+        GateEventBatchResponse response = ingestGateEventsUseCase.execute(GateEventBatchRequest.builder()
+                .events(List.of(entry))
+                .build());
+
+        // Assert
+        assertThat(response.getRejected()).isEqualTo(1);
+        assertThat(response.getResults().get(0).getError()).contains("already being processed");
+        verify(registerVehicleEntryUseCase, never()).executeBatch(anyList(), anyInt());
+        verify(gateEventRegistry, never()).release(any(), any());
+    }
+
+    private GateEventRequest entry(String clientEventId, String licensePlate) {
+        return GateEventRequest.builder()
+                .clientEventId(clientEventId)
+                .type(GateEventRequest.ENTRY)
+                .branchId(1L)
+                .licensePlate(licensePlate)
+                .vehicleTypeId(2)
+                .build();
+    }
+
+    private GateEventResult accepted(int index, String clientEventId) {
+        return GateEventResult.builder()
+                .index(index)
+                .clientEventId(clientEventId)
+                .type(GateEventRequest.ENTRY)
+                .status(GateEventResult.ACCEPTED)
+                .build();
+    }
+}
@@ -4,6 +4,8 @@ import com.ayd.parkcontrol.application.dto.response.ticket.TicketChargeResponse;
 import com.ayd.parkcontrol.application.dto.response.ticket.TicketResponse;
 import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
 import com.ayd.parkcontrol.domain.exception.NotFoundException;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
+import com.ayd.parkcontrol.infrastructure.cache.RedisOccupancyService;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.*;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +15,8 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -29,10 +33,10 @@ class ProcessVehicleExitUseCaseTest {
     private JpaTicketRepository ticketRepository;
 
     @Mock
-    private JpaTicketStatusTypeRepository ticketStatusTypeRepository;
+    private CatalogCache.Catalog<TicketStatusTypeEntity> ticketStatuses;
 
     @Mock
-    private JpaVehicleTypeRepository vehicleTypeRepository;
+    private CatalogCache.Catalog<VehicleTypeEntity> vehicleTypes;
 
     @Mock
     private JpaTicketChargeRepository ticketChargeRepository;
@@ -43,6 +47,15 @@ class ProcessVehicleExitUseCaseTest {
     @Mock
     private CalculateTicketChargeUseCase calculateTicketChargeUseCase;
 
+    @Mock
+    private RedisOccupancyService redisOccupancyService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CatalogCache catalogCache;
+
     @InjectMocks
     private ProcessVehicleExitUseCase processVehicleExitUseCase;
 
@@ -54,6 +67,8 @@ class ProcessVehicleExitUseCaseTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(catalogCache.ticketStatuses()).thenReturn(ticketStatuses);
+        lenient().when(catalogCache.vehicleTypes()).thenReturn(vehicleTypes);
         // Status IN_PROGRESS
         inProgressStatus = new TicketStatusTypeEntity();
         inProgressStatus.setId(1);
@@ -106,12 +121,12 @@ class ProcessVehicleExitUseCaseTest {
     void execute_ShouldProcessExitSuccessfully_ForNonSubscriber() {
         // Arrange
         when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
-        when(ticketStatusTypeRepository.findByCode("COMPLETED")).thenReturn(Optional.of(completedStatus));
-        when(calculateTicketChargeUseCase.execute(1L)).thenReturn(chargeResponse);
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
+        when(ticketStatuses.findByCode("COMPLETED")).thenReturn(Optional.of(completedStatus));
+        when(calculateTicketChargeUseCase.calculate(any(TicketEntity.class), any())).thenReturn(chargeResponse);
         when(ticketChargeRepository.save(any(TicketChargeEntity.class))).thenReturn(new TicketChargeEntity());
         when(ticketRepository.save(any(TicketEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(vehicleTypeRepository.findById(1)).thenReturn(Optional.of(vehicleType));
+        when(vehicleTypes.findById(1)).thenReturn(Optional.of(vehicleType));
 
         // Act
         TicketResponse result = processVehicleExitUseCase.execute(1L);
@@ -151,14 +166,14 @@ class ProcessVehicleExitUseCaseTest {
                 .build();
 
         when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
-        when(ticketStatusTypeRepository.findByCode("COMPLETED")).thenReturn(Optional.of(completedStatus));
-        when(calculateTicketChargeUseCase.execute(1L)).thenReturn(chargeResponse);
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
+        when(ticketStatuses.findByCode("COMPLETED")).thenReturn(Optional.of(completedStatus));
+        when(calculateTicketChargeUseCase.calculate(any(TicketEntity.class), any())).thenReturn(chargeResponse);
         when(subscriptionRepository.findById(1L)).thenReturn(Optional.of(subscription));
         when(ticketChargeRepository.save(any(TicketChargeEntity.class))).thenReturn(new TicketChargeEntity());
         when(subscriptionRepository.save(any(SubscriptionEntity.class))).thenReturn(subscription);
         when(ticketRepository.save(any(TicketEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(vehicleTypeRepository.findById(1)).thenReturn(Optional.of(vehicleType));
+        when(vehicleTypes.findById(1)).thenReturn(Optional.of(vehicleType));
 
         // Act
         TicketResponse result = processVehicleExitUseCase.execute(1L);
@@ -174,6 +189,8 @@ class ProcessVehicleExitUseCaseTest {
 
         SubscriptionEntity savedSubscription = subscriptionCaptor.getValue();
         assertEquals(BigDecimal.valueOf(8.0), savedSubscription.getConsumedHours());
+        verify(calculateTicketChargeUseCase).calculate(ticket, subscription);
+        verify(subscriptionRepository, times(1)).findById(1L);
     }
 
     @Test
@@ -191,7 +208,7 @@ class ProcessVehicleExitUseCaseTest {
         ticket.setStatusTypeId(2); // Already completed
 
         when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
 
         // Act & Assert
         assertThrows(BusinessRuleException.class, () -> processVehicleExitUseCase.execute(1L));
@@ -203,17 +220,28 @@ class ProcessVehicleExitUseCaseTest {
         ticket.setExitTime(LocalDateTime.now());
 
         when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
 
         // Act & Assert
         assertThrows(BusinessRuleException.class, () -> processVehicleExitUseCase.execute(1L));
     }
 
+    @Test
+    void execute_ShouldThrowBusinessRuleException_WhenExitTimeIsBeforeEntry() {
+        // Arrange
+        when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
+
+        // Act & Assert
+        assertThrows(BusinessRuleException.class,
+                () -> processVehicleExitUseCase.execute(1L, ticket.getEntryTime().minusMinutes(1)));
+    }
+
     @Test
     void execute_ShouldThrowNotFoundException_WhenInProgressStatusNotFound() {
         // Arrange
         when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS")).thenReturn(Optional.empty());
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(NotFoundException.class, () -> processVehicleExitUseCase.execute(1L));
@@ -223,10 +251,10 @@ class ProcessVehicleExitUseCaseTest {
     void execute_ShouldThrowNotFoundException_WhenCompletedStatusNotFound() {
         // Arrange
         when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
-        when(calculateTicketChargeUseCase.execute(1L)).thenReturn(chargeResponse);
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
+        when(calculateTicketChargeUseCase.calculate(any(TicketEntity.class), any())).thenReturn(chargeResponse);
         when(ticketChargeRepository.save(any(TicketChargeEntity.class))).thenReturn(new TicketChargeEntity());
-        when(ticketStatusTypeRepository.findByCode("COMPLETED")).thenReturn(Optional.empty());
+        when(ticketStatuses.findByCode("COMPLETED")).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(NotFoundException.class, () -> processVehicleExitUseCase.execute(1L));
@@ -239,9 +267,7 @@ class ProcessVehicleExitUseCaseTest {
         ticket.setSubscriptionId(999L);
 
         when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
-        when(calculateTicketChargeUseCase.execute(1L)).thenReturn(chargeResponse);
-        when(ticketChargeRepository.save(any(TicketChargeEntity.class))).thenReturn(new TicketChargeEntity());
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
         when(subscriptionRepository.findById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
@@ -252,12 +278,12 @@ class ProcessVehicleExitUseCaseTest {
     void execute_ShouldSaveChargeEntity_WithCorrectValues() {
         // Arrange
         when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
-        when(ticketStatusTypeRepository.findByCode("COMPLETED")).thenReturn(Optional.of(completedStatus));
-        when(calculateTicketChargeUseCase.execute(1L)).thenReturn(chargeResponse);
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
+        when(ticketStatuses.findByCode("COMPLETED")).thenReturn(Optional.of(completedStatus));
+        when(calculateTicketChargeUseCase.calculate(any(TicketEntity.class), any())).thenReturn(chargeResponse);
         when(ticketChargeRepository.save(any(TicketChargeEntity.class))).thenReturn(new TicketChargeEntity());
         when(ticketRepository.save(any(TicketEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(vehicleTypeRepository.findById(1)).thenReturn(Optional.of(vehicleType));
+        when(vehicleTypes.findById(1)).thenReturn(Optional.of(vehicleType));
 
         // Act
         processVehicleExitUseCase.execute(1L);
@@ -271,4 +297,39 @@ class ProcessVehicleExitUseCaseTest {
         assertEquals(BigDecimal.valueOf(3.0), savedCharge.getTotalHours());
         assertEquals(BigDecimal.valueOf(45.0), savedCharge.getTotalAmount());
     }
+
+    @Test
+    void execute_ShouldReleaseRedisSpace_WhenRedisAdmissionEnabled() {
+        // Arrange
+        ReflectionTestUtils.setField(processVehicleExitUseCase, "redisAdmissionEnabled", true);
+        when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
+        when(ticketStatuses.findByCode("COMPLETED")).thenReturn(Optional.of(completedStatus));
+        when(calculateTicketChargeUseCase.calculate(any(TicketEntity.class), any())).thenReturn(chargeResponse);
+        when(ticketRepository.save(any(TicketEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(vehicleTypes.findById(1)).thenReturn(Optional.of(vehicleType));
+
+        // Act
+        processVehicleExitUseCase.execute(1L);
+
+        // Assert
+        verify(redisOccupancyService).releaseSpaceAfterCommit(1L, "MOTO");
+    }
+
+    @Test
+    void execute_ShouldNotTouchRedis_WhenRedisAdmissionDisabled() {
+        // Arrange
+        when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
+        when(ticketStatuses.findByCode("COMPLETED")).thenReturn(Optional.of(completedStatus));
+        when(calculateTicketChargeUseCase.calculate(any(TicketEntity.class), any())).thenReturn(chargeResponse);
+        when(ticketRepository.save(any(TicketEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(vehicleTypes.findById(1)).thenReturn(Optional.of(vehicleType));
+
+        // Act
+        processVehicleExitUseCase.execute(1L);
+
+        // Assert
+        verifyNoInteractions(redisOccupancyService);
+    }
 }
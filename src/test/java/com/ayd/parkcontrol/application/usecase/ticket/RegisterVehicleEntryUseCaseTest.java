@@ -1,10 +1,18 @@
 package com.ayd.parkcontrol.application.usecase.ticket;
 
+import com.ayd.parkcontrol.application.dto.request.ticket.GateEventRequest;
 import com.ayd.parkcontrol.application.dto.request.ticket.RegisterEntryRequest;
+import com.ayd.parkcontrol.application.dto.response.ticket.GateEventResult;
 import com.ayd.parkcontrol.application.dto.response.ticket.TicketResponse;
+import com.ayd.parkcontrol.application.event.TicketEntryRegisteredEvent;
+import com.ayd.parkcontrol.application.service.TicketFolioAllocator;
 import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
 import com.ayd.parkcontrol.domain.exception.InsufficientCapacityException;
 import com.ayd.parkcontrol.domain.exception.NotFoundException;
+import com.ayd.parkcontrol.infrastructure.cache.ActivePlateIndex;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
+import com.ayd.parkcontrol.infrastructure.cache.RedisOccupancyService;
+import com.ayd.parkcontrol.infrastructure.cache.model.ActivePlate;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.*;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,9 +21,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -33,13 +48,28 @@ class RegisterVehicleEntryUseCaseTest {
     private JpaBranchRepository branchRepository;
 
     @Mock
-    private JpaVehicleTypeRepository vehicleTypeRepository;
+    private CatalogCache.Catalog<VehicleTypeEntity> vehicleTypes;
 
     @Mock
     private JpaSubscriptionRepository subscriptionRepository;
 
     @Mock
-    private JpaTicketStatusTypeRepository ticketStatusTypeRepository;
+    private CatalogCache.Catalog<TicketStatusTypeEntity> ticketStatuses;
+
+    @Mock
+    private RedisOccupancyService redisOccupancyService;
+
+    @Mock
+    private ActivePlateIndex activePlateIndex;
+
+    @Mock
+    private TicketFolioAllocator ticketFolioAllocator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CatalogCache catalogCache;
 
     @InjectMocks
     private RegisterVehicleEntryUseCase registerVehicleEntryUseCase;
@@ -51,6 +81,8 @@ class RegisterVehicleEntryUseCaseTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(catalogCache.ticketStatuses()).thenReturn(ticketStatuses);
+        lenient().when(catalogCache.vehicleTypes()).thenReturn(vehicleTypes);
         request = RegisterEntryRequest.builder()
                 .branchId(1L)
                 .licensePlate("ABC-123")
@@ -61,8 +93,8 @@ class RegisterVehicleEntryUseCaseTest {
                 .id(1L)
                 .name("Branch Centro")
                 .address("Address 1")
-                .openingTime(LocalTime.of(8, 0))
-                .closingTime(LocalTime.of(20, 0))
+                .openingTime(LocalTime.MIN)
+                .closingTime(LocalTime.MAX)
                 .capacity2r(50)
                 .capacity4r(100)
                 .ratePerHour(BigDecimal.valueOf(10.00))
@@ -86,11 +118,12 @@ class RegisterVehicleEntryUseCaseTest {
     void execute_ShouldRegisterEntry_WhenDataIsValid() {
         // Arrange
         when(branchRepository.findById(1L)).thenReturn(Optional.of(branch));
-        when(vehicleTypeRepository.findById(2)).thenReturn(Optional.of(vehicleType));
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
+        when(vehicleTypes.findById(2)).thenReturn(Optional.of(vehicleType));
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
         when(ticketRepository.countActiveTicketsByBranchAndVehicleType(1L, 2, 1)).thenReturn(50L);
         when(ticketRepository.existsActiveTicketForPlateInBranch(anyString(), eq(1L), eq(1))).thenReturn(false);
         when(subscriptionRepository.findActiveLicensePlateSubscription(anyString())).thenReturn(Optional.empty());
+        when(ticketFolioAllocator.nextFolio(1L)).thenReturn("T-1-00000001");
 
         TicketEntity savedTicket = TicketEntity.builder()
                 .id(1L)
@@ -117,6 +150,7 @@ class RegisterVehicleEntryUseCaseTest {
         assertThat(response.getIsSubscriber()).isFalse();
 
         verify(ticketRepository, times(1)).save(any(TicketEntity.class));
+        verify(ticketRepository).save(argThat(ticket -> "T-1-00000001".equals(ticket.getFolio())));
     }
 
     @Test
@@ -146,7 +180,7 @@ class RegisterVehicleEntryUseCaseTest {
     void execute_ShouldThrowNotFoundException_WhenVehicleTypeNotFound() {
         // Arrange
         when(branchRepository.findById(1L)).thenReturn(Optional.of(branch));
-        when(vehicleTypeRepository.findById(2)).thenReturn(Optional.empty());
+        when(vehicleTypes.findById(2)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> registerVehicleEntryUseCase.execute(request))
@@ -158,8 +192,8 @@ class RegisterVehicleEntryUseCaseTest {
     void execute_ShouldThrowInsufficientCapacityException_WhenBranchIsFull() {
         // Arrange
         when(branchRepository.findById(1L)).thenReturn(Optional.of(branch));
-        when(vehicleTypeRepository.findById(2)).thenReturn(Optional.of(vehicleType));
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
+        when(vehicleTypes.findById(2)).thenReturn(Optional.of(vehicleType));
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
         when(ticketRepository.countActiveTicketsByBranchAndVehicleType(1L, 2, 1)).thenReturn(100L);
 
         // Act & Assert
@@ -172,9 +206,8 @@ class RegisterVehicleEntryUseCaseTest {
     void execute_ShouldThrowBusinessRuleException_WhenVehicleAlreadyHasActiveTicket() {
         // Arrange
         when(branchRepository.findById(1L)).thenReturn(Optional.of(branch));
-        when(vehicleTypeRepository.findById(2)).thenReturn(Optional.of(vehicleType));
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
-        when(ticketRepository.countActiveTicketsByBranchAndVehicleType(1L, 2, 1)).thenReturn(50L);
+        when(vehicleTypes.findById(2)).thenReturn(Optional.of(vehicleType));
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
         when(ticketRepository.existsActiveTicketForPlateInBranch(anyString(), eq(1L), eq(1))).thenReturn(true);
 
         // Act & Assert
@@ -183,6 +216,52 @@ class RegisterVehicleEntryUseCaseTest {
                 .hasMessageContaining("already has an active ticket");
     }
 
+    @Test
+    void execute_ShouldUseActivePlateIndex_WhenIndexIsReady() {
+        // Arrange
+        when(branchRepository.findById(1L)).thenReturn(Optional.of(branch));
+        when(vehicleTypes.findById(2)).thenReturn(Optional.of(vehicleType));
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
+        when(ticketRepository.countActiveTicketsByBranchAndVehicleType(1L, 2, 1)).thenReturn(50L);
+        when(activePlateIndex.find("ABC-123")).thenReturn(Optional.of(ActivePlate.builder()
+                .licensePlate("ABC-123")
+                .subscriptionId(7L)
+                .subscriptionEndDate(LocalDateTime.now().plusDays(10))
+                .build()));
+        when(ticketRepository.save(any(TicketEntity.class))).thenAnswer(invocation -> {
+            TicketEntity ticket = invocation.getArgument(0);
+            ticket.setId(1L);
+            return ticket;
+        });
+
+        // Act
+        TicketResponse response = registerVehicleEntryUseCase.execute(request);
+
+        // Assert
+        assertThat(response.getIsSubscriber()).isTrue();
+        assertThat(response.getSubscriptionId()).isEqualTo(7L);
+        verify(ticketRepository, never()).existsActiveTicketForPlateInBranch(anyString(), anyLong(), anyInt());
+        verify(subscriptionRepository, never()).findActiveLicensePlateSubscription(anyString());
+    }
+
+    @Test
+    void execute_ShouldRejectEntry_WhenIndexHasOpenTicketInBranch() {
+        // Arrange
+        when(branchRepository.findById(1L)).thenReturn(Optional.of(branch));
+        when(vehicleTypes.findById(2)).thenReturn(Optional.of(vehicleType));
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
+        when(activePlateIndex.find("ABC-123")).thenReturn(Optional.of(ActivePlate.builder()
+                .licensePlate("ABC-123")
+                .openTickets(Map.of(1L, 99L))
+                .build()));
+
+        // Act & Assert
+        assertThatThrownBy(() -> registerVehicleEntryUseCase.execute(request))
+                .isInstanceOf(BusinessRuleException.class)
+                .hasMessageContaining("already has an active ticket");
+        verify(ticketRepository, never()).existsActiveTicketForPlateInBranch(anyString(), anyLong(), anyInt());
+    }
+
     @Test
     void execute_ShouldRegisterEntryWithSubscription_WhenVehicleHasActiveSubscription() {
         // Arrange
@@ -192,8 +271,8 @@ class RegisterVehicleEntryUseCaseTest {
                 .build();
 
         when(branchRepository.findById(1L)).thenReturn(Optional.of(branch));
-        when(vehicleTypeRepository.findById(2)).thenReturn(Optional.of(vehicleType));
-        when(ticketStatusTypeRepository.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
+        when(vehicleTypes.findById(2)).thenReturn(Optional.of(vehicleType));
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
         when(ticketRepository.countActiveTicketsByBranchAndVehicleType(1L, 2, 1)).thenReturn(50L);
         when(ticketRepository.existsActiveTicketForPlateInBranch(anyString(), eq(1L), eq(1))).thenReturn(false);
         when(subscriptionRepository.findActiveLicensePlateSubscription(anyString()))
@@ -224,4 +303,186 @@ class RegisterVehicleEntryUseCaseTest {
 
         verify(ticketRepository, times(1)).save(any(TicketEntity.class));
     }
+
+    @Test
+    void execute_ShouldReserveSpaceInRedis_WhenRedisAdmissionEnabled() {
+        // Arrange
+        ReflectionTestUtils.setField(registerVehicleEntryUseCase, "redisAdmissionEnabled", true);
+        when(branchRepository.findById(1L)).thenReturn(Optional.of(branch));
+        when(vehicleTypes.findById(2)).thenReturn(Optional.of(vehicleType));
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
+        when(redisOccupancyService.tryReserveSpace(1L, "4R", 100)).thenReturn(true);
+        when(ticketRepository.existsActiveTicketForPlateInBranch(anyString(), eq(1L), eq(1))).thenReturn(false);
+        when(subscriptionRepository.findActiveLicensePlateSubscription(anyString())).thenReturn(Optional.empty());
+        when(ticketRepository.save(any(TicketEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        TicketResponse response = registerVehicleEntryUseCase.execute(request);
+
+        // Assert
+        assertThat(response).isNotNull();
+        verify(redisOccupancyService).releaseSpaceOnRollback(1L, "4R");
+        verify(ticketRepository, never()).countActiveTicketsByBranchAndVehicleType(any(), any(), any());
+    }
+
+    @Test
+    void execute_ShouldThrowInsufficientCapacityException_WhenRedisReservationFails() {
+        // Arrange
+        ReflectionTestUtils.setField(registerVehicleEntryUseCase, "redisAdmissionEnabled", true);
+        when(branchRepository.findById(1L)).thenReturn(Optional.of(branch));
+        when(vehicleTypes.findById(2)).thenReturn(Optional.of(vehicleType));
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
+        when(redisOccupancyService.tryReserveSpace(1L, "4R", 100)).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> registerVehicleEntryUseCase.execute(request))
+                .isInstanceOf(InsufficientCapacityException.class)
+                .hasMessageContaining("Insufficient capacity");
+
+        verify(redisOccupancyService, never()).releaseSpaceOnRollback(any(), any());
+        verify(ticketRepository, never()).save(any(TicketEntity.class));
+    }
+
+    @Test
+    void execute_ShouldFallBackToDatabaseCount_WhenRedisIsUnavailable() {
+        // Arrange
+        ReflectionTestUtils.setField(registerVehicleEntryUseCase, "redisAdmissionEnabled", true);
+        when(branchRepository.findById(1L)).thenReturn(Optional.of(branch));
+        when(vehicleTypes.findById(2)).thenReturn(Optional.of(vehicleType));
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
+        when(redisOccupancyService.tryReserveSpace(1L, "4R", 100))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        when(ticketRepository.countActiveTicketsByBranchAndVehicleType(1L, 2, 1)).thenReturn(100L);
+
+        // Act & Assert
+        assertThatThrownBy(() -> registerVehicleEntryUseCase.execute(request))
+                .isInstanceOf(InsufficientCapacityException.class);
+
+        verify(ticketRepository).countActiveTicketsByBranchAndVehicleType(1L, 2, 1);
+    }
+
+    @Test
+    void executeBatch_ShouldSaveAcceptedEntriesTogether_AndReportRejectedOnes() {
+        // Arrange
+        when(branchRepository.findById(1L)).thenReturn(Optional.of(branch));
+        when(vehicleTypes.findById(2)).thenReturn(Optional.of(vehicleType));
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
+        when(ticketRepository.countActiveTicketsByBranchAndVehicleType(1L, 2, 1)).thenReturn(50L);
+        when(ticketRepository.existsActiveTicketForPlateInBranch(anyString(), eq(1L), eq(1))).thenReturn(false);
+        when(subscriptionRepository.findActiveLicensePlateSubscription(anyString())).thenReturn(Optional.empty());
+        when(ticketFolioAllocator.nextFolio(1L)).thenReturn("T-1-00000001", "T-1-00000002");
+        when(ticketRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<TicketEntity> tickets = invocation.getArgument(0);
+            long id = 1;
+            for (TicketEntity ticket : tickets) {
+                ticket.setId(id++);
+            }
+            return tickets;
+        });
+
+        LocalDateTime occurredAt = LocalDateTime.now().minusMinutes(30);
+        List<GateEventRequest> events = List.of(
+                entryEvent("e1", "ABC-123", occurredAt),
+                entryEvent("e2", "ABC-123", occurredAt),
+                entryEvent("e3", "XYZ-789", null),
+                GateEventRequest.builder().clientEventId("e4").type(GateEventRequest.ENTRY).branchId(1L).build());
+
+        // Act
+        List<GateEventResult> results = registerVehicleEntryUseCase.executeBatch(events, 5);
+
+        // Assert
+        assertThat(results).extracting(GateEventResult::getStatus).containsExactly(
+                GateEventResult.ACCEPTED, GateEventResult.REJECTED, GateEventResult.ACCEPTED,
+                GateEventResult.REJECTED);
+        assertThat(results).extracting(GateEventResult::getIndex).containsExactly(5, 6, 7, 8);
+        assertThat(results.get(0).getFolio()).isEqualTo("T-1-00000001");
+        assertThat(results.get(1).getError()).contains("already has an active ticket");
+        assertThat(results.get(2).getTicketId()).isEqualTo(2L);
+
+        verify(ticketRepository, times(1)).saveAll(argThat(tickets -> {
+            List<TicketEntity> saved = new ArrayList<>();
+            tickets.forEach(saved::add);
+            return saved.size() == 2 && saved.get(0).getEntryTime().equals(occurredAt);
+        }));
+        verify(ticketRepository, never()).save(any(TicketEntity.class));
+        verify(eventPublisher, times(2)).publishEvent(any(TicketEntryRegisteredEvent.class));
+    }
+
+    @Test
+    void executeBatch_ShouldCountPendingEntries_WhenCheckingCapacityInDatabase() {
+        // Arrange
+        branch.setCapacity4r(51);
+        when(branchRepository.findById(1L)).thenReturn(Optional.of(branch));
+        when(vehicleTypes.findById(2)).thenReturn(Optional.of(vehicleType));
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
+        when(ticketRepository.countActiveTicketsByBranchAndVehicleType(1L, 2, 1)).thenReturn(50L);
+        when(ticketRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        List<GateEventResult> results = registerVehicleEntryUseCase.executeBatch(List.of(
+                entryEvent("e1", "ABC-123", null),
+                entryEvent("e2", "XYZ-789", null)), 0);
+
+        // Assert
+        assertThat(results.get(0).getStatus()).isEqualTo(GateEventResult.ACCEPTED);
+        assertThat(results.get(1).getStatus()).isEqualTo(GateEventResult.REJECTED);
+        assertThat(results.get(1).getError()).contains("Insufficient capacity");
+    }
+
+    @Test
+    void executeBatch_ShouldRejectEntry_WhenOutsideOperatingHours() {
+        // Arrange
+        branch.setOpeningTime(LocalTime.of(8, 0));
+        branch.setClosingTime(LocalTime.of(20, 0));
+        when(branchRepository.findById(1L)).thenReturn(Optional.of(branch));
+        when(ticketRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        List<GateEventResult> results = registerVehicleEntryUseCase.executeBatch(List.of(
+                entryEvent("e1", "ABC-123", LocalDateTime.of(2026, 1, 10, 21, 30))), 0);
+
+        // Assert
+        assertThat(results.get(0).getStatus()).isEqualTo(GateEventResult.REJECTED);
+        assertThat(results.get(0).getError()).contains("outside the branch operating hours");
+        verify(ticketFolioAllocator, never()).nextFolio(any());
+        verify(redisOccupancyService, never()).tryReserveSpace(anyLong(), anyString(), anyInt());
+    }
+
+    @Test
+    void executeBatch_ShouldRejectNightPlanEntry_OutsideNightWindow() {
+        // Arrange
+        branch.setOpeningTime(LocalTime.of(6, 0));
+        branch.setClosingTime(LocalTime.of(20, 0));
+        LocalDateTime occurredAt = LocalDateTime.of(2026, 1, 10, 10, 0);
+        when(branchRepository.findById(1L)).thenReturn(Optional.of(branch));
+        when(vehicleTypes.findById(2)).thenReturn(Optional.of(vehicleType));
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgressStatus));
+        when(activePlateIndex.find("ABC-123")).thenReturn(Optional.of(ActivePlate.builder()
+                .licensePlate("ABC-123")
+                .subscriptionId(7L)
+                .planCode("NIGHT")
+                .subscriptionEndDate(occurredAt.plusDays(10))
+                .build()));
+        when(ticketRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        List<GateEventResult> results = registerVehicleEntryUseCase.executeBatch(List.of(
+                entryEvent("e1", "ABC-123", occurredAt)), 0);
+
+        // Assert
+        assertThat(results.get(0).getStatus()).isEqualTo(GateEventResult.REJECTED);
+        assertThat(results.get(0).getError()).contains("Night plan");
+        verify(ticketFolioAllocator, never()).nextFolio(any());
+    }
+
+    private GateEventRequest entryEvent(String clientEventId, String licensePlate, LocalDateTime occurredAt) {
+        return GateEventRequest.builder()
+                .clientEventId(clientEventId)
+                .type(GateEventRequest.ENTRY)
+                .branchId(1L)
+                .licensePlate(licensePlate)
+                .vehicleTypeId(2)
+                .occurredAt(occurredAt)
+                .build();
+    }
 }
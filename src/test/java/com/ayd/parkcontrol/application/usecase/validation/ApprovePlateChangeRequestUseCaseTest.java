@@ -22,6 +22,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -69,6 +70,9 @@ class ApprovePlateChangeRequestUseCaseTest {
         @Mock
         private com.ayd.parkcontrol.domain.service.PlateChangeChargeCalculationService chargeCalculationService;
 
+        @Mock
+        private ApplicationEventPublisher eventPublisher;
+
         @InjectMocks
         private ApprovePlateChangeRequestUseCase approvePlateChangeRequestUseCase;
 
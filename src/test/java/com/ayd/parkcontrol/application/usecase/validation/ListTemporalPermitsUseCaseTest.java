@@ -2,10 +2,10 @@ package com.ayd.parkcontrol.application.usecase.validation;
 
 import com.ayd.parkcontrol.application.dto.response.validation.TemporalPermitResponse;
 import com.ayd.parkcontrol.application.mapper.TemporalPermitDtoMapper;
+import com.ayd.parkcontrol.application.service.ReferenceDataResolver;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.TemporalPermitEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.UserEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTemporalPermitRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaUserRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -14,7 +14,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
@@ -26,7 +27,7 @@ class ListTemporalPermitsUseCaseTest {
     private JpaTemporalPermitRepository temporalPermitRepository;
 
     @Mock
-    private JpaUserRepository userRepository;
+    private ReferenceDataResolver referenceDataResolver;
 
     @Mock
     private TemporalPermitDtoMapper mapper;
@@ -57,8 +58,8 @@ class ListTemporalPermitsUseCaseTest {
         TemporalPermitResponse response2 = TemporalPermitResponse.builder().id(2L).temporalPlate("XYZ789").build();
 
         when(temporalPermitRepository.findAll()).thenReturn(Arrays.asList(permit1, permit2));
-        when(userRepository.findById(5L)).thenReturn(Optional.of(approver1));
-        when(userRepository.findById(6L)).thenReturn(Optional.of(approver2));
+        when(referenceDataResolver.userEntitiesById(Set.of(5L, 6L)))
+                .thenReturn(Map.of(5L, approver1, 6L, approver2));
         when(mapper.toResponse(permit1, approver1)).thenReturn(response1);
         when(mapper.toResponse(permit2, approver2)).thenReturn(response2);
 
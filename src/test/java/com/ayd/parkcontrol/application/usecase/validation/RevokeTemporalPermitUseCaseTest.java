@@ -1,6 +1,7 @@
 package com.ayd.parkcontrol.application.usecase.validation;
 
 import com.ayd.parkcontrol.application.dto.response.validation.TemporalPermitResponse;
+import com.ayd.parkcontrol.application.event.ActivePlateChangedEvent;
 import com.ayd.parkcontrol.application.mapper.TemporalPermitDtoMapper;
 import com.ayd.parkcontrol.domain.exception.BusinessRuleException;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.TemporalPermitEntity;
@@ -14,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 
@@ -37,6 +39,9 @@ class RevokeTemporalPermitUseCaseTest {
     @Mock
     private TemporalPermitDtoMapper mapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private RevokeTemporalPermitUseCase useCase;
 
@@ -81,6 +86,7 @@ class RevokeTemporalPermitUseCaseTest {
         assertThat(result).isNotNull();
         assertThat(result.getStatus()).isEqualTo("Revocado");
         verify(temporalPermitRepository).save(any(TemporalPermitEntity.class));
+        verify(eventPublisher).publishEvent(any(ActivePlateChangedEvent.class));
     }
 
     @Test
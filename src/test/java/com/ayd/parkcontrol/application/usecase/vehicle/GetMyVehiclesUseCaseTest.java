@@ -5,7 +5,7 @@ import com.ayd.parkcontrol.application.mapper.VehicleDtoMapper;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.VehicleEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.VehicleTypeEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaVehicleRepository;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaVehicleTypeRepository;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -26,7 +26,7 @@ class GetMyVehiclesUseCaseTest {
     private JpaVehicleRepository vehicleRepository;
 
     @Mock
-    private JpaVehicleTypeRepository vehicleTypeRepository;
+    private CatalogCache catalogCache;
 
     @Mock
     private VehicleDtoMapper mapper;
@@ -66,7 +66,8 @@ class GetMyVehiclesUseCaseTest {
 
         when(vehicleRepository.findByUserIdAndIsActive(userId, true))
                 .thenReturn(Arrays.asList(vehicle1, vehicle2));
-        when(vehicleTypeRepository.findAll()).thenReturn(Arrays.asList(vehicleType));
+        when(catalogCache.vehicleTypes()).thenReturn(CatalogCache.Catalog.of(Arrays.asList(vehicleType), VehicleTypeEntity::getId,
+                VehicleTypeEntity::getCode));
         when(mapper.toResponse(any(VehicleEntity.class), any(VehicleTypeEntity.class)))
                 .thenReturn(VehicleResponse.builder().build());
 
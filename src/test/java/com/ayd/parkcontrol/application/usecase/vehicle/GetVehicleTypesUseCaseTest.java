@@ -3,7 +3,7 @@ package com.ayd.parkcontrol.application.usecase.vehicle;
 import com.ayd.parkcontrol.application.dto.response.vehicle.VehicleTypeResponse;
 import com.ayd.parkcontrol.application.mapper.VehicleDtoMapper;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.VehicleTypeEntity;
-import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaVehicleTypeRepository;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -20,7 +20,7 @@ import static org.mockito.Mockito.*;
 class GetVehicleTypesUseCaseTest {
 
     @Mock
-    private JpaVehicleTypeRepository vehicleTypeRepository;
+    private CatalogCache catalogCache;
 
     @Mock
     private VehicleDtoMapper mapper;
@@ -33,14 +33,15 @@ class GetVehicleTypesUseCaseTest {
         VehicleTypeEntity type1 = VehicleTypeEntity.builder().id(1).code("2R").name("Dos Ruedas").build();
         VehicleTypeEntity type2 = VehicleTypeEntity.builder().id(2).code("4R").name("Cuatro Ruedas").build();
 
-        when(vehicleTypeRepository.findAll()).thenReturn(Arrays.asList(type1, type2));
+        when(catalogCache.vehicleTypes()).thenReturn(CatalogCache.Catalog.of(Arrays.asList(type1, type2), VehicleTypeEntity::getId,
+                VehicleTypeEntity::getCode));
         when(mapper.toVehicleTypeResponse(any(VehicleTypeEntity.class)))
                 .thenReturn(VehicleTypeResponse.builder().build());
 
         List<VehicleTypeResponse> result = getVehicleTypesUseCase.execute();
 
         assertThat(result).hasSize(2);
-        verify(vehicleTypeRepository).findAll();
+        verify(catalogCache).vehicleTypes();
         verify(mapper, times(2)).toVehicleTypeResponse(any(VehicleTypeEntity.class));
     }
 }
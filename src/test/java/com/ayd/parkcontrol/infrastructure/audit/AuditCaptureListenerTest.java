@@ -0,0 +1,215 @@
+package com.ayd.parkcontrol.infrastructure.audit;
+
+import com.ayd.parkcontrol.domain.model.user.User;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.BranchEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.UserEntity;
+import com.ayd.parkcontrol.security.CustomUserDetails;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para AuditCaptureListener.
+ */
+@ExtendWith(MockitoExtension.class)
+class AuditCaptureListenerTest {
+
+    @Mock
+    private AuditLogPipeline pipeline;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private EntityPersister persister;
+
+    private AuditPipelineMetrics metrics;
+
+    private AuditCaptureListener listener;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new AuditPipelineMetrics();
+        listener = new AuditCaptureListener(pipeline, metrics, new ObjectMapper().findAndRegisterModules(),
+                entityManagerFactory, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void onPostInsert_forAuditedEntity_shouldEnqueueNewValues() {
+        // Arrange
+        givenPersister(BranchEntity.class, "name", "capacity2r");
+        PostInsertEvent event = new PostInsertEvent(new BranchEntity(), 5L, new Object[] { "Sucursal Centro", 50 },
+                persister, null);
+
+        // Act
+        listener.onPostInsert(event);
+
+        // Assert
+        AuditEntry entry = capturedEntry();
+        assertEquals("Administracion", entry.module());
+        assertEquals("branches", entry.entity());
+        assertEquals("INSERT", entry.operation());
+        assertEquals("Registro creado en branches (id 5)", entry.description());
+        assertNull(entry.previousValues());
+        assertEquals("{\"name\":\"Sucursal Centro\",\"capacity_2r\":50}", entry.newValues());
+        assertNotNull(entry.createdAt());
+    }
+
+    @Test
+    void onPostUpdate_shouldSnapshotOnlyChangedProperties() {
+        // Arrange
+        givenPersister(BranchEntity.class, "name", "address", "updatedAt");
+        PostUpdateEvent event = new PostUpdateEvent(new BranchEntity(), 5L,
+                new Object[] { "Sucursal Norte", "Zona 1", "2025-10-02" },
+                new Object[] { "Sucursal Centro", "Zona 1", "2025-10-01" },
+                new int[] { 0, 2 }, persister, null);
+
+        // Act
+        listener.onPostUpdate(event);
+
+        // Assert
+        AuditEntry entry = capturedEntry();
+        assertEquals("UPDATE", entry.operation());
+        assertEquals("{\"name\":\"Sucursal Centro\"}", entry.previousValues());
+        assertEquals("{\"name\":\"Sucursal Norte\"}", entry.newValues());
+        assertEquals("Registro actualizado en branches (id 5): name", entry.description());
+    }
+
+    @Test
+    void onPostUpdate_withOnlyIgnoredChanges_shouldNotEnqueue() {
+        // Arrange
+        givenPersister(UserEntity.class, "email", "lastLogin");
+        PostUpdateEvent event = new PostUpdateEvent(new UserEntity(), 1L,
+                new Object[] { "admin@parkcontrol.com", "2025-10-17T08:00" },
+                new Object[] { "admin@parkcontrol.com", "2025-10-16T08:00" },
+                new int[] { 1 }, persister, null);
+
+        // Act
+        listener.onPostUpdate(event);
+
+        // Assert
+        verify(pipeline, never()).enqueue(any());
+    }
+
+    @Test
+    void onPostUpdate_shouldMaskSensitiveValues() {
+        // Arrange
+        givenPersister(UserEntity.class, "passwordHash");
+        PostUpdateEvent event = new PostUpdateEvent(new UserEntity(), 1L,
+                new Object[] { "$2a$10$new" }, new Object[] { "$2a$10$old" }, new int[] { 0 }, persister, null);
+
+        // Act
+        listener.onPostUpdate(event);
+
+        // Assert
+        AuditEntry entry = capturedEntry();
+        assertEquals("Seguridad", entry.module());
+        assertEquals("{\"password_hash\":\"***\"}", entry.previousValues());
+        assertEquals("{\"password_hash\":\"***\"}", entry.newValues());
+    }
+
+    @Test
+    void onPostDelete_shouldEnqueuePreviousValues() {
+        // Arrange
+        givenPersister(BranchEntity.class, "name");
+        PostDeleteEvent event = new PostDeleteEvent(new BranchEntity(), 5L, new Object[] { "Sucursal Centro" },
+                persister, null);
+
+        // Act
+        listener.onPostDelete(event);
+
+        // Assert
+        AuditEntry entry = capturedEntry();
+        assertEquals("DELETE", entry.operation());
+        assertEquals("{\"name\":\"Sucursal Centro\"}", entry.previousValues());
+        assertNull(entry.newValues());
+    }
+
+    @Test
+    void onPostInsert_shouldTakeUserAndClientIpFromRequest() {
+        // Arrange
+        givenPersister(BranchEntity.class, "name");
+        CustomUserDetails userDetails = new CustomUserDetails(User.builder().id(7L).build(), "Administrador");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Forwarded-For", "203.0.113.9, 10.0.0.1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        // Act
+        listener.onPostInsert(new PostInsertEvent(new BranchEntity(), 5L, new Object[] { "Sucursal Centro" },
+                persister, null));
+
+        // Assert
+        AuditEntry entry = capturedEntry();
+        assertEquals(7L, entry.userId());
+        assertEquals("203.0.113.9", entry.clientIp());
+    }
+
+    @Test
+    void nonAuditedEntity_shouldNotRequirePostCommitHandlingNorEnqueue() {
+        // Arrange
+        doReturn(TicketEntity.class).when(persister).getMappedClass();
+
+        // Act
+        boolean required = listener.requiresPostCommitHandling(persister);
+        listener.onPostInsert(new PostInsertEvent(new TicketEntity(), 1L, new Object[0], persister, null));
+
+        // Assert
+        assertFalse(required);
+        verify(pipeline, never()).enqueue(any());
+    }
+
+    @Test
+    void toColumnName_shouldConvertPropertyNamesToSnakeCase() {
+        assertEquals("amount_per_hour", AuditCaptureListener.toColumnName("amountPerHour"));
+        assertEquals("capacity_2r", AuditCaptureListener.toColumnName("capacity2r"));
+        assertEquals("name", AuditCaptureListener.toColumnName("name"));
+    }
+
+    private void givenPersister(Class<?> entityType, String... propertyNames) {
+        Type basicType = mock(Type.class);
+        Type[] types = new Type[propertyNames.length];
+        Arrays.fill(types, basicType);
+        doReturn(entityType).when(persister).getMappedClass();
+        when(persister.getPropertyNames()).thenReturn(propertyNames);
+        lenient().when(persister.getPropertyTypes()).thenReturn(types);
+    }
+
+    private AuditEntry capturedEntry() {
+        ArgumentCaptor<AuditEntry> captor = ArgumentCaptor.forClass(AuditEntry.class);
+        verify(pipeline).enqueue(captor.capture());
+        List<AuditEntry> entries = captor.getAllValues();
+        assertEquals(1, entries.size());
+        return entries.get(0);
+    }
+}
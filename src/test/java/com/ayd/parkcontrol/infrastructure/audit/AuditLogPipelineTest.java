@@ -0,0 +1,194 @@
+package com.ayd.parkcontrol.infrastructure.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para AuditLogPipeline.
+ */
+@ExtendWith(MockitoExtension.class)
+class AuditLogPipelineTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private AuditSpillFile spillFile;
+
+    private final AuditPipelineMetrics metrics = new AuditPipelineMetrics();
+
+    @Test
+    void enqueue_whenBufferIsFull_shouldSpillToDiskInsteadOfDropping() {
+        // Arrange
+        AuditLogPipeline pipeline = pipeline(true, 2, 10);
+        AuditEntry overflowing = entry("c");
+        when(spillFile.append(List.of(overflowing))).thenReturn(true);
+
+        // Act
+        pipeline.enqueue(entry("a"));
+        pipeline.enqueue(entry("b"));
+        pipeline.enqueue(overflowing);
+
+        // Assert
+        assertEquals(2, pipeline.getQueueDepth());
+        assertEquals(2L, metrics.snapshot().get("enqueued"));
+        assertEquals(1L, metrics.snapshot().get("overflow"));
+        assertEquals(1L, metrics.snapshot().get("spilled"));
+    }
+
+    @Test
+    void enqueue_whenDisabled_shouldIgnoreEntries() {
+        // Arrange
+        AuditLogPipeline pipeline = pipeline(false, 2, 10);
+
+        // Act
+        pipeline.enqueue(entry("a"));
+
+        // Assert
+        assertEquals(0, pipeline.getQueueDepth());
+        verifyNoInteractions(spillFile, jdbcTemplate);
+    }
+
+    @Test
+    void drainPending_shouldWriteEntriesInJdbcBatches() {
+        // Arrange
+        AuditLogPipeline pipeline = pipeline(true, 10, 2);
+        for (int i = 0; i < 5; i++) {
+            pipeline.enqueue(entry("e" + i));
+        }
+
+        // Act
+        int processed = pipeline.drainPending();
+
+        // Assert
+        assertEquals(5, processed);
+        verify(jdbcTemplate, times(3)).batchUpdate(eq(AuditLogPipeline.INSERT_SQL), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(5L, metrics.snapshot().get("written"));
+        assertEquals(3L, metrics.snapshot().get("batches"));
+        assertEquals(0, pipeline.getQueueDepth());
+    }
+
+    @Test
+    void flushBatch_whenDatabaseFails_shouldSpillTheBatch() {
+        // Arrange
+        AuditLogPipeline pipeline = pipeline(true, 10, 10);
+        List<AuditEntry> batch = List.of(entry("a"), entry("b"));
+        when(jdbcTemplate.batchUpdate(eq(AuditLogPipeline.INSERT_SQL), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+        when(spillFile.append(batch)).thenReturn(true);
+
+        // Act
+        pipeline.flushBatch(batch);
+
+        // Assert
+        assertEquals(1L, metrics.snapshot().get("write_failures"));
+        assertEquals(2L, metrics.snapshot().get("spilled"));
+        assertEquals(0L, metrics.snapshot().get("written"));
+    }
+
+    @Test
+    void replaySpillFile_shouldWriteSpilledEntriesAndCompleteReplay() throws Exception {
+        // Arrange
+        AuditLogPipeline pipeline = pipeline(true, 10, 2);
+        when(spillFile.takeForReplay()).thenReturn(List.of(entry("a"), entry("b"), entry("c")));
+
+        // Act
+        pipeline.replaySpillFile();
+
+        // Assert
+        verify(jdbcTemplate, times(2)).batchUpdate(eq(AuditLogPipeline.INSERT_SQL), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        verify(spillFile).completeReplay();
+        assertEquals(3L, metrics.snapshot().get("replayed"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void replaySpillFile_whenWriteFailsMidway_shouldSpillOnlyTheRemainder() throws Exception {
+        // Arrange
+        AuditLogPipeline pipeline = pipeline(true, 10, 2);
+        AuditEntry a = entry("a");
+        AuditEntry b = entry("b");
+        AuditEntry c = entry("c");
+        when(spillFile.takeForReplay()).thenReturn(List.of(a, b, c));
+        when(jdbcTemplate.batchUpdate(eq(AuditLogPipeline.INSERT_SQL), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenReturn(new int[0][])
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+        when(spillFile.append(anyList())).thenReturn(true);
+
+        // Act
+        pipeline.replaySpillFile();
+
+        // Assert
+        ArgumentCaptor<List<AuditEntry>> respilled = ArgumentCaptor.forClass(List.class);
+        verify(spillFile).append(respilled.capture());
+        assertEquals(List.of(c), respilled.getValue());
+        verify(spillFile).completeReplay();
+        assertEquals(2L, metrics.snapshot().get("replayed"));
+    }
+
+    @Test
+    void writer_shouldFlushEnqueuedEntriesInBackgroundAndDrainOnStop() throws Exception {
+        // Arrange
+        AuditLogPipeline pipeline = pipeline(true, 10, 10);
+        List<AuditEntry> written = new CopyOnWriteArrayList<>();
+        when(spillFile.takeForReplay()).thenReturn(List.of());
+        when(jdbcTemplate.batchUpdate(eq(AuditLogPipeline.INSERT_SQL), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenAnswer(invocation -> {
+                    written.addAll(invocation.<Collection<AuditEntry>>getArgument(1));
+                    return new int[0][];
+                });
+        pipeline.start();
+
+        // Act
+        pipeline.enqueue(entry("a"));
+
+        // Assert
+        verify(jdbcTemplate, timeout(2000)).batchUpdate(eq(AuditLogPipeline.INSERT_SQL), anyCollection(), eq(1),
+                any(ParameterizedPreparedStatementSetter.class));
+        pipeline.stop();
+        assertEquals("a", written.get(0).description());
+        assertEquals(0, pipeline.getQueueDepth());
+    }
+
+    @Test
+    void getPendingLagMs_shouldReportAgeOfOldestPendingEntry() {
+        // Arrange
+        AuditLogPipeline pipeline = pipeline(true, 10, 10);
+        pipeline.enqueue(new AuditEntry(null, "Administracion", "branches", "UPDATE", "old", null, null, null,
+                LocalDateTime.now().minusSeconds(30)));
+
+        // Act
+        long lag = pipeline.getPendingLagMs();
+
+        // Assert
+        assertTrue(lag >= 30_000);
+    }
+
+    private AuditLogPipeline pipeline(boolean enabled, int capacity, int batchSize) {
+        return new AuditLogPipeline(jdbcTemplate, spillFile, metrics, enabled, capacity, batchSize, 10);
+    }
+
+    private AuditEntry entry(String description) {
+        return new AuditEntry(1L, "Administracion", "branches", "INSERT", description, null, "{}", "127.0.0.1",
+                LocalDateTime.now());
+    }
+}
@@ -0,0 +1,100 @@
+package com.ayd.parkcontrol.infrastructure.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para AuditSpillFile.
+ */
+class AuditSpillFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path spillPath;
+
+    private AuditSpillFile spillFile;
+
+    @BeforeEach
+    void setUp() {
+        spillPath = tempDir.resolve("audit/audit-spill.jsonl");
+        spillFile = new AuditSpillFile(new ObjectMapper().findAndRegisterModules(), spillPath.toString());
+    }
+
+    @Test
+    void append_thenTakeForReplay_shouldRoundTripEntries() throws Exception {
+        // Arrange
+        AuditEntry first = entry("Registro creado en branches (id 1)");
+        AuditEntry second = entry("Registro eliminado de branches (id 2)");
+
+        // Act
+        assertTrue(spillFile.append(List.of(first)));
+        assertTrue(spillFile.append(List.of(second)));
+        List<AuditEntry> replayed = spillFile.takeForReplay();
+
+        // Assert
+        assertEquals(List.of(first, second), replayed);
+        assertFalse(Files.exists(spillPath));
+    }
+
+    @Test
+    void takeForReplay_withUnfinishedReplay_shouldResumeItAndKeepNewSpills() throws Exception {
+        // Arrange
+        AuditEntry pending = entry("pendiente");
+        AuditEntry spilledLater = entry("desbordado despues");
+        spillFile.append(List.of(pending));
+        spillFile.takeForReplay();
+        spillFile.append(List.of(spilledLater));
+
+        // Act
+        List<AuditEntry> replayed = spillFile.takeForReplay();
+
+        // Assert
+        assertEquals(List.of(pending), replayed);
+        assertTrue(Files.exists(spillPath));
+    }
+
+    @Test
+    void takeForReplay_shouldSkipTruncatedLines() throws Exception {
+        // Arrange
+        AuditEntry valid = entry("valido");
+        spillFile.append(List.of(valid));
+        Files.writeString(spillPath, "{\"user_id\":1,\"module\":\"Adm", StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+
+        // Act
+        List<AuditEntry> replayed = spillFile.takeForReplay();
+
+        // Assert
+        assertEquals(List.of(valid), replayed);
+    }
+
+    @Test
+    void completeReplay_shouldRemoveReplayFile() throws Exception {
+        // Arrange
+        spillFile.append(List.of(entry("a")));
+        spillFile.takeForReplay();
+
+        // Act
+        spillFile.completeReplay();
+
+        // Assert
+        assertTrue(spillFile.takeForReplay().isEmpty());
+    }
+
+    private AuditEntry entry(String description) {
+        return new AuditEntry(1L, "Administracion", "branches", "INSERT", description, null,
+                "{\"name\":\"Sucursal Centro\"}", "127.0.0.1", LocalDateTime.of(2025, 10, 17, 8, 30));
+    }
+}
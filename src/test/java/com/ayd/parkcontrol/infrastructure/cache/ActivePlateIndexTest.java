@@ -0,0 +1,250 @@
+package com.ayd.parkcontrol.infrastructure.cache;
+
+import com.ayd.parkcontrol.infrastructure.cache.model.ActivePlate;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.SubscriptionEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketStatusTypeEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaSubscriptionRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTemporalPermitRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ActivePlateIndexTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private SetOperations<String, String> setOperations;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private JpaTicketRepository ticketRepository;
+
+    @Mock
+    private JpaSubscriptionRepository subscriptionRepository;
+
+    @Mock
+    private JpaTemporalPermitRepository temporalPermitRepository;
+
+    @Mock
+    private CatalogCache catalogCache;
+
+    @Mock
+    private CatalogCache.Catalog<TicketStatusTypeEntity> ticketStatuses;
+
+    @Mock
+    private RedisLock redisLock;
+
+    @InjectMocks
+    private ActivePlateIndex activePlateIndex;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(activePlateIndex, "enabled", true);
+        lenient().when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        lenient().when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(catalogCache.ticketStatuses()).thenReturn(ticketStatuses);
+    }
+
+    @Test
+    void find_shouldReturnIndexedPlate_whenIndexIsReady() {
+        LocalDateTime end = LocalDateTime.now().plusDays(5);
+        when(redisTemplate.hasKey("plate:active-index:ready")).thenReturn(true);
+        when(hashOperations.entries("plate:active:ABC-123")).thenReturn(Map.of(
+                "ticket:1", "10",
+                "sub:id", "7",
+                "sub:plan", "MONTHLY",
+                "sub:end", end.toString()));
+
+        Optional<ActivePlate> result = activePlateIndex.find("abc-123");
+
+        assertThat(result).isPresent();
+        assertThat(result.get().hasOpenTicketAt(1L)).isTrue();
+        assertThat(result.get().hasOpenTicketAt(2L)).isFalse();
+        assertThat(result.get().getPlanCode()).isEqualTo("MONTHLY");
+        assertThat(result.get().eligibleSubscriptionId(LocalDateTime.now())).isEqualTo(7L);
+    }
+
+    @Test
+    void find_shouldReturnEmpty_whenIndexIsNotReady() {
+        when(redisTemplate.hasKey("plate:active-index:ready")).thenReturn(false);
+
+        assertThat(activePlateIndex.find("ABC-123")).isEmpty();
+        verify(hashOperations, never()).entries(anyString());
+    }
+
+    @Test
+    void find_shouldReturnEmpty_whenRedisFails() {
+        when(redisTemplate.hasKey("plate:active-index:ready"))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(activePlateIndex.find("ABC-123")).isEmpty();
+    }
+
+    @Test
+    void find_shouldReturnEmpty_whenIndexIsDisabled() {
+        ReflectionTestUtils.setField(activePlateIndex, "enabled", false);
+
+        assertThat(activePlateIndex.find("ABC-123")).isEmpty();
+        verify(redisTemplate, never()).hasKey(anyString());
+    }
+
+    @Test
+    void recordTicketOpened_shouldStoreTicketByBranch() {
+        activePlateIndex.recordTicketOpened("abc-123", 1L, 10L);
+
+        verify(hashOperations).put("plate:active:ABC-123", "ticket:1", "10");
+        verify(setOperations).add("plate:active-index:plates", "ABC-123");
+    }
+
+    @Test
+    void recordTicketClosed_shouldInvalidateIndex_whenUpdateFails() {
+        doThrow(new RedisConnectionFailureException("down"))
+                .when(hashOperations).delete("plate:active:ABC-123", "ticket:1");
+
+        activePlateIndex.recordTicketClosed("ABC-123", 1L);
+
+        verify(redisTemplate).delete("plate:active-index:ready");
+    }
+
+    @Test
+    void refreshPlate_shouldReplaceSubscriptionAndPermitFields() {
+        SubscriptionEntity subscription = new SubscriptionEntity();
+        subscription.setId(7L);
+        subscription.setLicensePlate("ABC-123");
+        subscription.setEndDate(LocalDateTime.now().plusDays(5));
+        when(subscriptionRepository.findActiveWithPlanTypeByLicensePlate(eq("ABC-123"), any()))
+                .thenReturn(Optional.of(subscription));
+        when(temporalPermitRepository.findActivePermitByPlate(eq("ABC-123"), any())).thenReturn(Optional.empty());
+
+        activePlateIndex.refreshPlate("abc-123");
+
+        verify(hashOperations).delete(eq("plate:active:ABC-123"), any(Object[].class));
+        verify(hashOperations).putAll(eq("plate:active:ABC-123"), anyMap());
+    }
+
+    @Test
+    void recordTicketOpened_shouldMarkPlateForRunningRebuild() {
+        activePlateIndex.recordTicketOpened("abc-123", 1L, 10L);
+
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("plate:active-index:rebuilding", "plate:active-index:dirty")), eq("ABC-123"));
+    }
+
+    @Test
+    void initialize_shouldKeepExistingIndex_whenReadyMarkerExists() {
+        when(redisTemplate.hasKey("plate:active-index:ready")).thenReturn(true);
+
+        activePlateIndex.initialize();
+
+        verifyNoInteractions(redisLock, ticketRepository, subscriptionRepository, temporalPermitRepository);
+        verify(redisTemplate, never()).delete(anyString());
+    }
+
+    @Test
+    void rebuild_shouldSkip_whenAnotherInstanceHoldsLock() {
+        when(redisTemplate.hasKey("plate:active-index:ready")).thenReturn(false);
+        when(redisLock.runExclusively(eq("plate:active-index:rebuild"), any(Duration.class), any(Runnable.class)))
+                .thenReturn(false);
+
+        activePlateIndex.rebuild();
+
+        verifyNoInteractions(ticketRepository, subscriptionRepository, temporalPermitRepository);
+    }
+
+    @Test
+    void rebuild_shouldSwapBuiltIndexAtomicallyAndMarkReady() {
+        TicketStatusTypeEntity inProgress = TicketStatusTypeEntity.builder().id(1).code("IN_PROGRESS").build();
+        TicketEntity ticket = TicketEntity.builder().id(10L).branchId(1L).licensePlate("abc-123").build();
+        runLockedTasks();
+        when(redisTemplate.hasKey("plate:active-index:ready")).thenReturn(false);
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgress));
+        when(ticketRepository.findByStatusTypeId(1)).thenReturn(List.of(ticket));
+        when(subscriptionRepository.findAllActiveWithPlanType(any())).thenReturn(List.of());
+        when(temporalPermitRepository.findActivePermits(any())).thenReturn(List.of());
+
+        activePlateIndex.rebuild();
+
+        verify(hashOperations).putAll(
+                argThat(key -> key.startsWith("plate:active-index:build:") && key.endsWith(":ABC-123")),
+                eq(Map.of("ticket:1", "10")));
+        verify(hashOperations, never()).putAll(eq("plate:active:ABC-123"), anyMap());
+        verify(redisTemplate).execute(any(RedisScript.class),
+                argThat(keys -> keys.size() == 2 && keys.get(0).equals("plate:active-index:plates")),
+                eq("plate:active:"), anyString());
+        verify(redisTemplate, never()).delete("plate:active-index:ready");
+        verify(valueOperations).set(eq("plate:active-index:ready"), anyString());
+    }
+
+    @Test
+    void rebuild_shouldReloadPlatesUpdatedWhileRebuilding() {
+        TicketStatusTypeEntity inProgress = TicketStatusTypeEntity.builder().id(1).code("IN_PROGRESS").build();
+        TicketEntity open = TicketEntity.builder().id(20L).branchId(2L).licensePlate("XYZ-1").statusTypeId(1).build();
+        TicketEntity closed = TicketEntity.builder().id(15L).branchId(1L).licensePlate("XYZ-1").statusTypeId(2).build();
+        runLockedTasks();
+        when(redisTemplate.hasKey("plate:active-index:ready")).thenReturn(false);
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(Optional.of(inProgress));
+        when(ticketRepository.findByStatusTypeId(1)).thenReturn(List.of());
+        when(subscriptionRepository.findAllActiveWithPlanType(any())).thenReturn(List.of());
+        when(temporalPermitRepository.findActivePermits(any())).thenReturn(List.of());
+        when(setOperations.pop("plate:active-index:dirty")).thenReturn("XYZ-1", (String) null);
+        when(ticketRepository.findByLicensePlateOrderByEntryTimeDesc("XYZ-1")).thenReturn(List.of(open, closed));
+        when(subscriptionRepository.findActiveWithPlanTypeByLicensePlate(eq("XYZ-1"), any()))
+                .thenReturn(Optional.empty());
+        when(temporalPermitRepository.findActivePermitByPlate(eq("XYZ-1"), any())).thenReturn(Optional.empty());
+
+        activePlateIndex.rebuild();
+
+        verify(redisTemplate).delete("plate:active:XYZ-1");
+        verify(hashOperations).putAll("plate:active:XYZ-1", Map.of("ticket:2", "20"));
+        verify(setOperations).add("plate:active-index:plates", "XYZ-1");
+        verify(valueOperations).set(eq("plate:active-index:ready"), anyString());
+    }
+
+    private void runLockedTasks() {
+        when(redisLock.runExclusively(eq("plate:active-index:rebuild"), any(Duration.class), any(Runnable.class)))
+                .thenAnswer(invocation -> {
+                    invocation.<Runnable>getArgument(2).run();
+                    return true;
+                });
+    }
+}
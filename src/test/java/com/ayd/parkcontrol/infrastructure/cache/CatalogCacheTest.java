@@ -0,0 +1,122 @@
+package com.ayd.parkcontrol.infrastructure.cache;
+
+import com.ayd.parkcontrol.domain.model.user.Role;
+import com.ayd.parkcontrol.domain.repository.OperationTypeRepository;
+import com.ayd.parkcontrol.domain.repository.RoleRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketStatusTypeEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.VehicleTypeEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaDocumentTypeRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaIncidentTypeRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaSubscriptionStatusTypeRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketStatusTypeRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaVehicleTypeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogCacheTest {
+
+    @Mock
+    private JpaTicketStatusTypeRepository ticketStatusTypeRepository;
+
+    @Mock
+    private JpaVehicleTypeRepository vehicleTypeRepository;
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private OperationTypeRepository operationTypeRepository;
+
+    @Mock
+    private JpaIncidentTypeRepository incidentTypeRepository;
+
+    @Mock
+    private JpaDocumentTypeRepository documentTypeRepository;
+
+    @Mock
+    private JpaSubscriptionStatusTypeRepository subscriptionStatusTypeRepository;
+
+    @InjectMocks
+    private CatalogCache catalogCache;
+
+    private final TicketStatusTypeEntity inProgress = TicketStatusTypeEntity.builder()
+            .id(1).code("IN_PROGRESS").name("En progreso").build();
+
+    private final VehicleTypeEntity fourWheels = VehicleTypeEntity.builder()
+            .id(2).code("4R").name("Cuatro ruedas").build();
+
+    @Test
+    void lookups_shouldLoadCatalogsOnceAndServeFromMemory() {
+        when(ticketStatusTypeRepository.findAll()).thenReturn(List.of(inProgress));
+        when(vehicleTypeRepository.findAll()).thenReturn(List.of(fourWheels));
+
+        assertThat(catalogCache.ticketStatuses().findByCode("IN_PROGRESS")).contains(inProgress);
+        assertThat(catalogCache.ticketStatuses().findById(1)).contains(inProgress);
+        assertThat(catalogCache.vehicleTypes().findByCode("4R")).contains(fourWheels);
+        assertThat(catalogCache.vehicleTypes().findById(99)).isEmpty();
+        assertThat(catalogCache.vehicleTypes().findById(null)).isEmpty();
+
+        verify(ticketStatusTypeRepository, times(1)).findAll();
+        verify(vehicleTypeRepository, times(1)).findAll();
+    }
+
+    @Test
+    void roles_shouldBeIndexedByName() {
+        Role admin = Role.builder().id(1).name("ADMIN").build();
+        when(roleRepository.findAll()).thenReturn(List.of(admin));
+
+        assertThat(catalogCache.roles().findByCode("ADMIN")).contains(admin);
+        assertThat(catalogCache.roles().findById(1)).contains(admin);
+    }
+
+    @Test
+    void refresh_shouldReplaceSnapshot() {
+        TicketStatusTypeEntity completed = TicketStatusTypeEntity.builder()
+                .id(2).code("COMPLETED").name("Completado").build();
+        when(ticketStatusTypeRepository.findAll())
+                .thenReturn(List.of(inProgress))
+                .thenReturn(List.of(inProgress, completed));
+
+        assertThat(catalogCache.ticketStatuses().findByCode("COMPLETED")).isEmpty();
+
+        catalogCache.refresh();
+
+        assertThat(catalogCache.ticketStatuses().findByCode("COMPLETED")).contains(completed);
+        assertThat(catalogCache.ticketStatuses().all()).hasSize(2);
+    }
+
+    @Test
+    void scheduledRefresh_shouldKeepPreviousSnapshot_whenLoadFails() {
+        when(ticketStatusTypeRepository.findAll())
+                .thenReturn(List.of(inProgress))
+                .thenThrow(new RuntimeException("DB down"));
+        catalogCache.refresh();
+
+        catalogCache.scheduledRefresh();
+
+        assertThat(catalogCache.ticketStatuses().findByCode("IN_PROGRESS")).contains(inProgress);
+    }
+
+    @Test
+    void catalog_shouldBeImmutable() {
+        CatalogCache.Catalog<VehicleTypeEntity> catalog = CatalogCache.Catalog.of(List.of(fourWheels),
+                VehicleTypeEntity::getId, VehicleTypeEntity::getCode);
+
+        assertThatThrownBy(() -> catalog.all().add(fourWheels))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> catalog.asMapById().clear())
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+}
@@ -0,0 +1,292 @@
+package com.ayd.parkcontrol.infrastructure.cache;
+
+import com.ayd.parkcontrol.infrastructure.cache.model.DashboardMetricsSnapshot;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.TicketStatusTypeEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.BranchAmountProjection;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.BranchCountProjection;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.CountAmountProjection;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaIncidentRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaSubscriptionRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketChargeRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para DashboardMetricsService.
+ */
+@ExtendWith(MockitoExtension.class)
+class DashboardMetricsServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 10, 15);
+    private static final String DAILY_KEY = "dashboard:daily:2025-10-15";
+    private static final String GAUGES_KEY = "dashboard:gauges";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private JpaTicketRepository ticketRepository;
+
+    @Mock
+    private JpaTicketChargeRepository ticketChargeRepository;
+
+    @Mock
+    private JpaIncidentRepository incidentRepository;
+
+    @Mock
+    private JpaSubscriptionRepository subscriptionRepository;
+
+    @Mock
+    private CatalogCache catalogCache;
+
+    @Mock
+    private CatalogCache.Catalog<TicketStatusTypeEntity> ticketStatuses;
+
+    @InjectMocks
+    private DashboardMetricsService service;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(catalogCache.ticketStatuses()).thenReturn(ticketStatuses);
+        lenient().when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+    }
+
+    @Test
+    void recordVehicleEntry_shouldIncrementDailyCounterAndActiveTickets() {
+        // Act
+        service.recordVehicleEntry(1L, DAY);
+
+        // Assert
+        verify(hashOperations).increment(DAILY_KEY, "branch:1:vehicles", 1L);
+        verify(hashOperations).increment(GAUGES_KEY, "branch:1:active_tickets", 1L);
+        verify(redisTemplate).expire(DAILY_KEY, Duration.ofDays(2));
+    }
+
+    @Test
+    void recordVehicleExit_shouldAddRevenueInCentsAndReleaseActiveTicket() {
+        // Act
+        service.recordVehicleExit(2L, new BigDecimal("25.50"), DAY);
+
+        // Assert
+        verify(hashOperations).increment(DAILY_KEY, "branch:2:charges", 1L);
+        verify(hashOperations).increment(DAILY_KEY, "branch:2:revenue", 2550L);
+        verify(hashOperations).increment(GAUGES_KEY, "branch:2:active_tickets", -1L);
+    }
+
+    @Test
+    void recordSubscriptionPurchase_shouldIncrementSubscriptionCounters() {
+        // Act
+        service.recordSubscriptionPurchase(new BigDecimal("100.00"), DAY);
+
+        // Assert
+        verify(hashOperations).increment(DAILY_KEY, "subscriptions:count", 1L);
+        verify(hashOperations).increment(DAILY_KEY, "subscriptions:revenue", 10000L);
+    }
+
+    @Test
+    void recordIncidentStatusChange_shouldIncrementOrDecrementPendingIncidents() {
+        // Act
+        service.recordIncidentStatusChange(3L, false);
+        service.recordIncidentStatusChange(3L, true);
+
+        // Assert
+        verify(hashOperations).increment(GAUGES_KEY, "branch:3:pending_incidents", 1L);
+        verify(hashOperations).increment(GAUGES_KEY, "branch:3:pending_incidents", -1L);
+    }
+
+    @Test
+    void getSnapshot_withSeededHashes_shouldReadFromRedisOnly() {
+        // Arrange
+        when(hashOperations.entries(DAILY_KEY)).thenReturn(Map.of(
+                "seeded", "1",
+                "branch:1:vehicles", "12",
+                "branch:1:charges", "8",
+                "branch:1:revenue", "32050",
+                "subscriptions:count", "2",
+                "subscriptions:revenue", "20000"));
+        when(hashOperations.entries(GAUGES_KEY)).thenReturn(Map.of(
+                "seeded", "1",
+                "branch:1:active_tickets", "4",
+                "branch:2:pending_incidents", "1"));
+
+        // Act
+        DashboardMetricsSnapshot snapshot = service.getSnapshot(DAY);
+
+        // Assert
+        assertEquals(DAY, snapshot.getDate());
+        assertEquals(12L, snapshot.branch(1L).getVehiclesToday());
+        assertEquals(8L, snapshot.branch(1L).getChargesToday());
+        assertEquals(0, new BigDecimal("320.50").compareTo(snapshot.branch(1L).getRevenueToday()));
+        assertEquals(4L, snapshot.branch(1L).getActiveTickets());
+        assertEquals(1L, snapshot.branch(2L).getPendingIncidents());
+        assertEquals(2L, snapshot.getSubscriptionsToday());
+        assertEquals(0, new BigDecimal("200.00").compareTo(snapshot.getSubscriptionsRevenueToday()));
+        verifyNoInteractions(ticketRepository, ticketChargeRepository, incidentRepository, subscriptionRepository);
+    }
+
+    @Test
+    void getSnapshot_withoutSeededHashes_shouldSeedFromDatabase() {
+        // Arrange
+        when(hashOperations.entries(DAILY_KEY)).thenReturn(Map.of("branch:1:vehicles", "1"));
+        when(hashOperations.entries(GAUGES_KEY)).thenReturn(Map.of());
+        stubDatabaseAggregates();
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(1L);
+
+        // Act
+        DashboardMetricsSnapshot snapshot = service.getSnapshot(DAY);
+
+        // Assert
+        assertEquals(5L, snapshot.branch(1L).getVehiclesToday());
+        assertEquals(3L, snapshot.branch(1L).getChargesToday());
+        assertEquals(0, new BigDecimal("45.00").compareTo(snapshot.branch(1L).getRevenueToday()));
+        assertEquals(2L, snapshot.branch(1L).getActiveTickets());
+        assertEquals(1L, snapshot.branch(1L).getPendingIncidents());
+        assertEquals(1L, snapshot.getSubscriptionsToday());
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(DAILY_KEY)), any(Object[].class));
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(GAUGES_KEY)), any(Object[].class));
+        verify(redisTemplate, never()).delete(anyString());
+        verify(hashOperations, never()).putAll(any(), anyMap());
+    }
+
+    @Test
+    void getSnapshot_whenAnotherInstanceSeededFirst_shouldKeepItsCounters() {
+        // Arrange
+        when(hashOperations.entries(DAILY_KEY))
+                .thenReturn(Map.of())
+                .thenReturn(Map.of("seeded", "1", "branch:1:vehicles", "9"));
+        when(hashOperations.entries(GAUGES_KEY)).thenReturn(Map.of("seeded", "1"));
+        stubDailyAggregates();
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(DAILY_KEY)), any(Object[].class)))
+                .thenReturn(0L);
+
+        // Act
+        DashboardMetricsSnapshot snapshot = service.getSnapshot(DAY);
+
+        // Assert
+        assertEquals(9L, snapshot.branch(1L).getVehiclesToday());
+    }
+
+    @Test
+    void refreshGauges_shouldReplaceHashThroughTemporaryKey() {
+        // Arrange
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(Optional.empty());
+        when(incidentRepository.countUnresolvedGroupedByBranch()).thenReturn(List.of());
+
+        // Act
+        service.refreshGauges();
+
+        // Assert
+        ArgumentCaptor<String> tempKey = ArgumentCaptor.forClass(String.class);
+        verify(hashOperations).putAll(tempKey.capture(), anyMap());
+        assertTrue(tempKey.getValue().startsWith(GAUGES_KEY + ":tmp:"));
+        verify(redisTemplate).rename(tempKey.getValue(), GAUGES_KEY);
+        verify(redisTemplate, never()).delete(anyString());
+    }
+
+    @Test
+    void getSnapshot_whenRedisUnavailable_shouldFallBackToDatabase() {
+        // Arrange
+        when(hashOperations.entries(DAILY_KEY))
+                .thenThrow(new RedisConnectionFailureException("Redis down"));
+        stubDatabaseAggregates();
+
+        // Act
+        DashboardMetricsSnapshot snapshot = service.getSnapshot(DAY);
+
+        // Assert
+        assertEquals(5L, snapshot.branch(1L).getVehiclesToday());
+        assertEquals(2L, snapshot.branch(1L).getActiveTickets());
+        verify(hashOperations, never()).putAll(any(), anyMap());
+    }
+
+    @Test
+    void getSnapshot_shouldClampNegativeCountersToZero() {
+        // Arrange
+        when(hashOperations.entries(DAILY_KEY)).thenReturn(Map.of("seeded", "1"));
+        when(hashOperations.entries(GAUGES_KEY)).thenReturn(Map.of(
+                "seeded", "1",
+                "branch:1:active_tickets", "-2"));
+
+        // Act
+        DashboardMetricsSnapshot snapshot = service.getSnapshot(DAY);
+
+        // Assert
+        assertEquals(0L, snapshot.branch(1L).getActiveTickets());
+    }
+
+    @Test
+    void refreshGauges_withRedisError_shouldNotThrow() {
+        // Arrange
+        when(ticketStatuses.findByCode("IN_PROGRESS")).thenReturn(Optional.empty());
+        when(incidentRepository.countUnresolvedGroupedByBranch()).thenReturn(List.of());
+        doThrow(new RedisConnectionFailureException("Redis down")).when(hashOperations).putAll(anyString(), anyMap());
+
+        // Act & Assert
+        assertDoesNotThrow(() -> service.refreshGauges());
+    }
+
+    private void stubDatabaseAggregates() {
+        stubDailyAggregates();
+        BranchCountProjection active = branchCount(1L, 2L);
+        BranchCountProjection incidents = branchCount(1L, 1L);
+        when(ticketStatuses.findByCode("IN_PROGRESS"))
+                .thenReturn(Optional.of(TicketStatusTypeEntity.builder().id(1).code("IN_PROGRESS").build()));
+        when(ticketRepository.countByStatusGroupedByBranch(1)).thenReturn(List.of(active));
+        when(incidentRepository.countUnresolvedGroupedByBranch()).thenReturn(List.of(incidents));
+    }
+
+    private void stubDailyAggregates() {
+        BranchCountProjection entries = branchCount(1L, 5L);
+
+        BranchAmountProjection charges = mock(BranchAmountProjection.class);
+        when(charges.getBranchId()).thenReturn(1L);
+        when(charges.getTotal()).thenReturn(3L);
+        when(charges.getAmount()).thenReturn(new BigDecimal("45.00"));
+
+        CountAmountProjection subscriptions = mock(CountAmountProjection.class);
+        when(subscriptions.getTotal()).thenReturn(1L);
+        when(subscriptions.getAmount()).thenReturn(new BigDecimal("100.00"));
+
+        when(ticketRepository.countEntriesGroupedByBranch(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(entries));
+        when(ticketChargeRepository.sumChargesGroupedByBranch(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(charges));
+        when(subscriptionRepository.sumPurchasesBetween(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(subscriptions);
+    }
+
+    private BranchCountProjection branchCount(Long branchId, Long total) {
+        BranchCountProjection projection = mock(BranchCountProjection.class);
+        when(projection.getBranchId()).thenReturn(branchId);
+        when(projection.getTotal()).thenReturn(total);
+        return projection;
+    }
+}
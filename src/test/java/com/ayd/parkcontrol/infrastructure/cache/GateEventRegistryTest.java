@@ -0,0 +1,101 @@
+package com.ayd.parkcontrol.infrastructure.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para GateEventRegistry.
+ */
+@ExtendWith(MockitoExtension.class)
+class GateEventRegistryTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private GateEventRegistry gateEventRegistry;
+
+    @BeforeEach
+    void setUp() {
+        gateEventRegistry = new GateEventRegistry(redisTemplate, 24);
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void claim_whenEventIsNew_shouldClaimIt() {
+        // Arrange
+        when(valueOperations.setIfAbsent(eq("gate:event:1:e1"), eq("PENDING"), any(Duration.class)))
+                .thenReturn(true);
+
+        // Act
+        GateEventRegistry.Claim claim = gateEventRegistry.claim(1L, "e1");
+
+        // Assert
+        assertEquals(GateEventRegistry.Claim.Status.CLAIMED, claim.status());
+    }
+
+    @Test
+    void claim_whenEventWasProcessed_shouldReturnOriginalTicket() {
+        // Arrange
+        when(valueOperations.setIfAbsent(eq("gate:event:1:e1"), eq("PENDING"), any(Duration.class)))
+                .thenReturn(false);
+        when(valueOperations.get("gate:event:1:e1")).thenReturn("10:T-1-00000010");
+
+        // Act
+        GateEventRegistry.Claim claim = gateEventRegistry.claim(1L, "e1");
+
+        // Assert
+        assertEquals(GateEventRegistry.Claim.Status.PROCESSED, claim.status());
+        assertEquals(10L, claim.ticketId());
+        assertEquals("T-1-00000010", claim.folio());
+    }
+
+    @Test
+    void claim_whenEventIsPending_shouldReportInProgress() {
+        // Arrange
+        when(valueOperations.setIfAbsent(eq("gate:event:1:e1"), eq("PENDING"), any(Duration.class)))
+                .thenReturn(false);
+        when(valueOperations.get("gate:event:1:e1")).thenReturn("PENDING");
+
+        // Act
+        GateEventRegistry.Claim claim = gateEventRegistry.claim(1L, "e1");
+
+        // Assert
+        assertEquals(GateEventRegistry.Claim.Status.IN_PROGRESS, claim.status());
+    }
+
+    @Test
+    void claim_whenRedisFails_shouldProcessWithoutDeduplication() {
+        // Arrange
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        // Act
+        GateEventRegistry.Claim claim = gateEventRegistry.claim(1L, "e1");
+
+        // Assert
+        assertEquals(GateEventRegistry.Claim.Status.CLAIMED, claim.status());
+    }
+
+    @Test
+    void complete_shouldStoreTicketWithRetention() {
+        // Act
+        gateEventRegistry.complete(1L, "e1", 10L, "T-1-00000010");
+
+        // Assert
+        verify(valueOperations).set("gate:event:1:e1", "10:T-1-00000010", Duration.ofHours(24));
+    }
+}
@@ -1,18 +1,22 @@
 package com.ayd.parkcontrol.infrastructure.cache;
 
 import com.ayd.parkcontrol.infrastructure.persistence.entity.BranchEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.ActiveOccupancyProjection;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaBranchRepository;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 
 /**
@@ -30,199 +34,165 @@ class OccupancyInitializerTest {
     @Mock
     private JpaTicketRepository ticketRepository;
 
-    @InjectMocks
+    @Mock
+    private RedisLock redisLock;
+
     private OccupancyInitializer occupancyInitializer;
 
+    @BeforeEach
+    void setUp() {
+        occupancyInitializer = new OccupancyInitializer(redisOccupancyService, branchRepository, ticketRepository,
+                redisLock, 120);
+    }
+
     @Test
-    void initializeOccupancy_withMultipleBranches_shouldSyncAllBranches() {
+    void initializeOccupancy_withMultipleBranches_shouldLoadAllCountsWithOneQuery() {
         // Arrange
         BranchEntity branch1 = createBranchEntity(1L, "Sucursal Centro");
         BranchEntity branch2 = createBranchEntity(2L, "Sucursal Norte");
         BranchEntity branch3 = createBranchEntity(3L, "Sucursal Sur");
+        List<ActiveOccupancyProjection> counts = List.of(
+                active(1L, "2R", 5), active(1L, "4R", 10),
+                active(2L, "2R", 3), active(2L, "4R", 7),
+                active(3L, "2R", 8), active(3L, "4R", 12));
 
-        List<BranchEntity> branches = Arrays.asList(branch1, branch2, branch3);
-
-        when(branchRepository.findAll()).thenReturn(branches);
-        when(ticketRepository.countActiveTwoWheelerTickets(1L)).thenReturn(5L);
-        when(ticketRepository.countActiveFourWheelerTickets(1L)).thenReturn(10L);
-        when(ticketRepository.countActiveTwoWheelerTickets(2L)).thenReturn(3L);
-        when(ticketRepository.countActiveFourWheelerTickets(2L)).thenReturn(7L);
-        when(ticketRepository.countActiveTwoWheelerTickets(3L)).thenReturn(8L);
-        when(ticketRepository.countActiveFourWheelerTickets(3L)).thenReturn(12L);
+        givenLockAcquired();
+        when(branchRepository.findAll()).thenReturn(Arrays.asList(branch1, branch2, branch3));
+        when(ticketRepository.countActiveGroupedByBranchAndVehicleType()).thenReturn(counts);
 
         // Act
         occupancyInitializer.initializeOccupancy();
 
         // Assert
-        verify(branchRepository).findAll();
-        verify(ticketRepository).countActiveTwoWheelerTickets(1L);
-        verify(ticketRepository).countActiveFourWheelerTickets(1L);
-        verify(ticketRepository).countActiveTwoWheelerTickets(2L);
-        verify(ticketRepository).countActiveFourWheelerTickets(2L);
-        verify(ticketRepository).countActiveTwoWheelerTickets(3L);
-        verify(ticketRepository).countActiveFourWheelerTickets(3L);
-
-        verify(redisOccupancyService).setOccupancy(1L, "2R", 5);
-        verify(redisOccupancyService).setOccupancy(1L, "4R", 10);
-        verify(redisOccupancyService).setOccupancy(2L, "2R", 3);
-        verify(redisOccupancyService).setOccupancy(2L, "4R", 7);
-        verify(redisOccupancyService).setOccupancy(3L, "2R", 8);
-        verify(redisOccupancyService).setOccupancy(3L, "4R", 12);
+        verify(ticketRepository, times(1)).countActiveGroupedByBranchAndVehicleType();
+        verify(redisOccupancyService).initializeOccupancies(Map.of(
+                1L, Map.of("2R", 5, "4R", 10),
+                2L, Map.of("2R", 3, "4R", 7),
+                3L, Map.of("2R", 8, "4R", 12)));
+        verify(redisOccupancyService, never()).setOccupancy(anyLong(), anyString(), anyInt());
     }
 
     @Test
-    void initializeOccupancy_withNoBranches_shouldNotCallRedisService() {
+    void initializeOccupancy_withoutActiveTickets_shouldSetZeroForEveryType() {
         // Arrange
-        when(branchRepository.findAll()).thenReturn(Collections.emptyList());
+        BranchEntity branch = createBranchEntity(1L, "Sucursal Vacía");
+
+        givenLockAcquired();
+        when(branchRepository.findAll()).thenReturn(Collections.singletonList(branch));
+        when(ticketRepository.countActiveGroupedByBranchAndVehicleType()).thenReturn(List.of());
 
         // Act
         occupancyInitializer.initializeOccupancy();
 
         // Assert
-        verify(branchRepository).findAll();
-        verify(ticketRepository, never()).countActiveTwoWheelerTickets(anyLong());
-        verify(ticketRepository, never()).countActiveFourWheelerTickets(anyLong());
-        verify(redisOccupancyService, never()).setOccupancy(anyLong(), anyString(), anyInt());
+        verify(redisOccupancyService).initializeOccupancies(Map.of(1L, Map.of("2R", 0, "4R", 0)));
     }
 
     @Test
-    void initializeOccupancy_withZeroOccupancy_shouldSetZeroInRedis() {
+    void initializeOccupancy_withNoBranches_shouldOnlyMarkInitialized() {
         // Arrange
-        BranchEntity branch = createBranchEntity(1L, "Sucursal Vacía");
-
-        when(branchRepository.findAll()).thenReturn(Collections.singletonList(branch));
-        when(ticketRepository.countActiveTwoWheelerTickets(1L)).thenReturn(0L);
-        when(ticketRepository.countActiveFourWheelerTickets(1L)).thenReturn(0L);
+        givenLockAcquired();
+        when(branchRepository.findAll()).thenReturn(Collections.emptyList());
+        when(ticketRepository.countActiveGroupedByBranchAndVehicleType()).thenReturn(List.of());
 
         // Act
         occupancyInitializer.initializeOccupancy();
 
         // Assert
-        verify(redisOccupancyService).setOccupancy(1L, "2R", 0);
-        verify(redisOccupancyService).setOccupancy(1L, "4R", 0);
+        verify(redisOccupancyService).initializeOccupancies(Map.of());
     }
 
     @Test
-    void initializeOccupancy_withSingleBranch_shouldSyncCorrectly() {
+    void initializeOccupancy_whenAlreadyInitialized_shouldNotOverwriteCounters() {
         // Arrange
-        BranchEntity branch = createBranchEntity(1L, "Única Sucursal");
-
-        when(branchRepository.findAll()).thenReturn(Collections.singletonList(branch));
-        when(ticketRepository.countActiveTwoWheelerTickets(1L)).thenReturn(15L);
-        when(ticketRepository.countActiveFourWheelerTickets(1L)).thenReturn(20L);
+        when(redisOccupancyService.isInitialized()).thenReturn(true);
 
         // Act
         occupancyInitializer.initializeOccupancy();
 
         // Assert
-        verify(branchRepository).findAll();
-        verify(ticketRepository).countActiveTwoWheelerTickets(1L);
-        verify(ticketRepository).countActiveFourWheelerTickets(1L);
-        verify(redisOccupancyService).setOccupancy(1L, "2R", 15);
-        verify(redisOccupancyService).setOccupancy(1L, "4R", 20);
+        verifyNoInteractions(redisLock, branchRepository, ticketRepository);
+        verify(redisOccupancyService, never()).initializeOccupancies(anyMap());
     }
 
     @Test
-    void initializeOccupancy_withRepositoryException_shouldNotThrow() {
+    void initializeOccupancy_whenAnotherNodeHoldsLock_shouldSkip() {
         // Arrange
-        when(branchRepository.findAll()).thenThrow(new RuntimeException("Database error"));
+        when(redisLock.runExclusively(eq("occupancy:bootstrap"), eq(Duration.ofSeconds(120)), any(Runnable.class)))
+                .thenReturn(false);
 
-        // Act & Assert - should not throw exception
+        // Act
         occupancyInitializer.initializeOccupancy();
 
-        verify(branchRepository).findAll();
-        verify(redisOccupancyService, never()).setOccupancy(anyLong(), anyString(), anyInt());
+        // Assert
+        verifyNoInteractions(branchRepository, ticketRepository);
+        verify(redisOccupancyService, never()).initializeOccupancies(anyMap());
     }
 
     @Test
-    void initializeOccupancy_withTicketRepositoryException_shouldContinueWithOtherBranches() {
+    void initializeOccupancy_whenInitializedWhileWaitingForLock_shouldSkipLoad() {
         // Arrange
-        BranchEntity branch1 = createBranchEntity(1L, "Sucursal 1");
-        BranchEntity branch2 = createBranchEntity(2L, "Sucursal 2");
-
-        when(branchRepository.findAll()).thenReturn(Arrays.asList(branch1, branch2));
-        when(ticketRepository.countActiveTwoWheelerTickets(1L))
-                .thenThrow(new RuntimeException("Ticket error"));
-        when(ticketRepository.countActiveTwoWheelerTickets(2L)).thenReturn(3L);
-        when(ticketRepository.countActiveFourWheelerTickets(2L)).thenReturn(7L);
+        when(redisOccupancyService.isInitialized()).thenReturn(false, true);
+        givenLockAcquired();
 
         // Act
         occupancyInitializer.initializeOccupancy();
 
-        // Assert - should continue with branch 2 despite error in branch 1
-        verify(ticketRepository).countActiveTwoWheelerTickets(1L);
-        verify(ticketRepository).countActiveTwoWheelerTickets(2L);
-        verify(ticketRepository).countActiveFourWheelerTickets(2L);
-        verify(redisOccupancyService).setOccupancy(2L, "2R", 3);
-        verify(redisOccupancyService).setOccupancy(2L, "4R", 7);
+        // Assert
+        verifyNoInteractions(branchRepository, ticketRepository);
+        verify(redisOccupancyService, never()).initializeOccupancies(anyMap());
     }
 
     @Test
-    void initializeOccupancy_withRedisException_shouldNotThrow() {
+    void initializeOccupancy_withRepositoryException_shouldNotThrow() {
         // Arrange
-        BranchEntity branch = createBranchEntity(1L, "Sucursal Test");
-
-        when(branchRepository.findAll()).thenReturn(Collections.singletonList(branch));
-        when(ticketRepository.countActiveTwoWheelerTickets(1L)).thenReturn(5L);
-        when(ticketRepository.countActiveFourWheelerTickets(1L)).thenReturn(10L);
-        doThrow(new RuntimeException("Redis error"))
-                .when(redisOccupancyService).setOccupancy(anyLong(), anyString(), anyInt());
+        givenLockAcquired();
+        when(branchRepository.findAll()).thenThrow(new RuntimeException("Database error"));
 
         // Act & Assert - should not throw exception
         occupancyInitializer.initializeOccupancy();
 
-        verify(redisOccupancyService).setOccupancy(1L, "2R", 5);
+        verify(redisOccupancyService, never()).initializeOccupancies(anyMap());
     }
 
     @Test
-    void initializeOccupancy_withHighOccupancy_shouldHandleCorrectly() {
+    void initializeOccupancy_withRedisException_shouldNotThrow() {
         // Arrange
-        BranchEntity branch = createBranchEntity(1L, "Sucursal Llena");
-
-        when(branchRepository.findAll()).thenReturn(Collections.singletonList(branch));
-        when(ticketRepository.countActiveTwoWheelerTickets(1L)).thenReturn(100L);
-        when(ticketRepository.countActiveFourWheelerTickets(1L)).thenReturn(150L);
+        when(redisOccupancyService.isInitialized()).thenThrow(new RuntimeException("Redis error"));
 
-        // Act
+        // Act & Assert - should not throw exception
         occupancyInitializer.initializeOccupancy();
 
-        // Assert
-        verify(redisOccupancyService).setOccupancy(1L, "2R", 100);
-        verify(redisOccupancyService).setOccupancy(1L, "4R", 150);
+        verifyNoInteractions(redisLock, branchRepository);
     }
 
     @Test
-    void initializeOccupancy_withOnlyTwoWheelerOccupancy_shouldSyncBothTypes() {
+    void toOccupancyMap_shouldIgnoreUnknownBranchesAndTypes() {
         // Arrange
         BranchEntity branch = createBranchEntity(1L, "Sucursal Motos");
-
-        when(branchRepository.findAll()).thenReturn(Collections.singletonList(branch));
-        when(ticketRepository.countActiveTwoWheelerTickets(1L)).thenReturn(25L);
-        when(ticketRepository.countActiveFourWheelerTickets(1L)).thenReturn(0L);
+        List<ActiveOccupancyProjection> counts = List.of(
+                active(1L, "2R", 25), active(1L, "BUS", 2), active(9L, "4R", 4));
 
         // Act
-        occupancyInitializer.initializeOccupancy();
+        Map<Long, Map<String, Integer>> result = OccupancyInitializer.toOccupancyMap(List.of(branch), counts);
 
         // Assert
-        verify(redisOccupancyService).setOccupancy(1L, "2R", 25);
-        verify(redisOccupancyService).setOccupancy(1L, "4R", 0);
+        assertEquals(Map.of(1L, Map.of("2R", 25, "4R", 0)), result);
     }
 
-    @Test
-    void initializeOccupancy_withOnlyFourWheelerOccupancy_shouldSyncBothTypes() {
-        // Arrange
-        BranchEntity branch = createBranchEntity(1L, "Sucursal Autos");
-
-        when(branchRepository.findAll()).thenReturn(Collections.singletonList(branch));
-        when(ticketRepository.countActiveTwoWheelerTickets(1L)).thenReturn(0L);
-        when(ticketRepository.countActiveFourWheelerTickets(1L)).thenReturn(30L);
-
-        // Act
-        occupancyInitializer.initializeOccupancy();
+    private void givenLockAcquired() {
+        when(redisLock.runExclusively(anyString(), any(Duration.class), any(Runnable.class))).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(2).run();
+            return true;
+        });
+    }
 
-        // Assert
-        verify(redisOccupancyService).setOccupancy(1L, "2R", 0);
-        verify(redisOccupancyService).setOccupancy(1L, "4R", 30);
+    private ActiveOccupancyProjection active(Long branchId, String vehicleType, long total) {
+        ActiveOccupancyProjection row = mock(ActiveOccupancyProjection.class);
+        lenient().when(row.getBranchId()).thenReturn(branchId);
+        lenient().when(row.getVehicleType()).thenReturn(vehicleType);
+        lenient().when(row.getTotal()).thenReturn(total);
+        return row;
     }
 
     private BranchEntity createBranchEntity(Long id, String name) {
@@ -0,0 +1,158 @@
+package com.ayd.parkcontrol.infrastructure.cache;
+
+import com.ayd.parkcontrol.infrastructure.persistence.entity.BranchEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.projection.ActiveOccupancyProjection;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaBranchRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaTicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para OccupancyReconciler.
+ */
+@ExtendWith(MockitoExtension.class)
+class OccupancyReconcilerTest {
+
+    @Mock
+    private RedisOccupancyService redisOccupancyService;
+
+    @Mock
+    private JpaBranchRepository branchRepository;
+
+    @Mock
+    private JpaTicketRepository ticketRepository;
+
+    @Mock
+    private OccupancyInitializer occupancyInitializer;
+
+    private OccupancyReconciliationMetrics metrics;
+
+    private OccupancyReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new OccupancyReconciliationMetrics();
+        reconciler = new OccupancyReconciler(redisOccupancyService, branchRepository, ticketRepository,
+                occupancyInitializer, metrics);
+    }
+
+    @Test
+    void reconcile_withoutDrift_shouldNotTouchCounters() {
+        // Arrange
+        givenState(Map.of(1L, 5), Map.of(1L, 10), List.of(active(1L, "2R", 5), active(1L, "4R", 10)));
+
+        // Act
+        int corrected = reconciler.reconcile();
+
+        // Assert
+        assertEquals(0, corrected);
+        verify(redisOccupancyService, never()).compareAndSetOccupancy(anyLong(), anyString(), anyInt(), anyInt());
+        assertEquals(0L, metrics.snapshot().get("total_drift"));
+        assertNotNull(metrics.getLastRunAt());
+    }
+
+    @Test
+    void reconcile_shouldCorrectDriftConfirmedInTwoRuns() {
+        // Arrange
+        givenState(Map.of(1L, 7), Map.of(1L, 10), List.of(active(1L, "2R", 5), active(1L, "4R", 10)));
+        when(redisOccupancyService.compareAndSetOccupancy(1L, "2R", 7, 5)).thenReturn(true);
+
+        // Act
+        int firstRun = reconciler.reconcile();
+        int secondRun = reconciler.reconcile();
+
+        // Assert
+        assertEquals(0, firstRun);
+        assertEquals(1, secondRun);
+        verify(redisOccupancyService, times(1)).compareAndSetOccupancy(1L, "2R", 7, 5);
+        assertEquals(2L, metrics.snapshot().get("total_drift"));
+        assertEquals(1L, metrics.snapshot().get("corrections"));
+    }
+
+    @Test
+    void reconcile_withTransientDifference_shouldNotCorrect() {
+        // Arrange - la diferencia cambia entre ejecuciones (tráfico en curso)
+        BranchEntity branch = BranchEntity.builder().id(1L).build();
+        List<ActiveOccupancyProjection> counts = List.of(active(1L, "2R", 5));
+        when(redisOccupancyService.isInitialized()).thenReturn(true);
+        when(branchRepository.findAll()).thenReturn(List.of(branch));
+        when(redisOccupancyService.getCurrentOccupancies(List.of(1L), "2R")).thenReturn(Map.of(1L, 6), Map.of(1L, 5));
+        when(redisOccupancyService.getCurrentOccupancies(List.of(1L), "4R")).thenReturn(Map.of());
+        when(ticketRepository.countActiveGroupedByBranchAndVehicleType()).thenReturn(counts);
+
+        // Act
+        reconciler.reconcile();
+        reconciler.reconcile();
+
+        // Assert
+        verify(redisOccupancyService, never()).compareAndSetOccupancy(anyLong(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void reconcile_whenCounterMovedBeforeCorrection_shouldRecordConflict() {
+        // Arrange
+        givenState(Map.of(1L, 5), Map.of(1L, 12), List.of(active(1L, "2R", 5), active(1L, "4R", 10)));
+        when(redisOccupancyService.compareAndSetOccupancy(1L, "4R", 12, 10)).thenReturn(false);
+
+        // Act
+        reconciler.reconcile();
+        int corrected = reconciler.reconcile();
+
+        // Assert
+        assertEquals(0, corrected);
+        assertEquals(1L, metrics.snapshot().get("conflicts"));
+        assertEquals(1L, metrics.snapshot().get("drifting_series"));
+    }
+
+    @Test
+    void reconcile_whenCountersMissing_shouldBootstrapAgain() {
+        // Arrange
+        when(redisOccupancyService.isInitialized()).thenReturn(false);
+
+        // Act
+        reconciler.reconcile();
+
+        // Assert
+        verify(occupancyInitializer).initializeOccupancy();
+        verifyNoInteractions(branchRepository, ticketRepository);
+    }
+
+    @Test
+    void scheduledReconcile_withRedisFailure_shouldRecordFailure() {
+        // Arrange
+        when(redisOccupancyService.isInitialized()).thenThrow(new RuntimeException("Redis error"));
+
+        // Act
+        reconciler.scheduledReconcile();
+
+        // Assert
+        assertEquals(1L, metrics.snapshot().get("failures"));
+    }
+
+    private void givenState(Map<Long, Integer> cached2r, Map<Long, Integer> cached4r,
+            List<ActiveOccupancyProjection> counts) {
+        BranchEntity branch = BranchEntity.builder().id(1L).build();
+        when(redisOccupancyService.isInitialized()).thenReturn(true);
+        when(branchRepository.findAll()).thenReturn(List.of(branch));
+        when(redisOccupancyService.getCurrentOccupancies(List.of(1L), "2R")).thenReturn(cached2r);
+        when(redisOccupancyService.getCurrentOccupancies(List.of(1L), "4R")).thenReturn(cached4r);
+        when(ticketRepository.countActiveGroupedByBranchAndVehicleType()).thenReturn(counts);
+    }
+
+    private ActiveOccupancyProjection active(Long branchId, String vehicleType, long total) {
+        ActiveOccupancyProjection row = mock(ActiveOccupancyProjection.class);
+        when(row.getBranchId()).thenReturn(branchId);
+        when(row.getVehicleType()).thenReturn(vehicleType);
+        when(row.getTotal()).thenReturn(total);
+        return row;
+    }
+}
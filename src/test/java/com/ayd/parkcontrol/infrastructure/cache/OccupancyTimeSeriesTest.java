@@ -0,0 +1,97 @@
+package com.ayd.parkcontrol.infrastructure.cache;
+
+import com.ayd.parkcontrol.infrastructure.cache.OccupancyTimeSeries.Aggregate;
+import com.ayd.parkcontrol.infrastructure.cache.OccupancyTimeSeries.SeriesKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para OccupancyTimeSeries.
+ */
+@ExtendWith(MockitoExtension.class)
+class OccupancyTimeSeriesTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private OccupancyTimeSeries timeSeries;
+
+    @BeforeEach
+    void setUp() {
+        timeSeries = new OccupancyTimeSeries(redisTemplate, 180);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void record_shouldWriteAllSeriesToMinuteBucketInSingleScriptCall() {
+        // Arrange
+        Map<SeriesKey, Integer> samples = new LinkedHashMap<>();
+        samples.put(new SeriesKey(1L, "2R"), 7);
+        samples.put(new SeriesKey(1L, "4R"), -2);
+
+        // Act
+        timeSeries.record(LocalDateTime.of(2025, 10, 1, 9, 15, 42), samples);
+
+        // Assert
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class),
+                eq(List.of("occupancy:samples:202510010915")),
+                eq("10800"), eq("1:2R"), eq("7"), eq("1:4R"), eq("0"));
+    }
+
+    @Test
+    void record_withoutSamples_shouldNotCallRedis() {
+        // Act
+        timeSeries.record(LocalDateTime.now(), Map.of());
+
+        // Assert
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void readHour_shouldMergeMinuteBucketsPerSeries() {
+        // Arrange
+        List<Object> buckets = new ArrayList<>(Collections.nCopies(60, Map.of()));
+        buckets.set(0, Map.of("1:4R:n", "4", "1:4R:s", "40", "1:4R:m", "12",
+                "2:2R:n", "2", "2:2R:s", "6", "2:2R:m", "3"));
+        buckets.set(59, Map.of("1:4R:n", "4", "1:4R:s", "80", "1:4R:m", "25"));
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(buckets);
+
+        // Act
+        Map<SeriesKey, Aggregate> result = timeSeries.readHour(LocalDateTime.of(2025, 10, 1, 9, 30));
+
+        // Assert
+        assertEquals(new Aggregate(8, 120, 25), result.get(new SeriesKey(1L, "4R")));
+        assertEquals(new Aggregate(2, 6, 3), result.get(new SeriesKey(2L, "2R")));
+        assertEquals(2, result.size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void readHour_withoutBuckets_shouldReturnEmpty() {
+        // Arrange
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenReturn(new ArrayList<>(Collections.nCopies(60, Map.of())));
+
+        // Act & Assert
+        assertTrue(timeSeries.readHour(LocalDateTime.of(2025, 10, 1, 9, 0)).isEmpty());
+    }
+}
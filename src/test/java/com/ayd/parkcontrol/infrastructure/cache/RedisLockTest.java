@@ -0,0 +1,86 @@
+package com.ayd.parkcontrol.infrastructure.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para RedisLock.
+ */
+@ExtendWith(MockitoExtension.class)
+class RedisLockTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @InjectMocks
+    private RedisLock redisLock;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void runExclusively_whenLockAcquired_shouldRunTaskAndReleaseWithToken() {
+        // Arrange
+        Duration ttl = Duration.ofSeconds(30);
+        when(valueOperations.setIfAbsent(eq("lock:job"), anyString(), eq(ttl))).thenReturn(true);
+        AtomicBoolean ran = new AtomicBoolean();
+
+        // Act
+        boolean result = redisLock.runExclusively("job", ttl, () -> ran.set(true));
+
+        // Assert
+        assertTrue(result);
+        assertTrue(ran.get());
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("lock:job")), anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void runExclusively_whenLockHeld_shouldSkipTask() {
+        // Arrange
+        when(valueOperations.setIfAbsent(eq("lock:job"), anyString(), any(Duration.class))).thenReturn(false);
+        AtomicBoolean ran = new AtomicBoolean();
+
+        // Act
+        boolean result = redisLock.runExclusively("job", Duration.ofSeconds(30), () -> ran.set(true));
+
+        // Assert
+        assertFalse(result);
+        assertFalse(ran.get());
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void runExclusively_whenTaskFails_shouldStillReleaseLock() {
+        // Arrange
+        when(valueOperations.setIfAbsent(eq("lock:job"), anyString(), any(Duration.class))).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> redisLock.runExclusively("job", Duration.ofSeconds(30),
+                () -> {
+                    throw new IllegalStateException("boom");
+                }));
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("lock:job")), anyString());
+    }
+}
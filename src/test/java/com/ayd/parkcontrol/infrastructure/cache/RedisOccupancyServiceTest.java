@@ -6,8 +6,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -29,10 +36,11 @@ class RedisOccupancyServiceTest {
 
     @BeforeEach
     void setUp() {
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     void tryReserveSpace_withAvailableSpace_shouldReturnTrue() {
         // Arrange
         Long branchId = 1L;
@@ -40,38 +48,41 @@ class RedisOccupancyServiceTest {
         int capacity = 10;
         String key = "branch:occupancy:1:2R";
 
-        when(valueOperations.increment(key)).thenReturn(5L); // Nueva ocupación: 5
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(key)), eq("10"))).thenReturn(5L);
 
         // Act
         boolean result = service.tryReserveSpace(branchId, vehicleType, capacity);
 
         // Assert
         assertTrue(result);
-        verify(valueOperations).increment(key);
-        verify(valueOperations, never()).decrement(key); // No rollback
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(key)), eq("10"));
+        verify(valueOperations, never()).decrement(key); // Sin rollback
+        verify(redisTemplate).convertAndSend(RedisOccupancyService.OCCUPANCY_CHANNEL, "1");
     }
 
     @Test
-    void tryReserveSpace_withFullCapacity_shouldReturnFalseAndRollback() {
+    @SuppressWarnings("unchecked")
+    void tryReserveSpace_withFullCapacity_shouldReturnFalseWithoutRollback() {
         // Arrange
         Long branchId = 1L;
         String vehicleType = "4R";
         int capacity = 10;
         String key = "branch:occupancy:1:4R";
 
-        when(valueOperations.increment(key)).thenReturn(11L); // Excede capacidad
-        when(valueOperations.decrement(key)).thenReturn(10L);
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(key)), eq("10"))).thenReturn(-1L);
 
         // Act
         boolean result = service.tryReserveSpace(branchId, vehicleType, capacity);
 
         // Assert
         assertFalse(result);
-        verify(valueOperations).increment(key);
-        verify(valueOperations).decrement(key); // Rollback ejecutado
+        verify(valueOperations, never()).increment(key);
+        verify(valueOperations, never()).decrement(key); // El script no incrementa si no hay espacio
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     void tryReserveSpace_withExactCapacity_shouldReturnTrue() {
         // Arrange
         Long branchId = 1L;
@@ -79,17 +90,51 @@ class RedisOccupancyServiceTest {
         int capacity = 10;
         String key = "branch:occupancy:1:2R";
 
-        when(valueOperations.increment(key)).thenReturn(10L); // Exactamente en capacidad
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(key)), eq("10"))).thenReturn(10L);
 
         // Act
         boolean result = service.tryReserveSpace(branchId, vehicleType, capacity);
 
         // Assert
         assertTrue(result);
-        verify(valueOperations).increment(key);
         verify(valueOperations, never()).decrement(key);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void tryReserveSpace_withNullScriptResult_shouldReturnFalse() {
+        // Arrange
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any())).thenReturn(null);
+
+        // Act
+        boolean result = service.tryReserveSpace(1L, "2R", 10);
+
+        // Assert
+        assertFalse(result);
+    }
+
+    @Test
+    void releaseSpaceAfterCommit_withoutTransaction_shouldReleaseImmediately() {
+        // Arrange
+        String key = "branch:occupancy:1:4R";
+        when(valueOperations.decrement(key)).thenReturn(3L);
+
+        // Act
+        service.releaseSpaceAfterCommit(1L, "4R");
+
+        // Assert
+        verify(valueOperations).decrement(key);
+    }
+
+    @Test
+    void releaseSpaceOnRollback_withoutTransaction_shouldNotRelease() {
+        // Act
+        service.releaseSpaceOnRollback(1L, "4R");
+
+        // Assert
+        verify(valueOperations, never()).decrement(anyString());
+    }
+
     @Test
     void releaseSpace_shouldDecrementOccupancy() {
         // Arrange
@@ -104,6 +149,7 @@ class RedisOccupancyServiceTest {
 
         // Assert
         verify(valueOperations).decrement(key);
+        verify(redisTemplate).convertAndSend(RedisOccupancyService.OCCUPANCY_CHANNEL, "1");
     }
 
     @Test
@@ -198,4 +244,80 @@ class RedisOccupancyServiceTest {
         // Assert
         verify(valueOperations).set(key, "0");
     }
+
+    @Test
+    void getCurrentOccupancies_shouldReadAllBranchesWithSingleMultiGet() {
+        // Arrange
+        List<String> keys = List.of("branch:occupancy:1:4R", "branch:occupancy:2:4R", "branch:occupancy:3:4R");
+        when(valueOperations.multiGet(keys)).thenReturn(Arrays.asList("12", null, "x"));
+
+        // Act
+        Map<Long, Integer> result = service.getCurrentOccupancies(List.of(1L, 2L, 3L), "4R");
+
+        // Assert
+        assertEquals(Map.of(1L, 12, 2L, 0, 3L, 0), result);
+        verify(valueOperations, times(1)).multiGet(keys);
+        verify(valueOperations, never()).get(anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void initializeOccupancies_shouldWriteCountersAndMarkerWithSingleMset() {
+        // Arrange
+        StringRedisConnection connection = mock(StringRedisConnection.class);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            invocation.<RedisCallback<Object>>getArgument(0).doInRedis(connection);
+            return List.of();
+        });
+
+        // Act
+        service.initializeOccupancies(Map.of(1L, Map.of("2R", 4, "4R", -2)));
+
+        // Assert
+        verify(connection, times(1)).mSetString(argThat(values -> values.size() == 3
+                && "4".equals(values.get("branch:occupancy:1:2R"))
+                && "0".equals(values.get("branch:occupancy:1:4R"))
+                && values.containsKey("branch:occupancy:initialized")));
+        verify(connection).publish(RedisOccupancyService.OCCUPANCY_CHANNEL, "1");
+        verify(valueOperations, never()).set(anyString(), anyString());
+    }
+
+    @Test
+    void isInitialized_shouldCheckMarker() {
+        // Arrange
+        when(redisTemplate.hasKey("branch:occupancy:initialized")).thenReturn(true);
+
+        // Act & Assert
+        assertTrue(service.isInitialized());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void compareAndSetOccupancy_whenValueUnchanged_shouldUpdateAndPublish() {
+        // Arrange
+        String key = "branch:occupancy:1:2R";
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(key)), eq("7"), eq("5"))).thenReturn(1L);
+
+        // Act
+        boolean updated = service.compareAndSetOccupancy(1L, "2R", 7, 5);
+
+        // Assert
+        assertTrue(updated);
+        verify(redisTemplate).convertAndSend(RedisOccupancyService.OCCUPANCY_CHANNEL, "1");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void compareAndSetOccupancy_whenValueChanged_shouldNotPublish() {
+        // Arrange
+        String key = "branch:occupancy:1:2R";
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(key)), eq("7"), eq("5"))).thenReturn(0L);
+
+        // Act
+        boolean updated = service.compareAndSetOccupancy(1L, "2R", 7, 5);
+
+        // Assert
+        assertFalse(updated);
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+    }
 }
@@ -0,0 +1,213 @@
+package com.ayd.parkcontrol.infrastructure.notification;
+
+import com.ayd.parkcontrol.infrastructure.persistence.entity.EmailOutboxEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.EmailOutboxEntity.Status;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaEmailOutboxRepository;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para EmailOutboxDispatcher.
+ */
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxDispatcherTest {
+
+    @Mock
+    private JpaEmailOutboxRepository outboxRepository;
+
+    @Mock
+    private SmtpTransportPool transportPool;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final EmailOutboxMetrics metrics = new EmailOutboxMetrics();
+
+    private EmailOutboxDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+    }
+
+    @Test
+    void deliver_whenSmtpAccepts_shouldMarkSent() throws Exception {
+        // Arrange
+        dispatcher = dispatcher(true, 5);
+        when(transportPool.createMimeMessage()).thenReturn(newMessage());
+
+        // Act
+        dispatcher.deliver(email(10L, 0));
+
+        // Assert
+        ArgumentCaptor<MimeMessage> message = ArgumentCaptor.forClass(MimeMessage.class);
+        verify(transportPool).send(message.capture());
+        assertEquals("noreply@parkcontrol.com", message.getValue().getFrom()[0].toString());
+        assertEquals("Código 2FA", message.getValue().getSubject());
+        verify(outboxRepository).markSent(eq(10L), eq(1), any(LocalDateTime.class), eq(Status.SENT),
+                eq(Status.SENDING));
+        assertEquals(1L, metrics.snapshot().get("sent"));
+    }
+
+    @Test
+    void deliver_whenSmtpFails_shouldRescheduleWithBackoff() throws Exception {
+        // Arrange
+        dispatcher = dispatcher(true, 5);
+        when(transportPool.createMimeMessage()).thenReturn(newMessage());
+        doThrow(new MessagingException("421 try again later")).when(transportPool).send(any(MimeMessage.class));
+        LocalDateTime before = LocalDateTime.now();
+
+        // Act
+        dispatcher.deliver(email(10L, 1));
+
+        // Assert
+        ArgumentCaptor<LocalDateTime> nextAttempt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxRepository).markFailed(eq(10L), eq(Status.PENDING), eq(2), nextAttempt.capture(),
+                contains("421 try again later"), eq(Status.SENDING));
+        assertFalse(nextAttempt.getValue().isBefore(before.plusSeconds(60)));
+        assertEquals(1L, metrics.snapshot().get("retried"));
+        assertEquals(1L, metrics.snapshot().get("send_failures"));
+    }
+
+    @Test
+    void deliver_whenAttemptsAreExhausted_shouldMoveToDeadLetter() throws Exception {
+        // Arrange
+        dispatcher = dispatcher(true, 3);
+        when(transportPool.createMimeMessage()).thenReturn(newMessage());
+        doThrow(new MessagingException("550 mailbox unavailable")).when(transportPool)
+                .send(any(MimeMessage.class));
+
+        // Act
+        dispatcher.deliver(email(10L, 2));
+
+        // Assert
+        verify(outboxRepository).markFailed(eq(10L), eq(Status.DEAD), eq(3), any(LocalDateTime.class),
+                anyString(), eq(Status.SENDING));
+        assertEquals(1L, metrics.snapshot().get("dead_lettered"));
+        assertEquals(0L, metrics.snapshot().get("retried"));
+    }
+
+    @Test
+    void backoff_shouldDoubleUntilTheMaximum() {
+        // Arrange
+        dispatcher = dispatcher(true, 5);
+
+        // Act & Assert
+        assertEquals(Duration.ofSeconds(30), dispatcher.backoff(1));
+        assertEquals(Duration.ofSeconds(60), dispatcher.backoff(2));
+        assertEquals(Duration.ofSeconds(240), dispatcher.backoff(4));
+        assertEquals(Duration.ofHours(1), dispatcher.backoff(12));
+    }
+
+    @Test
+    void dispatchDue_shouldClaimDueEmailsAndSendThemOnWorkers() throws Exception {
+        // Arrange
+        dispatcher = dispatcher(true, 5);
+        EmailOutboxEntity first = email(1L, 0);
+        EmailOutboxEntity second = email(2L, 0);
+        when(outboxRepository.findDueIds(eq(Status.PENDING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L));
+        when(outboxRepository.claim(eq(List.of(1L, 2L)), anyString(), any(LocalDateTime.class),
+                eq(Status.SENDING), eq(Status.PENDING))).thenReturn(2);
+        when(outboxRepository.findByClaimTokenAndStatus(anyString(), eq(Status.SENDING)))
+                .thenReturn(List.of(first, second));
+        when(transportPool.createMimeMessage()).thenAnswer(invocation -> newMessage());
+
+        // Act
+        int claimed = dispatcher.dispatchDue();
+
+        // Assert
+        assertEquals(2, claimed);
+        verify(transportPool, timeout(2000).times(2)).send(any(MimeMessage.class));
+        verify(outboxRepository, timeout(2000)).markSent(eq(1L), eq(1), any(LocalDateTime.class),
+                eq(Status.SENT), eq(Status.SENDING));
+        verify(outboxRepository, timeout(2000)).markSent(eq(2L), eq(1), any(LocalDateTime.class),
+                eq(Status.SENT), eq(Status.SENDING));
+    }
+
+    @Test
+    void dispatchDue_whenAnotherInstanceClaimedFirst_shouldSendNothing() throws Exception {
+        // Arrange
+        dispatcher = dispatcher(true, 5);
+        when(outboxRepository.findDueIds(eq(Status.PENDING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(1L));
+        when(outboxRepository.claim(eq(List.of(1L)), anyString(), any(LocalDateTime.class), eq(Status.SENDING),
+                eq(Status.PENDING))).thenReturn(0);
+
+        // Act
+        int claimed = dispatcher.dispatchDue();
+
+        // Assert
+        assertEquals(0, claimed);
+        verify(transportPool, never()).send(any(MimeMessage.class));
+    }
+
+    @Test
+    void poll_shouldReleaseStaleClaimsBeforeDispatching() {
+        // Arrange
+        dispatcher = dispatcher(true, 5);
+        when(outboxRepository.releaseStale(any(LocalDateTime.class), eq(Status.PENDING), eq(Status.SENDING)))
+                .thenReturn(3);
+        when(outboxRepository.findDueIds(eq(Status.PENDING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        // Act
+        dispatcher.poll();
+
+        // Assert
+        assertEquals(3L, metrics.snapshot().get("stale_released"));
+    }
+
+    @Test
+    void poll_whenDisabled_shouldNotTouchOutbox() {
+        // Arrange
+        dispatcher = dispatcher(false, 5);
+
+        // Act
+        dispatcher.poll();
+        dispatcher.wakeUp();
+
+        // Assert
+        verifyNoInteractions(outboxRepository, transportPool);
+    }
+
+    private EmailOutboxDispatcher dispatcher(boolean enabled, int maxAttempts) {
+        return new EmailOutboxDispatcher(outboxRepository, transportPool, metrics, transactionManager, enabled,
+                "noreply@parkcontrol.com", 2, 10, maxAttempts, 30_000, 3_600_000, 300_000, 7);
+    }
+
+    private EmailOutboxEntity email(Long id, int attempts) {
+        return EmailOutboxEntity.builder()
+                .id(id)
+                .recipient("user@example.com")
+                .subject("Código 2FA")
+                .body("<p>123456</p>")
+                .status(Status.SENDING)
+                .attempts(attempts)
+                .build();
+    }
+
+    private MimeMessage newMessage() {
+        return new MimeMessage(Session.getInstance(new Properties()));
+    }
+}
@@ -0,0 +1,89 @@
+package com.ayd.parkcontrol.infrastructure.notification;
+
+import com.ayd.parkcontrol.infrastructure.persistence.entity.EmailOutboxEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaEmailOutboxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para EmailOutbox.
+ */
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxTest {
+
+    @Mock
+    private JpaEmailOutboxRepository outboxRepository;
+
+    @Mock
+    private EmailOutboxDispatcher dispatcher;
+
+    @Spy
+    private EmailOutboxMetrics metrics = new EmailOutboxMetrics();
+
+    @InjectMocks
+    private EmailOutbox emailOutbox;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void enqueue_shouldStorePendingEmail() {
+        // Arrange
+        when(outboxRepository.save(any(EmailOutboxEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        emailOutbox.enqueue("user@example.com", "Asunto", "<p>Cuerpo</p>");
+
+        // Assert
+        ArgumentCaptor<EmailOutboxEntity> saved = ArgumentCaptor.forClass(EmailOutboxEntity.class);
+        verify(outboxRepository).save(saved.capture());
+        assertEquals("user@example.com", saved.getValue().getRecipient());
+        assertEquals(EmailOutboxEntity.Status.PENDING, saved.getValue().getStatus());
+        assertEquals(0, saved.getValue().getAttempts());
+        assertNotNull(saved.getValue().getNextAttemptAt());
+        assertEquals(1L, metrics.snapshot().get("enqueued"));
+    }
+
+    @Test
+    void enqueue_insideTransaction_shouldWakeDispatcherOnlyAfterCommit() {
+        // Arrange
+        when(outboxRepository.save(any(EmailOutboxEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        emailOutbox.enqueue("user@example.com", "Asunto", "<p>Cuerpo</p>");
+
+        // Assert
+        verify(dispatcher, never()).wakeUp();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(dispatcher).wakeUp();
+    }
+
+    @Test
+    void enqueue_withoutTransactionSynchronization_shouldWakeDispatcherImmediately() {
+        // Arrange
+        when(outboxRepository.save(any(EmailOutboxEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        emailOutbox.enqueue("user@example.com", "Asunto", "<p>Cuerpo</p>");
+
+        // Assert
+        verify(dispatcher).wakeUp();
+    }
+}
@@ -1,6 +1,5 @@
 package com.ayd.parkcontrol.infrastructure.notification;
 
-import jakarta.mail.internet.MimeMessage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -8,62 +7,52 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.assertj.core.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
  * Tests unitarios para EmailServiceImpl.
- * Valida la construcción y envío de correos electrónicos para diferentes
- * escenarios.
+ * Valida la construcción de correos electrónicos para diferentes escenarios y
+ * su registro en el outbox.
  */
 @ExtendWith(MockitoExtension.class)
 class EmailServiceImplTest {
 
     @Mock
-    private JavaMailSender mailSender;
-
-    @Mock
-    private MimeMessage mimeMessage;
+    private EmailOutbox emailOutbox;
 
     @InjectMocks
     private EmailServiceImpl emailService;
 
-    private String fromEmail = "noreply@parkcontrol.com";
     private String appName = "ParkControl S.A.";
 
     @BeforeEach
     void setUp() {
-        ReflectionTestUtils.setField(emailService, "fromEmail", fromEmail);
         ReflectionTestUtils.setField(emailService, "appName", appName);
     }
 
     @Test
-    void sendEmail_shouldSendEmailSuccessfully() throws Exception {
+    void sendEmail_shouldEnqueueEmailInOutbox() {
         String to = "user@example.com";
         String subject = "Test Subject";
         String body = "<h1>Test Body</h1>";
 
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
         emailService.sendEmail(to, subject, body);
 
-        ArgumentCaptor<MimeMessage> messageCaptor = ArgumentCaptor.forClass(MimeMessage.class);
-        verify(mailSender).send(messageCaptor.capture());
-        verify(mailSender).createMimeMessage();
+        verify(emailOutbox).enqueue(to, subject, body);
     }
 
     @Test
-    void sendEmail_shouldThrowException_whenMessagingFails() {
+    void sendEmail_shouldPropagateException_whenOutboxFails() {
         String to = "user@example.com";
         String subject = "Test Subject";
         String body = "<h1>Test Body</h1>";
 
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-        doThrow(RuntimeException.class).when(mailSender).send(any(MimeMessage.class));
+        doThrow(RuntimeException.class).when(emailOutbox).enqueue(to, subject, body);
 
         assertThatThrownBy(() -> emailService.sendEmail(to, subject, body))
                 .isInstanceOf(RuntimeException.class);
@@ -74,13 +63,9 @@ class EmailServiceImplTest {
         String to = "user@example.com";
         String code = "123456";
 
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
         emailService.send2FACode(to, code);
 
-        ArgumentCaptor<MimeMessage> messageCaptor = ArgumentCaptor.forClass(MimeMessage.class);
-        verify(mailSender).send(messageCaptor.capture());
-        verify(mailSender).createMimeMessage();
+        assertThat(capturedBody(to)).contains(code);
     }
 
     @Test
@@ -88,13 +73,9 @@ class EmailServiceImplTest {
         String to = "user@example.com";
         String code = "123456";
 
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
         emailService.send2FACode(to, code);
 
-        // Verificar que se llamó a sendEmail con el subject correcto (indirectamente a
-        // través de send)
-        verify(mailSender).send(any(MimeMessage.class));
+        verify(emailOutbox).enqueue(eq(to), eq(appName + " - Código de Autenticación de Dos Factores"), anyString());
     }
 
     @Test
@@ -102,13 +83,9 @@ class EmailServiceImplTest {
         String to = "user@example.com";
         String resetLink = "https://parkcontrol.com/reset?token=abc123";
 
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
         emailService.sendPasswordResetEmail(to, resetLink);
 
-        ArgumentCaptor<MimeMessage> messageCaptor = ArgumentCaptor.forClass(MimeMessage.class);
-        verify(mailSender).send(messageCaptor.capture());
-        verify(mailSender).createMimeMessage();
+        assertThat(capturedBody(to)).contains(resetLink);
     }
 
     @Test
@@ -116,11 +93,10 @@ class EmailServiceImplTest {
         String to = "user@example.com";
         String resetLink = "https://parkcontrol.com/reset?token=abc123";
 
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
         emailService.sendPasswordResetEmail(to, resetLink);
 
-        verify(mailSender).send(any(MimeMessage.class));
+        verify(emailOutbox).enqueue(eq(to), eq(appName + " - Solicitud de Restablecimiento de Contraseña"),
+                anyString());
     }
 
     @Test
@@ -128,13 +104,9 @@ class EmailServiceImplTest {
         String to = "user@example.com";
         String userName = "John Doe";
 
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
         emailService.sendPasswordChangedNotification(to, userName);
 
-        ArgumentCaptor<MimeMessage> messageCaptor = ArgumentCaptor.forClass(MimeMessage.class);
-        verify(mailSender).send(messageCaptor.capture());
-        verify(mailSender).createMimeMessage();
+        assertThat(capturedBody(to)).contains(userName);
     }
 
     @Test
@@ -142,26 +114,9 @@ class EmailServiceImplTest {
         String to = "user@example.com";
         String userName = "John Doe";
 
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
         emailService.sendPasswordChangedNotification(to, userName);
 
-        verify(mailSender).send(any(MimeMessage.class));
-    }
-
-    @Test
-    void sendEmail_shouldUseTrustedSender() {
-        String to = "user@example.com";
-        String subject = "Test Subject";
-        String body = "<h1>Test Body</h1>";
-
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
-        emailService.sendEmail(to, subject, body);
-
-        // Verificar que createMimeMessage fue llamado (esto implica que se configuró el
-        // from)
-        verify(mailSender).createMimeMessage();
+        verify(emailOutbox).enqueue(eq(to), eq(appName + " - Contraseña Cambiada Exitosamente"), anyString());
     }
 
     @Test
@@ -170,12 +125,9 @@ class EmailServiceImplTest {
         String subject = "HTML Test";
         String body = "<html><body><h1>HTML Content</h1></body></html>";
 
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
         emailService.sendEmail(to, subject, body);
 
-        // Verificar que se envió con soporte HTML (implícito en MimeMessageHelper)
-        verify(mailSender).send(any(MimeMessage.class));
+        assertThat(capturedBody(to)).isEqualTo(body);
     }
 
     @Test
@@ -186,13 +138,9 @@ class EmailServiceImplTest {
         String newPlate = "XYZ789";
         String reviewNotes = "Documentación verificada correctamente";
 
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
         emailService.sendPlateChangeApprovedNotification(to, userName, oldPlate, newPlate, reviewNotes);
 
-        ArgumentCaptor<MimeMessage> messageCaptor = ArgumentCaptor.forClass(MimeMessage.class);
-        verify(mailSender).send(messageCaptor.capture());
-        verify(mailSender).createMimeMessage();
+        assertThat(capturedBody(to)).contains(userName, reviewNotes);
     }
 
     @Test
@@ -203,12 +151,9 @@ class EmailServiceImplTest {
         String newPlate = "NEW456";
         String reviewNotes = null;
 
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
         emailService.sendPlateChangeApprovedNotification(to, userName, oldPlate, newPlate, reviewNotes);
 
-        verify(mailSender).send(any(MimeMessage.class));
-        verify(mailSender).createMimeMessage();
+        assertThat(capturedBody(to)).doesNotContain("Notas del revisor");
     }
 
     @Test
@@ -219,13 +164,9 @@ class EmailServiceImplTest {
         String newPlate = "XYZ789";
         String reviewNotes = "Documentación incompleta";
 
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
         emailService.sendPlateChangeRejectedNotification(to, userName, oldPlate, newPlate, reviewNotes);
 
-        ArgumentCaptor<MimeMessage> messageCaptor = ArgumentCaptor.forClass(MimeMessage.class);
-        verify(mailSender).send(messageCaptor.capture());
-        verify(mailSender).createMimeMessage();
+        assertThat(capturedBody(to)).contains(userName, reviewNotes);
     }
 
     @Test
@@ -236,12 +177,9 @@ class EmailServiceImplTest {
         String newPlate = "NEW456";
         String reviewNotes = "";
 
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
         emailService.sendPlateChangeRejectedNotification(to, userName, oldPlate, newPlate, reviewNotes);
 
-        verify(mailSender).send(any(MimeMessage.class));
-        verify(mailSender).createMimeMessage();
+        assertThat(capturedBody(to)).contains("No se proporcionaron detalles adicionales");
     }
 
     @Test
@@ -252,11 +190,9 @@ class EmailServiceImplTest {
         String newPlate = "TEST456";
         String reviewNotes = "Test notes";
 
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
         emailService.sendPlateChangeApprovedNotification(to, userName, oldPlate, newPlate, reviewNotes);
 
-        verify(mailSender).send(any(MimeMessage.class));
+        assertThat(capturedBody(to)).contains(oldPlate, newPlate);
     }
 
     @Test
@@ -267,10 +203,14 @@ class EmailServiceImplTest {
         String newPlate = "TEST456";
         String reviewNotes = "Reason for rejection";
 
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
         emailService.sendPlateChangeRejectedNotification(to, userName, oldPlate, newPlate, reviewNotes);
 
-        verify(mailSender).send(any(MimeMessage.class));
+        assertThat(capturedBody(to)).contains(oldPlate, newPlate);
+    }
+
+    private String capturedBody(String to) {
+        ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+        verify(emailOutbox).enqueue(eq(to), anyString(), body.capture());
+        return body.getValue();
     }
 }
@@ -0,0 +1,100 @@
+package com.ayd.parkcontrol.infrastructure.notification;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para SmtpTransportPool contra un servidor SMTP local.
+ */
+class SmtpTransportPoolTest {
+
+    private FakeSmtpServer smtpServer;
+
+    private EmailOutboxMetrics metrics;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        smtpServer = new FakeSmtpServer();
+        metrics = new EmailOutboxMetrics();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        smtpServer.close();
+    }
+
+    @Test
+    void send_shouldReuseOneConnectionForConsecutiveMessages() throws Exception {
+        // Arrange
+        SmtpTransportPool pool = pool(60_000);
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            pool.send(message(pool, "user" + i + "@example.com"));
+        }
+
+        // Assert
+        assertEquals(1, smtpServer.getConnections());
+        assertEquals(3, smtpServer.getMessages().size());
+        assertEquals(1L, metrics.snapshot().get("transport_connects"));
+        assertEquals(2L, metrics.snapshot().get("transport_reuses"));
+        assertEquals(1, pool.getIdleCount());
+        pool.close();
+    }
+
+    @Test
+    void send_whenServerRejects_shouldDiscardConnectionAndReconnect() throws Exception {
+        // Arrange
+        SmtpTransportPool pool = pool(60_000);
+        smtpServer.reject("rejected@example.com");
+
+        // Act
+        assertThrows(MessagingException.class, () -> pool.send(message(pool, "rejected@example.com")));
+        pool.send(message(pool, "user@example.com"));
+
+        // Assert
+        assertEquals(2, smtpServer.getConnections());
+        assertEquals(1, smtpServer.getMessages().size());
+        pool.close();
+    }
+
+    @Test
+    void send_withExpiredIdleConnection_shouldOpenNewConnection() throws Exception {
+        // Arrange
+        SmtpTransportPool pool = pool(0);
+
+        // Act
+        pool.send(message(pool, "a@example.com"));
+        pool.send(message(pool, "b@example.com"));
+
+        // Assert
+        assertEquals(2, smtpServer.getConnections());
+        assertEquals(0L, metrics.snapshot().get("transport_reuses"));
+        pool.close();
+    }
+
+    private SmtpTransportPool pool(long maxIdleMs) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtpServer.getPort());
+        mailSender.getJavaMailProperties().put("mail.smtp.timeout", 5000);
+        return new SmtpTransportPool(mailSender, metrics, 2, maxIdleMs);
+    }
+
+    private MimeMessage message(SmtpTransportPool pool, String to) throws MessagingException {
+        MimeMessage message = pool.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setFrom("noreply@parkcontrol.com");
+        helper.setTo(to);
+        helper.setSubject("Prueba");
+        helper.setText("<p>Hola</p>", true);
+        return message;
+    }
+}
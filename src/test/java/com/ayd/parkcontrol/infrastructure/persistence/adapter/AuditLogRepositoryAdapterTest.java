@@ -1,6 +1,7 @@
 package com.ayd.parkcontrol.infrastructure.persistence.adapter;
 
 import com.ayd.parkcontrol.domain.model.audit.AuditLog;
+import com.ayd.parkcontrol.domain.model.audit.AuditLogFilter;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.AuditLogEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.mapper.AuditLogMapper;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaAuditLogRepository;
@@ -10,13 +11,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -98,70 +96,34 @@ class AuditLogRepositoryAdapterTest {
     }
 
     @Test
-    void findAll_ShouldReturnPageOfMappedAuditLogs() {
+    void findPage_ShouldPassFilterAndKeysetAndMapResults() {
         // Arrange
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<AuditLogEntity> entityPage = new PageImpl<>(Collections.singletonList(auditLogEntity));
-        when(jpaAuditLogRepository.findAll(pageable)).thenReturn(entityPage);
+        LocalDateTime afterCreatedAt = LocalDateTime.of(2025, 10, 17, 8, 30);
+        AuditLogFilter filter = AuditLogFilter.builder().userId(1L).module("users").build();
+        when(jpaAuditLogRepository.findPage(1L, "users", null, null, afterCreatedAt, 40L, PageRequest.of(0, 21)))
+                .thenReturn(List.of(auditLogEntity));
         when(auditLogMapper.toDomain(auditLogEntity)).thenReturn(auditLog);
 
         // Act
-        Page<AuditLog> result = auditLogRepositoryAdapter.findAll(pageable);
+        List<AuditLog> result = auditLogRepositoryAdapter.findPage(filter, afterCreatedAt, 40L, 21);
 
         // Assert
-        assertThat(result).isNotEmpty();
-        assertThat(result.getTotalElements()).isEqualTo(1);
-        verify(jpaAuditLogRepository).findAll(pageable);
+        assertThat(result).containsExactly(auditLog);
+        verify(jpaAuditLogRepository).findPage(1L, "users", null, null, afterCreatedAt, 40L, PageRequest.of(0, 21));
     }
 
     @Test
-    void findByUserId_ShouldReturnUserAuditLogs() {
+    void count_ShouldCountWithFilter() {
         // Arrange
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<AuditLogEntity> entityPage = new PageImpl<>(Collections.singletonList(auditLogEntity));
-        when(jpaAuditLogRepository.findByUserId(1L, pageable)).thenReturn(entityPage);
-        when(auditLogMapper.toDomain(auditLogEntity)).thenReturn(auditLog);
-
-        // Act
-        Page<AuditLog> result = auditLogRepositoryAdapter.findByUserId(1L, pageable);
-
-        // Assert
-        assertThat(result).isNotEmpty();
-        verify(jpaAuditLogRepository).findByUserId(1L, pageable);
-    }
-
-    @Test
-    void findByModule_ShouldReturnFilteredAuditLogs() {
-        // Arrange
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<AuditLogEntity> entityPage = new PageImpl<>(Collections.singletonList(auditLogEntity));
-        when(jpaAuditLogRepository.findByModule("users", pageable)).thenReturn(entityPage);
-        when(auditLogMapper.toDomain(auditLogEntity)).thenReturn(auditLog);
-
-        // Act
-        Page<AuditLog> result = auditLogRepositoryAdapter.findByModule("users", pageable);
-
-        // Assert
-        assertThat(result).isNotEmpty();
-        verify(jpaAuditLogRepository).findByModule("users", pageable);
-    }
-
-    @Test
-    void findByCreatedAtBetween_ShouldReturnAuditLogsWithinDateRange() {
-        // Arrange
-        LocalDateTime startDate = LocalDateTime.now().minusDays(7);
-        LocalDateTime endDate = LocalDateTime.now();
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<AuditLogEntity> entityPage = new PageImpl<>(Collections.singletonList(auditLogEntity));
-        when(jpaAuditLogRepository.findByCreatedAtBetween(startDate, endDate, pageable))
-                .thenReturn(entityPage);
-        when(auditLogMapper.toDomain(auditLogEntity)).thenReturn(auditLog);
+        LocalDateTime startDate = LocalDateTime.of(2025, 10, 1, 0, 0);
+        LocalDateTime endDate = LocalDateTime.of(2025, 10, 31, 23, 59);
+        AuditLogFilter filter = AuditLogFilter.builder().startDate(startDate).endDate(endDate).build();
+        when(jpaAuditLogRepository.countFiltered(null, null, startDate, endDate)).thenReturn(12L);
 
         // Act
-        Page<AuditLog> result = auditLogRepositoryAdapter.findByCreatedAtBetween(startDate, endDate, pageable);
+        long result = auditLogRepositoryAdapter.count(filter);
 
         // Assert
-        assertThat(result).isNotEmpty();
-        verify(jpaAuditLogRepository).findByCreatedAtBetween(startDate, endDate, pageable);
+        assertThat(result).isEqualTo(12L);
     }
 }
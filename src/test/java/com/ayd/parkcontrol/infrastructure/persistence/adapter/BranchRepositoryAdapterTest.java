@@ -16,6 +16,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -84,6 +85,20 @@ class BranchRepositoryAdapterTest {
         verify(branchMapper).toDomain(branchEntity);
     }
 
+    @Test
+    void findAllById_ShouldLoadBranchesInOneQueryAndMapThem() {
+        // Arrange
+        when(jpaBranchRepository.findAllById(List.of(1L))).thenReturn(List.of(branchEntity));
+        when(branchMapper.toDomain(branchEntity)).thenReturn(branch);
+
+        // Act
+        List<Branch> result = branchRepositoryAdapter.findAllById(List.of(1L));
+
+        // Assert
+        assertThat(result).containsExactly(branch);
+        verify(jpaBranchRepository).findAllById(List.of(1L));
+    }
+
     @Test
     void findById_WhenBranchDoesNotExist_ShouldReturnEmpty() {
         // Arrange
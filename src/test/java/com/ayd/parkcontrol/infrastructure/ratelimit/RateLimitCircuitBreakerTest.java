@@ -0,0 +1,74 @@
+package com.ayd.parkcontrol.infrastructure.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para RateLimitCircuitBreaker.
+ */
+class RateLimitCircuitBreakerTest {
+
+    private final RateLimitMetrics metrics = new RateLimitMetrics();
+
+    @Test
+    void recordFailure_belowThreshold_shouldStayClosed() {
+        RateLimitCircuitBreaker breaker = new RateLimitCircuitBreaker(3, 60000, metrics);
+
+        breaker.recordFailure();
+        breaker.recordFailure();
+
+        assertEquals(RateLimitCircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    void recordSuccess_shouldResetConsecutiveFailures() {
+        RateLimitCircuitBreaker breaker = new RateLimitCircuitBreaker(2, 60000, metrics);
+
+        breaker.recordFailure();
+        breaker.recordSuccess();
+        breaker.recordFailure();
+
+        assertEquals(RateLimitCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void recordFailure_atThreshold_shouldOpenAndRejectRequests() {
+        RateLimitCircuitBreaker breaker = new RateLimitCircuitBreaker(2, 60000, metrics);
+
+        breaker.recordFailure();
+        breaker.recordFailure();
+
+        assertEquals(RateLimitCircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+        assertEquals(1L, metrics.snapshot().get("circuit_openings"));
+    }
+
+    @Test
+    void allowRequest_afterOpenPeriod_shouldLetSingleProbeThrough() {
+        RateLimitCircuitBreaker breaker = new RateLimitCircuitBreaker(1, 0, metrics);
+        breaker.recordFailure();
+
+        assertTrue(breaker.allowRequest());
+        assertEquals(RateLimitCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+
+        breaker.recordSuccess();
+
+        assertEquals(RateLimitCircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    void recordFailure_duringProbe_shouldReopen() {
+        RateLimitCircuitBreaker breaker = new RateLimitCircuitBreaker(1, 0, metrics);
+        breaker.recordFailure();
+        breaker.allowRequest();
+
+        breaker.recordFailure();
+
+        assertEquals(RateLimitCircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(2L, metrics.snapshot().get("circuit_openings"));
+    }
+}
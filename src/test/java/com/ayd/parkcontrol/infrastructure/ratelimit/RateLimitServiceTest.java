@@ -5,13 +5,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 
-import java.time.Duration;
-import java.util.concurrent.TimeUnit;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -23,127 +26,96 @@ class RateLimitServiceTest {
     @Mock
     private StringRedisTemplate redisTemplate;
 
-    @Mock
-    private ValueOperations<String, String> valueOperations;
-
     @InjectMocks
     private RateLimitService service;
 
+    private final RateLimitConfig config = new RateLimitConfig(5, 900);
+
     @Test
-    void isRateLimitExceeded_firstRequest_shouldReturnFalse() {
+    void tryAcquire_belowLimit_shouldAllowAndReturnRemaining() {
         // Arrange
-        String endpoint = "/api/v1/auth/login";
-        String ip = "192.168.1.1";
-        String key = "rate_limit:/api/v1/auth/login:192.168.1.1";
-
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get(key)).thenReturn(null);
+        String key = "rate_limit:login:ip:192.168.1.1";
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(key)), eq("5"), eq("900"), anyString(),
+                eq("1"))).thenReturn(List.of(1L, 4L, 900L));
 
         // Act
-        boolean result = service.isRateLimitExceeded(endpoint, ip, 5, 900);
+        RateLimitDecision decision = service.tryAcquire("login", "ip:192.168.1.1", config, 1);
 
         // Assert
-        assertFalse(result);
-        verify(valueOperations).set(key, "1", Duration.ofSeconds(900));
+        assertTrue(decision.allowed());
+        assertEquals(5, decision.limit());
+        assertEquals(4L, decision.remaining());
+        assertEquals(900L, decision.resetSeconds());
     }
 
     @Test
-    void isRateLimitExceeded_belowLimit_shouldReturnFalse() {
+    void tryAcquire_atLimit_shouldRejectWithResetTime() {
         // Arrange
-        String endpoint = "/api/v1/auth/login";
-        String ip = "192.168.1.1";
-        String key = "rate_limit:/api/v1/auth/login:192.168.1.1";
-
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get(key)).thenReturn("3");
-        when(valueOperations.increment(key)).thenReturn(4L);
+        String key = "rate_limit:login:ip:192.168.1.1";
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(key)), eq("5"), eq("900"), anyString(),
+                eq("1"))).thenReturn(List.of(0L, 0L, 450L));
 
         // Act
-        boolean result = service.isRateLimitExceeded(endpoint, ip, 5, 900);
+        RateLimitDecision decision = service.tryAcquire("login", "ip:192.168.1.1", config, 1);
 
         // Assert
-        assertFalse(result);
-        verify(valueOperations).increment(key);
+        assertFalse(decision.allowed());
+        assertEquals(0L, decision.remaining());
+        assertEquals(450L, decision.resetSeconds());
     }
 
     @Test
-    void isRateLimitExceeded_atLimit_shouldReturnTrue() {
+    void tryAcquire_withCost_shouldRecordPermitsInSingleScriptCall() {
         // Arrange
-        String endpoint = "/api/v1/auth/login";
-        String ip = "192.168.1.1";
-        String key = "rate_limit:/api/v1/auth/login:192.168.1.1";
-
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get(key)).thenReturn("5");
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any(), any()))
+                .thenReturn(List.of(1L, 2L, 900L));
 
         // Act
-        boolean result = service.isRateLimitExceeded(endpoint, ip, 5, 900);
+        service.tryAcquire("gates", "user:7", config, 3);
 
         // Assert
-        assertTrue(result);
-        verify(valueOperations, never()).increment(key);
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), eq(List.of("rate_limit:gates:user:7")),
+                eq("5"), eq("900"), anyString(), eq("3"));
+        verifyNoMoreInteractions(redisTemplate);
     }
 
     @Test
-    void isRateLimitExceeded_aboveLimit_shouldReturnTrue() {
+    void tryAcquire_whenRedisUnavailable_shouldPropagateFailure() {
         // Arrange
-        String endpoint = "/api/v1/auth/verify-2fa";
-        String ip = "10.0.0.1";
-        String key = "rate_limit:/api/v1/auth/verify-2fa:10.0.0.1";
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any(), any()))
+                .thenThrow(new RedisConnectionFailureException("Connection refused"));
 
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get(key)).thenReturn("10");
-
-        // Act
-        boolean result = service.isRateLimitExceeded(endpoint, ip, 3, 300);
-
-        // Assert
-        assertTrue(result);
+        // Act & Assert
+        assertThrows(RedisConnectionFailureException.class,
+                () -> service.tryAcquire("login", "ip:192.168.1.1", config, 1));
     }
 
     @Test
-    void getRemainingLockTime_withActiveLock_shouldReturnSeconds() {
+    void tryAcquire_withInvalidScriptResult_shouldFail() {
         // Arrange
-        String endpoint = "/api/v1/auth/login";
-        String ip = "192.168.1.1";
-        String key = "rate_limit:/api/v1/auth/login:192.168.1.1";
-
-        when(redisTemplate.getExpire(key, TimeUnit.SECONDS)).thenReturn(450L);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any(), any())).thenReturn(null);
 
-        // Act
-        long result = service.getRemainingLockTime(endpoint, ip);
-
-        // Assert
-        assertEquals(450L, result);
+        // Act & Assert
+        assertThrows(IllegalStateException.class,
+                () -> service.tryAcquire("login", "ip:192.168.1.1", config, 1));
     }
 
     @Test
-    void getRemainingLockTime_withoutLock_shouldReturnZero() {
-        // Arrange
-        String endpoint = "/api/v1/auth/login";
-        String ip = "192.168.1.1";
-        String key = "rate_limit:/api/v1/auth/login:192.168.1.1";
-
-        when(redisTemplate.getExpire(key, TimeUnit.SECONDS)).thenReturn(-1L);
-
+    void resetLimit_shouldDeleteKey() {
         // Act
-        long result = service.getRemainingLockTime(endpoint, ip);
+        service.resetLimit("login", "ip:192.168.1.1");
 
         // Assert
-        assertEquals(0L, result);
+        verify(redisTemplate).delete("rate_limit:login:ip:192.168.1.1");
     }
 
     @Test
-    void resetLimit_shouldDeleteKey() {
-        // Arrange
-        String endpoint = "/api/v1/auth/login";
-        String ip = "192.168.1.1";
-        String key = "rate_limit:/api/v1/auth/login:192.168.1.1";
+    void parse_shouldReadRequestsAndWindow() {
+        RateLimitConfig parsed = RateLimitConfig.parse("50/900");
 
-        // Act
-        service.resetLimit(endpoint, ip);
-
-        // Assert
-        verify(redisTemplate).delete(key);
+        assertEquals(50, parsed.getMaxAttempts());
+        assertEquals(900, parsed.getWindowSeconds());
+        assertThrows(IllegalArgumentException.class, () -> RateLimitConfig.parse("50"));
+        assertThrows(IllegalArgumentException.class, () -> RateLimitConfig.parse("0/60"));
     }
 }
@@ -0,0 +1,161 @@
+package com.ayd.parkcontrol.infrastructure.ratelimit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para TieredRateLimiter.
+ */
+@ExtendWith(MockitoExtension.class)
+class TieredRateLimiterTest {
+
+    @Mock
+    private RateLimitService rateLimitService;
+
+    private RateLimitMetrics metrics;
+    private RateLimitCircuitBreaker circuitBreaker;
+    private TieredRateLimiter limiter;
+
+    private final RateLimitConfig config = new RateLimitConfig(100, 60);
+
+    @BeforeEach
+    void setUp() {
+        metrics = new RateLimitMetrics();
+        circuitBreaker = new RateLimitCircuitBreaker(2, 60000, metrics);
+        limiter = new TieredRateLimiter(rateLimitService, circuitBreaker, metrics, 3, 60000, 500, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        limiter.stop();
+    }
+
+    @Test
+    void tryAcquire_afterFirstSync_shouldAdmitLocallyUpToBatch() {
+        // Arrange
+        when(rateLimitService.tryAcquire("api", "user:7", config, 1))
+                .thenReturn(new RateLimitDecision(true, 100, 99, 60));
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire("api", "user:7", config).allowed());
+        }
+
+        // Assert
+        verify(rateLimitService, times(1)).tryAcquire("api", "user:7", config, 1);
+        assertEquals(3L, metrics.snapshot().get("local_decisions"));
+        assertEquals(1L, metrics.snapshot().get("redis_decisions"));
+    }
+
+    @Test
+    void tryAcquire_whenLocalBatchIsUsed_shouldSyncPendingWithNextRequest() {
+        // Arrange
+        when(rateLimitService.tryAcquire("api", "user:7", config, 1))
+                .thenReturn(new RateLimitDecision(true, 100, 99, 60));
+        when(rateLimitService.tryAcquire("api", "user:7", config, 4))
+                .thenReturn(new RateLimitDecision(true, 100, 95, 60));
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("api", "user:7", config);
+        }
+
+        // Assert
+        verify(rateLimitService).tryAcquire("api", "user:7", config, 4);
+    }
+
+    @Test
+    void tryAcquire_whenRedisRejects_shouldRejectLocallyUntilReset() {
+        // Arrange
+        when(rateLimitService.tryAcquire("login", "ip:10.0.0.1", config, 1))
+                .thenReturn(new RateLimitDecision(false, 100, 0, 30));
+
+        // Act
+        RateLimitDecision first = limiter.tryAcquire("login", "ip:10.0.0.1", config);
+        RateLimitDecision second = limiter.tryAcquire("login", "ip:10.0.0.1", config);
+
+        // Assert
+        assertFalse(first.allowed());
+        assertFalse(second.allowed());
+        assertTrue(second.resetSeconds() > 0);
+        verify(rateLimitService, times(1)).tryAcquire(anyString(), anyString(), any(), anyInt());
+        assertEquals(2L, metrics.snapshot().get("rejected_requests"));
+    }
+
+    @Test
+    void syncPending_shouldSendLocallyAdmittedPermits() {
+        // Arrange
+        when(rateLimitService.tryAcquire("api", "user:7", config, 1))
+                .thenReturn(new RateLimitDecision(true, 100, 99, 60));
+        when(rateLimitService.tryAcquire("api", "user:7", config, 2))
+                .thenReturn(new RateLimitDecision(true, 100, 97, 60));
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("api", "user:7", config);
+        }
+
+        // Act
+        limiter.syncPending();
+        limiter.syncPending();
+
+        // Assert
+        verify(rateLimitService, times(1)).tryAcquire("api", "user:7", config, 2);
+        assertEquals(2L, metrics.snapshot().get("synced_permits"));
+    }
+
+    @Test
+    void tryAcquire_whenRedisFails_shouldFallBackToLocalLimit() {
+        // Arrange
+        RateLimitConfig strict = new RateLimitConfig(2, 60);
+        when(rateLimitService.tryAcquire(eq("login"), eq("ip:10.0.0.1"), eq(strict), anyInt()))
+                .thenThrow(new RedisConnectionFailureException("Connection refused"));
+
+        // Act
+        RateLimitDecision first = limiter.tryAcquire("login", "ip:10.0.0.1", strict);
+        RateLimitDecision second = limiter.tryAcquire("login", "ip:10.0.0.1", strict);
+        RateLimitDecision third = limiter.tryAcquire("login", "ip:10.0.0.1", strict);
+
+        // Assert
+        assertTrue(first.allowed());
+        assertTrue(second.allowed());
+        assertFalse(third.allowed());
+        assertEquals(RateLimitCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(3L, metrics.snapshot().get("fallback_decisions"));
+        assertEquals(1L, metrics.snapshot().get("circuit_openings"));
+        verify(rateLimitService, times(2)).tryAcquire(anyString(), anyString(), any(), anyInt());
+    }
+
+    @Test
+    void tryAcquire_whenRedisIsSlow_shouldNotWaitForIt() {
+        // Arrange
+        limiter.stop();
+        limiter = new TieredRateLimiter(rateLimitService, circuitBreaker, metrics, 3, 60000, 20, 2);
+        // La consulta corre en otro hilo y puede cancelarse antes de empezar
+        lenient().when(rateLimitService.tryAcquire("api", "user:7", config, 1)).thenAnswer(invocation -> {
+            Thread.sleep(1000);
+            return new RateLimitDecision(true, 100, 99, 60);
+        });
+
+        // Act
+        long start = System.nanoTime();
+        RateLimitDecision decision = limiter.tryAcquire("api", "user:7", config);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertTrue(decision.allowed());
+        assertTrue(elapsedMillis < 500, "took " + elapsedMillis + " ms");
+        assertEquals(1L, metrics.snapshot().get("redis_failures"));
+        assertEquals(1L, metrics.snapshot().get("fallback_decisions"));
+    }
+}
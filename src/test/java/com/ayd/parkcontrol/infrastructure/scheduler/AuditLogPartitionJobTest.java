@@ -0,0 +1,162 @@
+package com.ayd.parkcontrol.infrastructure.scheduler;
+
+import com.ayd.parkcontrol.infrastructure.cache.RedisLock;
+import com.ayd.parkcontrol.infrastructure.scheduler.AuditLogPartitionJob.MaintenanceResult;
+import com.ayd.parkcontrol.infrastructure.scheduler.AuditLogPartitionJob.RangePartition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para AuditLogPartitionJob.
+ */
+@ExtendWith(MockitoExtension.class)
+class AuditLogPartitionJobTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 10, 17);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private RedisLock redisLock;
+
+    @Test
+    void run_shouldReorganizeMaxPartitionIntoUpcomingMonths() {
+        // Arrange
+        givenPartitions(
+                new RangePartition("p202509", "'2025-10-01 00:00:00'"),
+                new RangePartition("p202510", "'2025-11-01 00:00:00'"),
+                new RangePartition("pmax", "MAXVALUE"));
+
+        // Act
+        MaintenanceResult result = job(3, 24, true).run(TODAY);
+
+        // Assert
+        verify(jdbcTemplate).execute("ALTER TABLE audit_log REORGANIZE PARTITION pmax INTO ("
+                + "PARTITION p202511 VALUES LESS THAN ('2025-12-01'), "
+                + "PARTITION p202512 VALUES LESS THAN ('2026-01-01'), "
+                + "PARTITION p202601 VALUES LESS THAN ('2026-02-01'), "
+                + "PARTITION pmax VALUES LESS THAN (MAXVALUE))");
+        assertEquals(new MaintenanceResult(3, 0, 0), result);
+    }
+
+    @Test
+    void run_withExpiredPartitions_shouldArchiveThroughExchangeAndDrop() {
+        // Arrange
+        givenPartitions(
+                new RangePartition("p202409", "'2024-10-01 00:00:00'"),
+                new RangePartition("p202410", "'2024-11-01 00:00:00'"),
+                new RangePartition("p202601", "'2026-02-01 00:00:00'"),
+                new RangePartition("pmax", "MAXVALUE"));
+        when(jdbcTemplate.queryForObject(AuditLogPartitionJob.TABLE_EXISTS_SQL, Integer.class,
+                "audit_log_archive_p202409")).thenReturn(0);
+
+        // Act
+        MaintenanceResult result = job(3, 12, true).run(TODAY);
+
+        // Assert
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("CREATE TABLE audit_log_archive_p202409 LIKE audit_log");
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE audit_log_archive_p202409 REMOVE PARTITIONING");
+        inOrder.verify(jdbcTemplate)
+                .execute("ALTER TABLE audit_log EXCHANGE PARTITION p202409 WITH TABLE audit_log_archive_p202409");
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE audit_log DROP PARTITION p202409");
+        verify(jdbcTemplate, never()).execute("ALTER TABLE audit_log DROP PARTITION p202410");
+        assertEquals(new MaintenanceResult(0, 1, 1), result);
+    }
+
+    @Test
+    void run_withExistingArchiveTable_shouldKeepPartition() {
+        // Arrange
+        givenPartitions(
+                new RangePartition("p202409", "'2024-10-01 00:00:00'"),
+                new RangePartition("p202601", "'2026-02-01 00:00:00'"),
+                new RangePartition("pmax", "MAXVALUE"));
+        when(jdbcTemplate.queryForObject(AuditLogPartitionJob.TABLE_EXISTS_SQL, Integer.class,
+                "audit_log_archive_p202409")).thenReturn(1);
+
+        // Act
+        MaintenanceResult result = job(3, 12, true).run(TODAY);
+
+        // Assert
+        verify(jdbcTemplate, never()).execute(anyString());
+        assertEquals(new MaintenanceResult(0, 0, 0), result);
+    }
+
+    @Test
+    void run_withoutArchive_shouldDropExpiredPartitions() {
+        // Arrange
+        givenPartitions(
+                new RangePartition("p202408", "'2024-09-01 00:00:00'"),
+                new RangePartition("p202409", "'2024-10-01 00:00:00'"),
+                new RangePartition("p202601", "'2026-02-01 00:00:00'"),
+                new RangePartition("pmax", "MAXVALUE"));
+
+        // Act
+        MaintenanceResult result = job(3, 12, false).run(TODAY);
+
+        // Assert
+        verify(jdbcTemplate).execute("ALTER TABLE audit_log DROP PARTITION p202408");
+        verify(jdbcTemplate).execute("ALTER TABLE audit_log DROP PARTITION p202409");
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Integer.class), any(Object[].class));
+        assertEquals(new MaintenanceResult(0, 0, 2), result);
+    }
+
+    @Test
+    void run_whenTableIsNotPartitioned_shouldDoNothing() {
+        // Arrange
+        givenPartitions();
+
+        // Act
+        MaintenanceResult result = job(3, 24, true).run(TODAY);
+
+        // Assert
+        verify(jdbcTemplate, never()).execute(anyString());
+        assertEquals(new MaintenanceResult(0, 0, 0), result);
+    }
+
+    @Test
+    void maintain_whenLockIsHeldElsewhere_shouldSkip() {
+        // Arrange
+        when(redisLock.runExclusively(eq("audit-log:partitions"), any(Duration.class), any(Runnable.class)))
+                .thenReturn(false);
+
+        // Act
+        job(3, 24, true).maintain();
+
+        // Assert
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void maintain_whenDisabled_shouldNotTouchDatabase() {
+        // Act
+        new AuditLogPartitionJob(jdbcTemplate, redisLock, false, 3, 24, true).maintain();
+
+        // Assert
+        verifyNoInteractions(jdbcTemplate, redisLock);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenPartitions(RangePartition... partitions) {
+        when(jdbcTemplate.query(eq(AuditLogPartitionJob.PARTITIONS_SQL), any(RowMapper.class)))
+                .thenReturn(List.of(partitions));
+    }
+
+    private AuditLogPartitionJob job(int aheadMonths, int retentionMonths, boolean archive) {
+        return new AuditLogPartitionJob(jdbcTemplate, redisLock, true, aheadMonths, retentionMonths, archive);
+    }
+}
@@ -1,27 +1,47 @@
 package com.ayd.parkcontrol.infrastructure.scheduler;
 
-import com.ayd.parkcontrol.application.dto.request.subscription.PurchaseSubscriptionRequest;
-import com.ayd.parkcontrol.application.dto.response.subscription.SubscriptionResponse;
+import com.ayd.parkcontrol.application.event.SubscriptionPurchasedEvent;
 import com.ayd.parkcontrol.application.port.notification.EmailService;
-import com.ayd.parkcontrol.application.usecase.subscription.PurchaseSubscriptionUseCase;
-import com.ayd.parkcontrol.domain.model.subscription.Subscription;
-import com.ayd.parkcontrol.domain.model.subscription.SubscriptionPlan;
-import com.ayd.parkcontrol.domain.repository.SubscriptionRepository;
-import org.junit.jupiter.api.BeforeEach;
+import com.ayd.parkcontrol.infrastructure.cache.RedisLock;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.RateBaseHistoryEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.SubscriptionEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.SubscriptionPlanEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.SubscriptionPlanTypeEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.SubscriptionRenewalEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.SubscriptionRenewalRunEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.SubscriptionRenewalRunEntity.Status;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.SubscriptionStatusTypeEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.UserEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaRateBaseHistoryRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaSubscriptionRenewalRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaSubscriptionRenewalRunRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaSubscriptionRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaSubscriptionStatusTypeRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.Arrays;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -31,209 +51,421 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class AutoRenewSubscriptionsJobTest {
 
+    private static final BigDecimal CURRENT_RATE = new BigDecimal("15.00");
+    private static final Integer ACTIVE_STATUS_ID = 1;
+
+    @Mock
+    private JpaSubscriptionRepository subscriptionRepository;
+
+    @Mock
+    private JpaSubscriptionRenewalRepository renewalRepository;
+
     @Mock
-    private SubscriptionRepository subscriptionRepository;
+    private JpaSubscriptionRenewalRunRepository runRepository;
 
     @Mock
-    private PurchaseSubscriptionUseCase purchaseSubscriptionUseCase;
+    private JpaRateBaseHistoryRepository rateBaseRepository;
+
+    @Mock
+    private JpaSubscriptionStatusTypeRepository statusTypeRepository;
 
     @Mock
     private EmailService emailService;
 
-    @InjectMocks
-    private AutoRenewSubscriptionsJob job;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
-    private Subscription mockSubscription;
-    private SubscriptionPlan mockPlan;
+    @Mock
+    private RedisLock redisLock;
 
-    @BeforeEach
-    void setUp() {
-        mockPlan = SubscriptionPlan.builder()
-                .id(1L)
-                .planTypeName("Plan Premium")
-                .monthlyHours(50)
-                .build();
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
-        mockSubscription = Subscription.builder()
-                .id(1L)
-                .userId(100L)
-                .planId(1L)
-                .licensePlate("ABC123")
-                .isAnnual(false)
-                .userEmail("user@example.com")
-                .endDate(LocalDateTime.now().plusDays(5))
-                .plan(mockPlan)
-                .build();
-    }
+    /** Fin de vigencia con que se "carga" cada suscripción desde la base. */
+    private final Map<Long, LocalDateTime> endDates = new ConcurrentHashMap<>();
 
     @Test
-    void processAutoRenewals_withNoExpiring_shouldNotRenew() {
+    void processAutoRenewals_whenDisabled_shouldNotTakeLock() {
         // Arrange
-        when(subscriptionRepository.findExpiringSoonWithAutoRenew(any(), any()))
-                .thenReturn(Collections.emptyList());
+        AutoRenewSubscriptionsJob job = job(false, 10, 2);
 
         // Act
         job.processAutoRenewals();
 
         // Assert
-        verify(purchaseSubscriptionUseCase, never()).execute(any(), any());
-        verify(emailService, never()).sendEmail(any(), any(), any());
+        verifyNoInteractions(redisLock, runRepository, subscriptionRepository);
     }
 
     @Test
-    void processAutoRenewals_withExpiring_shouldRenewSuccessfully() {
+    void renewExclusively_shouldStartRunWithSevenDayWindowUnderLock() {
         // Arrange
-        when(subscriptionRepository.findExpiringSoonWithAutoRenew(any(), any()))
-                .thenReturn(List.of(mockSubscription));
-
-        SubscriptionResponse mockResponse = new SubscriptionResponse();
-        when(purchaseSubscriptionUseCase.execute(any(PurchaseSubscriptionRequest.class), eq(100L)))
-                .thenReturn(mockResponse);
+        AutoRenewSubscriptionsJob job = job(true, 10, 2);
+        when(redisLock.runExclusively(eq("subscriptions:auto-renew"), any(), any())).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(2).run();
+            return true;
+        });
+        when(runRepository.findFirstByOrderByIdDesc()).thenReturn(Optional.empty());
+        givenRunsAreSaved();
+        givenReferenceData();
+        when(subscriptionRepository.findAutoRenewCandidateIds(any(), any(), any(), any(), any()))
+                .thenReturn(List.of());
 
         // Act
-        job.processAutoRenewals();
+        job.renewExclusively();
 
         // Assert
-        ArgumentCaptor<PurchaseSubscriptionRequest> requestCaptor = ArgumentCaptor
-                .forClass(PurchaseSubscriptionRequest.class);
-
-        verify(purchaseSubscriptionUseCase).execute(requestCaptor.capture(), eq(100L));
-        verify(emailService).sendEmail(eq("user@example.com"), contains("renovada"), any());
+        SubscriptionRenewalRunEntity run = lastSavedRun();
+        assertEquals(Status.COMPLETED, run.getStatus());
+        assertEquals(run.getWindowStart().plusDays(AutoRenewSubscriptionsJob.DAYS_BEFORE_EXPIRY),
+                run.getWindowEnd());
+        assertEquals(0, run.getRenewed());
+        assertNotNull(run.getFinishedAt());
+        verify(emailService, never()).sendEmail(any(), any(), any());
+    }
 
-        PurchaseSubscriptionRequest captured = requestCaptor.getValue();
-        assertEquals(1L, captured.getPlanId());
-        assertEquals("ABC123", captured.getLicensePlate());
-        assertFalse(captured.getIsAnnual());
-        assertTrue(captured.getAutoRenewEnabled());
+    @Test
+    void processAutoRenewals_shouldHandRunToJobThreadAndReturn() throws Exception {
+        // Arrange
+        AutoRenewSubscriptionsJob job = job(true, 10, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> lockThread = new CompletableFuture<>();
+        when(redisLock.runExclusively(eq("subscriptions:auto-renew"), any(), any())).thenAnswer(invocation -> {
+            lockThread.complete(Thread.currentThread().getName());
+            release.await(5, TimeUnit.SECONDS);
+            return false;
+        });
+
+        try {
+            // Act: la primera llamada queda bloqueada en el hilo del job
+            job.processAutoRenewals();
+            String threadName = lockThread.get(5, TimeUnit.SECONDS);
+            job.processAutoRenewals();
+
+            // Assert
+            assertEquals("auto-renew-runner", threadName);
+            verify(redisLock, times(1)).runExclusively(any(), any(), any());
+        } finally {
+            release.countDown();
+            job.stop();
+        }
     }
 
     @Test
-    void processAutoRenewals_withMultipleSubscriptions_shouldProcessAll() {
+    void run_shouldRenewFromPreviousEndDateWithCurrentRate() {
         // Arrange
-        Subscription subscription2 = Subscription.builder()
-                .id(2L)
-                .userId(200L)
-                .planId(1L)
-                .licensePlate("XYZ789")
-                .isAnnual(true)
-                .userEmail("user2@example.com")
-                .endDate(LocalDateTime.now().plusDays(6))
-                .plan(mockPlan)
-                .build();
+        AutoRenewSubscriptionsJob job = job(true, 10, 2);
+        LocalDateTime endDate = LocalDateTime.now().plusDays(5).withNano(0);
+        endDates.put(1L, endDate);
+        givenRunsAreSaved();
+        givenReferenceData();
+        givenCandidateIds(0L, List.of(1L));
+        givenCandidatesAreLoaded();
 
-        when(subscriptionRepository.findExpiringSoonWithAutoRenew(any(), any()))
-                .thenReturn(Arrays.asList(mockSubscription, subscription2));
+        // Act
+        SubscriptionRenewalRunEntity run = job.run(job.startRun(LocalDateTime.now()));
 
-        when(purchaseSubscriptionUseCase.execute(any(), any()))
-                .thenReturn(new SubscriptionResponse());
+        // Assert
+        ArgumentCaptor<SubscriptionRenewalEntity> renewalCaptor = ArgumentCaptor
+                .forClass(SubscriptionRenewalEntity.class);
+        verify(renewalRepository).save(renewalCaptor.capture());
+        SubscriptionRenewalEntity renewal = renewalCaptor.getValue();
+        assertEquals(1L, renewal.getSubscriptionId());
+        assertEquals(endDate, renewal.getPeriodEnd());
+        assertEquals(endDate.plusMonths(1), renewal.getNewEndDate());
+        assertEquals(CURRENT_RATE, renewal.getFrozenRateBase());
+
+        SubscriptionEntity renewed = savedSubscriptions().get(0);
+        assertEquals(endDate, renewed.getStartDate());
+        assertEquals(endDate.plusMonths(1), renewed.getEndDate());
+        assertEquals(CURRENT_RATE, renewed.getFrozenRateBase());
+        assertEquals(BigDecimal.ZERO, renewed.getConsumedHours());
+        assertFalse(renewed.getNotified80Percent());
+
+        verify(emailService).sendEmail(eq("user1@example.com"), contains("renovada"), contains("ABC001"));
+        verify(eventPublisher).publishEvent(any(SubscriptionPurchasedEvent.class));
+        assertEquals(Status.COMPLETED, run.getStatus());
+        assertEquals(1, run.getRenewed());
+        assertEquals(1L, run.getLastSubscriptionId());
+    }
+
+    @Test
+    void run_withAnnualSubscription_shouldExtendOneYear() {
+        // Arrange
+        AutoRenewSubscriptionsJob job = job(true, 10, 2);
+        LocalDateTime endDate = LocalDateTime.now().plusDays(3).withNano(0);
+        endDates.put(1L, endDate);
+        givenRunsAreSaved();
+        givenReferenceData();
+        givenCandidateIds(0L, List.of(1L));
+        when(subscriptionRepository.findAutoRenewCandidates(anyCollection(), eq(ACTIVE_STATUS_ID)))
+                .thenAnswer(invocation -> List.of(subscription(1L, true)));
 
         // Act
-        job.processAutoRenewals();
+        job.run(job.startRun(LocalDateTime.now()));
 
         // Assert
-        verify(purchaseSubscriptionUseCase, times(2)).execute(any(), any());
-        verify(emailService, times(2)).sendEmail(any(), contains("renovada"), any());
+        assertEquals(endDate.plusYears(1), savedSubscriptions().get(0).getEndDate());
+        verify(emailService).sendEmail(any(), any(), contains("Anual"));
     }
 
     @Test
-    void processAutoRenewals_withRenewalFailure_shouldSendFailureEmail() {
+    void run_withAlreadyExpiredEndDate_shouldStartNewPeriodNow() {
         // Arrange
-        when(subscriptionRepository.findExpiringSoonWithAutoRenew(any(), any()))
-                .thenReturn(List.of(mockSubscription));
-
-        when(purchaseSubscriptionUseCase.execute(any(), any()))
-                .thenThrow(new RuntimeException("Payment failed"));
+        AutoRenewSubscriptionsJob job = job(true, 10, 2);
+        LocalDateTime endDate = LocalDateTime.now().minusHours(1).withNano(0);
+        endDates.put(1L, endDate);
+        givenRunsAreSaved();
+        givenReferenceData();
+        givenCandidateIds(0L, List.of(1L));
+        givenCandidatesAreLoaded();
 
         // Act
-        job.processAutoRenewals();
+        job.run(job.startRun(LocalDateTime.now()));
 
         // Assert
-        verify(emailService).sendEmail(
-                eq("user@example.com"),
-                contains("Fallo en renovación"),
-                contains("Payment failed"));
+        SubscriptionEntity renewed = savedSubscriptions().get(0);
+        assertTrue(renewed.getStartDate().isAfter(endDate));
+        assertFalse(renewed.getPurchaseDate().isAfter(renewed.getStartDate()));
     }
 
     @Test
-    void processAutoRenewals_withNullUserEmail_shouldNotSendEmail() {
+    void run_shouldProcessChunksInWavesAndLoadReferenceDataOnce() {
         // Arrange
-        mockSubscription.setUserEmail(null);
+        AutoRenewSubscriptionsJob job = job(true, 2, 2);
+        for (long id = 1; id <= 5; id++) {
+            endDates.put(id, LocalDateTime.now().plusDays(2).withNano(0));
+        }
+        givenRunsAreSaved();
+        givenReferenceData();
+        givenCandidateIds(0L, List.of(1L, 2L, 3L, 4L));
+        givenCandidateIds(4L, List.of(5L));
+        givenCandidatesAreLoaded();
 
-        when(subscriptionRepository.findExpiringSoonWithAutoRenew(any(), any()))
-                .thenReturn(List.of(mockSubscription));
+        // Act
+        SubscriptionRenewalRunEntity run = job.run(job.startRun(LocalDateTime.now()));
 
-        when(purchaseSubscriptionUseCase.execute(any(), any()))
-                .thenReturn(new SubscriptionResponse());
+        // Assert
+        verify(rateBaseRepository, times(1)).findCurrentRate();
+        verify(statusTypeRepository, times(1)).findByCode("ACTIVE");
+        verify(subscriptionRepository, times(3)).findAutoRenewCandidates(anyCollection(), eq(ACTIVE_STATUS_ID));
+        assertEquals(Status.COMPLETED, run.getStatus());
+        assertEquals(5, run.getRenewed());
+        assertEquals(3, run.getChunks());
+        assertEquals(5L, run.getLastSubscriptionId());
+        verify(emailService, times(5)).sendEmail(any(), contains("renovada"), any());
+    }
+
+    @Test
+    void run_withPeriodAlreadyRenewed_shouldSkipSubscription() {
+        // Arrange
+        AutoRenewSubscriptionsJob job = job(true, 10, 2);
+        LocalDateTime endDate = LocalDateTime.now().plusDays(4).withNano(0);
+        endDates.put(1L, endDate);
+        givenRunsAreSaved();
+        givenReferenceData();
+        givenCandidateIds(0L, List.of(1L));
+        givenCandidatesAreLoaded();
+        when(renewalRepository.findBySubscriptionIdIn(List.of(1L))).thenReturn(List.of(
+                SubscriptionRenewalEntity.builder().subscriptionId(1L).periodEnd(endDate).build()));
 
         // Act
-        job.processAutoRenewals();
+        SubscriptionRenewalRunEntity run = job.run(job.startRun(LocalDateTime.now()));
 
         // Assert
-        verify(purchaseSubscriptionUseCase).execute(any(), any());
+        verify(renewalRepository, never()).save(any());
         verify(emailService, never()).sendEmail(any(), any(), any());
+        assertEquals(0, run.getRenewed());
+        assertEquals(1, run.getSkipped());
     }
 
     @Test
-    void processAutoRenewals_withEmailServiceFailure_shouldContinueProcessing() {
+    void run_whenChunkFails_shouldRetryIndividuallyAndNotifyOnlyTheFailure() {
         // Arrange
-        when(subscriptionRepository.findExpiringSoonWithAutoRenew(any(), any()))
-                .thenReturn(List.of(mockSubscription));
+        AutoRenewSubscriptionsJob job = job(true, 10, 2);
+        endDates.put(1L, LocalDateTime.now().plusDays(2).withNano(0));
+        endDates.put(2L, LocalDateTime.now().plusDays(3).withNano(0));
+        givenRunsAreSaved();
+        givenReferenceData();
+        givenCandidateIds(0L, List.of(1L, 2L));
+        givenCandidatesAreLoaded();
+        when(renewalRepository.save(any())).thenAnswer(invocation -> {
+            SubscriptionRenewalEntity renewal = invocation.getArgument(0);
+            if (renewal.getSubscriptionId() == 2L) {
+                throw new DataIntegrityViolationException("chk_plate_format");
+            }
+            return renewal;
+        });
+        when(subscriptionRepository.findById(2L)).thenReturn(Optional.of(subscription(2L, false)));
 
-        when(purchaseSubscriptionUseCase.execute(any(), any()))
-                .thenReturn(new SubscriptionResponse());
+        // Act
+        SubscriptionRenewalRunEntity run = job.run(job.startRun(LocalDateTime.now()));
+
+        // Assert
+        assertEquals(1, run.getRenewed());
+        assertEquals(1, run.getFailed());
+        verify(emailService).sendEmail(eq("user2@example.com"), contains("Fallo en renovación"),
+                contains("chk_plate_format"));
+        verify(emailService, never()).sendEmail(eq("user1@example.com"), contains("Fallo"), any());
+    }
 
-        doThrow(new RuntimeException("Email service down"))
-                .when(emailService).sendEmail(any(), any(), any());
+    @Test
+    void run_withoutCurrentRate_shouldMarkRunFailed() {
+        // Arrange
+        AutoRenewSubscriptionsJob job = job(true, 10, 2);
+        givenRunsAreSaved();
+        when(rateBaseRepository.findCurrentRate()).thenReturn(Optional.empty());
 
-        // Act & Assert - should not throw exception
-        assertDoesNotThrow(() -> job.processAutoRenewals());
+        // Act
+        SubscriptionRenewalRunEntity run = job.run(job.startRun(LocalDateTime.now()));
 
-        verify(purchaseSubscriptionUseCase).execute(any(), any());
+        // Assert
+        assertEquals(Status.FAILED, run.getStatus());
+        assertEquals("No current base rate found", run.getLastError());
+        verify(subscriptionRepository, never()).findAutoRenewCandidateIds(any(), any(), any(), any(), any());
     }
 
     @Test
-    void processAutoRenewals_withAnnualSubscription_shouldMaintainAnnualFlag() {
+    void resumeInterrupted_shouldContinueFromCheckpointWithStoredWindow() {
         // Arrange
-        mockSubscription.setIsAnnual(true);
+        AutoRenewSubscriptionsJob job = job(true, 10, 2);
+        LocalDateTime windowStart = LocalDateTime.now().minusHours(3);
+        SubscriptionRenewalRunEntity interrupted = interruptedRun(windowStart, Status.RUNNING);
+        when(runRepository.findFirstByOrderByIdDesc()).thenReturn(Optional.of(interrupted));
+        givenRunsAreSaved();
+        givenReferenceData();
+        when(subscriptionRepository.findAutoRenewCandidateIds(ACTIVE_STATUS_ID, windowStart, windowStart.plusDays(7),
+                40L, PageRequest.of(0, 20))).thenReturn(List.of());
 
-        when(subscriptionRepository.findExpiringSoonWithAutoRenew(any(), any()))
-                .thenReturn(List.of(mockSubscription));
+        // Act
+        Optional<SubscriptionRenewalRunEntity> resumed = job.resumeInterrupted(LocalDateTime.now());
 
-        when(purchaseSubscriptionUseCase.execute(any(), any()))
-                .thenReturn(new SubscriptionResponse());
+        // Assert
+        assertTrue(resumed.isPresent());
+        assertEquals(Status.COMPLETED, resumed.get().getStatus());
+        assertEquals(1, resumed.get().getResumes());
+        assertEquals(30, resumed.get().getRenewed());
+        assertEquals(40L, resumed.get().getLastSubscriptionId());
+    }
+
+    @Test
+    void resumeInterrupted_withCompletedRun_shouldDoNothing() {
+        // Arrange
+        AutoRenewSubscriptionsJob job = job(true, 10, 2);
+        when(runRepository.findFirstByOrderByIdDesc())
+                .thenReturn(Optional.of(interruptedRun(LocalDateTime.now().minusHours(3), Status.COMPLETED)));
 
         // Act
-        job.processAutoRenewals();
+        Optional<SubscriptionRenewalRunEntity> resumed = job.resumeInterrupted(LocalDateTime.now());
 
         // Assert
-        ArgumentCaptor<PurchaseSubscriptionRequest> captor = ArgumentCaptor.forClass(PurchaseSubscriptionRequest.class);
-
-        verify(purchaseSubscriptionUseCase).execute(captor.capture(), any());
-        assertTrue(captor.getValue().getIsAnnual());
+        assertTrue(resumed.isEmpty());
+        verify(runRepository, never()).save(any());
+        verifyNoInteractions(subscriptionRepository);
     }
 
     @Test
-    void processAutoRenewals_shouldQueryCorrectTimeWindow() {
+    void resumeInterrupted_withExpiredWindow_shouldMarkRunFailed() {
         // Arrange
-        when(subscriptionRepository.findExpiringSoonWithAutoRenew(any(), any()))
-                .thenReturn(Collections.emptyList());
+        AutoRenewSubscriptionsJob job = job(true, 10, 2);
+        SubscriptionRenewalRunEntity stale = interruptedRun(LocalDateTime.now().minusDays(8), Status.RUNNING);
+        when(runRepository.findFirstByOrderByIdDesc()).thenReturn(Optional.of(stale));
 
         // Act
-        job.processAutoRenewals();
+        Optional<SubscriptionRenewalRunEntity> resumed = job.resumeInterrupted(LocalDateTime.now());
 
         // Assert
-        ArgumentCaptor<LocalDateTime> startCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
-        ArgumentCaptor<LocalDateTime> endCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+        assertTrue(resumed.isEmpty());
+        assertEquals(Status.FAILED, stale.getStatus());
+        verify(runRepository).save(stale);
+        verifyNoInteractions(subscriptionRepository);
+    }
+
+    private AutoRenewSubscriptionsJob job(boolean enabled, int chunkSize, int workers) {
+        return new AutoRenewSubscriptionsJob(subscriptionRepository, renewalRepository, runRepository,
+                rateBaseRepository, statusTypeRepository, emailService, eventPublisher, redisLock,
+                transactionManager, enabled, chunkSize, workers);
+    }
+
+    private void givenReferenceData() {
+        when(rateBaseRepository.findCurrentRate()).thenReturn(Optional.of(
+                RateBaseHistoryEntity.builder().id(1L).amountPerHour(CURRENT_RATE).isActive(true).build()));
+        when(statusTypeRepository.findByCode("ACTIVE")).thenReturn(Optional.of(
+                SubscriptionStatusTypeEntity.builder().id(ACTIVE_STATUS_ID).code("ACTIVE").name("Activa").build()));
+    }
+
+    private void givenRunsAreSaved() {
+        when(runRepository.save(any())).thenAnswer(invocation -> {
+            SubscriptionRenewalRunEntity run = invocation.getArgument(0);
+            if (run.getId() == null) {
+                run.setId(1L);
+            }
+            return run;
+        });
+    }
+
+    private void givenCandidateIds(Long afterId, List<Long> ids) {
+        when(subscriptionRepository.findAutoRenewCandidateIds(eq(ACTIVE_STATUS_ID), any(), any(), eq(afterId),
+                any())).thenReturn(ids);
+    }
 
-        verify(subscriptionRepository).findExpiringSoonWithAutoRenew(
-                startCaptor.capture(),
-                endCaptor.capture());
+    /**
+     * Cada carga devuelve entidades nuevas, como lo haría un contexto de
+     * persistencia después de un rollback.
+     */
+    private void givenCandidatesAreLoaded() {
+        when(subscriptionRepository.findAutoRenewCandidates(anyCollection(), eq(ACTIVE_STATUS_ID)))
+                .thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(0).stream()
+                        .map(id -> subscription(id, false))
+                        .toList());
+    }
+
+    private SubscriptionEntity subscription(Long id, boolean annual) {
+        SubscriptionPlanTypeEntity planType = SubscriptionPlanTypeEntity.builder().id(1).name("Plan Premium").build();
+        return SubscriptionEntity.builder()
+                .id(id)
+                .userId(100L + id)
+                .user(UserEntity.builder().id(100L + id).email("user" + id + "@example.com").build())
+                .planId(1L)
+                .plan(SubscriptionPlanEntity.builder().id(1L).planType(planType).build())
+                .licensePlate("ABC%03d".formatted(id))
+                .frozenRateBase(new BigDecimal("12.00"))
+                .endDate(endDates.get(id))
+                .consumedHours(new BigDecimal("40.00"))
+                .notified80Percent(true)
+                .statusTypeId(ACTIVE_STATUS_ID)
+                .isAnnual(annual)
+                .autoRenewEnabled(true)
+                .build();
+    }
 
-        // Verificar que la ventana es de 7 días
-        LocalDateTime start = startCaptor.getValue();
-        LocalDateTime end = endCaptor.getValue();
+    private SubscriptionRenewalRunEntity interruptedRun(LocalDateTime windowStart, Status status) {
+        return SubscriptionRenewalRunEntity.builder()
+                .id(7L)
+                .status(status)
+                .windowStart(windowStart)
+                .windowEnd(windowStart.plusDays(7))
+                .lastSubscriptionId(40L)
+                .renewed(30)
+                .skipped(0)
+                .failed(0)
+                .chunks(3)
+                .resumes(0)
+                .startedAt(windowStart)
+                .updatedAt(windowStart.plusMinutes(10))
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<SubscriptionEntity> savedSubscriptions() {
+        ArgumentCaptor<List<SubscriptionEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(subscriptionRepository, atLeastOnce()).saveAll(captor.capture());
+        return captor.getAllValues().stream().flatMap(List::stream).toList();
+    }
 
-        assertTrue(end.isAfter(start));
-        assertTrue(end.isBefore(start.plusDays(8))); // 7 días + margen
+    private SubscriptionRenewalRunEntity lastSavedRun() {
+        ArgumentCaptor<SubscriptionRenewalRunEntity> captor = ArgumentCaptor
+                .forClass(SubscriptionRenewalRunEntity.class);
+        verify(runRepository, atLeastOnce()).save(captor.capture());
+        return captor.getValue();
     }
 }
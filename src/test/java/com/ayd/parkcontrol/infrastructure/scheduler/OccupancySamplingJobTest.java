@@ -0,0 +1,182 @@
+package com.ayd.parkcontrol.infrastructure.scheduler;
+
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
+import com.ayd.parkcontrol.infrastructure.cache.OccupancyTimeSeries;
+import com.ayd.parkcontrol.infrastructure.cache.OccupancyTimeSeries.Aggregate;
+import com.ayd.parkcontrol.infrastructure.cache.OccupancyTimeSeries.SeriesKey;
+import com.ayd.parkcontrol.infrastructure.cache.RedisOccupancyService;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.BranchEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.OccupancyHourlyEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.entity.VehicleTypeEntity;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaBranchRepository;
+import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaOccupancyHourlyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para OccupancySamplingJob.
+ */
+@ExtendWith(MockitoExtension.class)
+class OccupancySamplingJobTest {
+
+    @Mock
+    private JpaBranchRepository branchRepository;
+
+    @Mock
+    private RedisOccupancyService redisOccupancyService;
+
+    @Mock
+    private OccupancyTimeSeries occupancyTimeSeries;
+
+    @Mock
+    private JpaOccupancyHourlyRepository occupancyHourlyRepository;
+
+    @Mock
+    private CatalogCache catalogCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OccupancySamplingJob job;
+
+    private final LocalDateTime hour = LocalDateTime.of(2025, 10, 1, 9, 0);
+
+    @BeforeEach
+    void setUp() {
+        job = new OccupancySamplingJob(branchRepository, redisOccupancyService, occupancyTimeSeries,
+                occupancyHourlyRepository, catalogCache, transactionManager, 30);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sample_shouldRecordOccupancyOfBranchesWithCapacity() {
+        // Arrange
+        BranchEntity centro = BranchEntity.builder().id(1L).capacity2r(20).capacity4r(50).build();
+        BranchEntity motos = BranchEntity.builder().id(2L).capacity2r(10).capacity4r(0).build();
+        when(branchRepository.findByIsActive(eq(true), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(centro, motos)));
+        when(redisOccupancyService.getCurrentOccupancies(List.of(1L, 2L), "2R")).thenReturn(Map.of(1L, 4, 2L, 9));
+        when(redisOccupancyService.getCurrentOccupancies(List.of(1L), "4R")).thenReturn(Map.of(1L, 31));
+
+        // Act
+        job.sample();
+
+        // Assert
+        ArgumentCaptor<Map<SeriesKey, Integer>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(occupancyTimeSeries).record(any(LocalDateTime.class), captor.capture());
+        assertEquals(Map.of(new SeriesKey(1L, "2R"), 4, new SeriesKey(2L, "2R"), 9, new SeriesKey(1L, "4R"), 31),
+                captor.getValue());
+    }
+
+    @Test
+    void sample_whenRedisFails_shouldNotPropagate() {
+        // Arrange
+        BranchEntity centro = BranchEntity.builder().id(1L).capacity2r(20).capacity4r(50).build();
+        when(branchRepository.findByIsActive(eq(true), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(centro)));
+        when(redisOccupancyService.getCurrentOccupancies(anyList(), eq("2R")))
+                .thenThrow(new RedisConnectionFailureException("Connection refused"));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> job.sample());
+        verifyNoInteractions(occupancyTimeSeries);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rollUp_shouldOverwriteExistingHourAndCreateMissingSeries() {
+        // Arrange
+        stubVehicleTypes();
+        OccupancyHourlyEntity existing = OccupancyHourlyEntity.builder()
+                .id(10L).branchId(1L).vehicleTypeId(2).hourStart(hour)
+                .samples(40).occupancySum(400L).peakOccupancy(15)
+                .build();
+        when(occupancyTimeSeries.readHour(hour)).thenReturn(Map.of(
+                new SeriesKey(1L, "4R"), new Aggregate(120, 1800, 25),
+                new SeriesKey(1L, "2R"), new Aggregate(120, 240, 5)));
+        when(occupancyHourlyRepository.findByHourStartIn(any())).thenReturn(List.of(existing));
+
+        // Act
+        int written = job.rollUp(List.of(hour));
+
+        // Assert
+        assertEquals(2, written);
+        ArgumentCaptor<List<OccupancyHourlyEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(occupancyHourlyRepository).saveAll(captor.capture());
+        List<OccupancyHourlyEntity> rows = captor.getValue().stream()
+                .sorted(Comparator.comparing(OccupancyHourlyEntity::getVehicleTypeId))
+                .toList();
+
+        OccupancyHourlyEntity twoWheelers = rows.get(0);
+        assertNull(twoWheelers.getId());
+        assertEquals(1, twoWheelers.getVehicleTypeId());
+        assertEquals(hour, twoWheelers.getHourStart());
+        assertEquals(120, twoWheelers.getSamples());
+        assertEquals(240L, twoWheelers.getOccupancySum());
+        assertEquals(5, twoWheelers.getPeakOccupancy());
+
+        OccupancyHourlyEntity fourWheelers = rows.get(1);
+        assertSame(existing, fourWheelers);
+        assertEquals(120, fourWheelers.getSamples());
+        assertEquals(1800L, fourWheelers.getOccupancySum());
+        assertEquals(25, fourWheelers.getPeakOccupancy());
+    }
+
+    @Test
+    void rollUp_withoutSamples_shouldNotTouchDatabase() {
+        // Arrange
+        when(occupancyTimeSeries.readHour(any(LocalDateTime.class))).thenReturn(Map.of());
+
+        // Act
+        int written = job.rollUp(List.of(hour.minusHours(1), hour));
+
+        // Assert
+        assertEquals(0, written);
+        verifyNoInteractions(occupancyHourlyRepository, transactionManager);
+    }
+
+    @Test
+    void purgeExpired_shouldDeleteHoursOutsideRetention() {
+        // Arrange
+        ArgumentCaptor<LocalDateTime> captor = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(occupancyHourlyRepository.deleteByHourStartBefore(captor.capture())).thenReturn(480);
+        LocalDateTime expected = LocalDateTime.now().minusDays(30).truncatedTo(ChronoUnit.HOURS);
+
+        // Act
+        job.purgeExpired();
+
+        // Assert
+        assertFalse(captor.getValue().isBefore(expected));
+        assertTrue(captor.getValue().isBefore(expected.plusHours(2)));
+    }
+
+    private void stubVehicleTypes() {
+        VehicleTypeEntity twoWheels = new VehicleTypeEntity();
+        twoWheels.setId(1);
+        twoWheels.setCode("2R");
+        VehicleTypeEntity fourWheels = new VehicleTypeEntity();
+        fourWheels.setId(2);
+        fourWheels.setCode("4R");
+        when(catalogCache.vehicleTypes()).thenReturn(CatalogCache.Catalog.of(List.of(twoWheels, fourWheels),
+                VehicleTypeEntity::getId, VehicleTypeEntity::getCode));
+    }
+}
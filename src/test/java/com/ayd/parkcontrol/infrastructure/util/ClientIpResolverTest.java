@@ -0,0 +1,43 @@
+package com.ayd.parkcontrol.infrastructure.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests unitarios para ClientIpResolver.
+ */
+class ClientIpResolverTest {
+
+    @Test
+    void resolve_withForwardedChain_shouldReturnFirstAddress() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Forwarded-For", "203.0.113.9, 10.0.0.1");
+
+        // Act & Assert
+        assertEquals("203.0.113.9", ClientIpResolver.resolve(request));
+    }
+
+    @Test
+    void resolve_withUnknownForwardedHeader_shouldFallBackToRealIp() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Forwarded-For", "unknown");
+        request.addHeader("X-Real-IP", "198.51.100.4");
+
+        // Act & Assert
+        assertEquals("198.51.100.4", ClientIpResolver.resolve(request));
+    }
+
+    @Test
+    void resolve_withoutProxyHeaders_shouldReturnRemoteAddress() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("192.168.1.100");
+
+        // Act & Assert
+        assertEquals("192.168.1.100", ClientIpResolver.resolve(request));
+    }
+}
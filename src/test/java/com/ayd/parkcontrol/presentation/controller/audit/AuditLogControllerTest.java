@@ -1,15 +1,14 @@
 package com.ayd.parkcontrol.presentation.controller.audit;
 
 import com.ayd.parkcontrol.application.dto.response.audit.AuditLogResponse;
+import com.ayd.parkcontrol.application.dto.response.common.CursorPageResponse;
 import com.ayd.parkcontrol.application.usecase.audit.*;
+import com.ayd.parkcontrol.infrastructure.audit.AuditLogPipeline;
 import com.ayd.parkcontrol.security.jwt.JwtTokenProvider;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
@@ -19,8 +18,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.time.LocalDateTime;
 import java.util.List;
 
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -52,16 +50,18 @@ class AuditLogControllerTest {
     @MockitoBean
     private ListAuditLogsByDateRangeUseCase listAuditLogsByDateRangeUseCase;
 
+    @MockitoBean
+    private AuditLogPipeline auditLogPipeline;
+
     @MockitoBean
     private JwtTokenProvider jwtTokenProvider;
 
     @Test
     @WithMockUser(roles = "Administrador")
-    void listAuditLogs_shouldReturnPageOfLogs() throws Exception {
-        AuditLogResponse log = createAuditLogResponse();
-        Page<AuditLogResponse> page = new PageImpl<>(List.of(log), PageRequest.of(0, 20), 1);
+    void listAuditLogs_shouldReturnFirstPageWithCursor() throws Exception {
+        CursorPageResponse<AuditLogResponse> page = createPage(true, "MjAyNS0xMC0xN1QwODozMHw0MA", null);
 
-        when(listAuditLogsUseCase.execute(any())).thenReturn(page);
+        when(listAuditLogsUseCase.execute(isNull(), eq(20), eq(false))).thenReturn(page);
 
         mockMvc.perform(get("/audit-logs")
                 .contentType(MediaType.APPLICATION_JSON))
@@ -70,30 +70,31 @@ class AuditLogControllerTest {
                 .andExpect(jsonPath("$.data.content").isArray())
                 .andExpect(jsonPath("$.data.content[0].id").value(1))
                 .andExpect(jsonPath("$.data.content[0].module").value("usuarios"))
-                .andExpect(jsonPath("$.data.totalElements").value(1));
+                .andExpect(jsonPath("$.data.has_next").value(true))
+                .andExpect(jsonPath("$.data.next_cursor").value("MjAyNS0xMC0xN1QwODozMHw0MA"))
+                .andExpect(jsonPath("$.data.total_elements").doesNotExist());
 
-        verify(listAuditLogsUseCase).execute(any());
+        verify(listAuditLogsUseCase).execute(isNull(), eq(20), eq(false));
     }
 
     @Test
     @WithMockUser(roles = "Administrador")
-    void listAuditLogs_withCustomPagination_shouldReturnCustomPage() throws Exception {
-        AuditLogResponse log = createAuditLogResponse();
-        Page<AuditLogResponse> page = new PageImpl<>(List.of(log), PageRequest.of(1, 10), 25);
+    void listAuditLogs_withCursorAndTotal_shouldPassThemToUseCase() throws Exception {
+        CursorPageResponse<AuditLogResponse> page = createPage(false, null, 25L);
 
-        when(listAuditLogsUseCase.execute(any())).thenReturn(page);
+        when(listAuditLogsUseCase.execute(eq("MjAyNS0xMC0xN1QwODozMHw0MA"), eq(10), eq(true))).thenReturn(page);
 
         mockMvc.perform(get("/audit-logs")
-                .param("page", "1")
+                .param("cursor", "MjAyNS0xMC0xN1QwODozMHw0MA")
                 .param("size", "10")
-                .param("sortBy", "module")
-                .param("sortDirection", "asc")
+                .param("includeTotal", "true")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data.content").isArray())
-                .andExpect(jsonPath("$.data.totalElements").value(25));
+                .andExpect(jsonPath("$.data.has_next").value(false))
+                .andExpect(jsonPath("$.data.total_elements").value(25));
 
-        verify(listAuditLogsUseCase).execute(any());
+        verify(listAuditLogsUseCase).execute(eq("MjAyNS0xMC0xN1QwODozMHw0MA"), eq(10), eq(true));
     }
 
     @Test
@@ -118,10 +119,9 @@ class AuditLogControllerTest {
     @Test
     @WithMockUser(roles = "Administrador")
     void listAuditLogsByUser_shouldReturnFilteredLogs() throws Exception {
-        AuditLogResponse log = createAuditLogResponse();
-        Page<AuditLogResponse> page = new PageImpl<>(List.of(log), PageRequest.of(0, 20), 1);
+        CursorPageResponse<AuditLogResponse> page = createPage(false, null, null);
 
-        when(listAuditLogsByUserUseCase.execute(eq(100L), any())).thenReturn(page);
+        when(listAuditLogsByUserUseCase.execute(eq(100L), isNull(), eq(20), eq(false))).thenReturn(page);
 
         mockMvc.perform(get("/audit-logs/by-user/100")
                 .contentType(MediaType.APPLICATION_JSON))
@@ -130,36 +130,35 @@ class AuditLogControllerTest {
                 .andExpect(jsonPath("$.data.content").isArray())
                 .andExpect(jsonPath("$.data.content[0].user_email").value("admin@parkcontrol.com"));
 
-        verify(listAuditLogsByUserUseCase).execute(eq(100L), any());
+        verify(listAuditLogsByUserUseCase).execute(eq(100L), isNull(), eq(20), eq(false));
     }
 
     @Test
     @WithMockUser(roles = "Administrador")
     void listAuditLogsByModule_shouldReturnFilteredLogs() throws Exception {
-        AuditLogResponse log = createAuditLogResponse();
-        Page<AuditLogResponse> page = new PageImpl<>(List.of(log), PageRequest.of(0, 20), 1);
+        CursorPageResponse<AuditLogResponse> page = createPage(false, null, 1L);
 
-        when(listAuditLogsByModuleUseCase.execute(eq("usuarios"), any())).thenReturn(page);
+        when(listAuditLogsByModuleUseCase.execute(eq("usuarios"), isNull(), eq(20), eq(true))).thenReturn(page);
 
         mockMvc.perform(get("/audit-logs/by-module/usuarios")
+                .param("includeTotal", "true")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value("success"))
                 .andExpect(jsonPath("$.data.content").isArray())
                 .andExpect(jsonPath("$.data.content[0].module").value("usuarios"))
-                .andExpect(jsonPath("$.data.totalElements").value(1));
+                .andExpect(jsonPath("$.data.total_elements").value(1));
 
-        verify(listAuditLogsByModuleUseCase).execute(eq("usuarios"), any());
+        verify(listAuditLogsByModuleUseCase).execute(eq("usuarios"), isNull(), eq(20), eq(true));
     }
 
     @Test
     @WithMockUser(roles = "Administrador")
     void listAuditLogsByDateRange_shouldReturnFilteredLogs() throws Exception {
-        AuditLogResponse log = createAuditLogResponse();
-        Page<AuditLogResponse> page = new PageImpl<>(List.of(log), PageRequest.of(0, 20), 1);
+        CursorPageResponse<AuditLogResponse> page = createPage(false, null, null);
 
-        when(listAuditLogsByDateRangeUseCase.execute(any(LocalDateTime.class), any(LocalDateTime.class), any()))
-                .thenReturn(page);
+        when(listAuditLogsByDateRangeUseCase.execute(any(LocalDateTime.class), any(LocalDateTime.class), isNull(),
+                eq(20), eq(false))).thenReturn(page);
 
         mockMvc.perform(get("/audit-logs/by-date-range")
                 .param("startDate", "2025-01-01T00:00:00")
@@ -168,9 +167,10 @@ class AuditLogControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value("success"))
                 .andExpect(jsonPath("$.data.content").isArray())
-                .andExpect(jsonPath("$.data.totalElements").value(1));
+                .andExpect(jsonPath("$.data.has_next").value(false));
 
-        verify(listAuditLogsByDateRangeUseCase).execute(any(LocalDateTime.class), any(LocalDateTime.class), any());
+        verify(listAuditLogsByDateRangeUseCase).execute(any(LocalDateTime.class), any(LocalDateTime.class), isNull(),
+                eq(20), eq(false));
     }
 
     @Test
@@ -180,7 +180,7 @@ class AuditLogControllerTest {
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isForbidden());
 
-        verify(listAuditLogsUseCase, never()).execute(any());
+        verify(listAuditLogsUseCase, never()).execute(any(), any(), anyBoolean());
     }
 
     @Test
@@ -193,6 +193,45 @@ class AuditLogControllerTest {
         verify(getAuditLogUseCase, never()).execute(any());
     }
 
+    @Test
+    @WithMockUser(roles = "Administrador")
+    void getPipelineMetrics_shouldReturnQueueStateAndCounters() throws Exception {
+        when(auditLogPipeline.isEnabled()).thenReturn(true);
+        when(auditLogPipeline.getQueueDepth()).thenReturn(12);
+        when(auditLogPipeline.getCapacity()).thenReturn(10000);
+        when(auditLogPipeline.getPendingLagMs()).thenReturn(35L);
+
+        mockMvc.perform(get("/audit-logs/pipeline")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.enabled").value(true))
+                .andExpect(jsonPath("$.data.queue_depth").value(12))
+                .andExpect(jsonPath("$.data.queue_capacity").value(10000))
+                .andExpect(jsonPath("$.data.pending_lag_ms").value(35))
+                .andExpect(jsonPath("$.data.counters.overflow").exists())
+                .andExpect(jsonPath("$.data.counters.spilled").exists());
+
+        verify(getAuditLogUseCase, never()).execute(any());
+    }
+
+    @Test
+    @WithMockUser(roles = "Operador Back Office")
+    void getPipelineMetrics_withoutAdminRole_shouldReturnForbidden() throws Exception {
+        mockMvc.perform(get("/audit-logs/pipeline")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isForbidden());
+    }
+
+    private CursorPageResponse<AuditLogResponse> createPage(boolean hasNext, String nextCursor, Long total) {
+        return CursorPageResponse.<AuditLogResponse>builder()
+                .content(List.of(createAuditLogResponse()))
+                .size(20)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .totalElements(total)
+                .build();
+    }
+
     private AuditLogResponse createAuditLogResponse() {
         return AuditLogResponse.builder()
                 .id(1L)
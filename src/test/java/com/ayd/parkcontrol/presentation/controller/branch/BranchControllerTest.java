@@ -6,6 +6,7 @@ import com.ayd.parkcontrol.application.dto.request.branch.UpdateCapacityRequest;
 import com.ayd.parkcontrol.application.dto.request.branch.UpdateScheduleRequest;
 import com.ayd.parkcontrol.application.dto.response.branch.*;
 import com.ayd.parkcontrol.application.dto.response.common.PageResponse;
+import com.ayd.parkcontrol.application.service.OccupancyFeedService;
 import com.ayd.parkcontrol.application.usecase.branch.*;
 import com.ayd.parkcontrol.security.jwt.JwtTokenProvider;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -18,6 +19,7 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -67,6 +69,9 @@ class BranchControllerTest {
     @MockitoBean
     private GetOccupancyUseCase getOccupancyUseCase;
 
+    @MockitoBean
+    private OccupancyFeedService occupancyFeedService;
+
     @MockitoBean
     private JwtTokenProvider jwtTokenProvider;
 
@@ -284,6 +289,46 @@ class BranchControllerTest {
                 .andExpect(jsonPath("$.data.available_2r").value(40));
     }
 
+    @Test
+    @WithMockUser(roles = "Operador Sucursal")
+    void streamOccupancy_shouldOpenEventStream() throws Exception {
+        // Given
+        when(occupancyFeedService.subscribe(1L)).thenReturn(new SseEmitter());
+
+        // When & Then
+        mockMvc.perform(get("/branches/occupancy/stream").param("branchId", "1")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    @WithMockUser(roles = "Administrador")
+    void getOccupancyReconciliation_shouldReturnCounters() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/branches/occupancy/reconciliation"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("success"))
+                .andExpect(jsonPath("$.data.counters.runs").exists())
+                .andExpect(jsonPath("$.data.counters.total_drift").exists());
+    }
+
+    @Test
+    @WithMockUser(roles = "Operador Sucursal")
+    void getOccupancyReconciliation_withoutAdminRole_shouldReturnForbidden() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/branches/occupancy/reconciliation"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "Cliente")
+    void streamOccupancy_withClientRole_shouldReturnForbidden() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/branches/occupancy/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     @WithMockUser(roles = "Cliente")
     void createBranch_withoutAdminRole_shouldReturnForbidden() throws Exception {
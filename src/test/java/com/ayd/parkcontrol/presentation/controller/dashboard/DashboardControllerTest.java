@@ -2,6 +2,7 @@ package com.ayd.parkcontrol.presentation.controller.dashboard;
 
 import com.ayd.parkcontrol.application.dto.response.dashboard.DashboardOverviewResponse;
 import com.ayd.parkcontrol.application.dto.response.dashboard.OccupancyDetailResponse;
+import com.ayd.parkcontrol.application.dto.response.dashboard.OccupancyHeatmapResponse;
 import com.ayd.parkcontrol.application.dto.response.dashboard.RevenueTodayResponse;
 import com.ayd.parkcontrol.application.dto.response.dashboard.SystemAlertResponse;
 import com.ayd.parkcontrol.application.usecase.dashboard.*;
@@ -15,9 +16,13 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -49,6 +54,9 @@ class DashboardControllerTest {
     @MockitoBean
     private GetDashboardByBranchUseCase getDashboardByBranchUseCase;
 
+    @MockitoBean
+    private GetOccupancyHeatmapUseCase getOccupancyHeatmapUseCase;
+
     @Test
     @WithMockUser(roles = "Administrador")
     void getOverview_shouldReturnDashboardMetrics() throws Exception {
@@ -117,6 +125,47 @@ class DashboardControllerTest {
                 .andExpect(jsonPath("$.data[0].occupancy_percentage").value(75.0));
     }
 
+    @Test
+    @WithMockUser(roles = "Operador Sucursal")
+    void getOccupancyHeatmap_shouldReturnCellsForRangeAndBranch() throws Exception {
+        OccupancyHeatmapResponse cell = OccupancyHeatmapResponse.builder()
+                .branchId(1L)
+                .branchName("Sucursal Centro")
+                .vehicleType("4R")
+                .dayOfWeek(1)
+                .hour(9)
+                .averageOccupancy(22.5)
+                .peakOccupancy(28)
+                .averagePercentage(75.0)
+                .samples(240L)
+                .build();
+        LocalDate startDate = LocalDate.of(2025, 9, 1);
+        LocalDate endDate = LocalDate.of(2025, 9, 30);
+        when(getOccupancyHeatmapUseCase.execute(eq(startDate), eq(endDate), eq(1L))).thenReturn(List.of(cell));
+
+        mockMvc.perform(get("/dashboard/occupancy/heatmap")
+                .param("startDate", "2025-09-01")
+                .param("endDate", "2025-09-30")
+                .param("branchId", "1")
+                .header("Authorization", "Bearer mock-jwt-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].day_of_week").value(1))
+                .andExpect(jsonPath("$.data[0].hour").value(9))
+                .andExpect(jsonPath("$.data[0].average_occupancy").value(22.5))
+                .andExpect(jsonPath("$.data[0].peak_occupancy").value(28))
+                .andExpect(jsonPath("$.data[0].average_percentage").value(75.0));
+    }
+
+    @Test
+    @WithMockUser(roles = "Cliente")
+    void getOccupancyHeatmap_withClientRole_shouldReturnForbidden() throws Exception {
+        mockMvc.perform(get("/dashboard/occupancy/heatmap")
+                .header("Authorization", "Bearer mock-jwt-token"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(getOccupancyHeatmapUseCase);
+    }
+
     @Test
     @WithMockUser(roles = "Administrador")
     void getRevenue_shouldReturnRevenueTodayData() throws Exception {
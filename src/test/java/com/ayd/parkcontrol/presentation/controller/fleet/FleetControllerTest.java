@@ -17,6 +17,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
@@ -300,7 +301,8 @@ class FleetControllerTest {
                                 .totalAmountCharged(new BigDecimal("5000.00"))
                                 .build();
 
-                when(getFleetConsumptionUseCase.execute(1L)).thenReturn(consumptionResponse);
+                when(getFleetConsumptionUseCase.execute(eq(1L), isNull(), isNull(), any(Pageable.class)))
+                                .thenReturn(consumptionResponse);
 
                 mockMvc.perform(get("/fleets/1/consumption")
                                 .with(csrf()))
@@ -14,6 +14,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
@@ -25,6 +26,7 @@ import java.time.LocalDateTime;
 import java.util.Collections;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -157,7 +159,8 @@ class MyFleetControllerTest {
                 .totalAmountCharged(new BigDecimal("7500.00"))
                 .build();
 
-        when(getMyFleetConsumptionUseCase.execute()).thenReturn(consumptionResponse);
+        when(getMyFleetConsumptionUseCase.execute(isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(consumptionResponse);
 
         mockMvc.perform(get("/my-fleet/consumption")
                 .with(csrf()))
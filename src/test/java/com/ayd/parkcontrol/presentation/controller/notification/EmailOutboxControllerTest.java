@@ -0,0 +1,71 @@
+package com.ayd.parkcontrol.presentation.controller.notification;
+
+import com.ayd.parkcontrol.infrastructure.notification.EmailOutboxDispatcher;
+import com.ayd.parkcontrol.infrastructure.notification.EmailOutboxMetrics;
+import com.ayd.parkcontrol.infrastructure.notification.SmtpTransportPool;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EmailOutboxControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private EmailOutboxDispatcher emailOutboxDispatcher;
+
+    @MockitoBean
+    private EmailOutboxMetrics emailOutboxMetrics;
+
+    @MockitoBean
+    private SmtpTransportPool smtpTransportPool;
+
+    @Test
+    @WithMockUser(roles = "Administrador")
+    void getMetrics_shouldReturnQueueDepthAndCounters() throws Exception {
+        Map<String, Long> depth = new LinkedHashMap<>();
+        depth.put("pending", 4L);
+        depth.put("sending", 1L);
+        depth.put("dead", 2L);
+        when(emailOutboxDispatcher.isEnabled()).thenReturn(true);
+        when(emailOutboxDispatcher.queueDepth()).thenReturn(depth);
+        when(emailOutboxDispatcher.getOldestPendingAgeMs()).thenReturn(1500L);
+        when(emailOutboxDispatcher.getInFlight()).thenReturn(1);
+        when(emailOutboxDispatcher.getWorkers()).thenReturn(4);
+        when(smtpTransportPool.getIdleCount()).thenReturn(2);
+        when(emailOutboxMetrics.snapshot()).thenReturn(Map.of("dead_lettered", 2L));
+
+        mockMvc.perform(get("/email-outbox/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.enabled").value(true))
+                .andExpect(jsonPath("$.data.queue_depth.pending").value(4))
+                .andExpect(jsonPath("$.data.queue_depth.dead").value(2))
+                .andExpect(jsonPath("$.data.oldest_pending_age_ms").value(1500))
+                .andExpect(jsonPath("$.data.idle_connections").value(2))
+                .andExpect(jsonPath("$.data.counters.dead_lettered").value(2));
+    }
+
+    @Test
+    @WithMockUser(roles = "Operador Back Office")
+    void getMetrics_withoutAdministradorRole_shouldReturnForbidden() throws Exception {
+        mockMvc.perform(get("/email-outbox/metrics"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,55 @@
+package com.ayd.parkcontrol.presentation.controller.ratelimit;
+
+import com.ayd.parkcontrol.infrastructure.ratelimit.RateLimitCircuitBreaker;
+import com.ayd.parkcontrol.infrastructure.ratelimit.RateLimitMetrics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RateLimitControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private RateLimitMetrics rateLimitMetrics;
+
+    @MockitoBean
+    private RateLimitCircuitBreaker circuitBreaker;
+
+    @Test
+    @WithMockUser(roles = "Administrador")
+    void getMetrics_shouldReturnCircuitStateAndCounters() throws Exception {
+        when(circuitBreaker.getState()).thenReturn(RateLimitCircuitBreaker.State.OPEN);
+        when(rateLimitMetrics.snapshot()).thenReturn(Map.of("fallback_decisions", 12L));
+
+        mockMvc.perform(get("/rate-limit/metrics")
+                .header("Authorization", "Bearer mock-jwt-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.circuit_state").value("OPEN"))
+                .andExpect(jsonPath("$.counters.fallback_decisions").value(12));
+    }
+
+    @Test
+    @WithMockUser(roles = "Operador Back Office")
+    void getMetrics_withoutAdministradorRole_shouldReturnForbidden() throws Exception {
+        mockMvc.perform(get("/rate-limit/metrics")
+                .header("Authorization", "Bearer mock-jwt-token"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -1,24 +1,47 @@
 package com.ayd.parkcontrol.presentation.controller.report;
 
+import com.ayd.parkcontrol.application.dto.request.report.ExportReportRequest;
 import com.ayd.parkcontrol.application.dto.response.report.BillingReportResponse;
+import com.ayd.parkcontrol.application.dto.response.report.FleetReportResponse;
 import com.ayd.parkcontrol.application.dto.response.report.OccupancyReportResponse;
+import com.ayd.parkcontrol.application.dto.response.report.ReportJobResponse;
 import com.ayd.parkcontrol.application.usecase.report.*;
 import com.ayd.parkcontrol.application.usecase.report.export.ExportBillingReportUseCase;
+import com.ayd.parkcontrol.application.usecase.report.export.ExportFleetReportUseCase;
+import com.ayd.parkcontrol.application.usecase.report.export.ExportFormat;
 import com.ayd.parkcontrol.application.usecase.report.export.ExportOccupancyReportUseCase;
+import com.ayd.parkcontrol.application.usecase.report.job.DownloadReportJobUseCase;
+import com.ayd.parkcontrol.application.usecase.report.job.GetReportJobUseCase;
+import com.ayd.parkcontrol.application.usecase.report.job.ReportArtifact;
+import com.ayd.parkcontrol.application.usecase.report.job.SubmitReportJobUseCase;
+import com.ayd.parkcontrol.domain.exception.ReportJobNotFoundException;
 import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.*;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
@@ -56,6 +79,18 @@ class ReportControllerTest {
     @MockitoBean
     private ExportBillingReportUseCase exportBillingReportUseCase;
 
+    @MockitoBean
+    private ExportFleetReportUseCase exportFleetReportUseCase;
+
+    @MockitoBean
+    private SubmitReportJobUseCase submitReportJobUseCase;
+
+    @MockitoBean
+    private GetReportJobUseCase getReportJobUseCase;
+
+    @MockitoBean
+    private DownloadReportJobUseCase downloadReportJobUseCase;
+
     @Test
     @WithMockUser(roles = "Administrador")
     void getOccupancyReport_shouldReturnReportData() throws Exception {
@@ -67,7 +102,7 @@ class ReportControllerTest {
         response.setCurrentOccupancy(25);
         response.setPeakOccupancy(45);
 
-        when(generateOccupancyReportUseCase.execute()).thenReturn(Arrays.asList(response));
+        when(generateOccupancyReportUseCase.execute(isNull(), isNull())).thenReturn(Arrays.asList(response));
 
         mockMvc.perform(get("/reports/occupancy")
                 .header("Authorization", "Bearer mock-jwt-token"))
@@ -90,7 +125,7 @@ class ReportControllerTest {
         response.setTotalTickets(150L);
         response.setAverageTicketValue(new BigDecimal("100.00"));
 
-        when(generateBillingReportUseCase.execute()).thenReturn(Arrays.asList(response));
+        when(generateBillingReportUseCase.execute(null, null)).thenReturn(Arrays.asList(response));
 
         mockMvc.perform(get("/reports/billing")
                 .header("Authorization", "Bearer mock-jwt-token"))
@@ -103,6 +138,23 @@ class ReportControllerTest {
                 .andExpect(jsonPath("$.data[0].total_tickets").value(150));
     }
 
+    @Test
+    @WithMockUser(roles = "Administrador")
+    void getBillingReport_withDateRange_shouldPassRangeToUseCase() throws Exception {
+        LocalDate startDate = LocalDate.of(2025, 10, 1);
+        LocalDate endDate = LocalDate.of(2025, 10, 31);
+        when(generateBillingReportUseCase.execute(startDate, endDate)).thenReturn(List.of());
+
+        mockMvc.perform(get("/reports/billing")
+                .param("startDate", "2025-10-01")
+                .param("endDate", "2025-10-31")
+                .header("Authorization", "Bearer mock-jwt-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").isArray());
+
+        verify(generateBillingReportUseCase).execute(startDate, endDate);
+    }
+
     @Test
     @WithMockUser(roles = "Administrador")
     void getSubscriptionsReport_shouldReturnReportData() throws Exception {
@@ -141,7 +193,7 @@ class ReportControllerTest {
         Map<String, Object> data = new HashMap<>();
         data.put("period", "2024-01");
         data.put("total_cash", 25000.00);
-        when(generateCashClosingReportUseCase.execute()).thenReturn(Arrays.asList(data));
+        when(generateCashClosingReportUseCase.execute(null, null)).thenReturn(Arrays.asList(data));
 
         mockMvc.perform(get("/reports/cash-closing")
                 .header("Authorization", "Bearer mock-jwt-token"))
@@ -170,28 +222,88 @@ class ReportControllerTest {
     @Test
     @WithMockUser(roles = "Administrador")
     void getFleetsReport_shouldReturnReportData() throws Exception {
-        Map<String, Object> data = new HashMap<>();
-        data.put("fleet_company", "Company A");
-        data.put("vehicle_count", 50);
-        when(generateFleetsReportUseCase.execute()).thenReturn(Arrays.asList(data));
+        FleetReportResponse data = FleetReportResponse.builder()
+                .companyId(3L)
+                .companyName("Company A")
+                .activeVehicles(50L)
+                .totalAmount(new BigDecimal("1250.00"))
+                .build();
+        when(generateFleetsReportUseCase.execute(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31), 3L))
+                .thenReturn(List.of(data));
 
         mockMvc.perform(get("/reports/fleets")
+                .param("startDate", "2025-01-01")
+                .param("endDate", "2025-01-31")
+                .param("companyId", "3")
                 .header("Authorization", "Bearer mock-jwt-token"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value("success"))
                 .andExpect(jsonPath("$.data").isArray())
-                .andExpect(jsonPath("$.data[0].fleet_company").value("Company A"));
+                .andExpect(jsonPath("$.data[0].company_name").value("Company A"))
+                .andExpect(jsonPath("$.data[0].active_vehicles").value(50));
+    }
+
+    @Test
+    @WithMockUser(roles = "Administrador")
+    void exportFleetsReport_withCsvFormat_shouldReturnCsvFile() throws Exception {
+        byte[] mockCsvContent = "company_id,company_name".getBytes();
+        doAnswer(writeContent(mockCsvContent, 4))
+                .when(exportFleetReportUseCase).export(eq(ExportFormat.CSV), isNull(), isNull(), eq(3L),
+                        any(OutputStream.class));
+
+        MvcResult mvcResult = mockMvc.perform(get("/reports/fleets/export")
+                .param("format", "CSV")
+                .param("companyId", "3")
+                .header("Authorization", "Bearer mock-jwt-token"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"reporte-flotillas.csv\""))
+                .andExpect(content().bytes(mockCsvContent));
+    }
+
+    @Test
+    @WithMockUser(roles = "Operador Sucursal")
+    void exportFleetsReport_withOperatorRole_shouldReturnForbidden() throws Exception {
+        mockMvc.perform(get("/reports/fleets/export")
+                .param("format", "PDF")
+                .header("Authorization", "Bearer mock-jwt-token"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(exportFleetReportUseCase);
+    }
+
+    @Test
+    @WithMockUser(roles = "Administrador")
+    void exportFleetsReport_withInvertedDateRange_shouldFailBeforeStreaming() throws Exception {
+        mockMvc.perform(get("/reports/fleets/export")
+                .param("format", "CSV")
+                .param("startDate", "2025-09-30")
+                .param("endDate", "2025-07-01")
+                .header("Authorization", "Bearer mock-jwt-token"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isUnprocessableEntity());
+
+        verifyNoInteractions(exportFleetReportUseCase);
     }
 
     @Test
     @WithMockUser(roles = "Administrador")
     void exportOccupancyReport_withPdfFormat_shouldReturnPdfFile() throws Exception {
         byte[] mockPdfContent = "Mock PDF Content".getBytes();
-        when(exportOccupancyReportUseCase.export("PDF")).thenReturn(mockPdfContent);
+        doAnswer(writeContent(mockPdfContent, 3))
+                .when(exportOccupancyReportUseCase).export(eq(ExportFormat.PDF), isNull(), isNull(),
+                        any(OutputStream.class));
 
-        mockMvc.perform(get("/reports/occupancy/export")
+        MvcResult mvcResult = mockMvc.perform(get("/reports/occupancy/export")
                 .param("format", "PDF")
                 .header("Authorization", "Bearer mock-jwt-token"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isOk())
                 .andExpect(header().exists("Content-Disposition"))
                 .andExpect(header().string("Content-Disposition", "attachment; filename=\"reporte-ocupacion.pdf\""))
@@ -203,60 +315,131 @@ class ReportControllerTest {
     @WithMockUser(roles = "Administrador")
     void exportOccupancyReport_withCsvFormat_shouldReturnCsvFile() throws Exception {
         byte[] mockCsvContent = "branch_id,branch_name,total_capacity".getBytes();
-        when(exportOccupancyReportUseCase.export("CSV")).thenReturn(mockCsvContent);
+        doAnswer(writeContent(mockCsvContent, 3))
+                .when(exportOccupancyReportUseCase).export(eq(ExportFormat.CSV), isNull(), isNull(),
+                        any(OutputStream.class));
 
-        mockMvc.perform(get("/reports/occupancy/export")
+        MvcResult mvcResult = mockMvc.perform(get("/reports/occupancy/export")
                 .param("format", "CSV")
                 .header("Authorization", "Bearer mock-jwt-token"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isOk())
                 .andExpect(header().exists("Content-Disposition"))
                 .andExpect(header().string("Content-Disposition", "attachment; filename=\"reporte-ocupacion.csv\""))
-                .andExpect(header().string("Content-Type", "text/csv"));
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andExpect(content().bytes(mockCsvContent));
     }
 
     @Test
     @WithMockUser(roles = "Administrador")
     void exportOccupancyReport_withImageFormat_shouldReturnImageFile() throws Exception {
         byte[] mockImageContent = "Mock PNG Image".getBytes();
-        when(exportOccupancyReportUseCase.export("PNG")).thenReturn(mockImageContent);
+        doAnswer(writeContent(mockImageContent, 3))
+                .when(exportOccupancyReportUseCase).export(eq(ExportFormat.PNG), isNull(), isNull(),
+                        any(OutputStream.class));
 
-        mockMvc.perform(get("/reports/occupancy/export")
+        MvcResult mvcResult = mockMvc.perform(get("/reports/occupancy/export")
                 .param("format", "PNG")
                 .header("Authorization", "Bearer mock-jwt-token"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isOk())
                 .andExpect(header().exists("Content-Disposition"))
                 .andExpect(header().string("Content-Disposition", "attachment; filename=\"reporte-ocupacion.png\""))
                 .andExpect(header().string("Content-Type", "image/png"));
     }
 
+    @Test
+    @WithMockUser(roles = "Administrador")
+    void exportOccupancyReport_withInvalidFormat_shouldFailBeforeStreaming() throws Exception {
+        mockMvc.perform(get("/reports/occupancy/export")
+                .param("format", "XML")
+                .header("Authorization", "Bearer mock-jwt-token"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isUnprocessableEntity());
+
+        verifyNoInteractions(exportOccupancyReportUseCase);
+    }
+
     @Test
     @WithMockUser(roles = "Administrador")
     void exportBillingReport_withPdfFormat_shouldReturnPdfFile() throws Exception {
         byte[] mockPdfContent = "Mock Billing PDF".getBytes();
-        when(exportBillingReportUseCase.export("PDF")).thenReturn(mockPdfContent);
+        doAnswer(writeContent(mockPdfContent, 3))
+                .when(exportBillingReportUseCase).export(eq(ExportFormat.PDF), isNull(), isNull(),
+                        any(OutputStream.class));
 
-        mockMvc.perform(get("/reports/billing/export")
+        MvcResult mvcResult = mockMvc.perform(get("/reports/billing/export")
                 .param("format", "PDF")
                 .header("Authorization", "Bearer mock-jwt-token"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isOk())
                 .andExpect(header().exists("Content-Disposition"))
                 .andExpect(header().string("Content-Disposition", "attachment; filename=\"reporte-facturacion.pdf\""))
-                .andExpect(header().string("Content-Type", "application/pdf"));
+                .andExpect(header().string("Content-Type", "application/pdf"))
+                .andExpect(content().bytes(mockPdfContent));
     }
 
     @Test
     @WithMockUser(roles = "Administrador")
     void exportBillingReport_withCsvFormat_shouldReturnCsvFile() throws Exception {
         byte[] mockCsvContent = "branch_id,branch_name,total_revenue".getBytes();
-        when(exportBillingReportUseCase.export("CSV")).thenReturn(mockCsvContent);
+        LocalDate startDate = LocalDate.of(2025, 7, 1);
+        LocalDate endDate = LocalDate.of(2025, 9, 30);
+        doAnswer(writeContent(mockCsvContent, 3))
+                .when(exportBillingReportUseCase).export(eq(ExportFormat.CSV), eq(startDate), eq(endDate),
+                        any(OutputStream.class));
 
-        mockMvc.perform(get("/reports/billing/export")
+        MvcResult mvcResult = mockMvc.perform(get("/reports/billing/export")
                 .param("format", "CSV")
+                .param("startDate", "2025-07-01")
+                .param("endDate", "2025-09-30")
                 .header("Authorization", "Bearer mock-jwt-token"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isOk())
                 .andExpect(header().exists("Content-Disposition"))
                 .andExpect(header().string("Content-Disposition", "attachment; filename=\"reporte-facturacion.csv\""))
-                .andExpect(header().string("Content-Type", "text/csv"));
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andExpect(content().bytes(mockCsvContent));
+    }
+
+    @Test
+    @WithMockUser(roles = "Administrador")
+    void exportBillingReport_withInvertedDateRange_shouldFailBeforeStreaming() throws Exception {
+        mockMvc.perform(get("/reports/billing/export")
+                .param("format", "CSV")
+                .param("startDate", "2025-09-30")
+                .param("endDate", "2025-07-01")
+                .header("Authorization", "Bearer mock-jwt-token"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isUnprocessableEntity());
+
+        verifyNoInteractions(exportBillingReportUseCase);
+    }
+
+    @Test
+    @WithMockUser(roles = "Administrador")
+    void exportOccupancyReport_withInvertedDateRange_shouldFailBeforeStreaming() throws Exception {
+        mockMvc.perform(get("/reports/occupancy/export")
+                .param("format", "PDF")
+                .param("startDate", "2025-09-30")
+                .param("endDate", "2025-07-01")
+                .header("Authorization", "Bearer mock-jwt-token"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isUnprocessableEntity());
+
+        verifyNoInteractions(exportOccupancyReportUseCase);
     }
 
     @Test
@@ -270,7 +453,7 @@ class ReportControllerTest {
         response.setCurrentOccupancy(25);
         response.setPeakOccupancy(45);
 
-        when(generateOccupancyReportUseCase.execute()).thenReturn(Arrays.asList(response));
+        when(generateOccupancyReportUseCase.execute(isNull(), isNull())).thenReturn(Arrays.asList(response));
 
         mockMvc.perform(get("/reports/occupancy")
                 .header("Authorization", "Bearer mock-jwt-token"))
@@ -294,4 +477,71 @@ class ReportControllerTest {
                 .header("Authorization", "Bearer mock-jwt-token"))
                 .andExpect(status().isForbidden());
     }
+
+    @Test
+    @WithMockUser(roles = "Administrador")
+    void submitReportJob_shouldReturnAccepted() throws Exception {
+        ReportJobResponse response = ReportJobResponse.builder()
+                .jobId("job-1")
+                .reportType("BILLING")
+                .exportFormat("PDF")
+                .status("PENDING")
+                .cached(false)
+                .build();
+        when(submitReportJobUseCase.execute(any(ExportReportRequest.class))).thenReturn(response);
+
+        mockMvc.perform(post("/reports/jobs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"report_type\":\"BILLING\",\"export_format\":\"PDF\"}")
+                .header("Authorization", "Bearer mock-jwt-token"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.data.job_id").value("job-1"))
+                .andExpect(jsonPath("$.data.status").value("PENDING"));
+    }
+
+    @Test
+    @WithMockUser(roles = "Administrador")
+    void submitReportJob_withoutReportType_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/reports/jobs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"export_format\":\"PDF\"}")
+                .header("Authorization", "Bearer mock-jwt-token"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(submitReportJobUseCase);
+    }
+
+    @Test
+    @WithMockUser(roles = "Administrador")
+    void getReportJob_whenMissing_shouldReturnNotFound() throws Exception {
+        when(getReportJobUseCase.execute("missing")).thenThrow(new ReportJobNotFoundException("missing"));
+
+        mockMvc.perform(get("/reports/jobs/missing")
+                .header("Authorization", "Bearer mock-jwt-token"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(roles = "Administrador")
+    void downloadReportJob_shouldReturnFile() throws Exception {
+        byte[] content = "csv".getBytes();
+        when(downloadReportJobUseCase.execute("job-1"))
+                .thenReturn(new ReportArtifact("reporte-facturacion.csv", "text/csv", content));
+
+        mockMvc.perform(get("/reports/jobs/job-1/download")
+                .header("Authorization", "Bearer mock-jwt-token"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"reporte-facturacion.csv\""))
+                .andExpect(content().bytes(content));
+    }
+
+    private Answer<Void> writeContent(byte[] content, int outputStreamIndex) {
+        return invocation -> {
+            OutputStream outputStream = invocation.getArgument(outputStreamIndex);
+            outputStream.write(content);
+            return null;
+        };
+    }
 }
@@ -1,9 +1,12 @@
 package com.ayd.parkcontrol.presentation.controller.settlement;
 
+import com.ayd.parkcontrol.application.dto.request.settlement.BulkSettlementRequest;
 import com.ayd.parkcontrol.application.dto.request.settlement.GenerateSettlementRequest;
+import com.ayd.parkcontrol.application.dto.response.settlement.BulkSettlementRunResponse;
 import com.ayd.parkcontrol.application.dto.response.settlement.SettlementResponse;
 import com.ayd.parkcontrol.application.usecase.settlement.GenerateSettlementUseCase;
 import com.ayd.parkcontrol.application.usecase.settlement.GetSettlementByIdUseCase;
+import com.ayd.parkcontrol.application.usecase.settlement.RunBulkSettlementUseCase;
 import com.ayd.parkcontrol.infrastructure.persistence.entity.BusinessSettlementHistoryEntity;
 import com.ayd.parkcontrol.infrastructure.persistence.repository.JpaBusinessSettlementHistoryRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -46,6 +49,9 @@ class SettlementControllerTest {
     @MockitoBean
     private GetSettlementByIdUseCase getSettlementByIdUseCase;
 
+    @MockitoBean
+    private RunBulkSettlementUseCase runBulkSettlementUseCase;
+
     @MockitoBean
     private JpaBusinessSettlementHistoryRepository settlementRepository;
 
@@ -199,4 +205,46 @@ class SettlementControllerTest {
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isForbidden());
     }
+
+    @Test
+    @WithMockUser(roles = "Administrador")
+    void runBulkSettlement_shouldReturnRunSummary() throws Exception {
+        BulkSettlementRequest request = new BulkSettlementRequest();
+        request.setPeriodStart(LocalDateTime.now().minusDays(30));
+        request.setPeriodEnd(LocalDateTime.now());
+
+        BulkSettlementRunResponse response = BulkSettlementRunResponse.builder()
+                .groups(3)
+                .settled(2)
+                .skipped(0)
+                .failed(1)
+                .totalAmount(new BigDecimal("800.00"))
+                .build();
+
+        when(runBulkSettlementUseCase.execute(any(BulkSettlementRequest.class))).thenReturn(response);
+
+        mockMvc.perform(post("/settlements/run")
+                .header("Authorization", "Bearer mock-jwt-token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.groups").value(3))
+                .andExpect(jsonPath("$.settled").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.total_amount").value(800.00));
+    }
+
+    @Test
+    @WithMockUser(roles = "Operador Back Office")
+    void runBulkSettlement_withoutAdministradorRole_shouldReturnForbidden() throws Exception {
+        BulkSettlementRequest request = new BulkSettlementRequest();
+        request.setPeriodStart(LocalDateTime.now().minusDays(30));
+        request.setPeriodEnd(LocalDateTime.now());
+
+        mockMvc.perform(post("/settlements/run")
+                .header("Authorization", "Bearer mock-jwt-token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isForbidden());
+    }
 }
@@ -2,6 +2,7 @@ package com.ayd.parkcontrol.presentation.controller.subscription;
 
 import com.ayd.parkcontrol.application.dto.request.subscription.PurchaseSubscriptionRequest;
 import com.ayd.parkcontrol.application.dto.request.subscription.RenewSubscriptionRequest;
+import com.ayd.parkcontrol.application.dto.response.subscription.AutoRenewRunResponse;
 import com.ayd.parkcontrol.application.dto.response.subscription.SubscriptionBalanceResponse;
 import com.ayd.parkcontrol.application.dto.response.subscription.SubscriptionOverageResponse;
 import com.ayd.parkcontrol.application.dto.response.subscription.SubscriptionResponse;
@@ -27,6 +28,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -75,6 +77,9 @@ class SubscriptionControllerTest {
         @MockitoBean
         private GetMySubscriptionBalanceUseCase getMySubscriptionBalanceUseCase;
 
+        @MockitoBean
+        private ListAutoRenewRunsUseCase listAutoRenewRunsUseCase;
+
         @MockitoBean
         private JwtTokenProvider jwtTokenProvider;
 
@@ -336,6 +341,45 @@ class SubscriptionControllerTest {
                 verify(getMySubscriptionBalanceUseCase).execute();
         }
 
+        @Test
+        @WithMockUser(roles = "Administrador")
+        void listAutoRenewRuns_shouldReturnRunReports() throws Exception {
+                AutoRenewRunResponse run = AutoRenewRunResponse.builder()
+                                .runId(3L)
+                                .status("COMPLETED")
+                                .lastSubscriptionId(250L)
+                                .renewed(240)
+                                .skipped(8)
+                                .failed(2)
+                                .chunks(3)
+                                .resumes(1)
+                                .build();
+
+                when(listAutoRenewRunsUseCase.execute(5)).thenReturn(List.of(run));
+
+                mockMvc.perform(get("/subscriptions/auto-renewals/runs")
+                                .param("limit", "5")
+                                .contentType(MediaType.APPLICATION_JSON))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].run_id").value(3))
+                                .andExpect(jsonPath("$[0].status").value("COMPLETED"))
+                                .andExpect(jsonPath("$[0].last_subscription_id").value(250))
+                                .andExpect(jsonPath("$[0].renewed").value(240))
+                                .andExpect(jsonPath("$[0].failed").value(2));
+
+                verify(listAutoRenewRunsUseCase).execute(5);
+        }
+
+        @Test
+        @WithMockUser(roles = "Cliente")
+        void listAutoRenewRuns_withClientRole_shouldReturnForbidden() throws Exception {
+                mockMvc.perform(get("/subscriptions/auto-renewals/runs")
+                                .contentType(MediaType.APPLICATION_JSON))
+                                .andExpect(status().isForbidden());
+
+                verify(listAutoRenewRunsUseCase, never()).execute(anyInt());
+        }
+
         private SubscriptionResponse createSubscriptionResponse() {
                 return SubscriptionResponse.builder()
                                 .id(1L)
@@ -1,8 +1,12 @@
 package com.ayd.parkcontrol.presentation.controller.ticket;
 
 import com.ayd.parkcontrol.application.dto.request.ticket.ApplyBenefitRequest;
+import com.ayd.parkcontrol.application.dto.request.ticket.GateEventBatchRequest;
+import com.ayd.parkcontrol.application.dto.request.ticket.GateEventRequest;
 import com.ayd.parkcontrol.application.dto.request.ticket.RegisterEntryRequest;
 import com.ayd.parkcontrol.application.dto.response.ticket.BusinessFreeHoursResponse;
+import com.ayd.parkcontrol.application.dto.response.ticket.GateEventBatchResponse;
+import com.ayd.parkcontrol.application.dto.response.ticket.GateEventResult;
 import com.ayd.parkcontrol.application.dto.response.ticket.TicketChargeResponse;
 import com.ayd.parkcontrol.application.dto.response.ticket.TicketResponse;
 import com.ayd.parkcontrol.application.usecase.ticket.*;
@@ -68,6 +72,9 @@ class TicketControllerTest {
     @MockitoBean
     private GetTicketByFolioUseCase getTicketByFolioUseCase;
 
+    @MockitoBean
+    private IngestGateEventsUseCase ingestGateEventsUseCase;
+
     private TicketResponse ticketResponse;
 
     @BeforeEach
@@ -134,6 +141,57 @@ class TicketControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @WithMockUser(roles = "Operador Sucursal")
+    void ingestGateEvents_ShouldReturnPerEventResults() throws Exception {
+        // Arrange
+        GateEventBatchRequest request = GateEventBatchRequest.builder()
+                .events(List.of(
+                        GateEventRequest.builder().clientEventId("g1-1").type("ENTRY").branchId(1L)
+                                .licensePlate("ABC-123").vehicleTypeId(2).build(),
+                        GateEventRequest.builder().clientEventId("g1-2").type("EXIT").branchId(1L)
+                                .folio("T-1-00000099").build()))
+                .build();
+
+        GateEventBatchResponse response = GateEventBatchResponse.builder()
+                .total(2)
+                .accepted(1)
+                .rejected(1)
+                .results(List.of(
+                        GateEventResult.builder().index(0).clientEventId("g1-1").type("ENTRY")
+                                .status(GateEventResult.ACCEPTED).ticketId(1L).folio("T-1-00000001").build(),
+                        GateEventResult.rejected(1, "g1-2", "EXIT", "Ticket not found for exit event")))
+                .build();
+
+        when(ingestGateEventsUseCase.execute(any(GateEventBatchRequest.class))).thenReturn(response);
+
+        // Act & Assert
+        mockMvc.perform(post("/tickets/gate-events")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(1))
+                .andExpect(jsonPath("$.results[0].folio").value("T-1-00000001"))
+                .andExpect(jsonPath("$.results[1].status").value("REJECTED"));
+    }
+
+    @Test
+    @WithMockUser(roles = "Operador Sucursal")
+    void ingestGateEvents_ShouldReturnBadRequest_WhenEventTypeIsInvalid() throws Exception {
+        // Arrange
+        GateEventBatchRequest request = GateEventBatchRequest.builder()
+                .events(List.of(GateEventRequest.builder().type("PARKED").branchId(1L).build()))
+                .build();
+
+        // Act & Assert
+        mockMvc.perform(post("/tickets/gate-events")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithMockUser(roles = "Operador Sucursal")
     void getTicket_ShouldReturnOk_WhenTicketExists() throws Exception {
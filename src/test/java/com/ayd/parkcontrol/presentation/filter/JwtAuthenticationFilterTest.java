@@ -1,6 +1,9 @@
 package com.ayd.parkcontrol.presentation.filter;
 
+import com.ayd.parkcontrol.security.PrincipalCache;
+import com.ayd.parkcontrol.security.jwt.JwtClaims;
 import com.ayd.parkcontrol.security.jwt.JwtTokenProvider;
+import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -19,6 +23,8 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Date;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -33,6 +39,9 @@ class JwtAuthenticationFilterTest {
     @Mock
     private UserDetailsService userDetailsService;
 
+    @Spy
+    private PrincipalCache principalCache = new PrincipalCache(100, 60);
+
     @Mock
     private HttpServletRequest request;
 
@@ -62,8 +71,7 @@ class JwtAuthenticationFilterTest {
         when(request.getRequestURI()).thenReturn("/api/v1/tickets");
         when(request.getContextPath()).thenReturn("");
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTokenProvider.validateToken(token)).thenReturn(true);
-        when(jwtTokenProvider.getUsernameFromToken(token)).thenReturn(email);
+        when(jwtTokenProvider.parseToken(token)).thenReturn(Optional.of(claimsFor(email, new Date())));
         when(userDetailsService.loadUserByUsername(email)).thenReturn(userDetails);
 
         // Act
@@ -73,12 +81,63 @@ class JwtAuthenticationFilterTest {
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
         assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo(email);
         
-        verify(jwtTokenProvider).validateToken(token);
-        verify(jwtTokenProvider).getUsernameFromToken(token);
+        verify(jwtTokenProvider).parseToken(token);
         verify(userDetailsService).loadUserByUsername(email);
         verify(filterChain).doFilter(request, response);
     }
 
+    @Test
+    void doFilterInternal_WithCachedPrincipal_ShouldNotLoadUserAgain() throws ServletException, IOException {
+        // Arrange
+        String token = "valid.jwt.token";
+        String email = "test@parkcontrol.com";
+        Date issuedAt = new Date();
+
+        UserDetails userDetails = new User(email, "password",
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+
+        when(request.getRequestURI()).thenReturn("/api/v1/tickets");
+        when(request.getContextPath()).thenReturn("");
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtTokenProvider.parseToken(token)).thenReturn(Optional.of(claimsFor(email, issuedAt)));
+        when(userDetailsService.loadUserByUsername(email)).thenReturn(userDetails);
+
+        // Act
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        SecurityContextHolder.clearContext();
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo(email);
+        verify(userDetailsService, times(1)).loadUserByUsername(email);
+        verify(filterChain, times(2)).doFilter(request, response);
+    }
+
+    @Test
+    void doFilterInternal_AfterPrincipalEviction_ShouldReloadUser() throws ServletException, IOException {
+        // Arrange
+        String token = "valid.jwt.token";
+        String email = "test@parkcontrol.com";
+        Date issuedAt = new Date();
+
+        UserDetails userDetails = new User(email, "password",
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+
+        when(request.getRequestURI()).thenReturn("/api/v1/tickets");
+        when(request.getContextPath()).thenReturn("");
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtTokenProvider.parseToken(token)).thenReturn(Optional.of(claimsFor(email, issuedAt)));
+        when(userDetailsService.loadUserByUsername(email)).thenReturn(userDetails);
+
+        // Act
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        principalCache.evict(email);
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(userDetailsService, times(2)).loadUserByUsername(email);
+    }
+
     @Test
     void doFilterInternal_WithInvalidToken_ShouldNotAuthenticate() throws ServletException, IOException {
         // Arrange
@@ -87,7 +146,7 @@ class JwtAuthenticationFilterTest {
         when(request.getRequestURI()).thenReturn("/api/v1/tickets");
         when(request.getContextPath()).thenReturn("");
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTokenProvider.validateToken(token)).thenReturn(false);
+        when(jwtTokenProvider.parseToken(token)).thenReturn(Optional.empty());
 
         // Act
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -95,8 +154,7 @@ class JwtAuthenticationFilterTest {
         // Assert
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
         
-        verify(jwtTokenProvider).validateToken(token);
-        verify(jwtTokenProvider, never()).getUsernameFromToken(anyString());
+        verify(jwtTokenProvider).parseToken(token);
         verify(userDetailsService, never()).loadUserByUsername(anyString());
         verify(filterChain).doFilter(request, response);
     }
@@ -114,7 +172,7 @@ class JwtAuthenticationFilterTest {
         // Assert
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
         
-        verify(jwtTokenProvider, never()).validateToken(anyString());
+        verify(jwtTokenProvider, never()).parseToken(anyString());
         verify(filterChain).doFilter(request, response);
     }
 
@@ -131,7 +189,7 @@ class JwtAuthenticationFilterTest {
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
         
         verify(request, never()).getHeader("Authorization");
-        verify(jwtTokenProvider, never()).validateToken(anyString());
+        verify(jwtTokenProvider, never()).parseToken(anyString());
         verify(filterChain).doFilter(request, response);
     }
 
@@ -189,7 +247,7 @@ class JwtAuthenticationFilterTest {
 
         // Assert
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
-        verify(jwtTokenProvider, never()).validateToken(anyString());
+        verify(jwtTokenProvider, never()).parseToken(anyString());
         verify(filterChain).doFilter(request, response);
     }
 
@@ -201,7 +259,7 @@ class JwtAuthenticationFilterTest {
         when(request.getRequestURI()).thenReturn("/api/v1/tickets");
         when(request.getContextPath()).thenReturn("");
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTokenProvider.validateToken(token)).thenThrow(new RuntimeException("Token validation error"));
+        when(jwtTokenProvider.parseToken(token)).thenThrow(new RuntimeException("Token validation error"));
 
         // Act
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -223,8 +281,7 @@ class JwtAuthenticationFilterTest {
         when(request.getRequestURI()).thenReturn("/app/api/v1/tickets");
         when(request.getContextPath()).thenReturn("/app");
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTokenProvider.validateToken(token)).thenReturn(true);
-        when(jwtTokenProvider.getUsernameFromToken(token)).thenReturn(email);
+        when(jwtTokenProvider.parseToken(token)).thenReturn(Optional.of(claimsFor(email, new Date())));
         when(userDetailsService.loadUserByUsername(email)).thenReturn(userDetails);
 
         // Act
@@ -262,4 +319,8 @@ class JwtAuthenticationFilterTest {
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
         verify(filterChain).doFilter(request, response);
     }
+
+    private JwtClaims claimsFor(String email, Date issuedAt) {
+        return new JwtClaims(Jwts.claims().subject(email).issuedAt(issuedAt).build());
+    }
 }
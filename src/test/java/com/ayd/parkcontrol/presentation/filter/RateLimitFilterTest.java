@@ -1,19 +1,26 @@
 package com.ayd.parkcontrol.presentation.filter;
 
-import com.ayd.parkcontrol.infrastructure.ratelimit.RateLimitService;
+import com.ayd.parkcontrol.domain.model.user.User;
+import com.ayd.parkcontrol.infrastructure.ratelimit.RateLimitConfig;
+import com.ayd.parkcontrol.infrastructure.ratelimit.RateLimitDecision;
+import com.ayd.parkcontrol.infrastructure.ratelimit.RateLimitRules;
+import com.ayd.parkcontrol.infrastructure.ratelimit.TieredRateLimiter;
+import com.ayd.parkcontrol.security.CustomUserDetails;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.io.IOException;
 import java.io.PrintWriter;
@@ -27,7 +34,7 @@ import static org.mockito.Mockito.lenient;
 class RateLimitFilterTest {
 
     @Mock
-    private RateLimitService rateLimitService;
+    private TieredRateLimiter rateLimiter;
 
     @Mock
     private ObjectMapper objectMapper;
@@ -41,7 +48,6 @@ class RateLimitFilterTest {
     @Mock
     private FilterChain filterChain;
 
-    @InjectMocks
     private RateLimitFilter rateLimitFilter;
 
     private StringWriter stringWriter;
@@ -49,56 +55,65 @@ class RateLimitFilterTest {
 
     @BeforeEach
     void setUp() throws IOException {
+        SecurityContextHolder.clearContext();
+        RateLimitRules rules = new RateLimitRules("50/900", "30/300", "20/3600", "600/60", "20/60", "60/60",
+                "300/60");
+        rateLimitFilter = new RateLimitFilter(rateLimiter, rules, objectMapper);
+
         stringWriter = new StringWriter();
         printWriter = new PrintWriter(stringWriter);
         lenient().when(response.getWriter()).thenReturn(printWriter);
+        lenient().when(request.getContextPath()).thenReturn("/api/v1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
     }
 
     @Test
-    void doFilterInternal_WithNonRateLimitedEndpoint_ShouldContinueChain() throws ServletException, IOException {
+    void doFilterInternal_WithPreflightRequest_ShouldContinueChain() throws ServletException, IOException {
         // Arrange
         when(request.getRequestURI()).thenReturn("/api/v1/tickets");
-        when(request.getMethod()).thenReturn("GET");
+        when(request.getMethod()).thenReturn("OPTIONS");
 
         // Act
         rateLimitFilter.doFilterInternal(request, response, filterChain);
 
         // Assert
         verify(filterChain).doFilter(request, response);
-        verify(rateLimitService, never()).isRateLimitExceeded(anyString(), anyString(), anyInt(), anyInt());
+        verify(rateLimiter, never()).tryAcquire(anyString(), anyString(), any());
     }
 
     @Test
-    void doFilterInternal_WithLoginEndpointUnderLimit_ShouldContinueChain() throws ServletException, IOException {
+    void doFilterInternal_WithLoginEndpointUnderLimit_ShouldContinueChainWithQuotaHeaders()
+            throws ServletException, IOException {
         // Arrange
         when(request.getRequestURI()).thenReturn("/api/v1/auth/login");
         when(request.getMethod()).thenReturn("POST");
         when(request.getRemoteAddr()).thenReturn("192.168.1.1");
-        when(rateLimitService.isRateLimitExceeded("/api/v1/auth/login", "192.168.1.1", 50, 900))
-                .thenReturn(false);
+        when(rateLimiter.tryAcquire(eq("login"), eq("ip:192.168.1.1"), argThat(config(50, 900))))
+                .thenReturn(new RateLimitDecision(true, 50, 49, 900));
 
         // Act
         rateLimitFilter.doFilterInternal(request, response, filterChain);
 
         // Assert
-        verify(rateLimitService).isRateLimitExceeded("/api/v1/auth/login", "192.168.1.1", 50, 900);
         verify(filterChain).doFilter(request, response);
+        verify(response).setHeader("X-RateLimit-Limit", "50");
+        verify(response).setHeader("X-RateLimit-Remaining", "49");
+        verify(response).setHeader("X-RateLimit-Reset", "900");
         verify(response, never()).setStatus(anyInt());
     }
 
     @Test
     void doFilterInternal_WithLoginEndpointExceedingLimit_ShouldReturn429() throws ServletException, IOException {
         // Arrange
-        String endpoint = "/api/v1/auth/login";
-        String clientIp = "192.168.1.1";
-        
-        when(request.getRequestURI()).thenReturn(endpoint);
+        when(request.getRequestURI()).thenReturn("/api/v1/auth/login");
         when(request.getMethod()).thenReturn("POST");
-        when(request.getRemoteAddr()).thenReturn(clientIp);
-        when(rateLimitService.isRateLimitExceeded(endpoint, clientIp, 50, 900))
-                .thenReturn(true);
-        when(rateLimitService.getRemainingLockTime(endpoint, clientIp))
-                .thenReturn(600L);
+        when(request.getRemoteAddr()).thenReturn("192.168.1.1");
+        when(rateLimiter.tryAcquire(eq("login"), eq("ip:192.168.1.1"), any()))
+                .thenReturn(new RateLimitDecision(false, 50, 0, 600));
         when(objectMapper.writeValueAsString(any())).thenReturn("{\"error\":\"Too Many Requests\"}");
 
         // Act
@@ -109,213 +124,255 @@ class RateLimitFilterTest {
         verify(response).setContentType(MediaType.APPLICATION_JSON_VALUE);
         verify(response).setHeader("Retry-After", "600");
         verify(filterChain, never()).doFilter(request, response);
-        verify(rateLimitService).getRemainingLockTime(endpoint, clientIp);
     }
 
     @Test
-    void doFilterInternal_WithVerify2FAEndpointExceedingLimit_ShouldReturn429() throws ServletException, IOException {
+    void doFilterInternal_WithVerify2FAEndpoint_ShouldUseItsOwnRule() throws ServletException, IOException {
         // Arrange
-        String endpoint = "/api/v1/auth/verify-2fa";
-        String clientIp = "10.0.0.5";
-        
-        when(request.getRequestURI()).thenReturn(endpoint);
+        when(request.getRequestURI()).thenReturn("/api/v1/auth/verify-2fa");
         when(request.getMethod()).thenReturn("POST");
-        when(request.getRemoteAddr()).thenReturn(clientIp);
-        when(rateLimitService.isRateLimitExceeded(endpoint, clientIp, 30, 300))
-                .thenReturn(true);
-        when(rateLimitService.getRemainingLockTime(endpoint, clientIp))
-                .thenReturn(180L);
+        when(request.getRemoteAddr()).thenReturn("10.0.0.5");
+        when(rateLimiter.tryAcquire(eq("verify-2fa"), eq("ip:10.0.0.5"), argThat(config(30, 300))))
+                .thenReturn(new RateLimitDecision(false, 30, 0, 180));
         when(objectMapper.writeValueAsString(any())).thenReturn("{\"error\":\"Too Many Requests\"}");
 
         // Act
         rateLimitFilter.doFilterInternal(request, response, filterChain);
 
         // Assert
-        verify(response).setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
         verify(response).setHeader("Retry-After", "180");
         verify(filterChain, never()).doFilter(request, response);
     }
 
     @Test
-    void doFilterInternal_WithForgotPasswordEndpointExceedingLimit_ShouldReturn429() throws ServletException, IOException {
+    void doFilterInternal_WithForgotPasswordEndpoint_ShouldUseItsOwnRule() throws ServletException, IOException {
         // Arrange
-        String endpoint = "/api/v1/auth/forgot-password";
-        String clientIp = "172.16.0.10";
-        
-        when(request.getRequestURI()).thenReturn(endpoint);
+        when(request.getRequestURI()).thenReturn("/api/v1/auth/forgot-password");
         when(request.getMethod()).thenReturn("POST");
-        when(request.getRemoteAddr()).thenReturn(clientIp);
-        when(rateLimitService.isRateLimitExceeded(endpoint, clientIp, 20, 3600))
-                .thenReturn(true);
-        when(rateLimitService.getRemainingLockTime(endpoint, clientIp))
-                .thenReturn(3000L);
-        when(objectMapper.writeValueAsString(any())).thenReturn("{\"error\":\"Too Many Requests\"}");
+        when(request.getRemoteAddr()).thenReturn("172.16.0.10");
+        when(rateLimiter.tryAcquire(eq("forgot-password"), eq("ip:172.16.0.10"), argThat(config(20, 3600))))
+                .thenReturn(new RateLimitDecision(true, 20, 19, 3600));
 
         // Act
         rateLimitFilter.doFilterInternal(request, response, filterChain);
 
         // Assert
-        verify(response).setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-        verify(response).setHeader("Retry-After", "3000");
-        verify(filterChain, never()).doFilter(request, response);
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void doFilterInternal_WithAuthenticatedApiRequest_ShouldLimitByUserId() throws ServletException, IOException {
+        // Arrange
+        authenticate(7L, "Operador Sucursal");
+        when(request.getRequestURI()).thenReturn("/api/v1/tickets/active");
+        when(request.getMethod()).thenReturn("GET");
+        when(rateLimiter.tryAcquire(eq("api"), eq("user:7"), argThat(config(300, 60))))
+                .thenReturn(new RateLimitDecision(true, 300, 299, 60));
+
+        // Act
+        rateLimitFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(filterChain).doFilter(request, response);
+        verify(request, never()).getRemoteAddr();
+    }
+
+    @Test
+    void doFilterInternal_WithGateEndpoint_ShouldUseGateRule() throws ServletException, IOException {
+        // Arrange
+        authenticate(7L, "Operador Sucursal");
+        when(request.getRequestURI()).thenReturn("/api/v1/tickets/15/exit");
+        when(request.getMethod()).thenReturn("PATCH");
+        when(rateLimiter.tryAcquire(eq("gates"), eq("user:7"), argThat(config(600, 60))))
+                .thenReturn(new RateLimitDecision(true, 600, 599, 60));
+
+        // Act
+        rateLimitFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void doFilterInternal_WithExportEndpoint_ShouldShareQuotaByRole() throws ServletException, IOException {
+        // Arrange
+        authenticate(3L, "Administrador");
+        when(request.getRequestURI()).thenReturn("/api/v1/reports/billing/export");
+        when(request.getMethod()).thenReturn("GET");
+        when(rateLimiter.tryAcquire(eq("exports"), eq("role:Administrador"), argThat(config(20, 60))))
+                .thenReturn(new RateLimitDecision(true, 20, 10, 30));
+
+        // Act
+        rateLimitFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void doFilterInternal_WithReportEndpoint_ShouldUseReportRule() throws ServletException, IOException {
+        // Arrange
+        authenticate(3L, "Administrador");
+        when(request.getRequestURI()).thenReturn("/api/v1/reports/occupancy");
+        when(request.getMethod()).thenReturn("GET");
+        when(rateLimiter.tryAcquire(eq("reports"), eq("user:3"), argThat(config(60, 60))))
+                .thenReturn(new RateLimitDecision(true, 60, 59, 60));
+
+        // Act
+        rateLimitFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void doFilterInternal_WithAnonymousApiRequest_ShouldLimitByIp() throws ServletException, IOException {
+        // Arrange
+        when(request.getRequestURI()).thenReturn("/api/v1/auth/login");
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getRemoteAddr()).thenReturn("192.168.1.1");
+        when(rateLimiter.tryAcquire(eq("api"), eq("ip:192.168.1.1"), any()))
+                .thenReturn(new RateLimitDecision(true, 300, 299, 60));
+
+        // Act
+        rateLimitFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(rateLimiter, never()).tryAcquire(eq("login"), anyString(), any());
+        verify(filterChain).doFilter(request, response);
     }
 
     @Test
     void doFilterInternal_WithXForwardedForHeader_ShouldUseProxiedIp() throws ServletException, IOException {
         // Arrange
-        String endpoint = "/api/v1/auth/login";
         String proxiedIp = "203.0.113.5";
-        
-        when(request.getRequestURI()).thenReturn(endpoint);
+
+        when(request.getRequestURI()).thenReturn("/api/v1/auth/login");
         when(request.getMethod()).thenReturn("POST");
         when(request.getHeader("X-Forwarded-For")).thenReturn(proxiedIp);
         lenient().when(request.getRemoteAddr()).thenReturn("10.0.0.1");
-        when(rateLimitService.isRateLimitExceeded(endpoint, proxiedIp, 50, 900))
-                .thenReturn(false);
+        when(rateLimiter.tryAcquire(eq("login"), eq("ip:" + proxiedIp), any()))
+                .thenReturn(new RateLimitDecision(true, 50, 49, 900));
 
         // Act
         rateLimitFilter.doFilterInternal(request, response, filterChain);
 
         // Assert
-        verify(rateLimitService).isRateLimitExceeded(endpoint, proxiedIp, 50, 900);
+        verify(rateLimiter).tryAcquire(eq("login"), eq("ip:" + proxiedIp), any());
         verify(filterChain).doFilter(request, response);
     }
 
     @Test
     void doFilterInternal_WithMultipleXForwardedForIps_ShouldUseFirstIp() throws ServletException, IOException {
         // Arrange
-        String endpoint = "/api/v1/auth/login";
         String firstIp = "203.0.113.5";
         String xForwardedFor = firstIp + ", 10.0.0.1, 192.168.1.1";
-        
-        when(request.getRequestURI()).thenReturn(endpoint);
+
+        when(request.getRequestURI()).thenReturn("/api/v1/auth/login");
         when(request.getMethod()).thenReturn("POST");
         when(request.getHeader("X-Forwarded-For")).thenReturn(xForwardedFor);
         lenient().when(request.getRemoteAddr()).thenReturn("10.0.0.1");
-        when(rateLimitService.isRateLimitExceeded(endpoint, firstIp, 50, 900))
-                .thenReturn(false);
+        when(rateLimiter.tryAcquire(eq("login"), eq("ip:" + firstIp), any()))
+                .thenReturn(new RateLimitDecision(true, 50, 49, 900));
 
         // Act
         rateLimitFilter.doFilterInternal(request, response, filterChain);
 
         // Assert
-        verify(rateLimitService).isRateLimitExceeded(endpoint, firstIp, 50, 900);
+        verify(rateLimiter).tryAcquire(eq("login"), eq("ip:" + firstIp), any());
     }
 
     @Test
     void doFilterInternal_WithXRealIpHeader_ShouldUseRealIp() throws ServletException, IOException {
         // Arrange
-        String endpoint = "/api/v1/auth/login";
         String realIp = "198.51.100.7";
-        
-        when(request.getRequestURI()).thenReturn(endpoint);
+
+        when(request.getRequestURI()).thenReturn("/api/v1/auth/login");
         when(request.getMethod()).thenReturn("POST");
         when(request.getHeader("X-Forwarded-For")).thenReturn(null);
         when(request.getHeader("X-Real-IP")).thenReturn(realIp);
         lenient().when(request.getRemoteAddr()).thenReturn("10.0.0.1");
-        when(rateLimitService.isRateLimitExceeded(endpoint, realIp, 50, 900))
-                .thenReturn(false);
+        when(rateLimiter.tryAcquire(eq("login"), eq("ip:" + realIp), any()))
+                .thenReturn(new RateLimitDecision(true, 50, 49, 900));
 
         // Act
         rateLimitFilter.doFilterInternal(request, response, filterChain);
 
         // Assert
-        verify(rateLimitService).isRateLimitExceeded(endpoint, realIp, 50, 900);
+        verify(rateLimiter).tryAcquire(eq("login"), eq("ip:" + realIp), any());
     }
 
     @Test
     void doFilterInternal_WithProxyClientIpHeader_ShouldUseProxyClientIp() throws ServletException, IOException {
         // Arrange
-        String endpoint = "/api/v1/auth/login";
         String proxyClientIp = "198.51.100.8";
-        
-        when(request.getRequestURI()).thenReturn(endpoint);
+
+        when(request.getRequestURI()).thenReturn("/api/v1/auth/login");
         when(request.getMethod()).thenReturn("POST");
         when(request.getHeader("X-Forwarded-For")).thenReturn(null);
         when(request.getHeader("X-Real-IP")).thenReturn(null);
         when(request.getHeader("Proxy-Client-IP")).thenReturn(proxyClientIp);
         lenient().when(request.getRemoteAddr()).thenReturn("10.0.0.1");
-        when(rateLimitService.isRateLimitExceeded(endpoint, proxyClientIp, 50, 900))
-                .thenReturn(false);
+        when(rateLimiter.tryAcquire(eq("login"), eq("ip:" + proxyClientIp), any()))
+                .thenReturn(new RateLimitDecision(true, 50, 49, 900));
 
         // Act
         rateLimitFilter.doFilterInternal(request, response, filterChain);
 
         // Assert
-        verify(rateLimitService).isRateLimitExceeded(endpoint, proxyClientIp, 50, 900);
+        verify(rateLimiter).tryAcquire(eq("login"), eq("ip:" + proxyClientIp), any());
     }
 
     @Test
     void doFilterInternal_WithUnknownXForwardedFor_ShouldFallbackToRemoteAddr() throws ServletException, IOException {
         // Arrange
-        String endpoint = "/api/v1/auth/login";
         String remoteAddr = "192.168.1.100";
-        
-        when(request.getRequestURI()).thenReturn(endpoint);
+
+        when(request.getRequestURI()).thenReturn("/api/v1/auth/login");
         when(request.getMethod()).thenReturn("POST");
         when(request.getHeader("X-Forwarded-For")).thenReturn("unknown");
         when(request.getHeader("X-Real-IP")).thenReturn(null);
         when(request.getHeader("Proxy-Client-IP")).thenReturn(null);
         when(request.getRemoteAddr()).thenReturn(remoteAddr);
-        when(rateLimitService.isRateLimitExceeded(endpoint, remoteAddr, 50, 900))
-                .thenReturn(false);
-
-        // Act
-        rateLimitFilter.doFilterInternal(request, response, filterChain);
-
-        // Assert
-        verify(rateLimitService).isRateLimitExceeded(endpoint, remoteAddr, 50, 900);
-    }
-
-    @Test
-    void doFilterInternal_WithGETMethodOnLoginEndpoint_ShouldNotApplyRateLimit() throws ServletException, IOException {
-        // Arrange
-        when(request.getRequestURI()).thenReturn("/api/v1/auth/login");
-        when(request.getMethod()).thenReturn("GET");
+        when(rateLimiter.tryAcquire(eq("login"), eq("ip:" + remoteAddr), any()))
+                .thenReturn(new RateLimitDecision(true, 50, 49, 900));
 
         // Act
         rateLimitFilter.doFilterInternal(request, response, filterChain);
 
         // Assert
-        verify(rateLimitService, never()).isRateLimitExceeded(anyString(), anyString(), anyInt(), anyInt());
-        verify(filterChain).doFilter(request, response);
+        verify(rateLimiter).tryAcquire(eq("login"), eq("ip:" + remoteAddr), any());
     }
 
     @Test
     void doFilterInternal_WithNullRemoteAddr_ShouldUseUnknown() throws ServletException, IOException {
         // Arrange
-        String endpoint = "/api/v1/auth/login";
-        
-        when(request.getRequestURI()).thenReturn(endpoint);
+        when(request.getRequestURI()).thenReturn("/api/v1/auth/login");
         when(request.getMethod()).thenReturn("POST");
         when(request.getHeader("X-Forwarded-For")).thenReturn(null);
         when(request.getHeader("X-Real-IP")).thenReturn(null);
         when(request.getHeader("Proxy-Client-IP")).thenReturn(null);
         when(request.getRemoteAddr()).thenReturn(null);
-        when(rateLimitService.isRateLimitExceeded(endpoint, "unknown", 50, 900))
-                .thenReturn(false);
+        when(rateLimiter.tryAcquire(eq("login"), eq("ip:unknown"), any()))
+                .thenReturn(new RateLimitDecision(true, 50, 49, 900));
 
         // Act
         rateLimitFilter.doFilterInternal(request, response, filterChain);
 
         // Assert
-        verify(rateLimitService).isRateLimitExceeded(endpoint, "unknown", 50, 900);
+        verify(rateLimiter).tryAcquire(eq("login"), eq("ip:unknown"), any());
     }
 
     @Test
     void doFilterInternal_WithRateLimitExceeded_ShouldIncludeRetryAfterInResponse() throws ServletException, IOException {
         // Arrange
-        String endpoint = "/api/v1/auth/login";
-        String clientIp = "192.168.1.1";
         long retryAfter = 450L;
-        
-        when(request.getRequestURI()).thenReturn(endpoint);
+
+        when(request.getRequestURI()).thenReturn("/api/v1/auth/login");
         when(request.getMethod()).thenReturn("POST");
-        when(request.getRemoteAddr()).thenReturn(clientIp);
-        when(rateLimitService.isRateLimitExceeded(endpoint, clientIp, 50, 900))
-                .thenReturn(true);
-        when(rateLimitService.getRemainingLockTime(endpoint, clientIp))
-                .thenReturn(retryAfter);
+        when(request.getRemoteAddr()).thenReturn("192.168.1.1");
+        when(rateLimiter.tryAcquire(eq("login"), eq("ip:192.168.1.1"), any()))
+                .thenReturn(new RateLimitDecision(false, 50, 0, retryAfter));
         when(objectMapper.writeValueAsString(any())).thenReturn("{\"retryAfterSeconds\":" + retryAfter + "}");
 
         // Act
@@ -323,9 +380,19 @@ class RateLimitFilterTest {
 
         // Assert
         verify(response).setHeader("Retry-After", String.valueOf(retryAfter));
-        verify(objectMapper).writeValueAsString(argThat(map -> 
-            map instanceof java.util.Map && 
+        verify(objectMapper).writeValueAsString(argThat(map ->
+            map instanceof java.util.Map &&
             ((java.util.Map<?, ?>)map).get("retryAfterSeconds").equals(retryAfter)
         ));
     }
+
+    private void authenticate(Long userId, String role) {
+        CustomUserDetails userDetails = new CustomUserDetails(User.builder().id(userId).build(), role);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities()));
+    }
+
+    private static org.mockito.ArgumentMatcher<RateLimitConfig> config(int maxAttempts, int windowSeconds) {
+        return config -> config.getMaxAttempts() == maxAttempts && config.getWindowSeconds() == windowSeconds;
+    }
 }
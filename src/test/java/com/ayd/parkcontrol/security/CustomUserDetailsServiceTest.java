@@ -1,8 +1,9 @@
 package com.ayd.parkcontrol.security;
 
 import com.ayd.parkcontrol.domain.model.user.User;
-import com.ayd.parkcontrol.domain.repository.RoleRepository;
+import com.ayd.parkcontrol.domain.model.user.Role;
 import com.ayd.parkcontrol.domain.repository.UserRepository;
+import com.ayd.parkcontrol.infrastructure.cache.CatalogCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -29,7 +30,10 @@ class CustomUserDetailsServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private RoleRepository roleRepository;
+    private CatalogCache catalogCache;
+
+    @Mock
+    private CatalogCache.Catalog<Role> roles;
 
     @InjectMocks
     private CustomUserDetailsService userDetailsService;
@@ -40,6 +44,7 @@ class CustomUserDetailsServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(catalogCache.roles()).thenReturn(roles);
         activeUser = User.builder()
                 .id(1L)
                 .email("active@example.com")
@@ -95,7 +100,7 @@ class CustomUserDetailsServiceTest {
                 .build();
 
         when(userRepository.findByEmail("active@example.com")).thenReturn(Optional.of(activeUser));
-        when(roleRepository.findById(2)).thenReturn(Optional.of(role));
+        when(roles.findById(2)).thenReturn(Optional.of(role));
 
         UserDetails userDetails = userDetailsService.loadUserByUsername("active@example.com");
 
@@ -107,7 +112,7 @@ class CustomUserDetailsServiceTest {
         assertThat(userDetails.isAccountNonExpired()).isTrue();
         assertThat(userDetails.isCredentialsNonExpired()).isTrue();
         verify(userRepository).findByEmail("active@example.com");
-        verify(roleRepository).findById(2);
+        verify(roles).findById(2);
     }
 
     @Test
@@ -130,7 +135,7 @@ class CustomUserDetailsServiceTest {
                 .build();
 
         when(userRepository.findByEmail("inactive@example.com")).thenReturn(Optional.of(inactiveUser));
-        when(roleRepository.findById(2)).thenReturn(Optional.of(role));
+        when(roles.findById(2)).thenReturn(Optional.of(role));
 
         UserDetails userDetails = userDetailsService.loadUserByUsername("inactive@example.com");
 
@@ -139,7 +144,7 @@ class CustomUserDetailsServiceTest {
         assertThat(userDetails.isEnabled()).isFalse();
         assertThat(userDetails.isAccountNonLocked()).isFalse();
         verify(userRepository).findByEmail("inactive@example.com");
-        verify(roleRepository).findById(2);
+        verify(roles).findById(2);
     }
 
     @Test
@@ -152,7 +157,7 @@ class CustomUserDetailsServiceTest {
 
         when(userRepository.findByEmail("needschange@example.com"))
                 .thenReturn(Optional.of(userRequiringPasswordChange));
-        when(roleRepository.findById(2)).thenReturn(Optional.of(role));
+        when(roles.findById(2)).thenReturn(Optional.of(role));
 
         UserDetails userDetails = userDetailsService.loadUserByUsername("needschange@example.com");
 
@@ -160,7 +165,7 @@ class CustomUserDetailsServiceTest {
         assertThat(userDetails.getUsername()).isEqualTo("needschange@example.com");
         assertThat(userDetails.isCredentialsNonExpired()).isFalse();
         verify(userRepository).findByEmail("needschange@example.com");
-        verify(roleRepository).findById(2);
+        verify(roles).findById(2);
     }
 
     @Test
@@ -172,7 +177,7 @@ class CustomUserDetailsServiceTest {
                 .build();
 
         when(userRepository.findByEmail("active@example.com")).thenReturn(Optional.of(activeUser));
-        when(roleRepository.findById(2)).thenReturn(Optional.of(role));
+        when(roles.findById(2)).thenReturn(Optional.of(role));
 
         UserDetails userDetails = userDetailsService.loadUserByUsername("active@example.com");
 
@@ -180,7 +185,7 @@ class CustomUserDetailsServiceTest {
         assertThat(userDetails.getAuthorities()).isNotEmpty();
         assertThat(userDetails.getAuthorities()).anyMatch(auth -> auth.getAuthority().equals("ROLE_Operador Sucursal"));
         verify(userRepository).findByEmail("active@example.com");
-        verify(roleRepository).findById(2);
+        verify(roles).findById(2);
     }
 
     @Test
@@ -192,13 +197,13 @@ class CustomUserDetailsServiceTest {
                 .build();
 
         when(userRepository.findByEmail("active@example.com")).thenReturn(Optional.of(activeUser));
-        when(roleRepository.findById(2)).thenReturn(Optional.of(role));
+        when(roles.findById(2)).thenReturn(Optional.of(role));
 
         UserDetails userDetails = userDetailsService.loadUserByUsername("active@example.com");
 
         assertThat(userDetails.getUsername()).isEqualTo(activeUser.getEmail());
         verify(userRepository).findByEmail("active@example.com");
-        verify(roleRepository).findById(2);
+        verify(roles).findById(2);
     }
 
     @Test
@@ -210,25 +215,25 @@ class CustomUserDetailsServiceTest {
                 .build();
 
         when(userRepository.findByEmail("active@example.com")).thenReturn(Optional.of(activeUser));
-        when(roleRepository.findById(2)).thenReturn(Optional.of(role));
+        when(roles.findById(2)).thenReturn(Optional.of(role));
 
         UserDetails userDetails = userDetailsService.loadUserByUsername("active@example.com");
 
         assertThat(userDetails.getPassword()).isEqualTo(activeUser.getPasswordHash());
         verify(userRepository).findByEmail("active@example.com");
-        verify(roleRepository).findById(2);
+        verify(roles).findById(2);
     }
 
     @Test
     void loadUserByUsername_shouldThrowException_whenRoleNotFound() {
         when(userRepository.findByEmail("active@example.com")).thenReturn(Optional.of(activeUser));
-        when(roleRepository.findById(2)).thenReturn(Optional.empty());
+        when(roles.findById(2)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> userDetailsService.loadUserByUsername("active@example.com"))
                 .isInstanceOf(UsernameNotFoundException.class)
                 .hasMessageContaining("Role not found for user: active@example.com");
 
         verify(userRepository).findByEmail("active@example.com");
-        verify(roleRepository).findById(2);
+        verify(roles).findById(2);
     }
 }
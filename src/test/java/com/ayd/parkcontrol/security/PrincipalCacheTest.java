@@ -0,0 +1,68 @@
+package com.ayd.parkcontrol.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collections;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrincipalCacheTest {
+
+    private final Date issuedAt = new Date(1_700_000_000_000L);
+
+    @Test
+    void get_shouldReturnCachedPrincipal_forSameSubjectAndIssuedAt() {
+        PrincipalCache cache = new PrincipalCache(10, 60);
+        UserDetails userDetails = user("admin@parkcontrol.com");
+
+        cache.put("admin@parkcontrol.com", issuedAt, userDetails);
+
+        assertThat(cache.get("admin@parkcontrol.com", issuedAt)).isSameAs(userDetails);
+        assertThat(cache.get("admin@parkcontrol.com", new Date(issuedAt.getTime() + 1000))).isNull();
+    }
+
+    @Test
+    void evict_shouldRemoveEveryTokenOfTheUser() {
+        PrincipalCache cache = new PrincipalCache(10, 60);
+        cache.put("admin@parkcontrol.com", issuedAt, user("admin@parkcontrol.com"));
+        cache.put("admin@parkcontrol.com", new Date(), user("admin@parkcontrol.com"));
+        cache.put("operador@parkcontrol.com", issuedAt, user("operador@parkcontrol.com"));
+
+        cache.evict("ADMIN@parkcontrol.com");
+
+        assertThat(cache.get("admin@parkcontrol.com", issuedAt)).isNull();
+        assertThat(cache.get("operador@parkcontrol.com", issuedAt)).isNotNull();
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void put_shouldDiscardLeastRecentlyUsed_whenFull() {
+        PrincipalCache cache = new PrincipalCache(2, 60);
+        cache.put("a@parkcontrol.com", issuedAt, user("a@parkcontrol.com"));
+        cache.put("b@parkcontrol.com", issuedAt, user("b@parkcontrol.com"));
+        cache.get("a@parkcontrol.com", issuedAt);
+
+        cache.put("c@parkcontrol.com", issuedAt, user("c@parkcontrol.com"));
+
+        assertThat(cache.get("a@parkcontrol.com", issuedAt)).isNotNull();
+        assertThat(cache.get("b@parkcontrol.com", issuedAt)).isNull();
+        assertThat(cache.get("c@parkcontrol.com", issuedAt)).isNotNull();
+    }
+
+    @Test
+    void put_shouldNotCache_whenTtlIsZero() {
+        PrincipalCache cache = new PrincipalCache(10, 0);
+
+        cache.put("admin@parkcontrol.com", issuedAt, user("admin@parkcontrol.com"));
+
+        assertThat(cache.get("admin@parkcontrol.com", issuedAt)).isNull();
+    }
+
+    private UserDetails user(String email) {
+        return new User(email, "password", Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+}
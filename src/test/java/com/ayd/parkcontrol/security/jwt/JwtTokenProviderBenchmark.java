@@ -0,0 +1,110 @@
+package com.ayd.parkcontrol.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo por solicitud de autenticar un JWT en el filtro.
+ *
+ * Compara el camino anterior (validateToken más un getter por claim, cada
+ * uno reconstruyendo la llave y el parser) con {@link JwtTokenProvider#parseToken}
+ * usando el parser compartido, con y sin acierto en la caché de tokens
+ * verificados.
+ *
+ * No forma parte de la suite de surefire. Para ejecutarlo:
+ *
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     com.ayd.parkcontrol.security.jwt.JwtTokenProviderBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "MySuperSecretKeyForJWTTokensThatIsAtLeast32CharactersLong123456";
+
+    private JwtTokenProvider cachedProvider;
+    private JwtTokenProvider uncachedProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedProvider = provider(1024);
+        uncachedProvider = provider(0);
+        token = cachedProvider.generateToken("admin@parkcontrol.com", 1, "Administrador");
+        cachedProvider.parseToken(token);
+    }
+
+    /**
+     * Camino del filtro antes del cambio: validateToken, getUsernameFromToken
+     * y getIssuedAtFromToken, cada uno con su propia llave, parser y
+     * verificación de firma.
+     */
+    @Benchmark
+    public void legacyValidateAndGetters(Blackhole blackhole) {
+        legacyParse(token);
+        blackhole.consume(legacyParse(token).getSubject());
+        blackhole.consume(legacyParse(token).getIssuedAt());
+    }
+
+    @Benchmark
+    public void parseTokenWithoutCache(Blackhole blackhole) {
+        JwtClaims claims = uncachedProvider.parseToken(token).orElseThrow();
+        blackhole.consume(claims.getUsername());
+        blackhole.consume(claims.getIssuedAt());
+    }
+
+    @Benchmark
+    public void parseTokenCacheHit(Blackhole blackhole) {
+        JwtClaims claims = cachedProvider.parseToken(token).orElseThrow();
+        blackhole.consume(claims.getUsername());
+        blackhole.consume(claims.getIssuedAt());
+    }
+
+    private Claims legacyParse(String jwt) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseSignedClaims(jwt)
+                .getPayload();
+    }
+
+    private JwtTokenProvider provider(int verifiedCacheSize) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationMs", 3_600_000L);
+        ReflectionTestUtils.setField(provider, "jwtRefreshExpirationMs", 86_400_000L);
+        ReflectionTestUtils.setField(provider, "verifiedCacheSize", verifiedCacheSize);
+        return provider;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtTokenProviderBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
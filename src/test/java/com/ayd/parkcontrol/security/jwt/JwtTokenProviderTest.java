@@ -225,4 +225,59 @@ class JwtTokenProviderTest {
         assertThat(issuedAt).isNotNull();
         assertThat(issuedAt).isBeforeOrEqualTo(new Date());
     }
+
+    @Test
+    void parseToken_withValidToken_shouldReturnAllClaims() {
+        String token = jwtTokenProvider.generateToken("user@example.com", 7, "Cliente");
+
+        JwtClaims claims = jwtTokenProvider.parseToken(token).orElseThrow();
+
+        assertThat(claims.getUsername()).isEqualTo("user@example.com");
+        assertThat(claims.getUserId()).isEqualTo(7);
+        assertThat(claims.getRole()).isEqualTo("Cliente");
+        assertThat(claims.getIssuedAt()).isNotNull();
+        assertThat(claims.getExpiration()).isAfter(new Date());
+    }
+
+    @Test
+    void parseToken_withTamperedToken_shouldReturnEmpty() {
+        String token = jwtTokenProvider.generateToken("user@example.com");
+        String tampered = token.substring(0, token.length() - 2) + "xx";
+
+        assertThat(jwtTokenProvider.parseToken(tampered)).isEmpty();
+        assertThat(jwtTokenProvider.parseToken(null)).isEmpty();
+    }
+
+    @Test
+    void parseToken_withExpiredToken_shouldReturnEmpty() {
+        ReflectionTestUtils.setField(jwtTokenProvider, "verifiedCacheSize", 16);
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpirationMs", -1000L);
+        String token = jwtTokenProvider.generateToken("user@example.com");
+
+        assertThat(jwtTokenProvider.parseToken(token)).isEmpty();
+        assertThat(jwtTokenProvider.validateToken(token)).isFalse();
+    }
+
+    @Test
+    void parseToken_withVerifiedCache_shouldReuseVerification() {
+        ReflectionTestUtils.setField(jwtTokenProvider, "verifiedCacheSize", 16);
+        String token = jwtTokenProvider.generateToken("user@example.com", 7, "Cliente");
+
+        JwtClaims first = jwtTokenProvider.parseToken(token).orElseThrow();
+        JwtClaims second = jwtTokenProvider.parseToken(token).orElseThrow();
+
+        assertThat(second.getClaims()).isSameAs(first.getClaims());
+        assertThat(jwtTokenProvider.getUserIdFromToken(token)).isEqualTo(7);
+    }
+
+    @Test
+    void parseToken_withoutVerifiedCache_shouldVerifyEachTime() {
+        String token = jwtTokenProvider.generateToken("user@example.com");
+
+        JwtClaims first = jwtTokenProvider.parseToken(token).orElseThrow();
+        JwtClaims second = jwtTokenProvider.parseToken(token).orElseThrow();
+
+        assertThat(second.getClaims()).isNotSameAs(first.getClaims());
+        assertThat(second.getUsername()).isEqualTo(first.getUsername());
+    }
 }